@@ -124,7 +124,7 @@ public class HazelcastSqlBackend implements SqlBackend {
             localMember.getUuid(),
             QueryUtils.createPartitionMap(nodeEngine, localMember.getVersion(), true),
             relIdMap,
-            new PlanCacheKey(task.getSearchPaths(), sql),
+            new PlanCacheKey(task.getSearchPaths(), sql, task.getSchemaVersion()),
             convertResult.getFieldNames(),
             parameterMetadata
         );
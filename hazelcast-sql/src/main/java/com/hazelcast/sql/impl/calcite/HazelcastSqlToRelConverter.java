@@ -33,6 +33,7 @@ import org.apache.calcite.sql.SqlNode;
 import org.apache.calcite.sql.SqlUtil;
 import org.apache.calcite.sql.type.SqlTypeName;
 import org.apache.calcite.sql.validate.SqlValidator;
+import org.apache.calcite.sql.validate.SqlValidatorImpl;
 import org.apache.calcite.sql2rel.SqlRexConvertletTable;
 import org.apache.calcite.sql2rel.SqlToRelConverter;
 
@@ -141,7 +142,13 @@ public class HazelcastSqlToRelConverter extends SqlToRelConverter {
             return null;
         }
 
-        RelDataType type = validator.getValidatedNodeType(literal);
+        RelDataType type = ((SqlValidatorImpl) validator).getValidatedNodeTypeIfKnown(literal);
+
+        if (type == null) {
+            // OFFSET and FETCH literals are not validated, trust Calcite on them
+            return null;
+        }
+
         SqlTypeName literalTypeName = literal.getTypeName();
 
         // Extract the literal value.
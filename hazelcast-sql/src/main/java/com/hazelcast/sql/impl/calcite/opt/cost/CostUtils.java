@@ -37,6 +37,9 @@ public final class CostUtils {
     /** CPU multiplier applied to index scan (hash). */
     public static final double INDEX_SCAN_CPU_MULTIPLIER_HASH = 1.1d;
 
+    /** CPU multiplier applied to the rows of the hash join build side, which are hashed and stored in memory. */
+    public static final double HASH_JOIN_BUILD_CPU_MULTIPLIER = 2.0d;
+
     /** Multiplier for the CPU part of the cost. Assumes 1ns per item. */
     public static final double CPU_COST_MULTIPLIER = 1.0d;
 
@@ -103,6 +106,60 @@ public final class CostUtils {
         return rowCount * expressionCount;
     }
 
+    public static double getAggregateCpu(double rowCount, int groupCount, int aggregateCount) {
+        return rowCount * (groupCount + aggregateCount + 1);
+    }
+
+    /**
+     * Get CPU cost of a sort. Every input row is compared with {@code log(N)} retained rows, where {@code N} is
+     * the number of rows to fetch if known, or the number of input rows otherwise.
+     *
+     * @param rowCount Number of input rows.
+     * @param retainedRowCount Number of rows retained by the sort.
+     * @return CPU.
+     */
+    public static double getSortCpu(double rowCount, double retainedRowCount) {
+        return rowCount * Math.max(1, Math.log(retainedRowCount) / Math.log(2));
+    }
+
+    /**
+     * Get CPU cost of a hash join. Every right row is added to the hash table, and every left row probes it. Without
+     * equi-join keys every left row is compared with all right rows.
+     *
+     * @param leftRowCount Number of left input rows.
+     * @param rightRowCount Number of right input rows.
+     * @param rowCount Number of joined rows.
+     * @param equiJoin Whether the join has equi-join keys.
+     * @return CPU.
+     */
+    public static double getHashJoinCpu(double leftRowCount, double rightRowCount, double rowCount, boolean equiJoin) {
+        double buildCpu = rightRowCount * HASH_JOIN_BUILD_CPU_MULTIPLIER;
+        double probeCpu = equiJoin ? leftRowCount : leftRowCount * rightRowCount;
+
+        return buildCpu + probeCpu + rowCount;
+    }
+
+    /**
+     * Get CPU cost of an index nested loop join. Every left row performs an index lookup, which is {@code O(1)} for
+     * HASH indexes and {@code O(log(N))} for SORTED indexes.
+     *
+     * @param leftRowCount Number of left input rows.
+     * @param rightRowCount Number of rows in the right table.
+     * @param rowCount Number of joined rows.
+     * @param indexType Index type.
+     * @return CPU.
+     */
+    public static double getIndexNestedLoopJoinCpu(
+        double leftRowCount,
+        double rightRowCount,
+        double rowCount,
+        IndexType indexType
+    ) {
+        double lookupCpu = indexType == IndexType.HASH ? 1 : Math.max(1, Math.log(rightRowCount) / Math.log(2));
+
+        return leftRowCount * lookupCpu * indexScanCpuMultiplier(indexType) + rowCount;
+    }
+
     public static int getEstimatedRowWidth(RelNode rel) {
         int res = 0;
 
@@ -16,9 +16,12 @@
 
 package com.hazelcast.sql.impl.calcite.opt.metadata;
 
+import com.hazelcast.sql.impl.calcite.opt.physical.AggregatePhysicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.IndexNestedLoopJoinPhysicalRel;
 import org.apache.calcite.rel.metadata.ReflectiveRelMetadataProvider;
 import org.apache.calcite.rel.metadata.RelMdRowCount;
 import org.apache.calcite.rel.metadata.RelMetadataProvider;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
 import org.apache.calcite.util.BuiltInMethod;
 
 /**
@@ -33,6 +36,18 @@ public final class HazelcastRelMdRowCount extends RelMdRowCount {
         // No-op.
     }
 
-    // Empty at the moment, will be extended in the future.
-    // Now it serves as an example of how to wire up a metadata handler into Calcite.
+    /**
+     * Physical aggregate is not a subclass of {@code Aggregate}, so the default {@code SingleRel} handler would propagate
+     * the input row count as is.
+     */
+    public Double getRowCount(AggregatePhysicalRel rel, RelMetadataQuery mq) {
+        return rel.estimateRowCount(mq);
+    }
+
+    /**
+     * Index nested loop join is a {@code SingleRel} whose input is the left side of the join.
+     */
+    public Double getRowCount(IndexNestedLoopJoinPhysicalRel rel, RelMetadataQuery mq) {
+        return rel.estimateRowCount(mq);
+    }
 }
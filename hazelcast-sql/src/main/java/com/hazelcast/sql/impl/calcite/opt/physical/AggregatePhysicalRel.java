@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.sql.impl.calcite.opt.physical;
+
+import com.hazelcast.sql.impl.calcite.opt.cost.CostUtils;
+import com.hazelcast.sql.impl.calcite.opt.physical.visitor.PhysicalRelVisitor;
+import org.apache.calcite.plan.RelOptCluster;
+import org.apache.calcite.plan.RelOptCost;
+import org.apache.calcite.plan.RelOptPlanner;
+import org.apache.calcite.plan.RelTraitSet;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.RelWriter;
+import org.apache.calcite.rel.SingleRel;
+import org.apache.calcite.rel.core.AggregateCall;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.rel.type.RelDataTypeFactory;
+import org.apache.calcite.sql.type.SqlTypeName;
+import org.apache.calcite.util.ImmutableBitSet;
+
+import java.util.List;
+
+/**
+ * Physical hash aggregate.
+ * <p>
+ * The aggregation is split into the local phase, which is executed on every member holding the input data and produces
+ * the partial state of every aggregate call, and the final phase, which merges partial states into the results. Both
+ * rels refer to the group set and aggregate calls of the original logical aggregate. The row type of the local rel
+ * consists of the group columns followed by the partial state columns.
+ * <p>
+ * Traits:
+ * <ul>
+ *     <li><b>Collation</b>: destroyed, since groups are emitted in the hash table order</li>
+ *     <li><b>Distribution</b>: inherited from the input for the local phase, ROOT for the final phase after exchange</li>
+ * </ul>
+ */
+public class AggregatePhysicalRel extends SingleRel implements PhysicalRel {
+
+    private final ImmutableBitSet groupSet;
+    private final List<AggregateCall> aggCalls;
+    private final boolean local;
+
+    public AggregatePhysicalRel(
+        RelOptCluster cluster,
+        RelTraitSet traits,
+        RelNode input,
+        ImmutableBitSet groupSet,
+        List<AggregateCall> aggCalls,
+        boolean local,
+        RelDataType rowType
+    ) {
+        super(cluster, traits, input);
+
+        this.groupSet = groupSet;
+        this.aggCalls = aggCalls;
+        this.local = local;
+        this.rowType = rowType;
+    }
+
+    /**
+     * Create the row type of the local phase: group columns of the input followed by partial states.
+     *
+     * @param typeFactory Type factory.
+     * @param input Input of the local phase.
+     * @param groupSet Group set.
+     * @param aggCalls Aggregate calls.
+     * @return Row type.
+     */
+    public static RelDataType createLocalRowType(
+        RelDataTypeFactory typeFactory,
+        RelNode input,
+        ImmutableBitSet groupSet,
+        List<AggregateCall> aggCalls
+    ) {
+        RelDataTypeFactory.Builder builder = typeFactory.builder();
+
+        for (int index : groupSet) {
+            builder.add(input.getRowType().getFieldList().get(index));
+        }
+
+        RelDataType countType = typeFactory.createSqlType(SqlTypeName.BIGINT);
+        RelDataType sketchType = typeFactory.createSqlType(SqlTypeName.ANY);
+
+        for (int i = 0; i < aggCalls.size(); i++) {
+            AggregateCall aggCall = aggCalls.get(i);
+            RelDataType partialType = typeFactory.createTypeWithNullability(aggCall.getType(), true);
+
+            switch (aggCall.getAggregation().getKind()) {
+                case COUNT:
+                    if (aggCall.isApproximate()) {
+                        builder.add("$sketch" + i, typeFactory.createTypeWithNullability(sketchType, true));
+                    } else {
+                        builder.add("$count" + i, countType);
+                    }
+
+                    break;
+
+                case AVG:
+                    builder.add("$sum" + i, partialType);
+                    builder.add("$count" + i, countType);
+
+                    break;
+
+                default:
+                    builder.add("$value" + i, partialType);
+            }
+        }
+
+        return builder.build();
+    }
+
+    public ImmutableBitSet getGroupSet() {
+        return groupSet;
+    }
+
+    public List<AggregateCall> getAggCalls() {
+        return aggCalls;
+    }
+
+    public boolean isLocal() {
+        return local;
+    }
+
+    @Override
+    public RelNode copy(RelTraitSet traitSet, List<RelNode> inputs) {
+        return new AggregatePhysicalRel(getCluster(), traitSet, sole(inputs), groupSet, aggCalls, local, rowType);
+    }
+
+    @Override
+    public void visit(PhysicalRelVisitor visitor) {
+        ((PhysicalRel) input).visit(visitor);
+
+        visitor.onAggregate(this);
+    }
+
+    @Override
+    public final RelWriter explainTerms(RelWriter pw) {
+        return super.explainTerms(pw)
+            .item("group", groupSet)
+            .item("aggs", aggCalls)
+            .item("local", local);
+    }
+
+    @Override
+    public double estimateRowCount(RelMetadataQuery mq) {
+        if (!local && groupSet.isEmpty()) {
+            return 1;
+        }
+
+        return mq.getRowCount(getInput());
+    }
+
+    @Override
+    public RelOptCost computeSelfCost(RelOptPlanner planner, RelMetadataQuery mq) {
+        double rows = mq.getRowCount(getInput());
+        double cpu = CostUtils.getAggregateCpu(rows, groupSet.cardinality(), aggCalls.size());
+
+        return planner.getCostFactory().makeCost(rows, cpu, 0);
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.sql.impl.calcite.opt.physical;
+
+import com.hazelcast.sql.impl.calcite.opt.HazelcastConventions;
+import com.hazelcast.sql.impl.calcite.opt.OptUtils;
+import com.hazelcast.sql.impl.calcite.opt.distribution.DistributionTrait;
+import com.hazelcast.sql.impl.calcite.opt.distribution.DistributionTraitDef;
+import com.hazelcast.sql.impl.calcite.opt.logical.AggregateLogicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.exchange.RootExchangePhysicalRel;
+import org.apache.calcite.plan.RelOptRule;
+import org.apache.calcite.plan.RelOptRuleCall;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.type.RelDataType;
+
+import static com.hazelcast.sql.impl.calcite.opt.distribution.DistributionType.PARTITIONED;
+
+/**
+ * This rule converts logical aggregate into a pair of local and final physical aggregates.
+ * <p>
+ * If the input is partitioned, the local aggregate is executed on every member next to the data, and only partial
+ * states are sent to the root member through {@link RootExchangePhysicalRel}, where the final aggregate merges them.
+ * Otherwise both phases are executed on the same member.
+ */
+public final class AggregatePhysicalRule extends RelOptRule {
+    public static final RelOptRule INSTANCE = new AggregatePhysicalRule();
+
+    private AggregatePhysicalRule() {
+        super(
+            OptUtils.parentChild(AggregateLogicalRel.class, RelNode.class, HazelcastConventions.LOGICAL),
+            AggregatePhysicalRule.class.getSimpleName()
+        );
+    }
+
+    @Override
+    public void onMatch(RelOptRuleCall call) {
+        AggregateLogicalRel logicalAggregate = call.rel(0);
+        RelNode input = logicalAggregate.getInput();
+
+        RelNode convertedInput = OptUtils.toPhysicalInput(input);
+
+        for (RelNode physicalInput : OptUtils.getPhysicalRelsFromSubset(convertedInput)) {
+            call.transformTo(createPhysicalAggregate(logicalAggregate, physicalInput));
+        }
+    }
+
+    private static RelNode createPhysicalAggregate(AggregateLogicalRel logicalAggregate, RelNode physicalInput) {
+        RelDataType localRowType = AggregatePhysicalRel.createLocalRowType(
+            logicalAggregate.getCluster().getTypeFactory(),
+            physicalInput,
+            logicalAggregate.getGroupSet(),
+            logicalAggregate.getAggCallList()
+        );
+
+        AggregatePhysicalRel localAggregate = new AggregatePhysicalRel(
+            logicalAggregate.getCluster(),
+            physicalInput.getTraitSet(),
+            physicalInput,
+            logicalAggregate.getGroupSet(),
+            logicalAggregate.getAggCallList(),
+            true,
+            localRowType
+        );
+
+        DistributionTraitDef distributionDef = OptUtils.getDistributionDef(physicalInput);
+        DistributionTrait distribution = OptUtils.getDistribution(physicalInput);
+
+        RelNode finalInput = localAggregate;
+
+        if (distribution.getType() == PARTITIONED && distributionDef.getMemberCount() > 1) {
+            // Only partial states are sent over the network.
+            finalInput = new RootExchangePhysicalRel(
+                logicalAggregate.getCluster(),
+                OptUtils.traitPlus(physicalInput.getTraitSet(), distributionDef.getTraitRoot()),
+                localAggregate
+            );
+        }
+
+        return new AggregatePhysicalRel(
+            logicalAggregate.getCluster(),
+            finalInput.getTraitSet(),
+            finalInput,
+            logicalAggregate.getGroupSet(),
+            logicalAggregate.getAggCallList(),
+            false,
+            logicalAggregate.getRowType()
+        );
+    }
+}
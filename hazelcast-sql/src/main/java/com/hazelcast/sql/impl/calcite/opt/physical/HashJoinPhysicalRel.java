@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.sql.impl.calcite.opt.physical;
+
+import com.google.common.collect.ImmutableSet;
+import com.hazelcast.sql.impl.calcite.opt.cost.CostUtils;
+import com.hazelcast.sql.impl.calcite.opt.physical.visitor.PhysicalRelVisitor;
+import org.apache.calcite.plan.RelOptCluster;
+import org.apache.calcite.plan.RelOptCost;
+import org.apache.calcite.plan.RelOptPlanner;
+import org.apache.calcite.plan.RelTraitSet;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.core.Join;
+import org.apache.calcite.rel.core.JoinRelType;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
+import org.apache.calcite.rex.RexNode;
+
+import java.util.List;
+
+/**
+ * Physical hash join. The hash table is built from the right input, and then probed with the rows of the left input.
+ * <p>
+ * The join is executed on every member holding the rows of the left input. The distribution of the right input
+ * defines the flavor of the join:
+ * <ul>
+ *     <li><b>Broadcast</b>: the right input is replicated to all members</li>
+ *     <li><b>Partitioned</b>: both inputs are partitioned by the hash of the join keys</li>
+ * </ul>
+ * If there are no equi-join keys, all rows of the right input share the same bucket, and the join degrades to a nested
+ * loop join.
+ * <p>
+ * Traits:
+ * <ul>
+ *     <li><b>Collation</b>: none, since the order of the right rows in a bucket is not preserved</li>
+ *     <li><b>Distribution</b>: inherited from the left input</li>
+ * </ul>
+ */
+public class HashJoinPhysicalRel extends Join implements PhysicalRel {
+
+    private final JoinKeys keys;
+
+    public HashJoinPhysicalRel(
+        RelOptCluster cluster,
+        RelTraitSet traits,
+        RelNode left,
+        RelNode right,
+        RexNode condition,
+        JoinRelType joinType
+    ) {
+        super(cluster, traits, left, right, condition, ImmutableSet.of(), joinType);
+
+        keys = JoinKeys.of(this);
+    }
+
+    public List<Integer> getLeftKeys() {
+        return keys.getLeftKeys();
+    }
+
+    public List<Integer> getRightKeys() {
+        return keys.getRightKeys();
+    }
+
+    /**
+     * @return the part of the condition not covered by the keys, or {@code null}
+     */
+    public RexNode getRemainder() {
+        return keys.getRemainder();
+    }
+
+    @Override
+    public final Join copy(
+        RelTraitSet traitSet,
+        RexNode conditionExpr,
+        RelNode left,
+        RelNode right,
+        JoinRelType joinType,
+        boolean semiJoinDone
+    ) {
+        return new HashJoinPhysicalRel(getCluster(), traitSet, left, right, conditionExpr, joinType);
+    }
+
+    @Override
+    public void visit(PhysicalRelVisitor visitor) {
+        ((PhysicalRel) left).visit(visitor);
+        ((PhysicalRel) right).visit(visitor);
+
+        visitor.onHashJoin(this);
+    }
+
+    @Override
+    public RelOptCost computeSelfCost(RelOptPlanner planner, RelMetadataQuery mq) {
+        double leftRows = mq.getRowCount(left);
+        double rightRows = mq.getRowCount(right);
+        double rows = mq.getRowCount(this);
+
+        double cpu = CostUtils.getHashJoinCpu(leftRows, rightRows, rows, !getLeftKeys().isEmpty());
+
+        return planner.getCostFactory().makeCost(rows, cpu, 0);
+    }
+}
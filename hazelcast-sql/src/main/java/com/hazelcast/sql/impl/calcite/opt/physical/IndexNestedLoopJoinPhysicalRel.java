@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.sql.impl.calcite.opt.physical;
+
+import com.hazelcast.sql.impl.calcite.opt.cost.CostUtils;
+import com.hazelcast.sql.impl.calcite.opt.physical.visitor.PhysicalRelVisitor;
+import com.hazelcast.sql.impl.calcite.schema.HazelcastTable;
+import com.hazelcast.sql.impl.schema.map.AbstractMapTable;
+import com.hazelcast.sql.impl.schema.map.MapTableIndex;
+import org.apache.calcite.plan.RelOptCluster;
+import org.apache.calcite.plan.RelOptCost;
+import org.apache.calcite.plan.RelOptPlanner;
+import org.apache.calcite.plan.RelOptTable;
+import org.apache.calcite.plan.RelTraitSet;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.RelWriter;
+import org.apache.calcite.rel.SingleRel;
+import org.apache.calcite.rel.metadata.RelMdUtil;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.rex.RexNode;
+
+import java.util.List;
+
+/**
+ * Physical index nested loop join. For every row of the input, the index of the right map is probed with the values of
+ * the left key columns.
+ * <p>
+ * The lookup is local, so the input must be available on every member holding the partitions of the right map.
+ * Only inner joins are supported, because an outer join would emit unmatched rows on every member.
+ * <p>
+ * Traits:
+ * <ul>
+ *     <li><b>Collation</b>: none</li>
+ *     <li><b>Distribution</b>: partitioned, since every member joins the input with its own partitions</li>
+ * </ul>
+ */
+public class IndexNestedLoopJoinPhysicalRel extends SingleRel implements PhysicalRel {
+
+    /** Right table with projects and filter. */
+    private final RelOptTable rightTable;
+
+    /** Index of the right table, all components of which are covered by the keys. */
+    private final MapTableIndex index;
+
+    /** Indexes of the left key columns, in the order of the index components. */
+    private final List<Integer> leftKeys;
+
+    /** Original join condition. */
+    private final RexNode condition;
+
+    /** Part of the condition not covered by the index lookup, might be {@code null}. */
+    private final RexNode remainder;
+
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    public IndexNestedLoopJoinPhysicalRel(
+        RelOptCluster cluster,
+        RelTraitSet traits,
+        RelNode input,
+        RelOptTable rightTable,
+        MapTableIndex index,
+        List<Integer> leftKeys,
+        RexNode condition,
+        RexNode remainder,
+        RelDataType rowType
+    ) {
+        super(cluster, traits, input);
+
+        this.rightTable = rightTable;
+        this.index = index;
+        this.leftKeys = leftKeys;
+        this.condition = condition;
+        this.remainder = remainder;
+        this.rowType = rowType;
+    }
+
+    public HazelcastTable getRightTableUnwrapped() {
+        return rightTable.unwrap(HazelcastTable.class);
+    }
+
+    public AbstractMapTable getRightMap() {
+        return getRightTableUnwrapped().getTarget();
+    }
+
+    public MapTableIndex getIndex() {
+        return index;
+    }
+
+    public List<Integer> getLeftKeys() {
+        return leftKeys;
+    }
+
+    public RexNode getRemainder() {
+        return remainder;
+    }
+
+    @Override
+    public RelNode copy(RelTraitSet traitSet, List<RelNode> inputs) {
+        return new IndexNestedLoopJoinPhysicalRel(
+            getCluster(),
+            traitSet,
+            sole(inputs),
+            rightTable,
+            index,
+            leftKeys,
+            condition,
+            remainder,
+            rowType
+        );
+    }
+
+    @Override
+    public void visit(PhysicalRelVisitor visitor) {
+        ((PhysicalRel) input).visit(visitor);
+
+        visitor.onIndexNestedLoopJoin(this);
+    }
+
+    @Override
+    public RelWriter explainTerms(RelWriter pw) {
+        return super.explainTerms(pw)
+            .item("table", rightTable.getQualifiedName())
+            .item("index", index.getName())
+            .item("condition", condition);
+    }
+
+    @Override
+    public double estimateRowCount(RelMetadataQuery mq) {
+        return mq.getRowCount(input) * rightTable.getRowCount() * RelMdUtil.guessSelectivity(condition);
+    }
+
+    @Override
+    public RelOptCost computeSelfCost(RelOptPlanner planner, RelMetadataQuery mq) {
+        double leftRows = mq.getRowCount(input);
+        double rows = mq.getRowCount(this);
+
+        double cpu = CostUtils.getIndexNestedLoopJoinCpu(leftRows, rightTable.getRowCount(), rows, index.getType());
+
+        return planner.getCostFactory().makeCost(rows, cpu, 0);
+    }
+}
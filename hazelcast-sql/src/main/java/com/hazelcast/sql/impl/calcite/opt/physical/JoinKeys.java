@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.sql.impl.calcite.opt.physical;
+
+import org.apache.calcite.plan.RelOptUtil;
+import org.apache.calcite.rel.core.Join;
+import org.apache.calcite.rex.RexCall;
+import org.apache.calcite.rex.RexInputRef;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.rex.RexUtil;
+import org.apache.calcite.sql.SqlKind;
+import org.apache.calcite.sql.type.SqlTypeName;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Equi-join keys extracted from the join condition.
+ * <p>
+ * Only equalities between a column of the left input and a column of the right input of the same type are treated
+ * as keys, because the rows are matched by the equality of the key values. The rest of the condition is returned as
+ * the remainder which is evaluated on the joined rows.
+ */
+final class JoinKeys {
+    /** Indexes of the key columns of the left input. */
+    private final List<Integer> leftKeys;
+
+    /** Indexes of the key columns of the right input. */
+    private final List<Integer> rightKeys;
+
+    /** Remaining part of the condition, or {@code null} if the whole condition is covered by the keys. */
+    private final RexNode remainder;
+
+    private JoinKeys(List<Integer> leftKeys, List<Integer> rightKeys, RexNode remainder) {
+        this.leftKeys = leftKeys;
+        this.rightKeys = rightKeys;
+        this.remainder = remainder;
+    }
+
+    static JoinKeys of(Join join) {
+        int leftFieldCount = join.getLeft().getRowType().getFieldCount();
+
+        List<Integer> leftKeys = new ArrayList<>(1);
+        List<Integer> rightKeys = new ArrayList<>(1);
+        List<RexNode> remainders = new ArrayList<>(1);
+
+        for (RexNode conjunction : RelOptUtil.conjunctions(join.getCondition())) {
+            if (conjunction.isAlwaysTrue()) {
+                continue;
+            }
+
+            int[] key = asKey(conjunction, leftFieldCount);
+
+            if (key != null) {
+                leftKeys.add(key[0]);
+                rightKeys.add(key[1] - leftFieldCount);
+            } else {
+                remainders.add(conjunction);
+            }
+        }
+
+        RexNode remainder = RexUtil.composeConjunction(join.getCluster().getRexBuilder(), remainders, true);
+
+        return new JoinKeys(leftKeys, rightKeys, remainder);
+    }
+
+    /**
+     * @return indexes of the left and right columns in the join row type if the given conjunction is a key,
+     *     {@code null} otherwise
+     */
+    private static int[] asKey(RexNode conjunction, int leftFieldCount) {
+        if (conjunction.getKind() != SqlKind.EQUALS) {
+            return null;
+        }
+
+        List<RexNode> operands = ((RexCall) conjunction).getOperands();
+
+        if (!(operands.get(0) instanceof RexInputRef) || !(operands.get(1) instanceof RexInputRef)) {
+            return null;
+        }
+
+        RexInputRef first = (RexInputRef) operands.get(0);
+        RexInputRef second = (RexInputRef) operands.get(1);
+
+        SqlTypeName typeName = first.getType().getSqlTypeName();
+
+        if (typeName != second.getType().getSqlTypeName() || typeName == SqlTypeName.ANY) {
+            // Objects of different types, or of the OBJECT type, are not comparable by equals.
+            return null;
+        }
+
+        int firstIndex = first.getIndex();
+        int secondIndex = second.getIndex();
+
+        if (firstIndex < leftFieldCount && secondIndex >= leftFieldCount) {
+            return new int[] {firstIndex, secondIndex};
+        } else if (secondIndex < leftFieldCount && firstIndex >= leftFieldCount) {
+            return new int[] {secondIndex, firstIndex};
+        } else {
+            return null;
+        }
+    }
+
+    List<Integer> getLeftKeys() {
+        return leftKeys;
+    }
+
+    List<Integer> getRightKeys() {
+        return rightKeys;
+    }
+
+    RexNode getRemainder() {
+        return remainder;
+    }
+}
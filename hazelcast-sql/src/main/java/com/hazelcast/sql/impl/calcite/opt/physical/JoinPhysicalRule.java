@@ -0,0 +1,330 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.sql.impl.calcite.opt.physical;
+
+import com.hazelcast.config.IndexType;
+import com.hazelcast.sql.impl.calcite.SqlToQueryType;
+import com.hazelcast.sql.impl.calcite.opt.HazelcastConventions;
+import com.hazelcast.sql.impl.calcite.opt.OptUtils;
+import com.hazelcast.sql.impl.calcite.opt.distribution.DistributionTraitDef;
+import com.hazelcast.sql.impl.calcite.opt.distribution.DistributionType;
+import com.hazelcast.sql.impl.calcite.opt.logical.JoinLogicalRel;
+import com.hazelcast.sql.impl.calcite.opt.logical.MapScanLogicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.exchange.BroadcastExchangePhysicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.exchange.RootExchangePhysicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.exchange.UnicastExchangePhysicalRel;
+import com.hazelcast.sql.impl.schema.map.MapTableIndex;
+import com.hazelcast.sql.impl.schema.map.PartitionedMapTable;
+import com.hazelcast.sql.impl.type.QueryDataTypeFamily;
+import org.apache.calcite.plan.RelOptRule;
+import org.apache.calcite.plan.RelOptRuleCall;
+import org.apache.calcite.plan.RelTraitSet;
+import org.apache.calcite.plan.volcano.RelSubset;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.core.JoinRelType;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.rex.RexNode;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static com.hazelcast.sql.impl.calcite.opt.distribution.DistributionType.PARTITIONED;
+import static com.hazelcast.sql.impl.calcite.opt.distribution.DistributionType.ROOT;
+
+/**
+ * This rule converts logical join into physical join. The following alternatives are produced, and the cheapest one is
+ * chosen by the cost model:
+ * <ul>
+ *     <li><b>Broadcast hash join</b>: the right input is sent to all members, and joined with the local rows of the left
+ *     input. Cheap when the right input is small, e.g. a dimension map joined to a large fact map.</li>
+ *     <li><b>Partitioned hash join</b>: both inputs are re-partitioned by the hash of the join keys, so that matching
+ *     rows meet on the same member. Requires equi-join keys.</li>
+ *     <li><b>Index nested loop join</b>: the left input is sent to all members, and every left row probes the index
+ *     of the right map by the join keys. Requires an inner join and an index of the right map covered by the keys.</li>
+ * </ul>
+ * If one of the inputs is already collected on the root member, the other input is collected there too, and the hash
+ * join is executed on the root member. On a single-member cluster no exchanges are needed.
+ */
+public final class JoinPhysicalRule extends RelOptRule {
+    public static final RelOptRule INSTANCE = new JoinPhysicalRule();
+
+    private JoinPhysicalRule() {
+        super(
+            RelOptRule.operand(
+                JoinLogicalRel.class,
+                HazelcastConventions.LOGICAL,
+                RelOptRule.some(
+                    RelOptRule.operand(RelNode.class, RelOptRule.any()),
+                    RelOptRule.operand(RelNode.class, RelOptRule.any())
+                )
+            ),
+            JoinPhysicalRule.class.getSimpleName()
+        );
+    }
+
+    @Override
+    public void onMatch(RelOptRuleCall call) {
+        JoinLogicalRel logicalJoin = call.rel(0);
+
+        JoinRelType joinType = logicalJoin.getJoinType();
+
+        if (joinType != JoinRelType.INNER && joinType != JoinRelType.LEFT) {
+            // Other join types are rejected by the parser.
+            return;
+        }
+
+        JoinKeys keys = JoinKeys.of(logicalJoin);
+
+        RelNode convertedLeft = OptUtils.toPhysicalInput(logicalJoin.getLeft());
+        RelNode convertedRight = OptUtils.toPhysicalInput(logicalJoin.getRight());
+
+        for (RelNode physicalLeft : OptUtils.getPhysicalRelsFromSubset(convertedLeft)) {
+            for (RelNode physicalRight : OptUtils.getPhysicalRelsFromSubset(convertedRight)) {
+                for (RelNode transform : createHashJoins(logicalJoin, keys, physicalLeft, physicalRight)) {
+                    call.transformTo(transform);
+                }
+            }
+
+            if (joinType == JoinRelType.INNER) {
+                for (RelNode transform : createIndexNestedLoopJoins(logicalJoin, keys, physicalLeft)) {
+                    call.transformTo(transform);
+                }
+            }
+        }
+    }
+
+    private static List<RelNode> createHashJoins(
+        JoinLogicalRel logicalJoin,
+        JoinKeys keys,
+        RelNode physicalLeft,
+        RelNode physicalRight
+    ) {
+        DistributionTraitDef distributionDef = OptUtils.getDistributionDef(physicalLeft);
+
+        if (distributionDef.getMemberCount() == 1) {
+            return Collections.singletonList(createHashJoin(logicalJoin, physicalLeft, physicalRight));
+        }
+
+        DistributionType leftType = OptUtils.getDistribution(physicalLeft).getType();
+        DistributionType rightType = OptUtils.getDistribution(physicalRight).getType();
+
+        List<RelNode> res = new ArrayList<>(2);
+
+        if (leftType == PARTITIONED && rightType == PARTITIONED) {
+            // Broadcast hash join.
+            RelNode broadcastRight = new BroadcastExchangePhysicalRel(
+                logicalJoin.getCluster(),
+                OptUtils.traitPlus(physicalRight.getTraitSet(), distributionDef.getTraitReplicated()),
+                physicalRight
+            );
+
+            res.add(createHashJoin(logicalJoin, physicalLeft, broadcastRight));
+
+            // Partitioned hash join.
+            if (!keys.getLeftKeys().isEmpty()) {
+                RelNode unicastLeft = new UnicastExchangePhysicalRel(
+                    logicalJoin.getCluster(),
+                    physicalLeft.getTraitSet(),
+                    physicalLeft,
+                    keys.getLeftKeys()
+                );
+
+                RelNode unicastRight = new UnicastExchangePhysicalRel(
+                    logicalJoin.getCluster(),
+                    physicalRight.getTraitSet(),
+                    physicalRight,
+                    keys.getRightKeys()
+                );
+
+                res.add(createHashJoin(logicalJoin, unicastLeft, unicastRight));
+            }
+        } else if (isRootOrPartitioned(leftType) && isRootOrPartitioned(rightType)) {
+            // At least one input is on the root member already, join there.
+            res.add(createHashJoin(logicalJoin, toRoot(physicalLeft), toRoot(physicalRight)));
+        }
+
+        return res;
+    }
+
+    private static HashJoinPhysicalRel createHashJoin(JoinLogicalRel logicalJoin, RelNode left, RelNode right) {
+        return new HashJoinPhysicalRel(
+            logicalJoin.getCluster(),
+            left.getTraitSet(),
+            left,
+            right,
+            logicalJoin.getCondition(),
+            logicalJoin.getJoinType()
+        );
+    }
+
+    private static boolean isRootOrPartitioned(DistributionType type) {
+        return type == ROOT || type == PARTITIONED;
+    }
+
+    private static RelNode toRoot(RelNode rel) {
+        if (OptUtils.getDistribution(rel).getType() == ROOT) {
+            return rel;
+        }
+
+        return new RootExchangePhysicalRel(
+            rel.getCluster(),
+            OptUtils.traitPlus(rel.getTraitSet(), OptUtils.getDistributionDef(rel).getTraitRoot()),
+            rel
+        );
+    }
+
+    private static List<RelNode> createIndexNestedLoopJoins(
+        JoinLogicalRel logicalJoin,
+        JoinKeys keys,
+        RelNode physicalLeft
+    ) {
+        if (keys.getLeftKeys().isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        DistributionTraitDef distributionDef = OptUtils.getDistributionDef(physicalLeft);
+
+        RelNode left;
+        RelTraitSet traitSet;
+
+        if (distributionDef.getMemberCount() == 1) {
+            left = physicalLeft;
+            traitSet = physicalLeft.getTraitSet();
+        } else {
+            if (OptUtils.getDistribution(physicalLeft).getType() != PARTITIONED) {
+                // The left input must be sent from the data members.
+                return Collections.emptyList();
+            }
+
+            left = new BroadcastExchangePhysicalRel(
+                logicalJoin.getCluster(),
+                OptUtils.traitPlus(physicalLeft.getTraitSet(), distributionDef.getTraitReplicated()),
+                physicalLeft
+            );
+
+            traitSet = OptUtils.traitPlus(physicalLeft.getTraitSet(), distributionDef.getTraitPartitionedUnknown());
+        }
+
+        List<RelNode> res = new ArrayList<>(1);
+
+        for (MapScanLogicalRel scan : getMapScans(logicalJoin.getRight())) {
+            if (!(scan.getMap() instanceof PartitionedMapTable)) {
+                continue;
+            }
+
+            List<Integer> projects = scan.getTableUnwrapped().getProjects();
+
+            for (MapTableIndex index : ((PartitionedMapTable) scan.getMap()).getIndexes()) {
+                List<Integer> leftKeys = getIndexLeftKeys(index, keys, projects, logicalJoin.getRight().getRowType());
+
+                if (leftKeys == null) {
+                    continue;
+                }
+
+                // Equalities not used for the lookup are evaluated on the joined rows.
+                RexNode remainder = leftKeys.size() == keys.getLeftKeys().size()
+                    ? keys.getRemainder() : logicalJoin.getCondition();
+
+                res.add(new IndexNestedLoopJoinPhysicalRel(
+                    logicalJoin.getCluster(),
+                    traitSet,
+                    left,
+                    scan.getTable(),
+                    index,
+                    leftKeys,
+                    logicalJoin.getCondition(),
+                    remainder,
+                    logicalJoin.getRowType()
+                ));
+            }
+        }
+
+        return res;
+    }
+
+    private static List<MapScanLogicalRel> getMapScans(RelNode input) {
+        List<RelNode> rels = input instanceof RelSubset ? ((RelSubset) input).getRelList() : Collections.singletonList(input);
+
+        List<MapScanLogicalRel> res = new ArrayList<>(1);
+
+        for (RelNode rel : rels) {
+            if (rel instanceof MapScanLogicalRel) {
+                res.add((MapScanLogicalRel) rel);
+            }
+        }
+
+        return res;
+    }
+
+    /**
+     * Match the components of the index to the join keys.
+     *
+     * @param index Index of the right map.
+     * @param keys Join keys.
+     * @param projects Projects of the right map scan.
+     * @param rightRowType Row type of the right input.
+     * @return Left key columns in the order of the index components, or {@code null} if some of the components are not
+     *     covered by the keys.
+     */
+    private static List<Integer> getIndexLeftKeys(
+        MapTableIndex index,
+        JoinKeys keys,
+        List<Integer> projects,
+        RelDataType rightRowType
+    ) {
+        if (index.getType() != IndexType.SORTED && index.getType() != IndexType.HASH) {
+            return null;
+        }
+
+        if (index.getFieldOrdinals().size() != index.getComponentsCount()) {
+            // Some of the index components are not resolved to map fields.
+            return null;
+        }
+
+        List<Integer> res = new ArrayList<>(index.getComponentsCount());
+
+        for (int i = 0; i < index.getComponentsCount(); i++) {
+            int fieldOrdinal = index.getFieldOrdinals().get(i);
+            QueryDataTypeFamily converterTypeFamily = index.getFieldConverterTypes().get(i).getTypeFamily();
+
+            Integer leftKey = null;
+
+            for (int j = 0; j < keys.getRightKeys().size(); j++) {
+                int rightKey = keys.getRightKeys().get(j);
+
+                QueryDataTypeFamily rightKeyTypeFamily =
+                    SqlToQueryType.map(rightRowType.getFieldList().get(rightKey).getType().getSqlTypeName()).getTypeFamily();
+
+                if (projects.get(rightKey) == fieldOrdinal && rightKeyTypeFamily == converterTypeFamily) {
+                    leftKey = keys.getLeftKeys().get(j);
+
+                    break;
+                }
+            }
+
+            if (leftKey == null) {
+                return null;
+            }
+
+            res.add(leftKey);
+        }
+
+        return res;
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.sql.impl.calcite.opt.physical;
+
+import com.hazelcast.sql.impl.calcite.opt.cost.CostUtils;
+import com.hazelcast.sql.impl.calcite.opt.physical.visitor.PhysicalRelVisitor;
+import org.apache.calcite.plan.RelOptCluster;
+import org.apache.calcite.plan.RelOptCost;
+import org.apache.calcite.plan.RelOptPlanner;
+import org.apache.calcite.plan.RelTraitSet;
+import org.apache.calcite.rel.RelCollation;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.RelWriter;
+import org.apache.calcite.rel.core.Sort;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
+import org.apache.calcite.rex.RexLiteral;
+import org.apache.calcite.rex.RexNode;
+
+/**
+ * Physical sort with optional offset and fetch. Only the top rows are retained when the fetch is defined.
+ * <p>
+ * The local sort is executed on every member holding the input data. It doesn't skip rows, but retains
+ * {@code offset + fetch} rows, so that the downstream sort-merge exchange could apply both offset and fetch to
+ * the merged stream.
+ * <p>
+ * Traits:
+ * <ul>
+ *     <li><b>Collation</b>: the collation of the sort</li>
+ *     <li><b>Distribution</b>: inherited from the input</li>
+ * </ul>
+ */
+public class SortPhysicalRel extends Sort implements PhysicalRel {
+
+    private final boolean local;
+
+    public SortPhysicalRel(
+        RelOptCluster cluster,
+        RelTraitSet traits,
+        RelNode input,
+        RelCollation collation,
+        RexNode offset,
+        RexNode fetch,
+        boolean local
+    ) {
+        super(cluster, traits, input, collation, offset, fetch);
+
+        this.local = local;
+    }
+
+    public boolean isLocal() {
+        return local;
+    }
+
+    @Override
+    public final Sort copy(RelTraitSet traitSet, RelNode input, RelCollation collation, RexNode offset, RexNode fetch) {
+        return new SortPhysicalRel(getCluster(), traitSet, input, collation, offset, fetch, local);
+    }
+
+    @Override
+    public void visit(PhysicalRelVisitor visitor) {
+        ((PhysicalRel) input).visit(visitor);
+
+        visitor.onSort(this);
+    }
+
+    @Override
+    public RelWriter explainTerms(RelWriter pw) {
+        return super.explainTerms(pw).item("local", local);
+    }
+
+    @Override
+    public RelOptCost computeSelfCost(RelOptPlanner planner, RelMetadataQuery mq) {
+        double rows = mq.getRowCount(getInput());
+        double cpu = CostUtils.getSortCpu(rows, getRetainedRowCount(offset, fetch, rows));
+
+        return planner.getCostFactory().makeCost(rows, cpu, 0);
+    }
+
+    /**
+     * Get the number of rows retained by a sort.
+     *
+     * @param offset Offset.
+     * @param fetch Fetch.
+     * @param rowCount Number of input rows.
+     * @return {@code offset + fetch} if both are literals, or the number of input rows otherwise.
+     */
+    static double getRetainedRowCount(RexNode offset, RexNode fetch, double rowCount) {
+        if (!(fetch instanceof RexLiteral) || (offset != null && !(offset instanceof RexLiteral))) {
+            return rowCount;
+        }
+
+        double res = RexLiteral.intValue(fetch);
+
+        if (offset != null) {
+            res += RexLiteral.intValue(offset);
+        }
+
+        return Math.min(res, rowCount);
+    }
+}
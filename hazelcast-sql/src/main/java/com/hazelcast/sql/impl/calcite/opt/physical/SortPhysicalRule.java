@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.sql.impl.calcite.opt.physical;
+
+import com.hazelcast.sql.impl.calcite.opt.HazelcastConventions;
+import com.hazelcast.sql.impl.calcite.opt.OptUtils;
+import com.hazelcast.sql.impl.calcite.opt.distribution.DistributionTrait;
+import com.hazelcast.sql.impl.calcite.opt.distribution.DistributionTraitDef;
+import com.hazelcast.sql.impl.calcite.opt.logical.SortLogicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.exchange.SortMergeExchangePhysicalRel;
+import org.apache.calcite.plan.RelOptRule;
+import org.apache.calcite.plan.RelOptRuleCall;
+import org.apache.calcite.rel.RelNode;
+
+import static com.hazelcast.sql.impl.calcite.opt.distribution.DistributionType.PARTITIONED;
+
+/**
+ * This rule converts logical sort into physical sort.
+ * <p>
+ * If the input is partitioned, the local sort is executed on every member next to the data, retaining only the top
+ * rows when fetch is defined. The sorted streams are then merged on the root member by
+ * {@link SortMergeExchangePhysicalRel}, which applies offset and fetch. Otherwise a single sort is executed.
+ */
+public final class SortPhysicalRule extends RelOptRule {
+    public static final RelOptRule INSTANCE = new SortPhysicalRule();
+
+    private SortPhysicalRule() {
+        super(
+            OptUtils.parentChild(SortLogicalRel.class, RelNode.class, HazelcastConventions.LOGICAL),
+            SortPhysicalRule.class.getSimpleName()
+        );
+    }
+
+    @Override
+    public void onMatch(RelOptRuleCall call) {
+        SortLogicalRel logicalSort = call.rel(0);
+        RelNode input = logicalSort.getInput();
+
+        RelNode convertedInput = OptUtils.toPhysicalInput(input);
+
+        for (RelNode physicalInput : OptUtils.getPhysicalRelsFromSubset(convertedInput)) {
+            call.transformTo(createPhysicalSort(logicalSort, physicalInput));
+        }
+    }
+
+    private static RelNode createPhysicalSort(SortLogicalRel logicalSort, RelNode physicalInput) {
+        DistributionTraitDef distributionDef = OptUtils.getDistributionDef(physicalInput);
+        DistributionTrait distribution = OptUtils.getDistribution(physicalInput);
+
+        boolean local = distribution.getType() == PARTITIONED && distributionDef.getMemberCount() > 1;
+
+        SortPhysicalRel sort = new SortPhysicalRel(
+            logicalSort.getCluster(),
+            physicalInput.getTraitSet(),
+            physicalInput,
+            logicalSort.getCollation(),
+            logicalSort.offset,
+            logicalSort.fetch,
+            local
+        );
+
+        if (!local) {
+            return sort;
+        }
+
+        // Only the top rows of every member are sent over the network.
+        return new SortMergeExchangePhysicalRel(
+            logicalSort.getCluster(),
+            OptUtils.traitPlus(physicalInput.getTraitSet(), distributionDef.getTraitRoot()),
+            sort,
+            logicalSort.getCollation(),
+            logicalSort.offset,
+            logicalSort.fetch
+        );
+    }
+}
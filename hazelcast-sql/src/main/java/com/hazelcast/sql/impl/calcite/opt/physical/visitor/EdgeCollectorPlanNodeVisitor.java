@@ -16,17 +16,24 @@
 
 package com.hazelcast.sql.impl.calcite.opt.physical.visitor;
 
+import com.hazelcast.sql.impl.plan.node.AggregatePlanNode;
 import com.hazelcast.sql.impl.plan.node.EmptyPlanNode;
 import com.hazelcast.sql.impl.plan.node.FilterPlanNode;
+import com.hazelcast.sql.impl.plan.node.HashJoinPlanNode;
+import com.hazelcast.sql.impl.plan.node.IndexNestedLoopJoinPlanNode;
 import com.hazelcast.sql.impl.plan.node.MapIndexScanPlanNode;
 import com.hazelcast.sql.impl.plan.node.MapScanPlanNode;
 import com.hazelcast.sql.impl.plan.node.PlanNode;
 import com.hazelcast.sql.impl.plan.node.PlanNodeVisitor;
 import com.hazelcast.sql.impl.plan.node.ProjectPlanNode;
 import com.hazelcast.sql.impl.plan.node.RootPlanNode;
+import com.hazelcast.sql.impl.plan.node.SortPlanNode;
+import com.hazelcast.sql.impl.plan.node.io.BroadcastSendPlanNode;
 import com.hazelcast.sql.impl.plan.node.io.EdgeAwarePlanNode;
 import com.hazelcast.sql.impl.plan.node.io.ReceivePlanNode;
+import com.hazelcast.sql.impl.plan.node.io.ReceiveSortMergePlanNode;
 import com.hazelcast.sql.impl.plan.node.io.RootSendPlanNode;
+import com.hazelcast.sql.impl.plan.node.io.UnicastSendPlanNode;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -59,11 +66,26 @@ public class EdgeCollectorPlanNodeVisitor implements PlanNodeVisitor {
         onNode(node);
     }
 
+    @Override
+    public void onReceiveSortMergeNode(ReceiveSortMergePlanNode node) {
+        onNode(node);
+    }
+
     @Override
     public void onRootSendNode(RootSendPlanNode node) {
         onNode(node);
     }
 
+    @Override
+    public void onBroadcastSendNode(BroadcastSendPlanNode node) {
+        onNode(node);
+    }
+
+    @Override
+    public void onUnicastSendNode(UnicastSendPlanNode node) {
+        onNode(node);
+    }
+
     @Override
     public void onMapScanNode(MapScanPlanNode node) {
         onNode(node);
@@ -79,6 +101,26 @@ public class EdgeCollectorPlanNodeVisitor implements PlanNodeVisitor {
         onNode(node);
     }
 
+    @Override
+    public void onAggregateNode(AggregatePlanNode node) {
+        onNode(node);
+    }
+
+    @Override
+    public void onSortNode(SortPlanNode node) {
+        onNode(node);
+    }
+
+    @Override
+    public void onHashJoinNode(HashJoinPlanNode node) {
+        onNode(node);
+    }
+
+    @Override
+    public void onIndexNestedLoopJoinNode(IndexNestedLoopJoinPlanNode node) {
+        onNode(node);
+    }
+
     @Override
     public void onFilterNode(FilterPlanNode node) {
         onNode(node);
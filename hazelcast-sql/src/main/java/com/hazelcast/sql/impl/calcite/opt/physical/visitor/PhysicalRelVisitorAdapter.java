@@ -16,14 +16,21 @@
 
 package com.hazelcast.sql.impl.calcite.opt.physical.visitor;
 
+import com.hazelcast.sql.impl.calcite.opt.physical.AggregatePhysicalRel;
 import com.hazelcast.sql.impl.calcite.opt.physical.FilterPhysicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.HashJoinPhysicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.IndexNestedLoopJoinPhysicalRel;
 import com.hazelcast.sql.impl.calcite.opt.physical.MapIndexScanPhysicalRel;
 import com.hazelcast.sql.impl.calcite.opt.physical.MapScanPhysicalRel;
 import com.hazelcast.sql.impl.calcite.opt.physical.PhysicalRel;
 import com.hazelcast.sql.impl.calcite.opt.physical.ProjectPhysicalRel;
 import com.hazelcast.sql.impl.calcite.opt.physical.RootPhysicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.SortPhysicalRel;
 import com.hazelcast.sql.impl.calcite.opt.physical.ValuesPhysicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.exchange.BroadcastExchangePhysicalRel;
 import com.hazelcast.sql.impl.calcite.opt.physical.exchange.RootExchangePhysicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.exchange.SortMergeExchangePhysicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.exchange.UnicastExchangePhysicalRel;
 
 /**
  * Convenient adapter for physical visitor which delegates all calls to a single method.
@@ -49,6 +56,21 @@ public abstract class PhysicalRelVisitorAdapter implements PhysicalRelVisitor {
         onNode(rel);
     }
 
+    @Override
+    public void onSortMergeExchange(SortMergeExchangePhysicalRel rel) {
+        onNode(rel);
+    }
+
+    @Override
+    public void onBroadcastExchange(BroadcastExchangePhysicalRel rel) {
+        onNode(rel);
+    }
+
+    @Override
+    public void onUnicastExchange(UnicastExchangePhysicalRel rel) {
+        onNode(rel);
+    }
+
     @Override
     public void onProject(ProjectPhysicalRel rel) {
         onNode(rel);
@@ -59,6 +81,26 @@ public abstract class PhysicalRelVisitorAdapter implements PhysicalRelVisitor {
         onNode(rel);
     }
 
+    @Override
+    public void onAggregate(AggregatePhysicalRel rel) {
+        onNode(rel);
+    }
+
+    @Override
+    public void onSort(SortPhysicalRel rel) {
+        onNode(rel);
+    }
+
+    @Override
+    public void onHashJoin(HashJoinPhysicalRel rel) {
+        onNode(rel);
+    }
+
+    @Override
+    public void onIndexNestedLoopJoin(IndexNestedLoopJoinPhysicalRel rel) {
+        onNode(rel);
+    }
+
     @Override
     public void onValues(ValuesPhysicalRel rel) {
         onNode(rel);
@@ -23,24 +23,41 @@ import com.hazelcast.sql.impl.QueryException;
 import com.hazelcast.sql.impl.QueryParameterMetadata;
 import com.hazelcast.sql.impl.QueryUtils;
 import com.hazelcast.sql.impl.calcite.SqlToQueryType;
+import com.hazelcast.sql.impl.calcite.opt.physical.AggregatePhysicalRel;
 import com.hazelcast.sql.impl.calcite.opt.physical.FilterPhysicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.HashJoinPhysicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.IndexNestedLoopJoinPhysicalRel;
 import com.hazelcast.sql.impl.calcite.opt.physical.MapIndexScanPhysicalRel;
 import com.hazelcast.sql.impl.calcite.opt.physical.MapScanPhysicalRel;
 import com.hazelcast.sql.impl.calcite.opt.physical.PhysicalRel;
 import com.hazelcast.sql.impl.calcite.opt.physical.ProjectPhysicalRel;
 import com.hazelcast.sql.impl.calcite.opt.physical.RootPhysicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.SortPhysicalRel;
 import com.hazelcast.sql.impl.calcite.opt.physical.ValuesPhysicalRel;
 import com.hazelcast.sql.impl.calcite.opt.physical.exchange.AbstractExchangePhysicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.exchange.BroadcastExchangePhysicalRel;
 import com.hazelcast.sql.impl.calcite.opt.physical.exchange.RootExchangePhysicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.exchange.SortMergeExchangePhysicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.exchange.UnicastExchangePhysicalRel;
 import com.hazelcast.sql.impl.calcite.schema.HazelcastTable;
+import com.hazelcast.sql.impl.expression.ColumnExpression;
 import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.aggregate.AggregateExpression;
+import com.hazelcast.sql.impl.expression.aggregate.ApproxCountDistinctAggregateExpression;
+import com.hazelcast.sql.impl.expression.aggregate.AvgAggregateExpression;
+import com.hazelcast.sql.impl.expression.aggregate.CountAggregateExpression;
+import com.hazelcast.sql.impl.expression.aggregate.MinMaxAggregateExpression;
+import com.hazelcast.sql.impl.expression.aggregate.SumAggregateExpression;
 import com.hazelcast.sql.impl.extract.QueryPath;
 import com.hazelcast.sql.impl.plan.Plan;
 import com.hazelcast.sql.impl.plan.PlanFragmentMapping;
 import com.hazelcast.sql.impl.plan.cache.PlanCacheKey;
 import com.hazelcast.sql.impl.plan.cache.PlanObjectKey;
+import com.hazelcast.sql.impl.plan.node.AggregatePlanNode;
 import com.hazelcast.sql.impl.plan.node.EmptyPlanNode;
 import com.hazelcast.sql.impl.plan.node.FilterPlanNode;
+import com.hazelcast.sql.impl.plan.node.HashJoinPlanNode;
+import com.hazelcast.sql.impl.plan.node.IndexNestedLoopJoinPlanNode;
 import com.hazelcast.sql.impl.plan.node.MapIndexScanPlanNode;
 import com.hazelcast.sql.impl.plan.node.MapScanPlanNode;
 import com.hazelcast.sql.impl.plan.node.PlanNode;
@@ -48,11 +65,20 @@ import com.hazelcast.sql.impl.plan.node.PlanNodeFieldTypeProvider;
 import com.hazelcast.sql.impl.plan.node.PlanNodeSchema;
 import com.hazelcast.sql.impl.plan.node.ProjectPlanNode;
 import com.hazelcast.sql.impl.plan.node.RootPlanNode;
+import com.hazelcast.sql.impl.plan.node.SortPlanNode;
+import com.hazelcast.sql.impl.plan.node.io.BroadcastSendPlanNode;
 import com.hazelcast.sql.impl.plan.node.io.ReceivePlanNode;
+import com.hazelcast.sql.impl.plan.node.io.ReceiveSortMergePlanNode;
 import com.hazelcast.sql.impl.plan.node.io.RootSendPlanNode;
+import com.hazelcast.sql.impl.plan.node.io.UnicastSendPlanNode;
 import com.hazelcast.sql.impl.schema.map.AbstractMapTable;
 import com.hazelcast.sql.impl.schema.map.MapTableField;
 import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.sql.impl.type.QueryDataTypeFamily;
+import org.apache.calcite.rel.RelCollation;
+import org.apache.calcite.rel.RelFieldCollation;
+import org.apache.calcite.rel.core.AggregateCall;
+import org.apache.calcite.rel.core.JoinRelType;
 import org.apache.calcite.rex.RexNode;
 
 import java.util.ArrayDeque;
@@ -295,6 +321,97 @@ public class PlanCreateVisitor implements PhysicalRelVisitor {
         pushUpstream(receiveNode);
     }
 
+    @Override
+    public void onSortMergeExchange(SortMergeExchangePhysicalRel rel) {
+        // Get upstream node.
+        PlanNode upstreamNode = pollSingleUpstream();
+
+        // Create sender and push it as a fragment.
+        int edge = nextEdge();
+
+        int id = pollId(rel);
+
+        RootSendPlanNode sendNode = new RootSendPlanNode(
+            id,
+            upstreamNode,
+            edge
+        );
+
+        addFragment(sendNode, dataMemberMapping());
+
+        // Create receiver which merges sorted streams.
+        PlanNodeSchema schema = sendNode.getSchema();
+
+        ReceiveSortMergePlanNode receiveNode = new ReceiveSortMergePlanNode(
+            id,
+            edge,
+            schema.getTypes(),
+            getSortColumnIndexes(rel.getCollation(), schema),
+            getSortAscs(rel.getCollation()),
+            convertExpression(schema, rel.getFetch()),
+            convertExpression(schema, rel.getOffset())
+        );
+
+        pushUpstream(receiveNode);
+    }
+
+    @Override
+    public void onBroadcastExchange(BroadcastExchangePhysicalRel rel) {
+        // Get upstream node.
+        PlanNode upstreamNode = pollSingleUpstream();
+
+        // Create sender and push it as a fragment.
+        int edge = nextEdge();
+
+        int id = pollId(rel);
+
+        BroadcastSendPlanNode sendNode = new BroadcastSendPlanNode(
+            id,
+            upstreamNode,
+            edge
+        );
+
+        addFragment(sendNode, dataMemberMapping());
+
+        // Create receiver.
+        ReceivePlanNode receiveNode = new ReceivePlanNode(
+            id,
+            edge,
+            sendNode.getSchema().getTypes()
+        );
+
+        pushUpstream(receiveNode);
+    }
+
+    @Override
+    public void onUnicastExchange(UnicastExchangePhysicalRel rel) {
+        // Get upstream node.
+        PlanNode upstreamNode = pollSingleUpstream();
+
+        // Create sender and push it as a fragment.
+        int edge = nextEdge();
+
+        int id = pollId(rel);
+
+        UnicastSendPlanNode sendNode = new UnicastSendPlanNode(
+            id,
+            upstreamNode,
+            edge,
+            rel.getHashFields()
+        );
+
+        addFragment(sendNode, dataMemberMapping());
+
+        // Create receiver.
+        ReceivePlanNode receiveNode = new ReceivePlanNode(
+            id,
+            edge,
+            sendNode.getSchema().getTypes()
+        );
+
+        pushUpstream(receiveNode);
+    }
+
     @Override
     public void onProject(ProjectPhysicalRel rel) {
         PlanNode upstreamNode = pollSingleUpstream();
@@ -332,6 +449,133 @@ public class PlanCreateVisitor implements PhysicalRelVisitor {
         pushUpstream(filterNode);
     }
 
+    @Override
+    public void onAggregate(AggregatePhysicalRel rel) {
+        PlanNode upstreamNode = pollSingleUpstream();
+        PlanNodeSchema upstreamSchema = upstreamNode.getSchema();
+
+        boolean local = rel.isLocal();
+
+        // The final phase accepts rows of the local phase, where group columns go first.
+        List<Integer> groupKey = new ArrayList<>(rel.getGroupSet().cardinality());
+
+        for (int i = 0; i < rel.getGroupSet().cardinality(); i++) {
+            groupKey.add(local ? rel.getGroupSet().nth(i) : i);
+        }
+
+        // Operands of the final phase refer to the first column of the respective partial state.
+        List<AggregateExpression> expressions = new ArrayList<>(rel.getAggCalls().size());
+
+        int partialOffset = groupKey.size();
+
+        for (AggregateCall aggCall : rel.getAggCalls()) {
+            Expression<?> operand = null;
+
+            if (!aggCall.getArgList().isEmpty()) {
+                int index = local ? aggCall.getArgList().get(0) : partialOffset;
+
+                operand = ColumnExpression.create(index, upstreamSchema.getType(index));
+            }
+
+            AggregateExpression expression = convertAggregate(aggCall, operand);
+
+            expressions.add(expression);
+
+            partialOffset += expression.getPartialTypes().size();
+        }
+
+        AggregatePlanNode aggregateNode = new AggregatePlanNode(
+            pollId(rel),
+            upstreamNode,
+            groupKey,
+            expressions,
+            local
+        );
+
+        pushUpstream(aggregateNode);
+    }
+
+    @Override
+    public void onSort(SortPhysicalRel rel) {
+        PlanNode upstreamNode = pollSingleUpstream();
+        PlanNodeSchema upstreamSchema = upstreamNode.getSchema();
+
+        SortPlanNode sortNode = new SortPlanNode(
+            pollId(rel),
+            upstreamNode,
+            getSortColumnIndexes(rel.getCollation(), upstreamSchema),
+            getSortAscs(rel.getCollation()),
+            convertExpression(upstreamSchema, rel.fetch),
+            convertExpression(upstreamSchema, rel.offset),
+            rel.isLocal()
+        );
+
+        pushUpstream(sortNode);
+    }
+
+    @Override
+    public void onHashJoin(HashJoinPhysicalRel rel) {
+        // The right input is visited last, hence it is on top of the stack.
+        PlanNode rightNode = pollSingleUpstream();
+        PlanNode leftNode = pollSingleUpstream();
+
+        PlanNodeSchema schema = PlanNodeSchema.combine(leftNode.getSchema(), rightNode.getSchema());
+
+        HashJoinPlanNode joinNode = new HashJoinPlanNode(
+            pollId(rel),
+            leftNode,
+            rightNode,
+            rel.getLeftKeys(),
+            rel.getRightKeys(),
+            convertFilter(schema, rel.getRemainder()),
+            rel.getJoinType() == JoinRelType.LEFT
+        );
+
+        pushUpstream(joinNode);
+    }
+
+    @Override
+    public void onIndexNestedLoopJoin(IndexNestedLoopJoinPhysicalRel rel) {
+        PlanNode leftNode = pollSingleUpstream();
+
+        HazelcastTable hazelcastTable = rel.getRightTableUnwrapped();
+        AbstractMapTable table = rel.getRightMap();
+
+        PlanNodeSchema schemaBefore = getScanSchemaBeforeProject(table);
+
+        int id = pollId(rel);
+
+        // The index filter is created for every left row during execution.
+        MapIndexScanPlanNode rightNode = new MapIndexScanPlanNode(
+            id,
+            table.getMapName(),
+            table.getKeyDescriptor(),
+            table.getValueDescriptor(),
+            getScanFieldPaths(table),
+            schemaBefore.getTypes(),
+            hazelcastTable.getProjects(),
+            rel.getIndex().getName(),
+            rel.getIndex().getComponentsCount(),
+            null,
+            rel.getIndex().getFieldConverterTypes(),
+            convertFilter(schemaBefore, hazelcastTable.getFilter())
+        );
+
+        PlanNodeSchema schema = PlanNodeSchema.combine(leftNode.getSchema(), rightNode.getSchema());
+
+        IndexNestedLoopJoinPlanNode joinNode = new IndexNestedLoopJoinPlanNode(
+            id,
+            leftNode,
+            rightNode,
+            rel.getLeftKeys(),
+            convertFilter(schema, rel.getRemainder())
+        );
+
+        pushUpstream(joinNode);
+
+        objectIds.add(table.getObjectKey());
+    }
+
     @Override
     public void onValues(ValuesPhysicalRel rel) {
         if (!rel.getTuples().isEmpty()) {
@@ -417,6 +661,65 @@ public class PlanCreateVisitor implements PhysicalRelVisitor {
         return expression.accept(converter);
     }
 
+    private static AggregateExpression convertAggregate(AggregateCall aggCall, Expression<?> operand) {
+        QueryDataType resultType = SqlToQueryType.map(aggCall.getType().getSqlTypeName());
+
+        switch (aggCall.getAggregation().getKind()) {
+            case COUNT:
+                if (aggCall.isApproximate()) {
+                    return ApproxCountDistinctAggregateExpression.create(operand);
+                }
+
+                return CountAggregateExpression.create(operand);
+
+            case SUM:
+                return SumAggregateExpression.create(operand, resultType);
+
+            case AVG:
+                return AvgAggregateExpression.create(operand, resultType);
+
+            case MIN:
+                return MinMaxAggregateExpression.createMin(operand);
+
+            case MAX:
+                return MinMaxAggregateExpression.createMax(operand);
+
+            default:
+                throw QueryException.error("Unsupported aggregate function: " + aggCall.getAggregation().getName());
+        }
+    }
+
+    private static List<Integer> getSortColumnIndexes(RelCollation collation, PlanNodeSchema schema) {
+        List<Integer> res = new ArrayList<>(collation.getFieldCollations().size());
+
+        for (RelFieldCollation fieldCollation : collation.getFieldCollations()) {
+            int index = fieldCollation.getFieldIndex();
+
+            if (schema.getType(index).getTypeFamily() == QueryDataTypeFamily.OBJECT) {
+                throw QueryException.error("Sorting by a column of type OBJECT is not supported");
+            }
+
+            res.add(index);
+        }
+
+        return res;
+    }
+
+    private static List<Boolean> getSortAscs(RelCollation collation) {
+        List<Boolean> res = new ArrayList<>(collation.getFieldCollations().size());
+
+        for (RelFieldCollation fieldCollation : collation.getFieldCollations()) {
+            boolean asc = !fieldCollation.getDirection().isDescending();
+
+            // Only the default null collation is supported, which is consistent with SortKeyComparator.
+            assert fieldCollation.nullDirection == fieldCollation.getDirection().defaultNullDirection();
+
+            res.add(asc);
+        }
+
+        return res;
+    }
+
     private static PlanNodeSchema getScanSchemaBeforeProject(AbstractMapTable table) {
         List<QueryDataType> types = new ArrayList<>(table.getFieldCount());
 
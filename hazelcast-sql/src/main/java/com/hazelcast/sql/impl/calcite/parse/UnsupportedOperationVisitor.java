@@ -23,18 +23,21 @@ import com.hazelcast.sql.impl.schema.Table;
 import com.hazelcast.sql.impl.schema.map.AbstractMapTable;
 import org.apache.calcite.runtime.CalciteContextException;
 import org.apache.calcite.runtime.Resources;
+import org.apache.calcite.sql.JoinConditionType;
+import org.apache.calcite.sql.JoinType;
 import org.apache.calcite.sql.SqlBasicTypeNameSpec;
 import org.apache.calcite.sql.SqlCall;
 import org.apache.calcite.sql.SqlDataTypeSpec;
 import org.apache.calcite.sql.SqlDynamicParam;
 import org.apache.calcite.sql.SqlIdentifier;
 import org.apache.calcite.sql.SqlIntervalQualifier;
+import org.apache.calcite.sql.SqlJoin;
 import org.apache.calcite.sql.SqlKind;
 import org.apache.calcite.sql.SqlLiteral;
 import org.apache.calcite.sql.SqlNode;
 import org.apache.calcite.sql.SqlNodeList;
 import org.apache.calcite.sql.SqlOperator;
-import org.apache.calcite.sql.SqlSelect;
+import org.apache.calcite.sql.SqlSelectKeyword;
 import org.apache.calcite.sql.SqlUserDefinedTypeNameSpec;
 import org.apache.calcite.sql.SqlUtil;
 import org.apache.calcite.sql.fun.SqlStdOperatorTable;
@@ -69,6 +72,9 @@ public final class UnsupportedOperationVisitor implements SqlVisitor<Void> {
         // of Apache Calcite.
         SUPPORTED_KINDS = new HashSet<>();
 
+        // Queries
+        SUPPORTED_KINDS.add(SqlKind.SELECT);
+
         // Predicates
         SUPPORTED_KINDS.add(SqlKind.AND);
         SUPPORTED_KINDS.add(SqlKind.OR);
@@ -106,6 +112,9 @@ public final class UnsupportedOperationVisitor implements SqlVisitor<Void> {
         SUPPORTED_KINDS.add(SqlKind.LIKE);
         SUPPORTED_KINDS.add(SqlKind.TRIM);
 
+        // Sorting
+        SUPPORTED_KINDS.add(SqlKind.DESCENDING);
+
         // Supported operators
         SUPPORTED_OPERATORS = new HashSet<>();
 
@@ -259,7 +268,9 @@ public final class UnsupportedOperationVisitor implements SqlVisitor<Void> {
             case SYMBOL:
                 Object symbolValue = literal.getValue();
 
-                if (symbolValue instanceof SqlTrimFunction.Flag) {
+                if (symbolValue instanceof SqlTrimFunction.Flag
+                    || symbolValue instanceof JoinType
+                    || symbolValue instanceof JoinConditionType) {
                     return null;
                 }
 
@@ -283,8 +294,12 @@ public final class UnsupportedOperationVisitor implements SqlVisitor<Void> {
         }
 
         switch (kind) {
-            case SELECT:
-                processSelect((SqlSelect) call);
+            case COUNT:
+            case SUM:
+            case AVG:
+            case MIN:
+            case MAX:
+                processAggregate(call);
 
                 return;
 
@@ -293,26 +308,28 @@ public final class UnsupportedOperationVisitor implements SqlVisitor<Void> {
                 processOther(call);
                 break;
 
+            case JOIN:
+                processJoin((SqlJoin) call);
+                break;
+
             default:
                 throw unsupported(call);
         }
     }
 
-    private void processSelect(SqlSelect select) {
-        if (select.hasOrderBy()) {
-            throw unsupported(select.getOrderList(), SqlKind.ORDER_BY);
-        }
+    private void processAggregate(SqlCall call) {
+        SqlLiteral quantifier = call.getFunctionQuantifier();
 
-        if (select.getGroup() != null && select.getGroup().size() > 0) {
-            throw unsupported(select.getGroup(), "GROUP BY");
+        if (quantifier != null && quantifier.getValue() == SqlSelectKeyword.DISTINCT) {
+            throw unsupported(call, "DISTINCT " + call.getOperator().getName());
         }
+    }
 
-        if (select.getFetch() != null) {
-            throw unsupported(select.getFetch(), "LIMIT");
-        }
+    private void processJoin(SqlJoin join) {
+        JoinType joinType = join.getJoinType();
 
-        if (select.getOffset() != null) {
-            throw unsupported(select.getOffset(), "OFFSET");
+        if (joinType == JoinType.RIGHT || joinType == JoinType.FULL) {
+            throw unsupported(join, joinType.name() + " JOIN");
         }
     }
 
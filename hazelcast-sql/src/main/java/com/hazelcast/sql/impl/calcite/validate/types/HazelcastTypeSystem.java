@@ -25,6 +25,7 @@ import com.hazelcast.sql.impl.type.QueryDataTypeFamily;
 import com.hazelcast.sql.impl.type.converter.Converter;
 import com.hazelcast.sql.impl.type.converter.Converters;
 import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.rel.type.RelDataTypeFactory;
 import org.apache.calcite.rel.type.RelDataTypeSystem;
 import org.apache.calcite.rel.type.RelDataTypeSystemImpl;
 import org.apache.calcite.sql.SqlIdentifier;
@@ -305,6 +306,48 @@ public final class HazelcastTypeSystem extends RelDataTypeSystemImpl {
         return MAX_DECIMAL_SCALE;
     }
 
+    /**
+     * Integer sums are widened to BIGINT, approximate sums to DOUBLE, and exact
+     * sums to the widest DECIMAL, matching the accumulators used at runtime.
+     */
+    @Override
+    public RelDataType deriveSumType(RelDataTypeFactory typeFactory, RelDataType argumentType) {
+        SqlTypeName typeName = argumentType.getSqlTypeName();
+
+        SqlTypeName sumTypeName;
+
+        if (INT_TYPES.contains(typeName)) {
+            sumTypeName = BIGINT;
+        } else if (APPROX_TYPES.contains(typeName)) {
+            sumTypeName = DOUBLE;
+        } else if (typeName == DECIMAL) {
+            sumTypeName = DECIMAL;
+        } else {
+            return super.deriveSumType(typeFactory, argumentType);
+        }
+
+        RelDataType sumType = HazelcastTypeFactory.INSTANCE.createSqlType(sumTypeName);
+
+        return typeFactory.createTypeWithNullability(sumType, argumentType.isNullable());
+    }
+
+    /**
+     * Averages of approximate values are DOUBLE, averages of exact values are
+     * DECIMAL, so that the result of AVG over integers is not truncated.
+     */
+    @Override
+    public RelDataType deriveAvgAggType(RelDataTypeFactory typeFactory, RelDataType argumentType) {
+        SqlTypeName typeName = argumentType.getSqlTypeName();
+
+        if (!NUMERIC_TYPES.contains(typeName)) {
+            return super.deriveAvgAggType(typeFactory, argumentType);
+        }
+
+        RelDataType avgType = HazelcastTypeFactory.INSTANCE.createSqlType(APPROX_TYPES.contains(typeName) ? DOUBLE : DECIMAL);
+
+        return typeFactory.createTypeWithNullability(avgType, argumentType.isNullable());
+    }
+
     private static int precedenceOf(RelDataType type) {
         SqlTypeName typeName = type.getSqlTypeName();
 
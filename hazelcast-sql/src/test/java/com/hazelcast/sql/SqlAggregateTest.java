@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.sql;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.sql.impl.SqlTestSupport;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests for distributed aggregation.
+ */
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class SqlAggregateTest extends SqlTestSupport {
+
+    private static final int KEY_COUNT = 100;
+    private static final int GROUP_COUNT = 5;
+
+    private final TestHazelcastInstanceFactory factory = new TestHazelcastInstanceFactory(2);
+    private HazelcastInstance instance;
+
+    @Before
+    public void before() {
+        instance = factory.newHazelcastInstance();
+        factory.newHazelcastInstance();
+
+        IMap<Integer, Integer> map = instance.getMap("map");
+
+        for (int i = 0; i < KEY_COUNT; i++) {
+            map.put(i, i % GROUP_COUNT);
+        }
+    }
+
+    @After
+    public void after() {
+        factory.shutdownAll();
+    }
+
+    @Test
+    public void testGroupBy() {
+        List<SqlRow> rows = execute(
+            instance,
+            "SELECT this, COUNT(*), SUM(__key), MIN(__key), MAX(__key) FROM map GROUP BY this"
+        );
+
+        assertEquals(GROUP_COUNT, rows.size());
+
+        Map<Integer, SqlRow> rowMap = new HashMap<>();
+
+        for (SqlRow row : rows) {
+            rowMap.put(row.getObject(0), row);
+        }
+
+        for (int group = 0; group < GROUP_COUNT; group++) {
+            SqlRow row = rowMap.get(group);
+
+            long sum = 0;
+
+            for (int key = group; key < KEY_COUNT; key += GROUP_COUNT) {
+                sum += key;
+            }
+
+            assertEquals(Long.valueOf(KEY_COUNT / GROUP_COUNT), row.getObject(1));
+            assertEquals(Long.valueOf(sum), row.getObject(2));
+            assertEquals(Integer.valueOf(group), row.getObject(3));
+            assertEquals(Integer.valueOf(KEY_COUNT - GROUP_COUNT + group), row.getObject(4));
+        }
+    }
+
+    @Test
+    public void testGlobal() {
+        List<SqlRow> rows = execute(instance, "SELECT COUNT(*), SUM(__key), AVG(__key), MIN(this), MAX(this) FROM map");
+
+        assertEquals(1, rows.size());
+
+        SqlRow row = rows.get(0);
+
+        assertEquals(Long.valueOf(KEY_COUNT), row.getObject(0));
+        assertEquals(Long.valueOf(KEY_COUNT * (KEY_COUNT - 1) / 2), row.getObject(1));
+        assertEquals(0, new BigDecimal("49.5").compareTo(row.getObject(2)));
+        assertEquals(Integer.valueOf(0), row.getObject(3));
+        assertEquals(Integer.valueOf(GROUP_COUNT - 1), row.getObject(4));
+    }
+
+    @Test
+    public void testGlobalOnEmptyInput() {
+        List<SqlRow> rows = execute(instance, "SELECT COUNT(*), SUM(__key) FROM map WHERE __key < 0");
+
+        assertEquals(1, rows.size());
+        assertEquals(Long.valueOf(0), rows.get(0).getObject(0));
+        assertNull(rows.get(0).getObject(1));
+    }
+
+    @Test
+    public void testHaving() {
+        List<SqlRow> rows = execute(instance, "SELECT this, COUNT(*) FROM map GROUP BY this HAVING MIN(__key) > 2");
+
+        assertEquals(2, rows.size());
+
+        for (SqlRow row : rows) {
+            int group = row.getObject(0);
+
+            assertEquals(true, group > 2);
+            assertEquals(Long.valueOf(KEY_COUNT / GROUP_COUNT), row.getObject(1));
+        }
+    }
+
+    @Test
+    public void testApproxCountDistinct() {
+        List<SqlRow> rows = execute(instance, "SELECT APPROX_COUNT_DISTINCT(this), APPROX_COUNT_DISTINCT(__key) FROM map");
+
+        assertEquals(1, rows.size());
+        assertEquals(Long.valueOf(GROUP_COUNT), rows.get(0).getObject(0));
+        assertEquals(KEY_COUNT, rows.get(0).<Long>getObject(1), KEY_COUNT * 0.02);
+
+        rows = execute(instance, "SELECT this, APPROX_COUNT_DISTINCT(__key) FROM map GROUP BY this");
+
+        assertEquals(GROUP_COUNT, rows.size());
+
+        for (SqlRow row : rows) {
+            assertEquals(KEY_COUNT / GROUP_COUNT, row.<Long>getObject(1), KEY_COUNT * 0.02);
+        }
+    }
+}
@@ -28,6 +28,7 @@ import com.hazelcast.sql.impl.SqlTestSupport;
 import com.hazelcast.sql.impl.exec.BlockingExec;
 import com.hazelcast.sql.impl.exec.FaultyExec;
 import com.hazelcast.sql.impl.exec.scan.MapScanExec;
+import com.hazelcast.sql.impl.exec.scan.ParallelMapScanExec;
 import org.junit.After;
 
 import javax.annotation.Nonnull;
@@ -82,7 +83,7 @@ public class SqlErrorAbstractTest extends SqlTestSupport {
         BlockingExec.Blocker blocker = new BlockingExec.Blocker();
 
         setExecHook(instance2, exec -> {
-            if (exec instanceof MapScanExec) {
+            if (exec instanceof MapScanExec || exec instanceof ParallelMapScanExec) {
                 return new BlockingExec(exec, blocker);
             } else {
                 return exec;
@@ -113,7 +114,7 @@ public class SqlErrorAbstractTest extends SqlTestSupport {
         HazelcastInstance target = useClient ? client : instance1;
 
         setExecHook(member, exec -> {
-            if (exec instanceof MapScanExec) {
+            if (exec instanceof MapScanExec || exec instanceof ParallelMapScanExec) {
                 return new FaultyExec(exec, new RuntimeException(errorMessage));
             }
 
@@ -139,7 +140,7 @@ public class SqlErrorAbstractTest extends SqlTestSupport {
         BlockingExec.Blocker blocker = new BlockingExec.Blocker();
 
         setExecHook(instance1, exec -> {
-            if (exec instanceof MapScanExec) {
+            if (exec instanceof MapScanExec || exec instanceof ParallelMapScanExec) {
                 return new BlockingExec(exec, blocker);
             }
 
@@ -176,7 +177,7 @@ public class SqlErrorAbstractTest extends SqlTestSupport {
         BlockingExec.Blocker blocker = new BlockingExec.Blocker();
 
         setExecHook(member, exec -> {
-            if (exec instanceof MapScanExec) {
+            if (exec instanceof MapScanExec || exec instanceof ParallelMapScanExec) {
                 return new BlockingExec(exec, blocker);
             }
 
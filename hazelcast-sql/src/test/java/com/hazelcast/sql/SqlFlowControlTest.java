@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.sql;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.metrics.MetricsRegistry;
+import com.hazelcast.map.IMap;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.sql.impl.SqlTestSupport;
+import com.hazelcast.sql.impl.exec.io.flowcontrol.FlowControlType;
+import com.hazelcast.sql.impl.exec.io.flowcontrol.adaptive.AdaptiveFlowControlFactory;
+import com.hazelcast.sql.impl.exec.io.flowcontrol.simple.SimpleFlowControlFactory;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.SQL_METRIC_FLOW_CONTROL_MEMORY_RESERVED;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.SQL_PREFIX_FLOW_CONTROL;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for adaptive flow control of distributed queries.
+ */
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class SqlFlowControlTest extends SqlTestSupport {
+
+    private static final int KEY_COUNT = 100_000;
+
+    private final TestHazelcastInstanceFactory factory = new TestHazelcastInstanceFactory(2);
+    private HazelcastInstance instance1;
+    private HazelcastInstance instance2;
+
+    @Before
+    public void before() {
+        instance1 = factory.newHazelcastInstance();
+        instance2 = factory.newHazelcastInstance();
+
+        populate(instance1);
+    }
+
+    @After
+    public void after() {
+        factory.shutdownAll();
+    }
+
+    @Test
+    public void testFlowControl() {
+        List<SqlRow> rows = execute(instance1, "SELECT __key, this FROM map");
+        assertEquals(KEY_COUNT, rows.size());
+
+        // The remote stream is larger than the initial window, so that the credit is granted at least once.
+        AdaptiveFlowControlFactory flowControlFactory1 = flowControlFactory(instance1);
+        AdaptiveFlowControlFactory flowControlFactory2 = flowControlFactory(instance2);
+
+        assertTrue(flowControlFactory1.getGrantCount() > 0);
+
+        // All the memory is returned to the budget once the query is completed.
+        assertTrueEventually(() -> {
+            for (AdaptiveFlowControlFactory flowControlFactory : new AdaptiveFlowControlFactory[] {
+                flowControlFactory1,
+                flowControlFactory2
+            }) {
+                assertEquals(0L, flowControlFactory.getReservedMemory());
+                assertEquals(0, flowControlFactory.getActiveStreams());
+                assertEquals(0, flowControlFactory.getActiveQueries());
+            }
+        });
+    }
+
+    @Test
+    public void testMetrics() {
+        MetricsRegistry metricsRegistry = nodeEngine(instance1).getMetricsRegistry();
+
+        String name = "[unit=bytes,metric=" + SQL_PREFIX_FLOW_CONTROL + "." + SQL_METRIC_FLOW_CONTROL_MEMORY_RESERVED + "]";
+
+        assertTrue(metricsRegistry.getNames().toString(), metricsRegistry.getNames().contains(name));
+    }
+
+    @Test
+    public void testSimpleFlowControl() {
+        Config config = smallInstanceConfig()
+            .setProperty(ClusterProperty.SQL_FLOW_CONTROL_TYPE.getName(), FlowControlType.SIMPLE.name());
+
+        TestHazelcastInstanceFactory simpleFactory = new TestHazelcastInstanceFactory(2);
+
+        try {
+            HazelcastInstance simpleInstance1 = simpleFactory.newHazelcastInstance(config);
+            HazelcastInstance simpleInstance2 = simpleFactory.newHazelcastInstance(config);
+
+            populate(simpleInstance1);
+
+            List<SqlRow> rows = execute(simpleInstance1, "SELECT __key, this FROM map");
+            assertEquals(KEY_COUNT, rows.size());
+
+            assertSame(SimpleFlowControlFactory.INSTANCE, sqlInternalService(simpleInstance1).getFlowControlFactory());
+            assertSame(SimpleFlowControlFactory.INSTANCE, sqlInternalService(simpleInstance2).getFlowControlFactory());
+        } finally {
+            simpleFactory.shutdownAll();
+        }
+    }
+
+    private static void populate(HazelcastInstance instance) {
+        IMap<Integer, String> map = instance.getMap("map");
+
+        Map<Integer, String> values = new HashMap<>();
+
+        for (int i = 0; i < KEY_COUNT; i++) {
+            values.put(i, "value-" + i);
+        }
+
+        map.putAll(values);
+    }
+
+    private static AdaptiveFlowControlFactory flowControlFactory(HazelcastInstance instance) {
+        return (AdaptiveFlowControlFactory) sqlInternalService(instance).getFlowControlFactory();
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.sql;
+
+import com.hazelcast.config.IndexConfig;
+import com.hazelcast.config.IndexType;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.sql.impl.SqlTestSupport;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests for distributed joins.
+ */
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class SqlJoinTest extends SqlTestSupport {
+
+    private static final int FACT_COUNT = 100;
+    private static final int DIM_COUNT = 5;
+    private static final int MATCHED_DIM_COUNT = 4;
+    private static final int INDEXED_COUNT = 1000;
+
+    private final TestHazelcastInstanceFactory factory = new TestHazelcastInstanceFactory(2);
+    private HazelcastInstance instance;
+
+    @Before
+    public void before() {
+        instance = factory.newHazelcastInstance();
+        factory.newHazelcastInstance();
+
+        // fact: key -> dimension id, dim: dimension id -> name; the last dimension id has no row in dim
+        IMap<Integer, Integer> fact = instance.getMap("fact");
+
+        for (int i = 0; i < FACT_COUNT; i++) {
+            fact.put(i, i % DIM_COUNT);
+        }
+
+        IMap<Integer, Integer> dim = instance.getMap("dim");
+
+        for (int i = 0; i < MATCHED_DIM_COUNT; i++) {
+            dim.put(i, i * 10);
+        }
+
+        IMap<Integer, Integer> indexed = instance.getMap("indexed");
+
+        indexed.addIndex(new IndexConfig(IndexType.SORTED, "this"));
+
+        for (int i = 0; i < INDEXED_COUNT; i++) {
+            indexed.put(i, i);
+        }
+    }
+
+    @After
+    public void after() {
+        factory.shutdownAll();
+    }
+
+    @Test
+    public void testInnerJoin() {
+        List<SqlRow> rows = execute(
+            instance,
+            "SELECT f.__key, d.this FROM fact f JOIN dim d ON f.this = d.__key ORDER BY f.__key"
+        );
+
+        List<Integer> expectedKeys = new ArrayList<>();
+        List<Integer> expectedNames = new ArrayList<>();
+
+        for (int i = 0; i < FACT_COUNT; i++) {
+            if (i % DIM_COUNT < MATCHED_DIM_COUNT) {
+                expectedKeys.add(i);
+                expectedNames.add((i % DIM_COUNT) * 10);
+            }
+        }
+
+        assertEquals(expectedKeys, values(rows, 0));
+        assertEquals(expectedNames, values(rows, 1));
+    }
+
+    @Test
+    public void testLeftJoin() {
+        List<SqlRow> rows = execute(
+            instance,
+            "SELECT f.__key, d.this FROM fact f LEFT JOIN dim d ON f.this = d.__key ORDER BY f.__key"
+        );
+
+        assertEquals(FACT_COUNT, rows.size());
+
+        for (int i = 0; i < FACT_COUNT; i++) {
+            SqlRow row = rows.get(i);
+
+            assertEquals(i, (int) row.getObject(0));
+
+            if (i % DIM_COUNT < MATCHED_DIM_COUNT) {
+                assertEquals((i % DIM_COUNT) * 10, (int) row.getObject(1));
+            } else {
+                assertNull(row.getObject(1));
+            }
+        }
+    }
+
+    @Test
+    public void testJoinWithRemainder() {
+        List<SqlRow> rows = execute(
+            instance,
+            "SELECT f.__key FROM fact f JOIN dim d ON f.this = d.__key AND f.__key < d.this ORDER BY f.__key"
+        );
+
+        // Only dimension 1 (10), 2 (20) and 3 (30) may satisfy the remainder
+        assertEquals(Arrays.asList(1, 2, 3, 6, 7, 8, 12, 13, 17, 18, 23, 28), values(rows, 0));
+    }
+
+    @Test
+    public void testCrossJoin() {
+        List<SqlRow> rows = execute(instance, "SELECT f.__key, d.__key FROM fact f CROSS JOIN dim d");
+
+        assertEquals(FACT_COUNT * MATCHED_DIM_COUNT, rows.size());
+    }
+
+    @Test
+    public void testJoinWithIndexedMap() {
+        List<SqlRow> rows = execute(
+            instance,
+            "SELECT d.__key, i.__key FROM dim d JOIN indexed i ON d.this = i.this ORDER BY d.__key"
+        );
+
+        assertEquals(Arrays.asList(0, 1, 2, 3), values(rows, 0));
+        assertEquals(Arrays.asList(0, 10, 20, 30), values(rows, 1));
+    }
+
+    @Test
+    public void testJoinWithAggregate() {
+        List<SqlRow> rows = execute(
+            instance,
+            "SELECT d.this, COUNT(*) FROM fact f JOIN dim d ON f.this = d.__key GROUP BY d.this ORDER BY d.this"
+        );
+
+        assertEquals(Arrays.asList(0, 10, 20, 30), values(rows, 0));
+        assertEquals(Arrays.asList(20L, 20L, 20L, 20L), values(rows, 1));
+    }
+
+    private static <T> List<T> values(List<SqlRow> rows, int column) {
+        List<T> res = new ArrayList<>(rows.size());
+
+        for (SqlRow row : rows) {
+            res.add(row.getObject(column));
+        }
+
+        return res;
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.util.collection.PartitionIdSet;
+import com.hazelcast.map.IMap;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.sql.impl.SqlErrorCode;
+import com.hazelcast.sql.impl.SqlTestSupport;
+import com.hazelcast.sql.impl.exec.Exec;
+import com.hazelcast.sql.impl.exec.scan.MapScanExec;
+import com.hazelcast.sql.impl.exec.scan.ParallelMapScanExec;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for partition-sliced parallel map scans.
+ */
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class SqlParallelScanTest extends SqlTestSupport {
+
+    private static final int KEY_COUNT = 20_000;
+    private static final int PARALLELISM = 4;
+
+    private final TestHazelcastInstanceFactory factory = new TestHazelcastInstanceFactory(1);
+
+    @After
+    public void after() {
+        factory.shutdownAll();
+    }
+
+    @Test
+    public void testParallelScan() {
+        HazelcastInstance member = newInstance(PARALLELISM, KEY_COUNT);
+
+        AtomicReference<Exec> scanExec = captureScanExec(member);
+
+        List<SqlRow> rows = execute(member, "SELECT __key, this FROM map");
+        assertEquals(KEY_COUNT, rows.size());
+
+        Set<Integer> keys = new HashSet<>();
+
+        for (SqlRow row : rows) {
+            int key = row.getObject(0);
+
+            assertEquals(key, (int) row.getObject(1));
+            assertTrue(keys.add(key));
+        }
+
+        // Every local partition is scanned by exactly one slice.
+        ParallelMapScanExec exec = (ParallelMapScanExec) scanExec.get();
+        assertEquals(PARALLELISM, exec.getPartitionSlices().size());
+
+        Set<Integer> partitions = new HashSet<>();
+
+        for (PartitionIdSet slice : exec.getPartitionSlices()) {
+            assertTrue(slice.size() > 0);
+
+            for (int partition : slice) {
+                assertTrue(partitions.add(partition));
+            }
+        }
+
+        assertEquals(new HashSet<>(getLocalPartitions(member)), partitions);
+
+        // Filter with a parameter is evaluated by every slice.
+        assertEquals(100, execute(member, "SELECT __key FROM map WHERE this < ?", 100).size());
+    }
+
+    @Test
+    public void testSmallMapNotSplit() {
+        HazelcastInstance member = newInstance(PARALLELISM, 100);
+
+        AtomicReference<Exec> scanExec = captureScanExec(member);
+
+        assertEquals(100, execute(member, "SELECT __key FROM map").size());
+        assertEquals(MapScanExec.class, scanExec.get().getClass());
+    }
+
+    @Test
+    public void testParallelismDisabled() {
+        HazelcastInstance member = newInstance(1, KEY_COUNT);
+
+        AtomicReference<Exec> scanExec = captureScanExec(member);
+
+        assertEquals(KEY_COUNT, execute(member, "SELECT __key FROM map").size());
+        assertEquals(MapScanExec.class, scanExec.get().getClass());
+    }
+
+    @Test
+    public void testSliceError() {
+        HazelcastInstance member = newInstance(PARALLELISM, KEY_COUNT);
+
+        try {
+            execute(member, "SELECT __key FROM map WHERE 1 / (this - 10000) > 0");
+
+            fail("Exception is not thrown");
+        } catch (HazelcastSqlException e) {
+            assertEquals(SqlErrorCode.DATA_EXCEPTION, e.getCode());
+            assertTrue(e.getMessage(), e.getMessage().contains("division by zero"));
+        }
+    }
+
+    private HazelcastInstance newInstance(int parallelism, int keyCount) {
+        Config config = smallInstanceConfig().setProperty(ClusterProperty.SQL_SCAN_PARALLELISM.getName(), Integer.toString(parallelism));
+
+        HazelcastInstance member = factory.newHazelcastInstance(config);
+
+        IMap<Integer, Integer> map = member.getMap("map");
+
+        Map<Integer, Integer> values = new HashMap<>();
+
+        for (int i = 0; i < keyCount; i++) {
+            values.put(i, i);
+        }
+
+        map.putAll(values);
+
+        return member;
+    }
+
+    private static AtomicReference<Exec> captureScanExec(HazelcastInstance member) {
+        AtomicReference<Exec> res = new AtomicReference<>();
+
+        setExecHook(member, exec -> {
+            if (exec instanceof MapScanExec || exec instanceof ParallelMapScanExec) {
+                res.set(exec);
+            }
+
+            return exec;
+        });
+
+        return res;
+    }
+}
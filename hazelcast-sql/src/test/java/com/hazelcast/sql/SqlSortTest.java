@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.sql;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.sql.impl.SqlTestSupport;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for distributed sorting.
+ */
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class SqlSortTest extends SqlTestSupport {
+
+    private static final int KEY_COUNT = 100;
+    private static final int GROUP_COUNT = 5;
+
+    private final TestHazelcastInstanceFactory factory = new TestHazelcastInstanceFactory(2);
+    private HazelcastInstance instance;
+
+    @Before
+    public void before() {
+        instance = factory.newHazelcastInstance();
+        factory.newHazelcastInstance();
+
+        IMap<Integer, Integer> map = instance.getMap("map");
+
+        for (int i = 0; i < KEY_COUNT; i++) {
+            map.put(i, i % GROUP_COUNT);
+        }
+    }
+
+    @After
+    public void after() {
+        factory.shutdownAll();
+    }
+
+    @Test
+    public void testOrderBy() {
+        List<SqlRow> rows = execute(instance, "SELECT __key FROM map ORDER BY __key DESC");
+
+        List<Integer> expected = new ArrayList<>();
+
+        for (int i = KEY_COUNT - 1; i >= 0; i--) {
+            expected.add(i);
+        }
+
+        assertEquals(expected, keys(rows, 0));
+    }
+
+    @Test
+    public void testOrderByMultipleColumns() {
+        List<SqlRow> rows = execute(instance, "SELECT this, __key FROM map ORDER BY this DESC, __key LIMIT 3");
+
+        assertEquals(Arrays.asList(GROUP_COUNT - 1, GROUP_COUNT - 1, GROUP_COUNT - 1), keys(rows, 0));
+        assertEquals(Arrays.asList(4, 9, 14), keys(rows, 1));
+    }
+
+    @Test
+    public void testLimitOffset() {
+        List<SqlRow> rows = execute(instance, "SELECT __key FROM map ORDER BY __key LIMIT 3 OFFSET 10");
+
+        assertEquals(Arrays.asList(10, 11, 12), keys(rows, 0));
+    }
+
+    @Test
+    public void testLimitParameter() {
+        List<SqlRow> rows = execute(instance, "SELECT __key FROM map ORDER BY __key DESC LIMIT ?", 2);
+
+        assertEquals(Arrays.asList(KEY_COUNT - 1, KEY_COUNT - 2), keys(rows, 0));
+    }
+
+    @Test
+    public void testLimitWithoutOrderBy() {
+        List<SqlRow> rows = execute(instance, "SELECT __key FROM map LIMIT 7");
+
+        assertEquals(7, rows.size());
+    }
+
+    @Test
+    public void testOrderByAggregate() {
+        List<SqlRow> rows = execute(instance, "SELECT this, SUM(__key) FROM map GROUP BY this ORDER BY this DESC");
+
+        assertEquals(Arrays.asList(4, 3, 2, 1, 0), keys(rows, 0));
+    }
+
+    private static List<Integer> keys(List<SqlRow> rows, int column) {
+        List<Integer> res = new ArrayList<>(rows.size());
+
+        for (SqlRow row : rows) {
+            res.add(row.getObject(column));
+        }
+
+        return res;
+    }
+}
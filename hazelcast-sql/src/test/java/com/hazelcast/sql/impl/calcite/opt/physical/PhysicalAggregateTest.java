@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.sql.impl.calcite.opt.physical;
+
+import com.hazelcast.sql.impl.calcite.opt.OptimizerTestSupport;
+import com.hazelcast.sql.impl.calcite.opt.physical.exchange.RootExchangePhysicalRel;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+/**
+ * Tests for two-phase aggregation planning.
+ */
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class PhysicalAggregateTest extends OptimizerTestSupport {
+    @Test
+    public void testGroupByMultipleNodes() {
+        assertPlan(
+            optimizePhysical("SELECT f0, COUNT(*), SUM(f1) FROM p GROUP BY f0", 2),
+            plan(
+                planRow(0, RootPhysicalRel.class, ""),
+                planRow(1, AggregatePhysicalRel.class, "group=[{0}], aggs=[[COUNT(), SUM($1)]], local=[false]"),
+                planRow(2, RootExchangePhysicalRel.class, ""),
+                planRow(3, AggregatePhysicalRel.class, "group=[{0}], aggs=[[COUNT(), SUM($1)]], local=[true]"),
+                planRow(4, MapScanPhysicalRel.class, "table=[[hazelcast, p[projects=[0, 1]]]]")
+            )
+        );
+    }
+
+    @Test
+    public void testGroupBySingleNode() {
+        assertPlan(
+            optimizePhysical("SELECT f0, COUNT(*), SUM(f1) FROM p GROUP BY f0"),
+            plan(
+                planRow(0, RootPhysicalRel.class, ""),
+                planRow(1, AggregatePhysicalRel.class, "group=[{0}], aggs=[[COUNT(), SUM($1)]], local=[false]"),
+                planRow(2, AggregatePhysicalRel.class, "group=[{0}], aggs=[[COUNT(), SUM($1)]], local=[true]"),
+                planRow(3, MapScanPhysicalRel.class, "table=[[hazelcast, p[projects=[0, 1]]]]")
+            )
+        );
+    }
+
+    @Test
+    public void testGlobalMultipleNodes() {
+        assertPlan(
+            optimizePhysical("SELECT COUNT(*) FROM p", 2),
+            plan(
+                planRow(0, RootPhysicalRel.class, "", 1d),
+                planRow(1, AggregatePhysicalRel.class, "group=[{}], aggs=[[COUNT()]], local=[false]", 1d),
+                planRow(2, RootExchangePhysicalRel.class, "", 100d),
+                planRow(3, AggregatePhysicalRel.class, "group=[{}], aggs=[[COUNT()]], local=[true]", 100d),
+                planRow(4, MapScanPhysicalRel.class, "table=[[hazelcast, p[projects=[0, 1, 2, 3, 4]]]]", 100d)
+            )
+        );
+    }
+}
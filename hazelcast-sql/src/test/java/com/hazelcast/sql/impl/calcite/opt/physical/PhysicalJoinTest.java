@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.sql.impl.calcite.opt.physical;
+
+import com.hazelcast.config.IndexType;
+import com.hazelcast.sql.impl.calcite.opt.OptimizerTestSupport;
+import com.hazelcast.sql.impl.calcite.opt.physical.exchange.BroadcastExchangePhysicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.exchange.RootExchangePhysicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.exchange.UnicastExchangePhysicalRel;
+import com.hazelcast.sql.impl.calcite.schema.HazelcastSchema;
+import com.hazelcast.sql.impl.schema.map.MapTableIndex;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.apache.calcite.schema.Table;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.hazelcast.sql.impl.type.QueryDataType.INT;
+import static java.util.Collections.singletonList;
+
+/**
+ * Tests for join planning.
+ */
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class PhysicalJoinTest extends OptimizerTestSupport {
+    @Override
+    protected HazelcastSchema createDefaultSchema() {
+        Map<String, Table> tableMap = new HashMap<>();
+
+        tableMap.put("fact", partitionedTable("fact", fields("id", INT, "dim_id", INT, "val", INT), null, 100_000));
+        tableMap.put("dim", partitionedTable("dim", fields("id", INT, "name", INT), null, 10));
+        tableMap.put("big", partitionedTable("big", fields("id", INT, "val", INT), null, 100_000));
+        tableMap.put("indexed", partitionedTable(
+            "indexed",
+            fields("id", INT, "val", INT),
+            singletonList(new MapTableIndex("idx", IndexType.HASH, 1, singletonList(0), singletonList(INT))),
+            100_000
+        ));
+
+        return new HazelcastSchema(tableMap);
+    }
+
+    @Test
+    public void testBroadcastHashJoin() {
+        assertPlan(
+            optimizePhysical("SELECT f.val, d.name FROM fact f JOIN dim d ON f.dim_id = d.id", 2),
+            plan(
+                planRow(0, RootPhysicalRel.class, ""),
+                planRow(1, RootExchangePhysicalRel.class, ""),
+                planRow(2, ProjectPhysicalRel.class, "val=[$1], name=[$3]"),
+                planRow(3, HashJoinPhysicalRel.class, "condition=[=($0, $2)], joinType=[inner]"),
+                planRow(4, MapScanPhysicalRel.class, "table=[[hazelcast, fact[projects=[1, 2]]]]"),
+                planRow(4, BroadcastExchangePhysicalRel.class, ""),
+                planRow(5, MapScanPhysicalRel.class, "table=[[hazelcast, dim[projects=[0, 1]]]]")
+            )
+        );
+    }
+
+    @Test
+    public void testBroadcastHashJoinLeftOuter() {
+        assertPlan(
+            optimizePhysical("SELECT f.val, d.name FROM fact f LEFT JOIN dim d ON f.dim_id = d.id", 2),
+            plan(
+                planRow(0, RootPhysicalRel.class, ""),
+                planRow(1, RootExchangePhysicalRel.class, ""),
+                planRow(2, ProjectPhysicalRel.class, "val=[$1], name=[$3]"),
+                planRow(3, HashJoinPhysicalRel.class, "condition=[=($0, $2)], joinType=[left]"),
+                planRow(4, MapScanPhysicalRel.class, "table=[[hazelcast, fact[projects=[1, 2]]]]"),
+                planRow(4, BroadcastExchangePhysicalRel.class, ""),
+                planRow(5, MapScanPhysicalRel.class, "table=[[hazelcast, dim[projects=[0, 1]]]]")
+            )
+        );
+    }
+
+    @Test
+    public void testBroadcastHashJoinWithRemainder() {
+        assertPlan(
+            optimizePhysical("SELECT f.val, d.name FROM fact f JOIN dim d ON f.dim_id = d.id AND f.val > d.name", 2),
+            plan(
+                planRow(0, RootPhysicalRel.class, ""),
+                planRow(1, RootExchangePhysicalRel.class, ""),
+                planRow(2, ProjectPhysicalRel.class, "val=[$1], name=[$3]"),
+                planRow(3, HashJoinPhysicalRel.class, "condition=[AND(=($0, $2), >($1, $3))], joinType=[inner]"),
+                planRow(4, MapScanPhysicalRel.class, "table=[[hazelcast, fact[projects=[1, 2]]]]"),
+                planRow(4, BroadcastExchangePhysicalRel.class, ""),
+                planRow(5, MapScanPhysicalRel.class, "table=[[hazelcast, dim[projects=[0, 1]]]]")
+            )
+        );
+    }
+
+    @Test
+    public void testFilterPushedBelowJoin() {
+        assertPlan(
+            optimizePhysical("SELECT f.val, d.name FROM fact f, dim d WHERE f.dim_id = d.id AND f.val > 5", 2),
+            plan(
+                planRow(0, RootPhysicalRel.class, ""),
+                planRow(1, RootExchangePhysicalRel.class, ""),
+                planRow(2, ProjectPhysicalRel.class, "val=[$1], name=[$3]"),
+                planRow(3, HashJoinPhysicalRel.class, "condition=[=($0, $2)], joinType=[inner]"),
+                planRow(4, MapScanPhysicalRel.class, "table=[[hazelcast, fact[projects=[1, 2], filter=>($2, 5)]]]"),
+                planRow(4, BroadcastExchangePhysicalRel.class, ""),
+                planRow(5, MapScanPhysicalRel.class, "table=[[hazelcast, dim[projects=[0, 1]]]]")
+            )
+        );
+    }
+
+    @Test
+    public void testCrossJoin() {
+        assertPlan(
+            optimizePhysical("SELECT f.val, d.name FROM fact f CROSS JOIN dim d", 2),
+            plan(
+                planRow(0, RootPhysicalRel.class, ""),
+                planRow(1, RootExchangePhysicalRel.class, ""),
+                planRow(2, HashJoinPhysicalRel.class, "condition=[true], joinType=[inner]"),
+                planRow(3, MapScanPhysicalRel.class, "table=[[hazelcast, fact[projects=[2]]]]"),
+                planRow(3, BroadcastExchangePhysicalRel.class, ""),
+                planRow(4, MapScanPhysicalRel.class, "table=[[hazelcast, dim[projects=[1]]]]")
+            )
+        );
+    }
+
+    @Test
+    public void testPartitionedHashJoin() {
+        assertPlan(
+            optimizePhysical("SELECT f.val, b.val FROM fact f JOIN big b ON f.id = b.id", 2),
+            plan(
+                planRow(0, RootPhysicalRel.class, ""),
+                planRow(1, RootExchangePhysicalRel.class, ""),
+                planRow(2, ProjectPhysicalRel.class, "val=[$1], val0=[$3]"),
+                planRow(3, HashJoinPhysicalRel.class, "condition=[=($0, $2)], joinType=[inner]"),
+                planRow(4, UnicastExchangePhysicalRel.class, "hashFields=[[0]]"),
+                planRow(5, MapScanPhysicalRel.class, "table=[[hazelcast, fact[projects=[0, 2]]]]"),
+                planRow(4, UnicastExchangePhysicalRel.class, "hashFields=[[0]]"),
+                planRow(5, MapScanPhysicalRel.class, "table=[[hazelcast, big[projects=[0, 1]]]]")
+            )
+        );
+    }
+
+    @Test
+    public void testIndexNestedLoopJoin() {
+        assertPlan(
+            optimizePhysical("SELECT d.name, i.val FROM dim d JOIN indexed i ON d.id = i.id", 2),
+            plan(
+                planRow(0, RootPhysicalRel.class, ""),
+                planRow(1, RootExchangePhysicalRel.class, ""),
+                planRow(2, ProjectPhysicalRel.class, "name=[$1], val=[$3]"),
+                planRow(
+                    3,
+                    IndexNestedLoopJoinPhysicalRel.class,
+                    "table=[[hazelcast, indexed[projects=[0, 1]]]], index=[idx], condition=[=($0, $2)]"
+                ),
+                planRow(4, BroadcastExchangePhysicalRel.class, ""),
+                planRow(5, MapScanPhysicalRel.class, "table=[[hazelcast, dim[projects=[0, 1]]]]")
+            )
+        );
+    }
+
+    @Test
+    public void testIndexNestedLoopJoinSingleNode() {
+        assertPlan(
+            optimizePhysical("SELECT d.name, i.val FROM dim d JOIN indexed i ON d.id = i.id"),
+            plan(
+                planRow(0, RootPhysicalRel.class, ""),
+                planRow(1, ProjectPhysicalRel.class, "name=[$1], val=[$3]"),
+                planRow(
+                    2,
+                    IndexNestedLoopJoinPhysicalRel.class,
+                    "table=[[hazelcast, indexed[projects=[0, 1]]]], index=[idx], condition=[=($0, $2)]"
+                ),
+                planRow(3, MapScanPhysicalRel.class, "table=[[hazelcast, dim[projects=[0, 1]]]]")
+            )
+        );
+    }
+
+    @Test
+    public void testHashJoinSingleNode() {
+        assertPlan(
+            optimizePhysical("SELECT f.val, d.name FROM fact f JOIN dim d ON f.dim_id = d.id"),
+            plan(
+                planRow(0, RootPhysicalRel.class, ""),
+                planRow(1, ProjectPhysicalRel.class, "val=[$1], name=[$3]"),
+                planRow(2, HashJoinPhysicalRel.class, "condition=[=($0, $2)], joinType=[inner]"),
+                planRow(3, MapScanPhysicalRel.class, "table=[[hazelcast, fact[projects=[1, 2]]]]"),
+                planRow(3, MapScanPhysicalRel.class, "table=[[hazelcast, dim[projects=[0, 1]]]]")
+            )
+        );
+    }
+}
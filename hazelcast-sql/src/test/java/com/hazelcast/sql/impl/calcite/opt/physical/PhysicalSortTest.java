@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.sql.impl.calcite.opt.physical;
+
+import com.hazelcast.sql.impl.calcite.opt.OptimizerTestSupport;
+import com.hazelcast.sql.impl.calcite.opt.physical.exchange.RootExchangePhysicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.exchange.SortMergeExchangePhysicalRel;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+/**
+ * Tests for sort planning.
+ */
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class PhysicalSortTest extends OptimizerTestSupport {
+    @Test
+    public void testTopNMultipleNodes() {
+        assertPlan(
+            optimizePhysical("SELECT f0, f1 FROM p ORDER BY f1 DESC LIMIT 10 OFFSET 5", 2),
+            plan(
+                planRow(0, RootPhysicalRel.class, ""),
+                planRow(1, SortMergeExchangePhysicalRel.class, "collation=[[1 DESC]], offset=[5], fetch=[10]"),
+                planRow(2, SortPhysicalRel.class, "sort0=[$1], dir0=[DESC], offset=[5], fetch=[10], local=[true]"),
+                planRow(3, MapScanPhysicalRel.class, "table=[[hazelcast, p[projects=[0, 1]]]]")
+            )
+        );
+    }
+
+    @Test
+    public void testTopNSingleNode() {
+        assertPlan(
+            optimizePhysical("SELECT f0, f1 FROM p ORDER BY f1 DESC LIMIT 10 OFFSET 5"),
+            plan(
+                planRow(0, RootPhysicalRel.class, ""),
+                planRow(1, SortPhysicalRel.class, "sort0=[$1], dir0=[DESC], offset=[5], fetch=[10], local=[false]"),
+                planRow(2, MapScanPhysicalRel.class, "table=[[hazelcast, p[projects=[0, 1]]]]")
+            )
+        );
+    }
+
+    @Test
+    public void testSortAboveAggregate() {
+        assertPlan(
+            optimizePhysical("SELECT f0, COUNT(*) FROM p GROUP BY f0 ORDER BY f0", 2),
+            plan(
+                planRow(0, RootPhysicalRel.class, ""),
+                planRow(1, SortPhysicalRel.class, "sort0=[$0], dir0=[ASC], local=[false]"),
+                planRow(2, AggregatePhysicalRel.class, "group=[{0}], aggs=[[COUNT()]], local=[false]"),
+                planRow(3, RootExchangePhysicalRel.class, ""),
+                planRow(4, AggregatePhysicalRel.class, "group=[{0}], aggs=[[COUNT()]], local=[true]"),
+                planRow(5, MapScanPhysicalRel.class, "table=[[hazelcast, p[projects=[0]]]]")
+            )
+        );
+    }
+}
@@ -98,50 +98,74 @@ public class ParserOperationsTest {
     }
 
     @Test
-    public void testUnsupportedOrderBy() {
-        checkFailure(
-            "SELECT a FROM t ORDER BY a",
-            "ORDER BY is not supported"
-        );
+    public void testOrderBy() {
+        checkSuccess("SELECT a FROM t ORDER BY a");
+        checkSuccess("SELECT a, b FROM t ORDER BY a DESC, b ASC");
     }
 
     @Test
-    public void testUnsupportedGroupBy() {
+    public void testUnsupportedOrderByNulls() {
         checkFailure(
-            "SELECT a FROM t GROUP BY a",
-            "GROUP BY is not supported"
+            "SELECT a FROM t ORDER BY a NULLS FIRST",
+            "NULLS FIRST is not supported"
         );
     }
 
     @Test
-    public void testUnsupportedLimit() {
-        checkFailure(
-              "SELECT a FROM t LIMIT 1",
-              "LIMIT is not supported"
-        );
+    public void testGroupBy() {
+        checkSuccess("SELECT a FROM t GROUP BY a");
+        checkSuccess("SELECT a, COUNT(*) FROM t GROUP BY a HAVING COUNT(*) > 1");
     }
 
     @Test
-    public void testUnsupportedOffset() {
+    public void testUnsupportedGroupingSets() {
         checkFailure(
-              "SELECT a FROM t OFFSET 1",
-              "OFFSET is not supported"
+            "SELECT a, b FROM t GROUP BY ROLLUP(a, b)",
+            "ROLLUP is not supported"
         );
     }
 
     @Test
-    public void testUnsupportedAggregate() {
+    public void testLimitOffset() {
+        checkSuccess("SELECT a FROM t ORDER BY a LIMIT 1");
+        checkSuccess("SELECT a FROM t LIMIT 1");
+        checkSuccess("SELECT a FROM t OFFSET 1");
+        checkSuccess("SELECT a FROM t ORDER BY a LIMIT 1 OFFSET 1");
+    }
+
+    @Test
+    public void testAggregate() {
+        checkSuccess("SELECT COUNT(*), COUNT(a), SUM(a), AVG(a), MIN(a), MAX(a) FROM t");
+    }
+
+    @Test
+    public void testUnsupportedDistinctAggregate() {
         checkFailure(
-            "SELECT SUM(a) FROM t",
-            "SUM is not supported"
+            "SELECT COUNT(DISTINCT a) FROM t",
+            "DISTINCT COUNT is not supported"
         );
     }
 
+    @Test
+    public void testJoin() {
+        checkSuccess("SELECT t1.a, t2.a FROM t t1 JOIN t t2 ON t1.a = t2.a");
+        checkSuccess("SELECT t1.a, t2.a FROM t t1 INNER JOIN t t2 ON t1.a = t2.a AND t1.b > t2.b");
+        checkSuccess("SELECT t1.a, t2.a FROM t t1 LEFT JOIN t t2 ON t1.a = t2.a");
+        checkSuccess("SELECT t1.a, t2.a FROM t t1 JOIN t t2 USING (a)");
+        checkSuccess("SELECT t1.a, t2.a FROM t t1 CROSS JOIN t t2");
+        checkSuccess("SELECT t1.a, t2.a FROM t t1, t t2 WHERE t1.a = t2.a");
+    }
+
     @Test
     public void testUnsupportedJoin() {
         checkFailure(
-            "SELECT t1.a, t2.a FROM t t1 JOIN t t2 ON t1.a = t2.a",
-            "JOIN is not supported"
+            "SELECT t1.a, t2.a FROM t t1 RIGHT JOIN t t2 ON t1.a = t2.a",
+            "RIGHT JOIN is not supported"
+        );
+
+        checkFailure(
+            "SELECT t1.a, t2.a FROM t t1 FULL JOIN t t2 ON t1.a = t2.a",
+            "FULL JOIN is not supported"
         );
     }
 
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.plan.cache;
+
+import com.hazelcast.sql.impl.QueryParameterMetadata;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ParameterizedQueryTest {
+    @Test
+    public void testParameterize() {
+        checkParameterized("SELECT * FROM t WHERE a = 1", "SELECT * FROM t WHERE a = ?");
+        checkParameterized("select * from t where a=1 and b<>'x'", "select * from t where a=? and b<>?");
+        checkParameterized("SELECT * FROM t WHERE a >= -10 OR b != 'it''s'", "SELECT * FROM t WHERE a >= ? OR b != ?");
+        checkParameterized("SELECT * FROM t WHERE (a < 1) ORDER BY a", "SELECT * FROM t WHERE (a < ?) ORDER BY a");
+        checkParameterized("SELECT CASE WHEN a = 1 THEN 'x' END FROM t", "SELECT CASE WHEN a = ? THEN 'x' END FROM t");
+        checkParameterized(" /* c */ (SELECT * FROM t WHERE a = /* c */ 1 -- c", " /* c */ (SELECT * FROM t WHERE a = /* c */ ? -- c");
+        checkParameterized("SELECT * FROM t WHERE a = ? AND b = 2", "SELECT * FROM t WHERE a = ? AND b = ?");
+        checkParameterized("SELECT a FROM t WHERE b = 1 GROUP BY a HAVING MIN(b) > 2",
+            "SELECT a FROM t WHERE b = ? GROUP BY a HAVING MIN(b) > 2");
+    }
+
+    @Test
+    public void testNotParameterized() {
+        checkNotParameterized("SELECT 1 FROM t");
+        checkNotParameterized("SELECT * FROM t WHERE a = 1.5");
+        checkNotParameterized("SELECT * FROM t WHERE a = 1e5");
+        checkNotParameterized("SELECT * FROM t WHERE a = 1 + b");
+        checkNotParameterized("SELECT * FROM t WHERE a = 'x' || b");
+        checkNotParameterized("SELECT * FROM t WHERE a = 12345678901234567890");
+        checkNotParameterized("SELECT * FROM t WHERE a = DATE '2020-01-01'");
+        checkNotParameterized("SELECT * FROM t WHERE a IN (1, 2)");
+        checkNotParameterized("SELECT * FROM t WHERE a - 1 > b");
+        checkNotParameterized("SELECT * FROM t WHERE a1 = b2");
+        checkNotParameterized("SELECT * FROM t WHERE \"a = 1\" = b");
+        checkNotParameterized("SELECT * FROM t WHERE a = 'unclosed");
+        checkNotParameterized("SELECT * FROM t -- a = 1");
+        checkNotParameterized("SELECT a, COUNT(*) FROM t GROUP BY a HAVING MIN(b) > 2");
+        checkNotParameterized("CREATE MAPPING t OPTIONS ('a' = 'b')");
+    }
+
+    @Test
+    public void testBind() {
+        ParameterizedQuery query = ParameterizedQuery.parameterize("SELECT * FROM t WHERE a = 1 AND b = ? AND c = 'x'");
+
+        assertEquals(3, query.getParameterCount());
+
+        QueryParameterMetadata metadata = new QueryParameterMetadata(QueryDataType.INT, QueryDataType.BIGINT,
+            QueryDataType.VARCHAR);
+
+        assertEquals(Arrays.asList(1, 2L, "x"), query.bind(Collections.singletonList(2L), metadata));
+
+        // Wrong number of user parameters.
+        assertNull(query.bind(Collections.emptyList(), metadata));
+        assertNull(query.bind(Arrays.asList(1, 2), metadata));
+
+        // Wrong number of plan parameters.
+        assertNull(query.bind(Collections.singletonList(2L), new QueryParameterMetadata(QueryDataType.INT)));
+
+        // String literal for non-string parameter.
+        assertNull(query.bind(Collections.singletonList(2L), new QueryParameterMetadata(QueryDataType.INT,
+            QueryDataType.BIGINT, QueryDataType.INT)));
+    }
+
+    @Test
+    public void testBindConversions() {
+        checkBind(1000, QueryDataType.TINYINT, null);
+        checkBind(100, QueryDataType.TINYINT, (byte) 100);
+        checkBind(100_000, QueryDataType.SMALLINT, null);
+        checkBind(-100, QueryDataType.SMALLINT, (short) -100);
+        checkBind(Integer.MAX_VALUE + 1L, QueryDataType.INT, null);
+        checkBind(Integer.MAX_VALUE, QueryDataType.INT, Integer.MAX_VALUE);
+        checkBind(Long.MAX_VALUE / 10, QueryDataType.BIGINT, Long.MAX_VALUE / 10);
+        checkBind(5, QueryDataType.DECIMAL, BigDecimal.valueOf(5));
+        checkBind(5, QueryDataType.REAL, 5f);
+        checkBind((1L << 24) + 1, QueryDataType.REAL, null);
+        checkBind(5, QueryDataType.DOUBLE, 5d);
+        checkBind((1L << 53) + 1, QueryDataType.DOUBLE, null);
+        checkBind(5, QueryDataType.VARCHAR, null);
+        checkBind(5, QueryDataType.OBJECT, null);
+    }
+
+    private static void checkParameterized(String sql, String expectedSql) {
+        ParameterizedQuery query = ParameterizedQuery.parameterize(sql);
+
+        assertEquals(expectedSql, query.getSql());
+    }
+
+    private static void checkNotParameterized(String sql) {
+        assertNull(ParameterizedQuery.parameterize(sql));
+    }
+
+    private static void checkBind(long literal, QueryDataType type, Object expected) {
+        ParameterizedQuery query = ParameterizedQuery.parameterize("SELECT * FROM t WHERE a = " + literal);
+
+        Object actual = query.bind(Collections.emptyList(), new QueryParameterMetadata(type));
+
+        assertEquals(expected == null ? null : Collections.singletonList(expected), actual);
+    }
+}
@@ -35,6 +35,10 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
@@ -92,6 +96,72 @@ public class PlanCacheIntegrationTest extends PlanCacheTestSupport {
         });
     }
 
+    @Test
+    public void testPlanNotUsedAfterIndexAdd() {
+        HazelcastInstance member = factory.newHazelcastInstance();
+        IMap<Integer, Integer> map = member.getMap("map");
+        map.put(1, 1);
+
+        Plan plan = getPlan(member, "SELECT * FROM map");
+
+        map.addIndex(IndexType.SORTED, "this");
+
+        // The schema version has changed, so the old plan must not be used even before the periodic check.
+        Plan plan2 = getPlan(member, "SELECT * FROM map");
+        assertNotSame(plan, plan2);
+        assertSame(plan2, getPlan(member, "SELECT * FROM map"));
+    }
+
+    @Test
+    public void testParameterizedPlanIsShared() {
+        HazelcastInstance member = factory.newHazelcastInstance();
+        IMap<Integer, String> map = member.getMap("map");
+        map.put(1, "1");
+        map.put(2, "2");
+
+        PlanCache planCache = getPlanCache(member);
+
+        Plan plan = getPlan(member, "SELECT this FROM map WHERE __key = 1");
+        assertEquals(1, planCache.size());
+
+        Plan plan2 = getPlan(member, "SELECT this FROM map WHERE __key = 2");
+        assertEquals(1, planCache.size());
+        assertSame(plan, plan2);
+
+        Plan plan3 = getPlan(member, "SELECT this FROM map WHERE __key = 1 AND this = '1'");
+        assertEquals(2, planCache.size());
+        assertNotSame(plan, plan3);
+
+        assertEquals(Collections.singletonList("1"), getValues(member, "SELECT this FROM map WHERE __key = 1"));
+        assertEquals(Collections.singletonList("2"), getValues(member, "SELECT this FROM map WHERE __key = 2"));
+        assertEquals(Collections.emptyList(), getValues(member, "SELECT this FROM map WHERE __key = 2 AND this = '1'"));
+        assertEquals(0L, planCache.parameterizationFallbackCount());
+    }
+
+    @Test
+    public void testParameterizationFallback() {
+        HazelcastInstance member = factory.newHazelcastInstance();
+        IMap<Integer, String> map = member.getMap("map");
+        map.put(1, "1");
+
+        PlanCache planCache = getPlanCache(member);
+
+        // The numeric literal cannot be bound to the VARCHAR parameter without the change of the comparison semantics,
+        // so the query is planned with the literal in place.
+        Plan plan = getPlan(member, "SELECT this FROM map WHERE this = 1");
+        assertEquals(0, plan.getParameterMetadata().getParameterCount());
+        assertEquals(1L, planCache.parameterizationFallbackCount());
+        assertEquals(2, planCache.size());
+
+        assertSame(plan, getPlan(member, "SELECT this FROM map WHERE this = 1"));
+        assertEquals(2L, planCache.parameterizationFallbackCount());
+        assertEquals(2, planCache.size());
+
+        assertEquals(Collections.singletonList("1"), getValues(member, "SELECT this FROM map WHERE this = '1'"));
+        assertEquals(2L, planCache.parameterizationFallbackCount());
+        assertEquals(2, planCache.size());
+    }
+
     @Test
     public void testPlanInvalidatedOnMapDestroy() {
         HazelcastInstance member = factory.newHazelcastInstance();
@@ -203,6 +273,18 @@ public class PlanCacheIntegrationTest extends PlanCacheTestSupport {
         }
     }
 
+    private List<Object> getValues(HazelcastInstance instance, String sql) {
+        List<Object> res = new ArrayList<>();
+
+        try (SqlResult result = instance.getSql().execute(sql)) {
+            for (SqlRow row : result) {
+                res.add(row.getObject(0));
+            }
+        }
+
+        return res;
+    }
+
     @SuppressWarnings("StatementWithEmptyBody")
     private void executeWithException(HazelcastInstance instance, String sql) {
         try (SqlResult result = instance.getSql().execute(sql)) {
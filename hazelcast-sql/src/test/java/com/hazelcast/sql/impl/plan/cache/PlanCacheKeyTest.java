@@ -31,11 +31,12 @@ import static java.util.Collections.singletonList;
 public class PlanCacheKeyTest extends SqlTestSupport {
     @Test
     public void testEquals() {
-        PlanCacheKey key = new PlanCacheKey(singletonList(singletonList("schema1")), "sql1");
+        PlanCacheKey key = new PlanCacheKey(singletonList(singletonList("schema1")), "sql1", 1L);
 
-        checkEquals(key, new PlanCacheKey(singletonList(singletonList("schema1")), "sql1"), true);
+        checkEquals(key, new PlanCacheKey(singletonList(singletonList("schema1")), "sql1", 1L), true);
 
-        checkEquals(key, new PlanCacheKey(singletonList(singletonList("schema2")), "sql1"), false);
-        checkEquals(key, new PlanCacheKey(singletonList(singletonList("schema1")), "sql2"), false);
+        checkEquals(key, new PlanCacheKey(singletonList(singletonList("schema2")), "sql1", 1L), false);
+        checkEquals(key, new PlanCacheKey(singletonList(singletonList("schema1")), "sql2", 1L), false);
+        checkEquals(key, new PlanCacheKey(singletonList(singletonList("schema1")), "sql1", 2L), false);
     }
 }
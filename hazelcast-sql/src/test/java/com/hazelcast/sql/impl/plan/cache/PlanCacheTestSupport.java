@@ -50,7 +50,7 @@ public class PlanCacheTestSupport extends SqlTestSupport {
         PART_MAP_2 = Collections.singletonMap(memberId, partitions2);
     }
     public static PlanCacheKey createKey(String sql) {
-        return new PlanCacheKey(Collections.emptyList(), sql);
+        return new PlanCacheKey(Collections.emptyList(), sql, 0);
     }
 
     public static Plan createPlan(PlanCacheKey key, Map<UUID, PartitionIdSet> partMap, int... objectIds) {
@@ -16,6 +16,8 @@
 
 package com.hazelcast.aggregation;
 
+import com.hazelcast.aggregation.impl.ApproximateCountDistinctAggregator;
+import com.hazelcast.aggregation.impl.ApproximateQuantileAggregator;
 import com.hazelcast.aggregation.impl.BigDecimalAverageAggregator;
 import com.hazelcast.aggregation.impl.BigDecimalSumAggregator;
 import com.hazelcast.aggregation.impl.BigIntegerAverageAggregator;
@@ -732,4 +734,71 @@ public final class Aggregators {
     public static <I> Aggregator<I, Double> floatingPointSum(String attributePath) {
         return new FloatingPointSumAggregator<I>(attributePath);
     }
+
+    // ---------------------------------------------------------------------------------------------------------
+    // approximate aggregators
+    // ---------------------------------------------------------------------------------------------------------
+
+    /**
+     * @param <I> type of the input object.
+     * @return an aggregator that estimates the number of distinct input values using the HyperLogLog algorithm.
+     * The standard error of the estimate is about 0.81%, while the partial results exchanged between the members
+     * are at most 16KB in size regardless of the number of distinct values.
+     * Accepts null input values, they are not counted.
+     * Aggregation result type is Long.
+     * @since 4.1
+     */
+    public static <I> Aggregator<I, Long> approximateCountDistinct() {
+        return new ApproximateCountDistinctAggregator<I>();
+    }
+
+    /**
+     * @param attributePath the attribute path
+     * @param <I> type of the input object.
+     * @return an aggregator that estimates the number of distinct input values extracted from the given
+     * attributePath using the HyperLogLog algorithm.
+     * The standard error of the estimate is about 0.81%, while the partial results exchanged between the members
+     * are at most 16KB in size regardless of the number of distinct values.
+     * Accepts null input values and null extracted values, they are not counted.
+     * Aggregation result type is Long.
+     * @since 4.1
+     */
+    public static <I> Aggregator<I, Long> approximateCountDistinct(String attributePath) {
+        return new ApproximateCountDistinctAggregator<I>(attributePath);
+    }
+
+    /**
+     * @param quantile the quantile to estimate, in the [0, 1] range, e.g. 0.99 for the 99th percentile.
+     * @param <I> type of the input object.
+     * @return an aggregator that estimates the value at the given quantile of the input values using a
+     * mergeable KLL quantile sketch.
+     * The rank error of the estimate is about 1%, while the partial results exchanged between the members
+     * are of a bounded size regardless of the number of values. The quantiles 0 and 1 are exactly the minimum
+     * and the maximum values.
+     * Accepts null input values, they are ignored.
+     * Accepts generic Number input values.
+     * Aggregation result type is Double, null if there are no input values.
+     * @since 4.1
+     */
+    public static <I> Aggregator<I, Double> approximateQuantile(double quantile) {
+        return new ApproximateQuantileAggregator<I>(quantile);
+    }
+
+    /**
+     * @param attributePath the attribute path
+     * @param quantile      the quantile to estimate, in the [0, 1] range, e.g. 0.99 for the 99th percentile.
+     * @param <I> type of the input object.
+     * @return an aggregator that estimates the value at the given quantile of the input values extracted from
+     * the given attributePath using a mergeable KLL quantile sketch.
+     * The rank error of the estimate is about 1%, while the partial results exchanged between the members
+     * are of a bounded size regardless of the number of values. The quantiles 0 and 1 are exactly the minimum
+     * and the maximum values.
+     * Accepts null input values and null extracted values, they are ignored.
+     * Accepts generic Number input values.
+     * Aggregation result type is Double, null if there are no input values.
+     * @since 4.1
+     */
+    public static <I> Aggregator<I, Double> approximateQuantile(String attributePath, double quantile) {
+        return new ApproximateQuantileAggregator<I>(attributePath, quantile);
+    }
 }
@@ -24,6 +24,8 @@ import com.hazelcast.query.impl.getters.MultiResult;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.DoubleConsumer;
+import java.util.function.LongConsumer;
 
 /**
  * Abstract class providing convenience for concrete implementations of an {@link Aggregator}
@@ -38,6 +40,11 @@ import java.util.Objects;
  * accumulated instead of the whole input object.
  * </li>
  * </ul>
+ * <p>
+ * Concrete implementations accumulating numbers may additionally opt in to
+ * receive the values of primitive attributes without boxing them by
+ * overriding {@link #acceptsLongs()} and {@link #accumulateExtractedLong(long)}
+ * or {@link #acceptsDoubles()} and {@link #accumulateExtractedDouble(double)}.
  *
  * @param <I> input type
  * @param <E> extracted value type
@@ -47,6 +54,11 @@ public abstract class AbstractAggregator<I, E, R> implements Aggregator<I, R> {
 
     protected String attributePath;
 
+    // created lazily since aggregators are serialized and cloned
+    private transient boolean primitiveConsumersInitialized;
+    private transient LongConsumer longConsumer;
+    private transient DoubleConsumer doubleConsumer;
+
     public AbstractAggregator() {
         this(null);
     }
@@ -57,6 +69,9 @@ public abstract class AbstractAggregator<I, E, R> implements Aggregator<I, R> {
 
     @Override
     public final void accumulate(I entry) {
+        if (attributePath != null && entry instanceof Extractable && accumulatePrimitive((Extractable) entry)) {
+            return;
+        }
 
         E extractedValue = extract(entry);
         if (extractedValue instanceof MultiResult) {
@@ -80,6 +95,18 @@ public abstract class AbstractAggregator<I, E, R> implements Aggregator<I, R> {
         }
     }
 
+    private boolean accumulatePrimitive(Extractable entry) {
+        if (!primitiveConsumersInitialized) {
+            longConsumer = acceptsLongs() ? this::accumulateExtractedLong : null;
+            doubleConsumer = acceptsDoubles() ? this::accumulateExtractedDouble : null;
+            primitiveConsumersInitialized = true;
+        }
+        if (longConsumer == null && doubleConsumer == null) {
+            return false;
+        }
+        return entry.getAttributeValue(attributePath, longConsumer, doubleConsumer);
+    }
+
     /**
      * Extract the value of the given attributePath from the given entry.
      */
@@ -105,6 +132,46 @@ public abstract class AbstractAggregator<I, E, R> implements Aggregator<I, R> {
      */
     protected abstract void accumulateExtracted(I entry, E value);
 
+    /**
+     * @return {@code true} if this aggregator accumulates the values of
+     * integral primitive attributes using {@link #accumulateExtractedLong(long)},
+     * {@code false} otherwise.
+     */
+    protected boolean acceptsLongs() {
+        return false;
+    }
+
+    /**
+     * @return {@code true} if this aggregator accumulates the values of
+     * floating point primitive attributes using {@link
+     * #accumulateExtractedDouble(double)}, {@code false} otherwise.
+     */
+    protected boolean acceptsDoubles() {
+        return false;
+    }
+
+    /**
+     * Accumulates a single value of an integral primitive attribute extracted
+     * without boxing it. Invoked only if {@link #acceptsLongs()} returns
+     * {@code true}.
+     *
+     * @param value the extracted value.
+     */
+    protected void accumulateExtractedLong(long value) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Accumulates a single value of a floating point primitive attribute
+     * extracted without boxing it. Invoked only if {@link #acceptsDoubles()}
+     * returns {@code true}.
+     *
+     * @param value the extracted value.
+     */
+    protected void accumulateExtractedDouble(double value) {
+        throw new UnsupportedOperationException();
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -50,8 +50,10 @@ public final class AggregatorDataSerializerHook implements DataSerializerHook {
     public static final int MAX_BY = 17;
     public static final int MIN_BY = 18;
     public static final int CANONICALIZING_SET = 19;
+    public static final int APPROXIMATE_COUNT_DISTINCT = 20;
+    public static final int APPROXIMATE_QUANTILE = 21;
 
-    private static final int LEN = CANONICALIZING_SET + 1;
+    private static final int LEN = APPROXIMATE_QUANTILE + 1;
 
     @Override
     public int getFactoryId() {
@@ -163,6 +165,16 @@ public final class AggregatorDataSerializerHook implements DataSerializerHook {
                 return new CanonicalizingHashSet();
             }
         };
+        constructors[APPROXIMATE_COUNT_DISTINCT] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+            public IdentifiedDataSerializable createNew(Integer arg) {
+                return new ApproximateCountDistinctAggregator();
+            }
+        };
+        constructors[APPROXIMATE_QUANTILE] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+            public IdentifiedDataSerializable createNew(Integer arg) {
+                return new ApproximateQuantileAggregator();
+            }
+        };
 
         return new ArrayDataSerializableFactory(constructors);
     }
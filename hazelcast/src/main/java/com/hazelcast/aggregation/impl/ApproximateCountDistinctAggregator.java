@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.aggregation.impl;
+
+import com.hazelcast.aggregation.Aggregator;
+import com.hazelcast.cardinality.impl.hyperloglog.HyperLogLog;
+import com.hazelcast.cardinality.impl.hyperloglog.impl.HyperLogLogImpl;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.query.impl.Comparables;
+import com.hazelcast.query.impl.QueryableEntry;
+
+import java.io.IOException;
+import java.util.Objects;
+
+import static com.hazelcast.internal.util.HashUtil.MurmurHash3_fmix;
+import static com.hazelcast.internal.util.HashUtil.MurmurHash3_x64_64;
+import static com.hazelcast.query.impl.Numbers.equalDoubles;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Estimates the number of distinct values using a {@link HyperLogLog}
+ * sketch, the same one used by the cardinality estimator.
+ * <p>
+ * The values are hashed in their canonical form, so the values considered
+ * equal by the query engine, like {@code 1} and {@code 1.0}, are counted
+ * once, consistently with the {@link DistinctValuesAggregator}. The numbers
+ * and the strings are hashed by their values, the other values are hashed in
+ * their serialized form like by the cardinality estimator, so the hashes are
+ * the same on all the members. Null values are ignored.
+ *
+ * @param <I> the input type.
+ */
+public final class ApproximateCountDistinctAggregator<I> extends AbstractAggregator<I, Object, Long>
+        implements IdentifiedDataSerializable {
+
+    private HyperLogLog hll = new HyperLogLogImpl();
+
+    public ApproximateCountDistinctAggregator() {
+        super();
+    }
+
+    public ApproximateCountDistinctAggregator(String attributePath) {
+        super(attributePath);
+    }
+
+    @Override
+    public void accumulateExtracted(I entry, Object value) {
+        if (value != null) {
+            SerializationService serializationService = entry instanceof QueryableEntry
+                    ? ((QueryableEntry) entry).getSerializationService() : null;
+            hll.add(hash(value, serializationService));
+        }
+    }
+
+    @Override
+    protected boolean acceptsLongs() {
+        return true;
+    }
+
+    @Override
+    protected void accumulateExtractedLong(long value) {
+        hll.add(MurmurHash3_fmix(value));
+    }
+
+    @Override
+    protected boolean acceptsDoubles() {
+        return true;
+    }
+
+    @Override
+    protected void accumulateExtractedDouble(double value) {
+        long longValue = (long) value;
+        // whole doubles are canonicalized to longs, see Numbers.canonicalizeForHashLookup
+        hll.add(equalDoubles(value, (double) longValue) ? MurmurHash3_fmix(longValue)
+                : MurmurHash3_fmix(Double.doubleToLongBits(value)));
+    }
+
+    @Override
+    public void combine(Aggregator aggregator) {
+        ApproximateCountDistinctAggregator other = (ApproximateCountDistinctAggregator) aggregator;
+        hll.merge(other.hll);
+    }
+
+    @Override
+    public Long aggregate() {
+        return hll.estimate();
+    }
+
+    @Override
+    public int getFactoryId() {
+        return AggregatorDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return AggregatorDataSerializerHook.APPROXIMATE_COUNT_DISTINCT;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeUTF(attributePath);
+        out.writeObject(hll);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        this.attributePath = in.readUTF();
+        this.hll = in.readObject();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        if (!super.equals(o)) {
+            return false;
+        }
+        ApproximateCountDistinctAggregator<?> that = (ApproximateCountDistinctAggregator<?>) o;
+        return hll.equals(that.hll);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), hll);
+    }
+
+    /**
+     * Hashes the given non-null value for a {@link HyperLogLog} sketch without
+     * a serialization service, see {@link #hash(Object, SerializationService)}.
+     *
+     * @param value the value to hash.
+     * @return the 64-bit hash of the value.
+     */
+    public static long hash(Object value) {
+        return hash(value, null);
+    }
+
+    /**
+     * Hashes the given non-null value for a {@link HyperLogLog} sketch, the
+     * values considered equal by the query engine have the same hashes.
+     * <p>
+     * The numbers and the strings are hashed by their values. The other values
+     * are hashed in their serialized form if a serialization service is given,
+     * otherwise the enums are hashed by their names and the rest by their
+     * {@link Object#hashCode()}.
+     *
+     * @param value                the value to hash.
+     * @param serializationService the serialization service or {@code null}.
+     * @return the 64-bit hash of the value.
+     */
+    public static long hash(Object value, SerializationService serializationService) {
+        Object canonical = value instanceof Comparable ? Comparables.canonicalizeForHashLookup((Comparable) value) : value;
+        if (canonical instanceof Long) {
+            return MurmurHash3_fmix((long) (Long) canonical);
+        } else if (canonical instanceof Double) {
+            return MurmurHash3_fmix(Double.doubleToLongBits((Double) canonical));
+        } else if (canonical instanceof String) {
+            return hash((String) canonical);
+        } else if (serializationService != null) {
+            return serializationService.toData(canonical).hash64();
+        } else if (canonical instanceof Enum) {
+            Enum<?> enumValue = (Enum<?>) canonical;
+            return hash(enumValue.getDeclaringClass().getName() + '.' + enumValue.name());
+        }
+        return MurmurHash3_fmix((long) canonical.hashCode());
+    }
+
+    private static long hash(String value) {
+        byte[] bytes = value.getBytes(UTF_8);
+        return MurmurHash3_x64_64(bytes, 0, bytes.length);
+    }
+
+}
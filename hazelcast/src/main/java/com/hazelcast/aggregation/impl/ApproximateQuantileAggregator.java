@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.aggregation.impl;
+
+import com.hazelcast.aggregation.Aggregator;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * Estimates the value at the given quantile of the numeric values using a
+ * mergeable {@link QuantileSketch}, so the partial results shipped between
+ * the members are of a bounded size regardless of the number of values.
+ * Null values are ignored.
+ *
+ * @param <I> the input type.
+ */
+public final class ApproximateQuantileAggregator<I> extends AbstractAggregator<I, Number, Double>
+        implements IdentifiedDataSerializable {
+
+    private double quantile;
+    private QuantileSketch sketch = new QuantileSketch();
+
+    public ApproximateQuantileAggregator() {
+        super();
+    }
+
+    public ApproximateQuantileAggregator(double quantile) {
+        this(null, quantile);
+    }
+
+    public ApproximateQuantileAggregator(String attributePath, double quantile) {
+        super(attributePath);
+        if (!(quantile >= 0.0 && quantile <= 1.0)) {
+            throw new IllegalArgumentException("quantile must be in the [0, 1] range: " + quantile);
+        }
+        this.quantile = quantile;
+    }
+
+    @Override
+    public void accumulateExtracted(I entry, Number value) {
+        if (value != null) {
+            sketch.update(value.doubleValue());
+        }
+    }
+
+    @Override
+    protected boolean acceptsLongs() {
+        return true;
+    }
+
+    @Override
+    protected void accumulateExtractedLong(long value) {
+        sketch.update(value);
+    }
+
+    @Override
+    protected boolean acceptsDoubles() {
+        return true;
+    }
+
+    @Override
+    protected void accumulateExtractedDouble(double value) {
+        sketch.update(value);
+    }
+
+    @Override
+    public void combine(Aggregator aggregator) {
+        ApproximateQuantileAggregator other = (ApproximateQuantileAggregator) aggregator;
+        sketch.merge(other.sketch);
+    }
+
+    @Override
+    public Double aggregate() {
+        if (sketch.count() == 0) {
+            return null;
+        }
+        return sketch.quantile(quantile);
+    }
+
+    @Override
+    public int getFactoryId() {
+        return AggregatorDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return AggregatorDataSerializerHook.APPROXIMATE_QUANTILE;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeUTF(attributePath);
+        out.writeDouble(quantile);
+        sketch.writeData(out);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        this.attributePath = in.readUTF();
+        this.quantile = in.readDouble();
+        this.sketch = new QuantileSketch();
+        sketch.readData(in);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        if (!super.equals(o)) {
+            return false;
+        }
+        ApproximateQuantileAggregator<?> that = (ApproximateQuantileAggregator<?>) o;
+        return Double.compare(that.quantile, quantile) == 0 && sketch.equals(that.sketch);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), quantile, sketch);
+    }
+
+}
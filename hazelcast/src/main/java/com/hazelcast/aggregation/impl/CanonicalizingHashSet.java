@@ -16,6 +16,8 @@
 
 package com.hazelcast.aggregation.impl;
 
+import com.hazelcast.internal.util.FlatCompositeIterator;
+import com.hazelcast.internal.util.collection.Long2ObjectHashMap;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
@@ -23,28 +25,41 @@ import com.hazelcast.query.impl.Comparables;
 import com.hazelcast.internal.util.MapUtil;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 
+import static com.hazelcast.query.impl.Numbers.equalDoubles;
+import static com.hazelcast.query.impl.Numbers.isDoubleRepresentable;
+import static com.hazelcast.query.impl.Numbers.isLongRepresentable;
+import static java.util.Arrays.asList;
+
 /**
  * A read-only hash set that canonicalizes its mixed-type numeric elements for
  * lookup operations while still preserving the original element values.
  * <p>
  * That canonicalization logic is required for the consistency with the
  * mixed-type numeric equality logic used inside query engine.
+ * <p>
+ * The elements canonicalizable to long values, which are the integral
+ * numbers and the whole floating point numbers, are stored in a primitive
+ * long-keyed map, so no canonical representations are allocated for them.
  *
  * @param <E> the element type.
  */
 public final class CanonicalizingHashSet<E> implements Set<E>, IdentifiedDataSerializable {
 
+    private Long2ObjectHashMap<E> longs;
     private HashMap<Object, E> map;
 
     /**
      * Constructs a new empty instance of canonicalizing hash set.
      */
     public CanonicalizingHashSet() {
+        this.longs = new Long2ObjectHashMap<E>();
         this.map = new HashMap<Object, E>();
     }
 
@@ -54,6 +69,7 @@ public final class CanonicalizingHashSet<E> implements Set<E>, IdentifiedDataSer
      * @param capacity the expected capacity
      */
     public CanonicalizingHashSet(int capacity) {
+        this.longs = new Long2ObjectHashMap<E>(capacity);
         this.map = new HashMap<Object, E>(capacity);
     }
 
@@ -65,6 +81,10 @@ public final class CanonicalizingHashSet<E> implements Set<E>, IdentifiedDataSer
      */
     void addAllInternal(CanonicalizingHashSet<E> set) {
         // elements are already canonicalized
+        for (Long2ObjectHashMap<E>.KeyIterator iterator = set.longs.keySet().iterator(); iterator.hasNext(); ) {
+            long key = iterator.nextLong();
+            longs.put(key, set.longs.get(key));
+        }
         map.putAll(set.map);
     }
 
@@ -74,7 +94,11 @@ public final class CanonicalizingHashSet<E> implements Set<E>, IdentifiedDataSer
      * @param e the element to add.
      */
     void addInternal(E e) {
-        map.put(canonicalize(e), e);
+        if (isCanonicalizableToLong(e)) {
+            longs.put(((Number) e).longValue(), e);
+        } else {
+            map.put(canonicalize(e), e);
+        }
     }
 
     @Override
@@ -88,6 +112,7 @@ public final class CanonicalizingHashSet<E> implements Set<E>, IdentifiedDataSer
     @Override
     public void readData(ObjectDataInput in) throws IOException {
         int count = in.readInt();
+        this.longs = new Long2ObjectHashMap<E>(MapUtil.calculateInitialCapacity(count));
         this.map = new HashMap<Object, E>(MapUtil.calculateInitialCapacity(count));
         for (int i = 0; i < count; i++) {
             E element = in.readObject();
@@ -107,33 +132,36 @@ public final class CanonicalizingHashSet<E> implements Set<E>, IdentifiedDataSer
 
     @Override
     public int size() {
-        return map.size();
+        return longs.size() + map.size();
     }
 
     @Override
     public boolean isEmpty() {
-        return map.isEmpty();
+        return longs.isEmpty() && map.isEmpty();
     }
 
     @Override
     public boolean contains(Object o) {
+        if (isCanonicalizableToLong(o)) {
+            return longs.containsKey(((Number) o).longValue());
+        }
         return map.containsKey(canonicalize(o));
     }
 
     @Override
     public Iterator<E> iterator() {
-        return map.values().iterator();
+        return new FlatCompositeIterator<E>(asList(longs.values().iterator(), map.values().iterator()).iterator());
     }
 
     @Override
     public Object[] toArray() {
-        return map.values().toArray();
+        return values().toArray();
     }
 
     @SuppressWarnings({"NullableProblems", "SuspiciousToArrayCall"})
     @Override
     public <T> T[] toArray(T[] a) {
-        return map.values().toArray(a);
+        return values().toArray(a);
     }
 
     @Override
@@ -181,7 +209,12 @@ public final class CanonicalizingHashSet<E> implements Set<E>, IdentifiedDataSer
 
     @Override
     public int hashCode() {
-        return map.keySet().hashCode();
+        // consistent with the hash code of the set of the canonical elements
+        int hashCode = map.keySet().hashCode();
+        for (Long2ObjectHashMap<E>.KeyIterator iterator = longs.keySet().iterator(); iterator.hasNext(); ) {
+            hashCode += Long.hashCode(iterator.nextLong());
+        }
+        return hashCode;
     }
 
     @Override
@@ -200,7 +233,34 @@ public final class CanonicalizingHashSet<E> implements Set<E>, IdentifiedDataSer
 
     @Override
     public String toString() {
-        return map.values().toString();
+        return values().toString();
+    }
+
+    private List<E> values() {
+        List<E> values = new ArrayList<E>(size());
+        values.addAll(longs.values());
+        values.addAll(map.values());
+        return values;
+    }
+
+    /**
+     * Tells whether the given value is canonicalized to a long value by
+     * {@link Comparables#canonicalizeForHashLookup}, without allocating the
+     * canonical representation.
+     */
+    private static boolean isCanonicalizableToLong(Object value) {
+        if (value == null) {
+            return false;
+        }
+
+        Class clazz = value.getClass();
+        if (isLongRepresentable(clazz)) {
+            return true;
+        } else if (isDoubleRepresentable(clazz)) {
+            double doubleValue = ((Number) value).doubleValue();
+            return equalDoubles(doubleValue, (double) (long) doubleValue);
+        }
+        return false;
     }
 
     private static Object canonicalize(Object value) {
@@ -46,6 +46,17 @@ public final class DoubleAverageAggregator<I> extends AbstractAggregator<I, Numb
         sum += Numbers.asDoubleExactly(value);
     }
 
+    @Override
+    protected boolean acceptsDoubles() {
+        return true;
+    }
+
+    @Override
+    protected void accumulateExtractedDouble(double value) {
+        count++;
+        sum += value;
+    }
+
     @Override
     public void combine(Aggregator aggregator) {
         DoubleAverageAggregator doubleAverageAggregator = (DoubleAverageAggregator) aggregator;
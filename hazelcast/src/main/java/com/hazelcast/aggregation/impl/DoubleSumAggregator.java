@@ -43,6 +43,16 @@ public final class DoubleSumAggregator<I> extends AbstractAggregator<I, Number,
         sum += Numbers.asDoubleExactly(value);
     }
 
+    @Override
+    protected boolean acceptsDoubles() {
+        return true;
+    }
+
+    @Override
+    protected void accumulateExtractedDouble(double value) {
+        sum += value;
+    }
+
     @Override
     public void combine(Aggregator aggregator) {
         DoubleSumAggregator longSumAggregator = (DoubleSumAggregator) aggregator;
@@ -41,6 +41,16 @@ public final class FixedSumAggregator<I> extends AbstractAggregator<I, Number, L
         sum += value.longValue();
     }
 
+    @Override
+    protected boolean acceptsLongs() {
+        return true;
+    }
+
+    @Override
+    protected void accumulateExtractedLong(long value) {
+        sum += value;
+    }
+
     @Override
     public void combine(Aggregator aggregator) {
         FixedSumAggregator longSumAggregator = (FixedSumAggregator) aggregator;
@@ -42,6 +42,26 @@ public final class FloatingPointSumAggregator<I> extends AbstractAggregator<I, N
         sum += value.doubleValue();
     }
 
+    @Override
+    protected boolean acceptsLongs() {
+        return true;
+    }
+
+    @Override
+    protected void accumulateExtractedLong(long value) {
+        sum += value;
+    }
+
+    @Override
+    protected boolean acceptsDoubles() {
+        return true;
+    }
+
+    @Override
+    protected void accumulateExtractedDouble(double value) {
+        sum += value;
+    }
+
     @Override
     public void combine(Aggregator aggregator) {
         FloatingPointSumAggregator longSumAggregator = (FloatingPointSumAggregator) aggregator;
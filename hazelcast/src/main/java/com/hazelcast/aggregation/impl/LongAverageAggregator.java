@@ -45,6 +45,17 @@ public final class LongAverageAggregator<I> extends AbstractAggregator<I, Number
         sum += Numbers.asLongExactly(value);
     }
 
+    @Override
+    protected boolean acceptsLongs() {
+        return true;
+    }
+
+    @Override
+    protected void accumulateExtractedLong(long value) {
+        count++;
+        sum += value;
+    }
+
     @Override
     public void combine(Aggregator aggregator) {
         LongAverageAggregator longAverageAggregator = (LongAverageAggregator) aggregator;
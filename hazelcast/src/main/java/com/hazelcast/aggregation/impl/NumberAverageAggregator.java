@@ -45,6 +45,28 @@ public final class NumberAverageAggregator<I> extends AbstractAggregator<I, Numb
         sum += value.doubleValue();
     }
 
+    @Override
+    protected boolean acceptsLongs() {
+        return true;
+    }
+
+    @Override
+    protected void accumulateExtractedLong(long value) {
+        count++;
+        sum += value;
+    }
+
+    @Override
+    protected boolean acceptsDoubles() {
+        return true;
+    }
+
+    @Override
+    protected void accumulateExtractedDouble(double value) {
+        count++;
+        sum += value;
+    }
+
     @Override
     public void combine(Aggregator aggregator) {
         NumberAverageAggregator doubleAverageAggregator = (NumberAverageAggregator) aggregator;
@@ -0,0 +1,326 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.aggregation.impl;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A mergeable quantile sketch of double values based on the KLL algorithm
+ * (Karnin, Lang, Liberty: "Optimal Quantile Approximation in Streams").
+ * <p>
+ * The sketch retains the values in a hierarchy of compactors: the values
+ * retained at level {@code h} represent {@code 2^h} values each. Once a level
+ * exceeds its capacity, it's sorted and every other value of it is promoted
+ * to the next level, the rest is discarded. The capacities decrease
+ * geometrically towards the lower levels, so the sketch retains
+ * {@code O(k)} values while the rank error is roughly {@code 1.65 / k} for
+ * the default parameters.
+ * <p>
+ * The minimum and the maximum values are tracked exactly.
+ */
+final class QuantileSketch {
+
+    /**
+     * The default accuracy parameter, it gives about 1% rank error.
+     */
+    static final int DEFAULT_K = 200;
+
+    private static final double CAPACITY_DECAY = 2.0 / 3.0;
+    private static final int MIN_CAPACITY = 2;
+    private static final int INITIAL_LEVEL_CAPACITY = 8;
+
+    private int k;
+    private long count;
+    private double min = Double.NaN;
+    private double max = Double.NaN;
+
+    private double[][] levels = new double[0][];
+    private int[] sizes = new int[0];
+    private int height;
+    private int size;
+    private int maxSize;
+
+    QuantileSketch() {
+        this(DEFAULT_K);
+    }
+
+    QuantileSketch(int k) {
+        if (k < MIN_CAPACITY) {
+            throw new IllegalArgumentException("k must be at least " + MIN_CAPACITY + ": " + k);
+        }
+        this.k = k;
+        grow();
+    }
+
+    /**
+     * @return the number of values added to this sketch.
+     */
+    long count() {
+        return count;
+    }
+
+    /**
+     * Adds the given value to this sketch, NaN values are ignored.
+     */
+    void update(double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+
+        if (count == 0) {
+            min = value;
+            max = value;
+        } else {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        ++count;
+
+        append(0, value);
+        if (size >= maxSize) {
+            compress();
+        }
+    }
+
+    /**
+     * Merges the given sketch into this sketch.
+     */
+    void merge(QuantileSketch other) {
+        if (other.count == 0) {
+            return;
+        }
+
+        if (count == 0) {
+            min = other.min;
+            max = other.max;
+        } else {
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+        }
+        count += other.count;
+
+        while (height < other.height) {
+            grow();
+        }
+        for (int h = 0; h < other.height; ++h) {
+            double[] otherLevel = other.levels[h];
+            for (int i = 0; i < other.sizes[h]; ++i) {
+                append(h, otherLevel[i]);
+            }
+        }
+        while (size >= maxSize) {
+            compress();
+        }
+    }
+
+    /**
+     * Estimates the value at the given quantile of the values added to this
+     * sketch.
+     *
+     * @param quantile the quantile in the {@code [0, 1]} range.
+     * @return the estimated value or NaN if this sketch is empty.
+     */
+    double quantile(double quantile) {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        if (quantile <= 0.0) {
+            return min;
+        }
+        if (quantile >= 1.0) {
+            return max;
+        }
+
+        // merge the sorted levels into a single sequence of weighted values
+        double[] values = new double[size];
+        long[] weights = new long[size];
+        int merged = 0;
+        for (int h = 0; h < height; ++h) {
+            int levelSize = sizes[h];
+            if (levelSize == 0) {
+                continue;
+            }
+            double[] level = levels[h];
+            Arrays.sort(level, 0, levelSize);
+
+            long weight = 1L << h;
+            int i = merged - 1;
+            int j = levelSize - 1;
+            for (int target = merged + levelSize - 1; j >= 0; --target) {
+                if (i >= 0 && values[i] > level[j]) {
+                    values[target] = values[i];
+                    weights[target] = weights[i];
+                    --i;
+                } else {
+                    values[target] = level[j];
+                    weights[target] = weight;
+                    --j;
+                }
+            }
+            merged += levelSize;
+        }
+
+        long totalWeight = 0;
+        for (int i = 0; i < merged; ++i) {
+            totalWeight += weights[i];
+        }
+        double rank = quantile * totalWeight;
+        long cumulativeWeight = 0;
+        for (int i = 0; i < merged; ++i) {
+            cumulativeWeight += weights[i];
+            if (cumulativeWeight >= rank) {
+                return values[i];
+            }
+        }
+        return max;
+    }
+
+    void writeData(ObjectDataOutput out) throws IOException {
+        out.writeInt(k);
+        out.writeLong(count);
+        out.writeDouble(min);
+        out.writeDouble(max);
+        out.writeInt(height);
+        for (int h = 0; h < height; ++h) {
+            out.writeDoubleArray(Arrays.copyOf(levels[h], sizes[h]));
+        }
+    }
+
+    void readData(ObjectDataInput in) throws IOException {
+        k = in.readInt();
+        count = in.readLong();
+        min = in.readDouble();
+        max = in.readDouble();
+        int readHeight = in.readInt();
+
+        levels = new double[0][];
+        sizes = new int[0];
+        height = 0;
+        size = 0;
+        for (int h = 0; h < readHeight; ++h) {
+            grow();
+            double[] level = in.readDoubleArray();
+            levels[h] = level;
+            sizes[h] = level.length;
+            size += level.length;
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        QuantileSketch that = (QuantileSketch) o;
+        if (k != that.k || count != that.count || height != that.height
+                || Double.compare(min, that.min) != 0 || Double.compare(max, that.max) != 0) {
+            return false;
+        }
+        for (int h = 0; h < height; ++h) {
+            if (!Arrays.equals(sortedLevel(h), that.sortedLevel(h))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Objects.hash(k, count, min, max, height);
+        for (int h = 0; h < height; ++h) {
+            result = 31 * result + Arrays.hashCode(sortedLevel(h));
+        }
+        return result;
+    }
+
+    /**
+     * @return the sorted copy of the values retained at the given level, the
+     * order of the retained values doesn't matter for the estimates.
+     */
+    private double[] sortedLevel(int level) {
+        double[] values = Arrays.copyOf(levels[level], sizes[level]);
+        Arrays.sort(values);
+        return values;
+    }
+
+    private int capacity(int level) {
+        int depth = height - level - 1;
+        return Math.max(MIN_CAPACITY, (int) Math.ceil(k * Math.pow(CAPACITY_DECAY, depth)));
+    }
+
+    private void grow() {
+        ++height;
+        levels = Arrays.copyOf(levels, height);
+        levels[height - 1] = new double[INITIAL_LEVEL_CAPACITY];
+        sizes = Arrays.copyOf(sizes, height);
+
+        maxSize = 0;
+        for (int h = 0; h < height; ++h) {
+            maxSize += capacity(h);
+        }
+    }
+
+    private void append(int level, double value) {
+        int levelSize = sizes[level];
+        if (levelSize == levels[level].length) {
+            levels[level] = Arrays.copyOf(levels[level], Math.max(INITIAL_LEVEL_CAPACITY, levelSize * 2));
+        }
+        levels[level][levelSize] = value;
+        sizes[level] = levelSize + 1;
+        ++size;
+    }
+
+    private void compress() {
+        for (int h = 0; h < height; ++h) {
+            if (sizes[h] >= capacity(h)) {
+                if (h + 1 == height) {
+                    grow();
+                }
+                compact(h);
+                return;
+            }
+        }
+    }
+
+    private void compact(int level) {
+        double[] values = levels[level];
+        int levelSize = sizes[level];
+        Arrays.sort(values, 0, levelSize);
+
+        // an odd value stays at this level, the rest is halved
+        int retained = levelSize & 1;
+        int compacted = levelSize - retained;
+        sizes[level] = 0;
+        size -= levelSize;
+        for (int i = ThreadLocalRandom.current().nextInt(2); i < compacted; i += 2) {
+            append(level + 1, values[i]);
+        }
+        if (retained == 1) {
+            append(level, values[levelSize - 1]);
+        }
+    }
+
+}
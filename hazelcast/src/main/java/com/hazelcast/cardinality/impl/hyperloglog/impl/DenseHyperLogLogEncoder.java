@@ -21,6 +21,7 @@ import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.NavigableMap;
@@ -134,6 +135,23 @@ public class DenseHyperLogLogEncoder implements HyperLogLogEncoder {
         return HyperLogLogEncoding.DENSE;
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        DenseHyperLogLogEncoder that = (DenseHyperLogLogEncoder) o;
+        return p == that.p && Arrays.equals(register, that.register);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * p + Arrays.hashCode(register);
+    }
+
     private double alpha() {
         // make sure m is always >= 16 for p = 4 -> m = 16
         // if p ∈ [4..16] as of [1]
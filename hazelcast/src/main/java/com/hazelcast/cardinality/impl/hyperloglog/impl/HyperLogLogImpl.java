@@ -107,6 +107,23 @@ public class HyperLogLogImpl
         m = in.readInt();
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        HyperLogLogImpl that = (HyperLogLogImpl) o;
+        return m == that.m && encoder.equals(that.encoder);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * m + encoder.hashCode();
+    }
+
     private void convertToDenseIfNeeded() {
         boolean shouldConvertToDense = SPARSE.equals(encoder.getEncodingType()) && encoder.getMemoryFootprint() >= m;
         if (shouldConvertToDense) {
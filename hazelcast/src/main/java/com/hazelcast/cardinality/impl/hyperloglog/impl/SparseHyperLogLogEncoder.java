@@ -131,6 +131,28 @@ public class SparseHyperLogLogEncoder
         return register.mark + (DEFAULT_TEMP_CAPACITY * Bits.INT_SIZE_IN_BYTES);
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        SparseHyperLogLogEncoder that = (SparseHyperLogLogEncoder) o;
+        // the hashes pending in the temp buffers are merged first,
+        // so the same hashes result in the same registers
+        mergeAndResetTmp();
+        that.mergeAndResetTmp();
+        return p == that.p && Arrays.equals(register.explode(), that.register.explode());
+    }
+
+    @Override
+    public int hashCode() {
+        mergeAndResetTmp();
+        return 31 * p + Arrays.hashCode(register.explode());
+    }
+
     HyperLogLogEncoder asDense() {
         mergeAndResetTmp();
 
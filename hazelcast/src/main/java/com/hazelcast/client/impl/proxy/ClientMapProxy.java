@@ -97,6 +97,7 @@ import com.hazelcast.client.impl.spi.impl.ClientInvocationFuture;
 import com.hazelcast.client.impl.spi.impl.ListenerMessageCodec;
 import com.hazelcast.client.map.impl.iterator.ClientMapPartitionIterator;
 import com.hazelcast.client.map.impl.iterator.ClientMapQueryPartitionIterator;
+import com.hazelcast.client.map.impl.iterator.ClientMapQueryResultStream;
 import com.hazelcast.client.map.impl.querycache.ClientQueryCacheContext;
 import com.hazelcast.cluster.Member;
 import com.hazelcast.config.IndexConfig;
@@ -123,6 +124,7 @@ import com.hazelcast.map.QueryCache;
 import com.hazelcast.map.impl.DataAwareEntryEvent;
 import com.hazelcast.map.impl.ListenerAdapter;
 import com.hazelcast.map.impl.SimpleEntryView;
+import com.hazelcast.map.impl.iterator.AbstractMapQueryResultStream;
 import com.hazelcast.map.impl.querycache.subscriber.QueryCacheEndToEndProvider;
 import com.hazelcast.map.impl.querycache.subscriber.QueryCacheRequest;
 import com.hazelcast.map.impl.querycache.subscriber.SubscriberContext;
@@ -1733,6 +1735,44 @@ public class ClientMapProxy<K, V> extends ClientProxy
                 predicate, projection);
     }
 
+    /**
+     * Returns a stream of the results of the projection on the entries of
+     * all the partitions which satisfy the {@code predicate}.
+     * <p>
+     * The results are fetched from the partition owners concurrently in
+     * chunks of {@code fetchSize} entries per partition. At most {@code
+     * maxBufferedChunks} chunks are either being fetched or waiting to be
+     * consumed at any time, so the memory held by the stream is bounded no
+     * matter how many entries match the predicate. The results may be
+     * consumed either with the {@link java.util.Iterator} methods or
+     * asynchronously with {@link AbstractMapQueryResultStream#nextChunkAsync()}.
+     * The stream should be closed if it is not consumed to the end.
+     * Predicates of type {@link PagingPredicate} are not supported.
+     * <b>NOTE</b>
+     * The results of different partitions are interleaved in no particular
+     * order. The same consistency guarantees as for {@link #iterator(int, int,
+     * Projection, Predicate)} apply to every partition.
+     *
+     * @param fetchSize         the maximum number of entries fetched from a partition at once
+     * @param maxBufferedChunks the maximum number of chunks being fetched or buffered
+     * @param projection        the projection to apply before returning the value. {@code null} value is not allowed
+     * @param predicate         the predicate which the entries must match. {@code null} value is not allowed
+     * @param <R>               the return type
+     * @return the stream of the projected results
+     * @throws IllegalArgumentException if the predicate is of type {@link PagingPredicate}
+     *                                  or the sizes are not positive
+     * @since 4.1
+     */
+    public <R> AbstractMapQueryResultStream<K, V, R> queryStream(int fetchSize, int maxBufferedChunks,
+                                                                 Projection<? super Map.Entry<K, V>, R> projection,
+                                                                 Predicate<K, V> predicate) {
+        checkNotNull(projection, NULL_PROJECTION_IS_NOT_ALLOWED);
+        checkNotNull(predicate, NULL_PREDICATE_IS_NOT_ALLOWED);
+        checkNotPagingPredicate(predicate, "queryStream");
+        return new ClientMapQueryResultStream<>(this, getContext(), fetchSize, maxBufferedChunks,
+                predicate, projection);
+    }
+
     @Override
     public InternalCompletableFuture<EventJournalInitialSubscriberState> subscribeToEventJournal(int partitionId) {
         final ClientMessage request = MapEventJournalSubscribeCodec.encodeRequest(name);
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.map.impl.iterator;
+
+import com.hazelcast.client.impl.clientside.HazelcastClientInstanceImpl;
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.codec.MapFetchWithQueryCodec;
+import com.hazelcast.client.impl.proxy.ClientMapProxy;
+import com.hazelcast.client.impl.spi.ClientContext;
+import com.hazelcast.client.impl.spi.impl.ClientInvocation;
+import com.hazelcast.internal.iteration.IterationPointer;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.map.impl.iterator.AbstractMapQueryResultStream;
+import com.hazelcast.projection.Projection;
+import com.hazelcast.query.Predicate;
+
+import java.util.Map.Entry;
+import java.util.concurrent.CompletionStage;
+
+import static com.hazelcast.internal.iteration.IterationPointer.decodePointers;
+import static com.hazelcast.internal.iteration.IterationPointer.encodePointers;
+
+/**
+ * Streams the results of a query over all the partitions of a map on a
+ * client, see {@link AbstractMapQueryResultStream}.
+ */
+public class ClientMapQueryResultStream<K, V, R> extends AbstractMapQueryResultStream<K, V, R> {
+
+    private final ClientMapProxy<K, V> mapProxy;
+    private final ClientContext context;
+    private final Data projectionData;
+    private final Data predicateData;
+
+    public ClientMapQueryResultStream(ClientMapProxy<K, V> mapProxy,
+                                      ClientContext context,
+                                      int fetchSize,
+                                      int maxBufferedChunks,
+                                      Predicate<K, V> predicate,
+                                      Projection<? super Entry<K, V>, R> projection) {
+        super(mapProxy, fetchSize, maxBufferedChunks, context.getPartitionService().getPartitionCount(),
+                predicate, projection);
+        this.mapProxy = mapProxy;
+        this.context = context;
+        // serialized once, they are sent with the request of every chunk
+        this.projectionData = context.getSerializationService().toData(projection);
+        this.predicateData = context.getSerializationService().toData(predicate);
+    }
+
+    @Override
+    protected CompletionStage<Chunk> fetchAsync(int partitionId, IterationPointer[] pointers) {
+        HazelcastClientInstanceImpl client = (HazelcastClientInstanceImpl) context.getHazelcastInstance();
+        ClientMessage request = MapFetchWithQueryCodec.encodeRequest(mapProxy.getName(), encodePointers(pointers),
+                fetchSize, projectionData, predicateData);
+        return new ClientInvocation(client, request, mapProxy.getName(), partitionId).invoke().thenApply(response -> {
+            MapFetchWithQueryCodec.ResponseParameters responseParameters = MapFetchWithQueryCodec.decodeResponse(response);
+            return new Chunk(responseParameters.results, decodePointers(responseParameters.iterationPointers));
+        });
+    }
+
+    @Override
+    protected SerializationService getSerializationService() {
+        return context.getSerializationService();
+    }
+}
@@ -125,10 +125,10 @@ public final class ConfigValidator {
                                       SplitBrainMergePolicyProvider mergePolicyProvider,
                                       HazelcastProperties properties) {
 
-        checkNotNativeWhenOpenSource(mapConfig.getInMemoryFormat());
+        checkMapNotNativeWhenOpenSource(mapConfig.getInMemoryFormat(), nativeMemoryConfig);
 
+        checkMapNativeConfig(mapConfig, nativeMemoryConfig);
         if (getBuildInfo().isEnterprise()) {
-            checkMapNativeConfig(mapConfig, nativeMemoryConfig);
             checkHotRestartSpecificConfig(mapConfig, properties);
         }
 
@@ -625,6 +625,18 @@ public final class ConfigValidator {
                 "CP member count must be greater than 0 to use CP persistence feature!");
     }
 
+    /**
+     * Maps can be backed by native memory in the open source edition as
+     * well, but only when native memory has been explicitly enabled.
+     */
+    private static void checkMapNotNativeWhenOpenSource(InMemoryFormat inMemoryFormat,
+                                                        NativeMemoryConfig nativeMemoryConfig) {
+        if (nativeMemoryConfig != null && nativeMemoryConfig.isEnabled()) {
+            return;
+        }
+        checkNotNativeWhenOpenSource(inMemoryFormat);
+    }
+
     /**
      * Throws {@link InvalidConfigurationException} if the given {@link InMemoryFormat}
      * is {@link InMemoryFormat#NATIVE} and Hazelcast is OS.
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.memory.impl;
+
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.memory.NativeOutOfMemoryError;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.hazelcast.internal.memory.impl.UnsafeUtil.UNSAFE;
+import static com.hazelcast.internal.memory.impl.UnsafeUtil.UNSAFE_AVAILABLE;
+import static com.hazelcast.internal.util.Preconditions.checkPositive;
+
+/**
+ * {@link MemoryAllocator} which obtains its blocks straight from the
+ * operating system through {@link sun.misc.Unsafe#allocateMemory(long)}.
+ * <p>
+ * The allocator enforces an upper bound on the total amount of memory
+ * it hands out and throws {@link NativeOutOfMemoryError} once the bound
+ * would be exceeded. It doesn't pool freed blocks, so every call maps
+ * to a single {@code malloc}/{@code realloc}/{@code free} of the
+ * underlying C runtime.
+ * <p>
+ * This class is thread-safe.
+ */
+public final class UnsafeMemoryAllocator implements MemoryAllocator {
+
+    private final long maxMemory;
+    private final AtomicLong usedMemory = new AtomicLong();
+
+    public UnsafeMemoryAllocator(long maxMemory) {
+        if (!UNSAFE_AVAILABLE) {
+            throw new IllegalStateException("sun.misc.Unsafe is not available, native memory cannot be allocated");
+        }
+        this.maxMemory = checkPositive("maxMemory", maxMemory);
+    }
+
+    @Override
+    public long allocate(long size) {
+        reserve(size);
+        long address;
+        try {
+            address = UNSAFE.allocateMemory(size);
+        } catch (OutOfMemoryError e) {
+            usedMemory.addAndGet(-size);
+            throw new NativeOutOfMemoryError("Cannot allocate " + size + " bytes of native memory", e);
+        }
+        UNSAFE.setMemory(address, size, (byte) 0);
+        return address;
+    }
+
+    @Override
+    public long reallocate(long address, long currentSize, long newSize) {
+        long diff = newSize - currentSize;
+        if (diff > 0) {
+            reserve(diff);
+        }
+        long newAddress;
+        try {
+            newAddress = UNSAFE.reallocateMemory(address, newSize);
+        } catch (OutOfMemoryError e) {
+            if (diff > 0) {
+                usedMemory.addAndGet(-diff);
+            }
+            throw new NativeOutOfMemoryError("Cannot reallocate " + currentSize + " bytes to " + newSize
+                    + " bytes of native memory", e);
+        }
+        if (diff > 0) {
+            UNSAFE.setMemory(newAddress + currentSize, diff, (byte) 0);
+        } else {
+            usedMemory.addAndGet(diff);
+        }
+        return newAddress;
+    }
+
+    @Override
+    public void free(long address, long size) {
+        UNSAFE.freeMemory(address);
+        usedMemory.addAndGet(-size);
+    }
+
+    @Override
+    public void dispose() {
+        // blocks are owned by their allocating data structures,
+        // there is nothing to release at the allocator level
+    }
+
+    /**
+     * @return the number of bytes currently allocated through this allocator
+     */
+    public long getUsedMemory() {
+        return usedMemory.get();
+    }
+
+    /**
+     * @return the maximum number of bytes this allocator is allowed to hand out
+     */
+    public long getMaxMemory() {
+        return maxMemory;
+    }
+
+    private void reserve(long size) {
+        long used;
+        do {
+            used = usedMemory.get();
+            if (used + size > maxMemory) {
+                throw new NativeOutOfMemoryError("Not enough native memory to allocate " + size
+                        + " bytes, used: " + used + ", max: " + maxMemory);
+            }
+        } while (!usedMemory.compareAndSet(used, used + size));
+    }
+}
@@ -514,6 +514,23 @@ public final class MetricDescriptorConstants {
     public static final String SET_METRIC_CREATION_TIME = "creationTime";
     // ===[/SET]======================================================
 
+    // ===[SQL]=========================================================
+    public static final String SQL_PREFIX_FLOW_CONTROL = "sql.flowControl";
+    public static final String SQL_METRIC_FLOW_CONTROL_MEMORY_BUDGET = "memoryBudget";
+    public static final String SQL_METRIC_FLOW_CONTROL_MEMORY_RESERVED = "memoryReserved";
+    public static final String SQL_METRIC_FLOW_CONTROL_ACTIVE_QUERIES = "activeQueries";
+    public static final String SQL_METRIC_FLOW_CONTROL_ACTIVE_STREAMS = "activeStreams";
+    public static final String SQL_METRIC_FLOW_CONTROL_GRANT_COUNT = "grantCount";
+    public static final String SQL_METRIC_FLOW_CONTROL_LIMITED_GRANT_COUNT = "budgetLimitedGrantCount";
+    public static final String SQL_PREFIX_PLAN_CACHE = "sql.planCache";
+    public static final String SQL_METRIC_PLAN_CACHE_SIZE = "size";
+    public static final String SQL_METRIC_PLAN_CACHE_HITS = "hits";
+    public static final String SQL_METRIC_PLAN_CACHE_MISSES = "misses";
+    public static final String SQL_METRIC_PLAN_CACHE_EVICTIONS = "evictions";
+    public static final String SQL_METRIC_PLAN_CACHE_INVALIDATIONS = "invalidations";
+    public static final String SQL_METRIC_PLAN_CACHE_PARAMETERIZATION_FALLBACKS = "parameterizationFallbacks";
+    // ===[/SQL]========================================================
+
     // ===[TCP]=========================================================
     public static final String TCP_PREFIX = "tcp";
     public static final String TCP_PREFIX_ACCEPTOR = "tcp.acceptor";
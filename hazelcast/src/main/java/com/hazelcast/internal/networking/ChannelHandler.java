@@ -16,6 +16,9 @@
 
 package com.hazelcast.internal.networking;
 
+import java.nio.ByteBuffer;
+
+import static com.hazelcast.internal.networking.ChannelOption.DIRECT_BUF_POOL;
 
 /**
  * ChannelHandler is either responsible for processing inbound or outbound data.
@@ -38,6 +41,8 @@ public abstract class ChannelHandler<H extends ChannelHandler, S, D> {
     protected S src;
     protected D dst;
 
+    private ByteBuffer pooledBuffer;
+
     /**
      * Gets the source of this ChannelHandler.
      *
@@ -110,6 +115,49 @@ public abstract class ChannelHandler<H extends ChannelHandler, S, D> {
     public void handlerAdded() {
     }
 
+    /**
+     * Gets called when the channel is closed and the pipeline will not be
+     * processed anymore. Releases the buffer this ChannelHandler has taken
+     * from the {@link ChannelOption#DIRECT_BUF_POOL}, if any.
+     *
+     * Should only be called by the pipeline and from a thread owning this
+     * handler.
+     */
+    public final void releaseBuffers() {
+        ByteBuffer buffer = pooledBuffer;
+        if (buffer == null) {
+            return;
+        }
+
+        pooledBuffer = null;
+        if (src == buffer) {
+            src = null;
+        }
+        if (dst == buffer) {
+            dst = null;
+        }
+        channel.options().getOption(DIRECT_BUF_POOL).release(buffer);
+    }
+
+    /**
+     * Takes a buffer from the {@link ChannelOption#DIRECT_BUF_POOL} if the
+     * channel has one. The buffer is released to the pool once the channel
+     * is closed.
+     *
+     * @param sizeBytes the size of the buffer
+     * @return the pooled buffer or null if the channel has no pool.
+     */
+    protected final ByteBuffer takePooledBuffer(int sizeBytes) {
+        DirectBufferPool pool = channel.options().getOption(DIRECT_BUF_POOL);
+        if (pool == null || pooledBuffer != null) {
+            // a handler holds a single pooled buffer; any additional one is left to the GC
+            return null;
+        }
+
+        pooledBuffer = pool.take(sizeBytes);
+        return pooledBuffer;
+    }
+
     /**
      * Intercepts an error that is thrown while processing the inbound or
      * outbound pipeline.
@@ -66,6 +66,14 @@ public final class ChannelOption<T> {
      */
     public static final ChannelOption<Boolean> DIRECT_BUF = new ChannelOption<Boolean>("DIRECT_BUF");
 
+    /**
+     * The pool to take the direct socket buffers from. If set, the buffers
+     * with the size of the socket buffers are taken from the pool, no matter
+     * the {@link #DIRECT_BUF} option, and are released to the pool once the
+     * channel is closed.
+     */
+    public static final ChannelOption<DirectBufferPool> DIRECT_BUF_POOL = new ChannelOption<DirectBufferPool>("DIRECT_BUF_POOL");
+
     private final String name;
 
     /**
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.networking;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.hazelcast.internal.util.Preconditions.checkNotNull;
+import static com.hazelcast.internal.util.Preconditions.checkPositive;
+import static com.hazelcast.internal.util.Preconditions.checkTrue;
+
+/**
+ * A pool of direct {@link ByteBuffer}s shared by the channels.
+ *
+ * Allocating a direct buffer is expensive and its native memory is only
+ * freed once the GC collects the buffer, so instead of allocating new
+ * socket buffers for every channel, the buffers of the closed channels are
+ * handed over to the channels created later.
+ *
+ * The buffers are pooled per capacity and the total capacity of the pooled
+ * buffers is bounded; a buffer released to a full pool is left to the GC.
+ *
+ * A buffer should only be released once nothing uses it anymore, so a
+ * buffer taken from the pool is always owned by a single channel and there
+ * is no need to count the references to it.
+ *
+ * This class is thread-safe.
+ */
+public final class DirectBufferPool {
+
+    private final ConcurrentMap<Integer, Queue<ByteBuffer>> buffersByCapacity = new ConcurrentHashMap<>();
+    private final AtomicLong pooledBytes = new AtomicLong();
+    private final long maxPooledBytes;
+
+    /**
+     * Creates a DirectBufferPool.
+     *
+     * @param maxPooledBytes the maximum total capacity of the pooled buffers
+     * @throws IllegalArgumentException if maxPooledBytes isn't positive
+     */
+    public DirectBufferPool(long maxPooledBytes) {
+        this.maxPooledBytes = checkPositive("maxPooledBytes", maxPooledBytes);
+    }
+
+    /**
+     * Takes a cleared direct buffer with the given capacity from the pool;
+     * if there is none, a new buffer is allocated.
+     *
+     * @param capacity the capacity of the buffer
+     * @return the buffer
+     */
+    public ByteBuffer take(int capacity) {
+        Queue<ByteBuffer> buffers = buffersByCapacity.get(capacity);
+        ByteBuffer buffer = buffers == null ? null : buffers.poll();
+        if (buffer == null) {
+            return ByteBuffer.allocateDirect(capacity);
+        }
+
+        pooledBytes.addAndGet(-capacity);
+        return buffer;
+    }
+
+    /**
+     * Releases the buffer to the pool. The buffer should not be used after
+     * it has been released.
+     *
+     * @param buffer the buffer to release
+     * @throws IllegalArgumentException if the buffer isn't a direct buffer
+     */
+    public void release(ByteBuffer buffer) {
+        checkNotNull(buffer, "buffer can't be null");
+        checkTrue(buffer.isDirect(), "buffer should be a direct buffer");
+
+        int capacity = buffer.capacity();
+        for (; ; ) {
+            long current = pooledBytes.get();
+            if (current + capacity > maxPooledBytes) {
+                // the pool is full, so the buffer is left to the GC
+                return;
+            }
+            if (pooledBytes.compareAndSet(current, current + capacity)) {
+                break;
+            }
+        }
+
+        buffer.clear();
+        buffersByCapacity.computeIfAbsent(capacity, key -> new ConcurrentLinkedQueue<>()).offer(buffer);
+    }
+
+    /**
+     * Returns the total capacity of the buffers in the pool.
+     *
+     * @return the total capacity in bytes
+     */
+    public long pooledBytes() {
+        return pooledBytes.get();
+    }
+}
@@ -16,6 +16,8 @@
 
 package com.hazelcast.internal.networking;
 
+import java.nio.ByteBuffer;
+
 import static com.hazelcast.internal.networking.ChannelOption.DIRECT_BUF;
 import static com.hazelcast.internal.networking.ChannelOption.SO_RCVBUF;
 import static com.hazelcast.internal.nio.IOUtil.newByteBuffer;
@@ -60,10 +62,17 @@ public abstract class InboundHandler<S, D> extends ChannelHandler<InboundHandler
      * implementations that have a ByteBuffer as source.
      *
      * The capacity of the src buffer will come from the {@link ChannelOptions} using
-     * {@link ChannelOption#SO_RCVBUF}
+     * {@link ChannelOption#SO_RCVBUF}. If the channel has a
+     * {@link ChannelOption#DIRECT_BUF_POOL}, the src buffer is taken from the pool.
      */
     protected final void initSrcBuffer() {
-        initSrcBuffer(channel.options().getOption(SO_RCVBUF));
+        int sizeBytes = channel.options().getOption(SO_RCVBUF);
+        ByteBuffer buffer = takePooledBuffer(sizeBytes);
+        if (buffer == null) {
+            initSrcBuffer(sizeBytes);
+        } else {
+            src = (S) buffer;
+        }
     }
 
     /**
@@ -79,11 +79,20 @@ public abstract class OutboundHandler<S, D> extends ChannelHandler<OutboundHandl
 
     /**
      * Initializes the dst ByteBuffer with the value for {@link ChannelOption#SO_SNDBUF}.
+     * If the channel has a {@link ChannelOption#DIRECT_BUF_POOL}, the dst buffer
+     * is taken from the pool.
      *
      * The buffer created is reading mode.
      */
     protected final void initDstBuffer() {
-        initDstBuffer(channel.options().getOption(SO_SNDBUF));
+        int sizeBytes = channel.options().getOption(SO_SNDBUF);
+        ByteBuffer buffer = takePooledBuffer(sizeBytes);
+        if (buffer == null) {
+            initDstBuffer(sizeBytes);
+        } else {
+            buffer.flip();
+            dst = (D) buffer;
+        }
     }
 
     /**
@@ -27,6 +27,8 @@ import java.nio.channels.SocketChannel;
 import java.util.concurrent.Executor;
 import java.util.concurrent.RejectedExecutionException;
 
+import static com.hazelcast.internal.networking.ChannelOption.DIRECT_BUF_POOL;
+
 /**
  * A {@link com.hazelcast.internal.networking.Channel} implementation tailored
  * for non blocking IO using {@link java.nio.channels.Selector} in combination
@@ -116,6 +118,11 @@ public final class NioChannel extends AbstractChannel {
             }
         }
 
+        if (config.getOption(DIRECT_BUF_POOL) != null) {
+            inboundPipeline.releaseBuffers();
+            outboundPipeline.releaseBuffers();
+        }
+
         if (Thread.currentThread() instanceof NioThread) {
             // we don't want to do any tasks on an io thread; we offload it instead
             try {
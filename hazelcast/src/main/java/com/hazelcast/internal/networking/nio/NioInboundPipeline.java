@@ -173,6 +173,22 @@ public final class NioInboundPipeline extends NioPipeline implements InboundPipe
         return bytesRead.get();
     }
 
+    /**
+     * Releases the pooled buffers of the handlers once the channel is closed.
+     * The buffers are released by the owning thread, so never while the
+     * pipeline is being processed.
+     *
+     * @see ChannelHandler#releaseBuffers()
+     */
+    void releaseBuffers() {
+        ownerAddTaskAndWakeup(() -> {
+            receiveBuffer = null;
+            for (InboundHandler handler : handlers) {
+                handler.releaseBuffers();
+            }
+        });
+    }
+
     @Override
     void publishMetrics() {
         if (currentThread() != owner) {
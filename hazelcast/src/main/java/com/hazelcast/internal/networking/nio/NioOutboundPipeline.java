@@ -432,6 +432,29 @@ public final class NioOutboundPipeline
         priorityWriteQueue.clear();
     }
 
+    /**
+     * Releases the pooled buffers of the handlers once the channel is closed.
+     *
+     * The pipeline is scheduled for good before the buffers are released, so
+     * it is never processed again, not even by a thread writing through. If
+     * the pipeline is scheduled already, it could be processed concurrently,
+     * so the buffers are left to the GC instead.
+     *
+     * @see ChannelHandler#releaseBuffers()
+     */
+    void releaseBuffers() {
+        ownerAddTaskAndWakeup(() -> {
+            if (!scheduled.compareAndSet(State.UNSCHEDULED, State.SCHEDULED)) {
+                return;
+            }
+
+            sendBuffer = null;
+            for (OutboundHandler handler : handlers) {
+                handler.releaseBuffers();
+            }
+        });
+    }
+
     long bytesWritten() {
         return bytesWritten.get();
     }
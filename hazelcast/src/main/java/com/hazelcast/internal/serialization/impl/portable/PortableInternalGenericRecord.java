@@ -681,4 +681,85 @@ public class PortableInternalGenericRecord implements InternalGenericRecord {
     public Object readObject(String fieldName) {
         return readNested(fieldName, true);
     }
+
+    /**
+     * Reads the value of a top-level field. The field definition must be obtained from the class definition of this
+     * record, so that the field position is resolved by its index without the lookup by name. This allows callers to
+     * resolve the field once per class definition and reuse it for all records of the same class.
+     *
+     * @param fd the field definition from {@link #getClassDefinition()}
+     * @return the value of the field, primitives are boxed
+     */
+    @SuppressWarnings({"checkstyle:CyclomaticComplexity", "checkstyle:ReturnCount"})
+    public Object readField(FieldDefinition fd) {
+        assert cd.getField(fd.getIndex()) == fd;
+
+        try {
+            switch (fd.getType()) {
+                case BYTE:
+                    return in.readByte(readPosition(fd));
+                case SHORT:
+                    return in.readShort(readPosition(fd));
+                case INT:
+                    return in.readInt(readPosition(fd));
+                case LONG:
+                    return in.readLong(readPosition(fd));
+                case FLOAT:
+                    return in.readFloat(readPosition(fd));
+                case DOUBLE:
+                    return in.readDouble(readPosition(fd));
+                case BOOLEAN:
+                    return in.readBoolean(readPosition(fd));
+                case CHAR:
+                    return in.readChar(readPosition(fd));
+                case UTF:
+                    return readUTF(fd);
+                case PORTABLE:
+                    return readObject(fd.getName());
+                case PORTABLE_ARRAY:
+                    return readObjectArray(fd.getName());
+                default:
+                    return readPrimitiveArray(fd);
+            }
+        } catch (IOException e) {
+            throw illegalStateException(e);
+        }
+    }
+
+    private String readUTF(FieldDefinition fd) throws IOException {
+        int currentPos = in.position();
+        try {
+            in.position(readPosition(fd));
+            return in.readUTF();
+        } finally {
+            in.position(currentPos);
+        }
+    }
+
+    @SuppressWarnings({"checkstyle:CyclomaticComplexity", "checkstyle:ReturnCount"})
+    private Object readPrimitiveArray(FieldDefinition fd) {
+        String fieldName = fd.getName();
+        switch (fd.getType()) {
+            case BYTE_ARRAY:
+                return readByteArray(fieldName);
+            case SHORT_ARRAY:
+                return readShortArray(fieldName);
+            case INT_ARRAY:
+                return readIntArray(fieldName);
+            case LONG_ARRAY:
+                return readLongArray(fieldName);
+            case FLOAT_ARRAY:
+                return readFloatArray(fieldName);
+            case DOUBLE_ARRAY:
+                return readDoubleArray(fieldName);
+            case BOOLEAN_ARRAY:
+                return readBooleanArray(fieldName);
+            case CHAR_ARRAY:
+                return readCharArray(fieldName);
+            case UTF_ARRAY:
+                return readUTFArray(fieldName);
+            default:
+                throw new IllegalArgumentException("Unsupported type " + fd.getType());
+        }
+    }
 }
@@ -24,6 +24,7 @@ import com.hazelcast.config.RestApiConfig;
 import com.hazelcast.config.SymmetricEncryptionConfig;
 import com.hazelcast.instance.EndpointQualifier;
 import com.hazelcast.internal.ascii.TextCommandService;
+import com.hazelcast.internal.networking.DirectBufferPool;
 import com.hazelcast.internal.networking.InboundHandler;
 import com.hazelcast.internal.networking.OutboundHandler;
 import com.hazelcast.internal.serialization.InternalSerializationService;
@@ -117,6 +118,14 @@ public interface ServerContext {
 
     AuditlogService getAuditLogService();
 
+    /**
+     * Returns the pool of the direct socket buffers of the member to member
+     * connections.
+     *
+     * @return the pool or {@code null} if the socket buffers aren't pooled
+     */
+    DirectBufferPool getDirectBufferPool();
+
     /**
      * Returns UUID of the local member.
      *
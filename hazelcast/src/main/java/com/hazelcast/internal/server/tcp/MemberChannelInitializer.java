@@ -20,11 +20,14 @@ import com.hazelcast.config.EndpointConfig;
 import com.hazelcast.instance.EndpointQualifier;
 import com.hazelcast.instance.ProtocolType;
 import com.hazelcast.internal.networking.Channel;
+import com.hazelcast.internal.networking.DirectBufferPool;
 import com.hazelcast.internal.networking.InboundHandler;
 import com.hazelcast.internal.networking.OutboundHandler;
 import com.hazelcast.internal.server.ServerContext;
 import com.hazelcast.internal.server.ServerConnection;
 
+import static com.hazelcast.internal.networking.ChannelOption.DIRECT_BUF_POOL;
+
 public class MemberChannelInitializer
         extends AbstractChannelInitializer {
 
@@ -34,6 +37,11 @@ public class MemberChannelInitializer
 
     @Override
     public void initChannel(Channel channel) {
+        DirectBufferPool directBufferPool = serverContext.getDirectBufferPool();
+        if (directBufferPool != null) {
+            channel.options().setOption(DIRECT_BUF_POOL, directBufferPool);
+        }
+
         ServerConnection connection = (TcpServerConnection) channel.attributeMap().get(ServerConnection.class);
         OutboundHandler[] outboundHandlers = serverContext.createOutboundHandlers(EndpointQualifier.MEMBER, connection);
         InboundHandler[] inboundHandlers = serverContext.createInboundHandlers(EndpointQualifier.MEMBER, connection);
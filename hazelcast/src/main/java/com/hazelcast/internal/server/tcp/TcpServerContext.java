@@ -34,6 +34,7 @@ import com.hazelcast.instance.impl.NodeState;
 import com.hazelcast.internal.ascii.TextCommandService;
 import com.hazelcast.internal.cluster.ClusterService;
 import com.hazelcast.internal.cluster.impl.ClusterServiceImpl;
+import com.hazelcast.internal.networking.DirectBufferPool;
 import com.hazelcast.internal.networking.InboundHandler;
 import com.hazelcast.internal.networking.OutboundHandler;
 import com.hazelcast.internal.serialization.InternalSerializationService;
@@ -60,6 +61,7 @@ import static com.hazelcast.instance.EndpointQualifier.MEMBER;
 import static com.hazelcast.instance.EndpointQualifier.MEMCACHE;
 import static com.hazelcast.instance.EndpointQualifier.REST;
 import static com.hazelcast.internal.util.ThreadUtil.createThreadName;
+import static com.hazelcast.spi.properties.ClusterProperty.SOCKET_BUFFER_DIRECT_POOL_SIZE_MB;
 
 @SuppressWarnings({"checkstyle:methodcount"})
 public class TcpServerContext implements ServerContext {
@@ -68,12 +70,19 @@ public class TcpServerContext implements ServerContext {
     private final NodeEngineImpl nodeEngine;
     private final RestApiConfig restApiConfig;
     private final MemcacheProtocolConfig memcacheProtocolConfig;
+    private final DirectBufferPool directBufferPool;
 
     public TcpServerContext(Node node, NodeEngineImpl nodeEngine) {
         this.node = node;
         this.nodeEngine = nodeEngine;
         this.restApiConfig = initRestApiConfig(node.getConfig());
         this.memcacheProtocolConfig = initMemcacheProtocolConfig(node.getConfig());
+        this.directBufferPool = initDirectBufferPool(node.getProperties());
+    }
+
+    private static DirectBufferPool initDirectBufferPool(HazelcastProperties properties) {
+        long poolSizeMb = properties.getLong(SOCKET_BUFFER_DIRECT_POOL_SIZE_MB);
+        return poolSizeMb > 0 ? new DirectBufferPool(poolSizeMb * KILO_BYTE * KILO_BYTE) : null;
     }
 
     private static RestApiConfig initRestApiConfig(Config config) {
@@ -343,6 +352,11 @@ public class TcpServerContext implements ServerContext {
         return node.getNodeExtension().getAuditlogService();
     }
 
+    @Override
+    public DirectBufferPool getDirectBufferPool() {
+        return directBufferPool;
+    }
+
     @Override
     public UUID getUuid() {
         return node.getThisUuid();
@@ -23,6 +23,7 @@ import com.hazelcast.config.MemcacheProtocolConfig;
 import com.hazelcast.config.RestApiConfig;
 import com.hazelcast.instance.EndpointQualifier;
 import com.hazelcast.internal.networking.ChannelOptions;
+import com.hazelcast.internal.networking.DirectBufferPool;
 import com.hazelcast.internal.networking.HandlerStatus;
 import com.hazelcast.internal.networking.InboundHandler;
 import com.hazelcast.internal.nio.ConnectionType;
@@ -38,6 +39,7 @@ import com.hazelcast.spi.properties.HazelcastProperties;
 import java.nio.ByteBuffer;
 
 import static com.hazelcast.internal.networking.ChannelOption.DIRECT_BUF;
+import static com.hazelcast.internal.networking.ChannelOption.DIRECT_BUF_POOL;
 import static com.hazelcast.internal.networking.ChannelOption.SO_RCVBUF;
 import static com.hazelcast.internal.networking.ChannelOption.SO_SNDBUF;
 import static com.hazelcast.internal.networking.HandlerStatus.CLEAN;
@@ -140,6 +142,10 @@ public class UnifiedProtocolDecoder
     private void initChannelForCluster() {
         channel.options()
                 .setOption(SO_SNDBUF, props.getInteger(SOCKET_RECEIVE_BUFFER_SIZE) * KILO_BYTE);
+        DirectBufferPool directBufferPool = serverContext.getDirectBufferPool();
+        if (directBufferPool != null) {
+            channel.options().setOption(DIRECT_BUF_POOL, directBufferPool);
+        }
 
         ServerConnection connection = (TcpServerConnection) channel.attributeMap().get(ServerConnection.class);
         connection.setConnectionType(ConnectionType.MEMBER);
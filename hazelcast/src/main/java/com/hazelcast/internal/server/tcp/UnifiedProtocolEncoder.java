@@ -18,6 +18,7 @@ package com.hazelcast.internal.server.tcp;
 
 import com.hazelcast.client.impl.protocol.util.ClientMessageEncoder;
 import com.hazelcast.instance.EndpointQualifier;
+import com.hazelcast.internal.networking.DirectBufferPool;
 import com.hazelcast.internal.networking.HandlerStatus;
 import com.hazelcast.internal.networking.OutboundHandler;
 import com.hazelcast.internal.nio.ascii.TextEncoder;
@@ -27,6 +28,7 @@ import com.hazelcast.spi.properties.HazelcastProperties;
 
 import java.nio.ByteBuffer;
 
+import static com.hazelcast.internal.networking.ChannelOption.DIRECT_BUF_POOL;
 import static com.hazelcast.internal.networking.ChannelOption.SO_SNDBUF;
 import static com.hazelcast.internal.networking.HandlerStatus.CLEAN;
 import static com.hazelcast.internal.networking.HandlerStatus.DIRTY;
@@ -139,6 +141,10 @@ public class UnifiedProtocolEncoder
     private void initChannelForCluster() {
         channel.options()
                 .setOption(SO_SNDBUF, props.getInteger(SOCKET_SEND_BUFFER_SIZE) * KILO_BYTE);
+        DirectBufferPool directBufferPool = serverContext.getDirectBufferPool();
+        if (directBufferPool != null) {
+            channel.options().setOption(DIRECT_BUF_POOL, directBufferPool);
+        }
 
         ServerConnection connection = (TcpServerConnection) channel.attributeMap().get(ServerConnection.class);
         OutboundHandler[] handlers = serverContext.createOutboundHandlers(EndpointQualifier.MEMBER, connection);
@@ -20,6 +20,7 @@ import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.StringJoiner;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.hazelcast.internal.util.ThreadAffinityHelper.isAffinityAvailable;
@@ -71,6 +72,35 @@ public class ThreadAffinity {
         }
     }
 
+    /**
+     * Creates a new ThreadAffinity which pins every thread to a single CPU the
+     * current thread is allowed to run on.
+     *
+     * If the system property is set, the configured affinity is used instead.
+     * If thread affinity support is not available, affinity is disabled.
+     *
+     * @param property the name of the system property.
+     * @return the created ThreadAffinity.
+     * @throws InvalidAffinitySyntaxException if there is a problem with the value of the property.
+     */
+    public static ThreadAffinity newPerCoreThreadAffinity(String property) {
+        if (System.getProperty(property) != null) {
+            return newSystemThreadAffinity(property);
+        }
+        if (!isAffinityAvailable()) {
+            return DISABLED;
+        }
+        return newPerCoreThreadAffinity(ThreadAffinityHelper.getAffinity());
+    }
+
+    static ThreadAffinity newPerCoreThreadAffinity(BitSet allowedCpus) {
+        StringJoiner affinity = new StringJoiner(",");
+        for (int cpu = allowedCpus.nextSetBit(0); cpu >= 0; cpu = allowedCpus.nextSetBit(cpu + 1)) {
+            affinity.add(Integer.toString(cpu));
+        }
+        return allowedCpus.isEmpty() ? DISABLED : new ThreadAffinity(affinity.toString());
+    }
+
     static List<BitSet> parse(String affinity) {
         List<BitSet> cpus = new ArrayList<>();
         if (affinity == null) {
@@ -29,13 +29,11 @@ public final class ValueComparatorUtil {
     public static ValueComparator getValueComparatorOf(InMemoryFormat inMemoryFormat) {
         switch (inMemoryFormat) {
             case BINARY:
+            case NATIVE:
+                // native values are always copied to heap data when read
                 return BinaryValueComparator.INSTANCE;
             case OBJECT:
                 return ObjectValueComparator.INSTANCE;
-            case NATIVE:
-                throw new IllegalArgumentException("Native storage format is supported "
-                        + "in Hazelcast Enterprise only. Make sure you have Hazelcast "
-                        + "Enterprise JARs on your classpath !");
             default:
                 throw new IllegalArgumentException("Invalid storage format: " + inMemoryFormat);
 
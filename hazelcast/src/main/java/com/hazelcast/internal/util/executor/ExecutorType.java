@@ -24,5 +24,11 @@ public enum ExecutorType {
     /**
      * Executor will have its own ThreadPoolExecutor.
      */
-    CONCRETE
+    CONCRETE,
+    /**
+     * Executor will run its tasks on virtual threads shared with other VIRTUAL executors, the pool size
+     * limits the number of tasks running concurrently. If the virtual threads are disabled or not supported
+     * by the JVM, it falls back to {@link #CACHED}.
+     */
+    VIRTUAL
 }
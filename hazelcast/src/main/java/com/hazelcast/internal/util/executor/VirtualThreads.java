@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.util.executor;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Utility for creating executors running their tasks on virtual threads.
+ * <p>
+ * The virtual threads are looked up reflectively, so this class can be
+ * loaded by any JVM; on JVMs without (enabled) virtual threads the factory
+ * methods return {@code null}, so the callers can fall back to platform
+ * threads.
+ */
+public final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * @return {@code true} if the JVM supports virtual threads, {@code false}
+     * otherwise.
+     */
+    public static boolean isSupported() {
+        return newThreadFactory("hz.virtual.probe-") != null;
+    }
+
+    /**
+     * Creates an executor starting a new virtual thread for every task.
+     *
+     * @param threadNamePrefix the prefix of the names of the virtual threads
+     * @param classLoader      the context class loader of the virtual threads
+     * @return the created executor or {@code null} if the JVM doesn't
+     * support virtual threads.
+     */
+    public static ExecutorService newVirtualThreadPerTaskExecutor(String threadNamePrefix, ClassLoader classLoader) {
+        ThreadFactory factory = newThreadFactory(threadNamePrefix);
+        if (factory == null) {
+            return null;
+        }
+
+        ThreadFactory classLoaderAwareFactory = task -> {
+            Thread thread = factory.newThread(task);
+            thread.setContextClassLoader(classLoader);
+            return thread;
+        };
+        try {
+            Method newThreadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            return (ExecutorService) newThreadPerTaskExecutor.invoke(null, classLoaderAwareFactory);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Creates the {@code Thread.ofVirtual().name(prefix, 0).factory()} thread
+     * factory.
+     */
+    @SuppressWarnings("checkstyle:illegalcatch")
+    private static ThreadFactory newThreadFactory(String threadNamePrefix) {
+        try {
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, threadNamePrefix, 0L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // not supported or a preview feature which isn't enabled
+            return null;
+        }
+    }
+}
@@ -44,6 +44,7 @@ import com.hazelcast.map.impl.mapstore.MapStoreContext;
 import com.hazelcast.map.impl.nearcache.invalidation.InvalidationListener;
 import com.hazelcast.map.impl.query.QueryEntryFactory;
 import com.hazelcast.map.impl.record.DataRecordFactory;
+import com.hazelcast.map.impl.record.NativeRecordFactory;
 import com.hazelcast.map.impl.record.ObjectRecordFactory;
 import com.hazelcast.map.impl.record.RecordFactory;
 import com.hazelcast.partition.PartitioningStrategy;
@@ -60,6 +61,7 @@ import com.hazelcast.wan.impl.WanReplicationService;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.Function;
 
 import static com.hazelcast.config.ConsistencyCheckStrategy.MERKLE_TREES;
@@ -84,6 +86,8 @@ public class MapContainer {
     // stored in the mapContainer, so if globalIndexes is null it means that
     // global index is not in use
     protected final Indexes globalIndexes;
+    // background builds of the global indexes by partition ID, null if the global index is not in use
+    protected final AtomicReferenceArray<PartitionIndexBuilder> indexBuilders;
     protected final Extractors extractors;
     protected final MapStoreContext mapStoreContext;
     protected final ObjectNamespace objectNamespace;
@@ -134,6 +138,8 @@ public class MapContainer {
         this.queryEntryFactory = new QueryEntryFactory(mapConfig.getCacheDeserializedValues(),
                 serializationService, extractors);
         this.globalIndexes = shouldUseGlobalIndex() ? createIndexes(true) : null;
+        this.indexBuilders = globalIndexes != null
+                ? new AtomicReferenceArray<>(nodeEngine.getPartitionService().getPartitionCount()) : null;
         this.mapStoreContext = createMapStoreContext(this);
         initWanReplication(mapServiceContext.getNodeEngine());
     }
@@ -158,6 +164,8 @@ public class MapContainer {
                 .indexProvider(mapServiceContext.getIndexProvider(mapConfig))
                 .usesCachedQueryableEntries(mapConfig.getCacheDeserializedValues() != CacheDeserializedValues.NEVER)
                 .partitionCount(partitionCount)
+                .indexAddedCallback(mapServiceContext::incrementIndexVersion)
+                .indexStatisticsEnabled(mapServiceContext.getQueryOptimizer().usesIndexStatistics())
                 .build();
     }
 
@@ -209,6 +217,8 @@ public class MapContainer {
                     return new DataRecordFactory(mapConfig, serializationService);
                 case OBJECT:
                     return new ObjectRecordFactory(mapConfig, serializationService);
+                case NATIVE:
+                    return new NativeRecordFactory(mapServiceContext.getNativeMemoryManager(), serializationService);
                 default:
                     throw new IllegalArgumentException("Invalid storage format: " + mapConfig.getInMemoryFormat());
             }
@@ -293,6 +303,10 @@ public class MapContainer {
         return globalIndexes != null;
     }
 
+    AtomicReferenceArray<PartitionIndexBuilder> getIndexBuilders() {
+        return indexBuilders;
+    }
+
     public DelegatingWanScheme getWanReplicationDelegate() {
         return wanReplicationDelegate;
     }
@@ -277,6 +277,14 @@ class MapMigrationAwareService implements FragmentedMigrationAwareService {
 
             InternalIndex[] indexesSnapshot = indexes.getIndexes();
 
+            if (indexes.isGlobal()) {
+                // large partitions are indexed in the background, queries
+                // scan the partition until it's indexed
+                PartitionIndexBuilder.buildIndexes(mapContainer, event.getPartitionId(), recordStore, indexesSnapshot,
+                        Index.OperationSource.SYSTEM);
+                continue;
+            }
+
             Indexes.beginPartitionUpdate(indexesSnapshot);
 
             recordStore.forEach((key, record) -> {
@@ -305,6 +313,7 @@ class MapMigrationAwareService implements FragmentedMigrationAwareService {
         final PartitionContainer container = mapServiceContext.getPartitionContainer(event.getPartitionId());
         for (RecordStore<Record> recordStore : container.getMaps().values()) {
             final MapContainer mapContainer = mapServiceContext.getMapContainer(recordStore.getName());
+            PartitionIndexBuilder.cancelIndexBuild(mapContainer, event.getPartitionId());
 
             final Indexes indexes = mapContainer.getIndexes(event.getPartitionId());
             if (!indexes.haveAtLeastOneIndex()) {
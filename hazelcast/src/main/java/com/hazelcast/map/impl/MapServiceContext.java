@@ -21,6 +21,7 @@ import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.MapConfig;
 import com.hazelcast.config.PartitioningStrategyConfig;
 import com.hazelcast.internal.eviction.ExpirationManager;
+import com.hazelcast.internal.memory.MemoryManager;
 import com.hazelcast.internal.monitor.impl.LocalMapStatsImpl;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.util.collection.PartitionIdSet;
@@ -67,6 +68,7 @@ import java.util.function.Predicate;
  *
  * @see MapManagedService
  */
+@SuppressWarnings("checkstyle:classfanoutcomplexity")
 public interface MapServiceContext extends MapServiceContextInterceptorSupport,
         MapServiceContextEventListenerSupport {
 
@@ -195,6 +197,19 @@ public interface MapServiceContext extends MapServiceContextInterceptorSupport,
 
     IndexCopyBehavior getIndexCopyBehavior();
 
+    /**
+     * Returns the node-wide version of map indexes. The version is
+     * incremented every time an index is added to any map on this member,
+     * so that consumers caching index-dependent state (e.g. query plans)
+     * could detect the change cheaply.
+     */
+    long getIndexVersion();
+
+    /**
+     * Increments the node-wide version of map indexes.
+     */
+    void incrementIndexVersion();
+
     boolean globalIndexEnabled();
 
     ValueComparator getValueComparatorOf(InMemoryFormat inMemoryFormat);
@@ -204,4 +219,14 @@ public interface MapServiceContext extends MapServiceContextInterceptorSupport,
     ExecutorStats getOffloadedEntryProcessorExecutorStats();
 
     Semaphore getNodeWideLoadedKeyLimiter();
+
+    /**
+     * Returns the member-wide memory manager used by maps with
+     * {@link InMemoryFormat#NATIVE} in-memory format. The manager
+     * is created on first use and is bounded by the configured
+     * {@link com.hazelcast.config.NativeMemoryConfig#getSize()}.
+     *
+     * @return the native memory manager
+     */
+    MemoryManager getNativeMemoryManager();
 }
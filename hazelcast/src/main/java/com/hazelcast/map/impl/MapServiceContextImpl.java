@@ -21,6 +21,9 @@ import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.MapConfig;
 import com.hazelcast.config.PartitioningStrategyConfig;
 import com.hazelcast.internal.eviction.ExpirationManager;
+import com.hazelcast.internal.memory.MemoryManager;
+import com.hazelcast.internal.memory.impl.MemoryManagerBean;
+import com.hazelcast.internal.memory.impl.UnsafeMemoryAllocator;
 import com.hazelcast.internal.monitor.impl.LocalMapStatsImpl;
 import com.hazelcast.internal.partition.IPartitionService;
 import com.hazelcast.internal.serialization.Data;
@@ -98,9 +101,11 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Predicate;
 
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM;
 import static com.hazelcast.internal.util.ConcurrencyUtil.CALLER_RUNS;
 import static com.hazelcast.internal.util.Preconditions.checkPositive;
 import static com.hazelcast.internal.util.SetUtil.immutablePartitionIdSet;
@@ -152,12 +157,14 @@ class MapServiceContextImpl implements MapServiceContext {
     private final AtomicReference<PartitionIdSet> ownedPartitions = new AtomicReference<>();
     private final ConcurrentMap<String, MapContainer> mapContainers = new ConcurrentHashMap<>();
     private final ExecutorStats offloadedExecutorStats = new ExecutorStats();
+    private final AtomicLong indexVersion = new AtomicLong();
     /**
      * @see {@link MapKeyLoader#DEFAULT_LOADED_KEY_LIMIT_PER_NODE}
      */
     private final Semaphore nodeWideLoadedKeyLimiter;
 
     private MapService mapService;
+    private volatile MemoryManager nativeMemoryManager;
 
     @SuppressWarnings("checkstyle:executablestatementcount")
     MapServiceContextImpl(NodeEngine nodeEngine) {
@@ -466,6 +473,9 @@ class MapServiceContextImpl implements MapServiceContext {
         mapContainers.clear();
         expirationManager.onShutdown();
         offloadedExecutorStats.clear();
+        if (nativeMemoryManager != null) {
+            nativeMemoryManager.dispose();
+        }
     }
 
     @Override
@@ -887,6 +897,16 @@ class MapServiceContextImpl implements MapServiceContext {
         return nodeEngine.getProperties().getEnum(INDEX_COPY_BEHAVIOR, IndexCopyBehavior.class);
     }
 
+    @Override
+    public long getIndexVersion() {
+        return indexVersion.get();
+    }
+
+    @Override
+    public void incrementIndexVersion() {
+        indexVersion.incrementAndGet();
+    }
+
     @Override
     public boolean globalIndexEnabled() {
         return true;
@@ -906,6 +926,21 @@ class MapServiceContextImpl implements MapServiceContext {
         return nodeWideUsedCapacityCounter;
     }
 
+    @Override
+    public MemoryManager getNativeMemoryManager() {
+        MemoryManager memoryManager = nativeMemoryManager;
+        if (memoryManager != null) {
+            return memoryManager;
+        }
+        synchronized (this) {
+            if (nativeMemoryManager == null) {
+                long maxMemory = nodeEngine.getConfig().getNativeMemoryConfig().getSize().bytes();
+                nativeMemoryManager = new MemoryManagerBean(new UnsafeMemoryAllocator(maxMemory), MEM);
+            }
+            return nativeMemoryManager;
+        }
+    }
+
     // used only for testing purposes
     PartitioningStrategyFactory getPartitioningStrategyFactory() {
         return partitioningStrategyFactory;
@@ -0,0 +1,270 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl;
+
+import com.hazelcast.internal.iteration.IterationPointer;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.util.Clock;
+import com.hazelcast.map.impl.iterator.MapKeysWithCursor;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.record.Records;
+import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.map.impl.recordstore.RecordStoreAdapter;
+import com.hazelcast.query.impl.Index;
+import com.hazelcast.query.impl.Indexes;
+import com.hazelcast.query.impl.InternalIndex;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.spi.impl.NodeEngine;
+import com.hazelcast.spi.impl.PartitionSpecificRunnable;
+import com.hazelcast.spi.properties.HazelcastProperties;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static com.hazelcast.spi.properties.ClusterProperty.QUERY_INDEX_BUILD_CHUNK_PAUSE_MILLIS;
+import static com.hazelcast.spi.properties.ClusterProperty.QUERY_INDEX_BUILD_CHUNK_SIZE;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Populates the global indexes of a map with the entries of a single
+ * partition in the background.
+ * <p>
+ * The partition is indexed in chunks of {@link
+ * com.hazelcast.spi.properties.ClusterProperty#QUERY_INDEX_BUILD_CHUNK_SIZE}
+ * entries. Every chunk is indexed by a separate run of the builder on the
+ * partition thread, so the operations on the partition interleave with the
+ * index build. The mutations of the partition performed in between are
+ * applied to the indexes as usual, so once the iteration over the partition
+ * completes, the partition is marked as indexed.
+ * <p>
+ * There is at most one builder per map and partition. The indexes added
+ * while the partition is being indexed are populated after the current
+ * pass over the partition completes. The builder is cancelled and the
+ * partition is marked as unindexed if the partition migrates away from this
+ * member, see {@link #cancelIndexBuild}, or its record store is replaced.
+ * <p>
+ * All the methods are expected to be invoked on the partition thread.
+ */
+public final class PartitionIndexBuilder implements PartitionSpecificRunnable {
+
+    private final MapContainer mapContainer;
+    private final int partitionId;
+    private final RecordStore recordStore;
+    private final RecordStoreAdapter storeAdapter;
+    private final Index.OperationSource operationSource;
+    private final NodeEngine nodeEngine;
+    private final int chunkSize;
+    private final long chunkPauseMillis;
+    private final List<InternalIndex> queuedIndexes = new ArrayList<>();
+
+    private InternalIndex[] indexes;
+    private IterationPointer[] pointers = initialPointers();
+    private boolean cancelled;
+
+    private PartitionIndexBuilder(MapContainer mapContainer, int partitionId, RecordStore recordStore,
+                                  InternalIndex[] indexes, Index.OperationSource operationSource) {
+        this.mapContainer = mapContainer;
+        this.partitionId = partitionId;
+        this.recordStore = recordStore;
+        this.storeAdapter = new RecordStoreAdapter(recordStore);
+        this.indexes = indexes;
+        this.operationSource = operationSource;
+        this.nodeEngine = mapContainer.getMapServiceContext().getNodeEngine();
+        HazelcastProperties properties = nodeEngine.getProperties();
+        this.chunkSize = Math.max(1, properties.getInteger(QUERY_INDEX_BUILD_CHUNK_SIZE));
+        this.chunkPauseMillis = properties.getMillis(QUERY_INDEX_BUILD_CHUNK_PAUSE_MILLIS);
+    }
+
+    /**
+     * Populates the given global indexes with the entries of the given
+     * partition.
+     * <p>
+     * Small partitions are indexed right away, larger ones are indexed in
+     * the background. In both cases the indexes are marked as having the
+     * partition indexed once all the entries of the partition are indexed.
+     *
+     * @param mapContainer    the container of the map to index.
+     * @param partitionId     the partition to index.
+     * @param recordStore     the record store of the partition.
+     * @param indexes         the global indexes to populate.
+     * @param operationSource the operation source to report to the indexes.
+     */
+    public static void buildIndexes(MapContainer mapContainer, int partitionId, RecordStore recordStore,
+                                    InternalIndex[] indexes, Index.OperationSource operationSource) {
+        assert mapContainer.isGlobalIndexEnabled();
+
+        AtomicReferenceArray<PartitionIndexBuilder> builders = mapContainer.getIndexBuilders();
+        PartitionIndexBuilder current = builders.get(partitionId);
+        if (current != null) {
+            if (current.recordStore == recordStore) {
+                current.enqueue(indexes);
+                return;
+            }
+            current.cancel();
+        }
+
+        PartitionIndexBuilder builder = new PartitionIndexBuilder(mapContainer, partitionId, recordStore, indexes,
+                operationSource);
+        Indexes.beginPartitionUpdate(indexes);
+        if (recordStore.size() <= builder.chunkSize) {
+            // small partitions are not worth the background build
+            boolean completed;
+            do {
+                completed = builder.step();
+            } while (!completed);
+            return;
+        }
+
+        builders.set(partitionId, builder);
+        builder.submit();
+    }
+
+    /**
+     * Cancels the background index build of the given partition, if any,
+     * and marks the partition as unindexed by the indexes being built.
+     *
+     * @param mapContainer the container of the map.
+     * @param partitionId  the partition to cancel the index build of.
+     */
+    public static void cancelIndexBuild(MapContainer mapContainer, int partitionId) {
+        AtomicReferenceArray<PartitionIndexBuilder> builders = mapContainer.getIndexBuilders();
+        if (builders == null) {
+            return;
+        }
+
+        PartitionIndexBuilder builder = builders.get(partitionId);
+        if (builder != null) {
+            builder.cancel();
+        }
+    }
+
+    @Override
+    public int getPartitionId() {
+        return partitionId;
+    }
+
+    @Override
+    public void run() {
+        if (!step()) {
+            submit();
+        }
+    }
+
+    /**
+     * Indexes the next chunk of the partition.
+     *
+     * @return {@code true} if the build is completed or cancelled, {@code false}
+     * if there are more entries to index.
+     */
+    private boolean step() {
+        if (cancelled) {
+            return true;
+        }
+
+        MapServiceContext mapServiceContext = mapContainer.getMapServiceContext();
+        if (mapServiceContext.getExistingRecordStore(partitionId, mapContainer.getName()) != recordStore) {
+            // the partition was migrated away, cleared or the map was destroyed
+            cancel();
+            return true;
+        }
+
+        try {
+            indexChunk();
+        } catch (Throwable t) {
+            nodeEngine.getLogger(getClass()).warning("Failed to index partition " + partitionId + " of map "
+                    + mapContainer.getName(), t);
+            cancel();
+            return true;
+        }
+
+        if (pointers[pointers.length - 1].getIndex() >= 0) {
+            return false;
+        }
+
+        Indexes.markPartitionAsIndexed(partitionId, indexes);
+        if (queuedIndexes.isEmpty()) {
+            mapContainer.getIndexBuilders().compareAndSet(partitionId, this, null);
+            return true;
+        }
+
+        indexes = queuedIndexes.toArray(new InternalIndex[0]);
+        queuedIndexes.clear();
+        pointers = initialPointers();
+        return false;
+    }
+
+    private void indexChunk() {
+        SerializationService serializationService = nodeEngine.getSerializationService();
+        long now = Clock.currentTimeMillis();
+
+        MapKeysWithCursor chunk = recordStore.fetchKeys(pointers, chunkSize);
+        for (Data key : chunk.getBatch()) {
+            Record record = recordStore.getRecord(key);
+            if (record == null || recordStore.isExpired(record, now, false)) {
+                continue;
+            }
+
+            Object value = Records.getValueOrCachedValue(record, serializationService);
+            if (value != null) {
+                QueryableEntry queryEntry = mapContainer.newQueryEntry(key, value);
+                queryEntry.setRecord(record);
+                queryEntry.setStoreAdapter(storeAdapter);
+                for (InternalIndex index : indexes) {
+                    index.putEntry(queryEntry, null, operationSource);
+                }
+            }
+        }
+        pointers = chunk.getIterationPointers();
+    }
+
+    private void submit() {
+        if (chunkPauseMillis > 0) {
+            nodeEngine.getExecutionService().schedule(() -> nodeEngine.getOperationService().execute(this),
+                    chunkPauseMillis, MILLISECONDS);
+        } else {
+            nodeEngine.getOperationService().execute(this);
+        }
+    }
+
+    private void enqueue(InternalIndex[] newIndexes) {
+        for (InternalIndex index : newIndexes) {
+            if (!Arrays.asList(indexes).contains(index) && !queuedIndexes.contains(index)) {
+                index.beginPartitionUpdate();
+                queuedIndexes.add(index);
+            }
+        }
+    }
+
+    private void cancel() {
+        cancelled = true;
+        mapContainer.getIndexBuilders().compareAndSet(partitionId, this, null);
+
+        Indexes.markPartitionAsUnindexed(partitionId, indexes);
+        for (InternalIndex index : queuedIndexes) {
+            index.markPartitionAsUnindexed(partitionId);
+        }
+        queuedIndexes.clear();
+    }
+
+    private static IterationPointer[] initialPointers() {
+        return new IterationPointer[]{new IterationPointer(Integer.MAX_VALUE, -1)};
+    }
+
+}
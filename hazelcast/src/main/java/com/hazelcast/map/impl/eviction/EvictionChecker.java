@@ -19,6 +19,8 @@ package com.hazelcast.map.impl.eviction;
 import com.hazelcast.config.EvictionConfig;
 import com.hazelcast.config.MaxSizePolicy;
 import com.hazelcast.internal.cluster.ClusterService;
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.internal.memory.impl.UnsafeMemoryAllocator;
 import com.hazelcast.internal.nearcache.NearCache;
 import com.hazelcast.internal.util.MemoryInfoAccessor;
 import com.hazelcast.logging.ILogger;
@@ -55,6 +57,7 @@ public class EvictionChecker {
     private final PartitionContainer[] containers;
     private final MemoryInfoAccessor memoryInfoAccessor;
     private final MapNearCacheManager mapNearCacheManager;
+    private final MapServiceContext mapServiceContext;
     private final AtomicBoolean misconfiguredPerNodeMaxSizeWarningLogged;
 
     public EvictionChecker(MemoryInfoAccessor givenMemoryInfoAccessor, MapServiceContext mapServiceContext) {
@@ -68,6 +71,7 @@ public class EvictionChecker {
         this.partitionCount = nodeEngine.getPartitionService().getPartitionCount();
         this.mapNearCacheManager = mapServiceContext.getMapNearCacheManager();
         this.memoryInfoAccessor = givenMemoryInfoAccessor;
+        this.mapServiceContext = mapServiceContext;
 
         if (logger.isFinestEnabled()) {
             logger.finest("Used memoryInfoAccessor=" + this.memoryInfoAccessor.getClass().getCanonicalName());
@@ -76,6 +80,7 @@ public class EvictionChecker {
         this.misconfiguredPerNodeMaxSizeWarningLogged = new AtomicBoolean();
     }
 
+    @SuppressWarnings("checkstyle:cyclomaticcomplexity")
     public boolean checkEvictable(RecordStore recordStore) {
         if (recordStore.size() == 0) {
             return false;
@@ -101,6 +106,14 @@ public class EvictionChecker {
                 return (usedHeapInBytes(mapName) * ONE_HUNDRED / Math.max(maxMemoryInBytes(), 1)) > maxConfiguredSize;
             case FREE_HEAP_PERCENTAGE:
                 return (availableMemoryInBytes() * ONE_HUNDRED / Math.max(maxMemoryInBytes(), 1)) < maxConfiguredSize;
+            case USED_NATIVE_MEMORY_SIZE:
+                return ownedEntryCostInBytes(mapName) > MEGABYTES.toBytes(maxConfiguredSize);
+            case FREE_NATIVE_MEMORY_SIZE:
+                return freeNativeMemoryInBytes() < MEGABYTES.toBytes(maxConfiguredSize);
+            case USED_NATIVE_MEMORY_PERCENTAGE:
+                return (ownedEntryCostInBytes(mapName) * ONE_HUNDRED / Math.max(maxNativeMemoryInBytes(), 1)) > maxConfiguredSize;
+            case FREE_NATIVE_MEMORY_PERCENTAGE:
+                return (freeNativeMemoryInBytes() * ONE_HUNDRED / Math.max(maxNativeMemoryInBytes(), 1)) < maxConfiguredSize;
             default:
                 throw new IllegalArgumentException("Not an appropriate max size policy [" + maximumSizePolicy + ']');
         }
@@ -140,10 +153,7 @@ public class EvictionChecker {
     }
 
     private long usedHeapInBytes(String mapName) {
-        long usedHeapInBytes = 0L;
-        for (int partitionId = 0; partitionId < partitionCount; partitionId++) {
-            usedHeapInBytes += getRecordStoreHeapCost(mapName, containers[partitionId]);
-        }
+        long usedHeapInBytes = ownedEntryCostInBytes(mapName);
 
         NearCache nearCache = mapNearCacheManager.getNearCache(mapName);
         if (nearCache != null) {
@@ -154,6 +164,14 @@ public class EvictionChecker {
         return usedHeapInBytes;
     }
 
+    private long ownedEntryCostInBytes(String mapName) {
+        long ownedEntryCost = 0L;
+        for (int partitionId = 0; partitionId < partitionCount; partitionId++) {
+            ownedEntryCost += getRecordStoreHeapCost(mapName, containers[partitionId]);
+        }
+        return ownedEntryCost;
+    }
+
     private long getRecordStoreHeapCost(String mapName, PartitionContainer container) {
         RecordStore existingRecordStore = container.getExistingRecordStore(mapName);
         if (existingRecordStore == null) {
@@ -177,4 +195,22 @@ public class EvictionChecker {
     private long availableMemoryInBytes() {
         return freeMemoryInBytes() + maxMemoryInBytes() - totalMemoryInBytes();
     }
+
+    /**
+     * The native memory is shared by all the NATIVE maps of the member, so
+     * the free native memory is the one left in the member-wide allocator.
+     */
+    private long freeNativeMemoryInBytes() {
+        UnsafeMemoryAllocator allocator = nativeMemoryAllocator();
+        return allocator == null ? Long.MAX_VALUE : allocator.getMaxMemory() - allocator.getUsedMemory();
+    }
+
+    private long maxNativeMemoryInBytes() {
+        return mapServiceContext.getNodeEngine().getConfig().getNativeMemoryConfig().getSize().bytes();
+    }
+
+    private UnsafeMemoryAllocator nativeMemoryAllocator() {
+        MemoryAllocator allocator = mapServiceContext.getNativeMemoryManager().getAllocator();
+        return allocator instanceof UnsafeMemoryAllocator ? (UnsafeMemoryAllocator) allocator : null;
+    }
 }
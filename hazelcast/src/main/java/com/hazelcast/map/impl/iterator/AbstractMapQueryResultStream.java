@@ -0,0 +1,368 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.iterator;
+
+import com.hazelcast.internal.iteration.IterationPointer;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.util.IterationType;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.impl.query.Query;
+import com.hazelcast.projection.Projection;
+import com.hazelcast.query.Predicate;
+
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+
+import static com.hazelcast.internal.util.ExceptionUtil.rethrow;
+import static com.hazelcast.internal.util.Preconditions.checkPositive;
+
+/**
+ * Base class for streaming the results of a query with a {@link Predicate}
+ * and a {@link Projection} over all the partitions of a map.
+ * <p>
+ * Unlike the regular queries which collect the complete result on the
+ * caller, the stream fetches the results in chunks of at most {@code
+ * fetchSize} entries per partition. The chunks of different partitions are
+ * fetched concurrently, so the partition owners work in parallel, but the
+ * number of chunks which are either being fetched or are fetched and not
+ * consumed yet is bounded by {@code maxBufferedChunks}. The next chunk of a
+ * partition is requested only after the consumer takes a chunk from the
+ * buffer, so a slow consumer never makes the stream hold more than
+ * {@code fetchSize * maxBufferedChunks} results.
+ * <p>
+ * The results may be consumed either synchronously using the {@link
+ * Iterator} methods or asynchronously chunk by chunk using {@link
+ * #nextChunkAsync()}. The two ways should not be mixed. The results of
+ * different partitions are interleaved in no particular order.
+ * <p>
+ * The same guarantees as for {@link AbstractMapQueryPartitionIterator} apply
+ * to every partition: the stream does not reflect the state of the map at
+ * the time it has been created, but it will not skip an entry if it has not
+ * been changed and will not return an entry twice.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ * @param <R> the return type of the projection
+ */
+public abstract class AbstractMapQueryResultStream<K, V, R> implements Iterator<R>, Closeable {
+
+    protected final IMap<K, V> map;
+    protected final int fetchSize;
+    protected final Query query;
+
+    private final int partitionCount;
+    private final int maxBufferedChunks;
+
+    private final Object mutex = new Object();
+    /**
+     * The fetched chunks which are not consumed yet, never contains empty chunks.
+     */
+    private final ArrayDeque<List<Data>> chunks = new ArrayDeque<>();
+    /**
+     * The partitions having more results to fetch, which wait for a free slot
+     * in the buffer.
+     */
+    private final ArrayDeque<PartitionCursor> pendingPartitions = new ArrayDeque<>();
+    private int nextPartitionId;
+    private int inFlight;
+    private Throwable failure;
+    private boolean closed;
+    private CompletableFuture<List<R>> waiter;
+
+    private List<R> current = Collections.emptyList();
+    private int index;
+    private boolean exhausted;
+
+    public AbstractMapQueryResultStream(IMap<K, V> map,
+                                        int fetchSize,
+                                        int maxBufferedChunks,
+                                        int partitionCount,
+                                        Predicate<K, V> predicate,
+                                        Projection<? super Entry<K, V>, R> projection) {
+        this.map = map;
+        this.fetchSize = checkPositive("fetchSize", fetchSize);
+        this.maxBufferedChunks = checkPositive("maxBufferedChunks", maxBufferedChunks);
+        this.partitionCount = partitionCount;
+        this.query = Query.of()
+                          .mapName(map.getName())
+                          .iterationType(IterationType.VALUE)
+                          .predicate(predicate)
+                          .projection(projection)
+                          .build();
+    }
+
+    /**
+     * Requests the next chunk of the results. The returned stage is completed
+     * with an empty list once all the results are consumed or the stream is
+     * closed, and exceptionally if fetching of any chunk fails.
+     * <p>
+     * Only a single chunk may be requested at a time: the next request should
+     * be issued after the stage returned by the previous one is completed.
+     *
+     * @return the stage completed with the next chunk of the results
+     * @throws IllegalStateException if the previously requested chunk is not
+     *                               delivered yet
+     */
+    public CompletionStage<List<R>> nextChunkAsync() {
+        CompletableFuture<List<R>> future = new CompletableFuture<>();
+        Object outcome;
+        List<PartitionCursor> fetches;
+        synchronized (mutex) {
+            if (waiter != null) {
+                throw new IllegalStateException("The previously requested chunk is not delivered yet");
+            }
+            outcome = pollOutcome();
+            if (outcome == null) {
+                waiter = future;
+            }
+            fetches = reserveFetches();
+        }
+
+        fetch(fetches);
+        if (outcome != null) {
+            complete(future, outcome);
+        }
+        return future;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (index == current.size()) {
+            if (exhausted) {
+                return false;
+            }
+            List<R> next = await(nextChunkAsync());
+            if (next.isEmpty()) {
+                exhausted = true;
+                return false;
+            }
+            current = next;
+            index = 0;
+        }
+        return true;
+    }
+
+    @Override
+    public R next() {
+        if (hasNext()) {
+            return current.get(index++);
+        }
+        throw new NoSuchElementException();
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException("Removing when streaming map query results is not supported");
+    }
+
+    /**
+     * Stops the streaming: no more chunks are requested, the buffered ones
+     * are released and the pending chunk request, if any, is completed with
+     * an empty list. The chunks being fetched are discarded once they arrive.
+     */
+    @Override
+    public void close() {
+        CompletableFuture<List<R>> future;
+        synchronized (mutex) {
+            closed = true;
+            chunks.clear();
+            pendingPartitions.clear();
+            future = waiter;
+            waiter = null;
+        }
+        if (future != null) {
+            future.complete(Collections.emptyList());
+        }
+    }
+
+    /**
+     * Fetches the next chunk of the results of the given partition starting
+     * from the given iteration state.
+     *
+     * @param partitionId the partition to fetch the chunk of
+     * @param pointers    the iteration state of the partition
+     * @return the stage completed with the fetched chunk
+     */
+    protected abstract CompletionStage<Chunk> fetchAsync(int partitionId, IterationPointer[] pointers);
+
+    protected abstract SerializationService getSerializationService();
+
+    /**
+     * Reserves the buffer slots for the chunks to fetch next.
+     * Should be invoked under the mutex.
+     */
+    private List<PartitionCursor> reserveFetches() {
+        List<PartitionCursor> fetches = null;
+        while (!closed && failure == null && chunks.size() + inFlight < maxBufferedChunks) {
+            PartitionCursor cursor = pendingPartitions.poll();
+            if (cursor == null) {
+                if (nextPartitionId == partitionCount) {
+                    break;
+                }
+                cursor = new PartitionCursor(nextPartitionId++);
+            }
+            if (fetches == null) {
+                fetches = new ArrayList<>();
+            }
+            fetches.add(cursor);
+            ++inFlight;
+        }
+        return fetches == null ? Collections.emptyList() : fetches;
+    }
+
+    private void fetch(List<PartitionCursor> fetches) {
+        for (PartitionCursor cursor : fetches) {
+            CompletionStage<Chunk> stage;
+            try {
+                stage = fetchAsync(cursor.partitionId, cursor.pointers);
+            } catch (Throwable t) {
+                onFetched(cursor, null, t);
+                continue;
+            }
+            // the completion may issue further fetches and deliver the chunk
+            // to the consumer, so it's not done on the response thread
+            stage.whenCompleteAsync((chunk, t) -> onFetched(cursor, chunk, t));
+        }
+    }
+
+    private void onFetched(PartitionCursor cursor, Chunk chunk, Throwable t) {
+        CompletableFuture<List<R>> future = null;
+        Object outcome = null;
+        List<PartitionCursor> fetches;
+        synchronized (mutex) {
+            --inFlight;
+            if (t != null) {
+                if (failure == null) {
+                    failure = t;
+                }
+            } else if (!closed && !chunk.results.isEmpty()) {
+                chunks.add(chunk.results);
+                IterationPointer[] pointers = chunk.pointers;
+                if (pointers[pointers.length - 1].getIndex() >= 0) {
+                    cursor.pointers = pointers;
+                    pendingPartitions.add(cursor);
+                }
+            }
+
+            if (waiter != null) {
+                outcome = pollOutcome();
+                if (outcome != null) {
+                    future = waiter;
+                    waiter = null;
+                }
+            }
+            fetches = reserveFetches();
+        }
+
+        fetch(fetches);
+        if (future != null) {
+            complete(future, outcome);
+        }
+    }
+
+    /**
+     * Takes the outcome to deliver to the consumer: either the next chunk, an
+     * empty chunk if there are no more results, or the failure. Returns
+     * {@code null} if the consumer should wait for a chunk being fetched.
+     * Should be invoked under the mutex.
+     */
+    private Object pollOutcome() {
+        List<Data> chunk = chunks.poll();
+        if (chunk != null) {
+            return chunk;
+        }
+        if (closed) {
+            return Collections.emptyList();
+        }
+        if (failure != null) {
+            return failure;
+        }
+        return isDone() ? Collections.emptyList() : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void complete(CompletableFuture<List<R>> future, Object outcome) {
+        if (outcome instanceof Throwable) {
+            future.completeExceptionally((Throwable) outcome);
+        } else {
+            future.complete(deserialize((List<Data>) outcome));
+        }
+    }
+
+    /**
+     * Checks if all the results are consumed. Should be invoked under the
+     * mutex.
+     */
+    private boolean isDone() {
+        return nextPartitionId == partitionCount && inFlight == 0 && pendingPartitions.isEmpty() && chunks.isEmpty();
+    }
+
+    private List<R> deserialize(List<Data> chunk) {
+        SerializationService serializationService = getSerializationService();
+        List<R> results = new ArrayList<>(chunk.size());
+        for (Data data : chunk) {
+            results.add(serializationService.toObject(data));
+        }
+        return results;
+    }
+
+    private static <T> T await(CompletionStage<T> stage) {
+        try {
+            return stage.toCompletableFuture().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw rethrow(e);
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause());
+        }
+    }
+
+    /**
+     * A chunk of the serialized results of a partition together with the
+     * iteration state to fetch the next chunk from.
+     */
+    protected static final class Chunk {
+
+        private final List<Data> results;
+        private final IterationPointer[] pointers;
+
+        public Chunk(List<Data> results, IterationPointer[] pointers) {
+            this.results = results;
+            this.pointers = pointers;
+        }
+    }
+
+    private static final class PartitionCursor {
+
+        private final int partitionId;
+        private IterationPointer[] pointers = {new IterationPointer(Integer.MAX_VALUE, -1)};
+
+        PartitionCursor(int partitionId) {
+            this.partitionId = partitionId;
+        }
+    }
+}
@@ -20,6 +20,7 @@ import com.hazelcast.config.IndexConfig;
 import com.hazelcast.internal.serialization.SerializationService;
 import com.hazelcast.map.impl.MapDataSerializerHook;
 import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.PartitionIndexBuilder;
 import com.hazelcast.map.impl.record.Records;
 import com.hazelcast.map.impl.recordstore.RecordStoreAdapter;
 import com.hazelcast.nio.ObjectDataInput;
@@ -89,6 +90,14 @@ public class AddIndexOperation extends MapOperation
             return;
         }
 
+        if (indexes.isGlobal()) {
+            // large partitions are indexed in the background, queries
+            // scan the partition until it's indexed
+            PartitionIndexBuilder.buildIndexes(mapContainer, partitionId, recordStore, new InternalIndex[]{index},
+                    Index.OperationSource.USER);
+            return;
+        }
+
         SerializationService serializationService = getNodeEngine().getSerializationService();
 
         index.beginPartitionUpdate();
@@ -17,6 +17,25 @@
 package com.hazelcast.map.impl.query;
 
 import com.hazelcast.aggregation.Aggregator;
+import com.hazelcast.aggregation.impl.ApproximateCountDistinctAggregator;
+import com.hazelcast.aggregation.impl.ApproximateQuantileAggregator;
+import com.hazelcast.aggregation.impl.BigDecimalAverageAggregator;
+import com.hazelcast.aggregation.impl.BigDecimalSumAggregator;
+import com.hazelcast.aggregation.impl.BigIntegerAverageAggregator;
+import com.hazelcast.aggregation.impl.BigIntegerSumAggregator;
+import com.hazelcast.aggregation.impl.CountAggregator;
+import com.hazelcast.aggregation.impl.DistinctValuesAggregator;
+import com.hazelcast.aggregation.impl.DoubleAverageAggregator;
+import com.hazelcast.aggregation.impl.DoubleSumAggregator;
+import com.hazelcast.aggregation.impl.FixedSumAggregator;
+import com.hazelcast.aggregation.impl.FloatingPointSumAggregator;
+import com.hazelcast.aggregation.impl.IntegerAverageAggregator;
+import com.hazelcast.aggregation.impl.IntegerSumAggregator;
+import com.hazelcast.aggregation.impl.LongAverageAggregator;
+import com.hazelcast.aggregation.impl.LongSumAggregator;
+import com.hazelcast.aggregation.impl.MaxAggregator;
+import com.hazelcast.aggregation.impl.MinAggregator;
+import com.hazelcast.aggregation.impl.NumberAverageAggregator;
 import com.hazelcast.map.impl.MapDataSerializerHook;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
@@ -26,10 +45,13 @@ import com.hazelcast.internal.serialization.SerializationService;
 import com.hazelcast.internal.util.collection.PartitionIdSet;
 
 import java.io.IOException;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 import static com.hazelcast.internal.serialization.impl.SerializationUtil.readNullablePartitionIdSet;
 import static com.hazelcast.internal.serialization.impl.SerializationUtil.writeNullablePartitionIdSet;
+import static java.util.Arrays.asList;
 
 /**
  * Contains the result of the evaluation of an aggregation on a specific Partition or Node.
@@ -38,6 +60,19 @@ import static com.hazelcast.internal.serialization.impl.SerializationUtil.writeN
  */
 public class AggregationResult implements Result<AggregationResult> {
 
+    /**
+     * The built-in aggregators accumulating only the values extracted from
+     * the entries, without keeping the entries themselves.
+     */
+    private static final Set<Class<?>> ENTRY_CONSUMING_AGGREGATORS = new HashSet<>(asList(
+            ApproximateCountDistinctAggregator.class, ApproximateQuantileAggregator.class,
+            BigDecimalAverageAggregator.class, BigDecimalSumAggregator.class, BigIntegerAverageAggregator.class,
+            BigIntegerSumAggregator.class, CountAggregator.class, DistinctValuesAggregator.class,
+            DoubleAverageAggregator.class, DoubleSumAggregator.class, FixedSumAggregator.class,
+            FloatingPointSumAggregator.class, IntegerAverageAggregator.class, IntegerSumAggregator.class,
+            LongAverageAggregator.class, LongSumAggregator.class, MaxAggregator.class, MinAggregator.class,
+            NumberAverageAggregator.class));
+
     private Aggregator aggregator;
     private PartitionIdSet partitionIds;
 
@@ -88,6 +123,12 @@ public class AggregationResult implements Result<AggregationResult> {
         aggregator.accumulate(entry);
     }
 
+    @Override
+    public boolean retainsEntries() {
+        // custom aggregators and the *By ones may keep the accumulated entries
+        return aggregator == null || !ENTRY_CONSUMING_AGGREGATORS.contains(aggregator.getClass());
+    }
+
     @Override
     public AggregationResult createSubResult() {
         Aggregator aggregatorClone = serializationService.toObject(serializationService.toData(aggregator));
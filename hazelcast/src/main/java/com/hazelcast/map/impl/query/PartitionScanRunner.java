@@ -55,6 +55,12 @@ import static com.hazelcast.map.impl.record.Records.getValueOrCachedValue;
 
 /**
  * Responsible for running a full-partition scan for a single partition in the calling thread.
+ * <p>
+ * The predicate, the projection and the aggregation see the records through
+ * a {@link QueryableEntry}. If the result doesn't retain the entries, a single
+ * entry is reused for all the records, but the attributes are still extracted
+ * by the {@link Extractors} of the map, which deserialize the value unless the
+ * attribute can be read from the serialized form, as for Portable or JSON.
  */
 public class PartitionScanRunner {
 
@@ -90,6 +96,9 @@ public class PartitionScanRunner {
         StoreAdapter storeAdapter = new RecordStoreAdapter(recordStore);
         Map.Entry<Integer, Map.Entry> nearestAnchorEntry =
                 pagingPredicate == null ? null : pagingPredicate.getNearestAnchorEntry();
+        // aggregations and projections usually consume the entries right away,
+        // so the same entry can be reused for all the records
+        boolean retainsEntries = result.retainsEntries();
 
         recordStore.forEachAfterLoad(new BiConsumer<Data, Record>() {
             LazyMapEntry queryEntry = new LazyMapEntry();
@@ -110,13 +119,18 @@ public class PartitionScanRunner {
                 if (predicate.apply(queryEntry)
                         && compareAnchor(pagingPredicate, queryEntry, nearestAnchorEntry)) {
 
-                    // always copy key&value to heap if map is backed by native memory
-                    value = nativeMemory ? toHeapData((Data) value) : value;
-                    result.add(queryEntry.init(ss, toHeapData(key), value, extractors));
-
-                    // We can't reuse the existing entry after it was added to the
-                    // result. Allocate the new one.
-                    queryEntry = new LazyMapEntry();
+                    // always copy key&value to heap if map is backed by native memory,
+                    // otherwise keep the value deserialized by the predicate, if any
+                    if (nativeMemory) {
+                        queryEntry.init(ss, toHeapData(key), toHeapData((Data) value), extractors);
+                    }
+                    result.add(queryEntry);
+
+                    if (retainsEntries) {
+                        // We can't reuse the existing entry after it was added to the
+                        // result. Allocate the new one.
+                        queryEntry = new LazyMapEntry();
+                    }
                 }
             }
         }, false);
@@ -158,6 +172,7 @@ public class PartitionScanRunner {
         PartitionContainer partitionContainer = mapServiceContext.getPartitionContainer(partitionId);
         RecordStore recordStore = partitionContainer.getRecordStore(mapName);
         Extractors extractors = mapServiceContext.getExtractors(mapName);
+        LazyMapEntry queryEntry = new LazyMapEntry();
 
         while (resultList.size() < fetchSize && pointers[pointers.length - 1].getIndex() >= 0) {
             MapEntriesWithCursor cursor = recordStore.fetchEntries(pointers, fetchSize - resultList.size());
@@ -167,9 +182,10 @@ public class PartitionScanRunner {
                 break;
             }
             for (Entry<Data, Data> entry : entries) {
-                QueryableEntry queryEntry = new LazyMapEntry(entry.getKey(), entry.getValue(), ss, extractors);
+                queryEntry.init(ss, entry.getKey(), entry.getValue(), extractors);
                 if (predicate.apply(queryEntry)) {
                     resultList.add(queryEntry);
+                    queryEntry = new LazyMapEntry();
                 }
             }
         }
@@ -157,6 +157,12 @@ public class QueryResult implements Result<QueryResult>, Iterable<QueryResultRow
         rows.add(orderAndLimitExpected ? entry : convertEntryToRow(entry));
     }
 
+    @Override
+    public boolean retainsEntries() {
+        // the entries are converted to rows only when the construction is completed
+        return orderAndLimitExpected;
+    }
+
     @Override
     public QueryResult createSubResult() {
         return new QueryResult(iterationType, projection, serializationService, resultLimit, orderAndLimitExpected);
@@ -18,6 +18,7 @@ package com.hazelcast.map.impl.query;
 
 import com.hazelcast.internal.cluster.ClusterService;
 import com.hazelcast.internal.iteration.IterationPointer;
+import com.hazelcast.internal.partition.IPartitionService;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.util.collection.PartitionIdSet;
 import com.hazelcast.logging.ILogger;
@@ -26,15 +27,20 @@ import com.hazelcast.map.impl.MapContainer;
 import com.hazelcast.map.impl.MapServiceContext;
 import com.hazelcast.query.Predicate;
 import com.hazelcast.query.impl.Indexes;
+import com.hazelcast.query.impl.InternalIndex;
 import com.hazelcast.query.impl.QueryableEntriesSegment;
 import com.hazelcast.query.impl.QueryableEntry;
 import com.hazelcast.query.impl.predicates.QueryOptimizer;
 import com.hazelcast.spi.impl.NodeEngine;
 import com.hazelcast.spi.impl.operationservice.OperationService;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.PrimitiveIterator;
 
 import static com.hazelcast.internal.util.SetUtil.singletonPartitionIdSet;
+import static com.hazelcast.query.impl.Indexes.SKIP_PARTITIONS_COUNT_CHECK;
 
 /**
  * Runs query operations in the calling thread (thus blocking it)
@@ -140,7 +146,10 @@ public class QueryRunner {
 
         Result result;
         if (entries == null) {
-            result = runUsingPartitionScanSafely(query, predicate, initialPartitions, migrationStamp);
+            result = runUsingPartialGlobalIndexSafely(query, predicate, mapContainer, initialPartitions, migrationStamp);
+            if (result == null) {
+                result = runUsingPartitionScanSafely(query, predicate, initialPartitions, migrationStamp);
+            }
             if (result == null) {
                 // full scan didn't work, returning empty result
                 result = populateEmptyResult(query, initialPartitions);
@@ -277,6 +286,78 @@ public class QueryRunner {
         return null;
     }
 
+    /**
+     * Performs the given query using the global indexes for the partitions
+     * which are fully indexed by all the indexes and using the partition scan
+     * for the rest of the given partitions, e.g. the ones which are being
+     * indexed in the background.
+     *
+     * @return the result of the query or {@code null} if none of the given
+     * partitions is fully indexed, it's impossible to perform the given query
+     * using indexes or a partition migration is detected during the query
+     * execution.
+     */
+    @SuppressWarnings("unchecked")
+    protected Result runUsingPartialGlobalIndexSafely(Query query, Predicate predicate, MapContainer mapContainer,
+                                                      PartitionIdSet partitions, int migrationStamp) {
+        Indexes indexes = mapContainer.getIndexes();
+        if (indexes == null || !indexes.isGlobal() || !validateMigrationStamp(migrationStamp)) {
+            return null;
+        }
+
+        InternalIndex[] indexesSnapshot = indexes.getIndexes();
+        if (indexesSnapshot.length == 0) {
+            return null;
+        }
+
+        PartitionIdSet indexedPartitions = new PartitionIdSet(partitionCount);
+        PartitionIdSet scannedPartitions = new PartitionIdSet(partitionCount);
+        for (PrimitiveIterator.OfInt iterator = partitions.intIterator(); iterator.hasNext(); ) {
+            int partitionId = iterator.nextInt();
+            if (isPartitionIndexed(partitionId, indexesSnapshot)) {
+                indexedPartitions.add(partitionId);
+            } else {
+                scannedPartitions.add(partitionId);
+            }
+        }
+        if (indexedPartitions.isEmpty()) {
+            return null;
+        }
+
+        Collection<QueryableEntry> entries = indexes.query(predicate, SKIP_PARTITIONS_COUNT_CHECK);
+        // the index chosen for the query must be one of the indexes checked above
+        if (entries == null || indexes.getIndexes().length != indexesSnapshot.length) {
+            return null;
+        }
+
+        IPartitionService partitionService = nodeEngine.getPartitionService();
+        List<QueryableEntry> indexedEntries = new ArrayList<>();
+        for (QueryableEntry entry : entries) {
+            if (indexedPartitions.contains(partitionService.getPartitionId(entry.getKeyData()))) {
+                indexedEntries.add(entry);
+            }
+        }
+        Result result = populateNonEmptyResult(query, indexedEntries, indexedPartitions);
+
+        if (!scannedPartitions.isEmpty()) {
+            Result scanResult = createResult(query, scannedPartitions);
+            partitionScanExecutor.execute(query.getMapName(), predicate, scannedPartitions, scanResult);
+            scanResult.completeConstruction(scannedPartitions);
+            result.combine(scanResult);
+        }
+
+        return validateMigrationStamp(migrationStamp) ? result : null;
+    }
+
+    private static boolean isPartitionIndexed(int partitionId, InternalIndex[] indexes) {
+        for (InternalIndex index : indexes) {
+            if (!index.hasPartitionIndexed(partitionId)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     protected Result runUsingPartitionScanSafely(Query query, Predicate predicate,
                                                  PartitionIdSet partitions, int migrationStamp) {
 
@@ -69,6 +69,19 @@ public interface Result<T extends Result> extends IdentifiedDataSerializable {
      */
     void add(QueryableEntry entry);
 
+    /**
+     * Tells whether this result keeps references to the entries passed to
+     * {@link #add}.
+     * <p>
+     * If the entries are not retained, the query execution engine may reuse
+     * a single entry instance for all the entries it adds to this result.
+     * The key and value data of the added entries may still be retained.
+     *
+     * @return {@code true} if the added entries are retained by this result,
+     * {@code false} if they are consumed by {@link #add} right away.
+     */
+    boolean retainsEntries();
+
     /**
      * Creates a new empty sub result of the same type as this result.
      * <p>
@@ -17,26 +17,56 @@
 package com.hazelcast.map.impl.record;
 
 import com.hazelcast.config.CacheDeserializedValues;
+import com.hazelcast.config.EvictionConfig;
+import com.hazelcast.config.EvictionPolicy;
 import com.hazelcast.config.MapConfig;
-import com.hazelcast.internal.serialization.SerializationService;
 import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.spi.merge.DiscardMergePolicy;
+import com.hazelcast.spi.merge.PassThroughMergePolicy;
+import com.hazelcast.spi.merge.PutIfAbsentMergePolicy;
 
+/**
+ * Creates {@link Data} records with the smallest layout fitting the
+ * {@link MapConfig} of the map:
+ * <ul>
+ * <li>{@link DataRecordWithStats} when statistics are enabled</li>
+ * <li>{@link DataRecord} when entries may expire or when per-entry
+ * statistics are consulted by a custom eviction comparator, a merge
+ * policy or WAN replication</li>
+ * <li>{@link SimpleDataRecordWithEviction} when only the built-in
+ * LRU or LFU eviction needs per-entry statistics</li>
+ * <li>{@link SimpleDataRecord} otherwise</li>
+ * </ul>
+ * Compact layouts don't keep TTL and max-idle, so the factory switches
+ * to {@link DataRecord}s once {@link #ensureExpirySupported()} is called.
+ */
 public class DataRecordFactory implements RecordFactory<Data> {
 
     private final boolean statisticsEnabled;
+    private final boolean evictionStatsRequired;
     private final SerializationService ss;
     private final CacheDeserializedValues cacheDeserializedValues;
 
+    private boolean compactLayout;
+
     public DataRecordFactory(MapConfig config, SerializationService ss) {
         this.ss = ss;
         this.statisticsEnabled = config.isStatisticsEnabled();
         this.cacheDeserializedValues = config.getCacheDeserializedValues();
+        this.evictionStatsRequired = isEvictionStatsRequired(config.getEvictionConfig());
+        this.compactLayout = !statisticsEnabled
+                && !isExpiryConfigured(config)
+                && !isPerEntryStatsConsulted(config);
     }
 
     @Override
     public Record<Data> newRecord(Object value) {
         Data valueData = ss.toData(value);
 
+        if (compactLayout) {
+            return newCompactRecord(valueData);
+        }
         switch (cacheDeserializedValues) {
             case NEVER:
                 return statisticsEnabled ? new DataRecordWithStats(valueData) : new DataRecord(valueData);
@@ -44,4 +74,51 @@ public class DataRecordFactory implements RecordFactory<Data> {
                 return statisticsEnabled ? new CachedDataRecordWithStats(valueData) : new CachedDataRecord(valueData);
         }
     }
+
+    private Record<Data> newCompactRecord(Data valueData) {
+        switch (cacheDeserializedValues) {
+            case NEVER:
+                return evictionStatsRequired
+                        ? new SimpleDataRecordWithEviction(valueData) : new SimpleDataRecord(valueData);
+            default:
+                return evictionStatsRequired
+                        ? new CachedSimpleDataRecordWithEviction(valueData) : new CachedSimpleDataRecord(valueData);
+        }
+    }
+
+    @Override
+    public boolean ensureExpirySupported() {
+        boolean switched = compactLayout;
+        compactLayout = false;
+        return switched;
+    }
+
+    private static boolean isExpiryConfigured(MapConfig config) {
+        return config.getTimeToLiveSeconds() > 0 || config.getMaxIdleSeconds() > 0;
+    }
+
+    private static boolean isPerEntryStatsConsulted(MapConfig config) {
+        return config.getWanReplicationRef() != null
+                || hasCustomEvictionComparator(config.getEvictionConfig())
+                || !isMergePolicyWithoutStats(config.getMergePolicyConfig().getPolicy());
+    }
+
+    private static boolean isEvictionStatsRequired(EvictionConfig evictionConfig) {
+        EvictionPolicy evictionPolicy = evictionConfig.getEvictionPolicy();
+        return evictionPolicy == EvictionPolicy.LRU || evictionPolicy == EvictionPolicy.LFU;
+    }
+
+    private static boolean hasCustomEvictionComparator(EvictionConfig evictionConfig) {
+        return evictionConfig.getComparator() != null || evictionConfig.getComparatorClassName() != null;
+    }
+
+    private static boolean isMergePolicyWithoutStats(String mergePolicy) {
+        return isPolicy(mergePolicy, PutIfAbsentMergePolicy.class)
+                || isPolicy(mergePolicy, PassThroughMergePolicy.class)
+                || isPolicy(mergePolicy, DiscardMergePolicy.class);
+    }
+
+    private static boolean isPolicy(String mergePolicy, Class<?> policyClass) {
+        return policyClass.getName().equals(mergePolicy) || policyClass.getSimpleName().equals(mergePolicy);
+    }
 }
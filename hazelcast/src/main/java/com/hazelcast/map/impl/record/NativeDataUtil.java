@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.internal.memory.MemoryAccessor;
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.internal.memory.MemoryManager;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.impl.HeapData;
+
+import static com.hazelcast.internal.memory.MemoryAllocator.NULL_ADDRESS;
+import static com.hazelcast.internal.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.internal.serialization.impl.HeapData.TYPE_OFFSET;
+
+/**
+ * Helpers to copy serialized {@link Data} blobs between heap and
+ * native memory.
+ * <p>
+ * A blob in native memory is laid out as a 4-byte length header
+ * followed by the bytes returned from {@link Data#toByteArray()}.
+ */
+public final class NativeDataUtil {
+
+    private NativeDataUtil() {
+    }
+
+    /**
+     * Copies the supplied data into a newly allocated native memory block.
+     *
+     * @return address of the allocated block or {@link MemoryAllocator#NULL_ADDRESS}
+     * if the supplied data is {@code null}
+     */
+    public static long toNative(MemoryManager memoryManager, Data data) {
+        if (data == null) {
+            return NULL_ADDRESS;
+        }
+        byte[] bytes = data.toByteArray();
+        int length = bytes == null ? 0 : bytes.length;
+        long address = memoryManager.getAllocator().allocate(INT_SIZE_IN_BYTES + length);
+        MemoryAccessor mem = memoryManager.getAccessor();
+        mem.putInt(address, length);
+        if (length > 0) {
+            mem.copyFromByteArray(bytes, 0, address + INT_SIZE_IN_BYTES, length);
+        }
+        return address;
+    }
+
+    /**
+     * Copies the blob at the supplied address to an on-heap {@link Data}.
+     *
+     * @return the on-heap copy or {@code null} if the address is {@link MemoryAllocator#NULL_ADDRESS}
+     */
+    public static Data toHeap(MemoryAccessor mem, long address) {
+        if (address == NULL_ADDRESS) {
+            return null;
+        }
+        int length = mem.getInt(address);
+        byte[] bytes = new byte[length];
+        if (length > 0) {
+            mem.copyToByteArray(address + INT_SIZE_IN_BYTES, bytes, 0, length);
+        }
+        return new HeapData(bytes);
+    }
+
+    /**
+     * @return the number of native bytes occupied by the blob at the supplied address
+     */
+    public static long sizeOf(MemoryAccessor mem, long address) {
+        return address == NULL_ADDRESS ? 0 : INT_SIZE_IN_BYTES + mem.getInt(address);
+    }
+
+    /**
+     * Frees the blob at the supplied address, if any.
+     */
+    public static void free(MemoryManager memoryManager, long address) {
+        if (address == NULL_ADDRESS) {
+            return;
+        }
+        memoryManager.getAllocator().free(address, sizeOf(memoryManager.getAccessor(), address));
+    }
+
+    /**
+     * Compares the blob at the supplied address with the given data
+     * using the same semantics as {@link HeapData#equals(Object)}:
+     * the partition hash is not taken into account.
+     */
+    public static boolean equals(MemoryAccessor mem, long address, Data data) {
+        byte[] bytes = data.toByteArray();
+        int length = mem.getInt(address);
+        if (bytes == null || bytes.length != length) {
+            return false;
+        }
+        long base = address + INT_SIZE_IN_BYTES;
+        for (int i = length - 1; i >= TYPE_OFFSET; i--) {
+            if (mem.getByte(base + i) != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
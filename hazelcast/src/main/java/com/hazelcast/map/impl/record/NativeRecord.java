@@ -0,0 +1,368 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.internal.memory.MemoryAccessor;
+import com.hazelcast.internal.memory.MemoryManager;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.query.impl.Metadata;
+
+import static com.hazelcast.internal.memory.MemoryAllocator.NULL_ADDRESS;
+import static com.hazelcast.map.impl.record.RecordReaderWriter.DATA_RECORD_WITH_STATS_READER_WRITER;
+
+/**
+ * Flyweight {@link Record} whose state lives entirely in a fixed-size
+ * block of native memory. Layout of the block:
+ * <pre>
+ * +------------------+-----------------+
+ * | key address      | 8 bytes         |
+ * | value address    | 8 bytes         |
+ * | version          | 8 bytes         |
+ * | ttl              | 4 bytes         |
+ * | max-idle         | 4 bytes         |
+ * | hits             | 4 bytes         |
+ * | last access time | 4 bytes         |
+ * | last update time | 4 bytes         |
+ * | creation time    | 4 bytes         |
+ * | last stored time | 4 bytes         |
+ * | expiration time  | 4 bytes         |
+ * +------------------+-----------------+
+ * </pre>
+ * Key and value blobs are laid out as described in {@link NativeDataUtil}.
+ * Every time value is copied to heap when it is read.
+ * <p>
+ * Instances are cheap, short-lived views over the same memory block
+ * and are only accessed from the partition thread owning the record.
+ * JSON {@link Metadata} is not retained for native records.
+ */
+@SuppressWarnings("checkstyle:methodcount")
+public class NativeRecord implements Record<Data> {
+
+    /**
+     * Size of a record block in bytes.
+     */
+    public static final int SIZE = 56;
+
+    /**
+     * Offset of the address of the key blob owned by this record.
+     */
+    public static final int KEY_ADDRESS_OFFSET = 0;
+
+    static final int VALUE_ADDRESS_OFFSET = 8;
+    static final int VERSION_OFFSET = 16;
+    static final int TTL_OFFSET = 24;
+    static final int MAX_IDLE_OFFSET = 28;
+    static final int HITS_OFFSET = 32;
+    static final int LAST_ACCESS_TIME_OFFSET = 36;
+    static final int LAST_UPDATE_TIME_OFFSET = 40;
+    static final int CREATION_TIME_OFFSET = 44;
+    static final int LAST_STORED_TIME_OFFSET = 48;
+    static final int EXPIRATION_TIME_OFFSET = 52;
+
+    private final MemoryManager memoryManager;
+    private final MemoryAccessor mem;
+    private final long address;
+
+    public NativeRecord(MemoryManager memoryManager, long address) {
+        assert address != NULL_ADDRESS;
+        this.memoryManager = memoryManager;
+        this.mem = memoryManager.getAccessor();
+        this.address = address;
+    }
+
+    /**
+     * Allocates and initializes a new record block holding a copy of the supplied value.
+     *
+     * @return address of the new record block
+     */
+    public static long allocate(MemoryManager memoryManager, Data value) {
+        long address = memoryManager.getAllocator().allocate(SIZE);
+        MemoryAccessor mem = memoryManager.getAccessor();
+        try {
+            mem.putLong(address + VALUE_ADDRESS_OFFSET, NativeDataUtil.toNative(memoryManager, value));
+        } catch (Error e) {
+            memoryManager.getAllocator().free(address, SIZE);
+            throw e;
+        }
+        mem.putInt(address + TTL_OFFSET, UNSET);
+        mem.putInt(address + MAX_IDLE_OFFSET, UNSET);
+        mem.putInt(address + LAST_ACCESS_TIME_OFFSET, UNSET);
+        mem.putInt(address + LAST_UPDATE_TIME_OFFSET, UNSET);
+        mem.putInt(address + CREATION_TIME_OFFSET, UNSET);
+        mem.putInt(address + LAST_STORED_TIME_OFFSET, UNSET);
+        mem.putInt(address + EXPIRATION_TIME_OFFSET, UNSET);
+        return address;
+    }
+
+    /**
+     * Frees the record block at the supplied address
+     * together with the key and value blobs it owns.
+     */
+    public static void free(MemoryManager memoryManager, long address) {
+        MemoryAccessor mem = memoryManager.getAccessor();
+        NativeDataUtil.free(memoryManager, mem.getLong(address + KEY_ADDRESS_OFFSET));
+        NativeDataUtil.free(memoryManager, mem.getLong(address + VALUE_ADDRESS_OFFSET));
+        memoryManager.getAllocator().free(address, SIZE);
+    }
+
+    public long address() {
+        return address;
+    }
+
+    public long getKeyAddress() {
+        return mem.getLong(address + KEY_ADDRESS_OFFSET);
+    }
+
+    public void setKeyAddress(long keyAddress) {
+        mem.putLong(address + KEY_ADDRESS_OFFSET, keyAddress);
+    }
+
+    @Override
+    public Data getValue() {
+        return NativeDataUtil.toHeap(mem, mem.getLong(address + VALUE_ADDRESS_OFFSET));
+    }
+
+    @Override
+    public void setValue(Data value) {
+        long newValueAddress = NativeDataUtil.toNative(memoryManager, value);
+        long oldValueAddress = mem.getLong(address + VALUE_ADDRESS_OFFSET);
+        mem.putLong(address + VALUE_ADDRESS_OFFSET, newValueAddress);
+        // value blobs are never exposed outside of this record, it is safe to free it right away
+        NativeDataUtil.free(memoryManager, oldValueAddress);
+    }
+
+    @Override
+    public long getCost() {
+        return SIZE + NativeDataUtil.sizeOf(mem, mem.getLong(address + VALUE_ADDRESS_OFFSET));
+    }
+
+    @Override
+    public long getVersion() {
+        return mem.getLong(address + VERSION_OFFSET);
+    }
+
+    @Override
+    public void setVersion(long version) {
+        mem.putLong(address + VERSION_OFFSET, version);
+    }
+
+    @Override
+    public Object getCachedValueUnsafe() {
+        return NOT_CACHED;
+    }
+
+    @Override
+    public boolean casCachedValue(Object expectedValue, Object newValue) {
+        return true;
+    }
+
+    @Override
+    public long getLastAccessTime() {
+        return recomputeWithBaseTime(getRawLastAccessTime());
+    }
+
+    @Override
+    public void setLastAccessTime(long lastAccessTime) {
+        setRawLastAccessTime(stripBaseTime(lastAccessTime));
+    }
+
+    @Override
+    public long getLastUpdateTime() {
+        return recomputeWithBaseTime(getRawLastUpdateTime());
+    }
+
+    @Override
+    public void setLastUpdateTime(long lastUpdateTime) {
+        setRawLastUpdateTime(stripBaseTime(lastUpdateTime));
+    }
+
+    @Override
+    public long getCreationTime() {
+        return recomputeWithBaseTime(getRawCreationTime());
+    }
+
+    @Override
+    public void setCreationTime(long creationTime) {
+        setRawCreationTime(stripBaseTime(creationTime));
+    }
+
+    @Override
+    public int getHits() {
+        return mem.getInt(address + HITS_OFFSET);
+    }
+
+    @Override
+    public void setHits(int hits) {
+        mem.putInt(address + HITS_OFFSET, hits);
+    }
+
+    @Override
+    public long getExpirationTime() {
+        int expirationTime = getRawExpirationTime();
+        if (expirationTime == UNSET) {
+            return 0L;
+        }
+        if (expirationTime == Integer.MAX_VALUE) {
+            return Long.MAX_VALUE;
+        }
+        return recomputeWithBaseTime(expirationTime);
+    }
+
+    @Override
+    public void setExpirationTime(long expirationTime) {
+        setRawExpirationTime(expirationTime == Long.MAX_VALUE
+                ? Integer.MAX_VALUE
+                : stripBaseTime(expirationTime));
+    }
+
+    @Override
+    public long getLastStoredTime() {
+        int lastStoredTime = getRawLastStoredTime();
+        if (lastStoredTime == UNSET) {
+            return 0L;
+        }
+        return recomputeWithBaseTime(lastStoredTime);
+    }
+
+    @Override
+    public void setLastStoredTime(long lastStoredTime) {
+        setRawLastStoredTime(stripBaseTime(lastStoredTime));
+    }
+
+    @Override
+    public long getSequence() {
+        return UNSET;
+    }
+
+    @Override
+    public void setSequence(long sequence) {
+    }
+
+    @Override
+    public void setMetadata(Metadata metadata) {
+    }
+
+    @Override
+    public Metadata getMetadata() {
+        return null;
+    }
+
+    @Override
+    public RecordReaderWriter getMatchingRecordReaderWriter() {
+        return DATA_RECORD_WITH_STATS_READER_WRITER;
+    }
+
+    @Override
+    public int getRawTtl() {
+        return mem.getInt(address + TTL_OFFSET);
+    }
+
+    @Override
+    public int getRawMaxIdle() {
+        return mem.getInt(address + MAX_IDLE_OFFSET);
+    }
+
+    @Override
+    public int getRawCreationTime() {
+        return mem.getInt(address + CREATION_TIME_OFFSET);
+    }
+
+    @Override
+    public int getRawLastAccessTime() {
+        return mem.getInt(address + LAST_ACCESS_TIME_OFFSET);
+    }
+
+    @Override
+    public int getRawLastUpdateTime() {
+        return mem.getInt(address + LAST_UPDATE_TIME_OFFSET);
+    }
+
+    @Override
+    public void setRawTtl(int ttl) {
+        mem.putInt(address + TTL_OFFSET, ttl);
+    }
+
+    @Override
+    public void setRawMaxIdle(int maxIdle) {
+        mem.putInt(address + MAX_IDLE_OFFSET, maxIdle);
+    }
+
+    @Override
+    public void setRawCreationTime(int creationTime) {
+        mem.putInt(address + CREATION_TIME_OFFSET, creationTime);
+    }
+
+    @Override
+    public void setRawLastAccessTime(int lastAccessTime) {
+        mem.putInt(address + LAST_ACCESS_TIME_OFFSET, lastAccessTime);
+    }
+
+    @Override
+    public void setRawLastUpdateTime(int lastUpdateTime) {
+        mem.putInt(address + LAST_UPDATE_TIME_OFFSET, lastUpdateTime);
+    }
+
+    @Override
+    public int getRawLastStoredTime() {
+        return mem.getInt(address + LAST_STORED_TIME_OFFSET);
+    }
+
+    @Override
+    public void setRawLastStoredTime(int time) {
+        mem.putInt(address + LAST_STORED_TIME_OFFSET, time);
+    }
+
+    @Override
+    public int getRawExpirationTime() {
+        return mem.getInt(address + EXPIRATION_TIME_OFFSET);
+    }
+
+    @Override
+    public void setRawExpirationTime(int time) {
+        mem.putInt(address + EXPIRATION_TIME_OFFSET, time);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        return address == ((NativeRecord) o).address;
+    }
+
+    @Override
+    public int hashCode() {
+        return (int) (address ^ (address >>> 32));
+    }
+
+    @Override
+    public String toString() {
+        return "NativeRecord{"
+                + "address=" + address
+                + ", ttl=" + getRawTtl()
+                + ", maxIdle=" + getRawMaxIdle()
+                + ", version=" + getVersion()
+                + ", hits=" + getHits()
+                + ", lastAccessTime=" + getRawLastAccessTime()
+                + ", lastUpdateTime=" + getRawLastUpdateTime()
+                + ", creationTime=" + getRawCreationTime()
+                + '}';
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.internal.memory.MemoryManager;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+
+/**
+ * Creates {@link NativeRecord}s for maps which
+ * have {@link com.hazelcast.config.InMemoryFormat#NATIVE} memory-format.
+ */
+public class NativeRecordFactory implements RecordFactory<Data> {
+
+    private final MemoryManager memoryManager;
+    private final SerializationService ss;
+
+    public NativeRecordFactory(MemoryManager memoryManager, SerializationService ss) {
+        this.memoryManager = memoryManager;
+        this.ss = ss;
+    }
+
+    @Override
+    public Record<Data> newRecord(Object value) {
+        Data valueData = ss.toData(value);
+        return new NativeRecord(memoryManager, NativeRecord.allocate(memoryManager, valueData));
+    }
+}
@@ -24,4 +24,17 @@ package com.hazelcast.map.impl.record;
 public interface RecordFactory<T> {
 
     Record<T> newRecord(Object value);
+
+    /**
+     * Makes sure the records created from now on can keep per-entry
+     * expiration settings, i.e. TTL and max-idle.
+     *
+     * @return {@code true} if the records created before this call
+     * may not keep expiration settings and have to be recreated
+     * before any TTL or max-idle is applied to them, otherwise
+     * {@code false}
+     */
+    default boolean ensureExpirySupported() {
+        return false;
+    }
 }
@@ -0,0 +1,269 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.query.impl.Metadata;
+
+import java.util.Objects;
+
+import static com.hazelcast.internal.nio.Bits.LONG_SIZE_IN_BYTES;
+import static com.hazelcast.internal.util.JVMUtil.REFERENCE_COST_IN_BYTES;
+import static com.hazelcast.map.impl.record.RecordReaderWriter.DATA_RECORD_READER_WRITER;
+
+/**
+ * Compact {@link Data} record which keeps only the value, the version
+ * and the JSON metadata of an entry.
+ * <p>
+ * Used for maps which need neither per-entry expiration, statistics
+ * nor eviction: TTL and max-idle always read as infinite, the access
+ * statistics read as unset and writes to all of them are ignored.
+ * {@link DataRecordFactory} switches to a record layout keeping
+ * expiration settings before any TTL or max-idle is applied.
+ *
+ * @see DataRecordFactory
+ */
+@SuppressWarnings("checkstyle:methodcount")
+class SimpleDataRecord implements Record<Data> {
+
+    protected volatile Data value;
+    protected long version;
+    private transient Metadata metadata;
+
+    SimpleDataRecord(Data value) {
+        this.value = value;
+    }
+
+    @Override
+    public Data getValue() {
+        return value;
+    }
+
+    @Override
+    public void setValue(Data o) {
+        value = o;
+    }
+
+    @Override
+    public long getCost() {
+        return LONG_SIZE_IN_BYTES
+                + 2 * REFERENCE_COST_IN_BYTES
+                + (value == null ? 0L : value.getHeapCost());
+    }
+
+    @Override
+    public final long getVersion() {
+        return version;
+    }
+
+    @Override
+    public final void setVersion(long version) {
+        this.version = version;
+    }
+
+    @Override
+    public Object getCachedValueUnsafe() {
+        return Record.NOT_CACHED;
+    }
+
+    @Override
+    public boolean casCachedValue(Object expectedValue, Object newValue) {
+        return true;
+    }
+
+    @Override
+    public long getLastAccessTime() {
+        return recomputeWithBaseTime(getRawLastAccessTime());
+    }
+
+    @Override
+    public void setLastAccessTime(long lastAccessTime) {
+        setRawLastAccessTime(stripBaseTime(lastAccessTime));
+    }
+
+    @Override
+    public long getLastUpdateTime() {
+        return recomputeWithBaseTime(getRawLastUpdateTime());
+    }
+
+    @Override
+    public void setLastUpdateTime(long lastUpdateTime) {
+        setRawLastUpdateTime(stripBaseTime(lastUpdateTime));
+    }
+
+    @Override
+    public long getCreationTime() {
+        return recomputeWithBaseTime(getRawCreationTime());
+    }
+
+    @Override
+    public void setCreationTime(long creationTime) {
+        setRawCreationTime(stripBaseTime(creationTime));
+    }
+
+    @Override
+    public int getHits() {
+        return 0;
+    }
+
+    @Override
+    public void setHits(int hits) {
+    }
+
+    @Override
+    public long getExpirationTime() {
+        return UNSET;
+    }
+
+    @Override
+    public void setExpirationTime(long expirationTime) {
+    }
+
+    @Override
+    public long getLastStoredTime() {
+        return UNSET;
+    }
+
+    @Override
+    public void setLastStoredTime(long lastStoredTime) {
+    }
+
+    @Override
+    public final long getSequence() {
+        return UNSET;
+    }
+
+    @Override
+    public final void setSequence(long sequence) {
+    }
+
+    @Override
+    public void setMetadata(Metadata metadata) {
+        this.metadata = metadata;
+    }
+
+    @Override
+    public Metadata getMetadata() {
+        return metadata;
+    }
+
+    @Override
+    public RecordReaderWriter getMatchingRecordReaderWriter() {
+        return DATA_RECORD_READER_WRITER;
+    }
+
+    @Override
+    public int getRawTtl() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public int getRawMaxIdle() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public int getRawCreationTime() {
+        return UNSET;
+    }
+
+    @Override
+    public int getRawLastAccessTime() {
+        return UNSET;
+    }
+
+    @Override
+    public int getRawLastUpdateTime() {
+        return UNSET;
+    }
+
+    @Override
+    public void setRawTtl(int ttl) {
+    }
+
+    @Override
+    public void setRawMaxIdle(int maxIdle) {
+    }
+
+    @Override
+    public void setRawCreationTime(int creationTime) {
+    }
+
+    @Override
+    public void setRawLastAccessTime(int lastAccessTime) {
+    }
+
+    @Override
+    public void setRawLastUpdateTime(int lastUpdateTime) {
+    }
+
+    @Override
+    public int getRawLastStoredTime() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setRawLastStoredTime(int time) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int getRawExpirationTime() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setRawExpirationTime(int time) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        SimpleDataRecord that = (SimpleDataRecord) o;
+        if (version != that.version) {
+            return false;
+        }
+        if (!Objects.equals(metadata, that.metadata)) {
+            return false;
+        }
+        return Objects.equals(value, that.value);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Objects.hashCode(value);
+        result = 31 * result + (int) (version ^ (version >>> 32));
+        result = 31 * result + (metadata != null ? metadata.hashCode() : 0);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "SimpleDataRecord{"
+                + "value=" + value
+                + ", version=" + version
+                + ", metadata=" + metadata
+                + '}';
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.internal.serialization.Data;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import static com.hazelcast.internal.nio.Bits.INT_SIZE_IN_BYTES;
+
+/**
+ * {@link SimpleDataRecord} which additionally keeps the statistics
+ * consulted by the built-in LRU and LFU eviction policies: hits,
+ * last access time and creation time, the latter one being the
+ * tie-breaker of both policies.
+ */
+class SimpleDataRecordWithEviction extends SimpleDataRecord {
+
+    private static final int NUMBER_OF_INTS = 3;
+
+    @SuppressFBWarnings(value = "VO_VOLATILE_INCREMENT",
+            justification = "Record can be accessed by only its own partition thread.")
+    private volatile int hits;
+    private volatile int lastAccessTime = UNSET;
+    private int creationTime = UNSET;
+
+    SimpleDataRecordWithEviction(Data value) {
+        super(value);
+    }
+
+    @Override
+    public long getCost() {
+        return super.getCost() + NUMBER_OF_INTS * INT_SIZE_IN_BYTES;
+    }
+
+    @Override
+    public int getHits() {
+        return hits;
+    }
+
+    @Override
+    public void setHits(int hits) {
+        this.hits = hits;
+    }
+
+    @Override
+    public int getRawLastAccessTime() {
+        return lastAccessTime;
+    }
+
+    @Override
+    public void setRawLastAccessTime(int lastAccessTime) {
+        this.lastAccessTime = lastAccessTime;
+    }
+
+    @Override
+    public int getRawCreationTime() {
+        return creationTime;
+    }
+
+    @Override
+    public void setRawCreationTime(int creationTime) {
+        this.creationTime = creationTime;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!super.equals(o)) {
+            return false;
+        }
+
+        SimpleDataRecordWithEviction that = (SimpleDataRecordWithEviction) o;
+        return hits == that.hits
+                && lastAccessTime == that.lastAccessTime
+                && creationTime == that.creationTime;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = super.hashCode();
+        result = 31 * result + hits;
+        result = 31 * result + lastAccessTime;
+        result = 31 * result + creationTime;
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "SimpleDataRecordWithEviction{"
+                + "hits=" + hits
+                + ", lastAccessTime=" + lastAccessTime
+                + ", creationTime=" + creationTime
+                + "} " + super.toString();
+    }
+}
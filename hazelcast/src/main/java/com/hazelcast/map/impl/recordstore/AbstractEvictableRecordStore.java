@@ -27,6 +27,8 @@ import com.hazelcast.map.impl.MapContainer;
 import com.hazelcast.map.impl.event.MapEventPublisher;
 import com.hazelcast.map.impl.eviction.Evictor;
 import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.record.RecordFactory;
+import com.hazelcast.map.impl.record.Records;
 import com.hazelcast.spi.impl.NodeEngine;
 import com.hazelcast.spi.impl.eventservice.EventService;
 import com.hazelcast.spi.merge.SplitBrainMergeTypes.MapMergeTypes;
@@ -199,6 +201,9 @@ public abstract class AbstractEvictableRecordStore extends AbstractRecordStore {
 
     protected void markRecordStoreExpirable(long ttl, long maxIdle) {
         if (isTtlDefined(ttl) || isMaxIdleDefined(maxIdle)) {
+            if (recordFactory.ensureExpirySupported()) {
+                recreateRecordsWithExpirySupport();
+            }
             hasEntryWithCustomExpiration = true;
         }
 
@@ -207,6 +212,29 @@ public abstract class AbstractEvictableRecordStore extends AbstractRecordStore {
         }
     }
 
+    /**
+     * Replaces the records of this record store, which were created
+     * with a layout not keeping TTL and max-idle, with records
+     * able to keep them. See {@link RecordFactory#ensureExpirySupported()}.
+     */
+    private void recreateRecordsWithExpirySupport() {
+        long now = getNow();
+        Iterator<Map.Entry<Data, Record>> iterator = storage.mutationTolerantIterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Data, Record> entry = iterator.next();
+            Record record = entry.getValue();
+            Record newRecord = recordFactory.newRecord(record.getValue());
+            Records.copyMetadataFrom(record, newRecord);
+            newRecord.setMetadata(record.getMetadata());
+            if (newRecord.getCreationTime() == 0L) {
+                // compact layouts may not keep the creation time, it is
+                // needed as the life start time of the entry from now on
+                newRecord.setCreationTime(now);
+            }
+            storage.put(entry.getKey(), newRecord);
+        }
+    }
+
     // this method is overridden on ee
     protected boolean isTtlDefined(long ttl) {
         return ttl > 0L && ttl < Long.MAX_VALUE;
@@ -168,6 +168,9 @@ abstract class AbstractRecordStore implements RecordStore<Record> {
     }
 
     public Storage createStorage(RecordFactory recordFactory, InMemoryFormat memoryFormat) {
+        if (memoryFormat == InMemoryFormat.NATIVE) {
+            return new NativeStorage(mapServiceContext.getNativeMemoryManager(), serializationService);
+        }
         return new StorageImpl(memoryFormat, serializationService);
     }
 
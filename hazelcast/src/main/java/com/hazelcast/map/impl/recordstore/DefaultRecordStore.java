@@ -159,8 +159,8 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
     @Override
     public Record putReplicatedRecord(Data dataKey, Record replicatedRecord, long nowInMillis,
                                       boolean populateIndexes) {
-        Record newRecord = createRecord(dataKey, replicatedRecord, nowInMillis);
         markRecordStoreExpirable(replicatedRecord.getTtl(), replicatedRecord.getMaxIdle());
+        Record newRecord = createRecord(dataKey, replicatedRecord, nowInMillis);
         storage.put(dataKey, newRecord);
         mutationObserver.onReplicationPutRecord(dataKey, newRecord, populateIndexes);
         updateStatsOnPut(replicatedRecord.getHits(), nowInMillis);
@@ -385,8 +385,8 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
             value = loaderEntry.getValue();
             ttl = proposedTtl;
         }
-        Record record = createRecord(key, value, ttl, UNSET, getNow());
         markRecordStoreExpirable(ttl, UNSET);
+        Record record = createRecord(key, value, ttl, UNSET, getNow());
         storage.put(key, record);
         mutationObserver.onLoadRecord(key, record, backup);
         if (!backup) {
@@ -722,6 +722,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
     @Override
     public boolean setTtl(Data key, long ttl, boolean backup) {
         long now = getNow();
+        markRecordStoreExpirable(ttl, UNSET);
         Record record = getRecordOrNull(key, now, false);
         Object existingValue = record == null ? mapDataStore.load(key) : record.getValue();
         if (existingValue == null) {
@@ -734,7 +735,6 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
             updateRecord(key, record, existingValue, existingValue, now, true, ttl,
                     UNSET, true, null, backup);
         }
-        markRecordStoreExpirable(ttl, UNSET);
         return true;
     }
 
@@ -795,6 +795,9 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
             serializationService.getManagedContext().initialize(mergePolicy);
 
         Data key = (Data) mergingEntry.getRawKey();
+        // WAN events received from source cluster carry null maxIdle
+        Long mergingMaxIdle = mergingEntry.getMaxIdle();
+        markRecordStoreExpirable(mergingEntry.getTtl(), mergingMaxIdle == null ? UNSET : mergingMaxIdle);
         Record record = getRecordOrNull(key, now, false);
         Object newValue;
         Object oldValue;
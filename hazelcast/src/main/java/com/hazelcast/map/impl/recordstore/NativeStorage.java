@@ -0,0 +1,513 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.core.EntryView;
+import com.hazelcast.internal.iteration.IterationPointer;
+import com.hazelcast.internal.memory.MemoryAccessor;
+import com.hazelcast.internal.memory.MemoryManager;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.util.ThreadLocalRandomProvider;
+import com.hazelcast.internal.util.hashslot.SlotAssignmentResult;
+import com.hazelcast.internal.util.hashslot.impl.HashSlotArray16byteKeyImpl;
+import com.hazelcast.map.impl.EntryCostEstimator;
+import com.hazelcast.map.impl.iterator.MapEntriesWithCursor;
+import com.hazelcast.map.impl.iterator.MapKeysWithCursor;
+import com.hazelcast.map.impl.record.NativeDataUtil;
+import com.hazelcast.map.impl.record.NativeRecord;
+import com.hazelcast.map.impl.record.Record;
+
+import javax.annotation.Nonnull;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+
+import static com.hazelcast.config.InMemoryFormat.NATIVE;
+import static com.hazelcast.internal.memory.MemoryAllocator.NULL_ADDRESS;
+import static com.hazelcast.internal.util.hashslot.impl.CapacityUtil.DEFAULT_CAPACITY;
+import static com.hazelcast.internal.util.hashslot.impl.CapacityUtil.DEFAULT_LOAD_FACTOR;
+import static com.hazelcast.internal.util.hashslot.impl.HashSlotArray16byteKeyImpl.addrOfValueAt;
+import static com.hazelcast.map.impl.OwnedEntryCostEstimatorFactory.createMapSizeEstimator;
+import static com.hazelcast.map.impl.record.NativeRecord.KEY_ADDRESS_OFFSET;
+
+/**
+ * {@link Storage} implementation for maps which have {@link
+ * com.hazelcast.config.InMemoryFormat#NATIVE} memory-format.
+ * <p>
+ * Keys, values and record metadata are all kept off-heap. The
+ * backbone is an open-addressed {@link HashSlotArray16byteKeyImpl}
+ * whose slot key is the 64-bit hash of the key blob plus a collision
+ * index and whose slot value is the address of a {@link NativeRecord}
+ * block. The record block in turn owns the key and value blobs.
+ * <p>
+ * Records removed or replaced during an operation are not freed
+ * immediately since on-heap views of them may still be in use by the
+ * caller; they are released on {@link #disposeDeferredBlocks()}.
+ * <p>
+ * This class is not thread-safe, it must only be accessed from the
+ * partition thread owning the partition, except for {@link #size()}
+ * and {@link #isEmpty()}.
+ */
+@SuppressWarnings("checkstyle:methodcount")
+public class NativeStorage implements Storage<Data, Record> {
+
+    private static final int SLOT_VALUE_LENGTH = 8;
+    private static final int INITIAL_DEFERRED_CAPACITY = 16;
+
+    private final MemoryManager memoryManager;
+    private final MemoryAccessor mem;
+    private final SerializationService serializationService;
+    private final RecordSlotArray slots;
+
+    private long[] deferredRecords = new long[INITIAL_DEFERRED_CAPACITY];
+    private int deferredCount;
+    private volatile int size;
+    private boolean destroyed;
+
+    // not final for testing purposes.
+    private EntryCostEstimator<Data, Record> entryCostEstimator;
+
+    public NativeStorage(MemoryManager memoryManager, SerializationService serializationService) {
+        this.memoryManager = memoryManager;
+        this.mem = memoryManager.getAccessor();
+        this.serializationService = serializationService;
+        this.entryCostEstimator = createMapSizeEstimator(NATIVE);
+        this.slots = new RecordSlotArray(memoryManager);
+        this.slots.gotoNew();
+    }
+
+    @Override
+    public void put(Data key, Record record) {
+        NativeRecord newRecord = (NativeRecord) record;
+        long hash = key.hash64();
+        for (long index = 0; ; index++) {
+            long slotValueAddress = slots.get(hash, index);
+            if (slotValueAddress == NULL_ADDRESS) {
+                insert(key, newRecord, hash, index);
+                return;
+            }
+            long existingAddress = mem.getLong(slotValueAddress);
+            if (keyEquals(existingAddress, key)) {
+                if (existingAddress != newRecord.address()) {
+                    replace(slotValueAddress, existingAddress, newRecord);
+                }
+                return;
+            }
+        }
+    }
+
+    private void insert(Data key, NativeRecord record, long hash, long index) {
+        long keyAddress = NativeDataUtil.toNative(memoryManager, key);
+        SlotAssignmentResult slot;
+        try {
+            slot = slots.ensure(hash, index);
+        } catch (Error e) {
+            NativeDataUtil.free(memoryManager, keyAddress);
+            throw e;
+        }
+        record.setKeyAddress(keyAddress);
+        mem.putLong(slot.address(), record.address());
+        size++;
+        updateCostEstimate(entryCostEstimator.calculateEntryCost(key, record));
+    }
+
+    private void replace(long slotValueAddress, long existingAddress, NativeRecord newRecord) {
+        NativeRecord existing = new NativeRecord(memoryManager, existingAddress);
+        updateCostEstimate(-entryCostEstimator.calculateValueCost(existing));
+
+        // the key blob is handed over to the new record
+        newRecord.setKeyAddress(existing.getKeyAddress());
+        existing.setKeyAddress(NULL_ADDRESS);
+        mem.putLong(slotValueAddress, newRecord.address());
+        defer(existingAddress);
+
+        updateCostEstimate(entryCostEstimator.calculateValueCost(newRecord));
+    }
+
+    @Override
+    public void updateRecordValue(Data key, Record record, Object value) {
+        updateCostEstimate(-entryCostEstimator.calculateValueCost(record));
+
+        record.setValue(serializationService.toData(value));
+
+        updateCostEstimate(entryCostEstimator.calculateValueCost(record));
+    }
+
+    @Override
+    public Record get(Data key) {
+        long recordAddress = findRecordAddress(key);
+        return recordAddress == NULL_ADDRESS ? null : new NativeRecord(memoryManager, recordAddress);
+    }
+
+    /**
+     * Keys are always copied into native memory on insertion, hence
+     * there is no notion of the same key blob for this storage and this
+     * method is equivalent to {@link #get(Data)}.
+     */
+    @Override
+    public Record getIfSameKey(Data key) {
+        return get(key);
+    }
+
+    @Override
+    public void removeRecord(Data dataKey, @Nonnull Record record) {
+        long hash = dataKey.hash64();
+        for (long index = 0; ; index++) {
+            long slotValueAddress = slots.get(hash, index);
+            if (slotValueAddress == NULL_ADDRESS) {
+                return;
+            }
+            long recordAddress = mem.getLong(slotValueAddress);
+            if (keyEquals(recordAddress, dataKey)) {
+                removeAt(hash, index);
+                size--;
+                defer(recordAddress);
+                updateCostEstimate(-entryCostEstimator.calculateEntryCost(dataKey,
+                        new NativeRecord(memoryManager, recordAddress)));
+                return;
+            }
+        }
+    }
+
+    /**
+     * Removes the slot {@code (hash, index)} while keeping the collision
+     * indexes of a hash contiguous: the last slot of the collision chain
+     * is moved into the place of the removed one.
+     */
+    private void removeAt(long hash, long index) {
+        long lastIndex = index;
+        while (slots.get(hash, lastIndex + 1) != NULL_ADDRESS) {
+            lastIndex++;
+        }
+        if (lastIndex != index) {
+            long lastRecordAddress = mem.getLong(slots.get(hash, lastIndex));
+            mem.putLong(slots.get(hash, index), lastRecordAddress);
+        }
+        slots.remove(hash, lastIndex);
+    }
+
+    @Override
+    public boolean containsKey(Data key) {
+        return findRecordAddress(key) != NULL_ADDRESS;
+    }
+
+    private long findRecordAddress(Data key) {
+        long hash = key.hash64();
+        for (long index = 0; ; index++) {
+            long slotValueAddress = slots.get(hash, index);
+            if (slotValueAddress == NULL_ADDRESS) {
+                return NULL_ADDRESS;
+            }
+            long recordAddress = mem.getLong(slotValueAddress);
+            if (keyEquals(recordAddress, key)) {
+                return recordAddress;
+            }
+        }
+    }
+
+    private boolean keyEquals(long recordAddress, Data key) {
+        return NativeDataUtil.equals(mem, mem.getLong(recordAddress + KEY_ADDRESS_OFFSET), key);
+    }
+
+    @Override
+    public Iterator<Map.Entry<Data, Record>> mutationTolerantIterator() {
+        return new SlotIterator();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public void clear(boolean isDuringShutdown) {
+        if (destroyed) {
+            return;
+        }
+        long capacity = slots.capacity();
+        for (long slot = 0; slot < capacity; slot++) {
+            long recordAddress = slots.recordAddressAt(slot);
+            if (recordAddress != NULL_ADDRESS) {
+                NativeRecord.free(memoryManager, recordAddress);
+            }
+        }
+        slots.clear();
+        slots.trimToSize();
+        size = 0;
+        disposeDeferredBlocks();
+
+        entryCostEstimator.reset();
+    }
+
+    @Override
+    public void destroy(boolean isDuringShutdown) {
+        if (destroyed) {
+            return;
+        }
+        clear(isDuringShutdown);
+        slots.dispose();
+        destroyed = true;
+    }
+
+    @Override
+    public void disposeDeferredBlocks() {
+        for (int i = 0; i < deferredCount; i++) {
+            NativeRecord.free(memoryManager, deferredRecords[i]);
+        }
+        if (deferredRecords.length > INITIAL_DEFERRED_CAPACITY) {
+            deferredRecords = new long[INITIAL_DEFERRED_CAPACITY];
+        }
+        deferredCount = 0;
+    }
+
+    private void defer(long recordAddress) {
+        if (deferredCount == deferredRecords.length) {
+            deferredRecords = Arrays.copyOf(deferredRecords, deferredCount << 1);
+        }
+        deferredRecords[deferredCount++] = recordAddress;
+    }
+
+    @Override
+    public EntryCostEstimator getEntryCostEstimator() {
+        return entryCostEstimator;
+    }
+
+    @Override
+    public void setEntryCostEstimator(EntryCostEstimator entryCostEstimator) {
+        this.entryCostEstimator = entryCostEstimator;
+    }
+
+    private void updateCostEstimate(long entrySize) {
+        entryCostEstimator.adjustEstimateBy(entrySize);
+    }
+
+    @Override
+    public Iterable<EntryView> getRandomSamples(int sampleCount) {
+        if (sampleCount < 0) {
+            throw new IllegalArgumentException("Sample count cannot be a negative value.");
+        }
+        if (sampleCount == 0 || size == 0) {
+            return Collections.emptyList();
+        }
+        long capacity = slots.capacity();
+        long slot = ThreadLocalRandomProvider.get().nextLong() & (capacity - 1);
+        List<EntryView> samples = new ArrayList<>(sampleCount);
+        for (long visited = 0; visited < capacity && samples.size() < sampleCount; visited++) {
+            long recordAddress = slots.recordAddressAt(slot);
+            if (recordAddress != NULL_ADDRESS) {
+                samples.add(new LazyEvictableEntryView<>(keyOf(recordAddress),
+                        new NativeRecord(memoryManager, recordAddress), serializationService));
+            }
+            slot = (slot + 1) & (capacity - 1);
+        }
+        return samples;
+    }
+
+    @Override
+    public MapKeysWithCursor fetchKeys(IterationPointer[] pointers, int size) {
+        List<Data> keys = new ArrayList<>(size);
+        IterationPointer[] newPointers = fetchNext(pointers, size, (key, record) -> keys.add(key));
+        return new MapKeysWithCursor(keys, newPointers);
+    }
+
+    @Override
+    public MapEntriesWithCursor fetchEntries(IterationPointer[] pointers, int size) {
+        List<Map.Entry<Data, Data>> entries = new ArrayList<>(size);
+        IterationPointer[] newPointers = fetchNext(pointers, size,
+                (key, record) -> entries.add(new AbstractMap.SimpleEntry<>(key, record.getValue())));
+        return new MapEntriesWithCursor(entries, newPointers);
+    }
+
+    /**
+     * Walks the slot array from the highest slot towards the lowest one,
+     * mirroring {@link com.hazelcast.internal.util.SampleableConcurrentHashMap}:
+     * a resize of the slot array adds a new pointer and the previous pointers
+     * are used to skip entries which have already been returned. Since the
+     * check is done against the home slot of a key, an entry displaced by
+     * linear probing over the boundary of a previous pointer may be returned
+     * twice if the array was resized during the iteration.
+     */
+    private IterationPointer[] fetchNext(IterationPointer[] pointers, int size, BiConsumer<Data, NativeRecord> consumer) {
+        int capacity = (int) slots.capacity();
+        pointers = checkPointers(pointers, capacity);
+        IterationPointer lastPointer = pointers[pointers.length - 1];
+
+        int nextSlot = lastPointer.getIndex() >= 0 && lastPointer.getIndex() < capacity
+                ? lastPointer.getIndex()
+                : capacity - 1;
+        int counter = 0;
+        while (nextSlot >= 0 && counter < size) {
+            long recordAddress = slots.recordAddressAt(nextSlot--);
+            if (recordAddress == NULL_ADDRESS) {
+                continue;
+            }
+            Data key = keyOf(recordAddress);
+            if (hasNotBeenObserved(key, pointers)) {
+                consumer.accept(key, new NativeRecord(memoryManager, recordAddress));
+                counter++;
+            }
+        }
+        lastPointer.setIndex(nextSlot);
+        return pointers;
+    }
+
+    private static IterationPointer[] checkPointers(IterationPointer[] pointers, int currentCapacity) {
+        IterationPointer lastPointer = pointers[pointers.length - 1];
+        boolean iterationStarted = lastPointer.getSize() == -1;
+        boolean resized = lastPointer.getSize() != currentCapacity;
+        int newLength = !iterationStarted && resized ? pointers.length + 1 : pointers.length;
+
+        IterationPointer[] updatedPointers = new IterationPointer[newLength];
+        for (int i = 0; i < pointers.length; i++) {
+            updatedPointers[i] = new IterationPointer(pointers[i]);
+        }
+        if (iterationStarted || resized) {
+            updatedPointers[updatedPointers.length - 1] = new IterationPointer(Integer.MAX_VALUE, currentCapacity);
+        }
+        return updatedPointers;
+    }
+
+    private boolean hasNotBeenObserved(Data key, IterationPointer[] pointers) {
+        if (pointers.length < 2) {
+            return true;
+        }
+        long hash = key.hash64();
+        for (int i = 0; i < pointers.length - 1; i++) {
+            IterationPointer pointer = pointers[i];
+            if (slots.homeSlot(hash, 0, pointer.getSize()) > pointer.getIndex()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Data keyOf(long recordAddress) {
+        return NativeDataUtil.toHeap(mem, mem.getLong(recordAddress + KEY_ADDRESS_OFFSET));
+    }
+
+    @Override
+    public Record extractRecordFromLazy(EntryView entryView) {
+        return ((LazyEvictableEntryView) entryView).getRecord();
+    }
+
+    @Override
+    public Data extractDataKeyFromLazy(EntryView entryView) {
+        return ((LazyEvictableEntryView) entryView).getDataKey();
+    }
+
+    @Override
+    public Data toBackingDataKeyFormat(Data key) {
+        return key;
+    }
+
+    /**
+     * Iterates over the slots by their index and re-reads the slot
+     * array on every step, so it stays safe to use across updates of
+     * the storage, including resizes.
+     * <p>
+     * Slots are visited downwards, wrapping around, starting below an
+     * unassigned slot. Removals shift the remaining entries of a probe
+     * sequence downwards and never across an unassigned slot, so
+     * removing entries while iterating doesn't make the iterator skip
+     * the not yet visited ones. Entries may still be skipped or seen
+     * twice if the storage is resized while iterating.
+     */
+    private final class SlotIterator implements Iterator<Map.Entry<Data, Record>> {
+
+        private final long start;
+        private long visited;
+        private long slot = -1;
+
+        SlotIterator() {
+            long capacity = slots.capacity();
+            long emptySlot = capacity - 1;
+            while (emptySlot > 0 && slots.recordAddressAt(emptySlot) != NULL_ADDRESS) {
+                emptySlot--;
+            }
+            this.start = emptySlot;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return advance();
+        }
+
+        @Override
+        public Map.Entry<Data, Record> next() {
+            if (!advance()) {
+                throw new NoSuchElementException();
+            }
+            long recordAddress = slots.recordAddressAt(slot);
+            slot = -1;
+            visited++;
+            return new AbstractMap.SimpleEntry<>(keyOf(recordAddress), new NativeRecord(memoryManager, recordAddress));
+        }
+
+        private boolean advance() {
+            if (destroyed) {
+                return false;
+            }
+            long capacity = slots.capacity();
+            if (slot >= 0 && slot < capacity && slots.recordAddressAt(slot) != NULL_ADDRESS) {
+                return true;
+            }
+            while (visited < capacity) {
+                slot = (start - 1 - visited) & (capacity - 1);
+                if (slots.recordAddressAt(slot) != NULL_ADDRESS) {
+                    return true;
+                }
+                visited++;
+            }
+            slot = -1;
+            return false;
+        }
+    }
+
+    /**
+     * Exposes the slots of the backing hash slot array by their index.
+     */
+    private static final class RecordSlotArray extends HashSlotArray16byteKeyImpl {
+
+        RecordSlotArray(MemoryManager memoryManager) {
+            super(NULL_ADDRESS, memoryManager, SLOT_VALUE_LENGTH, DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR);
+        }
+
+        long recordAddressAt(long slot) {
+            long baseAddress = address();
+            if (!isAssigned(baseAddress, slot)) {
+                return NULL_ADDRESS;
+            }
+            return mem().getLong(addrOfValueAt(slotBase(baseAddress, slot)));
+        }
+
+        long homeSlot(long key1, long key2, long capacity) {
+            return keyHash(key1, key2) & (capacity - 1);
+        }
+    }
+}
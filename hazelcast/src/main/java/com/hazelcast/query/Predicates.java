@@ -19,6 +19,7 @@ package com.hazelcast.query;
 import com.hazelcast.query.impl.predicates.FalsePredicate;
 import com.hazelcast.query.impl.PredicateBuilderImpl;
 import com.hazelcast.query.impl.predicates.AndPredicate;
+import com.hazelcast.query.impl.predicates.AttributeComparator;
 import com.hazelcast.query.impl.predicates.BetweenPredicate;
 import com.hazelcast.query.impl.predicates.EqualPredicate;
 import com.hazelcast.query.impl.predicates.GreaterLessPredicate;
@@ -564,6 +565,22 @@ public final class Predicates {
         return new PagingPredicateImpl<>(predicate, comparator, pageSize);
     }
 
+    /**
+     * Creates a comparator that orders entries by the value of the given attribute in the ascending order, {@code null}
+     * values first.
+     * <p>
+     * If a paging predicate uses this comparator and there is a sorted index on the attribute, pages are produced by
+     * walking the index from the anchor of the previous page instead of sorting all the matching entries.
+     *
+     * @param attribute the attribute to order by
+     * @param <K>       the type of keys the comparator operates on.
+     * @param <V>       the type of values the comparator operates on.
+     * @throws IllegalArgumentException if attribute is {@code null} or empty
+     */
+    public static <K, V> Comparator<Map.Entry<K, V>> attributeComparator(String attribute) {
+        return new AttributeComparator<>(attribute);
+    }
+
     /**
      * Creates a new partition predicate that restricts the execution of the target predicate to a single partition.
      *
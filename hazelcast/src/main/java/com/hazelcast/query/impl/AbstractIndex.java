@@ -63,6 +63,7 @@ public abstract class AbstractIndex implements InternalIndex {
     private final IndexConfig config;
     private final boolean ordered;
     private final PerIndexStats stats;
+    private final IndexStatistics statistics;
 
     /**
      * Reference to the store if it is bound to the same partition as the index (local index), {@code null} otherwise.
@@ -71,7 +72,6 @@ public abstract class AbstractIndex implements InternalIndex {
 
     private volatile TypeConverter converter;
 
-    @SuppressFBWarnings("EI_EXPOSE_REP2")
     public AbstractIndex(
         IndexConfig config,
         InternalSerializationService ss,
@@ -79,6 +79,24 @@ public abstract class AbstractIndex implements InternalIndex {
         IndexCopyBehavior copyBehavior,
         PerIndexStats stats,
         StoreAdapter partitionStoreAdapter
+    ) {
+        this(config, ss, extractors, copyBehavior, stats, partitionStoreAdapter, false);
+    }
+
+    /**
+     * @param statisticsEnabled {@code true} if the index should maintain the
+     *                          {@link IndexStatistics} of its values,
+     *                          {@code false} otherwise.
+     */
+    @SuppressFBWarnings("EI_EXPOSE_REP2")
+    public AbstractIndex(
+        IndexConfig config,
+        InternalSerializationService ss,
+        Extractors extractors,
+        IndexCopyBehavior copyBehavior,
+        PerIndexStats stats,
+        StoreAdapter partitionStoreAdapter,
+        boolean statisticsEnabled
     ) {
         this.config = config;
         this.components = IndexUtils.getComponents(config);
@@ -87,6 +105,8 @@ public abstract class AbstractIndex implements InternalIndex {
         this.extractors = extractors;
         this.copyBehavior = copyBehavior;
         this.partitionStoreAdapter = partitionStoreAdapter;
+        // the statistics are passed to the store, so they are created first
+        this.statistics = statisticsEnabled ? new IndexStatistics() : null;
         this.indexStore = createIndexStore(config, stats);
         this.stats = stats;
     }
@@ -286,6 +306,9 @@ public abstract class AbstractIndex implements InternalIndex {
     public void clear() {
         indexStore.clear();
         converter = null;
+        if (statistics != null) {
+            statistics.clear();
+        }
         stats.onClear();
     }
 
@@ -304,6 +327,11 @@ public abstract class AbstractIndex implements InternalIndex {
         return stats;
     }
 
+    @Override
+    public IndexStatistics getStatistics() {
+        return statistics;
+    }
+
     private Object extractAttributeValue(Data key, Object value) {
         if (components.length == 1) {
             return QueryableEntry.extractAttributeValue(extractors, ss, components[0], key, value, null);
@@ -240,7 +240,8 @@ public class AttributeIndexRegistry {
 
         @Override
         public Iterator<QueryableEntry> getSqlRecordIterator() {
-            throw new UnsupportedOperationException("Should not be called");
+            // composite values are ordered by the first component first
+            return delegate.getSqlRecordIterator();
         }
 
         @Override
@@ -250,7 +251,22 @@ public class AttributeIndexRegistry {
 
         @Override
         public Iterator<QueryableEntry> getSqlRecordIterator(Comparison comparison, Comparable value) {
-            throw new UnsupportedOperationException("Should not be called");
+            switch (comparison) {
+                case LESS:
+                    CompositeValue lessFrom = new CompositeValue(width, NULL, POSITIVE_INFINITY);
+                    CompositeValue lessTo = new CompositeValue(width, value, NEGATIVE_INFINITY);
+                    return delegate.getSqlRecordIterator(lessFrom, false, lessTo, false);
+                case GREATER:
+                    return delegate.getSqlRecordIterator(GREATER, new CompositeValue(width, value, POSITIVE_INFINITY));
+                case LESS_OR_EQUAL:
+                    CompositeValue lessOrEqualFrom = new CompositeValue(width, NULL, POSITIVE_INFINITY);
+                    CompositeValue lessOrEqualTo = new CompositeValue(width, value, POSITIVE_INFINITY);
+                    return delegate.getSqlRecordIterator(lessOrEqualFrom, false, lessOrEqualTo, false);
+                case GREATER_OR_EQUAL:
+                    return delegate.getSqlRecordIterator(GREATER_OR_EQUAL, new CompositeValue(width, value, NEGATIVE_INFINITY));
+                default:
+                    throw new IllegalStateException("unexpected comparison: " + comparison);
+            }
         }
 
         @Override
@@ -376,6 +392,12 @@ public class AttributeIndexRegistry {
             return delegate.getPerIndexStats();
         }
 
+        @Override
+        public IndexStatistics getStatistics() {
+            // the statistics of the delegate describe composite values only
+            return null;
+        }
+
         @Override
         public long getPartitionStamp(PartitionIdSet expectedPartitionIds) {
             throw newUnsupportedException();
@@ -0,0 +1,893 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * B+tree that maps comparable keys to values in the order defined by {@link Comparables#compare}.
+ * <p>
+ * Keys are stored in wide array-backed leaves linked into a list, so that range scans read keys and values
+ * sequentially. Leaves store keys in primitive arrays while all keys are whole numbers ({@code Byte}, {@code Short},
+ * {@code Integer} and {@code Long}) or while all keys are floating-point numbers ({@code Float} and {@code Double}).
+ * The tree switches to leaves with generic keys once a key of another kind is inserted.
+ * <p>
+ * Mutations must be performed by one thread at a time. Readers do not need any synchronization and observe weakly
+ * consistent results: the contents of a node are never modified in place, instead an updated copy is published with
+ * a volatile write. Nodes are linked to their right siblings as in a B-link tree: a node truncated by a split keeps
+ * the separator of the split as its high key and points to the new sibling, so a reader which descended to the node
+ * through a stale parent moves right to the sibling. A removed leaf still points to its successor, so readers
+ * positioned on it continue the traversal correctly.
+ * <p>
+ * Search keys are always passed as the left-hand side of comparisons, so that special values like
+ * {@link AbstractIndex#NULL} or {@link CompositeValue#NEGATIVE_INFINITY} could be used as bounds.
+ */
+@SuppressWarnings({"rawtypes", "unchecked", "checkstyle:MethodCount"})
+final class BPlusTree<V> {
+
+    /** Maximum number of keys in a leaf. */
+    static final int LEAF_CAPACITY = 128;
+
+    /** Maximum number of children of an internal node. */
+    static final int INTERNAL_CAPACITY = 64;
+
+    private static final int INITIAL_PATH_CAPACITY = 8;
+
+    private volatile Node root = new Leaf(GenericLeafData.EMPTY);
+
+    /** Kind of keys stored in leaves, {@code null} if no key has been inserted yet. */
+    private KeyKind keyKind;
+
+    /** Internal nodes on the path to the last leaf found for update, with the indexes of the followed children. */
+    private InternalNode[] pathNodes = new InternalNode[INITIAL_PATH_CAPACITY];
+    private int[] pathIndexes = new int[INITIAL_PATH_CAPACITY];
+    private int pathSize;
+
+    /**
+     * @param key the key to look up
+     * @return the value associated with the key, or {@code null} if there is no such value
+     */
+    V get(Comparable key) {
+        LeafData data = findLeaf(key);
+
+        int index = data.search(key);
+
+        return index >= 0 ? (V) data.values[index] : null;
+    }
+
+    /**
+     * Associates the value with the key.
+     *
+     * @return the value previously associated with the key, or {@code null} if there was no such value
+     */
+    V put(Comparable key, V value) {
+        assert value != null;
+
+        prepareKeyKind(key);
+
+        Leaf leaf = findLeafForUpdate(key);
+        LeafData data = leaf.data;
+
+        int index = data.search(key);
+
+        if (index >= 0) {
+            V oldValue = (V) data.values[index];
+
+            leaf.data = data.withValue(index, value);
+
+            return oldValue;
+        }
+
+        LeafData newData = data.insert(-(index + 1), key, value);
+
+        if (newData.size <= LEAF_CAPACITY) {
+            leaf.data = newData;
+        } else {
+            splitLeaf(leaf, newData);
+        }
+
+        return null;
+    }
+
+    /**
+     * Removes the value associated with the key.
+     *
+     * @return the removed value, or {@code null} if there was no value associated with the key
+     */
+    V remove(Comparable key) {
+        if (keyKind == null) {
+            return null;
+        }
+
+        Leaf leaf = findLeafForUpdate(key);
+        LeafData data = leaf.data;
+
+        int index = data.search(key);
+
+        if (index < 0) {
+            return null;
+        }
+
+        V oldValue = (V) data.values[index];
+
+        if (data.size == 1 && pathSize > 0) {
+            removeLeaf(leaf, data);
+        } else {
+            leaf.data = data.remove(index);
+        }
+
+        return oldValue;
+    }
+
+    void clear() {
+        keyKind = null;
+        root = new Leaf(GenericLeafData.EMPTY);
+    }
+
+    boolean isEmpty() {
+        Node root0 = root;
+
+        return root0 instanceof Leaf && ((Leaf) root0).data.size == 0;
+    }
+
+    /**
+     * Returns an iterator over the values of keys in the given range in the key order.
+     *
+     * @param from          the lower bound, or {@code null} if the range has no lower bound
+     * @param fromInclusive whether the lower bound is inclusive
+     * @param to            the upper bound, or {@code null} if the range has no upper bound
+     * @param toInclusive   whether the upper bound is inclusive
+     * @return the iterator
+     */
+    Iterator<V> iterator(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+        LeafData data;
+        int index;
+
+        if (from == null) {
+            Node node = root;
+
+            while (node instanceof InternalNode) {
+                node = ((InternalNode) node).data.children[0];
+            }
+
+            data = ((Leaf) node).data;
+            index = 0;
+        } else {
+            data = findLeaf(from);
+            index = data.search(from);
+
+            if (index >= 0) {
+                index = fromInclusive ? index : index + 1;
+            } else {
+                index = -(index + 1);
+            }
+        }
+
+        return new ValueIterator<>(data, index, to, toInclusive);
+    }
+
+    /**
+     * Finds the contents of the leaf which may contain the key, moving right past the nodes truncated by concurrent
+     * splits.
+     */
+    private LeafData findLeaf(Comparable key) {
+        Node node = root;
+
+        while (node instanceof InternalNode) {
+            InternalData data = ((InternalNode) node).data;
+
+            while (data.highKey != null && Comparables.compare(key, data.highKey) >= 0) {
+                data = data.next.data;
+            }
+
+            node = data.children[data.childIndex(key)];
+        }
+
+        LeafData data = ((Leaf) node).data;
+
+        // The keys moved to the right sibling by a split are greater than or equal to its first key.
+        while (data.next != null && (data.size == 0 || data.compare(key, data.size - 1) > 0)) {
+            LeafData next = data.next.data;
+
+            if (next.size > 0 && next.compare(key, 0) < 0) {
+                break;
+            }
+
+            data = next;
+        }
+
+        return data;
+    }
+
+    private Leaf findLeafForUpdate(Comparable key) {
+        pathSize = 0;
+
+        Node node = root;
+
+        while (node instanceof InternalNode) {
+            InternalNode internal = (InternalNode) node;
+            InternalData data = internal.data;
+
+            int index = data.childIndex(key);
+
+            if (pathSize == pathNodes.length) {
+                pathNodes = Arrays.copyOf(pathNodes, pathSize * 2);
+                pathIndexes = Arrays.copyOf(pathIndexes, pathSize * 2);
+            }
+
+            pathNodes[pathSize] = internal;
+            pathIndexes[pathSize] = index;
+            pathSize++;
+
+            node = data.children[index];
+        }
+
+        return (Leaf) node;
+    }
+
+    private void prepareKeyKind(Comparable key) {
+        KeyKind kind = KeyKind.of(key);
+
+        if (kind == keyKind || keyKind == KeyKind.GENERIC) {
+            return;
+        }
+
+        if (keyKind == null || isEmpty()) {
+            keyKind = kind;
+            root = new Leaf(kind.emptyLeafData());
+        } else {
+            convertToGeneric();
+        }
+    }
+
+    /**
+     * Rebuilds the tree with generic leaves. The new tree is published at once, readers of the old tree are not affected.
+     */
+    private void convertToGeneric() {
+        BPlusTree<V> tree = new BPlusTree<>();
+        tree.keyKind = KeyKind.GENERIC;
+
+        Node node = root;
+
+        while (node instanceof InternalNode) {
+            node = ((InternalNode) node).data.children[0];
+        }
+
+        Leaf leaf = (Leaf) node;
+
+        while (leaf != null) {
+            LeafData data = leaf.data;
+
+            for (int i = 0; i < data.size; i++) {
+                tree.put(data.key(i), (V) data.values[i]);
+            }
+
+            leaf = data.next;
+        }
+
+        keyKind = KeyKind.GENERIC;
+        root = tree.root;
+    }
+
+    private void splitLeaf(Leaf leaf, LeafData data) {
+        int mid = data.size / 2;
+
+        Leaf right = new Leaf(data.slice(mid, data.size, data.next));
+        right.prev = leaf;
+
+        if (data.next != null) {
+            data.next.prev = right;
+        }
+
+        // Make the new leaf reachable first, the old leaf still contains all the keys until it is truncated.
+        insertIntoParent(leaf, data.key(mid), right);
+
+        leaf.data = data.slice(0, mid, right);
+    }
+
+    private void insertIntoParent(Node left, Comparable separator, Node right) {
+        if (pathSize == 0) {
+            root = new InternalNode(new InternalData(new Comparable[] {separator}, new Node[] {left, right}, null, null));
+
+            return;
+        }
+
+        pathSize--;
+
+        InternalNode parent = pathNodes[pathSize];
+        InternalData data = parent.data.insert(pathIndexes[pathSize], separator, right);
+
+        if (data.children.length <= INTERNAL_CAPACITY) {
+            parent.data = data;
+
+            return;
+        }
+
+        int mid = data.children.length / 2;
+
+        InternalNode rightParent = new InternalNode(data.slice(mid, data.children.length, data.highKey, data.next));
+
+        insertIntoParent(parent, data.keys[mid - 1], rightParent);
+
+        parent.data = data.slice(0, mid, data.keys[mid - 1], rightParent);
+    }
+
+    private void removeLeaf(Leaf leaf, LeafData data) {
+        // Make the leaf unreachable from the parent first, then unlink it from the list of leaves.
+        removeFromParent();
+
+        Leaf prev = leaf.prev;
+        Leaf next = data.next;
+
+        if (prev != null) {
+            prev.data = prev.data.withNext(next);
+        }
+
+        if (next != null) {
+            next.prev = prev;
+        }
+
+        // Readers positioned on the removed leaf continue with its successor.
+        leaf.data = data.remove(0);
+        leaf.prev = null;
+    }
+
+    private void removeFromParent() {
+        pathSize--;
+
+        InternalNode parent = pathNodes[pathSize];
+        InternalData data = parent.data;
+
+        if (data.children.length == 1) {
+            if (pathSize == 0) {
+                root = new Leaf(keyKind.emptyLeafData());
+            } else {
+                removeFromParent();
+            }
+
+            return;
+        }
+
+        int index = pathIndexes[pathSize];
+        Node removed = data.children[index];
+
+        if (index > 0 && removed instanceof InternalNode) {
+            // The left sibling takes over the key range of the removed node, so it takes over its link as well.
+            InternalNode left = (InternalNode) data.children[index - 1];
+            InternalData removedData = ((InternalNode) removed).data;
+
+            left.data = left.data.withLink(removedData.highKey, removedData.next);
+        }
+
+        InternalData newData = data.remove(index);
+
+        if (pathSize == 0 && newData.children.length == 1) {
+            root = newData.children[0];
+        } else {
+            parent.data = newData;
+        }
+    }
+
+    /**
+     * Kind of keys stored in leaves.
+     */
+    private enum KeyKind {
+        LONG {
+            @Override
+            LeafData emptyLeafData() {
+                return LongLeafData.EMPTY;
+            }
+        },
+
+        DOUBLE {
+            @Override
+            LeafData emptyLeafData() {
+                return DoubleLeafData.EMPTY;
+            }
+        },
+
+        GENERIC {
+            @Override
+            LeafData emptyLeafData() {
+                return GenericLeafData.EMPTY;
+            }
+        };
+
+        abstract LeafData emptyLeafData();
+
+        static KeyKind of(Comparable key) {
+            if (isLong(key)) {
+                return LONG;
+            } else if (isDouble(key)) {
+                return DOUBLE;
+            } else {
+                return GENERIC;
+            }
+        }
+    }
+
+    private static boolean isLong(Comparable key) {
+        Class<?> clazz = key.getClass();
+
+        return clazz == Long.class || clazz == Integer.class || clazz == Short.class || clazz == Byte.class;
+    }
+
+    private static boolean isDouble(Comparable key) {
+        Class<?> clazz = key.getClass();
+
+        return clazz == Double.class || clazz == Float.class;
+    }
+
+    private abstract static class Node {
+    }
+
+    private static final class InternalNode extends Node {
+
+        private volatile InternalData data;
+
+        private InternalNode(InternalData data) {
+            this.data = data;
+        }
+    }
+
+    /**
+     * Immutable contents of an internal node. The child {@code i} contains keys that are greater than or equal to the
+     * separator {@code i - 1} and less than the separator {@code i}. Keys greater than or equal to the high key are
+     * stored to the right of the node, starting with the next node.
+     */
+    private static final class InternalData {
+
+        private final Comparable[] keys;
+        private final Node[] children;
+
+        /** The lower bound of keys stored to the right of the node, {@code null} if the node is the rightmost one. */
+        private final Comparable highKey;
+        private final InternalNode next;
+
+        private InternalData(Comparable[] keys, Node[] children, Comparable highKey, InternalNode next) {
+            assert keys.length + 1 == children.length;
+
+            this.keys = keys;
+            this.children = children;
+            this.highKey = highKey;
+            this.next = next;
+        }
+
+        private int childIndex(Comparable key) {
+            int low = 0;
+            int high = keys.length;
+
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+
+                if (Comparables.compare(key, keys[mid]) < 0) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+
+            return low;
+        }
+
+        /**
+         * Inserts the separator and the child to the right of the child with the given index.
+         */
+        private InternalData insert(int index, Comparable separator, Node child) {
+            Comparable[] newKeys = new Comparable[keys.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            newKeys[index] = separator;
+            System.arraycopy(keys, index, newKeys, index + 1, keys.length - index);
+
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(children, 0, newChildren, 0, index + 1);
+            newChildren[index + 1] = child;
+            System.arraycopy(children, index + 1, newChildren, index + 2, children.length - index - 1);
+
+            return new InternalData(newKeys, newChildren, highKey, next);
+        }
+
+        /**
+         * Removes the child with the given index and the separator adjacent to it. The key range of the removed child
+         * is merged into the range of the neighbour.
+         */
+        private InternalData remove(int index) {
+            int keyIndex = index > 0 ? index - 1 : 0;
+
+            Comparable[] newKeys = new Comparable[keys.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, keyIndex);
+            System.arraycopy(keys, keyIndex + 1, newKeys, keyIndex, keys.length - keyIndex - 1);
+
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+
+            return new InternalData(newKeys, newChildren, highKey, next);
+        }
+
+        private InternalData withLink(Comparable highKey, InternalNode next) {
+            return new InternalData(keys, children, highKey, next);
+        }
+
+        /**
+         * @return the contents with children in the range [from, to) and the separators between them, linked to the
+         * given node
+         */
+        private InternalData slice(int from, int to, Comparable highKey, InternalNode next) {
+            return new InternalData(Arrays.copyOfRange(keys, from, to - 1), Arrays.copyOfRange(children, from, to),
+                    highKey, next);
+        }
+    }
+
+    private static final class Leaf extends Node {
+
+        private volatile LeafData data;
+
+        /** The previous leaf, accessed by the writer only. */
+        private Leaf prev;
+
+        private Leaf(LeafData data) {
+            this.data = data;
+        }
+    }
+
+    /**
+     * Immutable contents of a leaf. The reference to the next leaf is a part of the contents, so that readers always
+     * observe the successor matching the keys they have read.
+     */
+    private abstract static class LeafData {
+
+        final Object[] values;
+        final int size;
+        final Leaf next;
+
+        LeafData(Object[] values, Leaf next) {
+            this.values = values;
+            this.size = values.length;
+            this.next = next;
+        }
+
+        /**
+         * @return the index of the key, or {@code -(insertion point) - 1} if there is no such key
+         */
+        abstract int search(Comparable key);
+
+        /**
+         * @return the result of comparison of the given key with the key at the given index
+         */
+        abstract int compare(Comparable key, int index);
+
+        abstract Comparable key(int index);
+
+        abstract LeafData insert(int index, Comparable key, Object value);
+
+        abstract LeafData remove(int index);
+
+        abstract LeafData withValue(int index, Object value);
+
+        abstract LeafData withNext(Leaf next);
+
+        /**
+         * @return the contents with entries in the range [from, to) followed by the given leaf
+         */
+        abstract LeafData slice(int from, int to, Leaf next);
+
+        final Object[] insertValue(int index, Object value) {
+            Object[] newValues = new Object[size + 1];
+            System.arraycopy(values, 0, newValues, 0, index);
+            newValues[index] = value;
+            System.arraycopy(values, index, newValues, index + 1, size - index);
+
+            return newValues;
+        }
+
+        final Object[] removeValue(int index) {
+            Object[] newValues = new Object[size - 1];
+            System.arraycopy(values, 0, newValues, 0, index);
+            System.arraycopy(values, index + 1, newValues, index, size - index - 1);
+
+            return newValues;
+        }
+
+        final Object[] replaceValue(int index, Object value) {
+            Object[] newValues = values.clone();
+            newValues[index] = value;
+
+            return newValues;
+        }
+
+        final int searchGeneric(Comparable key) {
+            int low = 0;
+            int high = size - 1;
+
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int order = compare(key, mid);
+
+                if (order > 0) {
+                    low = mid + 1;
+                } else if (order < 0) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+
+            return -(low + 1);
+        }
+    }
+
+    private static final class LongLeafData extends LeafData {
+
+        private static final LongLeafData EMPTY = new LongLeafData(new long[0], new Object[0], null);
+
+        private final long[] keys;
+
+        private LongLeafData(long[] keys, Object[] values, Leaf next) {
+            super(values, next);
+
+            this.keys = keys;
+        }
+
+        @Override
+        int search(Comparable key) {
+            if (isLong(key)) {
+                return Arrays.binarySearch(keys, ((Number) key).longValue());
+            } else {
+                return searchGeneric(key);
+            }
+        }
+
+        @Override
+        int compare(Comparable key, int index) {
+            if (isLong(key)) {
+                return Long.compare(((Number) key).longValue(), keys[index]);
+            } else {
+                return Comparables.compare(key, keys[index]);
+            }
+        }
+
+        @Override
+        Comparable key(int index) {
+            return keys[index];
+        }
+
+        @Override
+        LeafData insert(int index, Comparable key, Object value) {
+            long[] newKeys = new long[size + 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            newKeys[index] = ((Number) key).longValue();
+            System.arraycopy(keys, index, newKeys, index + 1, size - index);
+
+            return new LongLeafData(newKeys, insertValue(index, value), next);
+        }
+
+        @Override
+        LeafData remove(int index) {
+            long[] newKeys = new long[size - 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(keys, index + 1, newKeys, index, size - index - 1);
+
+            return new LongLeafData(newKeys, removeValue(index), next);
+        }
+
+        @Override
+        LeafData withValue(int index, Object value) {
+            return new LongLeafData(keys, replaceValue(index, value), next);
+        }
+
+        @Override
+        LeafData withNext(Leaf next) {
+            return new LongLeafData(keys, values, next);
+        }
+
+        @Override
+        LeafData slice(int from, int to, Leaf next) {
+            return new LongLeafData(Arrays.copyOfRange(keys, from, to), Arrays.copyOfRange(values, from, to), next);
+        }
+    }
+
+    private static final class DoubleLeafData extends LeafData {
+
+        private static final DoubleLeafData EMPTY = new DoubleLeafData(new double[0], new Object[0], null);
+
+        private final double[] keys;
+
+        private DoubleLeafData(double[] keys, Object[] values, Leaf next) {
+            super(values, next);
+
+            this.keys = keys;
+        }
+
+        @Override
+        int search(Comparable key) {
+            if (isDouble(key)) {
+                // Arrays.binarySearch uses the same ordering as Double.compare.
+                return Arrays.binarySearch(keys, ((Number) key).doubleValue());
+            } else {
+                return searchGeneric(key);
+            }
+        }
+
+        @Override
+        int compare(Comparable key, int index) {
+            if (isDouble(key)) {
+                return Double.compare(((Number) key).doubleValue(), keys[index]);
+            } else {
+                return Comparables.compare(key, keys[index]);
+            }
+        }
+
+        @Override
+        Comparable key(int index) {
+            return keys[index];
+        }
+
+        @Override
+        LeafData insert(int index, Comparable key, Object value) {
+            double[] newKeys = new double[size + 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            newKeys[index] = ((Number) key).doubleValue();
+            System.arraycopy(keys, index, newKeys, index + 1, size - index);
+
+            return new DoubleLeafData(newKeys, insertValue(index, value), next);
+        }
+
+        @Override
+        LeafData remove(int index) {
+            double[] newKeys = new double[size - 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(keys, index + 1, newKeys, index, size - index - 1);
+
+            return new DoubleLeafData(newKeys, removeValue(index), next);
+        }
+
+        @Override
+        LeafData withValue(int index, Object value) {
+            return new DoubleLeafData(keys, replaceValue(index, value), next);
+        }
+
+        @Override
+        LeafData withNext(Leaf next) {
+            return new DoubleLeafData(keys, values, next);
+        }
+
+        @Override
+        LeafData slice(int from, int to, Leaf next) {
+            return new DoubleLeafData(Arrays.copyOfRange(keys, from, to), Arrays.copyOfRange(values, from, to), next);
+        }
+    }
+
+    private static final class GenericLeafData extends LeafData {
+
+        private static final GenericLeafData EMPTY = new GenericLeafData(new Comparable[0], new Object[0], null);
+
+        private final Comparable[] keys;
+
+        private GenericLeafData(Comparable[] keys, Object[] values, Leaf next) {
+            super(values, next);
+
+            this.keys = keys;
+        }
+
+        @Override
+        int search(Comparable key) {
+            return searchGeneric(key);
+        }
+
+        @Override
+        int compare(Comparable key, int index) {
+            return Comparables.compare(key, keys[index]);
+        }
+
+        @Override
+        Comparable key(int index) {
+            return keys[index];
+        }
+
+        @Override
+        LeafData insert(int index, Comparable key, Object value) {
+            Comparable[] newKeys = new Comparable[size + 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            newKeys[index] = key;
+            System.arraycopy(keys, index, newKeys, index + 1, size - index);
+
+            return new GenericLeafData(newKeys, insertValue(index, value), next);
+        }
+
+        @Override
+        LeafData remove(int index) {
+            Comparable[] newKeys = new Comparable[size - 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(keys, index + 1, newKeys, index, size - index - 1);
+
+            return new GenericLeafData(newKeys, removeValue(index), next);
+        }
+
+        @Override
+        LeafData withValue(int index, Object value) {
+            return new GenericLeafData(keys, replaceValue(index, value), next);
+        }
+
+        @Override
+        LeafData withNext(Leaf next) {
+            return new GenericLeafData(keys, values, next);
+        }
+
+        @Override
+        LeafData slice(int from, int to, Leaf next) {
+            return new GenericLeafData(Arrays.copyOfRange(keys, from, to), Arrays.copyOfRange(values, from, to), next);
+        }
+    }
+
+    /**
+     * Iterator over values of a range of keys. Follows the snapshots of leaves, so that concurrent updates never make
+     * the iterator skip or repeat keys which were not modified during the iteration.
+     */
+    private static final class ValueIterator<V> implements Iterator<V> {
+
+        private final Comparable to;
+        private final boolean toInclusive;
+
+        private LeafData data;
+        private int index;
+
+        private ValueIterator(LeafData data, int index, Comparable to, boolean toInclusive) {
+            this.data = data;
+            this.index = index;
+            this.to = to;
+            this.toInclusive = toInclusive;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (data != null) {
+                if (index < data.size) {
+                    if (to != null) {
+                        int order = data.compare(to, index);
+
+                        if (order < 0 || order == 0 && !toInclusive) {
+                            data = null;
+
+                            return false;
+                        }
+                    }
+
+                    return true;
+                }
+
+                Leaf next = data.next;
+
+                data = next != null ? next.data : null;
+                index = 0;
+            }
+
+            return false;
+        }
+
+        @Override
+        public V next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            return (V) data.values[index++];
+        }
+    }
+}
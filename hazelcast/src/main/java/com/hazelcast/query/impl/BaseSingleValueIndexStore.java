@@ -43,8 +43,22 @@ public abstract class BaseSingleValueIndexStore extends BaseIndexStore {
      */
     private volatile boolean multiResultHasToDetectDuplicates;
 
+    /**
+     * The statistics of the stored values or {@code null} if they are not
+     * maintained. Only the values actually added to or removed from the store
+     * are recorded, so repeated insertions of the same record, for instance by
+     * an index build racing with the updates of the partition, don't inflate
+     * the statistics.
+     */
+    private final IndexStatistics statistics;
+
     BaseSingleValueIndexStore(IndexCopyBehavior copyOn, boolean enableGlobalLock) {
+        this(copyOn, enableGlobalLock, null);
+    }
+
+    BaseSingleValueIndexStore(IndexCopyBehavior copyOn, boolean enableGlobalLock, IndexStatistics statistics) {
         super(copyOn, enableGlobalLock);
+        this.statistics = statistics;
     }
 
     /**
@@ -122,11 +136,13 @@ public abstract class BaseSingleValueIndexStore extends BaseIndexStore {
                 Comparable sanitizedValue = sanitizeValue(o);
                 Object oldValue = insertInternal(sanitizedValue, queryableEntry);
                 operationStats.onEntryAdded(oldValue, newValue);
+                onInserted(oldValue, sanitizedValue);
             }
         } else {
             Comparable sanitizedValue = sanitizeValue(newValue);
             Object oldValue = insertInternal(sanitizedValue, queryableEntry);
             operationStats.onEntryAdded(oldValue, newValue);
+            onInserted(oldValue, sanitizedValue);
         }
     }
 
@@ -141,11 +157,25 @@ public abstract class BaseSingleValueIndexStore extends BaseIndexStore {
                 Comparable sanitizedValue = sanitizeValue(o);
                 Object removedValue = removeInternal(sanitizedValue, indexKey);
                 operationStats.onEntryRemoved(removedValue);
+                onRemoved(removedValue, sanitizedValue);
             }
         } else {
             Comparable sanitizedValue = sanitizeValue(oldValue);
             Object removedValue = removeInternal(sanitizedValue, indexKey);
             operationStats.onEntryRemoved(removedValue);
+            onRemoved(removedValue, sanitizedValue);
+        }
+    }
+
+    private void onInserted(Object replacedRecord, Comparable value) {
+        if (statistics != null && replacedRecord == null) {
+            statistics.onInsert(value);
+        }
+    }
+
+    private void onRemoved(Object removedRecord, Comparable value) {
+        if (statistics != null && removedRecord != null) {
+            statistics.onRemove(value);
         }
     }
 
@@ -0,0 +1,449 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.core.TypeConverter;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.util.collection.Long2ObjectHashMap;
+import com.hazelcast.query.Predicate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.hazelcast.query.impl.AbstractIndex.NULL;
+import static com.hazelcast.query.impl.UnorderedIndexStore.canonicalizeForHashStorage;
+import static com.hazelcast.query.impl.UnorderedIndexStore.canonicalizeLongRepresentable;
+import static java.util.Collections.emptyIterator;
+import static java.util.Collections.singletonMap;
+
+/**
+ * Store indexes out of turn, optimized for unique and near-unique attributes.
+ * <p>
+ * Unlike the {@link UnorderedIndexStore}, which allocates a map of records for
+ * every distinct value, a value associated with a single record references the
+ * record directly; the records are inflated to a map only if several records
+ * share the value. Whole-number values are stored in a primitive open
+ * addressing map, so no boxed key and no map entry are allocated for them.
+ * <p>
+ * The maps are not thread-safe, all the accesses are guarded by the global
+ * lock. SQL record iterators are created from snapshots taken under the lock.
+ */
+@SuppressWarnings("rawtypes")
+public class CompactHashIndexStore extends BaseSingleValueIndexStore {
+
+    /**
+     * Maps whole-number values to a {@link QueryableEntry} or to a map of
+     * records.
+     */
+    private final Long2ObjectHashMap<Object> longRecords = new Long2ObjectHashMap<>();
+
+    /**
+     * Maps other values to a {@link QueryableEntry} or to a map of records.
+     */
+    private final Map<Comparable, Object> objectRecords = new HashMap<>();
+
+    private final boolean copyOnWrite;
+
+    private volatile Map<Data, QueryableEntry> recordsWithNullValue;
+
+    public CompactHashIndexStore(IndexCopyBehavior copyOn) {
+        this(copyOn, null);
+    }
+
+    /**
+     * @param copyOn     the copy behavior of the store.
+     * @param statistics the statistics to record the stored values to, or
+     *                   {@code null} if the statistics are not maintained.
+     */
+    public CompactHashIndexStore(IndexCopyBehavior copyOn, IndexStatistics statistics) {
+        super(copyOn, true, statistics);
+        copyOnWrite = copyOn == IndexCopyBehavior.COPY_ON_WRITE;
+        recordsWithNullValue = copyOnWrite ? Collections.emptyMap() : new ConcurrentHashMap<>();
+    }
+
+    @Override
+    Object insertInternal(Comparable value, QueryableEntry record) {
+        markIndexStoreExpirableIfNecessary(record);
+        if (value == NULL) {
+            if (copyOnWrite) {
+                HashMap<Data, QueryableEntry> copy = new HashMap<>(recordsWithNullValue);
+                Object oldValue = copy.put(record.getKeyData(), record);
+                recordsWithNullValue = copy;
+                return oldValue;
+            } else {
+                return recordsWithNullValue.put(record.getKeyData(), record);
+            }
+        }
+
+        Object slot = getSlot(value);
+        if (slot == null) {
+            putSlot(value, record);
+            return null;
+        }
+
+        if (slot instanceof QueryableEntry) {
+            QueryableEntry existing = (QueryableEntry) slot;
+            if (existing.getKeyData().equals(record.getKeyData())) {
+                putSlot(value, record);
+                return existing;
+            }
+
+            // inflate on the first collision
+            Map<Data, QueryableEntry> records = newRecords();
+            records.put(existing.getKeyData(), existing);
+            records.put(record.getKeyData(), record);
+            putSlot(value, records);
+            return null;
+        }
+
+        Map<Data, QueryableEntry> records = asRecords(slot);
+        if (copyOnWrite) {
+            records = new HashMap<>(records);
+            Object oldValue = records.put(record.getKeyData(), record);
+            putSlot(value, records);
+            return oldValue;
+        } else {
+            return records.put(record.getKeyData(), record);
+        }
+    }
+
+    @Override
+    Object removeInternal(Comparable value, Data recordKey) {
+        if (value == NULL) {
+            if (copyOnWrite) {
+                HashMap<Data, QueryableEntry> copy = new HashMap<>(recordsWithNullValue);
+                Object oldValue = copy.remove(recordKey);
+                recordsWithNullValue = copy;
+                return oldValue;
+            } else {
+                return recordsWithNullValue.remove(recordKey);
+            }
+        }
+
+        Object slot = getSlot(value);
+        if (slot == null) {
+            return null;
+        }
+
+        if (slot instanceof QueryableEntry) {
+            QueryableEntry existing = (QueryableEntry) slot;
+            if (existing.getKeyData().equals(recordKey)) {
+                removeSlot(value);
+                return existing;
+            }
+            return null;
+        }
+
+        Map<Data, QueryableEntry> records = asRecords(slot);
+        if (!records.containsKey(recordKey)) {
+            return null;
+        }
+        if (copyOnWrite) {
+            records = new HashMap<>(records);
+        }
+        Object oldValue = records.remove(recordKey);
+
+        // deflate back to a single record
+        if (records.size() == 1) {
+            putSlot(value, records.values().iterator().next());
+        } else if (records.isEmpty()) {
+            removeSlot(value);
+        } else if (copyOnWrite) {
+            putSlot(value, records);
+        }
+        return oldValue;
+    }
+
+    @Override
+    public Comparable canonicalizeQueryArgumentScalar(Comparable value) {
+        // Using a storage representation for arguments here to save on
+        // conversions later.
+        return canonicalizeScalarForStorage(value);
+    }
+
+    @Override
+    public Comparable canonicalizeScalarForStorage(Comparable value) {
+        return canonicalizeForHashStorage(value);
+    }
+
+    @Override
+    public void clear() {
+        takeWriteLock();
+        try {
+            recordsWithNullValue.clear();
+            longRecords.clear();
+            objectRecords.clear();
+        } finally {
+            releaseWriteLock();
+        }
+    }
+
+    @Override
+    public boolean isEvaluateOnly() {
+        return false;
+    }
+
+    @Override
+    public boolean canEvaluate(Class<? extends Predicate> predicateClass) {
+        return false;
+    }
+
+    @Override
+    public Set<QueryableEntry> evaluate(Predicate predicate, TypeConverter converter) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getSqlRecordIterator() {
+        takeReadLock();
+        try {
+            List<QueryableEntry> snapshot = new ArrayList<>(recordsWithNullValue.values());
+            for (Object slot : longRecords.values()) {
+                addTo(snapshot, slot);
+            }
+            for (Object slot : objectRecords.values()) {
+                addTo(snapshot, slot);
+            }
+            return snapshot.iterator();
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getSqlRecordIterator(Comparable value) {
+        if (value == NULL) {
+            return recordsWithNullValue.values().iterator();
+        }
+
+        takeReadLock();
+        try {
+            Object slot = getSlot(canonicalize(value));
+            if (slot == null) {
+                return emptyIterator();
+            }
+            if (slot instanceof QueryableEntry) {
+                return Collections.singleton((QueryableEntry) slot).iterator();
+            }
+            return new ArrayList<>(asRecords(slot).values()).iterator();
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getSqlRecordIterator(Comparison comparison, Comparable value) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getSqlRecordIterator(
+        Comparable from,
+        boolean fromInclusive,
+        Comparable to,
+        boolean toInclusive
+    ) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparable value) {
+        takeReadLock();
+        try {
+            if (value == NULL) {
+                return toSingleResultSet(recordsWithNullValue);
+            } else {
+                return toSingleResultSet(toRecords(getSlot(canonicalize(value))));
+            }
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Set<Comparable> values) {
+        takeReadLock();
+        try {
+            MultiResultSet results = createMultiResultSet();
+            for (Comparable value : values) {
+                Map<Data, QueryableEntry> records;
+                if (value == NULL) {
+                    records = recordsWithNullValue;
+                } else {
+                    // value is already canonicalized by the associated index
+                    records = toRecords(getSlot(value));
+                }
+                if (records != null) {
+                    copyToMultiResultSet(results, records);
+                }
+            }
+            return results;
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparison comparison, Comparable value) {
+        takeReadLock();
+        try {
+            MultiResultSet results = createMultiResultSet();
+            for (Map.Entry<Long, Object> entry : longRecords.entrySet()) {
+                Comparable indexedValue = canonicalizeLongRepresentable(entry.getKey());
+                if (matches(comparison, Comparables.compare(value, indexedValue))) {
+                    copyToMultiResultSet(results, toRecords(entry.getValue()));
+                }
+            }
+            for (Map.Entry<Comparable, Object> entry : objectRecords.entrySet()) {
+                if (matches(comparison, Comparables.compare(value, entry.getKey()))) {
+                    copyToMultiResultSet(results, toRecords(entry.getValue()));
+                }
+            }
+            return results;
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+        takeReadLock();
+        try {
+            MultiResultSet results = createMultiResultSet();
+            if (Comparables.compare(from, to) == 0) {
+                if (!fromInclusive || !toInclusive) {
+                    return results;
+                }
+
+                Map<Data, QueryableEntry> records = toRecords(getSlot(canonicalize(from)));
+                if (records != null) {
+                    copyToMultiResultSet(results, records);
+                }
+                return results;
+            }
+
+            int fromBound = fromInclusive ? 0 : +1;
+            int toBound = toInclusive ? 0 : -1;
+            for (Map.Entry<Long, Object> entry : longRecords.entrySet()) {
+                Comparable value = canonicalizeLongRepresentable(entry.getKey());
+                if (Comparables.compare(value, from) >= fromBound && Comparables.compare(value, to) <= toBound) {
+                    copyToMultiResultSet(results, toRecords(entry.getValue()));
+                }
+            }
+            for (Map.Entry<Comparable, Object> entry : objectRecords.entrySet()) {
+                Comparable value = entry.getKey();
+                if (Comparables.compare(value, from) >= fromBound && Comparables.compare(value, to) <= toBound) {
+                    copyToMultiResultSet(results, toRecords(entry.getValue()));
+                }
+            }
+            return results;
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    private Object getSlot(Comparable value) {
+        if (isLongKey(value)) {
+            return longRecords.get(((Number) value).longValue());
+        } else {
+            return objectRecords.get(value);
+        }
+    }
+
+    private void putSlot(Comparable value, Object slot) {
+        if (isLongKey(value)) {
+            longRecords.put(((Number) value).longValue(), slot);
+        } else {
+            objectRecords.put(value, slot);
+        }
+    }
+
+    private void removeSlot(Comparable value) {
+        if (isLongKey(value)) {
+            longRecords.remove(((Number) value).longValue());
+        } else {
+            objectRecords.remove(value);
+        }
+    }
+
+    private Map<Data, QueryableEntry> newRecords() {
+        return copyOnWrite ? new HashMap<>() : new ConcurrentHashMap<>(2, LOAD_FACTOR, 1);
+    }
+
+    private Comparable canonicalize(Comparable value) {
+        if (value instanceof CompositeValue) {
+            Comparable[] components = ((CompositeValue) value).getComponents();
+            for (int i = 0; i < components.length; ++i) {
+                components[i] = canonicalizeScalarForStorage(components[i]);
+            }
+            return value;
+        } else {
+            return canonicalizeScalarForStorage(value);
+        }
+    }
+
+    private static boolean isLongKey(Comparable value) {
+        // whole numbers are canonicalized to integers and longs
+        return value instanceof Long || value instanceof Integer;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Data, QueryableEntry> asRecords(Object slot) {
+        return (Map<Data, QueryableEntry>) slot;
+    }
+
+    private static Map<Data, QueryableEntry> toRecords(Object slot) {
+        if (slot == null) {
+            return null;
+        }
+        if (slot instanceof QueryableEntry) {
+            QueryableEntry record = (QueryableEntry) slot;
+            return singletonMap(record.getKeyData(), record);
+        }
+        return asRecords(slot);
+    }
+
+    private static void addTo(List<QueryableEntry> snapshot, Object slot) {
+        if (slot instanceof QueryableEntry) {
+            snapshot.add((QueryableEntry) slot);
+        } else {
+            snapshot.addAll(asRecords(slot).values());
+        }
+    }
+
+    private static boolean matches(Comparison comparison, int result) {
+        switch (comparison) {
+            case LESS:
+                return result > 0;
+            case LESS_OR_EQUAL:
+                return result >= 0;
+            case GREATER:
+                return result < 0;
+            case GREATER_OR_EQUAL:
+                return result <= 0;
+            default:
+                throw new IllegalStateException("Unrecognized comparison: " + comparison);
+        }
+    }
+
+}
@@ -34,8 +34,9 @@ public class DefaultIndexProvider implements IndexProvider {
         IndexCopyBehavior copyBehavior,
         PerIndexStats stats,
         StoreAdapter partitionStoreAdapter,
-        int partitionCount
+        int partitionCount,
+        boolean statisticsEnabled
     ) {
-        return new IndexImpl(config, ss, extractors, copyBehavior, stats, partitionCount);
+        return new IndexImpl(config, ss, extractors, copyBehavior, stats, partitionCount, statisticsEnabled);
     }
 }
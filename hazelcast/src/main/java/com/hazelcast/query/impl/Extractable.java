@@ -18,9 +18,31 @@ package com.hazelcast.query.impl;
 
 import com.hazelcast.query.QueryException;
 
+import java.util.function.DoubleConsumer;
+import java.util.function.LongConsumer;
+
 /**
  * Enables extracting attribute value from an object, usually from an Entry
  */
 public interface Extractable {
     Object getAttributeValue(String attributeName) throws QueryException;
+
+    /**
+     * Extracts the value of the given attribute and passes it to one of the
+     * given consumers without boxing it, if the attribute value can be read
+     * as a primitive: integral values are passed to the long consumer and
+     * floating point values to the double consumer.
+     *
+     * @param attributeName  the name of the attribute to extract.
+     * @param longConsumer   the consumer of the integral values or {@code null}.
+     * @param doubleConsumer the consumer of the floating point values or
+     *                       {@code null}.
+     * @return {@code true} if the extracted value was passed to one of the
+     * consumers, {@code false} if the value must be extracted using {@link
+     * #getAttributeValue(String)}.
+     */
+    default boolean getAttributeValue(String attributeName, LongConsumer longConsumer, DoubleConsumer doubleConsumer)
+            throws QueryException {
+        return false;
+    }
 }
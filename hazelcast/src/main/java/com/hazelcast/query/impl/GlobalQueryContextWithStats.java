@@ -252,6 +252,11 @@ public class GlobalQueryContextWithStats extends QueryContext {
             return delegate.getPerIndexStats();
         }
 
+        @Override
+        public IndexStatistics getStatistics() {
+            return delegate.getStatistics();
+        }
+
         @Override
         public long getPartitionStamp(PartitionIdSet expectedPartitionIds) {
             return delegate.getPartitionStamp(expectedPartitionIds);
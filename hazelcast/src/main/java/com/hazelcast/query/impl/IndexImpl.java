@@ -37,7 +37,19 @@ public class IndexImpl extends AbstractIndex {
         PerIndexStats stats,
         int partitionCount
     ) {
-        super(config, ss, extractors, copyBehavior, stats, null);
+        this(config, ss, extractors, copyBehavior, stats, partitionCount, false);
+    }
+
+    public IndexImpl(
+        IndexConfig config,
+        InternalSerializationService ss,
+        Extractors extractors,
+        IndexCopyBehavior copyBehavior,
+        PerIndexStats stats,
+        int partitionCount,
+        boolean statisticsEnabled
+    ) {
+        super(config, ss, extractors, copyBehavior, stats, null, statisticsEnabled);
 
         partitionTracker = new GlobalIndexPartitionTracker(partitionCount);
     }
@@ -46,9 +58,9 @@ public class IndexImpl extends AbstractIndex {
     protected IndexStore createIndexStore(IndexConfig config, PerIndexStats stats) {
         switch (config.getType()) {
             case SORTED:
-                return new OrderedIndexStore(copyBehavior);
+                return new BPlusTreeIndexStore(copyBehavior, getStatistics());
             case HASH:
-                return new UnorderedIndexStore(copyBehavior);
+                return new CompactHashIndexStore(copyBehavior, getStatistics());
             case BITMAP:
                 return new BitmapIndexStore(config, ss, extractors);
             default:
@@ -40,6 +40,8 @@ public interface IndexProvider {
      * @param copyBehavior the desired index copy behaviour.
      * @param stats        the index stats instance to report the statistics to.
      * @param storeAdapter the reference to the store adapter. {@code null} if the index is global.
+     * @param statisticsEnabled {@code true} if the index should maintain the
+     *                          {@link IndexStatistics} of its values.
      * @return the created index instance.
      */
     InternalIndex createIndex(
@@ -49,6 +51,7 @@ public interface IndexProvider {
             IndexCopyBehavior copyBehavior,
             PerIndexStats stats,
             StoreAdapter storeAdapter,
-            int partitionCount
+            int partitionCount,
+            boolean statisticsEnabled
     );
 }
@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.query.impl.getters.MultiResult;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.hazelcast.internal.util.HashUtil.MurmurHash3_fmix;
+import static com.hazelcast.query.impl.AbstractIndex.NULL;
+
+/**
+ * Approximate statistics of the values stored in an index, maintained
+ * incrementally by the index store as values are actually added and removed.
+ * <p>
+ * The number of entries having a certain value is tracked by a count-min
+ * sketch, so equality estimates never underestimate the real count, even for
+ * heavily skewed values. Numeric values are additionally tracked by a
+ * histogram having a bucket per binary order of magnitude of each sign, which
+ * is used to estimate the number of entries in a range.
+ * <p>
+ * The statistics are used by the cost-based query optimizer to choose the
+ * most selective index of a conjunction, indexes maintain them only if that
+ * optimizer is configured.
+ * <p>
+ * Updates must be performed by one thread at a time, the index stores update
+ * the statistics under their write lock. Estimates may be requested
+ * concurrently with the updates.
+ */
+@SuppressWarnings("rawtypes")
+public final class IndexStatistics {
+
+    /**
+     * The fraction of entries assumed to match a range which bound can't be
+     * estimated using the histogram.
+     */
+    static final double DEFAULT_RANGE_SELECTIVITY = 1.0 / 3;
+
+    private static final int SKETCH_DEPTH = 2;
+    private static final int SKETCH_WIDTH = 1024;
+    private static final int[] SKETCH_SEEDS = {0x9E3779B9, 0x7F4A7C15};
+
+    private static final int MAX_EXPONENT = 31;
+    private static final int MAGNITUDE_BUCKETS = 2 * MAX_EXPONENT + 2;
+    private static final int ZERO_BUCKET = MAGNITUDE_BUCKETS;
+    private static final int HISTOGRAM_BUCKETS = 2 * MAGNITUDE_BUCKETS + 1;
+
+    private final LongAdder entryCount = new LongAdder();
+    private final AtomicLongArray sketch = new AtomicLongArray(SKETCH_DEPTH * SKETCH_WIDTH);
+    private final AtomicLongArray histogram = new AtomicLongArray(HISTOGRAM_BUCKETS);
+
+    /**
+     * Records the given attribute value inserted into the index.
+     */
+    public void onInsert(Object value) {
+        update(value, 1);
+    }
+
+    /**
+     * Records the given attribute value removed from the index.
+     */
+    public void onRemove(Object value) {
+        update(value, -1);
+    }
+
+    /**
+     * Resets the statistics after the index is cleared.
+     */
+    public void clear() {
+        entryCount.reset();
+        for (int i = 0; i < sketch.length(); ++i) {
+            sketch.set(i, 0);
+        }
+        for (int i = 0; i < histogram.length(); ++i) {
+            histogram.set(i, 0);
+        }
+    }
+
+    /**
+     * @return the number of values stored in the index.
+     */
+    public long getEntryCount() {
+        return Math.max(0, entryCount.sum());
+    }
+
+    /**
+     * Estimates the number of entries having the given value.
+     *
+     * @param value the value, already converted to the type of the index.
+     * @return the estimated entry count, never less than the real count.
+     */
+    public long estimateEqual(Comparable value) {
+        int hash = hash(value);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < SKETCH_DEPTH; ++row) {
+            estimate = Math.min(estimate, sketch.get(sketchIndex(row, hash)));
+        }
+        return Math.max(0, Math.min(estimate, getEntryCount()));
+    }
+
+    /**
+     * Estimates the number of entries having values in the given range.
+     *
+     * @param from the lower bound or {@code null} if unbounded, already
+     *             converted to the type of the index.
+     * @param to   the upper bound or {@code null} if unbounded, already
+     *             converted to the type of the index.
+     * @return the estimated entry count.
+     */
+    public long estimateRange(Comparable from, Comparable to) {
+        boolean fromNumeric = from == null || from instanceof Number;
+        boolean toNumeric = to == null || to instanceof Number;
+        if (!fromNumeric || !toNumeric || from == null && to == null) {
+            return (long) (getEntryCount() * DEFAULT_RANGE_SELECTIVITY);
+        }
+
+        int fromBucket = from == null ? 0 : bucket((Number) from);
+        int toBucket = to == null ? HISTOGRAM_BUCKETS - 1 : bucket((Number) to);
+        if (fromBucket > toBucket) {
+            return 0;
+        }
+
+        // the bounding buckets are assumed to be covered by a half
+        long estimate = 0;
+        for (int i = fromBucket; i <= toBucket; ++i) {
+            long count = Math.max(0, histogram.get(i));
+            boolean partial = i == fromBucket && from != null || i == toBucket && to != null;
+            estimate += partial ? (count + 1) / 2 : count;
+        }
+        return Math.min(estimate, getEntryCount());
+    }
+
+    private void update(Object value, int delta) {
+        if (value instanceof MultiResult) {
+            List<Object> results = ((MultiResult) value).getResults();
+            for (Object result : results) {
+                updateSingle(result, delta);
+            }
+        } else {
+            updateSingle(value, delta);
+        }
+    }
+
+    private void updateSingle(Object value, int delta) {
+        entryCount.add(delta);
+
+        int hash = hash(value);
+        for (int row = 0; row < SKETCH_DEPTH; ++row) {
+            add(sketch, sketchIndex(row, hash), delta);
+        }
+
+        if (value instanceof Number) {
+            add(histogram, bucket((Number) value), delta);
+        }
+    }
+
+    /**
+     * Adds the delta to the counter without an atomic read-modify-write, the
+     * updates are serialized by the caller.
+     */
+    private static void add(AtomicLongArray counters, int index, int delta) {
+        counters.lazySet(index, counters.get(index) + delta);
+    }
+
+    private static int hash(Object value) {
+        if (value == null || value == NULL) {
+            return NULL.hashCode();
+        }
+        if (value instanceof Comparable) {
+            value = Comparables.canonicalizeForHashLookup((Comparable) value);
+        }
+        return value.hashCode();
+    }
+
+    private static int sketchIndex(int row, int hash) {
+        return row * SKETCH_WIDTH + (MurmurHash3_fmix(hash ^ SKETCH_SEEDS[row]) & (SKETCH_WIDTH - 1));
+    }
+
+    /**
+     * Maps the given number to a histogram bucket. Buckets are ordered by the
+     * values they cover: negative values by a decreasing magnitude, zero, then
+     * positive values by an increasing magnitude.
+     */
+    private static int bucket(Number number) {
+        double value = number.doubleValue();
+        if (value == 0.0 || Double.isNaN(value)) {
+            return ZERO_BUCKET;
+        }
+
+        int exponent = Math.getExponent(value);
+        int magnitude = Math.max(-MAX_EXPONENT, Math.min(MAX_EXPONENT + 1, exponent)) + MAX_EXPONENT;
+        return value < 0 ? MAGNITUDE_BUCKETS - 1 - magnitude : ZERO_BUCKET + 1 + magnitude;
+    }
+
+}
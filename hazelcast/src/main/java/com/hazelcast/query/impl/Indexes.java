@@ -65,6 +65,8 @@ public class Indexes {
     private final IndexCopyBehavior indexCopyBehavior;
     private final QueryContextProvider queryContextProvider;
     private final InternalSerializationService serializationService;
+    private final Runnable indexAddedCallback;
+    private final boolean indexStatisticsEnabled;
 
     private final Map<String, InternalIndex> indexesByName = new ConcurrentHashMap<>(3);
     private final AttributeIndexRegistry attributeIndexRegistry = new AttributeIndexRegistry();
@@ -79,7 +81,8 @@ public class Indexes {
 
     private Indexes(InternalSerializationService serializationService, IndexCopyBehavior indexCopyBehavior, Extractors extractors,
                     IndexProvider indexProvider, boolean usesCachedQueryableEntries, boolean statisticsEnabled, boolean global,
-                    InMemoryFormat inMemoryFormat, int partitionCount) {
+                    InMemoryFormat inMemoryFormat, int partitionCount, Runnable indexAddedCallback,
+                    boolean indexStatisticsEnabled) {
         this.global = global;
         this.indexCopyBehavior = indexCopyBehavior;
         this.serializationService = serializationService;
@@ -89,6 +92,8 @@ public class Indexes {
         this.indexProvider = indexProvider == null ? new DefaultIndexProvider() : indexProvider;
         this.queryContextProvider = createQueryContextProvider(this, global, statisticsEnabled);
         this.partitionCount = partitionCount;
+        this.indexAddedCallback = indexAddedCallback;
+        this.indexStatisticsEnabled = indexStatisticsEnabled;
     }
 
     public static void beginPartitionUpdate(InternalIndex[] indexes) {
@@ -150,7 +155,8 @@ public class Indexes {
                 indexCopyBehavior,
                 stats.createPerIndexStats(indexConfig.getType() == IndexType.SORTED, usesCachedQueryableEntries),
                 partitionStoreAdapter,
-                partitionCount
+                partitionCount,
+                indexStatisticsEnabled
         );
 
         indexesByName.put(name, index);
@@ -168,6 +174,10 @@ public class Indexes {
             newCompositeIndexes[oldCompositeIndexes.length] = index;
             compositeIndexes = newCompositeIndexes;
         }
+
+        if (indexAddedCallback != null) {
+            indexAddedCallback.run();
+        }
         return index;
     }
 
@@ -491,6 +501,8 @@ public class Indexes {
         private IndexProvider indexProvider;
         private InMemoryFormat inMemoryFormat;
         private int partitionCount;
+        private Runnable indexAddedCallback;
+        private boolean indexStatisticsEnabled;
 
         Builder(SerializationService ss, IndexCopyBehavior indexCopyBehavior, InMemoryFormat inMemoryFormat) {
             this.serializationService = checkNotNull((InternalSerializationService) ss, "serializationService cannot be null");
@@ -552,12 +564,33 @@ public class Indexes {
             return this;
         }
 
+        /**
+         * @param indexAddedCallback the callback invoked every time a new index
+         *                           is created by the indexes, may be {@code null}
+         * @return this builder instance
+         */
+        public Builder indexAddedCallback(Runnable indexAddedCallback) {
+            this.indexAddedCallback = indexAddedCallback;
+            return this;
+        }
+
+        /**
+         * @param indexStatisticsEnabled set {@code true} if the indexes should
+         *                               maintain the {@link IndexStatistics} of
+         *                               their values, otherwise set {@code false}
+         * @return this builder instance
+         */
+        public Builder indexStatisticsEnabled(boolean indexStatisticsEnabled) {
+            this.indexStatisticsEnabled = indexStatisticsEnabled;
+            return this;
+        }
+
         /**
          * @return a new instance of Indexes
          */
         public Indexes build() {
             return new Indexes(serializationService, indexCopyBehavior, extractors, indexProvider, usesCachedQueryableEntries,
-                    statsEnabled, global, inMemoryFormat, partitionCount);
+                    statsEnabled, global, inMemoryFormat, partitionCount, indexAddedCallback, indexStatisticsEnabled);
         }
 
     }
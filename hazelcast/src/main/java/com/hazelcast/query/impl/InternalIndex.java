@@ -91,6 +91,12 @@ public interface InternalIndex extends Index {
      */
     PerIndexStats getPerIndexStats();
 
+    /**
+     * Returns the statistics of the values stored in this index, or {@code null}
+     * if the index doesn't maintain them.
+     */
+    IndexStatistics getStatistics();
+
     /**
      * Get monotonically increasing stamp that confirms that the index contains
      * only expected partitions, and that there are no concurrent partition updates, and
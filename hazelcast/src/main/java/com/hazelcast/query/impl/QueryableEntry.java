@@ -30,6 +30,8 @@ import com.hazelcast.query.impl.getters.MultiResult;
 import com.hazelcast.query.impl.getters.ReflectionHelper;
 
 import java.util.Map;
+import java.util.function.DoubleConsumer;
+import java.util.function.LongConsumer;
 
 import static com.hazelcast.query.QueryConstants.KEY_ATTRIBUTE_NAME;
 import static com.hazelcast.query.QueryConstants.THIS_ATTRIBUTE_NAME;
@@ -59,6 +61,10 @@ public abstract class QueryableEntry<K, V> implements Extractable, Map.Entry<K,
         return null;
     }
 
+    public InternalSerializationService getSerializationService() {
+        return serializationService;
+    }
+
     public Record getRecord() {
         return record;
     }
@@ -80,6 +86,19 @@ public abstract class QueryableEntry<K, V> implements Extractable, Map.Entry<K,
         return extractAttributeValue(attributeName);
     }
 
+    @Override
+    public boolean getAttributeValue(String attributeName, LongConsumer longConsumer, DoubleConsumer doubleConsumer)
+            throws QueryException {
+        if (KEY_ATTRIBUTE_NAME.value().equals(attributeName) || THIS_ATTRIBUTE_NAME.value().equals(attributeName)) {
+            // the key and the value are boxed already
+            return false;
+        }
+
+        boolean isKey = startsWithKeyConstant(attributeName);
+        Object target = getTargetObject(isKey);
+        return extractors.extractPrimitive(target, getAttributeName(isKey, attributeName), longConsumer, doubleConsumer);
+    }
+
     public abstract V getValue();
 
     public abstract K getKey();
@@ -77,6 +77,18 @@ public class UnorderedIndexStore extends BaseSingleValueIndexStore {
 
     @Override
     public Comparable canonicalizeScalarForStorage(Comparable value) {
+        return canonicalizeForHashStorage(value);
+    }
+
+    /**
+     * Canonicalizes the given scalar value for storing it in a hash index or
+     * for looking it up in a hash index.
+     * <p>
+     * Whole numbers are represented as {@link Integer} or {@link Long}
+     * values, floating-point numbers without a fraction are represented as
+     * whole numbers.
+     */
+    static Comparable canonicalizeForHashStorage(Comparable value) {
         // Assuming on-heap overhead of 12 bytes for the object header and
         // allocation granularity by modulo 8, there is no point in trying to
         // represent a value in less than 4 bytes.
@@ -422,7 +434,7 @@ public class UnorderedIndexStore extends BaseSingleValueIndexStore {
         }
     }
 
-    private static Comparable canonicalizeLongRepresentable(long value) {
+    static Comparable canonicalizeLongRepresentable(long value) {
         if (value == (long) (int) value) {
             return (int) value;
         } else {
@@ -34,16 +34,20 @@ import java.util.Map;
  * of type {@code E}. Each indexed entry is uniquely identified by its unique
  * {@code long} key provided externally.
  * <p>
- * Internally, each bitmap manages a set of sparse bit sets, one for each
+ * Internally, each bitmap manages a set of compressed bit sets, one for each
  * possible attribute value, and a sparse array to map from unique {@code long}
- * entry keys back to entries.
+ * entry keys back to entries. Predicates are evaluated by combining the bit
+ * sets container by container, see {@link ContainerBitSet}.
  *
  * @param <E> the type of entries being indexed.
  */
 @SuppressWarnings("rawtypes")
 public final class Bitmap<E> {
 
-    private final Map<Object, SparseBitSet> bitSets = new HashMap<>();
+    private final Map<Object, ContainerBitSet> bitSets = new HashMap<>();
+
+    // the keys of all the entries, used to evaluate negations
+    private final ContainerBitSet keys = new ContainerBitSet();
 
     private final SparseArray<E> entries = new SparseArray<>();
 
@@ -60,14 +64,15 @@ public final class Bitmap<E> {
             Object value = values.next();
             assert value != null;
 
-            SparseBitSet bitSet = bitSets.get(value);
+            ContainerBitSet bitSet = bitSets.get(value);
             if (bitSet == null) {
-                bitSet = new SparseBitSet();
+                bitSet = new ContainerBitSet();
                 bitSets.put(value, bitSet);
             }
             bitSet.add(key);
         }
 
+        keys.add(key);
         entries.set(key, entry);
     }
 
@@ -85,7 +90,7 @@ public final class Bitmap<E> {
             Object value = oldValues.next();
             assert value != null;
 
-            SparseBitSet bitSet = bitSets.get(value);
+            ContainerBitSet bitSet = bitSets.get(value);
             if (bitSet != null) {
                 bitSet.remove(key);
             }
@@ -95,9 +100,9 @@ public final class Bitmap<E> {
             Object value = newValues.next();
             assert value != null;
 
-            SparseBitSet bitSet = bitSets.get(value);
+            ContainerBitSet bitSet = bitSets.get(value);
             if (bitSet == null) {
-                bitSet = new SparseBitSet();
+                bitSet = new ContainerBitSet();
                 bitSets.put(value, bitSet);
             }
             bitSet.add(key);
@@ -118,7 +123,7 @@ public final class Bitmap<E> {
             Object value = values.next();
             assert value != null;
 
-            SparseBitSet bitSet = bitSets.get(value);
+            ContainerBitSet bitSet = bitSets.get(value);
             if (bitSet != null) {
                 if (bitSet.remove(key)) {
                     bitSets.remove(value);
@@ -126,6 +131,7 @@ public final class Bitmap<E> {
             }
         }
 
+        keys.remove(key);
         entries.clear(key);
     }
 
@@ -134,6 +140,7 @@ public final class Bitmap<E> {
      */
     public void clear() {
         bitSets.clear();
+        keys.clear();
         entries.clear();
     }
 
@@ -151,73 +158,65 @@ public final class Bitmap<E> {
      * @return an iterator containing entries matching the given predicate.
      */
     public Iterator<E> evaluate(Predicate predicate, TypeConverter converter) {
-        return new EntryIterator<>(predicateIterator(predicate, converter), entries.iterator());
+        return new EntryIterator<>(predicateBitSet(predicate, converter).iterator(), entries.iterator());
     }
 
     @SuppressWarnings("checkstyle:npathcomplexity")
-    private AscendingLongIterator predicateIterator(Predicate predicate, TypeConverter converter) {
+    private ContainerBitSet predicateBitSet(Predicate predicate, TypeConverter converter) {
         if (predicate instanceof AndPredicate) {
             Predicate[] predicates = ((AndPredicate) predicate).getPredicates();
             assert predicates.length > 0;
-            if (predicates.length == 1) {
-                return predicateIterator(predicates[0], converter);
-            } else {
-                return BitmapAlgorithms.and(predicateIterators(predicates, converter));
-            }
+            return ContainerBitSet.and(predicateBitSets(predicates, converter));
         }
 
         if (predicate instanceof OrPredicate) {
             Predicate[] predicates = ((OrPredicate) predicate).getPredicates();
             assert predicates.length > 0;
-            if (predicates.length == 1) {
-                return predicateIterator(predicates[0], converter);
-            } else {
-                return BitmapAlgorithms.or(predicateIterators(predicates, converter));
-            }
+            return ContainerBitSet.or(predicateBitSets(predicates, converter));
         }
 
         if (predicate instanceof NotPredicate) {
             Predicate subPredicate = ((NotPredicate) predicate).getPredicate();
-            return BitmapAlgorithms.not(predicateIterator(subPredicate, converter), entries);
+            return ContainerBitSet.andNot(keys, predicateBitSet(subPredicate, converter));
         }
 
         if (predicate instanceof NotEqualPredicate) {
             Comparable value = ((NotEqualPredicate) predicate).getValue();
-            return BitmapAlgorithms.not(valueIterator(value, converter), entries);
+            return ContainerBitSet.andNot(keys, valueBitSet(value, converter));
         }
 
         if (predicate instanceof EqualPredicate) {
             Comparable value = ((EqualPredicate) predicate).getFrom();
-            return valueIterator(value, converter);
+            return valueBitSet(value, converter);
         }
 
         if (predicate instanceof InPredicate) {
             Comparable[] values = ((InPredicate) predicate).getValues();
-            return BitmapAlgorithms.or(valueIterators(values, converter));
+            return ContainerBitSet.or(valueBitSets(values, converter));
         }
 
         throw new IllegalArgumentException("unexpected predicate: " + predicate);
     }
 
-    private AscendingLongIterator[] predicateIterators(Predicate[] predicates, TypeConverter converter) {
-        AscendingLongIterator[] iterators = new AscendingLongIterator[predicates.length];
+    private ContainerBitSet[] predicateBitSets(Predicate[] predicates, TypeConverter converter) {
+        ContainerBitSet[] bitSets = new ContainerBitSet[predicates.length];
         for (int i = 0; i < predicates.length; ++i) {
-            iterators[i] = predicateIterator(predicates[i], converter);
+            bitSets[i] = predicateBitSet(predicates[i], converter);
         }
-        return iterators;
+        return bitSets;
     }
 
-    private AscendingLongIterator valueIterator(Comparable value, TypeConverter converter) {
-        SparseBitSet bitSet = bitSets.get(converter.convert(value));
-        return bitSet == null ? AscendingLongIterator.EMPTY : bitSet.iterator();
+    private ContainerBitSet valueBitSet(Comparable value, TypeConverter converter) {
+        ContainerBitSet bitSet = bitSets.get(converter.convert(value));
+        return bitSet == null ? new ContainerBitSet() : bitSet;
     }
 
-    private AscendingLongIterator[] valueIterators(Comparable[] values, TypeConverter converter) {
-        AscendingLongIterator[] iterators = new AscendingLongIterator[values.length];
+    private ContainerBitSet[] valueBitSets(Comparable[] values, TypeConverter converter) {
+        ContainerBitSet[] bitSets = new ContainerBitSet[values.length];
         for (int i = 0; i < values.length; ++i) {
-            iterators[i] = valueIterator(values[i], converter);
+            bitSets[i] = valueBitSet(values[i], converter);
         }
-        return iterators;
+        return bitSets;
     }
 
     /**
@@ -0,0 +1,1263 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.bitmap;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+import static java.lang.Long.bitCount;
+import static java.lang.Long.numberOfTrailingZeros;
+import static java.lang.System.arraycopy;
+import static java.util.Arrays.copyOf;
+
+/**
+ * Stores a compressed set of bits indexable by non-negative {@code long}
+ * indexes and supports container-wise set operations on such sets.
+ * <p>
+ * Internally, the high 48 bits of the indexes are stored in a sorted array
+ * which is used to lookup a {@link Container Container} for the low 16 bits.
+ * Containers go in three flavors:
+ * <ul>
+ * <li>{@link RunContainer RunContainer} which manages sorted runs of
+ * consecutive values, used for dense clustered data like sequentially
+ * assigned keys.
+ * <li>{@link ArrayContainer ArrayContainer} which manages sorted char array of
+ * values, used for sparse data.
+ * <li>{@link BitmapContainer BitmapContainer} which manages directly
+ * indexable long array of bits, used for dense scattered data.
+ * </ul>
+ * <p>
+ * The implementation follows the design of Roaring Bitmap. Unlike {@link
+ * SparseBitSet}, which set operations are evaluated lazily by merging
+ * iterators member by member, {@link #and}, {@link #or} and {@link #andNot}
+ * operate on whole containers: bitmap containers are combined word by word
+ * in tight loops the JIT is able to vectorize, array containers are probed
+ * or merged. The results are normalized to the most compact container
+ * flavor.
+ * <p>
+ * Results of the set operations may share containers with the operands, so
+ * they must be treated as read-only and must not outlive modifications of
+ * the operands.
+ */
+@SuppressWarnings("checkstyle:methodcount")
+final class ContainerBitSet {
+
+    /**
+     * The maximum size of an array container, at this size the array
+     * container occupies as much memory as a bitmap container.
+     */
+    static final int ARRAY_CONTAINER_MAX_SIZE = 4096;
+
+    /**
+     * The maximum number of runs in a run container, at this number of runs
+     * the run container occupies as much memory as a bitmap container.
+     */
+    static final int RUN_CONTAINER_MAX_RUNS = 2048;
+
+    /**
+     * The number of runs a run container may always have, regardless of its
+     * cardinality. Protects small containers from flipping between flavors.
+     */
+    static final int RUN_CONTAINER_MIN_RUNS = 8;
+
+    private static final int CONTAINER_SHIFT = 16;
+    private static final int CONTAINER_CAPACITY = 1 << CONTAINER_SHIFT;
+    private static final int LOW_MASK = CONTAINER_CAPACITY - 1;
+
+    // 2^6 = 64 = number of bits a long can store
+    private static final int WORD_SHIFT = 6;
+    private static final int WORDS = CONTAINER_CAPACITY >>> WORD_SHIFT;
+
+    private static final int MIN_CAPACITY = 4;
+
+    private static final Comparator<ContainerBitSet> CARDINALITY_COMPARATOR =
+            (left, right) -> Long.compare(left.cardinality(), right.cardinality());
+
+    private long[] keys;
+    private Container[] containers;
+    private int size;
+
+    /**
+     * Constructs a new empty bit set.
+     */
+    ContainerBitSet() {
+        this(0);
+    }
+
+    private ContainerBitSet(int capacity) {
+        this.keys = new long[capacity];
+        this.containers = new Container[capacity];
+    }
+
+    /**
+     * Adds the given member to this bit set.
+     *
+     * @param member the member to add.
+     */
+    public void add(long member) {
+        assert member >= 0;
+        long key = member >>> CONTAINER_SHIFT;
+        int value = (int) member & LOW_MASK;
+
+        int index = indexOf(key);
+        if (index >= 0) {
+            containers[index] = containers[index].add(value);
+        } else {
+            insert(-(index + 1), key, new RunContainer(value));
+        }
+    }
+
+    /**
+     * Removes the given member from this bit set.
+     *
+     * @param member the member to remove.
+     * @return {@code true} if this bit set became empty as a result of the
+     * member removal, {@code false} otherwise.
+     */
+    public boolean remove(long member) {
+        assert member >= 0;
+        long key = member >>> CONTAINER_SHIFT;
+
+        int index = indexOf(key);
+        if (index < 0) {
+            return false;
+        }
+
+        Container container = containers[index].remove((int) member & LOW_MASK);
+        if (container == null) {
+            --size;
+            arraycopy(keys, index + 1, keys, index, size - index);
+            arraycopy(containers, index + 1, containers, index, size - index);
+            containers[size] = null;
+            return size == 0;
+        }
+        containers[index] = container;
+        return false;
+    }
+
+    /**
+     * @return {@code true} if the given member is present in this bit set,
+     * {@code false} otherwise.
+     */
+    public boolean contains(long member) {
+        assert member >= 0;
+        int index = indexOf(member >>> CONTAINER_SHIFT);
+        return index >= 0 && containers[index].contains((int) member & LOW_MASK);
+    }
+
+    /**
+     * @return the number of members in this bit set.
+     */
+    public long cardinality() {
+        long cardinality = 0;
+        for (int i = 0; i < size; ++i) {
+            cardinality += containers[i].cardinality();
+        }
+        return cardinality;
+    }
+
+    /**
+     * @return {@code true} if this bit set has no members, {@code false}
+     * otherwise.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Clears this bit set.
+     */
+    public void clear() {
+        keys = new long[0];
+        containers = new Container[0];
+        size = 0;
+    }
+
+    /**
+     * @return an iterator that iterates over all the indexes of bits set in
+     * this bit set.
+     */
+    public AscendingLongIterator iterator() {
+        return size == 0 ? AscendingLongIterator.EMPTY : new IteratorImpl(this);
+    }
+
+    /**
+     * @return a bit set that represents a result of intersection of the given
+     * bit sets.
+     */
+    public static ContainerBitSet and(ContainerBitSet[] bitSets) {
+        assert bitSets.length > 0;
+        if (bitSets.length == 1) {
+            return bitSets[0];
+        }
+
+        // start with the smallest sets to keep the intermediate results small
+        ContainerBitSet[] sorted = bitSets.clone();
+        Arrays.sort(sorted, CARDINALITY_COMPARATOR);
+
+        ContainerBitSet result = sorted[0];
+        for (int i = 1; i < sorted.length && !result.isEmpty(); ++i) {
+            result = and(result, sorted[i]);
+        }
+        return result;
+    }
+
+    /**
+     * @return a bit set that represents a result of union over the given bit
+     * sets.
+     */
+    public static ContainerBitSet or(ContainerBitSet[] bitSets) {
+        assert bitSets.length > 0;
+        ContainerBitSet result = bitSets[0];
+        for (int i = 1; i < bitSets.length; ++i) {
+            result = or(result, bitSets[i]);
+        }
+        return result;
+    }
+
+    /**
+     * @return a bit set that represents a result of intersection of the given
+     * bit sets.
+     */
+    public static ContainerBitSet and(ContainerBitSet left, ContainerBitSet right) {
+        ContainerBitSet result = new ContainerBitSet(Math.min(left.size, right.size));
+
+        int leftIndex = 0;
+        int rightIndex = 0;
+        while (leftIndex < left.size && rightIndex < right.size) {
+            long leftKey = left.keys[leftIndex];
+            long rightKey = right.keys[rightIndex];
+            if (leftKey < rightKey) {
+                leftIndex = left.indexAtLeast(leftIndex + 1, rightKey);
+            } else if (leftKey > rightKey) {
+                rightIndex = right.indexAtLeast(rightIndex + 1, leftKey);
+            } else {
+                Container container = and(left.containers[leftIndex], right.containers[rightIndex]);
+                if (container != null) {
+                    result.append(leftKey, container);
+                }
+                ++leftIndex;
+                ++rightIndex;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * @return a bit set that represents a result of union of the given bit
+     * sets.
+     */
+    public static ContainerBitSet or(ContainerBitSet left, ContainerBitSet right) {
+        if (left.isEmpty()) {
+            return right;
+        }
+        if (right.isEmpty()) {
+            return left;
+        }
+        ContainerBitSet result = new ContainerBitSet(left.size + right.size);
+
+        int leftIndex = 0;
+        int rightIndex = 0;
+        while (leftIndex < left.size && rightIndex < right.size) {
+            long leftKey = left.keys[leftIndex];
+            long rightKey = right.keys[rightIndex];
+            if (leftKey < rightKey) {
+                result.append(leftKey, left.containers[leftIndex++]);
+            } else if (leftKey > rightKey) {
+                result.append(rightKey, right.containers[rightIndex++]);
+            } else {
+                result.append(leftKey, or(left.containers[leftIndex++], right.containers[rightIndex++]));
+            }
+        }
+        while (leftIndex < left.size) {
+            result.append(left.keys[leftIndex], left.containers[leftIndex++]);
+        }
+        while (rightIndex < right.size) {
+            result.append(right.keys[rightIndex], right.containers[rightIndex++]);
+        }
+
+        return result;
+    }
+
+    /**
+     * @return a bit set that represents a result of subtraction of the given
+     * right bit set from the given left bit set.
+     */
+    public static ContainerBitSet andNot(ContainerBitSet left, ContainerBitSet right) {
+        if (left.isEmpty() || right.isEmpty()) {
+            return left;
+        }
+        ContainerBitSet result = new ContainerBitSet(left.size);
+
+        int rightIndex = 0;
+        for (int leftIndex = 0; leftIndex < left.size; ++leftIndex) {
+            long leftKey = left.keys[leftIndex];
+            Container leftContainer = left.containers[leftIndex];
+
+            rightIndex = right.indexAtLeast(rightIndex, leftKey);
+            if (rightIndex < right.size && right.keys[rightIndex] == leftKey) {
+                Container container = andNot(leftContainer, right.containers[rightIndex]);
+                if (container != null) {
+                    result.append(leftKey, container);
+                }
+            } else {
+                result.append(leftKey, leftContainer);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Finds the index of the given key in the sorted keys array.
+     *
+     * @return the index of the key, if found; otherwise, {@code
+     * (-(insertion point) - 1)} just like {@link Arrays#binarySearch}.
+     */
+    private int indexOf(long key) {
+        if (size == 0) {
+            return -1;
+        }
+        // fast path for sequentially assigned members
+        long lastKey = keys[size - 1];
+        if (key == lastKey) {
+            return size - 1;
+        }
+        if (key > lastKey) {
+            return -(size + 1);
+        }
+        return Arrays.binarySearch(keys, 0, size - 1, key);
+    }
+
+    /**
+     * @return the index of the first key which is greater than or equal to
+     * the given key among the keys starting at the given index or the size of
+     * this bit set if there is no such key.
+     */
+    private int indexAtLeast(int from, long key) {
+        if (from >= size || keys[from] >= key) {
+            return from;
+        }
+        int index = Arrays.binarySearch(keys, from, size, key);
+        return index >= 0 ? index : -(index + 1);
+    }
+
+    private void insert(int index, long key, Container container) {
+        if (size == keys.length) {
+            int capacity = Math.max(MIN_CAPACITY, size + (size >>> 1));
+            keys = copyOf(keys, capacity);
+            containers = copyOf(containers, capacity);
+        }
+        arraycopy(keys, index, keys, index + 1, size - index);
+        arraycopy(containers, index, containers, index + 1, size - index);
+        keys[index] = key;
+        containers[index] = container;
+        ++size;
+    }
+
+    private void append(long key, Container container) {
+        assert size == 0 || keys[size - 1] < key;
+        insert(size, key, container);
+    }
+
+    static Container and(Container left, Container right) {
+        if (left instanceof ArrayContainer) {
+            return ((ArrayContainer) left).retain(right, true);
+        }
+        if (right instanceof ArrayContainer) {
+            return ((ArrayContainer) right).retain(left, true);
+        }
+
+        long[] leftWords = left.words();
+        long[] rightWords = right.words();
+        long[] words = new long[WORDS];
+        for (int i = 0; i < WORDS; ++i) {
+            words[i] = leftWords[i] & rightWords[i];
+        }
+        return fromWords(words);
+    }
+
+    static Container or(Container left, Container right) {
+        if (left instanceof ArrayContainer && right instanceof ArrayContainer) {
+            ArrayContainer leftArray = (ArrayContainer) left;
+            ArrayContainer rightArray = (ArrayContainer) right;
+            if (leftArray.size + rightArray.size <= ARRAY_CONTAINER_MAX_SIZE) {
+                return leftArray.merge(rightArray);
+            }
+        }
+
+        long[] words = left.copyWords();
+        right.orInto(words);
+        return fromWords(words);
+    }
+
+    static Container andNot(Container left, Container right) {
+        if (left instanceof ArrayContainer) {
+            return ((ArrayContainer) left).retain(right, false);
+        }
+
+        long[] words = left.copyWords();
+        right.andNotInto(words);
+        return fromWords(words);
+    }
+
+    /**
+     * Creates the most compact container holding the bits of the given words
+     * array, the array becomes owned by the container.
+     *
+     * @return the created container or {@code null} if no bits are set.
+     */
+    static Container fromWords(long[] words) {
+        int cardinality = 0;
+        int runs = 0;
+        long previous = 0;
+        for (int i = 0; i < WORDS; ++i) {
+            long word = words[i];
+            cardinality += bitCount(word);
+            // a run starts at every set bit which preceding bit is not set
+            runs += bitCount(word & ~(word << 1 | previous >>> (Long.SIZE - 1)));
+            previous = word;
+        }
+
+        if (cardinality == 0) {
+            return null;
+        }
+        if (preferRuns(runs, cardinality)) {
+            return RunContainer.fromWords(words, runs, cardinality);
+        }
+        if (cardinality <= ARRAY_CONTAINER_MAX_SIZE) {
+            return ArrayContainer.fromWords(words, cardinality);
+        }
+        return new BitmapContainer(words, cardinality);
+    }
+
+    /**
+     * Creates the most compact container holding the given sorted values, the
+     * array becomes owned by the container.
+     *
+     * @return the created container or {@code null} if no values given.
+     */
+    static Container fromValues(char[] values, int size) {
+        if (size == 0) {
+            return null;
+        }
+        int runs = 1;
+        for (int i = 1; i < size; ++i) {
+            if (values[i] != values[i - 1] + 1) {
+                ++runs;
+            }
+        }
+        if (preferRuns(runs, size)) {
+            return RunContainer.fromValues(values, size, runs);
+        }
+        return new ArrayContainer(values, size);
+    }
+
+    /**
+     * Decides whether the run container is the most compact flavor for the
+     * given number of runs and the given cardinality. A run occupies as much
+     * memory as two array container values.
+     */
+    static boolean preferRuns(int runs, int cardinality) {
+        return runs <= RUN_CONTAINER_MAX_RUNS && (runs <= RUN_CONTAINER_MIN_RUNS || 2 * runs <= cardinality);
+    }
+
+    private static void setRange(long[] words, int from, int to) {
+        // sets bits in [from, to] range
+        int fromWord = from >>> WORD_SHIFT;
+        int toWord = to >>> WORD_SHIFT;
+        long fromMask = -1L << from;
+        long toMask = -1L >>> (Long.SIZE - 1 - (to & (Long.SIZE - 1)));
+        if (fromWord == toWord) {
+            words[fromWord] |= fromMask & toMask;
+            return;
+        }
+        words[fromWord] |= fromMask;
+        for (int i = fromWord + 1; i < toWord; ++i) {
+            words[i] = -1L;
+        }
+        words[toWord] |= toMask;
+    }
+
+    private static void clearRange(long[] words, int from, int to) {
+        // clears bits in [from, to] range
+        int fromWord = from >>> WORD_SHIFT;
+        int toWord = to >>> WORD_SHIFT;
+        long fromMask = -1L << from;
+        long toMask = -1L >>> (Long.SIZE - 1 - (to & (Long.SIZE - 1)));
+        if (fromWord == toWord) {
+            words[fromWord] &= ~(fromMask & toMask);
+            return;
+        }
+        words[fromWord] &= ~fromMask;
+        for (int i = fromWord + 1; i < toWord; ++i) {
+            words[i] = 0;
+        }
+        words[toWord] &= ~toMask;
+    }
+
+    private static int nextSetBit(long[] words, int from) {
+        if (from >= CONTAINER_CAPACITY) {
+            return -1;
+        }
+        int wordIndex = from >>> WORD_SHIFT;
+        long word = words[wordIndex] & -1L << from;
+        while (word == 0) {
+            if (++wordIndex == WORDS) {
+                return -1;
+            }
+            word = words[wordIndex];
+        }
+        return wordIndex << WORD_SHIFT | numberOfTrailingZeros(word);
+    }
+
+    /**
+     * Defines internal contract of containers responsible for storing of
+     * 16-bit low parts of the members.
+     * <p>
+     * Containers are never empty, the modification methods return a
+     * replacement container if the container flavor changes.
+     */
+    abstract static class Container {
+
+        /**
+         * @return the number of values in this container.
+         */
+        abstract int cardinality();
+
+        /**
+         * @return {@code true} if the given value is present in this
+         * container, {@code false} otherwise.
+         */
+        abstract boolean contains(int value);
+
+        /**
+         * Adds the given value to this container.
+         *
+         * @return this container or a new container replacing this one.
+         */
+        abstract Container add(int value);
+
+        /**
+         * Removes the given value from this container.
+         *
+         * @return this container, a new container replacing this one or
+         * {@code null} if this container became empty.
+         */
+        abstract Container remove(int value);
+
+        /**
+         * @return the bits of this container as a words array. The returned
+         * array must not be modified.
+         */
+        abstract long[] words();
+
+        /**
+         * @return a new words array holding the bits of this container.
+         */
+        long[] copyWords() {
+            long[] words = new long[WORDS];
+            orInto(words);
+            return words;
+        }
+
+        /**
+         * Sets the bits of this container in the given words array.
+         */
+        abstract void orInto(long[] words);
+
+        /**
+         * Clears the bits of this container in the given words array.
+         */
+        abstract void andNotInto(long[] words);
+
+        /**
+         * @return a new cursor positioned at the first value of this
+         * container.
+         */
+        abstract Cursor cursor();
+
+    }
+
+    /**
+     * Iterates over values of a single container.
+     */
+    abstract static class Cursor {
+
+        /**
+         * @return the value at which this cursor is positioned.
+         */
+        abstract int value();
+
+        /**
+         * Advances this cursor to the next value.
+         *
+         * @return the next value or {@code -1} if there are no more values.
+         */
+        abstract int advance();
+
+        /**
+         * Advances this cursor to the given value, which is greater than the
+         * current one, or to the value immediately following it.
+         *
+         * @return the value advanced to or {@code -1} if there is no such
+         * value.
+         */
+        abstract int advanceAtLeastTo(int value);
+
+    }
+
+    /**
+     * Manages sorted char array of values.
+     */
+    static final class ArrayContainer extends Container {
+
+        private char[] values;
+        private int size;
+
+        ArrayContainer(char[] values, int size) {
+            assert size > 0 && size <= ARRAY_CONTAINER_MAX_SIZE;
+            this.values = values;
+            this.size = size;
+        }
+
+        static ArrayContainer fromWords(long[] words, int cardinality) {
+            char[] values = new char[cardinality];
+            int size = 0;
+            for (int i = 0; i < WORDS; ++i) {
+                long word = words[i];
+                while (word != 0) {
+                    values[size++] = (char) (i << WORD_SHIFT | numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            return new ArrayContainer(values, size);
+        }
+
+        @Override
+        int cardinality() {
+            return size;
+        }
+
+        @Override
+        boolean contains(int value) {
+            return Arrays.binarySearch(values, 0, size, (char) value) >= 0;
+        }
+
+        @Override
+        Container add(int value) {
+            int index = Arrays.binarySearch(values, 0, size, (char) value);
+            if (index >= 0) {
+                return this;
+            }
+            if (size == ARRAY_CONTAINER_MAX_SIZE) {
+                return toBitmap().add(value);
+            }
+
+            index = -(index + 1);
+            if (size == values.length) {
+                values = copyOf(values, Math.min(ARRAY_CONTAINER_MAX_SIZE, Math.max(MIN_CAPACITY, size + (size >>> 1))));
+            }
+            arraycopy(values, index, values, index + 1, size - index);
+            values[index] = (char) value;
+            ++size;
+            return this;
+        }
+
+        @Override
+        Container remove(int value) {
+            int index = Arrays.binarySearch(values, 0, size, (char) value);
+            if (index < 0) {
+                return this;
+            }
+            if (size == 1) {
+                return null;
+            }
+            --size;
+            arraycopy(values, index + 1, values, index, size - index);
+            return this;
+        }
+
+        @Override
+        long[] words() {
+            return copyWords();
+        }
+
+        @Override
+        void orInto(long[] words) {
+            for (int i = 0; i < size; ++i) {
+                int value = values[i];
+                words[value >>> WORD_SHIFT] |= 1L << value;
+            }
+        }
+
+        @Override
+        void andNotInto(long[] words) {
+            for (int i = 0; i < size; ++i) {
+                int value = values[i];
+                words[value >>> WORD_SHIFT] &= ~(1L << value);
+            }
+        }
+
+        @Override
+        Cursor cursor() {
+            return new ArrayCursor(values, size);
+        }
+
+        /**
+         * @return a container holding the values of this container which are
+         * present (if {@code present} is {@code true}) or absent (otherwise)
+         * in the given container.
+         */
+        Container retain(Container other, boolean present) {
+            char[] result = new char[size];
+            int resultSize = 0;
+            for (int i = 0; i < size; ++i) {
+                char value = values[i];
+                if (other.contains(value) == present) {
+                    result[resultSize++] = value;
+                }
+            }
+            return fromValues(result, resultSize);
+        }
+
+        /**
+         * @return a container holding the values of this and the given
+         * container.
+         */
+        Container merge(ArrayContainer other) {
+            char[] result = new char[size + other.size];
+            int resultSize = 0;
+            int i = 0;
+            int j = 0;
+            while (i < size && j < other.size) {
+                char left = values[i];
+                char right = other.values[j];
+                if (left < right) {
+                    result[resultSize++] = left;
+                    ++i;
+                } else if (left > right) {
+                    result[resultSize++] = right;
+                    ++j;
+                } else {
+                    result[resultSize++] = left;
+                    ++i;
+                    ++j;
+                }
+            }
+            while (i < size) {
+                result[resultSize++] = values[i++];
+            }
+            while (j < other.size) {
+                result[resultSize++] = other.values[j++];
+            }
+            return fromValues(result, resultSize);
+        }
+
+        private BitmapContainer toBitmap() {
+            return new BitmapContainer(words(), size);
+        }
+
+    }
+
+    /**
+     * Manages directly indexable long array of bits.
+     */
+    static final class BitmapContainer extends Container {
+
+        private final long[] words;
+        private int cardinality;
+
+        BitmapContainer(long[] words, int cardinality) {
+            assert cardinality > 0;
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(int value) {
+            return (words[value >>> WORD_SHIFT] & 1L << value) != 0;
+        }
+
+        @Override
+        Container add(int value) {
+            int wordIndex = value >>> WORD_SHIFT;
+            long word = words[wordIndex];
+            long newWord = word | 1L << value;
+            if (newWord != word) {
+                words[wordIndex] = newWord;
+                ++cardinality;
+                if (cardinality == CONTAINER_CAPACITY) {
+                    return RunContainer.full();
+                }
+            }
+            return this;
+        }
+
+        @Override
+        Container remove(int value) {
+            int wordIndex = value >>> WORD_SHIFT;
+            long word = words[wordIndex];
+            long newWord = word & ~(1L << value);
+            if (newWord != word) {
+                words[wordIndex] = newWord;
+                --cardinality;
+                if (cardinality == ARRAY_CONTAINER_MAX_SIZE) {
+                    return ArrayContainer.fromWords(words, cardinality);
+                }
+            }
+            return this;
+        }
+
+        @Override
+        long[] words() {
+            return words;
+        }
+
+        @Override
+        long[] copyWords() {
+            return words.clone();
+        }
+
+        @Override
+        void orInto(long[] words) {
+            long[] own = this.words;
+            for (int i = 0; i < WORDS; ++i) {
+                words[i] |= own[i];
+            }
+        }
+
+        @Override
+        void andNotInto(long[] words) {
+            long[] own = this.words;
+            for (int i = 0; i < WORDS; ++i) {
+                words[i] &= ~own[i];
+            }
+        }
+
+        @Override
+        Cursor cursor() {
+            return new BitmapCursor(words);
+        }
+
+    }
+
+    /**
+     * Manages sorted runs of consecutive values, each run is stored as a pair
+     * of its first and last values.
+     */
+    static final class RunContainer extends Container {
+
+        private char[] runs;
+        private int runCount;
+        private int cardinality;
+
+        RunContainer(int value) {
+            this.runs = new char[]{(char) value, (char) value};
+            this.runCount = 1;
+            this.cardinality = 1;
+        }
+
+        private RunContainer(char[] runs, int runCount, int cardinality) {
+            this.runs = runs;
+            this.runCount = runCount;
+            this.cardinality = cardinality;
+        }
+
+        static RunContainer full() {
+            return new RunContainer(new char[]{0, (char) LOW_MASK}, 1, CONTAINER_CAPACITY);
+        }
+
+        static RunContainer fromWords(long[] words, int runCount, int cardinality) {
+            char[] runs = new char[2 * runCount];
+            int run = 0;
+            int from = nextSetBit(words, 0);
+            while (from != -1) {
+                int to = nextClearBit(words, from + 1);
+                runs[2 * run] = (char) from;
+                runs[2 * run + 1] = (char) (to - 1);
+                ++run;
+                from = nextSetBit(words, to);
+            }
+            assert run == runCount;
+            return new RunContainer(runs, runCount, cardinality);
+        }
+
+        static RunContainer fromValues(char[] values, int size, int runCount) {
+            char[] runs = new char[2 * runCount];
+            int run = 0;
+            runs[0] = values[0];
+            for (int i = 1; i < size; ++i) {
+                if (values[i] != values[i - 1] + 1) {
+                    runs[2 * run + 1] = values[i - 1];
+                    ++run;
+                    runs[2 * run] = values[i];
+                }
+            }
+            runs[2 * run + 1] = values[size - 1];
+            assert run + 1 == runCount;
+            return new RunContainer(runs, runCount, size);
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(int value) {
+            int run = findRun(value);
+            return run >= 0 && value <= runs[2 * run + 1];
+        }
+
+        @Override
+        Container add(int value) {
+            int run = findRun(value);
+            if (run >= 0 && value <= runs[2 * run + 1]) {
+                return this;
+            }
+
+            boolean extendsPrevious = run >= 0 && runs[2 * run + 1] + 1 == value;
+            boolean extendsNext = run + 1 < runCount && runs[2 * (run + 1)] == value + 1;
+            if (extendsPrevious && extendsNext) {
+                runs[2 * run + 1] = runs[2 * (run + 1) + 1];
+                removeRun(run + 1);
+            } else if (extendsPrevious) {
+                runs[2 * run + 1] = (char) value;
+            } else if (extendsNext) {
+                runs[2 * (run + 1)] = (char) value;
+            } else {
+                insertRun(run + 1, value, value);
+            }
+            ++cardinality;
+            return normalize();
+        }
+
+        @Override
+        Container remove(int value) {
+            int run = findRun(value);
+            if (run < 0 || value > runs[2 * run + 1]) {
+                return this;
+            }
+            if (cardinality == 1) {
+                return null;
+            }
+
+            int first = runs[2 * run];
+            int last = runs[2 * run + 1];
+            if (first == last) {
+                removeRun(run);
+            } else if (value == first) {
+                runs[2 * run] = (char) (value + 1);
+            } else if (value == last) {
+                runs[2 * run + 1] = (char) (value - 1);
+            } else {
+                runs[2 * run + 1] = (char) (value - 1);
+                insertRun(run + 1, value + 1, last);
+            }
+            --cardinality;
+            return normalize();
+        }
+
+        @Override
+        long[] words() {
+            return copyWords();
+        }
+
+        @Override
+        void orInto(long[] words) {
+            for (int i = 0; i < runCount; ++i) {
+                setRange(words, runs[2 * i], runs[2 * i + 1]);
+            }
+        }
+
+        @Override
+        void andNotInto(long[] words) {
+            for (int i = 0; i < runCount; ++i) {
+                clearRange(words, runs[2 * i], runs[2 * i + 1]);
+            }
+        }
+
+        @Override
+        Cursor cursor() {
+            return new RunCursor(runs, runCount);
+        }
+
+        /**
+         * @return the index of the last run which first value is less than or
+         * equal to the given value or {@code -1} if there is no such run.
+         */
+        private int findRun(int value) {
+            int low = 0;
+            int high = runCount - 1;
+            if (runs[2 * high] <= value) {
+                // fast path for appending
+                return high;
+            }
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                int first = runs[2 * middle];
+                if (first < value) {
+                    low = middle + 1;
+                } else if (first > value) {
+                    high = middle - 1;
+                } else {
+                    return middle;
+                }
+            }
+            return low - 1;
+        }
+
+        private void insertRun(int run, int first, int last) {
+            if (2 * runCount == runs.length) {
+                runs = copyOf(runs, 2 * Math.max(MIN_CAPACITY, runCount + (runCount >>> 1)));
+            }
+            arraycopy(runs, 2 * run, runs, 2 * run + 2, 2 * (runCount - run));
+            runs[2 * run] = (char) first;
+            runs[2 * run + 1] = (char) last;
+            ++runCount;
+        }
+
+        private void removeRun(int run) {
+            --runCount;
+            arraycopy(runs, 2 * run + 2, runs, 2 * run, 2 * (runCount - run));
+        }
+
+        private Container normalize() {
+            if (preferRuns(runCount, cardinality)) {
+                return this;
+            }
+            long[] words = words();
+            if (cardinality <= ARRAY_CONTAINER_MAX_SIZE) {
+                return ArrayContainer.fromWords(words, cardinality);
+            }
+            return new BitmapContainer(words, cardinality);
+        }
+
+        private static int nextClearBit(long[] words, int from) {
+            if (from >= CONTAINER_CAPACITY) {
+                return CONTAINER_CAPACITY;
+            }
+            int wordIndex = from >>> WORD_SHIFT;
+            long word = ~words[wordIndex] & -1L << from;
+            while (word == 0) {
+                if (++wordIndex == WORDS) {
+                    return CONTAINER_CAPACITY;
+                }
+                word = ~words[wordIndex];
+            }
+            return wordIndex << WORD_SHIFT | numberOfTrailingZeros(word);
+        }
+
+    }
+
+    private static final class ArrayCursor extends Cursor {
+
+        private final char[] values;
+        private final int size;
+        private int position;
+
+        ArrayCursor(char[] values, int size) {
+            this.values = values;
+            this.size = size;
+        }
+
+        @Override
+        int value() {
+            return values[position];
+        }
+
+        @Override
+        int advance() {
+            return ++position < size ? values[position] : -1;
+        }
+
+        @Override
+        int advanceAtLeastTo(int value) {
+            int index = Arrays.binarySearch(values, position + 1, size, (char) value);
+            position = index >= 0 ? index : -(index + 1);
+            return position < size ? values[position] : -1;
+        }
+
+    }
+
+    private static final class BitmapCursor extends Cursor {
+
+        private final long[] words;
+        private int value;
+
+        BitmapCursor(long[] words) {
+            this.words = words;
+            this.value = nextSetBit(words, 0);
+        }
+
+        @Override
+        int value() {
+            return value;
+        }
+
+        @Override
+        int advance() {
+            value = nextSetBit(words, value + 1);
+            return value;
+        }
+
+        @Override
+        int advanceAtLeastTo(int value) {
+            this.value = nextSetBit(words, value);
+            return this.value;
+        }
+
+    }
+
+    private static final class RunCursor extends Cursor {
+
+        private final char[] runs;
+        private final int runCount;
+        private int run;
+        private int value;
+
+        RunCursor(char[] runs, int runCount) {
+            this.runs = runs;
+            this.runCount = runCount;
+            this.value = runs[0];
+        }
+
+        @Override
+        int value() {
+            return value;
+        }
+
+        @Override
+        int advance() {
+            if (value < runs[2 * run + 1]) {
+                return ++value;
+            }
+            if (++run < runCount) {
+                value = runs[2 * run];
+                return value;
+            }
+            return -1;
+        }
+
+        @Override
+        int advanceAtLeastTo(int value) {
+            while (value > runs[2 * run + 1]) {
+                if (++run == runCount) {
+                    return -1;
+                }
+            }
+            this.value = Math.max(value, runs[2 * run]);
+            return this.value;
+        }
+
+    }
+
+    /**
+     * Iterates over container bit sets.
+     */
+    private static final class IteratorImpl implements AscendingLongIterator {
+
+        private final long[] keys;
+        private final Container[] containers;
+        private final int size;
+
+        private int position;
+        private Cursor cursor;
+        private long prefix;
+        private long index;
+
+        IteratorImpl(ContainerBitSet bitSet) {
+            this.keys = bitSet.keys;
+            this.containers = bitSet.containers;
+            this.size = bitSet.size;
+            this.position = -1;
+            nextContainer();
+        }
+
+        @Override
+        public long getIndex() {
+            return index;
+        }
+
+        @Override
+        public long advance() {
+            long current = index;
+            if (current == END) {
+                return END;
+            }
+
+            int value = cursor.advance();
+            if (value == -1) {
+                nextContainer();
+            } else {
+                index = prefix | value;
+            }
+            return current;
+        }
+
+        @Override
+        public long advanceAtLeastTo(long member) {
+            long current = index;
+            if (current == END || member <= current) {
+                return current;
+            }
+
+            long key = member >>> CONTAINER_SHIFT;
+            if (key != keys[position]) {
+                // skip to the container having the key or the following one
+                int found = Arrays.binarySearch(keys, position + 1, size, key);
+                position = (found >= 0 ? found : -(found + 1)) - 1;
+                nextContainer();
+                if (index == END || keys[position] != key) {
+                    return index;
+                }
+                if (member <= index) {
+                    return index;
+                }
+            }
+
+            int value = cursor.advanceAtLeastTo((int) member & LOW_MASK);
+            if (value == -1) {
+                nextContainer();
+            } else {
+                index = prefix | value;
+            }
+            return index;
+        }
+
+        private void nextContainer() {
+            ++position;
+            if (position >= size) {
+                cursor = null;
+                index = END;
+                return;
+            }
+            cursor = containers[position].cursor();
+            prefix = keys[position] << CONTAINER_SHIFT;
+            index = prefix | cursor.value();
+        }
+
+    }
+
+}
@@ -155,7 +155,7 @@ public abstract class AbstractMultiValueGetter extends Getter {
                 + " Collections and Arrays are supported only");
     }
 
-    private Object getParentObject(Object obj) throws Exception {
+    protected Object getParentObject(Object obj) throws Exception {
         return parent != null ? parent.getValue(obj) : obj;
     }
 
@@ -30,6 +30,8 @@ import com.hazelcast.internal.util.Preconditions;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.function.DoubleConsumer;
+import java.util.function.LongConsumer;
 
 import static com.hazelcast.query.impl.getters.ExtractorHelper.extractArgumentsFromAttributeName;
 import static com.hazelcast.query.impl.getters.ExtractorHelper.extractAttributeNameNameWithoutArguments;
@@ -67,6 +69,13 @@ public final class Extractors {
         this.ss = ss;
     }
 
+    /**
+     * @return {@code true} if a custom {@link ValueExtractor} is registered for the given attribute
+     */
+    public boolean hasValueExtractor(String attributeName) {
+        return extractors.containsKey(extractAttributeNameNameWithoutArguments(attributeName));
+    }
+
     public Object extract(Object target, String attributeName, Object metadata) {
         return extract(target, attributeName, metadata, true);
     }
@@ -84,6 +93,36 @@ public final class Extractors {
         return null;
     }
 
+    /**
+     * Extracts the value of the given attribute from the given target and
+     * passes it to one of the given consumers without boxing it, if the
+     * attribute is of a primitive numeric type and it's read directly by a
+     * reflective getter.
+     *
+     * @param target         the target object to extract the value from.
+     * @param attributeName  the name of the attribute to extract.
+     * @param longConsumer   the consumer of the integral values or {@code null}.
+     * @param doubleConsumer the consumer of the floating point values or
+     *                       {@code null}.
+     * @return {@code true} if the extracted value was passed to one of the
+     * consumers, {@code false} if the value must be extracted using {@link
+     * #extract(Object, String, Object)}.
+     */
+    public boolean extractPrimitive(Object target, String attributeName, LongConsumer longConsumer,
+                                    DoubleConsumer doubleConsumer) {
+        Object targetObject = getTargetObject(target);
+        if (targetObject == null || targetObject instanceof Data) {
+            return false;
+        }
+
+        Getter getter = getGetter(targetObject, attributeName, true);
+        try {
+            return getter.getPrimitiveValue(targetObject, longConsumer, doubleConsumer);
+        } catch (Exception ex) {
+            throw new QueryException(ex);
+        }
+    }
+
     /**
      * Returns the form of this data that is queryable.
      * Returns {@link Data} if {@code target} is
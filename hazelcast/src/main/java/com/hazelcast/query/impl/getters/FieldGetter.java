@@ -17,10 +17,14 @@
 package com.hazelcast.query.impl.getters;
 
 import java.lang.reflect.Field;
+import java.util.function.DoubleConsumer;
+import java.util.function.LongConsumer;
 
 public final class FieldGetter extends AbstractMultiValueGetter {
 
     private final Field field;
+    private final boolean integral;
+    private final boolean floatingPoint;
 
     // for testing purposes only
     public FieldGetter(Getter parent, Field field, String modifier, Class elementType) {
@@ -30,6 +34,12 @@ public final class FieldGetter extends AbstractMultiValueGetter {
     public FieldGetter(Getter parent, Field field, String modifier, Class type, Class elementType) {
         super(parent, modifier, type, elementType);
         this.field = field;
+
+        Class<?> fieldType = field.getType();
+        boolean primitive = modifier == null && fieldType.isPrimitive();
+        this.integral = primitive
+                && (fieldType == long.class || fieldType == int.class || fieldType == short.class || fieldType == byte.class);
+        this.floatingPoint = primitive && (fieldType == double.class || fieldType == float.class);
     }
 
     @Override
@@ -41,6 +51,29 @@ public final class FieldGetter extends AbstractMultiValueGetter {
         }
     }
 
+    @Override
+    boolean getPrimitiveValue(Object obj, LongConsumer longConsumer, DoubleConsumer doubleConsumer) throws Exception {
+        if (!(integral && longConsumer != null) && !(floatingPoint && doubleConsumer != null)) {
+            return false;
+        }
+
+        Object parentObject = getParentObject(obj);
+        if (parentObject == null || parentObject instanceof MultiResult) {
+            return false;
+        }
+
+        try {
+            if (integral) {
+                longConsumer.accept(field.getLong(parentObject));
+            } else {
+                doubleConsumer.accept(field.getDouble(parentObject));
+            }
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(composeAttributeValueExtractionFailedMessage(field), e);
+        }
+        return true;
+    }
+
     @Override
     boolean isCacheable() {
         return true;
@@ -16,6 +16,9 @@
 
 package com.hazelcast.query.impl.getters;
 
+import java.util.function.DoubleConsumer;
+import java.util.function.LongConsumer;
+
 /**
  * Base class for extraction of values from object instances.
  * Each sub-class encapsulates extraction strategy.
@@ -48,6 +51,20 @@ abstract class Getter {
         return getValue(obj, attributePath);
     }
 
+    /**
+     * Method for getters that can read primitive values without boxing them.
+     * The extracted value is passed to the given long consumer if it's of an
+     * integral type or to the given double consumer if it's of a floating
+     * point type.
+     *
+     * @return {@code true} if the extracted value was passed to one of the
+     * consumers, {@code false} if the value must be extracted using {@link
+     * #getValue(Object)}.
+     */
+    boolean getPrimitiveValue(Object obj, LongConsumer longConsumer, DoubleConsumer doubleConsumer) throws Exception {
+        return false;
+    }
+
     /**
      * Returns extracted object type for non-generic getters. It is only applicable when
      * extracted object type can be determined before running the getter.
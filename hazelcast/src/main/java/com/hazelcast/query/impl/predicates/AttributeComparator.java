@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.predicates;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.query.QueryException;
+import com.hazelcast.query.impl.Comparables;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.query.impl.getters.MultiResult;
+import com.hazelcast.query.impl.getters.ReflectionHelper;
+
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.Map;
+
+import static com.hazelcast.query.QueryConstants.KEY_ATTRIBUTE_NAME;
+import static com.hazelcast.query.QueryConstants.THIS_ATTRIBUTE_NAME;
+
+/**
+ * Comparator ordering entries by the value of a single attribute in the
+ * ascending order, {@code null} values first.
+ * <p>
+ * The order matches the order of a sorted index on the same attribute, which
+ * allows {@link PagingPredicateImpl} to walk the index from the page anchor
+ * instead of sorting all matching entries.
+ *
+ * @param <K> map key type
+ * @param <V> map value type
+ */
+@SuppressWarnings("rawtypes")
+public class AttributeComparator<K, V> implements Comparator<Map.Entry<K, V>>, IdentifiedDataSerializable {
+
+    private static final String KEY_PREFIX = KEY_ATTRIBUTE_NAME.value() + ".";
+    private static final String THIS_PREFIX = THIS_ATTRIBUTE_NAME.value() + ".";
+
+    private String attribute;
+
+    public AttributeComparator() {
+    }
+
+    public AttributeComparator(String attribute) {
+        if (attribute == null || attribute.isEmpty()) {
+            throw new IllegalArgumentException("attribute must not be empty");
+        }
+        this.attribute = attribute;
+    }
+
+    public String getAttribute() {
+        return attribute;
+    }
+
+    @Override
+    public int compare(Map.Entry<K, V> entry1, Map.Entry<K, V> entry2) {
+        return compareValues(extractValue(entry1), extractValue(entry2));
+    }
+
+    /**
+     * Compares the given attribute values in the order of this comparator.
+     */
+    int compareValues(Comparable<?> value1, Comparable<?> value2) {
+        if (value1 == null) {
+            return value2 == null ? 0 : -1;
+        } else if (value2 == null) {
+            return 1;
+        }
+        return Comparables.compare(value1, value2);
+    }
+
+    /**
+     * Extracts the attribute value of the given entry.
+     * <p>
+     * Queryable entries are asked for the value directly. Other entries, like
+     * the deserialized entries sorted on the caller side, are inspected using
+     * reflection.
+     */
+    Comparable<?> extractValue(Map.Entry<?, ?> entry) {
+        Object value;
+        if (entry instanceof QueryableEntry) {
+            value = ((QueryableEntry<?, ?>) entry).getAttributeValue(attribute);
+        } else if (KEY_ATTRIBUTE_NAME.value().equals(attribute)) {
+            value = entry.getKey();
+        } else if (THIS_ATTRIBUTE_NAME.value().equals(attribute)) {
+            value = entry.getValue();
+        } else if (attribute.startsWith(KEY_PREFIX)) {
+            value = extractValue(entry.getKey(), attribute.substring(KEY_PREFIX.length()));
+        } else if (attribute.startsWith(THIS_PREFIX)) {
+            value = extractValue(entry.getValue(), attribute.substring(THIS_PREFIX.length()));
+        } else {
+            value = extractValue(entry.getValue(), attribute);
+        }
+
+        if (value instanceof MultiResult) {
+            throw new QueryException("Multi-value attributes are not supported for ordering: " + attribute);
+        }
+        if (value != null && !(value instanceof Comparable)) {
+            throw new IllegalArgumentException("Not comparable " + value);
+        }
+        return (Comparable<?>) value;
+    }
+
+    private static Object extractValue(Object target, String path) {
+        try {
+            return ReflectionHelper.extractValue(target, path, false);
+        } catch (QueryException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new QueryException(e);
+        }
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeUTF(attribute);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        attribute = in.readUTF();
+    }
+
+    @Override
+    public int getFactoryId() {
+        return PredicateDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return PredicateDataSerializerHook.ATTRIBUTE_COMPARATOR;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof AttributeComparator)) {
+            return false;
+        }
+        return attribute.equals(((AttributeComparator) o).attribute);
+    }
+
+    @Override
+    public int hashCode() {
+        return attribute.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "AttributeComparator{" + attribute + "}";
+    }
+}
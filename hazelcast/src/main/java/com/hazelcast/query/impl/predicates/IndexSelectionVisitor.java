@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.predicates;
+
+import com.hazelcast.core.TypeConverter;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.IndexStatistics;
+import com.hazelcast.query.impl.Indexes;
+import com.hazelcast.query.impl.InternalIndex;
+import com.hazelcast.query.impl.QueryContext;
+
+import static com.hazelcast.query.impl.Indexes.SKIP_PARTITIONS_COUNT_CHECK;
+
+/**
+ * Chooses the indexes used to evaluate a conjunction by their estimated
+ * result sizes.
+ * <p>
+ * Without the visitor, {@link AndPredicate} queries all its indexed children
+ * and intersects the results. Given "a = 0 and b > 1", where "a = 0" is
+ * estimated to match 10 entries and "b > 1" to match 100000 entries, the
+ * visitor rewrites the predicate into "a = 0 and SkipIndex(b > 1)", so the
+ * second child is evaluated as a residual filter against 10 entries instead
+ * of being read from its index.
+ * <p>
+ * The estimates are produced from the {@link IndexStatistics} of the indexes.
+ * Children which result size can't be estimated are left untouched.
+ */
+public class IndexSelectionVisitor extends AbstractVisitor {
+
+    /**
+     * The cost of evaluating a predicate against an entry relatively to the
+     * cost of reading an entry from an index. An indexed child is turned into
+     * a residual filter if its estimated result is larger than the smallest
+     * estimated result multiplied by this factor.
+     */
+    static final int RESIDUAL_FILTER_COST = 8;
+
+    private static final long UNKNOWN = -1;
+
+    @Override
+    public Predicate visit(AndPredicate andPredicate, Indexes indexes) {
+        Predicate[] predicates = andPredicate.predicates;
+        if (predicates.length < 2) {
+            return andPredicate;
+        }
+
+        long[] estimates = new long[predicates.length];
+        long smallest = Long.MAX_VALUE;
+        int estimatedCount = 0;
+        for (int i = 0; i < predicates.length; ++i) {
+            long estimate = estimateSize(predicates[i], indexes);
+            estimates[i] = estimate;
+            if (estimate != UNKNOWN) {
+                smallest = Math.min(smallest, estimate);
+                ++estimatedCount;
+            }
+        }
+        if (estimatedCount < 2) {
+            return andPredicate;
+        }
+
+        long threshold = smallest > Long.MAX_VALUE / RESIDUAL_FILTER_COST ? Long.MAX_VALUE : smallest * RESIDUAL_FILTER_COST;
+        Predicate[] result = null;
+        for (int i = 0; i < predicates.length; ++i) {
+            if (estimates[i] != UNKNOWN && estimates[i] > threshold) {
+                if (result == null) {
+                    result = predicates.clone();
+                }
+                result[i] = new SkipIndexPredicate(predicates[i]);
+            }
+        }
+        return result == null ? andPredicate : new AndPredicate(result);
+    }
+
+    /**
+     * Estimates the size of the result produced by the given predicate using
+     * an index.
+     *
+     * @return the estimated size or {@link #UNKNOWN} if the predicate is not
+     * indexed or its result size can't be estimated.
+     */
+    private static long estimateSize(Predicate predicate, Indexes indexes) {
+        if (predicate instanceof EqualPredicate) {
+            EqualPredicate equalPredicate = (EqualPredicate) predicate;
+            InternalIndex index = matchIndex(equalPredicate.attributeName, QueryContext.IndexMatchHint.PREFER_UNORDERED,
+                    indexes);
+            IndexStatistics statistics = statisticsOf(index);
+            if (statistics == null) {
+                return UNKNOWN;
+            }
+            TypeConverter converter = index.getConverter();
+            return converter == null ? 0 : statistics.estimateEqual(converter.convert(equalPredicate.value));
+        }
+
+        if (predicate instanceof InPredicate) {
+            InPredicate inPredicate = (InPredicate) predicate;
+            InternalIndex index = matchIndex(inPredicate.attributeName, QueryContext.IndexMatchHint.PREFER_UNORDERED,
+                    indexes);
+            IndexStatistics statistics = statisticsOf(index);
+            if (statistics == null) {
+                return UNKNOWN;
+            }
+            TypeConverter converter = index.getConverter();
+            if (converter == null) {
+                return 0;
+            }
+            long estimate = 0;
+            for (Comparable value : inPredicate.values) {
+                estimate += statistics.estimateEqual(converter.convert(value));
+            }
+            return Math.min(estimate, statistics.getEntryCount());
+        }
+
+        if (predicate instanceof RangePredicate && predicate instanceof IndexAwarePredicate) {
+            RangePredicate rangePredicate = (RangePredicate) predicate;
+            InternalIndex index = matchIndex(rangePredicate.getAttribute(), QueryContext.IndexMatchHint.PREFER_ORDERED,
+                    indexes);
+            if (index == null || !index.isOrdered()) {
+                return UNKNOWN;
+            }
+            IndexStatistics statistics = statisticsOf(index);
+            if (statistics == null) {
+                return UNKNOWN;
+            }
+            TypeConverter converter = index.getConverter();
+            if (converter == null) {
+                return 0;
+            }
+            Comparable from = rangePredicate.getFrom();
+            Comparable to = rangePredicate.getTo();
+            return statistics.estimateRange(from == null ? null : converter.convert(from),
+                    to == null ? null : converter.convert(to));
+        }
+
+        return UNKNOWN;
+    }
+
+    private static InternalIndex matchIndex(String attribute, QueryContext.IndexMatchHint matchHint, Indexes indexes) {
+        return indexes.matchIndex(attribute, matchHint, SKIP_PARTITIONS_COUNT_CHECK);
+    }
+
+    private static IndexStatistics statisticsOf(InternalIndex index) {
+        return index == null || index.isEvaluateOnly() ? null : index.getStatistics();
+    }
+
+}
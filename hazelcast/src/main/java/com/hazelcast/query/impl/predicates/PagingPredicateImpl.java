@@ -24,6 +24,8 @@ import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.query.PagingPredicate;
 import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.Comparison;
+import com.hazelcast.query.impl.Index;
 import com.hazelcast.query.impl.Indexes;
 import com.hazelcast.query.impl.QueryContext;
 import com.hazelcast.query.impl.QueryableEntry;
@@ -32,6 +34,7 @@ import java.io.IOException;
 import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -177,13 +180,21 @@ public class PagingPredicateImpl<K, V>
     }
 
     /**
-     * Used if inner predicate is instanceof {@link IndexAwarePredicate} for filtering.
+     * Used if inner predicate is instanceof {@link IndexAwarePredicate} for filtering,
+     * or if the results are ordered by an {@link AttributeComparator} and there is a
+     * sorted index on its attribute.
      *
      * @param queryContext
      * @return
      */
     @Override
     public Set<QueryableEntry<K, V>> filter(QueryContext queryContext) {
+        if (!isInnerPredicateIndexed(queryContext)) {
+            Index index = matchOrderingIndex(queryContext);
+            if (index != null) {
+                return filterUsingOrderingIndex(index);
+            }
+        }
         if (!(predicate instanceof IndexAwarePredicate)) {
             return null;
         }
@@ -205,16 +216,74 @@ public class PagingPredicateImpl<K, V>
         return new LinkedHashSet<QueryableEntry<K, V>>(sortedSubList);
     }
 
+    /**
+     * Produces the entries of the requested pages by walking the given sorted
+     * index from the value of the nearest anchor. The walk stops once enough
+     * entries are collected at a value boundary, so the entries sharing the
+     * last attribute value are all considered when sorting with the full
+     * comparator.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Set<QueryableEntry<K, V>> filterUsingOrderingIndex(Index index) {
+        AttributeComparator<K, V> attributeComparator = (AttributeComparator<K, V>) comparator;
+        Map.Entry<Integer, Map.Entry> nearestAnchorEntry = getNearestAnchorEntry();
+        long limit = pageSize * ((long) page - nearestAnchorEntry.getKey());
+
+        Map.Entry<?, ?> anchor = nearestAnchorEntry.getValue();
+        Comparable<?> anchorValue = anchor == null ? null : attributeComparator.extractValue(anchor);
+        Iterator<QueryableEntry> iterator = anchorValue == null
+                ? index.getSqlRecordIterator()
+                : index.getSqlRecordIterator(Comparison.GREATER_OR_EQUAL, anchorValue);
+
+        List<QueryableEntry> resultList = new ArrayList<>();
+        Comparable<?> lastValue = null;
+        while (iterator.hasNext()) {
+            QueryableEntry entry = iterator.next();
+            Comparable<?> value = attributeComparator.extractValue(entry);
+            if (resultList.size() >= limit && attributeComparator.compareValues(lastValue, value) != 0) {
+                break;
+            }
+            if (apply(entry) && SortingUtil.compareAnchor(this, entry, nearestAnchorEntry)) {
+                resultList.add(entry);
+                lastValue = value;
+            }
+        }
+
+        List<QueryableEntry> sortedSubList = SortingUtil.getSortedSubList(resultList, this, nearestAnchorEntry);
+        return new LinkedHashSet<>((List) sortedSubList);
+    }
+
+    /**
+     * Matches a sorted index on the attribute of the comparator if the results
+     * are ordered by an {@link AttributeComparator}.
+     *
+     * @return the matched index or {@code null} if there is no such index
+     */
+    private Index matchOrderingIndex(QueryContext queryContext) {
+        if (!(comparator instanceof AttributeComparator)) {
+            return null;
+        }
+        String attribute = ((AttributeComparator<K, V>) comparator).getAttribute();
+        Index index = queryContext.matchIndex(attribute, QueryContext.IndexMatchHint.PREFER_ORDERED);
+        return index != null && index.isOrdered() ? index : null;
+    }
 
     /**
-     * Used if inner predicate is instanceof {@link IndexAwarePredicate} for checking if indexed.
+     * Used if inner predicate is instanceof {@link IndexAwarePredicate} for checking if indexed,
+     * or if the results are ordered by an {@link AttributeComparator} and there is a sorted index
+     * on its attribute.
      *
      * @param queryContext
      * @return
      */
+    @Override
     public boolean isIndexed(QueryContext queryContext) {
+        return isInnerPredicateIndexed(queryContext) || matchOrderingIndex(queryContext) != null;
+    }
+
+    private boolean isInnerPredicateIndexed(QueryContext queryContext) {
         if (predicate instanceof IndexAwarePredicate) {
-            return ((IndexAwarePredicate) predicate).isIndexed(queryContext);
+            return ((IndexAwarePredicate<K, V>) predicate).isIndexed(queryContext);
         }
         return false;
     }
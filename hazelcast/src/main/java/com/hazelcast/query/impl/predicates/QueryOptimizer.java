@@ -17,6 +17,7 @@
 package com.hazelcast.query.impl.predicates;
 
 import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.IndexStatistics;
 import com.hazelcast.query.impl.Indexes;
 
 /**
@@ -27,4 +28,13 @@ import com.hazelcast.query.impl.Indexes;
 */
 public interface QueryOptimizer {
     <K, V> Predicate<K, V> optimize(Predicate<K, V> predicate, Indexes indexes);
+
+    /**
+     * @return {@code true} if the optimizer relies on the {@link IndexStatistics}
+     * of the indexes, so the indexes have to maintain them, {@code false}
+     * otherwise.
+     */
+    default boolean usesIndexStatistics() {
+        return false;
+    }
 }
@@ -33,6 +33,7 @@ import com.hazelcast.spi.impl.eventservice.impl.operations.SendEventOperation;
 import com.hazelcast.spi.impl.operationservice.BinaryOperationFactory;
 import com.hazelcast.spi.impl.operationservice.OperationControl;
 import com.hazelcast.spi.impl.operationservice.impl.operations.Backup;
+import com.hazelcast.spi.impl.operationservice.impl.operations.OperationBatch;
 import com.hazelcast.spi.impl.operationservice.impl.operations.PartitionIteratingOperation;
 import com.hazelcast.spi.impl.operationservice.impl.operations.PartitionIteratingOperation.PartitionResponse;
 import com.hazelcast.spi.impl.operationservice.impl.responses.BackupAckResponse;
@@ -78,6 +79,7 @@ public final class SpiDataSerializerHook implements DataSerializerHook {
     public static final int USERNAME_PWD_CRED = 23;
     public static final int SIMPLE_TOKEN_CRED = 24;
     public static final int DISTRIBUTED_OBJECT_EVENT_PACKET = 25;
+    public static final int OPERATION_BATCH = 26;
 
     private static final DataSerializableFactory FACTORY = createFactoryInternal();
 
@@ -143,6 +145,8 @@ public final class SpiDataSerializerHook implements DataSerializerHook {
                         return new SimpleTokenCredentials();
                     case DISTRIBUTED_OBJECT_EVENT_PACKET:
                         return new DistributedObjectEventPacket();
+                    case OPERATION_BATCH:
+                        return new OperationBatch();
                     default:
                         return null;
                 }
@@ -33,6 +33,7 @@ import com.hazelcast.internal.util.executor.ManagedExecutorService;
 import com.hazelcast.internal.util.executor.NamedThreadPoolExecutor;
 import com.hazelcast.internal.util.executor.PoolExecutorThreadFactory;
 import com.hazelcast.internal.util.executor.SingleExecutorThreadFactory;
+import com.hazelcast.internal.util.executor.VirtualThreads;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.spi.impl.InternalCompletableFuture;
 import com.hazelcast.spi.impl.NodeEngineImpl;
@@ -57,6 +58,7 @@ import static com.hazelcast.internal.metrics.MetricDescriptorConstants.EXECUTOR_
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.EXECUTOR_PREFIX_SCHEDULED_INTERNAL;
 import static com.hazelcast.internal.metrics.MetricTarget.MANAGEMENT_CENTER;
 import static com.hazelcast.internal.util.ThreadUtil.createThreadPoolName;
+import static com.hazelcast.spi.properties.ClusterProperty.EXECUTOR_VIRTUAL_THREADS_ENABLED;
 import static java.lang.Thread.currentThread;
 
 @SuppressWarnings({"checkstyle:classfanoutcomplexity", "checkstyle:methodcount"})
@@ -77,6 +79,11 @@ public final class ExecutionServiceImpl implements ExecutionService {
     private final NodeEngineImpl nodeEngine;
     private final TaskScheduler globalTaskScheduler;
     private final ExecutorService cachedExecutorService;
+    /**
+     * Runs the blocking user code on virtual threads, {@code null} if the
+     * virtual threads are disabled or not supported.
+     */
+    private final ExecutorService virtualExecutorService;
     private final LoggingScheduledExecutor scheduledExecutorService;
     private final CompletableFutureTask completableFutureTask;
     private final ConcurrentMap<String, ManagedExecutorService> executors = new ConcurrentHashMap<>();
@@ -88,7 +95,7 @@ public final class ExecutionServiceImpl implements ExecutionService {
                 public ManagedExecutorService createNew(String name) {
                     ExecutorConfig config = nodeEngine.getConfig().findExecutorConfig(name);
                     int queueCapacity = config.getQueueCapacity() <= 0 ? Integer.MAX_VALUE : config.getQueueCapacity();
-                    return createExecutor(name, config.getPoolSize(), queueCapacity, ExecutorType.CACHED, null);
+                    return createExecutor(name, config.getPoolSize(), queueCapacity, getUserCodeExecutorType(name), null);
                 }
             };
     private final ConstructorFunction<String, ManagedExecutorService> durableConstructor =
@@ -96,7 +103,7 @@ public final class ExecutionServiceImpl implements ExecutionService {
                 @Override
                 public ManagedExecutorService createNew(String name) {
                     DurableExecutorConfig cfg = nodeEngine.getConfig().findDurableExecutorConfig(name);
-                    return createExecutor(name, cfg.getPoolSize(), Integer.MAX_VALUE, ExecutorType.CACHED, null);
+                    return createExecutor(name, cfg.getPoolSize(), Integer.MAX_VALUE, getUserCodeExecutorType(name), null);
                 }
             };
     private final ConstructorFunction<String, ManagedExecutorService> scheduledDurableConstructor =
@@ -104,7 +111,7 @@ public final class ExecutionServiceImpl implements ExecutionService {
                 @Override
                 public ManagedExecutorService createNew(String name) {
                     ScheduledExecutorConfig cfg = nodeEngine.getConfig().findScheduledExecutorConfig(name);
-                    return createExecutor(name, cfg.getPoolSize(), Integer.MAX_VALUE, ExecutorType.CACHED, null);
+                    return createExecutor(name, cfg.getPoolSize(), Integer.MAX_VALUE, getUserCodeExecutorType(name), null);
                 }
             };
 
@@ -126,6 +133,10 @@ public final class ExecutionServiceImpl implements ExecutionService {
             }
         });
 
+        this.virtualExecutorService = node.getProperties().getBoolean(EXECUTOR_VIRTUAL_THREADS_ENABLED)
+                ? createVirtualExecutorService(hzName, configClassLoader)
+                : null;
+
         ThreadFactory singleExecutorThreadFactory = new SingleExecutorThreadFactory(configClassLoader,
                 createThreadPoolName(hzName, "scheduled"));
         this.scheduledExecutorService = new LoggingScheduledExecutor(logger, 1, singleExecutorThreadFactory);
@@ -147,6 +158,26 @@ public final class ExecutionServiceImpl implements ExecutionService {
                 scheduleDurableExecutors));
     }
 
+    private ExecutorService createVirtualExecutorService(String hzName, ClassLoader configClassLoader) {
+        ExecutorService executorService = VirtualThreads.newVirtualThreadPerTaskExecutor(
+                createThreadPoolName(hzName, "virtual"), configClassLoader);
+        if (executorService == null) {
+            logger.warning(EXECUTOR_VIRTUAL_THREADS_ENABLED.getName() + " is enabled, but the JVM doesn't support "
+                    + "virtual threads. The blocking user code will run on platform threads.");
+        }
+        return executorService;
+    }
+
+    /**
+     * Returns the type of the executor with the given name if it runs user
+     * code which may block: the executors of the executor services and the
+     * map loading executors.
+     */
+    private ExecutorType getUserCodeExecutorType(String name) {
+        boolean userCode = !name.startsWith("hz:") || MAP_LOADER_EXECUTOR.equals(name) || MAP_LOAD_ALL_KEYS_EXECUTOR.equals(name);
+        return userCode && virtualExecutorService != null ? ExecutorType.VIRTUAL : ExecutorType.CACHED;
+    }
+
     // only used in tests
     public LoggingScheduledExecutor getScheduledExecutorService() {
         return scheduledExecutorService;
@@ -195,6 +226,13 @@ public final class ExecutionServiceImpl implements ExecutionService {
                 throw new IllegalArgumentException("Cached executor can not be used with external thread factory");
             }
             executor = new CachedExecutorServiceDelegate(name, cachedExecutorService, poolSize, queueCapacity);
+        } else if (type == ExecutorType.VIRTUAL) {
+            if (threadFactory != null) {
+                throw new IllegalArgumentException("Virtual executor can not be used with external thread factory");
+            }
+            // the delegate limits the concurrency, every worker of it runs on its own virtual thread
+            ExecutorService virtualThreads = virtualExecutorService != null ? virtualExecutorService : cachedExecutorService;
+            executor = new CachedExecutorServiceDelegate(name, virtualThreads, poolSize, queueCapacity);
         } else if (type == ExecutorType.CONCRETE) {
             if (threadFactory == null) {
                 ClassLoader classLoader = nodeEngine.getConfigClassLoader();
@@ -321,23 +359,33 @@ public final class ExecutionServiceImpl implements ExecutionService {
         }
         scheduledExecutorService.shutdownNow();
         cachedExecutorService.shutdown();
+        if (virtualExecutorService != null) {
+            virtualExecutorService.shutdown();
+        }
         try {
             scheduledExecutorService.awaitTermination(AWAIT_TIME, TimeUnit.SECONDS);
         } catch (InterruptedException e) {
             currentThread().interrupt();
             logger.finest(e);
         }
+        awaitTermination(cachedExecutorService);
+        if (virtualExecutorService != null) {
+            awaitTermination(virtualExecutorService);
+        }
+        executors.clear();
+        durableExecutors.clear();
+        scheduleDurableExecutors.clear();
+    }
+
+    private void awaitTermination(ExecutorService executorService) {
         try {
-            if (!cachedExecutorService.awaitTermination(AWAIT_TIME, TimeUnit.SECONDS)) {
-                cachedExecutorService.shutdownNow();
+            if (!executorService.awaitTermination(AWAIT_TIME, TimeUnit.SECONDS)) {
+                executorService.shutdownNow();
             }
         } catch (InterruptedException e) {
             currentThread().interrupt();
             logger.finest(e);
         }
-        executors.clear();
-        durableExecutors.clear();
-        scheduleDurableExecutors.clear();
     }
 
     @Override
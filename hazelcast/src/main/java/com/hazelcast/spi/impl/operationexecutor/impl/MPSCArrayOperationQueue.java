@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationexecutor.impl;
+
+import com.hazelcast.internal.util.concurrent.ManyToOneConcurrentArrayQueue;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Predicate;
+
+import static com.hazelcast.internal.util.Preconditions.checkNotNull;
+import static com.hazelcast.internal.util.Preconditions.checkPositive;
+
+/**
+ * An {@link OperationQueue} with a single consumer thread, so it can only be
+ * used by a {@link PartitionOperationThread}.
+ * <p>
+ * The normal tasks are offered to a lock-free {@link
+ * ManyToOneConcurrentArrayQueue}: the producers only contend on a single CAS
+ * of the tail sequence and nothing is allocated per task. The consumer drains
+ * the array in batches into a private buffer, so it touches the shared state
+ * once per batch instead of once per task. Once the array is full, the normal
+ * tasks overflow into an unbounded queue. While the overflow queue is not
+ * empty the producers keep appending to it, so the tasks of a producer are
+ * never reordered.
+ * <p>
+ * If there is nothing to take, the consumer spins for a while, then yields
+ * and eventually parks. The producers unpark the consumer only if it has
+ * announced it's parking, so there is no wakeup cost when the consumer is busy.
+ * <p>
+ * The sizes are approximate: the tasks already drained into the batch buffer
+ * are not counted.
+ * <p>
+ * The priority tasks are taken before any normal task, including the ones
+ * already drained into the batch buffer.
+ */
+public final class MPSCArrayOperationQueue implements OperationQueue {
+
+    static final int DEFAULT_CAPACITY = 1 << 14;
+    static final int DEFAULT_BATCH_SIZE = 64;
+
+    private static final int MAX_SPINS = 256;
+    private static final int MAX_YIELDS = 32;
+
+    private final ManyToOneConcurrentArrayQueue<Object> normalQueue;
+    private final Queue<Object> overflowQueue = new ConcurrentLinkedQueue<>();
+    private final Queue<Object> priorityQueue = new ConcurrentLinkedQueue<>();
+    // the sizes of the linked queues are tracked, since their size() is O(n)
+    private final AtomicInteger overflowSize = new AtomicInteger();
+    private final AtomicInteger prioritySize = new AtomicInteger();
+
+    // the batch is accessed by the consumer thread only
+    private final Object[] batch;
+    private final Predicate<Object> batchFiller;
+    private int batchIndex;
+    private int batchSize;
+
+    private volatile boolean parked;
+    private Thread consumerThread;
+
+    public MPSCArrayOperationQueue() {
+        this(DEFAULT_CAPACITY, DEFAULT_BATCH_SIZE);
+    }
+
+    public MPSCArrayOperationQueue(int capacity, int batchSize) {
+        this.normalQueue = new ManyToOneConcurrentArrayQueue<>(checkPositive("capacity", capacity));
+        this.batch = new Object[checkPositive("batchSize", batchSize)];
+        this.batchFiller = task -> {
+            batch[this.batchSize++] = task;
+            return this.batchSize < batch.length;
+        };
+    }
+
+    /**
+     * Sets the consumer thread, which is unparked when a task is added. This
+     * method should be called before the queue is safely published.
+     *
+     * @param consumerThread the consumer thread.
+     * @throws NullPointerException when consumerThread is null.
+     */
+    public void setConsumerThread(Thread consumerThread) {
+        this.consumerThread = checkNotNull(consumerThread, "consumerThread can't be null");
+    }
+
+    @Override
+    public int normalSize() {
+        return normalQueue.size() + overflowSize.get();
+    }
+
+    @Override
+    public int prioritySize() {
+        return prioritySize.get();
+    }
+
+    @Override
+    public int size() {
+        return normalSize() + prioritySize();
+    }
+
+    @Override
+    public void add(Object task, boolean priority) {
+        checkNotNull(task, "task can't be null");
+
+        if (priority) {
+            priorityQueue.add(task);
+            prioritySize.incrementAndGet();
+        } else if (!overflowQueue.isEmpty() || !normalQueue.offer(task)) {
+            overflowQueue.add(task);
+            overflowSize.incrementAndGet();
+        }
+
+        // every path above ends with a volatile write (the CAS of the array
+        // tail or of the linked queue tail), which is ordered before this read
+        if (parked) {
+            LockSupport.unpark(consumerThread);
+        }
+    }
+
+    @Override
+    public Object take(boolean priorityOnly) throws InterruptedException {
+        for (int iteration = 0; ; iteration++) {
+            Object task = priorityQueue.poll();
+            if (task != null) {
+                prioritySize.decrementAndGet();
+            } else if (!priorityOnly) {
+                task = pollNormal();
+            }
+            if (task != null) {
+                return task;
+            }
+
+            idle(iteration, priorityOnly);
+        }
+    }
+
+    private Object pollNormal() {
+        if (batchIndex == batchSize) {
+            batchIndex = 0;
+            batchSize = 0;
+            normalQueue.drain(batchFiller);
+            if (batchSize == 0) {
+                // the array is empty, so the overflowed tasks are the oldest ones
+                Object task = overflowQueue.poll();
+                if (task != null) {
+                    overflowSize.decrementAndGet();
+                }
+                return task;
+            }
+        }
+
+        Object task = batch[batchIndex];
+        batch[batchIndex++] = null;
+        return task;
+    }
+
+    private void idle(int iteration, boolean priorityOnly) throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+
+        if (iteration < MAX_SPINS) {
+            return;
+        }
+        if (iteration < MAX_SPINS + MAX_YIELDS) {
+            Thread.yield();
+            return;
+        }
+
+        // the flag is raised before checking the queues for the last time and
+        // both sides order a volatile write before a volatile read, so a
+        // concurrent add either sees the flag or its task is seen here
+        parked = true;
+        if (isEmpty(priorityOnly)) {
+            LockSupport.park(this);
+        }
+        parked = false;
+    }
+
+    private boolean isEmpty(boolean priorityOnly) {
+        // the size of the array is derived from the volatile tail sequence
+        // rather than from the slot of the head, because the slot is written
+        // with a lazySet, which is not ordered before the read of the flag
+        return priorityQueue.isEmpty() && (priorityOnly || (normalQueue.size() == 0 && overflowQueue.isEmpty()));
+    }
+}
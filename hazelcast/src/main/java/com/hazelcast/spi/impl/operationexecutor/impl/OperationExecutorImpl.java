@@ -22,6 +22,7 @@ import com.hazelcast.internal.metrics.MetricsRegistry;
 import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.internal.metrics.StaticMetricsProvider;
 import com.hazelcast.internal.nio.Packet;
+import com.hazelcast.internal.util.RuntimeAvailableProcessors;
 import com.hazelcast.internal.util.ThreadAffinity;
 import com.hazelcast.internal.util.concurrent.IdleStrategy;
 import com.hazelcast.internal.util.concurrent.MPSCQueue;
@@ -57,12 +58,14 @@ import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_METRIC_EXECUTOR_RUNNING_PARTITION_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_PREFIX;
 import static com.hazelcast.internal.metrics.ProbeLevel.MANDATORY;
+import static com.hazelcast.internal.util.ThreadAffinity.newPerCoreThreadAffinity;
 import static com.hazelcast.internal.util.ThreadAffinity.newSystemThreadAffinity;
 import static com.hazelcast.internal.util.Preconditions.checkNotNull;
 import static com.hazelcast.internal.util.ThreadUtil.createThreadPoolName;
 import static com.hazelcast.spi.impl.operationservice.impl.InboundResponseHandlerSupplier.getIdleStrategy;
 import static com.hazelcast.spi.properties.ClusterProperty.GENERIC_OPERATION_THREAD_COUNT;
 import static com.hazelcast.spi.properties.ClusterProperty.PARTITION_COUNT;
+import static com.hazelcast.spi.properties.ClusterProperty.PARTITION_OPERATION_THREAD_CORE_AFFINITY_ENABLED;
 import static com.hazelcast.spi.properties.ClusterProperty.PARTITION_OPERATION_THREAD_COUNT;
 import static com.hazelcast.spi.properties.ClusterProperty.PRIORITY_GENERIC_OPERATION_THREAD_COUNT;
 import static java.util.concurrent.TimeUnit.SECONDS;
@@ -92,8 +95,16 @@ import static java.util.concurrent.TimeUnit.SECONDS;
 public final class OperationExecutorImpl implements OperationExecutor, StaticMetricsProvider {
     private static final HazelcastProperty IDLE_STRATEGY
             = new HazelcastProperty("hazelcast.operation.partitionthread.idlestrategy", "block");
+    /**
+     * The queue of the partition threads: either {@code linked} for the
+     * {@link MPSCQueue} based one or {@code array} for the {@link
+     * MPSCArrayOperationQueue}.
+     */
+    private static final HazelcastProperty QUEUE_TYPE
+            = new HazelcastProperty("hazelcast.operation.partitionthread.queue", "linked");
+    private static final String THREAD_AFFINITY = "hazelcast.operation.thread.affinity";
     private static final int TERMINATION_TIMEOUT_SECONDS = 3;
-    private final ThreadAffinity threadAffinity = newSystemThreadAffinity("hazelcast.operation.thread.affinity");
+    private final ThreadAffinity threadAffinity;
     private final ILogger logger;
 
     // all operations for specific partitions will be executed on these threads, e.g. map.put(key, value)
@@ -120,6 +131,9 @@ public final class OperationExecutorImpl implements OperationExecutor, StaticMet
                                  ClassLoader configClassLoader) {
         this.thisAddress = thisAddress;
         this.logger = loggerService.getLogger(OperationExecutorImpl.class);
+        this.threadAffinity = properties.getBoolean(PARTITION_OPERATION_THREAD_CORE_AFFINITY_ENABLED)
+                ? newPerCoreThreadAffinity(THREAD_AFFINITY)
+                : newSystemThreadAffinity(THREAD_AFFINITY);
 
         this.adHocOperationRunner = runnerFactory.createAdHocRunner();
 
@@ -153,25 +167,36 @@ public final class OperationExecutorImpl implements OperationExecutor, StaticMet
     private PartitionOperationThread[] initPartitionThreads(HazelcastProperties properties, String hzName,
                                                             NodeExtension nodeExtension, ClassLoader configClassLoader) {
 
-        int threadCount = properties.getInteger(PARTITION_OPERATION_THREAD_COUNT);
+        int threadCount = properties.getBoolean(PARTITION_OPERATION_THREAD_CORE_AFFINITY_ENABLED)
+                ? RuntimeAvailableProcessors.get()
+                : properties.getInteger(PARTITION_OPERATION_THREAD_COUNT);
         if (threadAffinity.isEnabled()) {
             threadCount = threadAffinity.getThreadCount();
         }
 
         IdleStrategy idleStrategy = getIdleStrategy(properties, IDLE_STRATEGY);
+        boolean arrayQueue = isArrayQueue(properties);
         PartitionOperationThread[] threads = new PartitionOperationThread[threadCount];
         for (int threadId = 0; threadId < threads.length; threadId++) {
             String threadName = createThreadPoolName(hzName, "partition-operation") + threadId;
-            // the normalQueue will be a blocking queue. We don't want to idle, because there are many operation threads.
-            MPSCQueue<Object> normalQueue = new MPSCQueue<Object>(idleStrategy);
-
-            OperationQueue operationQueue = new OperationQueueImpl(normalQueue, new ConcurrentLinkedQueue<Object>());
-
-            PartitionOperationThread partitionThread = new PartitionOperationThread(threadName, threadId, operationQueue, logger,
-                    nodeExtension, partitionOperationRunners, configClassLoader);
+            OperationQueue operationQueue;
+            PartitionOperationThread partitionThread;
+            if (arrayQueue) {
+                MPSCArrayOperationQueue queue = new MPSCArrayOperationQueue();
+                operationQueue = queue;
+                partitionThread = new PartitionOperationThread(threadName, threadId, operationQueue, logger,
+                        nodeExtension, partitionOperationRunners, configClassLoader);
+                queue.setConsumerThread(partitionThread);
+            } else {
+                // the normalQueue will be a blocking queue. We don't want to idle, because there are many operation threads.
+                MPSCQueue<Object> normalQueue = new MPSCQueue<Object>(idleStrategy);
+                operationQueue = new OperationQueueImpl(normalQueue, new ConcurrentLinkedQueue<Object>());
+                partitionThread = new PartitionOperationThread(threadName, threadId, operationQueue, logger,
+                        nodeExtension, partitionOperationRunners, configClassLoader);
+                normalQueue.setConsumerThread(partitionThread);
+            }
             partitionThread.setThreadAffinity(threadAffinity);
             threads[threadId] = partitionThread;
-            normalQueue.setConsumerThread(partitionThread);
         }
 
         // we need to assign the PartitionOperationThreads to all OperationRunners they own
@@ -185,6 +210,17 @@ public final class OperationExecutorImpl implements OperationExecutor, StaticMet
         return threads;
     }
 
+    private static boolean isArrayQueue(HazelcastProperties properties) {
+        String queueType = properties.getString(QUEUE_TYPE);
+        if ("array".equals(queueType)) {
+            return true;
+        } else if ("linked".equals(queueType)) {
+            return false;
+        } else {
+            throw new IllegalStateException("Unrecognized " + QUEUE_TYPE.getName() + " value=" + queueType);
+        }
+    }
+
     static int getPartitionThreadId(int partitionId, int partitionThreadCount) {
         return partitionId % partitionThreadCount;
     }
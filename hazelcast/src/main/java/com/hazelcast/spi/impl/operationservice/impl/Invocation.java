@@ -611,7 +611,7 @@ public abstract class Invocation<T> extends BaseInvocation implements OperationR
         this.connection = connection;
         boolean write;
         if (connection != null) {
-            write = context.outboundOperationHandler.send(op, connection);
+            write = context.outboundOperationHandler.send(this, op, connection);
         } else {
             write = context.outboundOperationHandler.send(op, targetAddress);
         }
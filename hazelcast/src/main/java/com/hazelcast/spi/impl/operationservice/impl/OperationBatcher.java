@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationservice.impl;
+
+import com.hazelcast.instance.impl.Node;
+import com.hazelcast.internal.nio.Packet;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.internal.server.ServerConnection;
+import com.hazelcast.spi.exception.RetryableIOException;
+import com.hazelcast.spi.impl.executionservice.ExecutionService;
+import com.hazelcast.spi.impl.operationservice.Operation;
+import com.hazelcast.spi.impl.operationservice.impl.operations.OperationBatch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static com.hazelcast.spi.properties.ClusterProperty.PARTITION_COUNT;
+
+/**
+ * Opportunistically coalesces the operations sent concurrently to the same
+ * partition into a single {@link OperationBatch} packet, so the receiving
+ * member handles a single packet, a single partition queue insert and a
+ * single partition thread wakeup for all of them.
+ * <p>
+ * The operations are never delayed: every partition has a stack of pending
+ * operations and the thread pushing to an empty stack becomes the flusher
+ * which writes its own operation right away. The operations pushed by other
+ * threads while the flusher is writing are written by the flusher in the
+ * next round, packed into batches per connection. Once the stack is empty,
+ * the flusher retires. If the flusher doesn't manage to empty the stack
+ * in a few rounds, the flushing is handed off to the async executor, so the
+ * invoking thread isn't held for long.
+ * <p>
+ * Every operation is serialized by its invoking thread. If a batch can't
+ * be written, all its invocations are notified with a {@link
+ * RetryableIOException}, just like if their own packets weren't written.
+ */
+final class OperationBatcher {
+
+    static final int MAX_BATCH_SIZE = 128;
+
+    private static final int MAX_FLUSH_ROUNDS = 16;
+
+    /**
+     * Marks an active flusher with no operations pushed since it took the
+     * stack the last time.
+     */
+    private static final PendingOperation FLUSHING = new PendingOperation(null, null, null);
+
+    private final Node node;
+    private final InternalSerializationService serializationService;
+    private final AtomicReferenceArray<PendingOperation> pending;
+
+    OperationBatcher(Node node, InternalSerializationService serializationService) {
+        this.node = node;
+        this.serializationService = serializationService;
+        this.pending = new AtomicReferenceArray<>(node.getProperties().getInteger(PARTITION_COUNT));
+    }
+
+    /**
+     * Sends the given partition operation of the given invocation over the
+     * given connection, either by this thread or by a concurrent flusher.
+     */
+    void send(Invocation invocation, Operation op, ServerConnection connection) {
+        int partitionId = op.getPartitionId();
+        PendingOperation operation = new PendingOperation(invocation, connection, serializationService.toBytes(op));
+        for (; ; ) {
+            PendingOperation head = pending.get(partitionId);
+            operation.next = head;
+            if (pending.compareAndSet(partitionId, head, operation)) {
+                if (head == null) {
+                    flush(partitionId);
+                }
+                return;
+            }
+        }
+    }
+
+    private void flush(int partitionId) {
+        for (int round = 0; ; round++) {
+            PendingOperation head = pending.getAndSet(partitionId, FLUSHING);
+            if (head == FLUSHING) {
+                if (pending.compareAndSet(partitionId, FLUSHING, null)) {
+                    return;
+                }
+                continue;
+            }
+
+            write(partitionId, reverse(head));
+
+            if (round == MAX_FLUSH_ROUNDS && handOff(partitionId)) {
+                return;
+            }
+        }
+    }
+
+    private boolean handOff(int partitionId) {
+        try {
+            node.getNodeEngine().getExecutionService().execute(ExecutionService.ASYNC_EXECUTOR, () -> flush(partitionId));
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Restores the order in which the operations were pushed.
+     */
+    private static PendingOperation reverse(PendingOperation head) {
+        PendingOperation reversed = null;
+        PendingOperation operation = head;
+        while (operation != null && operation != FLUSHING) {
+            PendingOperation next = operation.next;
+            operation.next = reversed;
+            reversed = operation;
+            operation = next;
+        }
+        return reversed;
+    }
+
+    private void write(int partitionId, PendingOperation first) {
+        while (first != null) {
+            PendingOperation last = first;
+            int size = 1;
+            while (last.next != null && last.next.connection == first.connection && size < MAX_BATCH_SIZE) {
+                last = last.next;
+                size++;
+            }
+            PendingOperation rest = last.next;
+            last.next = null;
+            write(partitionId, first, size);
+            first = rest;
+        }
+    }
+
+    @SuppressWarnings("checkstyle:illegalcatch")
+    private void write(int partitionId, PendingOperation first, int size) {
+        ServerConnection connection = first.connection;
+        Object error;
+        try {
+            byte[] bytes;
+            if (size == 1) {
+                bytes = first.bytes;
+            } else {
+                List<Data> operations = new ArrayList<>(size);
+                for (PendingOperation operation = first; operation != null; operation = operation.next) {
+                    operations.add(new HeapData(operation.bytes));
+                }
+                bytes = serializationService.toBytes(new OperationBatch(partitionId, operations));
+            }
+
+            Packet packet = new Packet(bytes, partitionId).setPacketType(Packet.Type.OPERATION);
+            if (connection.write(packet)) {
+                return;
+            }
+            error = new RetryableIOException("Packet not sent to -> " + connection.getRemoteAddress() + " over " + connection);
+        } catch (Throwable t) {
+            // the flusher must never fail, otherwise the partition would stay flushing forever
+            error = t;
+        }
+
+        for (PendingOperation operation = first; operation != null; operation = operation.next) {
+            operation.invocation.notifyError(error);
+        }
+    }
+
+    private static final class PendingOperation {
+
+        final Invocation invocation;
+        final ServerConnection connection;
+        final byte[] bytes;
+        PendingOperation next;
+
+        PendingOperation(Invocation invocation, ServerConnection connection, byte[] bytes) {
+            this.invocation = invocation;
+            this.connection = connection;
+            this.bytes = bytes;
+        }
+    }
+}
@@ -59,6 +59,7 @@ import com.hazelcast.spi.impl.operationservice.Operation;
 import com.hazelcast.spi.impl.operationservice.OperationResponseHandler;
 import com.hazelcast.spi.impl.operationservice.ReadonlyOperation;
 import com.hazelcast.spi.impl.operationservice.impl.operations.Backup;
+import com.hazelcast.spi.impl.operationservice.impl.operations.OperationBatch;
 import com.hazelcast.spi.impl.operationservice.impl.operations.PartitionIteratingOperation;
 import com.hazelcast.spi.impl.operationservice.impl.responses.CallTimeoutResponse;
 import com.hazelcast.spi.impl.operationservice.impl.responses.ErrorResponse;
@@ -435,14 +436,16 @@ class OperationRunnerImpl extends OperationRunner implements StaticMetricsProvid
         Address caller = connection.getRemoteAddress();
         try {
             Object object = nodeEngine.toObject(packet);
-            Operation op = (Operation) object;
-            op.setNodeEngine(nodeEngine);
-            setCallerAddress(op, caller);
-            setConnection(op, connection);
-            setCallerUuidIfNotSet(caller, op);
-            setOperationResponseHandler(op);
+            if (object instanceof OperationBatch) {
+                if (publishCurrentTask) {
+                    currentTask = null;
+                }
+                run((OperationBatch) object, connection, caller, startNanos);
+                return;
+            }
 
-            if (!ensureValidMember(op)) {
+            Operation op = (Operation) object;
+            if (!prepareRemoteOperation(op, connection, caller)) {
                 return;
             }
 
@@ -464,6 +467,39 @@ class OperationRunnerImpl extends OperationRunner implements StaticMetricsProvid
         }
     }
 
+    /**
+     * Runs the operations of the batch one by one. A failure to deserialize
+     * one of them is reported to its caller and doesn't prevent the rest of
+     * the batch from running.
+     */
+    private void run(OperationBatch batch, ServerConnection connection, Address caller, long startNanos) throws IOException {
+        for (Data data : batch.getOperations()) {
+            Operation op;
+            try {
+                op = nodeEngine.toObject(data);
+            } catch (Throwable throwable) {
+                long callId = extractOperationCallId(data);
+                outboundResponseHandler.send(connection.getConnectionManager(), caller,
+                        new ErrorResponse(throwable, callId, false));
+                logOperationDeserializationException(throwable, callId);
+                continue;
+            }
+
+            if (prepareRemoteOperation(op, connection, caller)) {
+                run(op, startNanos);
+            }
+        }
+    }
+
+    private boolean prepareRemoteOperation(Operation op, ServerConnection connection, Address caller) {
+        op.setNodeEngine(nodeEngine);
+        setCallerAddress(op, caller);
+        setConnection(op, connection);
+        setCallerUuidIfNotSet(caller, op);
+        setOperationResponseHandler(op);
+        return ensureValidMember(op);
+    }
+
     /**
      * This method has a direct dependency on how objects are serialized.
      * If the stream format is changed, this extraction method must be changed as well.
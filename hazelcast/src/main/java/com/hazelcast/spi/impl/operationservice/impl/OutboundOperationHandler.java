@@ -24,8 +24,10 @@ import com.hazelcast.internal.server.ServerConnection;
 import com.hazelcast.spi.impl.operationservice.Operation;
 
 import static com.hazelcast.instance.EndpointQualifier.MEMBER;
+import static com.hazelcast.internal.cluster.Versions.V4_1;
 import static com.hazelcast.internal.nio.Packet.FLAG_URGENT;
 import static com.hazelcast.internal.util.Preconditions.checkNotNull;
+import static com.hazelcast.spi.properties.ClusterProperty.OPERATION_BATCHING_ENABLED;
 
 /**
  * Responsible for sending Operations to another member.
@@ -34,11 +36,15 @@ public class OutboundOperationHandler {
     private final Address thisAddress;
     private final InternalSerializationService serializationService;
     private final Node node;
+    private final OperationBatcher batcher;
 
     public OutboundOperationHandler(Node node, Address thisAddress, InternalSerializationService serializationService) {
         this.node = node;
         this.thisAddress = thisAddress;
         this.serializationService = serializationService;
+        this.batcher = node.getProperties().getBoolean(OPERATION_BATCHING_ENABLED)
+                ? new OperationBatcher(node, serializationService)
+                : null;
     }
 
     public boolean send(Operation op, Address target) {
@@ -59,6 +65,25 @@ public class OutboundOperationHandler {
         return connection.write(packet);
     }
 
+    /**
+     * Sends the operation of the given invocation over the given connection.
+     * If operation batching is enabled, the partition operations may be sent
+     * in a batch with the operations invoked concurrently on the same
+     * partition, the invocation is notified if the batch can't be sent.
+     *
+     * @return {@code false} if the operation is not batched and couldn't be
+     * sent, {@code true} otherwise.
+     */
+    boolean send(Invocation invocation, Operation op, ServerConnection connection) {
+        if (batcher == null || op.isUrgent() || op.getPartitionId() < 0
+                || !node.getClusterService().getClusterVersion().isGreaterOrEqual(V4_1)) {
+            return send(op, connection);
+        }
+
+        batcher.send(invocation, op, connection);
+        return true;
+    }
+
     private Packet toPacket(Operation op) {
         byte[] bytes = serializationService.toBytes(op);
         int partitionId = op.getPartitionId();
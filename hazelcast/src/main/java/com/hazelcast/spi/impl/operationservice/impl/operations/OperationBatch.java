@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.spi.impl.operationservice.impl.operations;
+
+import com.hazelcast.internal.nio.IOUtil;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.spi.impl.SpiDataSerializerHook;
+import com.hazelcast.spi.impl.operationservice.Operation;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Carries the serialized operations sent concurrently to the same partition
+ * of the same member in a single packet.
+ * <p>
+ * The batch is only a transport: it is not invoked and doesn't return a
+ * response. The receiving {@link com.hazelcast.spi.impl.operationexecutor.OperationRunner}
+ * unpacks it and runs the operations one by one in a single pass, each of
+ * them sends its own response.
+ */
+public final class OperationBatch extends Operation implements IdentifiedDataSerializable {
+
+    private List<Data> operations;
+
+    public OperationBatch() {
+    }
+
+    public OperationBatch(int partitionId, List<Data> operations) {
+        this.operations = operations;
+        setPartitionId(partitionId);
+    }
+
+    public List<Data> getOperations() {
+        return operations;
+    }
+
+    @Override
+    public void run() {
+        throw new IllegalStateException("The operation batch is unpacked by the operation runner");
+    }
+
+    @Override
+    public boolean returnsResponse() {
+        return false;
+    }
+
+    @Override
+    public int getFactoryId() {
+        return SpiDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return SpiDataSerializerHook.OPERATION_BATCH;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+
+        out.writeInt(operations.size());
+        for (Data operation : operations) {
+            IOUtil.writeData(out, operation);
+        }
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+
+        int size = in.readInt();
+        operations = new ArrayList<>(size);
+        for (int i = 0; i < size; ++i) {
+            operations.add(IOUtil.readData(in));
+        }
+    }
+}
@@ -40,6 +40,7 @@ import com.hazelcast.query.impl.IndexCopyBehavior;
 import com.hazelcast.query.impl.predicates.QueryOptimizerFactory;
 import com.hazelcast.spi.impl.operationservice.InvocationBuilder;
 import com.hazelcast.spi.impl.operationservice.OperationService;
+import com.hazelcast.sql.impl.exec.io.flowcontrol.FlowControlType;
 
 import java.util.Map;
 import java.util.function.Function;
@@ -153,6 +154,22 @@ public final class ClusterProperty {
     public static final HazelcastProperty SOCKET_BUFFER_DIRECT
             = new HazelcastProperty("hazelcast.socket.buffer.direct", false);
 
+    /**
+     * The maximum total size in megabytes of the pooled direct socket buffers
+     * of the member to member connections.
+     * <p>
+     * If positive, the member to member connections take their socket buffers
+     * from a pool of direct buffers shared by all the connections of the member
+     * and release them to the pool when they are closed. So the packets, even
+     * the ones with large values, are copied straight between the byte arrays
+     * and the socket buffers without the additional copy the JVM makes for the
+     * heap buffers, and the direct buffers aren't allocated per connection.
+     * <p>
+     * It is disabled by default.
+     */
+    public static final HazelcastProperty SOCKET_BUFFER_DIRECT_POOL_SIZE_MB
+            = new HazelcastProperty("hazelcast.socket.buffer.direct.pool.size.mb", 0);
+
     /**
      * Overrides receive buffer size for connections opened by clients.
      * <p>
@@ -907,6 +924,48 @@ public final class ClusterProperty {
     public static final HazelcastProperty GLOBAL_HD_INDEX_ENABLED
             = new HazelcastProperty("hazelcast.hd.global.index.enabled", true);
 
+    /**
+     * Maximum number of threads that scan the local partitions of a map
+     * concurrently when executing a single SQL query on a member (see
+     * {@link com.hazelcast.sql.SqlService}). The local partitions are split
+     * into slices which are scanned in parallel by the SQL executor threads,
+     * and the results of the slices are merged before being passed to the
+     * rest of the query.
+     * <p>
+     * Small maps are not split, because the coordination overhead would
+     * exceed the benefit of the parallel scan.
+     * <p>
+     * Set to {@code 1} to disable the parallel scan. The default value
+     * {@code -1} means that the number of SQL executor threads is used.
+     */
+    public static final HazelcastProperty SQL_SCAN_PARALLELISM
+            = new HazelcastProperty("hazelcast.sql.scan.parallelism", -1);
+
+    /**
+     * Type of the flow control of the data sent between members by SQL
+     * queries (see {@link com.hazelcast.sql.SqlService}).
+     * Valid values:
+     * <ul>
+     * <li>ADAPTIVE - the receive window of each stream is sized to the observed
+     * bandwidth-delay product of the stream, bounded by the memory budget
+     * shared by all queries on the member (see
+     * {@link #SQL_FLOW_CONTROL_MEMORY_BUDGET_MB}). Default value.</li>
+     * <li>SIMPLE - each stream has a fixed receive window</li>
+     * </ul>
+     */
+    public static final HazelcastProperty SQL_FLOW_CONTROL_TYPE
+            = new HazelcastProperty("hazelcast.sql.flow.control.type", FlowControlType.ADAPTIVE.toString());
+
+    /**
+     * Memory in megabytes shared by the receive windows of all SQL query
+     * streams on the member when the adaptive flow control is used (see
+     * {@link #SQL_FLOW_CONTROL_TYPE}).
+     * <p>
+     * The default is 128 MB.
+     */
+    public static final HazelcastProperty SQL_FLOW_CONTROL_MEMORY_BUDGET_MB
+            = new HazelcastProperty("hazelcast.sql.flow.control.memory.budget.mb", 128);
+
     /**
      * Result size limit for query operations on maps.
      * <p>
@@ -958,6 +1017,9 @@ public final class ClusterProperty {
      * Valid Values:
      * <ul>
      * <li>RULES - for optimizations based on static rules</li>
+     * <li>COST - for optimizations based on static rules followed by a choice
+     * of indexes based on the statistics of indexed values; the indexes
+     * maintain the statistics only if this optimizer is selected</li>
      * <li>NONE - optimization are disabled</li>
      * </ul>
      * <p>
@@ -966,6 +1028,36 @@ public final class ClusterProperty {
     public static final HazelcastProperty QUERY_OPTIMIZER_TYPE
             = new HazelcastProperty("hazelcast.query.optimizer.type", QueryOptimizerFactory.Type.RULES.toString());
 
+    /**
+     * Maximum number of entries indexed by a single step of a background
+     * index build.
+     * <p>
+     * When a global index is added to a map, or a partition of a map with
+     * global indexes migrates to a member, the partition is indexed in chunks
+     * of this size on the partition thread, so that the operations on the
+     * partition are not blocked until the whole partition is indexed.
+     * Partitions which have at most this number of entries are indexed at
+     * once. While a partition is being indexed, queries use the indexes for
+     * the fully indexed partitions and scan the rest.
+     * <p>
+     * The default is {@code 1000}.
+     */
+    public static final HazelcastProperty QUERY_INDEX_BUILD_CHUNK_SIZE
+            = new HazelcastProperty("hazelcast.query.index.build.chunk.size", 1000);
+
+    /**
+     * Pause between two subsequent steps of a background index build of a
+     * partition (see {@link #QUERY_INDEX_BUILD_CHUNK_SIZE}).
+     * <p>
+     * By default, the next step is submitted to the partition thread right
+     * away and is executed after the operations already queued for the
+     * partition. A positive value throttles the index build further.
+     * <p>
+     * The default is {@code 0}.
+     */
+    public static final HazelcastProperty QUERY_INDEX_BUILD_CHUNK_PAUSE_MILLIS
+            = new HazelcastProperty("hazelcast.query.index.build.chunk.pause.millis", 0, MILLISECONDS);
+
     /**
      * Type of Query Index result copying behavior. Defines the behavior for
      * index copying on index read/write.
@@ -1196,6 +1288,17 @@ public final class ClusterProperty {
     public static final HazelcastProperty OPERATION_BACKUP_TIMEOUT_MILLIS
             = new HazelcastProperty("hazelcast.operation.backup.timeout.millis", 5000, MILLISECONDS);
 
+    /**
+     * Enables the opportunistic batching of the operations sent to other
+     * members. The partition operations invoked concurrently on the same
+     * partition are sent in a single packet and run by the partition thread
+     * in a single pass. The operations are never delayed to form a batch.
+     * <p>
+     * The batching takes effect once the cluster version is 4.1 or higher.
+     */
+    public static final HazelcastProperty OPERATION_BATCHING_ENABLED
+            = new HazelcastProperty("hazelcast.operation.batching.enabled", false);
+
     /**
      * When this configuration is enabled, if an operation has sync backups and
      * acks are not received from backup replicas in time, or the member which
@@ -1319,6 +1422,27 @@ public final class ClusterProperty {
             = new HazelcastProperty("hazelcast.operation.thread.count",
             (Function<HazelcastProperties, Integer>) properties -> max(2, RuntimeAvailableProcessors.get()));
 
+    /**
+     * Enables pinning the partition operation threads to the cores.
+     * <p>
+     * If enabled, there is a partition operation thread per CPU the member is
+     * allowed to run on and the N-th thread is pinned to the N-th CPU, so the
+     * partitions are spread evenly over the cores. This overrides the
+     * {@link #PARTITION_OPERATION_THREAD_COUNT}.
+     * <p>
+     * This is an affinity option only: the IO threads, the response threads
+     * and the operation queues are configured as usual, and the partitions are
+     * not routed to the IO thread running on the core of their partition thread.
+     * <p>
+     * An explicitly configured {@code hazelcast.operation.thread.affinity} takes
+     * precedence. If thread affinity support is not available, the threads are
+     * sized per core but not pinned.
+     * <p>
+     * It is disabled by default.
+     */
+    public static final HazelcastProperty PARTITION_OPERATION_THREAD_CORE_AFFINITY_ENABLED
+            = new HazelcastProperty("hazelcast.operation.thread.core.affinity.enabled", false);
+
     /**
      * The number of generic operation handler threads per member.
      * <p>
@@ -1359,6 +1483,23 @@ public final class ClusterProperty {
     public static final HazelcastProperty RESPONSE_THREAD_COUNT
             = new HazelcastProperty("hazelcast.operation.response.thread.count", 2);
 
+    /**
+     * Enables running the blocking user code on virtual threads instead of
+     * platform threads, so many I/O-bound tasks can run concurrently without
+     * an OS thread per task.
+     * <p>
+     * It applies to the tasks of the executor services, the durable executor
+     * services and the scheduled executor services, and to the tasks loading
+     * the map entries using the {@code MapLoader}. The configured pool sizes
+     * still limit the number of the tasks running concurrently per executor,
+     * so they can be raised considerably when this is enabled.
+     * <p>
+     * If the JVM doesn't support virtual threads, the platform threads are
+     * used. It is disabled by default.
+     */
+    public static final HazelcastProperty EXECUTOR_VIRTUAL_THREADS_ENABLED
+            = new HazelcastProperty("hazelcast.executor.virtual.threads.enabled", false);
+
     /*
      * ICACHE / JCACHE PROPERTIES
      */
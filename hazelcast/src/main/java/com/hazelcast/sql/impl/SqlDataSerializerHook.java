@@ -30,6 +30,11 @@ import com.hazelcast.sql.impl.expression.CastExpression;
 import com.hazelcast.sql.impl.expression.ColumnExpression;
 import com.hazelcast.sql.impl.expression.ConstantExpression;
 import com.hazelcast.sql.impl.expression.ParameterExpression;
+import com.hazelcast.sql.impl.expression.aggregate.ApproxCountDistinctAggregateExpression;
+import com.hazelcast.sql.impl.expression.aggregate.AvgAggregateExpression;
+import com.hazelcast.sql.impl.expression.aggregate.CountAggregateExpression;
+import com.hazelcast.sql.impl.expression.aggregate.MinMaxAggregateExpression;
+import com.hazelcast.sql.impl.expression.aggregate.SumAggregateExpression;
 import com.hazelcast.sql.impl.expression.math.AbsFunction;
 import com.hazelcast.sql.impl.expression.math.DivideFunction;
 import com.hazelcast.sql.impl.expression.math.DoubleFunction;
@@ -69,14 +74,21 @@ import com.hazelcast.sql.impl.operation.QueryCheckResponseOperation;
 import com.hazelcast.sql.impl.operation.QueryExecuteOperation;
 import com.hazelcast.sql.impl.operation.QueryExecuteOperationFragment;
 import com.hazelcast.sql.impl.operation.QueryFlowControlExchangeOperation;
+import com.hazelcast.sql.impl.plan.node.AggregatePlanNode;
 import com.hazelcast.sql.impl.plan.node.EmptyPlanNode;
 import com.hazelcast.sql.impl.plan.node.FilterPlanNode;
+import com.hazelcast.sql.impl.plan.node.HashJoinPlanNode;
+import com.hazelcast.sql.impl.plan.node.IndexNestedLoopJoinPlanNode;
 import com.hazelcast.sql.impl.plan.node.MapIndexScanPlanNode;
 import com.hazelcast.sql.impl.plan.node.MapScanPlanNode;
 import com.hazelcast.sql.impl.plan.node.ProjectPlanNode;
 import com.hazelcast.sql.impl.plan.node.RootPlanNode;
+import com.hazelcast.sql.impl.plan.node.SortPlanNode;
+import com.hazelcast.sql.impl.plan.node.io.BroadcastSendPlanNode;
 import com.hazelcast.sql.impl.plan.node.io.ReceivePlanNode;
+import com.hazelcast.sql.impl.plan.node.io.ReceiveSortMergePlanNode;
 import com.hazelcast.sql.impl.plan.node.io.RootSendPlanNode;
+import com.hazelcast.sql.impl.plan.node.io.UnicastSendPlanNode;
 import com.hazelcast.sql.impl.row.EmptyRow;
 import com.hazelcast.sql.impl.row.EmptyRowBatch;
 import com.hazelcast.sql.impl.row.HeapRow;
@@ -170,7 +182,23 @@ public class SqlDataSerializerHook implements DataSerializerHook {
     public static final int EXPRESSION_SUBSTRING = 60;
     public static final int EXPRESSION_TRIM = 61;
 
-    public static final int LEN = EXPRESSION_TRIM + 1;
+    public static final int EXPRESSION_AGGREGATE_COUNT = 62;
+    public static final int EXPRESSION_AGGREGATE_SUM = 63;
+    public static final int EXPRESSION_AGGREGATE_AVG = 64;
+    public static final int EXPRESSION_AGGREGATE_MIN_MAX = 65;
+
+    public static final int NODE_AGGREGATE = 66;
+    public static final int NODE_SORT = 67;
+    public static final int NODE_RECEIVE_SORT_MERGE = 68;
+
+    public static final int NODE_BROADCAST_SEND = 69;
+    public static final int NODE_UNICAST_SEND = 70;
+    public static final int NODE_HASH_JOIN = 71;
+    public static final int NODE_INDEX_NESTED_LOOP_JOIN = 72;
+
+    public static final int EXPRESSION_AGGREGATE_APPROX_COUNT_DISTINCT = 73;
+
+    public static final int LEN = EXPRESSION_AGGREGATE_APPROX_COUNT_DISTINCT + 1;
 
     @Override
     public int getFactoryId() {
@@ -258,6 +286,22 @@ public class SqlDataSerializerHook implements DataSerializerHook {
         constructors[EXPRESSION_SUBSTRING] = arg -> new SubstringFunction();
         constructors[EXPRESSION_TRIM] = arg -> new TrimFunction();
 
+        constructors[EXPRESSION_AGGREGATE_COUNT] = arg -> new CountAggregateExpression();
+        constructors[EXPRESSION_AGGREGATE_SUM] = arg -> new SumAggregateExpression();
+        constructors[EXPRESSION_AGGREGATE_AVG] = arg -> new AvgAggregateExpression();
+        constructors[EXPRESSION_AGGREGATE_MIN_MAX] = arg -> new MinMaxAggregateExpression();
+
+        constructors[NODE_AGGREGATE] = arg -> new AggregatePlanNode();
+        constructors[NODE_SORT] = arg -> new SortPlanNode();
+        constructors[NODE_RECEIVE_SORT_MERGE] = arg -> new ReceiveSortMergePlanNode();
+
+        constructors[NODE_BROADCAST_SEND] = arg -> new BroadcastSendPlanNode();
+        constructors[NODE_UNICAST_SEND] = arg -> new UnicastSendPlanNode();
+        constructors[NODE_HASH_JOIN] = arg -> new HashJoinPlanNode();
+        constructors[NODE_INDEX_NESTED_LOOP_JOIN] = arg -> new IndexNestedLoopJoinPlanNode();
+
+        constructors[EXPRESSION_AGGREGATE_APPROX_COUNT_DISTINCT] = arg -> new ApproxCountDistinctAggregateExpression();
+
         return new ArrayDataSerializableFactory(constructors);
     }
 }
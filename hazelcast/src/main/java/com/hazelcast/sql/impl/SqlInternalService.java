@@ -19,6 +19,8 @@ package com.hazelcast.sql.impl;
 import com.hazelcast.internal.nio.Packet;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.sql.impl.exec.io.flowcontrol.FlowControlFactory;
+import com.hazelcast.sql.impl.exec.io.flowcontrol.FlowControlType;
+import com.hazelcast.sql.impl.exec.io.flowcontrol.adaptive.AdaptiveFlowControlFactory;
 import com.hazelcast.sql.impl.exec.io.flowcontrol.simple.SimpleFlowControlFactory;
 import com.hazelcast.sql.impl.exec.root.BlockingRootResultConsumer;
 import com.hazelcast.sql.impl.operation.QueryExecuteOperation;
@@ -49,9 +51,6 @@ public class SqlInternalService {
     /** Memory assigned to a single edge mailbox. Will be reworked to dynamic mode when memory manager is implemented. */
     private static final long MEMORY_PER_EDGE_MAILBOX = 512 * 1024;
 
-    /** Default flow control factory. */
-    private static final FlowControlFactory FLOW_CONTROL_FACTORY = SimpleFlowControlFactory.INSTANCE;
-
     /** Node service provider. */
     private final NodeServiceProvider nodeServiceProvider;
 
@@ -61,20 +60,27 @@ public class SqlInternalService {
     /** Registry for client queries. */
     private final QueryClientStateRegistry clientStateRegistry;
 
+    /** Flow control factory. */
+    private final FlowControlFactory flowControlFactory;
+
     /** Operation manager. */
     private final QueryOperationHandlerImpl operationHandler;
 
     /** State registry updater. */
     private final QueryStateRegistryUpdater stateRegistryUpdater;
 
+    @SuppressWarnings("checkstyle:parameternumber")
     public SqlInternalService(
         String instanceName,
         NodeServiceProvider nodeServiceProvider,
         InternalSerializationService serializationService,
         int operationThreadCount,
         int fragmentThreadCount,
+        int scanParallelism,
         int outboxBatchSize,
         long stateCheckFrequency,
+        FlowControlType flowControlType,
+        long flowControlMemoryBudget,
         PlanCacheChecker planCacheChecker
     ) {
         this.nodeServiceProvider = nodeServiceProvider;
@@ -83,6 +89,16 @@ public class SqlInternalService {
         stateRegistry = new QueryStateRegistry(nodeServiceProvider);
         clientStateRegistry = new QueryClientStateRegistry();
 
+        // Adaptive flow control releases the memory of queries which are no longer registered.
+        if (flowControlType == FlowControlType.SIMPLE) {
+            flowControlFactory = SimpleFlowControlFactory.INSTANCE;
+        } else {
+            flowControlFactory = new AdaptiveFlowControlFactory(
+                flowControlMemoryBudget,
+                queryId -> stateRegistry.getState(queryId) != null
+            );
+        }
+
         // Operation handler depends on state registry.
         operationHandler = new QueryOperationHandlerImpl(
             instanceName,
@@ -90,9 +106,10 @@ public class SqlInternalService {
             serializationService,
             stateRegistry,
             outboxBatchSize,
-            FLOW_CONTROL_FACTORY,
+            flowControlFactory,
             fragmentThreadCount,
-            operationThreadCount
+            operationThreadCount,
+            scanParallelism
         );
 
         // State checker depends on state registries and operation handler.
@@ -213,6 +230,10 @@ public class SqlInternalService {
         return stateRegistry;
     }
 
+    public FlowControlFactory getFlowControlFactory() {
+        return flowControlFactory;
+    }
+
     public QueryOperationHandlerImpl getOperationHandler() {
         return operationHandler;
     }
@@ -22,18 +22,25 @@ import com.hazelcast.internal.nio.Packet;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.util.Preconditions;
 import com.hazelcast.logging.ILogger;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.memory.MemoryUnit;
 import com.hazelcast.spi.exception.ServiceNotFoundException;
 import com.hazelcast.spi.impl.NodeEngine;
 import com.hazelcast.spi.impl.NodeEngineImpl;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.spi.properties.HazelcastProperties;
 import com.hazelcast.sql.SqlResult;
 import com.hazelcast.sql.SqlService;
 import com.hazelcast.sql.SqlStatement;
+import com.hazelcast.sql.impl.exec.io.flowcontrol.FlowControlType;
 import com.hazelcast.sql.impl.optimizer.DisabledSqlOptimizer;
 import com.hazelcast.sql.impl.optimizer.OptimizationTask;
 import com.hazelcast.sql.impl.optimizer.SqlOptimizer;
 import com.hazelcast.sql.impl.optimizer.SqlPlan;
 import com.hazelcast.sql.impl.plan.Plan;
 import com.hazelcast.sql.impl.plan.cache.CacheablePlan;
+import com.hazelcast.sql.impl.plan.cache.ParameterizedQuery;
 import com.hazelcast.sql.impl.plan.cache.PlanCache;
 import com.hazelcast.sql.impl.plan.cache.PlanCacheChecker;
 import com.hazelcast.sql.impl.plan.cache.PlanCacheKey;
@@ -49,9 +56,14 @@ import java.lang.reflect.Constructor;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.logging.Level;
 
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.SQL_PREFIX_FLOW_CONTROL;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.SQL_PREFIX_PLAN_CACHE;
+
 /**
  * Base SQL service implementation that bridges optimizer implementation, public and private APIs.
  */
@@ -73,13 +85,20 @@ public class SqlServiceImpl implements SqlService, Consumer<Packet> {
     private final NodeServiceProviderImpl nodeServiceProvider;
     private final PlanCache planCache = new PlanCache(PLAN_CACHE_SIZE);
 
+    /** Parameterized queries that could not be planned as IMDG plans, so that we do not retry them every time. */
+    private final Set<PlanCacheKey> nonParameterizableQueries = ConcurrentHashMap.newKeySet();
+
     private final int executorPoolSize;
     private final int operationPoolSize;
+    private final int scanParallelism;
     private final long queryTimeout;
+    private final FlowControlType flowControlType;
+    private final long flowControlMemoryBudget;
 
     private JetSqlCoreBackend jetSqlCoreBackend;
     private List<TableResolver> tableResolvers;
     private SqlOptimizer optimizer;
+    private MapServiceContext mapServiceContext;
     private volatile SqlInternalService internalService;
 
     public SqlServiceImpl(NodeEngineImpl nodeEngine) {
@@ -92,6 +111,7 @@ public class SqlServiceImpl implements SqlService, Consumer<Packet> {
         int executorPoolSize = config.getExecutorPoolSize();
         int operationPoolSize = config.getOperationPoolSize();
         long queryTimeout = config.getStatementTimeoutMillis();
+        int scanParallelism = nodeEngine.getProperties().getInteger(ClusterProperty.SQL_SCAN_PARALLELISM);
 
         if (executorPoolSize == SqlConfig.DEFAULT_EXECUTOR_POOL_SIZE) {
             executorPoolSize = Runtime.getRuntime().availableProcessors();
@@ -101,13 +121,23 @@ public class SqlServiceImpl implements SqlService, Consumer<Packet> {
             operationPoolSize = Runtime.getRuntime().availableProcessors();
         }
 
+        if (scanParallelism <= 0) {
+            scanParallelism = executorPoolSize;
+        }
+
         assert executorPoolSize > 0;
         assert operationPoolSize > 0;
         assert queryTimeout >= 0L;
 
         this.executorPoolSize = executorPoolSize;
         this.operationPoolSize = operationPoolSize;
+        this.scanParallelism = scanParallelism;
         this.queryTimeout = queryTimeout;
+
+        HazelcastProperties properties = nodeEngine.getProperties();
+        this.flowControlType = properties.getEnum(ClusterProperty.SQL_FLOW_CONTROL_TYPE, FlowControlType.class);
+        this.flowControlMemoryBudget = MemoryUnit.MEGABYTES.toBytes(
+            properties.getInteger(ClusterProperty.SQL_FLOW_CONTROL_MEMORY_BUDGET_MB));
     }
 
     public void start() {
@@ -121,6 +151,9 @@ public class SqlServiceImpl implements SqlService, Consumer<Packet> {
 
         tableResolvers = createTableResolvers(nodeEngine, jetSqlCoreBackend);
 
+        MapService mapService = nodeEngine.getService(MapService.SERVICE_NAME);
+        mapServiceContext = mapService.getMapServiceContext();
+
         optimizer = createOptimizer(nodeEngine, jetSqlCoreBackend);
 
         String instanceName = nodeEngine.getHazelcastInstance().getName();
@@ -128,7 +161,8 @@ public class SqlServiceImpl implements SqlService, Consumer<Packet> {
         PlanCacheChecker planCacheChecker = new PlanCacheChecker(
             nodeEngine,
             planCache,
-            tableResolvers
+            tableResolvers,
+            this::getSchemaVersion
         );
         internalService = new SqlInternalService(
             instanceName,
@@ -136,15 +170,22 @@ public class SqlServiceImpl implements SqlService, Consumer<Packet> {
             serializationService,
             operationPoolSize,
             executorPoolSize,
+            scanParallelism,
             OUTBOX_BATCH_SIZE,
             STATE_CHECK_FREQUENCY,
+            flowControlType,
+            flowControlMemoryBudget,
             planCacheChecker
         );
         internalService.start();
+
+        nodeEngine.getMetricsRegistry().registerStaticMetrics(internalService.getFlowControlFactory(), SQL_PREFIX_FLOW_CONTROL);
+        nodeEngine.getMetricsRegistry().registerStaticMetrics(planCache, SQL_PREFIX_PLAN_CACHE);
     }
 
     public void reset() {
         planCache.clear();
+        nonParameterizableQueries.clear();
         if (jetSqlCoreBackend != null) {
             jetSqlCoreBackend.reset();
         }
@@ -155,6 +196,7 @@ public class SqlServiceImpl implements SqlService, Consumer<Packet> {
 
     public void shutdown() {
         planCache.clear();
+        nonParameterizableQueries.clear();
         if (jetSqlCoreBackend != null) {
             jetSqlCoreBackend.shutdown(true);
         }
@@ -226,22 +268,83 @@ public class SqlServiceImpl implements SqlService, Consumer<Packet> {
         }
 
         // Execute.
-        SqlPlan plan = prepare(sql);
+        List<List<String>> searchPaths = QueryUtils.prepareSearchPaths(Collections.emptyList(), tableResolvers);
+        long schemaVersion = getSchemaVersion();
+
+        ParameterizedQuery parameterizedQuery = ParameterizedQuery.parameterize(sql);
+
+        if (parameterizedQuery != null) {
+            Plan plan = prepareParameterized(parameterizedQuery, searchPaths, schemaVersion);
+
+            if (plan != null) {
+                List<Object> params1 = parameterizedQuery.bind(params0, plan.getParameterMetadata());
+
+                if (params1 != null) {
+                    return executeImdg(plan, params1, timeout, pageSize);
+                }
+            }
+
+            planCache.onParameterizationFallback();
+        }
+
+        SqlPlan plan = prepare(sql, searchPaths, schemaVersion);
 
         return execute(plan, params0, timeout, pageSize);
     }
 
-    private SqlPlan prepare(String sql) {
-        List<List<String>> searchPaths = QueryUtils.prepareSearchPaths(Collections.emptyList(), tableResolvers);
+    /**
+     * Prepares the plan of a query with literals replaced by parameters.
+     *
+     * @return The plan or {@code null} if the parameterized query cannot be executed by the IMDG engine.
+     */
+    private Plan prepareParameterized(ParameterizedQuery query, List<List<String>> searchPaths, long schemaVersion) {
+        PlanCacheKey planKey = new PlanCacheKey(searchPaths, query.getSql(), schemaVersion);
+
+        CacheablePlan cachedPlan = planCache.get(planKey);
 
-        PlanCacheKey planKey = new PlanCacheKey(searchPaths, sql);
+        if (cachedPlan != null) {
+            return cachedPlan instanceof Plan ? (Plan) cachedPlan : null;
+        }
+
+        if (nonParameterizableQueries.contains(planKey)) {
+            return null;
+        }
+
+        SqlPlan plan;
+
+        try {
+            plan = optimizer.prepare(new OptimizationTask(query.getSql(), searchPaths, new SqlCatalog(tableResolvers),
+                schemaVersion));
+        } catch (Exception e) {
+            // The parameterized query is not always valid, e.g. when the type of the parameter cannot be inferred. The
+            // original query will be planned instead, and will report its own errors if any.
+            plan = null;
+        }
+
+        if (!(plan instanceof Plan)) {
+            if (nonParameterizableQueries.size() >= PLAN_CACHE_SIZE) {
+                nonParameterizableQueries.clear();
+            }
+
+            nonParameterizableQueries.add(planKey);
+
+            return null;
+        }
+
+        planCache.put(planKey, (Plan) plan);
+
+        return (Plan) plan;
+    }
+
+    private SqlPlan prepare(String sql, List<List<String>> searchPaths, long schemaVersion) {
+        PlanCacheKey planKey = new PlanCacheKey(searchPaths, sql, schemaVersion);
 
         SqlPlan plan = planCache.get(planKey);
 
         if (plan == null) {
             SqlCatalog schema = new SqlCatalog(tableResolvers);
 
-            plan = optimizer.prepare(new OptimizationTask(sql, searchPaths, schema));
+            plan = optimizer.prepare(new OptimizationTask(sql, searchPaths, schema, schemaVersion));
 
             if (plan instanceof CacheablePlan) {
                 CacheablePlan plan0 = (CacheablePlan) plan;
@@ -253,6 +356,16 @@ public class SqlServiceImpl implements SqlService, Consumer<Packet> {
         return plan;
     }
 
+    /**
+     * Gets the version of the schema that cached plans depend on. The version changes when an index is added to
+     * any map on the local member, or when the partition distribution changes, so that the plans created for the
+     * previous schema are not used anymore. Such plans are removed from the cache by the periodic plan check.
+     */
+    @SuppressWarnings("checkstyle:magicnumber")
+    private long getSchemaVersion() {
+        return 31 * mapServiceContext.getIndexVersion() + nodeEngine.getPartitionService().getPartitionStateStamp();
+    }
+
     private SqlResult execute(SqlPlan plan, List<Object> params, long timeout, int pageSize) {
         if (plan instanceof Plan) {
             return executeImdg((Plan) plan, params, timeout, pageSize);
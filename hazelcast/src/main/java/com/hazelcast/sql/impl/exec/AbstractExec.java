@@ -75,6 +75,14 @@ public abstract class AbstractExec implements Exec {
         // No-op.
     }
 
+    /**
+     * Allows the executor to be advanced again after it has returned {@link IterationResult#FETCHED_DONE}. Should be
+     * called only by executors which support repeated iteration.
+     */
+    protected final void resetDone() {
+        done = false;
+    }
+
     protected abstract IterationResult advance0();
 
     protected abstract RowBatch currentBatch0();
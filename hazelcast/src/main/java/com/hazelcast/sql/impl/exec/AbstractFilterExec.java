@@ -27,7 +27,8 @@ import java.util.List;
  * Abstract filter executor that removes rows from the output based on a condition.
  * <p>
  * Currently the executor batches rows, and reports progress only when the batch is full or when EOS has been reached.
- * This is done to minimize the operator evaluation overhead.
+ * This is done to minimize the operator evaluation overhead. The condition is evaluated for the whole upstream batch
+ * at once, see {@link #eval(RowBatch)}.
  * <p>
  * The compiled counterpart does not require batching.
  */
@@ -38,6 +39,15 @@ public abstract class AbstractFilterExec extends AbstractUpstreamAwareExec {
     private List<Row> currentRows;
     private ListRowBatch currentBatch;
 
+    /** Upstream batch which is being filtered. */
+    private RowBatch pendingBatch;
+
+    /** Filter results for the rows of the pending batch. */
+    private boolean[] pendingMatches;
+
+    /** Position of the next row in the pending batch. */
+    private int pendingPosition;
+
     protected AbstractFilterExec(int id, Exec upstream) {
         super(id, upstream);
     }
@@ -49,31 +59,70 @@ public abstract class AbstractFilterExec extends AbstractUpstreamAwareExec {
             currentBatch = null;
         }
 
-        int count = currentRows.size();
-
         while (true) {
-            // Wait if cannot get more rows.
-            if (!state.advance()) {
-                return IterationResult.WAIT;
+            if (pendingBatch == null) {
+                // Wait if cannot get more rows.
+                if (!state.advance()) {
+                    return IterationResult.WAIT;
+                }
+
+                // Evaluate the condition for the whole upstream batch at once.
+                RowBatch upstreamBatch = state.consumeBatch();
+
+                if (upstreamBatch.getRowCount() > 0) {
+                    pendingBatch = upstreamBatch;
+                    pendingMatches = eval(upstreamBatch);
+                    pendingPosition = 0;
+                }
             }
 
             // Consume results until the batch is full.
-            for (Row upstreamRow : state) {
-                boolean matches = eval(upstreamRow);
+            if (pendingBatch != null && drainPending()) {
+                return prepareBatch(isDone() ? IterationResult.FETCHED_DONE : IterationResult.FETCHED);
+            }
+
+            if (isDone()) {
+                return prepareBatch(IterationResult.FETCHED_DONE);
+            }
+        }
+    }
+
+    /**
+     * Moves the matching rows of the pending batch to the current rows.
+     *
+     * @return {@code true} if the current rows are full.
+     */
+    private boolean drainPending() {
+        int rowCount = pendingBatch.getRowCount();
 
-                if (matches) {
-                    currentRows.add(upstreamRow);
+        while (pendingPosition < rowCount) {
+            int position = pendingPosition++;
 
-                    if (++count == BATCH_SIZE) {
-                        return prepareBatch(state.isDone() ? IterationResult.FETCHED_DONE : IterationResult.FETCHED);
+            if (pendingMatches[position]) {
+                currentRows.add(pendingBatch.getRow(position));
+
+                if (currentRows.size() == BATCH_SIZE) {
+                    if (pendingPosition == rowCount) {
+                        clearPending();
                     }
-                }
-            }
 
-            if (state.isDone()) {
-                return prepareBatch(IterationResult.FETCHED_DONE);
+                    return true;
+                }
             }
         }
+
+        clearPending();
+
+        return false;
+    }
+
+    private boolean isDone() {
+        return pendingBatch == null && state.isDone();
+    }
+
+    private void clearPending() {
+        pendingBatch = null;
+        pendingMatches = null;
     }
 
     private IterationResult prepareBatch(IterationResult result) {
@@ -88,5 +137,21 @@ public abstract class AbstractFilterExec extends AbstractUpstreamAwareExec {
         return currentBatch;
     }
 
+    /**
+     * Evaluates the condition for all rows of the batch.
+     *
+     * @param batch Batch.
+     * @return Flags which are set for the matching rows.
+     */
+    protected boolean[] eval(RowBatch batch) {
+        boolean[] res = new boolean[batch.getRowCount()];
+
+        for (int i = 0; i < res.length; i++) {
+            res[i] = eval(batch.getRow(i));
+        }
+
+        return res;
+    }
+
     protected abstract boolean eval(Row row);
 }
@@ -20,22 +20,36 @@ import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.util.collection.PartitionIdSet;
 import com.hazelcast.map.impl.MapContainer;
 import com.hazelcast.sql.impl.NodeServiceProvider;
+import com.hazelcast.sql.impl.exec.agg.AggregateExec;
 import com.hazelcast.sql.impl.exec.scan.index.MapIndexScanExec;
 import com.hazelcast.sql.impl.exec.io.InboundHandler;
 import com.hazelcast.sql.impl.exec.io.Inbox;
 import com.hazelcast.sql.impl.exec.io.OutboundHandler;
 import com.hazelcast.sql.impl.exec.io.Outbox;
 import com.hazelcast.sql.impl.exec.io.ReceiveExec;
+import com.hazelcast.sql.impl.exec.io.BroadcastSendExec;
+import com.hazelcast.sql.impl.exec.io.ReceiveSortMergeExec;
 import com.hazelcast.sql.impl.exec.io.SendExec;
+import com.hazelcast.sql.impl.exec.io.UnicastSendExec;
+import com.hazelcast.sql.impl.exec.join.HashJoinExec;
+import com.hazelcast.sql.impl.exec.join.IndexNestedLoopJoinExec;
+import com.hazelcast.sql.impl.exec.io.StripedInbox;
 import com.hazelcast.sql.impl.exec.io.flowcontrol.FlowControl;
 import com.hazelcast.sql.impl.exec.io.flowcontrol.FlowControlFactory;
 import com.hazelcast.sql.impl.exec.root.RootExec;
+import com.hazelcast.sql.impl.exec.scan.AbstractMapScanExec;
 import com.hazelcast.sql.impl.exec.scan.MapScanExec;
+import com.hazelcast.sql.impl.exec.scan.MapScanExecUtils;
+import com.hazelcast.sql.impl.exec.scan.ParallelMapScanExec;
+import com.hazelcast.sql.impl.exec.sort.SortExec;
 import com.hazelcast.sql.impl.operation.QueryExecuteOperation;
 import com.hazelcast.sql.impl.operation.QueryExecuteOperationFragment;
 import com.hazelcast.sql.impl.operation.QueryExecuteOperationFragmentMapping;
 import com.hazelcast.sql.impl.operation.QueryOperationHandler;
+import com.hazelcast.sql.impl.plan.node.AggregatePlanNode;
 import com.hazelcast.sql.impl.plan.node.EmptyPlanNode;
+import com.hazelcast.sql.impl.plan.node.HashJoinPlanNode;
+import com.hazelcast.sql.impl.plan.node.IndexNestedLoopJoinPlanNode;
 import com.hazelcast.sql.impl.plan.node.MapIndexScanPlanNode;
 import com.hazelcast.sql.impl.plan.node.MapScanPlanNode;
 import com.hazelcast.sql.impl.plan.node.FilterPlanNode;
@@ -43,13 +57,20 @@ import com.hazelcast.sql.impl.plan.node.PlanNode;
 import com.hazelcast.sql.impl.plan.node.PlanNodeVisitor;
 import com.hazelcast.sql.impl.plan.node.ProjectPlanNode;
 import com.hazelcast.sql.impl.plan.node.RootPlanNode;
+import com.hazelcast.sql.impl.plan.node.SortPlanNode;
+import com.hazelcast.sql.impl.plan.node.io.BroadcastSendPlanNode;
 import com.hazelcast.sql.impl.plan.node.io.EdgeAwarePlanNode;
 import com.hazelcast.sql.impl.plan.node.io.ReceivePlanNode;
+import com.hazelcast.sql.impl.plan.node.io.ReceiveSortMergePlanNode;
 import com.hazelcast.sql.impl.plan.node.io.RootSendPlanNode;
+import com.hazelcast.sql.impl.plan.node.io.UnicastSendPlanNode;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.sql.impl.worker.QueryFragmentWorkerPool;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -57,6 +78,9 @@ import java.util.UUID;
  * Visitor which builds an executor for every observed physical node.
  */
 public class CreateExecPlanNodeVisitor implements PlanNodeVisitor {
+    /** Minimum number of entries per slice of a parallel map scan. */
+    public static final int PARALLEL_SCAN_MIN_ENTRIES_PER_SLICE = 4 * AbstractMapScanExec.BATCH_SIZE;
+
     /** Operation handler. */
     private final QueryOperationHandler operationHandler;
 
@@ -81,6 +105,12 @@ public class CreateExecPlanNodeVisitor implements PlanNodeVisitor {
     /** Recommended outbox batch size in bytes. */
     private final int outboxBatchSize;
 
+    /** Pool to execute slices of parallel map scans. */
+    private final QueryFragmentWorkerPool fragmentPool;
+
+    /** Maximum number of slices of a parallel map scan. */
+    private final int scanParallelism;
+
     /** Hook to alter produced Exec (for testing purposes). */
     private final CreateExecPlanNodeVisitorHook hook;
 
@@ -96,6 +126,7 @@ public class CreateExecPlanNodeVisitor implements PlanNodeVisitor {
     /** Outboxes. */
     private final Map<Integer, Map<UUID, OutboundHandler>> outboxes = new HashMap<>();
 
+    @SuppressWarnings("checkstyle:ParameterNumber")
     public CreateExecPlanNodeVisitor(
         QueryOperationHandler operationHandler,
         NodeServiceProvider nodeServiceProvider,
@@ -105,6 +136,8 @@ public class CreateExecPlanNodeVisitor implements PlanNodeVisitor {
         FlowControlFactory flowControlFactory,
         PartitionIdSet localParts,
         int outboxBatchSize,
+        QueryFragmentWorkerPool fragmentPool,
+        int scanParallelism,
         CreateExecPlanNodeVisitorHook hook
     ) {
         this.operationHandler = operationHandler;
@@ -115,6 +148,8 @@ public class CreateExecPlanNodeVisitor implements PlanNodeVisitor {
         this.flowControlFactory = flowControlFactory;
         this.localParts = localParts;
         this.outboxBatchSize = outboxBatchSize;
+        this.fragmentPool = fragmentPool;
+        this.scanParallelism = scanParallelism;
         this.hook = hook;
     }
 
@@ -159,6 +194,42 @@ public class CreateExecPlanNodeVisitor implements PlanNodeVisitor {
         push(res);
     }
 
+    @Override
+    public void onReceiveSortMergeNode(ReceiveSortMergePlanNode node) {
+        // Navigate to sender exec and get the sender members, every member has its own stripe.
+        int edgeId = node.getEdgeId();
+
+        int sendFragmentPos = operation.getOutboundEdgeMap().get(edgeId);
+        QueryExecuteOperationFragment sendFragment = operation.getFragments().get(sendFragmentPos);
+
+        Collection<UUID> fragmentMemberIds = getFragmentMembers(sendFragment);
+
+        // Create and register inbox.
+        StripedInbox inbox = new StripedInbox(
+            operationHandler,
+            operation.getQueryId(),
+            edgeId,
+            node.getSchema().getEstimatedRowSize(),
+            localMemberId,
+            fragmentMemberIds,
+            createFlowControl(edgeId)
+        );
+
+        inboxes.put(edgeId, inbox);
+
+        // Instantiate executor and put it to stack.
+        ReceiveSortMergeExec res = new ReceiveSortMergeExec(
+            node.getId(),
+            inbox,
+            node.getColumnIndexes(),
+            node.getAscs(),
+            node.getFetch(),
+            node.getOffset()
+        );
+
+        push(res);
+    }
+
     @Override
     public void onRootSendNode(RootSendPlanNode node) {
         Outbox[] outboxes = prepareOutboxes(node);
@@ -168,6 +239,37 @@ public class CreateExecPlanNodeVisitor implements PlanNodeVisitor {
         exec = new SendExec(node.getId(), pop(), outboxes[0]);
     }
 
+    @Override
+    public void onBroadcastSendNode(BroadcastSendPlanNode node) {
+        Outbox[] outboxes = prepareOutboxes(node);
+
+        exec = new BroadcastSendExec(node.getId(), pop(), outboxes);
+    }
+
+    @Override
+    public void onUnicastSendNode(UnicastSendPlanNode node) {
+        Outbox[] outboxes = prepareOutboxes(node);
+
+        // Map every partition to the outbox of its owner.
+        int[] partitionOutboxIndexes = null;
+
+        for (int i = 0; i < outboxes.length; i++) {
+            PartitionIdSet memberParts = operation.getPartitionMap().get(outboxes[i].getTargetMemberId());
+
+            assert memberParts != null;
+
+            if (partitionOutboxIndexes == null) {
+                partitionOutboxIndexes = new int[memberParts.getPartitionCount()];
+            }
+
+            for (int partition : memberParts) {
+                partitionOutboxIndexes[partition] = i;
+            }
+        }
+
+        exec = new UnicastSendExec(node.getId(), pop(), outboxes, node.getHashColumns(), partitionOutboxIndexes);
+    }
+
     /**
      * Prepare outboxes for the given sender node.
      *
@@ -220,6 +322,77 @@ public class CreateExecPlanNodeVisitor implements PlanNodeVisitor {
         push(res);
     }
 
+    @Override
+    public void onAggregateNode(AggregatePlanNode node) {
+        Exec res = new AggregateExec(
+            node.getId(),
+            pop(),
+            node.getGroupKey(),
+            node.getExpressions(),
+            node.isLocal(),
+            node.getSchema().getEstimatedRowSize()
+        );
+
+        push(res);
+    }
+
+    @Override
+    public void onSortNode(SortPlanNode node) {
+        Exec res = new SortExec(
+            node.getId(),
+            pop(),
+            node.getColumnIndexes(),
+            node.getAscs(),
+            node.getFetch(),
+            node.getOffset(),
+            node.isLocal(),
+            node.getSchema().getEstimatedRowSize()
+        );
+
+        push(res);
+    }
+
+    @Override
+    public void onHashJoinNode(HashJoinPlanNode node) {
+        // The right input is visited last, hence it is on top of the stack.
+        Exec right = pop();
+        Exec left = pop();
+
+        Exec res = new HashJoinExec(
+            node.getId(),
+            left,
+            right,
+            node.getLeftKeys(),
+            node.getRightKeys(),
+            node.getCondition(),
+            node.isOuter(),
+            node.getRight().getSchema().getTypes().size(),
+            node.getRight().getSchema().getEstimatedRowSize()
+        );
+
+        push(res);
+    }
+
+    @Override
+    public void onIndexNestedLoopJoinNode(IndexNestedLoopJoinPlanNode node) {
+        List<QueryDataType> leftKeyTypes = new ArrayList<>(node.getLeftKeys().size());
+
+        for (int leftKey : node.getLeftKeys()) {
+            leftKeyTypes.add(node.getUpstream().getSchema().getType(leftKey));
+        }
+
+        Exec res = new IndexNestedLoopJoinExec(
+            node.getId(),
+            pop(),
+            createMapIndexScanExec(node.getRight()),
+            node.getLeftKeys(),
+            leftKeyTypes,
+            node.getCondition()
+        );
+
+        push(res);
+    }
+
     @Override
     public void onFilterNode(FilterPlanNode node) {
         Exec res = new FilterExec(
@@ -254,18 +427,41 @@ public class CreateExecPlanNodeVisitor implements PlanNodeVisitor {
             if (map == null) {
                 res = new EmptyExec(node.getId());
             } else {
-                res = new MapScanExec(
-                    node.getId(),
+                List<PartitionIdSet> partitionSlices = MapScanExecUtils.slicePartitions(
                     map,
                     localParts,
-                    node.getKeyDescriptor(),
-                    node.getValueDescriptor(),
-                    node.getFieldPaths(),
-                    node.getFieldTypes(),
-                    node.getProjects(),
-                    node.getFilter(),
-                    serializationService
+                    scanParallelism,
+                    PARALLEL_SCAN_MIN_ENTRIES_PER_SLICE
                 );
+
+                if (partitionSlices.size() > 1) {
+                    res = new ParallelMapScanExec(
+                        node.getId(),
+                        map,
+                        partitionSlices,
+                        node.getKeyDescriptor(),
+                        node.getValueDescriptor(),
+                        node.getFieldPaths(),
+                        node.getFieldTypes(),
+                        node.getProjects(),
+                        node.getFilter(),
+                        serializationService,
+                        fragmentPool
+                    );
+                } else {
+                    res = new MapScanExec(
+                        node.getId(),
+                        map,
+                        localParts,
+                        node.getKeyDescriptor(),
+                        node.getValueDescriptor(),
+                        node.getFieldPaths(),
+                        node.getFieldTypes(),
+                        node.getProjects(),
+                        node.getFilter(),
+                        serializationService
+                    );
+                }
             }
         }
 
@@ -274,38 +470,48 @@ public class CreateExecPlanNodeVisitor implements PlanNodeVisitor {
 
     @Override
     public void onMapIndexScanNode(MapIndexScanPlanNode node) {
-        Exec res;
+        Exec res = createMapIndexScanExec(node);
 
-        if (localParts.isEmpty()) {
+        if (res == null) {
             res = new EmptyExec(node.getId());
-        } else {
-            String mapName = node.getMapName();
+        }
 
-            MapContainer map = nodeServiceProvider.getMap(mapName);
+        push(res);
+    }
 
-            if (map == null) {
-                res = new EmptyExec(node.getId());
-            } else {
-                res = new MapIndexScanExec(
-                    node.getId(),
-                    map,
-                    localParts,
-                    node.getKeyDescriptor(),
-                    node.getValueDescriptor(),
-                    node.getFieldPaths(),
-                    node.getFieldTypes(),
-                    node.getProjects(),
-                    node.getFilter(),
-                    serializationService,
-                    node.getIndexName(),
-                    node.getIndexComponentCount(),
-                    node.getIndexFilter(),
-                    node.getConverterTypes()
-                );
-            }
+    /**
+     * Create the index scan for the given node.
+     *
+     * @param node Node.
+     * @return Index scan or {@code null} if there are no local entries to scan.
+     */
+    private MapIndexScanExec createMapIndexScanExec(MapIndexScanPlanNode node) {
+        if (localParts.isEmpty()) {
+            return null;
         }
 
-        push(res);
+        MapContainer map = nodeServiceProvider.getMap(node.getMapName());
+
+        if (map == null) {
+            return null;
+        }
+
+        return new MapIndexScanExec(
+            node.getId(),
+            map,
+            localParts,
+            node.getKeyDescriptor(),
+            node.getValueDescriptor(),
+            node.getFieldPaths(),
+            node.getFieldTypes(),
+            node.getProjects(),
+            node.getFilter(),
+            serializationService,
+            node.getIndexName(),
+            node.getIndexComponentCount(),
+            node.getIndexFilter(),
+            node.getConverterTypes()
+        );
     }
 
     @Override
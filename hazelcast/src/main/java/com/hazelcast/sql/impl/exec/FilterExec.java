@@ -16,8 +16,10 @@
 
 package com.hazelcast.sql.impl.exec;
 
+import com.hazelcast.sql.impl.expression.BatchEvalUtils;
 import com.hazelcast.sql.impl.expression.Expression;
 import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.row.RowBatch;
 
 /**
  * Filter executor.
@@ -32,6 +34,11 @@ public class FilterExec extends AbstractFilterExec {
         this.filter = filter;
     }
 
+    @Override
+    protected boolean[] eval(RowBatch batch) {
+        return BatchEvalUtils.evalFilter(filter, batch, ctx);
+    }
+
     @Override
     protected boolean eval(Row row) {
         Boolean res = filter.eval(row, ctx);
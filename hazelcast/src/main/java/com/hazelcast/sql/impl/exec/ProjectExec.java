@@ -16,18 +16,19 @@
 
 package com.hazelcast.sql.impl.exec;
 
+import com.hazelcast.sql.impl.expression.BatchEvalUtils;
 import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.row.Column;
+import com.hazelcast.sql.impl.row.ColumnarRowBatch;
 import com.hazelcast.sql.impl.row.EmptyRowBatch;
-import com.hazelcast.sql.impl.row.HeapRow;
-import com.hazelcast.sql.impl.row.ListRowBatch;
-import com.hazelcast.sql.impl.row.Row;
 import com.hazelcast.sql.impl.row.RowBatch;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Project executor. Get rows from the incoming batch, projects them, and put into the output batch.
+ * <p>
+ * Every projection is evaluated for the whole incoming batch at once, producing a {@link ColumnarRowBatch}.
  */
 @SuppressWarnings("rawtypes")
 public class ProjectExec extends AbstractUpstreamAwareExec {
@@ -79,29 +80,14 @@ public class ProjectExec extends AbstractUpstreamAwareExec {
     }
 
     private RowBatch projectBatch(RowBatch upstreamBatch) {
-        List<Row> rows = new ArrayList<>(upstreamBatch.getRowCount());
-
-        for (int i = 0; i < upstreamBatch.getRowCount(); i++) {
-            Row upstreamRow = upstreamBatch.getRow(i);
-            Row row = projectRow(upstreamRow);
-
-            rows.add(row);
-        }
-
-        return new ListRowBatch(rows);
-    }
-
-    private Row projectRow(Row upstreamRow) {
-        HeapRow row = new HeapRow(projects.size());
+        Column[] columns = new Column[projects.size()];
 
         int colIdx = 0;
 
         for (Expression<?> projection : projects) {
-            Object projectionRes = projection.eval(upstreamRow, ctx);
-
-            row.set(colIdx++, projectionRes);
+            columns[colIdx++] = BatchEvalUtils.evalBatchSafe(projection, upstreamBatch, ctx);
         }
 
-        return row;
+        return new ColumnarRowBatch(columns, upstreamBatch.getRowCount());
     }
 }
@@ -0,0 +1,303 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.sql.impl.exec.agg;
+
+import com.hazelcast.sql.impl.QueryException;
+import com.hazelcast.sql.impl.exec.AbstractUpstreamAwareExec;
+import com.hazelcast.sql.impl.exec.Exec;
+import com.hazelcast.sql.impl.exec.IterationResult;
+import com.hazelcast.sql.impl.expression.BatchEvalUtils;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.aggregate.AggregateCollector;
+import com.hazelcast.sql.impl.expression.aggregate.AggregateExpression;
+import com.hazelcast.sql.impl.row.Column;
+import com.hazelcast.sql.impl.row.HeapRow;
+import com.hazelcast.sql.impl.row.ListRowBatch;
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.row.RowBatch;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hash aggregation executor.
+ * <p>
+ * In the local mode the rows of the upstream are grouped by the key, and the partial state of every aggregate is
+ * produced. The partial rows are typically sent to a single member, where they are merged by the executor in the final
+ * mode. Operands of the local aggregates are evaluated for the whole upstream batch at once.
+ * <p>
+ * The number of groups held in memory is bounded. When the limit is exceeded in the local mode, the partial rows are
+ * flushed downstream and the hash table is cleared, so that the same group may be emitted several times and merged
+ * later. In the final mode the query fails instead.
+ */
+public class AggregateExec extends AbstractUpstreamAwareExec {
+
+    /** Memory available to the hash table. Will be reworked to dynamic mode when memory manager is implemented. */
+    static final long MEMORY_LIMIT = 64 * 1024 * 1024;
+
+    /** Output batch size. */
+    static final int BATCH_SIZE = 1024;
+
+    /** Estimated memory occupied by a hash table entry, a group key and collectors apart from the values. */
+    private static final int GROUP_OVERHEAD = 96;
+
+    private final int[] groupKey;
+    private final List<AggregateExpression> expressions;
+    private final boolean local;
+    private final long maxGroups;
+
+    /** Offsets of partial states in the row produced by the local mode. */
+    private final int[] partialOffsets;
+
+    /** Width of the output row. */
+    private final int rowWidth;
+
+    private final Map<Object, AggregateCollector[]> groups = new HashMap<>();
+
+    private Iterator<Map.Entry<Object, AggregateCollector[]>> pending;
+    private boolean upstreamDone;
+    private RowBatch currentBatch;
+
+    public AggregateExec(
+        int id,
+        Exec upstream,
+        List<Integer> groupKey,
+        List<AggregateExpression> expressions,
+        boolean local,
+        int estimatedRowSize
+    ) {
+        this(id, upstream, groupKey, expressions, local, MEMORY_LIMIT / (estimatedRowSize + GROUP_OVERHEAD));
+    }
+
+    AggregateExec(
+        int id,
+        Exec upstream,
+        List<Integer> groupKey,
+        List<AggregateExpression> expressions,
+        boolean local,
+        long maxGroups
+    ) {
+        super(id, upstream);
+
+        this.groupKey = new int[groupKey.size()];
+
+        for (int i = 0; i < groupKey.size(); i++) {
+            this.groupKey[i] = groupKey.get(i);
+        }
+
+        this.expressions = expressions;
+        this.local = local;
+        this.maxGroups = Math.max(maxGroups, 1);
+
+        partialOffsets = new int[expressions.size()];
+
+        int offset = groupKey.size();
+
+        for (int i = 0; i < expressions.size(); i++) {
+            partialOffsets[i] = offset;
+
+            offset += expressions.get(i).getPartialTypes().size();
+        }
+
+        rowWidth = local ? offset : groupKey.size() + expressions.size();
+    }
+
+    @Override
+    protected IterationResult advance0() {
+        if (pending != null) {
+            return emit();
+        }
+
+        while (true) {
+            if (!state.advance()) {
+                return IterationResult.WAIT;
+            }
+
+            RowBatch batch = state.consumeBatch();
+
+            if (local) {
+                collect(batch);
+            } else {
+                merge(batch);
+            }
+
+            if (state.isDone()) {
+                upstreamDone = true;
+
+                return startEmit();
+            }
+
+            if (groups.size() > maxGroups) {
+                if (!local) {
+                    throw QueryException.error("Aggregation exceeded the memory limit of " + MEMORY_LIMIT + " bytes ("
+                        + groups.size() + " groups)");
+                }
+
+                return startEmit();
+            }
+        }
+    }
+
+    @Override
+    protected RowBatch currentBatch0() {
+        return currentBatch;
+    }
+
+    public List<Integer> getGroupKey() {
+        List<Integer> res = new ArrayList<>(groupKey.length);
+
+        for (int index : groupKey) {
+            res.add(index);
+        }
+
+        return res;
+    }
+
+    public List<AggregateExpression> getExpressions() {
+        return expressions;
+    }
+
+    public boolean isLocal() {
+        return local;
+    }
+
+    private void collect(RowBatch batch) {
+        int rowCount = batch.getRowCount();
+
+        if (rowCount == 0) {
+            return;
+        }
+
+        Column[] operands = new Column[expressions.size()];
+
+        for (int i = 0; i < operands.length; i++) {
+            Expression<?> operand = expressions.get(i).getOperand();
+
+            if (operand != null) {
+                operands[i] = BatchEvalUtils.evalBatchSafe(operand, batch, ctx);
+            }
+        }
+
+        for (int i = 0; i < rowCount; i++) {
+            AggregateCollector[] collectors = getCollectors(batch.getRow(i));
+
+            for (int j = 0; j < collectors.length; j++) {
+                Column operand = operands[j];
+
+                collectors[j].collect(operand != null ? operand.get(i) : null);
+            }
+        }
+    }
+
+    private void merge(RowBatch batch) {
+        for (int i = 0; i < batch.getRowCount(); i++) {
+            Row row = batch.getRow(i);
+
+            AggregateCollector[] collectors = getCollectors(row);
+
+            for (int j = 0; j < collectors.length; j++) {
+                collectors[j].merge(row, partialOffsets[j]);
+            }
+        }
+    }
+
+    private AggregateCollector[] getCollectors(Row row) {
+        Object key;
+
+        if (groupKey.length == 1) {
+            key = row.get(groupKey[0]);
+        } else {
+            Object[] values = new Object[groupKey.length];
+
+            for (int i = 0; i < groupKey.length; i++) {
+                values[i] = row.get(groupKey[i]);
+            }
+
+            key = new AggregateKey(values);
+        }
+
+        return groups.computeIfAbsent(key, k -> createCollectors());
+    }
+
+    private AggregateCollector[] createCollectors() {
+        AggregateCollector[] res = new AggregateCollector[expressions.size()];
+
+        for (int i = 0; i < res.length; i++) {
+            res[i] = expressions.get(i).createCollector();
+        }
+
+        return res;
+    }
+
+    private IterationResult startEmit() {
+        // A global aggregate returns a single row even if there was no input.
+        if (upstreamDone && !local && groupKey.length == 0 && groups.isEmpty()) {
+            groups.put(new AggregateKey(new Object[0]), createCollectors());
+        }
+
+        pending = groups.entrySet().iterator();
+
+        return emit();
+    }
+
+    private IterationResult emit() {
+        List<Row> rows = new ArrayList<>(Math.min(groups.size(), BATCH_SIZE));
+
+        while (pending.hasNext() && rows.size() < BATCH_SIZE) {
+            Map.Entry<Object, AggregateCollector[]> entry = pending.next();
+
+            rows.add(createRow(entry.getKey(), entry.getValue()));
+        }
+
+        currentBatch = new ListRowBatch(rows);
+
+        if (pending.hasNext()) {
+            return IterationResult.FETCHED;
+        }
+
+        pending = null;
+        groups.clear();
+
+        return upstreamDone ? IterationResult.FETCHED_DONE : IterationResult.FETCHED;
+    }
+
+    private Row createRow(Object key, AggregateCollector[] collectors) {
+        Object[] values = new Object[rowWidth];
+
+        if (groupKey.length == 1) {
+            values[0] = key;
+        } else {
+            for (int i = 0; i < groupKey.length; i++) {
+                values[i] = ((AggregateKey) key).get(i);
+            }
+        }
+
+        for (int i = 0; i < collectors.length; i++) {
+            if (local) {
+                collectors[i].writePartial(values, partialOffsets[i]);
+            } else {
+                values[groupKey.length + i] = collectors[i].getResult();
+            }
+        }
+
+        return new HeapRow(values);
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.sql.impl.exec.io;
+
+import com.hazelcast.sql.impl.exec.Exec;
+import com.hazelcast.sql.impl.row.RowBatch;
+
+/**
+ * Sender that sends every row to all outboxes.
+ */
+public class BroadcastSendExec extends AbstractMultiOutboxSendExec {
+    public BroadcastSendExec(int id, Exec upstream, Outbox[] outboxes) {
+        super(id, upstream, outboxes);
+    }
+
+    @Override
+    protected void setCurrentBatch(RowBatch batch) {
+        // No-op.
+    }
+
+    @Override
+    protected OutboxSendQualifier getOutboxQualifier(int outboxIndex) {
+        return AlwaysTrueOutboxSendQualifier.INSTANCE;
+    }
+}
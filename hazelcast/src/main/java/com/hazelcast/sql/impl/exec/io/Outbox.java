@@ -16,11 +16,13 @@
 
 package com.hazelcast.sql.impl.exec.io;
 
+import com.hazelcast.nio.serialization.DataSerializable;
 import com.hazelcast.sql.impl.QueryException;
 import com.hazelcast.sql.impl.QueryId;
 import com.hazelcast.sql.impl.operation.QueryBatchExchangeOperation;
 import com.hazelcast.sql.impl.operation.QueryOperationChannel;
 import com.hazelcast.sql.impl.operation.QueryOperationHandler;
+import com.hazelcast.sql.impl.row.ColumnarRowBatch;
 import com.hazelcast.sql.impl.row.ListRowBatch;
 import com.hazelcast.sql.impl.row.Row;
 import com.hazelcast.sql.impl.row.RowBatch;
@@ -119,7 +121,14 @@ public class Outbox extends AbstractMailbox implements OutboundHandler {
                 rows = new ArrayList<>();
             }
 
-            rows.add(batch.getRow(currentPosition));
+            // Views over columnar batches are not serializable, copy them.
+            Row row = batch.getRow(currentPosition);
+
+            if (!(row instanceof DataSerializable)) {
+                row = ColumnarRowBatch.toHeapRow(row);
+            }
+
+            rows.add(row);
             acceptedRows++;
         }
 
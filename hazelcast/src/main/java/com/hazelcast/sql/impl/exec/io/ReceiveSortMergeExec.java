@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.sql.impl.exec.io;
+
+import com.hazelcast.sql.impl.exec.AbstractExec;
+import com.hazelcast.sql.impl.exec.IterationResult;
+import com.hazelcast.sql.impl.exec.sort.SortKeyComparator;
+import com.hazelcast.sql.impl.exec.sort.SortUtils;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.row.ListRowBatch;
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.row.RowBatch;
+import com.hazelcast.sql.impl.worker.QueryFragmentContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Executor which receives sorted streams from several members and merges them into a single sorted stream.
+ * <p>
+ * A row may be emitted only when every stream which is not exhausted yet has a row to compare with. Offset and fetch
+ * are applied to the merged stream, and the executor completes as soon as the requested number of rows is produced.
+ */
+public class ReceiveSortMergeExec extends AbstractExec {
+
+    /** Output batch size. */
+    static final int BATCH_SIZE = 1024;
+
+    /** Returned by {@link #nextStripe()} when some stripe has no rows available yet. */
+    private static final int STRIPE_WAIT = -1;
+
+    /** Returned by {@link #nextStripe()} when all stripes are exhausted. */
+    private static final int STRIPE_DONE = -2;
+
+    private final StripedInbox inbox;
+    private final List<Integer> columnIndexes;
+    private final List<Boolean> ascs;
+    private final Expression<?> fetch;
+    private final Expression<?> offset;
+    private final SortKeyComparator comparator;
+
+    /** Current batches of stripes. */
+    private final RowBatch[] batches;
+
+    /** Positions in the current batches. */
+    private final int[] positions;
+
+    /** Whether the current batch of a stripe is the last one. */
+    private final boolean[] lastBatches;
+
+    /** Whether the stripe is exhausted. */
+    private final boolean[] done;
+
+    private long remainingFetch;
+    private long remainingOffset;
+
+    private RowBatch currentBatch;
+
+    public ReceiveSortMergeExec(
+        int id,
+        StripedInbox inbox,
+        List<Integer> columnIndexes,
+        List<Boolean> ascs,
+        Expression<?> fetch,
+        Expression<?> offset
+    ) {
+        super(id);
+
+        this.inbox = inbox;
+        this.columnIndexes = columnIndexes;
+        this.ascs = ascs;
+        this.fetch = fetch;
+        this.offset = offset;
+
+        comparator = new SortKeyComparator(columnIndexes, ascs);
+
+        int stripeCount = inbox.getStripeCount();
+
+        batches = new RowBatch[stripeCount];
+        positions = new int[stripeCount];
+        lastBatches = new boolean[stripeCount];
+        done = new boolean[stripeCount];
+    }
+
+    @Override
+    protected void setup0(QueryFragmentContext ctx) {
+        inbox.setup();
+
+        remainingFetch = SortUtils.evaluateRowCount(fetch, ctx, "FETCH", Long.MAX_VALUE);
+        remainingOffset = SortUtils.evaluateRowCount(offset, ctx, "OFFSET", 0);
+    }
+
+    @Override
+    public IterationResult advance0() {
+        List<Row> rows = new ArrayList<>();
+
+        while (remainingFetch > 0 && rows.size() < BATCH_SIZE) {
+            int stripe = nextStripe();
+
+            if (stripe == STRIPE_WAIT) {
+                break;
+            } else if (stripe == STRIPE_DONE) {
+                currentBatch = new ListRowBatch(rows);
+
+                return IterationResult.FETCHED_DONE;
+            }
+
+            Row row = batches[stripe].getRow(positions[stripe]++);
+
+            if (positions[stripe] == batches[stripe].getRowCount()) {
+                onBatchExhausted(stripe);
+            }
+
+            if (remainingOffset > 0) {
+                remainingOffset--;
+            } else {
+                rows.add(row);
+
+                remainingFetch--;
+            }
+        }
+
+        currentBatch = new ListRowBatch(rows);
+
+        if (remainingFetch == 0) {
+            return IterationResult.FETCHED_DONE;
+        }
+
+        return rows.isEmpty() ? IterationResult.WAIT : IterationResult.FETCHED;
+    }
+
+    @Override
+    public RowBatch currentBatch0() {
+        return currentBatch;
+    }
+
+    public StripedInbox getInbox() {
+        return inbox;
+    }
+
+    public List<Integer> getColumnIndexes() {
+        return columnIndexes;
+    }
+
+    public List<Boolean> getAscs() {
+        return ascs;
+    }
+
+    public Expression<?> getFetch() {
+        return fetch;
+    }
+
+    public Expression<?> getOffset() {
+        return offset;
+    }
+
+    /**
+     * @return Stripe with the smallest current row, {@link #STRIPE_WAIT} or {@link #STRIPE_DONE}.
+     */
+    private int nextStripe() {
+        int res = STRIPE_DONE;
+
+        for (int i = 0; i < batches.length; i++) {
+            if (done[i]) {
+                continue;
+            }
+
+            if (batches[i] == null && !pollBatch(i)) {
+                return STRIPE_WAIT;
+            }
+
+            if (done[i]) {
+                continue;
+            }
+
+            if (res == STRIPE_DONE || comparator.compare(currentRow(i), currentRow(res)) < 0) {
+                res = i;
+            }
+        }
+
+        return res;
+    }
+
+    /**
+     * Polls the next non-empty batch of the stripe.
+     *
+     * @return {@code true} if the stripe either has a current row or is exhausted, {@code false} if it should be waited for.
+     */
+    private boolean pollBatch(int stripe) {
+        while (true) {
+            InboundBatch batch = inbox.poll(stripe);
+
+            if (batch == null) {
+                return false;
+            }
+
+            if (batch.getBatch().getRowCount() > 0) {
+                batches[stripe] = batch.getBatch();
+                positions[stripe] = 0;
+                lastBatches[stripe] = batch.isLast();
+
+                return true;
+            }
+
+            if (batch.isLast()) {
+                done[stripe] = true;
+
+                return true;
+            }
+        }
+    }
+
+    private void onBatchExhausted(int stripe) {
+        batches[stripe] = null;
+
+        if (lastBatches[stripe]) {
+            done[stripe] = true;
+        }
+    }
+
+    private Row currentRow(int stripe) {
+        return batches[stripe].getRow(positions[stripe]);
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.sql.impl.exec.io;
+
+import com.hazelcast.sql.impl.QueryId;
+import com.hazelcast.sql.impl.exec.io.flowcontrol.FlowControl;
+import com.hazelcast.sql.impl.operation.QueryOperationHandler;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Inbox which keeps batches from every sender member in a separate queue (stripe). Used when the order of rows from
+ * a given sender must be preserved, e.g. to merge sorted streams.
+ */
+public class StripedInbox extends AbstractInbox {
+    /** Map from the sender member ID to the stripe index. */
+    private final Map<UUID, Integer> stripeIndexes;
+
+    /** Queues of batches, one per stripe. */
+    private final ArrayDeque<InboundBatch>[] queues;
+
+    @SuppressWarnings("unchecked")
+    public StripedInbox(
+        QueryOperationHandler operationHandler,
+        QueryId queryId,
+        int edgeId,
+        int rowWidth,
+        UUID localMemberId,
+        Collection<UUID> senderMemberIds,
+        FlowControl flowControl
+    ) {
+        super(operationHandler, queryId, edgeId, rowWidth, localMemberId, senderMemberIds.size(), flowControl);
+
+        stripeIndexes = new HashMap<>(senderMemberIds.size());
+        queues = new ArrayDeque[senderMemberIds.size()];
+
+        int index = 0;
+
+        for (UUID senderMemberId : senderMemberIds) {
+            stripeIndexes.put(senderMemberId, index);
+            queues[index] = new ArrayDeque<>();
+
+            index++;
+        }
+    }
+
+    @Override
+    protected void onBatch0(InboundBatch batch) {
+        Integer index = stripeIndexes.get(batch.getSenderId());
+
+        assert index != null : "Unexpected sender: " + batch.getSenderId();
+
+        queues[index].addLast(batch);
+    }
+
+    public int getStripeCount() {
+        return queues.length;
+    }
+
+    public InboundBatch poll(int stripe) {
+        InboundBatch batch = queues[stripe].pollFirst();
+
+        onBatchPolled(batch);
+
+        return batch;
+    }
+
+    @Override
+    public String toString() {
+        return "StripedInbox {queryId=" + queryId + ", edgeId=" + edgeId + "}";
+    }
+}
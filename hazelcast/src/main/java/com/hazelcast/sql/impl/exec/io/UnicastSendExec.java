@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.sql.impl.exec.io;
+
+import com.hazelcast.internal.util.HashUtil;
+import com.hazelcast.sql.impl.exec.Exec;
+import com.hazelcast.sql.impl.exec.join.JoinUtils;
+import com.hazelcast.sql.impl.row.RowBatch;
+
+import java.util.List;
+
+/**
+ * Sender that sends every row to a single outbox, chosen by the hash of the given columns. Rows with equal values
+ * in the hash columns always end up on the same member.
+ */
+public class UnicastSendExec extends AbstractMultiOutboxSendExec {
+
+    /** Columns the target outbox is derived from. */
+    private final List<Integer> hashColumns;
+
+    /** Index of the outbox of the member owning the partition. */
+    private final int[] partitionOutboxIndexes;
+
+    /** Qualifiers for every outbox. */
+    private final OutboxSendQualifier[] qualifiers;
+
+    /** Target outbox index for every row of the current batch. */
+    private int[] rowOutboxIndexes = new int[0];
+
+    public UnicastSendExec(int id, Exec upstream, Outbox[] outboxes, List<Integer> hashColumns, int[] partitionOutboxIndexes) {
+        super(id, upstream, outboxes);
+
+        this.hashColumns = hashColumns;
+        this.partitionOutboxIndexes = partitionOutboxIndexes;
+
+        qualifiers = new OutboxSendQualifier[outboxes.length];
+
+        for (int i = 0; i < outboxes.length; i++) {
+            int outboxIndex = i;
+
+            qualifiers[i] = rowIndex -> rowOutboxIndexes[rowIndex] == outboxIndex;
+        }
+    }
+
+    @Override
+    protected void setCurrentBatch(RowBatch batch) {
+        int rowCount = batch.getRowCount();
+
+        if (rowOutboxIndexes.length < rowCount) {
+            rowOutboxIndexes = new int[rowCount];
+        }
+
+        for (int i = 0; i < rowCount; i++) {
+            Object key = JoinUtils.getHashKey(batch.getRow(i), hashColumns);
+
+            // NULL keys never match in joins, send them anywhere.
+            int hash = key != null ? key.hashCode() : 0;
+
+            rowOutboxIndexes[i] = partitionOutboxIndexes[HashUtil.hashToIndex(hash, partitionOutboxIndexes.length)];
+        }
+    }
+
+    @Override
+    protected OutboxSendQualifier getOutboxQualifier(int outboxIndex) {
+        return qualifiers[outboxIndex];
+    }
+
+    public List<Integer> getHashColumns() {
+        return hashColumns;
+    }
+
+    public int[] getPartitionOutboxIndexes() {
+        return partitionOutboxIndexes;
+    }
+}
@@ -16,6 +16,8 @@
 
 package com.hazelcast.sql.impl.exec.io.flowcontrol;
 
+import com.hazelcast.sql.impl.QueryId;
+
 /**
  * Factory for flow control objects.
  */
@@ -27,4 +29,13 @@ public interface FlowControlFactory {
      * @return Flow control object.
      */
     FlowControl create(long initialMemory);
+
+    /**
+     * Callback invoked when the query is completed on the local member, either normally or due to an error. Implementations
+     * that share state between queries should release the resources held by the query's flow control objects here, because
+     * fragments of a cancelled query are not guaranteed to be executed again.
+     *
+     * @param queryId Query ID.
+     */
+    void onQueryCompleted(QueryId queryId);
 }
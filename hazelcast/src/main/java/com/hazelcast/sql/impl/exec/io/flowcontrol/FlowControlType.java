@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.io.flowcontrol;
+
+/**
+ * Flow control used by the inbound streams of SQL exchanges.
+ */
+public enum FlowControlType {
+    /**
+     * Fixed-size window per stream, see
+     * {@link com.hazelcast.sql.impl.exec.io.flowcontrol.simple.SimpleFlowControlFactory SimpleFlowControlFactory}.
+     */
+    SIMPLE,
+
+    /**
+     * Window sized to the observed bandwidth-delay product of the stream, bounded by a memory budget shared by all
+     * queries on the member, see
+     * {@link com.hazelcast.sql.impl.exec.io.flowcontrol.adaptive.AdaptiveFlowControlFactory AdaptiveFlowControlFactory}.
+     */
+    ADAPTIVE
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.sql.impl.exec.io.flowcontrol.adaptive;
+
+import com.hazelcast.sql.impl.QueryException;
+import com.hazelcast.sql.impl.QueryId;
+import com.hazelcast.sql.impl.exec.io.flowcontrol.FlowControl;
+import com.hazelcast.sql.impl.operation.QueryFlowControlExchangeOperation;
+import com.hazelcast.sql.impl.operation.QueryOperationHandler;
+
+import java.util.HashMap;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+/**
+ * Flow control that sizes the credit of every stream from the observed consumption throughput and the round trip time.
+ * <p>
+ * The window of a stream is the bandwidth-delay product with some headroom: the number of bytes the local consumer is able
+ * to process while the flow control message travels to the sender and the next batch travels back. Fast consumers get larger
+ * windows and do not stall waiting for the data, slow consumers get smaller windows and do not buffer too much. The windows
+ * are reserved from the memory budget of the member that is shared with other queries, see
+ * {@link AdaptiveFlowControlFactory}.
+ * <p>
+ * The flow control message is sent when the remote end is low on credit, and the consumer freed enough memory to increase it.
+ */
+public class AdaptiveFlowControl implements FlowControl {
+    /** Remote credit threshold, relative to the window, below which the new credit is sent. */
+    static final double LOW_WATERMARK = 0.5d;
+
+    /** Multiplier applied to the bandwidth-delay product to get the target window. */
+    static final double HEADROOM = 2.0d;
+
+    private final AdaptiveFlowControlFactory factory;
+    private final long initialMemory;
+    private final LongSupplier clock;
+
+    private QueryId queryId;
+    private int edgeId;
+    private UUID localMemberId;
+    private QueryOperationHandler operationHandler;
+    private AdaptiveFlowControlFactory.QueryReservation reservation;
+
+    /** Remote streams. */
+    private HashMap<UUID, AdaptiveFlowControlStream> streams;
+
+    /** Remote streams that should be notified. */
+    private HashMap<UUID, AdaptiveFlowControlStream> pendingStreams;
+
+    AdaptiveFlowControl(AdaptiveFlowControlFactory factory, long initialMemory, LongSupplier clock) {
+        this.factory = factory;
+        this.initialMemory = initialMemory;
+        this.clock = clock;
+    }
+
+    @Override
+    public void setup(QueryId queryId, int edgeId, UUID localMemberId, QueryOperationHandler operationHandler) {
+        this.queryId = queryId;
+        this.edgeId = edgeId;
+        this.localMemberId = localMemberId;
+        this.operationHandler = operationHandler;
+
+        reservation = factory.getReservation(queryId);
+    }
+
+    @Override
+    public void onBatchAdded(UUID memberId, long size, boolean last, long remoteMemory) {
+        if (last) {
+            // If this is the last batch, we do not care about backpressure. Return the window to the budget.
+            AdaptiveFlowControlStream stream = streams != null ? streams.remove(memberId) : null;
+
+            if (stream != null) {
+                factory.onStreamFinished(reservation, stream.getWindow());
+            }
+
+            if (pendingStreams != null) {
+                pendingStreams.remove(memberId);
+            }
+
+            return;
+        }
+
+        if (streams == null) {
+            streams = new HashMap<>();
+        }
+
+        long now = clock.getAsLong();
+
+        AdaptiveFlowControlStream stream = streams.get(memberId);
+
+        if (stream == null) {
+            stream = new AdaptiveFlowControlStream(memberId, initialMemory, now);
+
+            streams.put(memberId, stream);
+
+            factory.onStreamStarted(reservation, initialMemory);
+        }
+
+        stream.onBatchAdded(size, remoteMemory, now);
+    }
+
+    @Override
+    public void onBatchRemoved(UUID memberId, long size, boolean last) {
+        // Micro-opt to avoid map lookup for the last batch and map instantiation.
+        if (last) {
+            return;
+        }
+
+        assert streams != null;
+
+        AdaptiveFlowControlStream stream = streams.get(memberId);
+
+        if (stream == null) {
+            // Missing state means that last batch already arrived.
+            return;
+        }
+
+        stream.onBatchRemoved(size);
+
+        if (!stream.isShouldSend() && stream.getRemoteMemory() <= stream.getWindow() * LOW_WATERMARK) {
+            stream.setShouldSend(true);
+
+            if (pendingStreams == null) {
+                pendingStreams = new HashMap<>();
+            }
+
+            pendingStreams.put(memberId, stream);
+        }
+    }
+
+    @Override
+    public void onFragmentExecutionCompleted() {
+        if (pendingStreams == null || pendingStreams.isEmpty()) {
+            return;
+        }
+
+        long now = clock.getAsLong();
+
+        for (AdaptiveFlowControlStream stream : pendingStreams.values()) {
+            stream.setShouldSend(false);
+            stream.onSample(now);
+
+            resize(stream);
+
+            // Do not send the message if the consumer has not freed enough memory yet. It will be re-evaluated on the next
+            // consumed batch.
+            long credit = stream.getWindow() - stream.getLocalMemory();
+
+            if (credit > stream.getRemoteMemory()) {
+                sendFlowControl(stream, credit);
+
+                stream.onGrant(credit, now);
+
+                factory.onGrant();
+            }
+        }
+
+        pendingStreams.clear();
+    }
+
+    public long getInitialMemory() {
+        return initialMemory;
+    }
+
+    /**
+     * Adjust the window of the stream to the observed bandwidth-delay product.
+     *
+     * @param stream Stream.
+     */
+    private void resize(AdaptiveFlowControlStream stream) {
+        double bandwidthDelayProduct = stream.getThroughput() * stream.getRttNanos();
+
+        if (bandwidthDelayProduct == 0.0d) {
+            // Not enough observations yet.
+            return;
+        }
+
+        long maxWindow = factory.getFairShare();
+        long target = (long) Math.min(bandwidthDelayProduct * HEADROOM, maxWindow);
+
+        target = Math.max(target, factory.getMinWindow());
+
+        long window = stream.getWindow();
+
+        if (target > window) {
+            window += factory.acquire(reservation, target - window);
+        } else if (target < window) {
+            // Memory which is already buffered or granted to the sender cannot be released.
+            long newWindow = Math.max(target, stream.getLocalMemory() + stream.getRemoteMemory());
+
+            if (newWindow < window) {
+                factory.release(reservation, window - newWindow);
+
+                window = newWindow;
+            }
+        }
+
+        stream.setWindow(window);
+    }
+
+    /**
+     * Send flow control message for the given stream.
+     *
+     * @param stream Stream.
+     * @param credit The amount of memory the sender is allowed to use.
+     */
+    private void sendFlowControl(AdaptiveFlowControlStream stream, long credit) {
+        QueryFlowControlExchangeOperation operation = new QueryFlowControlExchangeOperation(queryId, edgeId, credit);
+
+        boolean success = operationHandler.submit(localMemberId, stream.getMemberId(), operation);
+
+        if (!success) {
+            throw QueryException.memberConnection(stream.getMemberId());
+        }
+    }
+}
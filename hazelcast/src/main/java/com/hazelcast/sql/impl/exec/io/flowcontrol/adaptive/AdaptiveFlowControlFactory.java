@@ -0,0 +1,289 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.sql.impl.exec.io.flowcontrol.adaptive;
+
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.util.counters.MwCounter;
+import com.hazelcast.sql.impl.QueryId;
+import com.hazelcast.sql.impl.exec.io.flowcontrol.FlowControl;
+import com.hazelcast.sql.impl.exec.io.flowcontrol.FlowControlFactory;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+import static com.hazelcast.internal.metrics.ProbeUnit.BYTES;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.SQL_METRIC_FLOW_CONTROL_ACTIVE_QUERIES;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.SQL_METRIC_FLOW_CONTROL_ACTIVE_STREAMS;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.SQL_METRIC_FLOW_CONTROL_GRANT_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.SQL_METRIC_FLOW_CONTROL_LIMITED_GRANT_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.SQL_METRIC_FLOW_CONTROL_MEMORY_BUDGET;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.SQL_METRIC_FLOW_CONTROL_MEMORY_RESERVED;
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+
+/**
+ * Factory for adaptive flow control objects. Owns the memory budget of the member that is shared between all streams of all
+ * running queries.
+ * <p>
+ * Every stream reserves its window from the budget. The initial window agreed upon query start is always reserved, even if
+ * it exceeds the budget, because the sender is already allowed to use it. Windows may grow only while there is free memory
+ * in the budget, and never beyond the fair share, that is the budget divided by the number of active streams. This way a
+ * single large scan cannot starve concurrent queries.
+ */
+public class AdaptiveFlowControlFactory implements FlowControlFactory {
+    /** Default minimum window of a stream. */
+    public static final long DEFAULT_MIN_WINDOW = 64 * 1024;
+
+    /** Default maximum window of a stream. */
+    public static final long DEFAULT_MAX_WINDOW = 16 * 1024 * 1024;
+
+    @Probe(name = SQL_METRIC_FLOW_CONTROL_MEMORY_BUDGET, unit = BYTES)
+    private final long memoryBudget;
+
+    private final long minWindow;
+    private final long maxWindow;
+
+    /** Predicate to check whether the query is still running on the local member. */
+    private final Predicate<QueryId> activeQueryPredicate;
+
+    private final ConcurrentHashMap<QueryId, QueryReservation> reservations = new ConcurrentHashMap<>();
+    private final AtomicLong reservedMemory = new AtomicLong();
+    private final AtomicInteger activeStreams = new AtomicInteger();
+
+    @Probe(name = SQL_METRIC_FLOW_CONTROL_GRANT_COUNT)
+    private final MwCounter grantCount = newMwCounter();
+
+    @Probe(name = SQL_METRIC_FLOW_CONTROL_LIMITED_GRANT_COUNT)
+    private final MwCounter limitedGrantCount = newMwCounter();
+
+    public AdaptiveFlowControlFactory(long memoryBudget, Predicate<QueryId> activeQueryPredicate) {
+        this(memoryBudget, DEFAULT_MIN_WINDOW, DEFAULT_MAX_WINDOW, activeQueryPredicate);
+    }
+
+    public AdaptiveFlowControlFactory(
+        long memoryBudget,
+        long minWindow,
+        long maxWindow,
+        Predicate<QueryId> activeQueryPredicate
+    ) {
+        assert minWindow > 0 && minWindow <= maxWindow;
+
+        this.memoryBudget = memoryBudget;
+        this.minWindow = minWindow;
+        this.maxWindow = maxWindow;
+        this.activeQueryPredicate = activeQueryPredicate;
+    }
+
+    @Override
+    public FlowControl create(long initialMemory) {
+        return new AdaptiveFlowControl(this, initialMemory, System::nanoTime);
+    }
+
+    @Override
+    public void onQueryCompleted(QueryId queryId) {
+        QueryReservation reservation = reservations.remove(queryId);
+
+        if (reservation != null) {
+            close(reservation);
+        }
+    }
+
+    public long getMemoryBudget() {
+        return memoryBudget;
+    }
+
+    public long getMinWindow() {
+        return minWindow;
+    }
+
+    public long getMaxWindow() {
+        return maxWindow;
+    }
+
+    @Probe(name = SQL_METRIC_FLOW_CONTROL_MEMORY_RESERVED, unit = BYTES)
+    public long getReservedMemory() {
+        return reservedMemory.get();
+    }
+
+    @Probe(name = SQL_METRIC_FLOW_CONTROL_ACTIVE_STREAMS)
+    public int getActiveStreams() {
+        return activeStreams.get();
+    }
+
+    @Probe(name = SQL_METRIC_FLOW_CONTROL_ACTIVE_QUERIES)
+    public int getActiveQueries() {
+        return reservations.size();
+    }
+
+    public long getGrantCount() {
+        return grantCount.get();
+    }
+
+    public long getLimitedGrantCount() {
+        return limitedGrantCount.get();
+    }
+
+    /**
+     * @return The largest window a single stream may grow to given the current number of active streams.
+     */
+    public long getFairShare() {
+        return Math.max(minWindow, Math.min(maxWindow, memoryBudget / Math.max(activeStreams.get(), 1)));
+    }
+
+    QueryReservation getReservation(QueryId queryId) {
+        QueryReservation reservation = reservations.computeIfAbsent(queryId, QueryReservation::new);
+
+        // The query could have been completed before the reservation was created. Do not leak it.
+        isOpen(reservation);
+
+        return reservation;
+    }
+
+    /**
+     * Reserve the initial window of a new stream. The memory is reserved even if the budget is exceeded.
+     */
+    void onStreamStarted(QueryReservation reservation, long window) {
+        synchronized (reservation) {
+            if (!isOpen(reservation)) {
+                return;
+            }
+
+            reservation.memory += window;
+            reservation.streams++;
+
+            reservedMemory.addAndGet(window);
+            activeStreams.incrementAndGet();
+        }
+    }
+
+    /**
+     * Release the window of a finished stream.
+     */
+    void onStreamFinished(QueryReservation reservation, long window) {
+        synchronized (reservation) {
+            if (reservation.closed) {
+                return;
+            }
+
+            reservation.memory -= window;
+            reservation.streams--;
+
+            reservedMemory.addAndGet(-window);
+            activeStreams.decrementAndGet();
+        }
+    }
+
+    /**
+     * Try to grow the window of a stream.
+     *
+     * @param reservation Reservation of the query.
+     * @param amount Requested amount of memory.
+     * @return The amount of memory actually reserved, between {@code 0} and {@code amount}.
+     */
+    long acquire(QueryReservation reservation, long amount) {
+        synchronized (reservation) {
+            if (!isOpen(reservation)) {
+                return 0;
+            }
+
+            while (true) {
+                long reserved = reservedMemory.get();
+                long granted = Math.max(0, Math.min(amount, memoryBudget - reserved));
+
+                if (granted < amount) {
+                    limitedGrantCount.inc();
+                }
+
+                if (granted == 0) {
+                    return 0;
+                }
+
+                if (reservedMemory.compareAndSet(reserved, reserved + granted)) {
+                    reservation.memory += granted;
+
+                    return granted;
+                }
+            }
+        }
+    }
+
+    /**
+     * Shrink the window of a stream.
+     */
+    void release(QueryReservation reservation, long amount) {
+        synchronized (reservation) {
+            if (reservation.closed) {
+                return;
+            }
+
+            reservation.memory -= amount;
+
+            reservedMemory.addAndGet(-amount);
+        }
+    }
+
+    void onGrant() {
+        grantCount.inc();
+    }
+
+    private boolean isOpen(QueryReservation reservation) {
+        if (reservation.closed) {
+            return false;
+        }
+
+        if (!activeQueryPredicate.test(reservation.queryId)) {
+            reservations.remove(reservation.queryId, reservation);
+
+            close(reservation);
+
+            return false;
+        }
+
+        return true;
+    }
+
+    private void close(QueryReservation reservation) {
+        synchronized (reservation) {
+            if (reservation.closed) {
+                return;
+            }
+
+            reservedMemory.addAndGet(-reservation.memory);
+            activeStreams.addAndGet(-reservation.streams);
+
+            reservation.memory = 0;
+            reservation.streams = 0;
+            reservation.closed = true;
+        }
+    }
+
+    /**
+     * Memory reserved by all streams of a query on the local member.
+     */
+    static final class QueryReservation {
+        private final QueryId queryId;
+        private long memory;
+        private int streams;
+        private boolean closed;
+
+        private QueryReservation(QueryId queryId) {
+            this.queryId = queryId;
+        }
+    }
+}
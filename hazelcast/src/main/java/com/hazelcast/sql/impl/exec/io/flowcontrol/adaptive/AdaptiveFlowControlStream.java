@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.sql.impl.exec.io.flowcontrol.adaptive;
+
+import java.util.UUID;
+
+/**
+ * State of a single stream.
+ */
+public final class AdaptiveFlowControlStream {
+    /** Weight of a new sample in exponentially weighted moving averages. */
+    static final double EWMA_WEIGHT = 0.25d;
+
+    private final UUID memberId;
+
+    /** Memory reserved for the stream. The sender is never granted more than this. */
+    private long window;
+
+    /** Amount of memory occupied by batches that are received, but not consumed yet. */
+    private long localMemory;
+
+    /** The amount of memory available to the sender as it was reported with the last batch. */
+    private long remoteMemory;
+
+    /** Bytes consumed since the start of the current throughput sample. */
+    private long sampleBytes;
+    private long sampleStartNanos;
+
+    /** Consumption throughput in bytes per nanosecond, or {@code 0} if not observed yet. */
+    private double throughput;
+
+    /** Round trip time in nanoseconds between a flow control message and the next batch, or {@code 0} if not observed yet. */
+    private double rttNanos;
+
+    /** Time when the last flow control message was sent, or {@code 0} if the next batch is already received. */
+    private long grantNanos;
+
+    private boolean shouldSend;
+
+    public AdaptiveFlowControlStream(UUID memberId, long window, long nowNanos) {
+        this.memberId = memberId;
+        this.window = window;
+
+        remoteMemory = window;
+        sampleStartNanos = nowNanos;
+    }
+
+    public UUID getMemberId() {
+        return memberId;
+    }
+
+    public long getWindow() {
+        return window;
+    }
+
+    public void setWindow(long window) {
+        this.window = window;
+    }
+
+    public long getLocalMemory() {
+        return localMemory;
+    }
+
+    public long getRemoteMemory() {
+        return remoteMemory;
+    }
+
+    public double getThroughput() {
+        return throughput;
+    }
+
+    public double getRttNanos() {
+        return rttNanos;
+    }
+
+    public boolean isShouldSend() {
+        return shouldSend;
+    }
+
+    public void setShouldSend(boolean shouldSend) {
+        this.shouldSend = shouldSend;
+    }
+
+    public void onBatchAdded(long size, long remoteMemory, long nowNanos) {
+        localMemory += size;
+        this.remoteMemory = remoteMemory;
+
+        if (grantNanos != 0) {
+            rttNanos = ewma(rttNanos, Math.max(nowNanos - grantNanos, 1L));
+
+            grantNanos = 0;
+        }
+    }
+
+    public void onBatchRemoved(long size) {
+        localMemory -= size;
+        sampleBytes += size;
+    }
+
+    /**
+     * Complete the current throughput sample. Invoked before the next credit is calculated.
+     */
+    public void onSample(long nowNanos) {
+        long elapsed = nowNanos - sampleStartNanos;
+
+        if (elapsed <= 0 || sampleBytes == 0) {
+            return;
+        }
+
+        throughput = ewma(throughput, (double) sampleBytes / elapsed);
+
+        sampleBytes = 0;
+        sampleStartNanos = nowNanos;
+    }
+
+    /**
+     * Record the credit sent to the remote end.
+     */
+    public void onGrant(long credit, long nowNanos) {
+        remoteMemory = credit;
+        grantNanos = nowNanos;
+    }
+
+    private static double ewma(double current, double sample) {
+        return current == 0.0d ? sample : current + EWMA_WEIGHT * (sample - current);
+    }
+}
@@ -16,6 +16,7 @@
 
 package com.hazelcast.sql.impl.exec.io.flowcontrol.simple;
 
+import com.hazelcast.sql.impl.QueryId;
 import com.hazelcast.sql.impl.exec.io.flowcontrol.FlowControl;
 import com.hazelcast.sql.impl.exec.io.flowcontrol.FlowControlFactory;
 
@@ -31,4 +32,9 @@ public final class SimpleFlowControlFactory implements FlowControlFactory {
     public FlowControl create(long initialMemory) {
         return new SimpleFlowControl(initialMemory, SimpleFlowControl.THRESHOLD_PERCENTAGE);
     }
+
+    @Override
+    public void onQueryCompleted(QueryId queryId) {
+        // No-op.
+    }
 }
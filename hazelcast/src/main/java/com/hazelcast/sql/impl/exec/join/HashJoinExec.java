@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.sql.impl.exec.join;
+
+import com.hazelcast.sql.impl.QueryException;
+import com.hazelcast.sql.impl.exec.AbstractExec;
+import com.hazelcast.sql.impl.exec.Exec;
+import com.hazelcast.sql.impl.exec.IterationResult;
+import com.hazelcast.sql.impl.exec.UpstreamState;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.predicate.TernaryLogic;
+import com.hazelcast.sql.impl.row.ColumnarRowBatch;
+import com.hazelcast.sql.impl.row.HeapRow;
+import com.hazelcast.sql.impl.row.JoinRow;
+import com.hazelcast.sql.impl.row.ListRowBatch;
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.row.RowBatch;
+import com.hazelcast.sql.impl.worker.QueryFragmentContext;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hash join executor.
+ * <p>
+ * The right input is consumed first, and its rows are put into a hash table by the values of the right key columns.
+ * Then the rows of the left input are streamed and matched against the hash table by the values of the left key
+ * columns. Rows with {@code NULL} key values never match. The optional condition is evaluated on every matched pair.
+ * <p>
+ * The executor doesn't depend on the distribution of the inputs: the broadcast hash join receives the whole right
+ * input on every member, while the partitioned hash join receives both inputs partitioned by the key columns.
+ */
+public class HashJoinExec extends AbstractExec {
+
+    /** Memory available to the hash table. Will be reworked to dynamic mode when memory manager is implemented. */
+    static final long MEMORY_LIMIT = 64 * 1024 * 1024;
+
+    /** Output batch size. */
+    static final int BATCH_SIZE = 1024;
+
+    /** Estimated memory occupied by a hash table row apart from the values. */
+    private static final int ROW_OVERHEAD = 48;
+
+    private final Exec left;
+    private final Exec right;
+    private final UpstreamState leftState;
+    private final UpstreamState rightState;
+    private final List<Integer> leftKeys;
+    private final List<Integer> rightKeys;
+    private final Expression<Boolean> condition;
+    private final boolean outer;
+    private final int rightColumnCount;
+    private final long maxRows;
+
+    /** Rows of the right input by their keys. */
+    private Map<Object, List<Row>> table;
+    private long tableRowCount;
+    private boolean tableDone;
+
+    private RowBatch currentBatch;
+
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    public HashJoinExec(
+        int id,
+        Exec left,
+        Exec right,
+        List<Integer> leftKeys,
+        List<Integer> rightKeys,
+        Expression<Boolean> condition,
+        boolean outer,
+        int rightColumnCount,
+        int estimatedRightRowSize
+    ) {
+        this(
+            id,
+            left,
+            right,
+            leftKeys,
+            rightKeys,
+            condition,
+            outer,
+            rightColumnCount,
+            MEMORY_LIMIT / (estimatedRightRowSize + ROW_OVERHEAD)
+        );
+    }
+
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    HashJoinExec(
+        int id,
+        Exec left,
+        Exec right,
+        List<Integer> leftKeys,
+        List<Integer> rightKeys,
+        Expression<Boolean> condition,
+        boolean outer,
+        int rightColumnCount,
+        long maxRows
+    ) {
+        super(id);
+
+        assert leftKeys.size() == rightKeys.size();
+
+        this.left = left;
+        this.right = right;
+
+        leftState = new UpstreamState(left);
+        rightState = new UpstreamState(right);
+
+        this.leftKeys = leftKeys;
+        this.rightKeys = rightKeys;
+        this.condition = condition;
+        this.outer = outer;
+        this.rightColumnCount = rightColumnCount;
+        this.maxRows = Math.max(maxRows, 1);
+    }
+
+    @Override
+    protected void setup0(QueryFragmentContext ctx) {
+        leftState.setup(ctx);
+        rightState.setup(ctx);
+
+        table = new HashMap<>();
+    }
+
+    @Override
+    protected IterationResult advance0() {
+        if (!tableDone) {
+            while (true) {
+                if (!rightState.advance()) {
+                    return IterationResult.WAIT;
+                }
+
+                build(rightState.consumeBatch());
+
+                if (rightState.isDone()) {
+                    tableDone = true;
+
+                    break;
+                }
+            }
+        }
+
+        while (true) {
+            if (!leftState.advance()) {
+                return IterationResult.WAIT;
+            }
+
+            List<Row> rows = new ArrayList<>();
+
+            Row leftRow;
+
+            while (rows.size() < BATCH_SIZE && (leftRow = leftState.nextIfExists()) != null) {
+                probe(leftRow, rows);
+            }
+
+            boolean done = leftState.isDone();
+
+            if (!rows.isEmpty() || done) {
+                currentBatch = new ListRowBatch(rows);
+
+                return done ? IterationResult.FETCHED_DONE : IterationResult.FETCHED;
+            }
+        }
+    }
+
+    @Override
+    protected RowBatch currentBatch0() {
+        return currentBatch;
+    }
+
+    public Exec getLeft() {
+        return left;
+    }
+
+    public Exec getRight() {
+        return right;
+    }
+
+    public List<Integer> getLeftKeys() {
+        return leftKeys;
+    }
+
+    public List<Integer> getRightKeys() {
+        return rightKeys;
+    }
+
+    public Expression<Boolean> getCondition() {
+        return condition;
+    }
+
+    public boolean isOuter() {
+        return outer;
+    }
+
+    private void build(RowBatch batch) {
+        for (int i = 0; i < batch.getRowCount(); i++) {
+            Row row = batch.getRow(i);
+
+            Object key = JoinUtils.getHashKey(row, rightKeys);
+
+            if (key == null) {
+                // NULL keys never match.
+                continue;
+            }
+
+            table.computeIfAbsent(key, (k) -> new ArrayList<>(1)).add(ColumnarRowBatch.toHeapRow(row));
+
+            if (++tableRowCount > maxRows) {
+                throw QueryException.error("Hash join exceeded the memory limit of " + MEMORY_LIMIT + " bytes ("
+                    + tableRowCount + " rows)");
+            }
+        }
+    }
+
+    private void probe(Row leftRow, List<Row> rows) {
+        Object key = JoinUtils.getHashKey(leftRow, leftKeys);
+
+        List<Row> rightRows = key != null ? table.get(key) : null;
+
+        Row leftRow0 = null;
+        boolean matched = false;
+
+        if (rightRows != null) {
+            leftRow0 = ColumnarRowBatch.toHeapRow(leftRow);
+
+            for (Row rightRow : rightRows) {
+                JoinRow row = new JoinRow(leftRow0, rightRow);
+
+                if (condition == null || TernaryLogic.isTrue(condition.eval(row, ctx))) {
+                    rows.add(row);
+
+                    matched = true;
+                }
+            }
+        }
+
+        if (!matched && outer) {
+            if (leftRow0 == null) {
+                leftRow0 = ColumnarRowBatch.toHeapRow(leftRow);
+            }
+
+            rows.add(new JoinRow(leftRow0, new HeapRow(rightColumnCount)));
+        }
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.sql.impl.exec.join;
+
+import com.hazelcast.sql.impl.exec.AbstractUpstreamAwareExec;
+import com.hazelcast.sql.impl.exec.Exec;
+import com.hazelcast.sql.impl.exec.IterationResult;
+import com.hazelcast.sql.impl.exec.scan.index.IndexEqualsFilter;
+import com.hazelcast.sql.impl.exec.scan.index.IndexFilterValue;
+import com.hazelcast.sql.impl.exec.scan.index.MapIndexScanExec;
+import com.hazelcast.sql.impl.expression.ConstantExpression;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.predicate.TernaryLogic;
+import com.hazelcast.sql.impl.row.ColumnarRowBatch;
+import com.hazelcast.sql.impl.row.JoinRow;
+import com.hazelcast.sql.impl.row.ListRowBatch;
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.row.RowBatch;
+import com.hazelcast.sql.impl.type.QueryDataType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Index nested loop join executor.
+ * <p>
+ * For every row of the upstream (left) input, the index of the right map is probed with the values of the left key
+ * columns, and the matching entries are joined with the row. Only the local partitions of the right map are probed,
+ * so every member owning the partitions of the right map must receive the whole left input.
+ */
+@SuppressWarnings("rawtypes")
+public class IndexNestedLoopJoinExec extends AbstractUpstreamAwareExec {
+
+    /** Output batch size. */
+    static final int BATCH_SIZE = 1024;
+
+    /** Scan of the right map, {@code null} if there are no local entries to join with. */
+    private final MapIndexScanExec right;
+    private final List<Integer> leftKeys;
+    private final List<QueryDataType> leftKeyTypes;
+    private final Expression<Boolean> condition;
+
+    private boolean rightSetUp;
+    private RowBatch currentBatch;
+
+    public IndexNestedLoopJoinExec(
+        int id,
+        Exec left,
+        MapIndexScanExec right,
+        List<Integer> leftKeys,
+        List<QueryDataType> leftKeyTypes,
+        Expression<Boolean> condition
+    ) {
+        super(id, left);
+
+        assert leftKeys.size() == leftKeyTypes.size();
+
+        this.right = right;
+        this.leftKeys = leftKeys;
+        this.leftKeyTypes = leftKeyTypes;
+        this.condition = condition;
+    }
+
+    @Override
+    protected IterationResult advance0() {
+        while (true) {
+            if (!state.advance()) {
+                return IterationResult.WAIT;
+            }
+
+            List<Row> rows = new ArrayList<>();
+
+            Row leftRow;
+
+            while (rows.size() < BATCH_SIZE && (leftRow = state.nextIfExists()) != null) {
+                probe(leftRow, rows);
+            }
+
+            boolean done = state.isDone();
+
+            if (!rows.isEmpty() || done) {
+                currentBatch = new ListRowBatch(rows);
+
+                return done ? IterationResult.FETCHED_DONE : IterationResult.FETCHED;
+            }
+        }
+    }
+
+    @Override
+    protected RowBatch currentBatch0() {
+        return currentBatch;
+    }
+
+    public MapIndexScanExec getRight() {
+        return right;
+    }
+
+    public List<Integer> getLeftKeys() {
+        return leftKeys;
+    }
+
+    public Expression<Boolean> getCondition() {
+        return condition;
+    }
+
+    private void probe(Row leftRow, List<Row> rows) {
+        if (right == null) {
+            return;
+        }
+
+        IndexEqualsFilter indexFilter = createIndexFilter(leftRow);
+
+        if (indexFilter == null) {
+            // NULL keys never match.
+            return;
+        }
+
+        right.reset(indexFilter);
+
+        if (!rightSetUp) {
+            right.setup(ctx);
+
+            rightSetUp = true;
+        }
+
+        Row leftRow0 = ColumnarRowBatch.toHeapRow(leftRow);
+
+        while (true) {
+            // The scan is local, so it never waits.
+            IterationResult result = right.advance();
+
+            RowBatch rightBatch = right.currentBatch();
+
+            for (int i = 0; i < rightBatch.getRowCount(); i++) {
+                JoinRow row = new JoinRow(leftRow0, ColumnarRowBatch.toHeapRow(rightBatch.getRow(i)));
+
+                if (condition == null || TernaryLogic.isTrue(condition.eval(row, ctx))) {
+                    rows.add(row);
+                }
+            }
+
+            if (result == IterationResult.FETCHED_DONE) {
+                break;
+            }
+
+            assert result == IterationResult.FETCHED;
+        }
+    }
+
+    private IndexEqualsFilter createIndexFilter(Row leftRow) {
+        List<Expression> components = new ArrayList<>(leftKeys.size());
+
+        for (int i = 0; i < leftKeys.size(); i++) {
+            Object value = leftRow.get(leftKeys.get(i));
+
+            if (value == null) {
+                return null;
+            }
+
+            components.add(ConstantExpression.create(value, leftKeyTypes.get(i)));
+        }
+
+        List<Boolean> allowNulls = Collections.nCopies(components.size(), false);
+
+        return new IndexEqualsFilter(new IndexFilterValue(components, allowNulls));
+    }
+}
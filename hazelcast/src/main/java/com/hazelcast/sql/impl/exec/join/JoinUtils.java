@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.sql.impl.exec.join;
+
+import com.hazelcast.sql.impl.row.Row;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Utility methods for joins.
+ */
+public final class JoinUtils {
+    private JoinUtils() {
+        // No-op.
+    }
+
+    /**
+     * Get the hash key of the row. Keys of equal values are equal and have the same hash code on all members, so the
+     * key could be used both for hash table lookups and for the partitioning of the rows between members.
+     *
+     * @param row Row.
+     * @param columnIndexes Indexes of the key columns.
+     * @return Key or {@code null} if one of the key values is {@code null}, which never matches any other key.
+     */
+    public static Object getHashKey(Row row, List<Integer> columnIndexes) {
+        if (columnIndexes.size() == 1) {
+            return normalize(row.get(columnIndexes.get(0)));
+        }
+
+        Object[] values = new Object[columnIndexes.size()];
+
+        for (int i = 0; i < values.length; i++) {
+            Object value = normalize(row.get(columnIndexes.get(i)));
+
+            if (value == null) {
+                return null;
+            }
+
+            values[i] = value;
+        }
+
+        return Arrays.asList(values);
+    }
+
+    /**
+     * Normalize the value, so that values which are equal in SQL are equal in Java as well.
+     */
+    private static Object normalize(Object value) {
+        if (value instanceof BigDecimal) {
+            // 1.0 and 1.00 are equal in SQL, but not in Java.
+            BigDecimal value0 = (BigDecimal) value;
+
+            return value0.signum() == 0 ? BigDecimal.ZERO : value0.stripTrailingZeros();
+        } else if (value instanceof Double) {
+            // -0.0 and 0.0 are equal in SQL, but not in Java.
+            return (Double) value == 0.0d ? 0.0d : value;
+        } else if (value instanceof Float) {
+            return (Float) value == 0.0f ? 0.0f : value;
+        }
+
+        return value;
+    }
+}
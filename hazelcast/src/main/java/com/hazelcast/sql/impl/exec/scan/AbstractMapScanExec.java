@@ -26,15 +26,16 @@ import com.hazelcast.sql.impl.expression.Expression;
 import com.hazelcast.sql.impl.expression.predicate.TernaryLogic;
 import com.hazelcast.sql.impl.extract.QueryPath;
 import com.hazelcast.sql.impl.extract.QueryTargetDescriptor;
+import com.hazelcast.sql.impl.row.Column;
+import com.hazelcast.sql.impl.row.ColumnarRowBatch;
 import com.hazelcast.sql.impl.row.EmptyRow;
-import com.hazelcast.sql.impl.row.HeapRow;
 import com.hazelcast.sql.impl.row.ListRowBatch;
-import com.hazelcast.sql.impl.row.Row;
 import com.hazelcast.sql.impl.row.RowBatch;
 import com.hazelcast.sql.impl.type.QueryDataType;
 import com.hazelcast.sql.impl.worker.QueryFragmentContext;
 
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -59,7 +60,11 @@ public abstract class AbstractMapScanExec extends AbstractExec {
     private KeyValueIterator recordIterator;
 
     private MapScanRow row;
-    private List<Row> currentRows;
+
+    /** Projected values of the current batch, one array per projection. */
+    private Object[][] columnValues;
+    private int currentRowCount;
+    private RowBatch currentBatch;
 
     protected AbstractMapScanExec(
         int id,
@@ -95,30 +100,37 @@ public abstract class AbstractMapScanExec extends AbstractExec {
             serializationService
         );
 
+        columnValues = new Object[projects.size()][BATCH_SIZE];
+
+        migrationStamp = getMigrationStamp();
+        recordIterator = createIterator();
+    }
+
+    /**
+     * Restarts the scan from the beginning. The executor must be set up already.
+     */
+    protected final void restart() {
         migrationStamp = getMigrationStamp();
         recordIterator = createIterator();
+        currentBatch = null;
+
+        resetDone();
     }
 
     @Override
     protected IterationResult advance0() {
-        currentRows = null;
+        currentRowCount = 0;
 
         while (recordIterator.tryAdvance()) {
-            Row row = prepareRow(recordIterator.getKey(), recordIterator.getValue());
-
-            if (row != null) {
-                if (currentRows == null) {
-                    currentRows = new ArrayList<>(BATCH_SIZE);
-                }
-
-                currentRows.add(row);
-
-                if (currentRows.size() == BATCH_SIZE) {
+            if (prepareRow(recordIterator.getKey(), recordIterator.getValue())) {
+                if (++currentRowCount == BATCH_SIZE) {
                     break;
                 }
             }
         }
 
+        currentBatch = currentRowCount > 0 ? prepareBatch() : null;
+
         boolean done = recordIterator.done();
 
         // Validate that the results are consistent (operator-dependent)
@@ -149,7 +161,7 @@ public abstract class AbstractMapScanExec extends AbstractExec {
 
     @Override
     public RowBatch currentBatch0() {
-        return currentRows != null ? new ListRowBatch(currentRows) : null;
+        return currentBatch;
     }
 
     protected abstract int getMigrationStamp();
@@ -163,34 +175,49 @@ public abstract class AbstractMapScanExec extends AbstractExec {
     /**
      * Prepare the row for the given key and value:
      * 1) Check filter
-     * 2) Extract projections
+     * 2) Extract projections into the current batch
      *
      * @param rawKey Key (data or object)
      * @param rawValue Value (data or object)
-     * @return Row that is ready for processing by parent operators or {@code null} if the row hasn't passed the filter.
+     * @return {@code true} if the row has passed the filter and has been added to the current batch.
      */
-    protected Row prepareRow(Object rawKey, Object rawValue) {
+    protected boolean prepareRow(Object rawKey, Object rawValue) {
         row.setKeyValue(rawKey, rawValue);
 
         // Filter.
         if (filter != null && TernaryLogic.isNotTrue(filter.eval(row, ctx))) {
-            return null;
+            return false;
         }
 
         // Project.
+        for (int j = 0; j < projects.size(); j++) {
+            columnValues[j][currentRowCount] = row.get(projects.get(j));
+        }
+
+        return true;
+    }
+
+    /**
+     * Converts the projected values of the current batch into columns.
+     *
+     * @return Batch.
+     */
+    private RowBatch prepareBatch() {
         if (projects.size() == 0) {
-            return EmptyRow.INSTANCE;
+            return new ListRowBatch(Collections.nCopies(currentRowCount, EmptyRow.INSTANCE));
         }
 
-        HeapRow row = new HeapRow(projects.size());
+        Column[] columns = new Column[projects.size()];
 
         for (int j = 0; j < projects.size(); j++) {
-            Object projectRes = this.row.get(projects.get(j));
+            Object[] values = columnValues[j];
+
+            columns[j] = Column.of(fieldTypes.get(projects.get(j)), values, currentRowCount);
 
-            row.set(j, projectRes);
+            Arrays.fill(values, 0, currentRowCount, null);
         }
 
-        return row;
+        return new ColumnarRowBatch(columns, currentRowCount);
     }
 
     /**
@@ -18,8 +18,14 @@ package com.hazelcast.sql.impl.exec.scan;
 
 import com.hazelcast.internal.util.collection.PartitionIdSet;
 import com.hazelcast.map.impl.MapContainer;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.map.impl.recordstore.RecordStore;
 import com.hazelcast.query.impl.getters.Extractors;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Utility class containing helper methods for map iteration. Simplifies implementation of query compiler.
  */
@@ -35,4 +41,70 @@ public final class MapScanExecUtils {
     public static MapScanExecIterator createIterator(MapContainer map, PartitionIdSet parts) {
         return new MapScanExecIterator(map, parts.iterator());
     }
+
+    /**
+     * Splits the given partitions into slices with roughly the same number of entries to be scanned in parallel.
+     * Partitions are assigned to slices starting from the biggest one, every time to the slice with the smallest
+     * number of entries.
+     *
+     * @param map Map.
+     * @param parts Partitions to split.
+     * @param maxSliceCount Maximum number of slices.
+     * @param minEntriesPerSlice Minimum number of entries per slice, used to avoid splitting of small maps.
+     * @return Slices, or a single slice containing all the given partitions if the map should not be split.
+     */
+    public static List<PartitionIdSet> slicePartitions(
+        MapContainer map,
+        PartitionIdSet parts,
+        int maxSliceCount,
+        int minEntriesPerSlice
+    ) {
+        if (maxSliceCount <= 1 || parts.size() <= 1) {
+            return Collections.singletonList(parts);
+        }
+
+        MapServiceContext mapServiceContext = map.getMapServiceContext();
+
+        List<long[]> partitionSizes = new ArrayList<>(parts.size());
+        long totalSize = 0;
+
+        for (int partitionId : parts) {
+            RecordStore<?> recordStore = mapServiceContext.getExistingRecordStore(partitionId, map.getName());
+
+            int size = recordStore != null ? recordStore.size() : 0;
+
+            partitionSizes.add(new long[] { partitionId, size });
+            totalSize += size;
+        }
+
+        int sliceCount = (int) Math.min(Math.min(maxSliceCount, parts.size()), totalSize / minEntriesPerSlice);
+
+        if (sliceCount <= 1) {
+            return Collections.singletonList(parts);
+        }
+
+        partitionSizes.sort((o1, o2) -> Long.compare(o2[1], o1[1]));
+
+        List<PartitionIdSet> slices = new ArrayList<>(sliceCount);
+        long[] sliceSizes = new long[sliceCount];
+
+        for (int i = 0; i < sliceCount; i++) {
+            slices.add(new PartitionIdSet(parts.getPartitionCount()));
+        }
+
+        for (long[] partitionSize : partitionSizes) {
+            int sliceIndex = 0;
+
+            for (int i = 1; i < sliceCount; i++) {
+                if (sliceSizes[i] < sliceSizes[sliceIndex]) {
+                    sliceIndex = i;
+                }
+            }
+
+            slices.get(sliceIndex).add((int) partitionSize[0]);
+            sliceSizes[sliceIndex] += partitionSize[1];
+        }
+
+        return slices;
+    }
 }
@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.scan;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.util.collection.PartitionIdSet;
+import com.hazelcast.map.impl.MapContainer;
+import com.hazelcast.sql.impl.QueryException;
+import com.hazelcast.sql.impl.exec.AbstractExec;
+import com.hazelcast.sql.impl.exec.IterationResult;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.extract.QueryPath;
+import com.hazelcast.sql.impl.extract.QueryTargetDescriptor;
+import com.hazelcast.sql.impl.row.RowBatch;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.sql.impl.worker.QueryFragmentContext;
+import com.hazelcast.sql.impl.worker.QueryFragmentWorkerPool;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Executor for map scan that splits local partitions into slices and scans them concurrently in the fragment pool.
+ * <p>
+ * Every slice is scanned by a separate {@link MapScanExec}. Batches produced by slices are merged into a single stream
+ * in the order of arrival. The number of buffered batches is bounded: a slice pauses when the buffer is full and is
+ * resumed when the fragment consumes a batch.
+ */
+public class ParallelMapScanExec extends AbstractExec {
+
+    /** Number of batches that could be buffered per slice before slices are paused. */
+    private static final int BATCHES_PER_SLICE = 2;
+
+    private final MapContainer map;
+    private final List<PartitionIdSet> partitionSlices;
+    private final QueryFragmentWorkerPool fragmentPool;
+    private final List<Slice> slices;
+
+    /** Maximum number of buffered batches. */
+    private final int capacity;
+
+    /** Batches produced by slices, but not consumed yet. */
+    private final ConcurrentLinkedQueue<RowBatch> batches = new ConcurrentLinkedQueue<>();
+
+    /** Number of buffered batches, used instead of batches.size() which is O(N). */
+    private final AtomicInteger batchCount = new AtomicInteger();
+
+    /** Number of slices that have not finished yet. */
+    private final AtomicInteger activeSliceCount;
+
+    /** The first error observed by slices. */
+    private final AtomicReference<Throwable> error = new AtomicReference<>();
+
+    private boolean started;
+    private RowBatch currentBatch;
+
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    public ParallelMapScanExec(
+        int id,
+        MapContainer map,
+        List<PartitionIdSet> partitionSlices,
+        QueryTargetDescriptor keyDescriptor,
+        QueryTargetDescriptor valueDescriptor,
+        List<QueryPath> fieldPaths,
+        List<QueryDataType> fieldTypes,
+        List<Integer> projects,
+        Expression<Boolean> filter,
+        InternalSerializationService serializationService,
+        QueryFragmentWorkerPool fragmentPool
+    ) {
+        super(id);
+
+        assert partitionSlices.size() > 1;
+
+        this.map = map;
+        this.partitionSlices = partitionSlices;
+        this.fragmentPool = fragmentPool;
+
+        slices = new ArrayList<>(partitionSlices.size());
+
+        for (PartitionIdSet partitions : partitionSlices) {
+            MapScanExec exec = new MapScanExec(
+                id,
+                map,
+                partitions,
+                keyDescriptor,
+                valueDescriptor,
+                fieldPaths,
+                fieldTypes,
+                projects,
+                filter,
+                serializationService
+            );
+
+            slices.add(new Slice(exec));
+        }
+
+        capacity = partitionSlices.size() * BATCHES_PER_SLICE;
+        activeSliceCount = new AtomicInteger(partitionSlices.size());
+    }
+
+    @Override
+    protected void setup0(QueryFragmentContext ctx) {
+        for (Slice slice : slices) {
+            slice.exec.setup(ctx);
+        }
+    }
+
+    @Override
+    protected IterationResult advance0() {
+        if (!started) {
+            started = true;
+
+            scheduleSlices();
+        }
+
+        checkError();
+
+        RowBatch batch = batches.poll();
+
+        if (batch != null) {
+            batchCount.decrementAndGet();
+
+            // Resume slices that might have been paused due to the full buffer.
+            scheduleSlices();
+        }
+
+        currentBatch = batch;
+
+        // Slices add their last batches before they are marked as finished, so no more batches could arrive.
+        if (activeSliceCount.get() == 0 && batches.isEmpty()) {
+            return IterationResult.FETCHED_DONE;
+        }
+
+        return batch != null ? IterationResult.FETCHED : IterationResult.WAIT;
+    }
+
+    @Override
+    protected RowBatch currentBatch0() {
+        return currentBatch;
+    }
+
+    private void scheduleSlices() {
+        for (Slice slice : slices) {
+            slice.schedule();
+        }
+    }
+
+    private void checkError() {
+        Throwable error0 = error.get();
+
+        if (error0 == null) {
+            return;
+        }
+
+        if (error0 instanceof RuntimeException) {
+            throw (RuntimeException) error0;
+        }
+
+        throw QueryException.error("Map scan failed: " + error0.getMessage(), error0);
+    }
+
+    public MapContainer getMap() {
+        return map;
+    }
+
+    public List<PartitionIdSet> getPartitionSlices() {
+        return partitionSlices;
+    }
+
+    /**
+     * A subset of local partitions scanned by a single thread at a time.
+     */
+    private final class Slice implements Runnable {
+
+        private final MapScanExec exec;
+
+        /** Whether the slice is submitted to the pool. Guarantees that the slice is advanced by one thread at a time. */
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private volatile boolean done;
+
+        private Slice(MapScanExec exec) {
+            this.exec = exec;
+        }
+
+        private void schedule() {
+            if (!done && !scheduled.get() && scheduled.compareAndSet(false, true)) {
+                fragmentPool.submit(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (!done && batchCount.get() < capacity) {
+                    IterationResult res = exec.advance();
+
+                    RowBatch batch = exec.currentBatch();
+
+                    if (batch.getRowCount() > 0) {
+                        batchCount.incrementAndGet();
+                        batches.add(batch);
+
+                        ctx.schedule();
+                    }
+
+                    if (res == IterationResult.FETCHED_DONE) {
+                        done = true;
+
+                        if (activeSliceCount.decrementAndGet() == 0) {
+                            ctx.schedule();
+                        }
+                    }
+                }
+            } catch (Throwable e) {
+                done = true;
+
+                error.compareAndSet(null, e);
+
+                ctx.schedule();
+            } finally {
+                scheduled.set(false);
+            }
+
+            // The fragment might have consumed batches after the capacity check, but before the "scheduled" flag was reset.
+            if (!done && batchCount.get() < capacity) {
+                schedule();
+            }
+        }
+    }
+}
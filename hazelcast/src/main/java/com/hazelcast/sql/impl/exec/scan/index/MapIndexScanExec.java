@@ -40,7 +40,7 @@ import java.util.List;
 public class MapIndexScanExec extends MapScanExec {
 
     private final String indexName;
-    private final IndexFilter indexFilter;
+    private IndexFilter indexFilter;
     private final List<QueryDataType> converterTypes;
     private final int componentCount;
 
@@ -85,6 +85,20 @@ public class MapIndexScanExec extends MapScanExec {
         this.converterTypes = converterTypes;
     }
 
+    /**
+     * Restarts the scan with another index filter. Used by the index nested loop join to look up the entries matching
+     * the keys of every joined row.
+     *
+     * @param indexFilter new index filter
+     */
+    public void reset(IndexFilter indexFilter) {
+        this.indexFilter = indexFilter;
+
+        if (ctx != null) {
+            restart();
+        }
+    }
+
     @Override
     protected KeyValueIterator createIterator() {
         // Find the index
@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.sql.impl.exec.sort;
+
+import com.hazelcast.sql.impl.QueryException;
+import com.hazelcast.sql.impl.exec.AbstractUpstreamAwareExec;
+import com.hazelcast.sql.impl.exec.Exec;
+import com.hazelcast.sql.impl.exec.IterationResult;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.row.ListRowBatch;
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.row.RowBatch;
+import com.hazelcast.sql.impl.worker.QueryFragmentContext;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Sort executor.
+ * <p>
+ * When the number of rows to fetch is known, only the top rows are retained in a bounded heap. Otherwise all the rows
+ * of the upstream are accumulated and sorted when the upstream is exhausted.
+ * <p>
+ * In the local mode the offset is not applied: the local sort retains {@code fetch + offset} rows, and the final
+ * stage which merges the sorted streams skips and limits the rows.
+ */
+public class SortExec extends AbstractUpstreamAwareExec {
+
+    /** Memory available to the sort. Will be reworked to dynamic mode when memory manager is implemented. */
+    static final long MEMORY_LIMIT = 64 * 1024 * 1024;
+
+    /** Output batch size. */
+    static final int BATCH_SIZE = 1024;
+
+    /** Estimated memory occupied by a retained row apart from the values. */
+    private static final int ROW_OVERHEAD = 32;
+
+    private final List<Integer> columnIndexes;
+    private final List<Boolean> ascs;
+    private final Expression<?> fetch;
+    private final Expression<?> offset;
+    private final boolean local;
+    private final long maxRows;
+    private final SortKeyComparator comparator;
+
+    /** Number of rows to retain. */
+    private long limit;
+
+    /** Number of rows to skip. */
+    private long skip;
+
+    /** Retained rows when the limit is known. The top of the heap is the greatest retained row. */
+    private PriorityQueue<Row> heap;
+
+    /** Retained rows when the limit is unknown. */
+    private List<Row> rows;
+
+    /** Sorted rows to be emitted. */
+    private List<Row> sortedRows;
+    private int sortedPosition;
+
+    private RowBatch currentBatch;
+
+    public SortExec(
+        int id,
+        Exec upstream,
+        List<Integer> columnIndexes,
+        List<Boolean> ascs,
+        Expression<?> fetch,
+        Expression<?> offset,
+        boolean local,
+        int estimatedRowSize
+    ) {
+        this(id, upstream, columnIndexes, ascs, fetch, offset, local, MEMORY_LIMIT / (estimatedRowSize + ROW_OVERHEAD));
+    }
+
+    SortExec(
+        int id,
+        Exec upstream,
+        List<Integer> columnIndexes,
+        List<Boolean> ascs,
+        Expression<?> fetch,
+        Expression<?> offset,
+        boolean local,
+        long maxRows
+    ) {
+        super(id, upstream);
+
+        this.columnIndexes = columnIndexes;
+        this.ascs = ascs;
+        this.fetch = fetch;
+        this.offset = offset;
+        this.local = local;
+        this.maxRows = Math.max(maxRows, 1);
+
+        comparator = new SortKeyComparator(columnIndexes, ascs);
+    }
+
+    @Override
+    protected void setup1(QueryFragmentContext ctx) {
+        long fetch0 = SortUtils.evaluateRowCount(fetch, ctx, "FETCH", Long.MAX_VALUE);
+        long offset0 = SortUtils.evaluateRowCount(offset, ctx, "OFFSET", 0);
+
+        limit = SortUtils.getRetainedRowCount(fetch0, offset0);
+        skip = local ? 0 : offset0;
+
+        if (fetch != null) {
+            heap = new PriorityQueue<>(comparator.reversed());
+        } else {
+            rows = new ArrayList<>();
+        }
+    }
+
+    @Override
+    protected IterationResult advance0() {
+        if (sortedRows != null) {
+            return emit();
+        }
+
+        while (true) {
+            if (!state.advance()) {
+                return IterationResult.WAIT;
+            }
+
+            RowBatch batch = state.consumeBatch();
+
+            if (heap != null) {
+                retainTop(batch);
+            } else {
+                retainAll(batch);
+            }
+
+            if (state.isDone() || isUnorderedLimitReached()) {
+                sortedRows = new ArrayList<>(heap != null ? heap : rows);
+                sortedRows.sort(comparator);
+                sortedPosition = (int) Math.min(skip, sortedRows.size());
+
+                heap = null;
+                rows = null;
+
+                return emit();
+            }
+        }
+    }
+
+    @Override
+    protected RowBatch currentBatch0() {
+        return currentBatch;
+    }
+
+    public List<Integer> getColumnIndexes() {
+        return columnIndexes;
+    }
+
+    public List<Boolean> getAscs() {
+        return ascs;
+    }
+
+    public Expression<?> getFetch() {
+        return fetch;
+    }
+
+    public Expression<?> getOffset() {
+        return offset;
+    }
+
+    public boolean isLocal() {
+        return local;
+    }
+
+    private void retainTop(RowBatch batch) {
+        for (int i = 0; i < batch.getRowCount(); i++) {
+            Row row = batch.getRow(i);
+
+            if (heap.size() < limit) {
+                heap.add(row);
+
+                checkMemory(heap);
+            } else if (limit > 0 && comparator.compare(row, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(row);
+            }
+        }
+    }
+
+    /**
+     * @return {@code true} if there are no sort keys and enough rows are retained, so that the rest of the upstream
+     * could be skipped.
+     */
+    private boolean isUnorderedLimitReached() {
+        return heap != null && columnIndexes.isEmpty() && heap.size() >= limit;
+    }
+
+    private void retainAll(RowBatch batch) {
+        for (int i = 0; i < batch.getRowCount(); i++) {
+            rows.add(batch.getRow(i));
+        }
+
+        checkMemory(rows);
+    }
+
+    private void checkMemory(Collection<Row> retainedRows) {
+        if (retainedRows.size() > maxRows) {
+            throw QueryException.error("Sort exceeded the memory limit of " + MEMORY_LIMIT + " bytes ("
+                + retainedRows.size() + " rows)");
+        }
+    }
+
+    private IterationResult emit() {
+        int end = Math.min(sortedPosition + BATCH_SIZE, sortedRows.size());
+
+        currentBatch = new ListRowBatch(new ArrayList<>(sortedRows.subList(sortedPosition, end)));
+
+        sortedPosition = end;
+
+        return sortedPosition == sortedRows.size() ? IterationResult.FETCHED_DONE : IterationResult.FETCHED;
+    }
+}
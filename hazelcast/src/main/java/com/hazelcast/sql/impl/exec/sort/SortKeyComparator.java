@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.sql.impl.exec.sort;
+
+import com.hazelcast.sql.impl.row.Row;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Comparator of rows by the sort key columns.
+ * <p>
+ * {@code NULL} is considered greater than any other value, so that it goes last in the ascending order and first in the
+ * descending order. This matches the default null collation of the optimizer.
+ */
+public final class SortKeyComparator implements Comparator<Row> {
+
+    private final int[] columnIndexes;
+    private final boolean[] ascs;
+
+    public SortKeyComparator(List<Integer> columnIndexes, List<Boolean> ascs) {
+        assert columnIndexes.size() == ascs.size();
+
+        this.columnIndexes = new int[columnIndexes.size()];
+        this.ascs = new boolean[ascs.size()];
+
+        for (int i = 0; i < columnIndexes.size(); i++) {
+            this.columnIndexes[i] = columnIndexes.get(i);
+            this.ascs[i] = ascs.get(i);
+        }
+    }
+
+    @Override
+    public int compare(Row row1, Row row2) {
+        for (int i = 0; i < columnIndexes.length; i++) {
+            int columnIndex = columnIndexes[i];
+
+            int res = compareValues(row1.get(columnIndex), row2.get(columnIndex));
+
+            if (res != 0) {
+                return ascs[i] ? res : -res;
+            }
+        }
+
+        return 0;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compareValues(Object value1, Object value2) {
+        if (value1 == null) {
+            return value2 == null ? 0 : 1;
+        } else if (value2 == null) {
+            return -1;
+        }
+
+        return ((Comparable) value1).compareTo(value2);
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.sql.impl.exec.sort;
+
+import com.hazelcast.sql.impl.QueryException;
+import com.hazelcast.sql.impl.SqlErrorCode;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
+import com.hazelcast.sql.impl.row.EmptyRow;
+
+/**
+ * Utility methods for sorting executors.
+ */
+public final class SortUtils {
+    private SortUtils() {
+        // No-op.
+    }
+
+    /**
+     * Evaluates the number of rows to fetch or to skip.
+     *
+     * @param expression Expression, might be {@code null}.
+     * @param ctx Evaluation context.
+     * @param name Name of the clause for the error message.
+     * @param defaultValue Value to be returned if the expression is {@code null}.
+     * @return Number of rows.
+     */
+    public static long evaluateRowCount(Expression<?> expression, ExpressionEvalContext ctx, String name, long defaultValue) {
+        if (expression == null) {
+            return defaultValue;
+        }
+
+        Object value = expression.eval(EmptyRow.INSTANCE, ctx);
+
+        if (!(value instanceof Number)) {
+            throw QueryException.error(SqlErrorCode.DATA_EXCEPTION, name + " value must be a number: " + value);
+        }
+
+        long res = ((Number) value).longValue();
+
+        if (res < 0) {
+            throw QueryException.error(SqlErrorCode.DATA_EXCEPTION, name + " value cannot be negative: " + res);
+        }
+
+        return res;
+    }
+
+    /**
+     * Gets the number of rows that a local sort should retain so that the final stage could apply both offset and fetch.
+     *
+     * @param fetch Number of rows to fetch.
+     * @param offset Number of rows to skip.
+     * @return Number of rows to retain.
+     */
+    public static long getRetainedRowCount(long fetch, long offset) {
+        long res = fetch + offset;
+
+        return res < 0 ? Long.MAX_VALUE : res;
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.sql.impl.expression;
+
+import com.hazelcast.sql.impl.row.BooleanColumn;
+import com.hazelcast.sql.impl.row.Column;
+import com.hazelcast.sql.impl.row.RowBatch;
+
+/**
+ * Utility methods for batch evaluation of expressions.
+ */
+public final class BatchEvalUtils {
+    private BatchEvalUtils() {
+        // No-op.
+    }
+
+    /**
+     * Evaluates the expression on every row of the batch using {@link Expression#eval}.
+     */
+    public static Column evalRowByRow(Expression<?> expression, RowBatch batch, ExpressionEvalContext context) {
+        int size = batch.getRowCount();
+        Object[] values = new Object[size];
+
+        for (int i = 0; i < size; i++) {
+            values[i] = expression.eval(batch.getRow(i), context);
+        }
+
+        return Column.of(expression.getType(), values, size);
+    }
+
+    /**
+     * Evaluates the top-level expression on the batch. If the batch evaluation fails, the batch is evaluated
+     * again row by row, so that errors are reported only for the rows the row-by-row evaluation would reach.
+     */
+    public static Column evalBatchSafe(Expression<?> expression, RowBatch batch, ExpressionEvalContext context) {
+        try {
+            return expression.evalBatch(batch, context);
+        } catch (RuntimeException e) {
+            return evalRowByRow(expression, batch, context);
+        }
+    }
+
+    /**
+     * Evaluates the top-level predicate on the batch.
+     *
+     * @return Flags which are set for the rows where the predicate is {@code TRUE}.
+     */
+    public static boolean[] evalFilter(Expression<Boolean> filter, RowBatch batch, ExpressionEvalContext context) {
+        Column column = evalBatchSafe(filter, batch, context);
+        int size = column.size();
+        boolean[] res = new boolean[size];
+
+        if (column instanceof BooleanColumn) {
+            boolean[] values = ((BooleanColumn) column).getValues();
+            boolean[] nulls = column.getNulls();
+
+            for (int i = 0; i < size; i++) {
+                res[i] = values[i] && (nulls == null || !nulls[i]);
+            }
+        } else {
+            for (int i = 0; i < size; i++) {
+                res[i] = Boolean.TRUE.equals(column.get(i));
+            }
+        }
+
+        return res;
+    }
+
+    /**
+     * @return Null flags set where either of the columns is {@code null}, or {@code null} if neither column
+     * has nulls.
+     */
+    public static boolean[] mergeNulls(Column first, Column second) {
+        boolean[] firstNulls = first.getNulls();
+        boolean[] secondNulls = second.getNulls();
+
+        if (firstNulls == null) {
+            return secondNulls == null ? null : secondNulls.clone();
+        } else if (secondNulls == null) {
+            return firstNulls.clone();
+        }
+
+        int size = firstNulls.length;
+        boolean[] res = new boolean[size];
+
+        for (int i = 0; i < size; i++) {
+            res[i] = firstNulls[i] | secondNulls[i];
+        }
+
+        return res;
+    }
+}
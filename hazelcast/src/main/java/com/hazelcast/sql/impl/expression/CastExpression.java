@@ -18,8 +18,14 @@ package com.hazelcast.sql.impl.expression;
 
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.sql.impl.SqlDataSerializerHook;
+import com.hazelcast.sql.impl.row.BooleanColumn;
+import com.hazelcast.sql.impl.row.Column;
+import com.hazelcast.sql.impl.row.DoubleColumn;
+import com.hazelcast.sql.impl.row.LongColumn;
 import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.row.RowBatch;
 import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.sql.impl.type.QueryDataTypeFamily;
 import com.hazelcast.sql.impl.type.converter.Converter;
 
 /**
@@ -63,4 +69,67 @@ public final class CastExpression<T> extends UniExpressionWithType<T> implements
         return (T) toConverter.convertToSelf(fromConverter, value);
     }
 
+    @Override
+    public Column evalBatch(RowBatch batch, ExpressionEvalContext context) {
+        Column column = operand.evalBatch(batch, context);
+
+        Column res = castPrimitive(column);
+
+        if (res != null) {
+            return res;
+        }
+
+        Converter fromConverter = operand.getType().getConverter();
+        Converter toConverter = resultType.getConverter();
+
+        int size = column.size();
+        Object[] values = new Object[size];
+
+        for (int i = 0; i < size; i++) {
+            Object value = column.get(i);
+
+            if (value != null) {
+                values[i] = toConverter.convertToSelf(fromConverter, value);
+            }
+        }
+
+        return Column.of(resultType, values, size);
+    }
+
+    /**
+     * Performs lossless casts between primitive columns without boxing.
+     *
+     * @return Result column or {@code null} if the cast requires a converter.
+     */
+    private Column castPrimitive(Column column) {
+        QueryDataTypeFamily fromFamily = column.getType().getTypeFamily();
+        QueryDataTypeFamily toFamily = resultType.getTypeFamily();
+
+        if (column instanceof LongColumn) {
+            long[] values = ((LongColumn) column).getValues();
+
+            if (LongColumn.isLongFamily(resultType) && toFamily.getPrecedence() >= fromFamily.getPrecedence()) {
+                return new LongColumn(resultType, values, column.getNulls(), column.size());
+            }
+
+            if (DoubleColumn.isDoubleFamily(resultType)) {
+                boolean real = toFamily == QueryDataTypeFamily.REAL;
+                double[] res = new double[column.size()];
+
+                for (int i = 0; i < res.length; i++) {
+                    res[i] = real ? (float) values[i] : (double) values[i];
+                }
+
+                return new DoubleColumn(resultType, res, column.getNulls(), column.size());
+            }
+        } else if (column instanceof DoubleColumn) {
+            if (toFamily == QueryDataTypeFamily.DOUBLE || toFamily == fromFamily) {
+                return new DoubleColumn(resultType, ((DoubleColumn) column).getValues(), column.getNulls(), column.size());
+            }
+        } else if (column instanceof BooleanColumn && toFamily == QueryDataTypeFamily.BOOLEAN) {
+            return column;
+        }
+
+        return null;
+    }
 }
@@ -20,7 +20,10 @@ import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.sql.impl.SqlDataSerializerHook;
+import com.hazelcast.sql.impl.row.Column;
+import com.hazelcast.sql.impl.row.ColumnarRowBatch;
 import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.row.RowBatch;
 import com.hazelcast.sql.impl.type.QueryDataType;
 import com.hazelcast.sql.impl.type.QueryDataTypeUtils;
 
@@ -61,6 +64,15 @@ public final class ColumnExpression<T> implements Expression<T>, IdentifiedDataS
         return (T) row.get(index);
     }
 
+    @Override
+    public Column evalBatch(RowBatch batch, ExpressionEvalContext context) {
+        if (batch instanceof ColumnarRowBatch) {
+            return ((ColumnarRowBatch) batch).getColumn(index);
+        }
+
+        return BatchEvalUtils.evalRowByRow(this, batch, context);
+    }
+
     @Override
     public QueryDataType getType() {
         return type;
@@ -20,7 +20,9 @@ import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.sql.impl.SqlDataSerializerHook;
+import com.hazelcast.sql.impl.row.Column;
 import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.row.RowBatch;
 import com.hazelcast.sql.impl.type.QueryDataType;
 import com.hazelcast.sql.impl.type.QueryDataTypeFamily;
 import com.hazelcast.sql.impl.type.converter.Converter;
@@ -76,6 +78,11 @@ public final class ConstantExpression<T> implements Expression<T>, IdentifiedDat
         return value;
     }
 
+    @Override
+    public Column evalBatch(RowBatch batch, ExpressionEvalContext context) {
+        return Column.constant(type, value, batch.getRowCount());
+    }
+
     @Override
     public QueryDataType getType() {
         return type;
@@ -17,7 +17,9 @@
 package com.hazelcast.sql.impl.expression;
 
 import com.hazelcast.nio.serialization.DataSerializable;
+import com.hazelcast.sql.impl.row.Column;
 import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.row.RowBatch;
 import com.hazelcast.sql.impl.type.QueryDataType;
 
 import java.io.Serializable;
@@ -40,6 +42,23 @@ public interface Expression<T> extends DataSerializable, Serializable {
      */
     T eval(Row row, ExpressionEvalContext context);
 
+    /**
+     * Evaluates this expression on all rows of the batch at once.
+     * <p>
+     * The default implementation evaluates the expression row by row. Implementations may override it to
+     * process primitive columns in tight loops. Unlike {@link #eval(Row, ExpressionEvalContext)}, the batch
+     * evaluation may evaluate operands on rows where the row-by-row evaluation would short-circuit, use
+     * {@link BatchEvalUtils#evalBatchSafe(Expression, RowBatch, ExpressionEvalContext)} to evaluate a
+     * top-level expression.
+     *
+     * @param batch   the batch to evaluate this expression on.
+     * @param context the expression evaluation context.
+     * @return the column with the results, one per row of the batch.
+     */
+    default Column evalBatch(RowBatch batch, ExpressionEvalContext context) {
+        return BatchEvalUtils.evalRowByRow(this, batch, context);
+    }
+
     /**
      * @return the return query data type of this expression.
      */
@@ -20,7 +20,9 @@ import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.sql.impl.SqlDataSerializerHook;
+import com.hazelcast.sql.impl.row.Column;
 import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.row.RowBatch;
 import com.hazelcast.sql.impl.type.QueryDataType;
 
 import java.io.IOException;
@@ -62,6 +64,11 @@ public final class ParameterExpression<T> implements Expression<T>, IdentifiedDa
         return (T) context.getArgument(index);
     }
 
+    @Override
+    public Column evalBatch(RowBatch batch, ExpressionEvalContext context) {
+        return Column.constant(type, context.getArgument(index), batch.getRowCount());
+    }
+
     @Override
     public QueryDataType getType() {
         return type;
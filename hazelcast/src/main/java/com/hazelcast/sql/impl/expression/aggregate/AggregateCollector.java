@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.sql.impl.expression.aggregate;
+
+import com.hazelcast.sql.impl.row.Row;
+
+/**
+ * Accumulates the state of a single aggregate function for a single group.
+ */
+public abstract class AggregateCollector {
+    /**
+     * Accumulate the value of the operand during the local phase.
+     *
+     * @param value Value of the operand, possibly {@code null}.
+     */
+    public abstract void collect(Object value);
+
+    /**
+     * Merge the partial state produced by the local phase on another collector.
+     *
+     * @param row Row with the partial state.
+     * @param offset Index of the first partial column in the row.
+     */
+    public abstract void merge(Row row, int offset);
+
+    /**
+     * Write the partial state.
+     *
+     * @param target Target array.
+     * @param offset Index of the first partial column in the array.
+     */
+    public abstract void writePartial(Object[] target, int offset);
+
+    /**
+     * @return Final result.
+     */
+    public abstract Object getResult();
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.sql.impl.expression.aggregate;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.sql.impl.SqlDataSerializerHook;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.type.QueryDataType;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Base class for aggregate functions.
+ * <p>
+ * Aggregation is performed in two phases. During the local phase a collector accumulates the values of the operand
+ * and then writes a partial state described by {@link #getPartialTypes()}. During the final phase partial states
+ * received from several members are merged, and the final result of {@link #getType()} is produced.
+ */
+public abstract class AggregateExpression implements IdentifiedDataSerializable {
+    /** Operand, {@code null} for COUNT(*). */
+    protected Expression<?> operand;
+
+    /** Type of the final result. */
+    protected QueryDataType resultType;
+
+    protected AggregateExpression() {
+        // No-op.
+    }
+
+    protected AggregateExpression(Expression<?> operand, QueryDataType resultType) {
+        this.operand = operand;
+        this.resultType = resultType;
+    }
+
+    /**
+     * @return New collector which accumulates a single group.
+     */
+    public abstract AggregateCollector createCollector();
+
+    /**
+     * @return Types of the columns of the partial state produced by the local phase.
+     */
+    public abstract List<QueryDataType> getPartialTypes();
+
+    public Expression<?> getOperand() {
+        return operand;
+    }
+
+    public QueryDataType getType() {
+        return resultType;
+    }
+
+    @Override
+    public int getFactoryId() {
+        return SqlDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeObject(operand);
+        out.writeObject(resultType);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        operand = in.readObject();
+        resultType = in.readObject();
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(operand, resultType);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        AggregateExpression that = (AggregateExpression) o;
+
+        return Objects.equals(operand, that.operand) && resultType.equals(that.resultType);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{operand=" + operand + ", resultType=" + resultType + '}';
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.expression.aggregate;
+
+import com.hazelcast.aggregation.impl.ApproximateCountDistinctAggregator;
+import com.hazelcast.cardinality.impl.hyperloglog.HyperLogLog;
+import com.hazelcast.cardinality.impl.hyperloglog.impl.HyperLogLogImpl;
+import com.hazelcast.sql.impl.SqlDataSerializerHook;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.type.QueryDataType;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * APPROX_COUNT_DISTINCT aggregate. Estimates the number of distinct non-null values of the operand using the
+ * HyperLogLog sketch, which is also the partial state, so the partial states are of a bounded size.
+ */
+public class ApproxCountDistinctAggregateExpression extends AggregateExpression {
+
+    public ApproxCountDistinctAggregateExpression() {
+        // No-op.
+    }
+
+    private ApproxCountDistinctAggregateExpression(Expression<?> operand) {
+        super(operand, QueryDataType.BIGINT);
+    }
+
+    public static ApproxCountDistinctAggregateExpression create(Expression<?> operand) {
+        return new ApproxCountDistinctAggregateExpression(operand);
+    }
+
+    @Override
+    public AggregateCollector createCollector() {
+        return new Collector();
+    }
+
+    @Override
+    public List<QueryDataType> getPartialTypes() {
+        return Collections.singletonList(QueryDataType.OBJECT);
+    }
+
+    @Override
+    public int getClassId() {
+        return SqlDataSerializerHook.EXPRESSION_AGGREGATE_APPROX_COUNT_DISTINCT;
+    }
+
+    private static final class Collector extends AggregateCollector {
+
+        private final HyperLogLog hll = new HyperLogLogImpl();
+
+        @Override
+        public void collect(Object value) {
+            if (value != null) {
+                hll.add(ApproximateCountDistinctAggregator.hash(value));
+            }
+        }
+
+        @Override
+        public void merge(Row row, int offset) {
+            HyperLogLog other = row.get(offset);
+
+            if (other != null) {
+                hll.merge(other);
+            }
+        }
+
+        @Override
+        public void writePartial(Object[] target, int offset) {
+            target[offset] = hll;
+        }
+
+        @Override
+        public Object getResult() {
+            return hll.estimate();
+        }
+    }
+}
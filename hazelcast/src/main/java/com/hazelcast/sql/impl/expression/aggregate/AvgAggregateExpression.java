@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.sql.impl.expression.aggregate;
+
+import com.hazelcast.sql.impl.SqlDataSerializerHook;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.sql.impl.type.QueryDataTypeFamily;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.hazelcast.sql.impl.expression.math.ExpressionMath.DECIMAL_MATH_CONTEXT;
+
+/**
+ * AVG aggregate. The partial state is a pair of the sum and the count of non-null values, so that averages
+ * computed on different members could be merged precisely.
+ */
+public class AvgAggregateExpression extends AggregateExpression {
+
+    public AvgAggregateExpression() {
+        // No-op.
+    }
+
+    private AvgAggregateExpression(Expression<?> operand, QueryDataType resultType) {
+        super(operand, resultType);
+    }
+
+    public static AvgAggregateExpression create(Expression<?> operand, QueryDataType resultType) {
+        return new AvgAggregateExpression(operand, resultType);
+    }
+
+    @Override
+    public AggregateCollector createCollector() {
+        return new Collector(resultType);
+    }
+
+    @Override
+    public List<QueryDataType> getPartialTypes() {
+        return Arrays.asList(resultType, QueryDataType.BIGINT);
+    }
+
+    @Override
+    public int getClassId() {
+        return SqlDataSerializerHook.EXPRESSION_AGGREGATE_AVG;
+    }
+
+    private static final class Collector extends AggregateCollector {
+
+        private final QueryDataType resultType;
+        private final SumAccumulator sum;
+        private long count;
+
+        private Collector(QueryDataType resultType) {
+            this.resultType = resultType;
+
+            sum = new SumAccumulator(resultType);
+        }
+
+        @Override
+        public void collect(Object value) {
+            if (value != null) {
+                sum.add(value);
+                count++;
+            }
+        }
+
+        @Override
+        public void merge(Row row, int offset) {
+            sum.add(row.get(offset));
+            count += row.<Long>get(offset + 1);
+        }
+
+        @Override
+        public void writePartial(Object[] target, int offset) {
+            target[offset] = sum.get();
+            target[offset + 1] = count;
+        }
+
+        @Override
+        public Object getResult() {
+            if (count == 0) {
+                return null;
+            }
+
+            Object sumValue = sum.get();
+
+            if (resultType.getTypeFamily() == QueryDataTypeFamily.DECIMAL) {
+                return ((BigDecimal) sumValue).divide(BigDecimal.valueOf(count), DECIMAL_MATH_CONTEXT);
+            }
+
+            return resultType.convert(((Number) sumValue).doubleValue() / count);
+        }
+    }
+}
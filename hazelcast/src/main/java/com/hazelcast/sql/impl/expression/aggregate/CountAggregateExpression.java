@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.sql.impl.expression.aggregate;
+
+import com.hazelcast.sql.impl.SqlDataSerializerHook;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.type.QueryDataType;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * COUNT aggregate. Counts all rows if the operand is {@code null}, or non-null values of the operand otherwise.
+ */
+public class CountAggregateExpression extends AggregateExpression {
+
+    public CountAggregateExpression() {
+        // No-op.
+    }
+
+    private CountAggregateExpression(Expression<?> operand) {
+        super(operand, QueryDataType.BIGINT);
+    }
+
+    public static CountAggregateExpression create(Expression<?> operand) {
+        return new CountAggregateExpression(operand);
+    }
+
+    @Override
+    public AggregateCollector createCollector() {
+        return new Collector(operand == null);
+    }
+
+    @Override
+    public List<QueryDataType> getPartialTypes() {
+        return Collections.singletonList(QueryDataType.BIGINT);
+    }
+
+    @Override
+    public int getClassId() {
+        return SqlDataSerializerHook.EXPRESSION_AGGREGATE_COUNT;
+    }
+
+    private static final class Collector extends AggregateCollector {
+
+        private final boolean countNulls;
+        private long count;
+
+        private Collector(boolean countNulls) {
+            this.countNulls = countNulls;
+        }
+
+        @Override
+        public void collect(Object value) {
+            if (value != null || countNulls) {
+                count++;
+            }
+        }
+
+        @Override
+        public void merge(Row row, int offset) {
+            count += row.<Long>get(offset);
+        }
+
+        @Override
+        public void writePartial(Object[] target, int offset) {
+            target[offset] = count;
+        }
+
+        @Override
+        public Object getResult() {
+            return count;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.sql.impl.expression.aggregate;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.sql.impl.SqlDataSerializerHook;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.type.QueryDataType;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * MIN and MAX aggregates. Returns {@code null} if there were no non-null values in the group.
+ */
+public class MinMaxAggregateExpression extends AggregateExpression {
+
+    private boolean max;
+
+    public MinMaxAggregateExpression() {
+        // No-op.
+    }
+
+    private MinMaxAggregateExpression(Expression<?> operand, boolean max) {
+        super(operand, operand.getType());
+
+        this.max = max;
+    }
+
+    public static MinMaxAggregateExpression createMin(Expression<?> operand) {
+        return new MinMaxAggregateExpression(operand, false);
+    }
+
+    public static MinMaxAggregateExpression createMax(Expression<?> operand) {
+        return new MinMaxAggregateExpression(operand, true);
+    }
+
+    public boolean isMax() {
+        return max;
+    }
+
+    @Override
+    public AggregateCollector createCollector() {
+        return new Collector(max);
+    }
+
+    @Override
+    public List<QueryDataType> getPartialTypes() {
+        return Collections.singletonList(resultType);
+    }
+
+    @Override
+    public int getClassId() {
+        return SqlDataSerializerHook.EXPRESSION_AGGREGATE_MIN_MAX;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        super.writeData(out);
+
+        out.writeBoolean(max);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        super.readData(in);
+
+        max = in.readBoolean();
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * super.hashCode() + (max ? 1 : 0);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return super.equals(o) && max == ((MinMaxAggregateExpression) o).max;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{operand=" + operand + ", max=" + max + '}';
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static final class Collector extends AggregateCollector {
+
+        private final boolean max;
+        private Comparable value;
+
+        private Collector(boolean max) {
+            this.max = max;
+        }
+
+        @Override
+        public void collect(Object newValue) {
+            if (newValue == null) {
+                return;
+            }
+
+            if (value == null) {
+                value = (Comparable) newValue;
+
+                return;
+            }
+
+            int order = value.compareTo(newValue);
+
+            if (max ? order < 0 : order > 0) {
+                value = (Comparable) newValue;
+            }
+        }
+
+        @Override
+        public void merge(Row row, int offset) {
+            collect(row.get(offset));
+        }
+
+        @Override
+        public void writePartial(Object[] target, int offset) {
+            target[offset] = value;
+        }
+
+        @Override
+        public Object getResult() {
+            return value;
+        }
+    }
+}
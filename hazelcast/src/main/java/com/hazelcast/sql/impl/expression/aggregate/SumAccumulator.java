@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.sql.impl.expression.aggregate;
+
+import com.hazelcast.sql.impl.QueryException;
+import com.hazelcast.sql.impl.SqlErrorCode;
+import com.hazelcast.sql.impl.row.DoubleColumn;
+import com.hazelcast.sql.impl.row.LongColumn;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.sql.impl.type.QueryDataTypeFamily;
+import com.hazelcast.sql.impl.type.converter.Converters;
+
+import java.math.BigDecimal;
+
+import static com.hazelcast.sql.impl.expression.math.ExpressionMath.DECIMAL_MATH_CONTEXT;
+
+/**
+ * Running sum shared by SUM and AVG collectors. Integer values are accumulated as primitive longs with overflow
+ * detection, approximate values as primitive doubles, and exact values as decimals.
+ */
+final class SumAccumulator {
+
+    private final QueryDataType type;
+    private final QueryDataTypeFamily family;
+
+    private boolean empty = true;
+    private long longSum;
+    private double doubleSum;
+    private BigDecimal decimalSum = BigDecimal.ZERO;
+
+    SumAccumulator(QueryDataType type) {
+        if (LongColumn.isLongFamily(type)) {
+            family = QueryDataTypeFamily.BIGINT;
+        } else if (DoubleColumn.isDoubleFamily(type)) {
+            family = QueryDataTypeFamily.DOUBLE;
+        } else if (type.getTypeFamily() == QueryDataTypeFamily.DECIMAL) {
+            family = QueryDataTypeFamily.DECIMAL;
+        } else {
+            throw QueryException.error("Unsupported SUM type: " + type);
+        }
+
+        this.type = type;
+    }
+
+    void add(Object value) {
+        if (value == null) {
+            return;
+        }
+
+        switch (family) {
+            case BIGINT:
+                try {
+                    longSum = Math.addExact(longSum, ((Number) value).longValue());
+                } catch (ArithmeticException e) {
+                    throw QueryException.error(SqlErrorCode.DATA_EXCEPTION,
+                        "BIGINT overflow in SUM function (consider adding explicit CAST to DECIMAL)");
+                }
+
+                break;
+
+            case DOUBLE:
+                doubleSum += ((Number) value).doubleValue();
+
+                break;
+
+            default:
+                BigDecimal decimalValue = Converters.getConverter(value.getClass()).asDecimal(value);
+
+                decimalSum = decimalSum.add(decimalValue, DECIMAL_MATH_CONTEXT);
+        }
+
+        empty = false;
+    }
+
+    /**
+     * @return Sum converted to the type of the accumulator, or {@code null} if no values were added.
+     */
+    Object get() {
+        if (empty) {
+            return null;
+        }
+
+        switch (family) {
+            case BIGINT:
+                return type.convert(longSum);
+
+            case DOUBLE:
+                return type.convert(doubleSum);
+
+            default:
+                return decimalSum;
+        }
+    }
+}
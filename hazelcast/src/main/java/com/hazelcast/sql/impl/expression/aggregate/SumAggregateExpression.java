@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.sql.impl.expression.aggregate;
+
+import com.hazelcast.sql.impl.SqlDataSerializerHook;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.type.QueryDataType;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * SUM aggregate. Returns {@code null} if there were no non-null values in the group.
+ */
+public class SumAggregateExpression extends AggregateExpression {
+
+    public SumAggregateExpression() {
+        // No-op.
+    }
+
+    private SumAggregateExpression(Expression<?> operand, QueryDataType resultType) {
+        super(operand, resultType);
+    }
+
+    public static SumAggregateExpression create(Expression<?> operand, QueryDataType resultType) {
+        return new SumAggregateExpression(operand, resultType);
+    }
+
+    @Override
+    public AggregateCollector createCollector() {
+        return new Collector(new SumAccumulator(resultType));
+    }
+
+    @Override
+    public List<QueryDataType> getPartialTypes() {
+        return Collections.singletonList(resultType);
+    }
+
+    @Override
+    public int getClassId() {
+        return SqlDataSerializerHook.EXPRESSION_AGGREGATE_SUM;
+    }
+
+    private static final class Collector extends AggregateCollector {
+
+        private final SumAccumulator sum;
+
+        private Collector(SumAccumulator sum) {
+            this.sum = sum;
+        }
+
+        @Override
+        public void collect(Object value) {
+            sum.add(value);
+        }
+
+        @Override
+        public void merge(Row row, int offset) {
+            sum.add(row.get(offset));
+        }
+
+        @Override
+        public void writePartial(Object[] target, int offset) {
+            target[offset] = sum.get();
+        }
+
+        @Override
+        public Object getResult() {
+            return sum.get();
+        }
+    }
+}
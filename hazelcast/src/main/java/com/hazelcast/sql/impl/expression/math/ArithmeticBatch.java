@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.sql.impl.expression.math;
+
+import com.hazelcast.sql.impl.QueryException;
+import com.hazelcast.sql.impl.SqlErrorCode;
+import com.hazelcast.sql.impl.expression.BatchEvalUtils;
+import com.hazelcast.sql.impl.row.Column;
+import com.hazelcast.sql.impl.row.DoubleColumn;
+import com.hazelcast.sql.impl.row.LongColumn;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.sql.impl.type.QueryDataTypeFamily;
+
+/**
+ * Batch evaluation of the arithmetic operators over primitive columns.
+ * <p>
+ * The results are exactly the same as the ones produced by the row-by-row evaluation: the narrow integer types
+ * wrap around, {@code BIGINT} overflow and division by zero are reported as errors.
+ */
+final class ArithmeticBatch {
+
+    static final char PLUS = '+';
+    static final char MINUS = '-';
+    static final char MULTIPLY = '*';
+    static final char DIVIDE = '/';
+
+    private ArithmeticBatch() {
+        // No-op.
+    }
+
+    /**
+     * Applies the operator to the columns.
+     *
+     * @return Result column or {@code null} if the columns or the result type have no primitive representation.
+     */
+    static Column eval(char operator, Column left, Column right, QueryDataType resultType) {
+        if (LongColumn.isLongFamily(resultType) && left instanceof LongColumn && right instanceof LongColumn) {
+            return evalLong(operator, (LongColumn) left, (LongColumn) right, resultType);
+        }
+
+        if (DoubleColumn.isDoubleFamily(resultType) && left instanceof DoubleColumn && right instanceof DoubleColumn) {
+            return evalDouble(operator, (DoubleColumn) left, (DoubleColumn) right, resultType);
+        }
+
+        return null;
+    }
+
+    private static Column evalLong(char operator, LongColumn left, LongColumn right, QueryDataType resultType) {
+        int size = left.size();
+        long[] leftValues = left.getValues();
+        long[] rightValues = right.getValues();
+        boolean[] nulls = BatchEvalUtils.mergeNulls(left, right);
+        long[] res = new long[size];
+
+        if (resultType.getTypeFamily() == QueryDataTypeFamily.BIGINT) {
+            evalBigint(operator, leftValues, rightValues, nulls, res, size);
+        } else {
+            // Narrowing to TINYINT, SMALLINT or INTEGER with sign extension.
+            int shift = Long.SIZE - bitWidth(resultType.getTypeFamily());
+
+            switch (operator) {
+                case PLUS:
+                    for (int i = 0; i < size; i++) {
+                        res[i] = ((leftValues[i] + rightValues[i]) << shift) >> shift;
+                    }
+                    break;
+
+                case MINUS:
+                    for (int i = 0; i < size; i++) {
+                        res[i] = ((leftValues[i] - rightValues[i]) << shift) >> shift;
+                    }
+                    break;
+
+                case MULTIPLY:
+                    for (int i = 0; i < size; i++) {
+                        res[i] = ((leftValues[i] * rightValues[i]) << shift) >> shift;
+                    }
+                    break;
+
+                default:
+                    assert operator == DIVIDE;
+
+                    for (int i = 0; i < size; i++) {
+                        if (nulls != null && nulls[i]) {
+                            continue;
+                        }
+
+                        long rightValue = rightValues[i];
+
+                        if (rightValue == 0L) {
+                            throw QueryException.error(SqlErrorCode.DATA_EXCEPTION, "division by zero");
+                        }
+
+                        res[i] = ((((leftValues[i] << shift) >> shift) / rightValue) << shift) >> shift;
+                    }
+            }
+        }
+
+        return new LongColumn(resultType, res, nulls, size);
+    }
+
+    private static void evalBigint(char operator, long[] left, long[] right, boolean[] nulls, long[] res, int size) {
+        for (int i = 0; i < size; i++) {
+            if (nulls != null && nulls[i]) {
+                continue;
+            }
+
+            try {
+                switch (operator) {
+                    case PLUS:
+                        res[i] = Math.addExact(left[i], right[i]);
+                        break;
+
+                    case MINUS:
+                        res[i] = Math.subtractExact(left[i], right[i]);
+                        break;
+
+                    case MULTIPLY:
+                        res[i] = Math.multiplyExact(left[i], right[i]);
+                        break;
+
+                    default:
+                        res[i] = ExpressionMath.divideExact(left[i], right[i]);
+                }
+            } catch (ArithmeticException e) {
+                throw QueryException.error(SqlErrorCode.DATA_EXCEPTION,
+                        "BIGINT overflow in '" + operator + "' operator (consider adding explicit CAST to DECIMAL)");
+            }
+        }
+    }
+
+    private static Column evalDouble(char operator, DoubleColumn left, DoubleColumn right, QueryDataType resultType) {
+        int size = left.size();
+        boolean[] nulls = BatchEvalUtils.mergeNulls(left, right);
+        double[] res = new double[size];
+
+        if (resultType.getTypeFamily() == QueryDataTypeFamily.REAL) {
+            evalReal(operator, left.getValues(), right.getValues(), nulls, res, size);
+        } else {
+            evalDouble(operator, left.getValues(), right.getValues(), nulls, res, size);
+        }
+
+        return new DoubleColumn(resultType, res, nulls, size);
+    }
+
+    private static void evalReal(char operator, double[] left, double[] right, boolean[] nulls, double[] res, int size) {
+        switch (operator) {
+            case PLUS:
+                for (int i = 0; i < size; i++) {
+                    res[i] = (float) left[i] + (float) right[i];
+                }
+                break;
+
+            case MINUS:
+                for (int i = 0; i < size; i++) {
+                    res[i] = (float) left[i] - (float) right[i];
+                }
+                break;
+
+            case MULTIPLY:
+                for (int i = 0; i < size; i++) {
+                    res[i] = (float) left[i] * (float) right[i];
+                }
+                break;
+
+            default:
+                assert operator == DIVIDE;
+
+                for (int i = 0; i < size; i++) {
+                    if (nulls == null || !nulls[i]) {
+                        res[i] = ExpressionMath.divideExact((float) left[i], (float) right[i]);
+                    }
+                }
+        }
+    }
+
+    private static void evalDouble(char operator, double[] left, double[] right, boolean[] nulls, double[] res, int size) {
+        switch (operator) {
+            case PLUS:
+                for (int i = 0; i < size; i++) {
+                    res[i] = left[i] + right[i];
+                }
+                break;
+
+            case MINUS:
+                for (int i = 0; i < size; i++) {
+                    res[i] = left[i] - right[i];
+                }
+                break;
+
+            case MULTIPLY:
+                for (int i = 0; i < size; i++) {
+                    res[i] = left[i] * right[i];
+                }
+                break;
+
+            default:
+                assert operator == DIVIDE;
+
+                for (int i = 0; i < size; i++) {
+                    if (nulls == null || !nulls[i]) {
+                        res[i] = ExpressionMath.divideExact(left[i], right[i]);
+                    }
+                }
+        }
+    }
+
+    private static int bitWidth(QueryDataTypeFamily family) {
+        switch (family) {
+            case TINYINT:
+                return Byte.SIZE;
+
+            case SMALLINT:
+                return Short.SIZE;
+
+            default:
+                assert family == QueryDataTypeFamily.INTEGER;
+
+                return Integer.SIZE;
+        }
+    }
+}
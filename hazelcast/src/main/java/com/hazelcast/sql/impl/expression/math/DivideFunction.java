@@ -20,10 +20,13 @@ import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.sql.impl.SqlErrorCode;
 import com.hazelcast.sql.impl.QueryException;
 import com.hazelcast.sql.impl.SqlDataSerializerHook;
+import com.hazelcast.sql.impl.expression.BatchEvalUtils;
 import com.hazelcast.sql.impl.expression.BiExpressionWithType;
 import com.hazelcast.sql.impl.expression.Expression;
 import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
+import com.hazelcast.sql.impl.row.Column;
 import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.row.RowBatch;
 import com.hazelcast.sql.impl.type.QueryDataType;
 import com.hazelcast.sql.impl.type.QueryDataTypeFamily;
 
@@ -79,6 +82,16 @@ public final class DivideFunction<T> extends BiExpressionWithType<T> implements
         return (T) evalNumeric((Number) left, (Number) right, family);
     }
 
+    @Override
+    public Column evalBatch(RowBatch batch, ExpressionEvalContext context) {
+        Column left = operand1.evalBatch(batch, context);
+        Column right = operand2.evalBatch(batch, context);
+
+        Column res = ArithmeticBatch.eval(ArithmeticBatch.DIVIDE, left, right, resultType);
+
+        return res != null ? res : BatchEvalUtils.evalRowByRow(this, batch, context);
+    }
+
     private static Object evalNumeric(Number left, Number right, QueryDataTypeFamily family) {
         try {
             switch (family) {
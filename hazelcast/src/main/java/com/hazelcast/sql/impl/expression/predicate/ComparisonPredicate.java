@@ -20,10 +20,16 @@ import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.sql.impl.SqlDataSerializerHook;
+import com.hazelcast.sql.impl.expression.BatchEvalUtils;
 import com.hazelcast.sql.impl.expression.BiExpression;
 import com.hazelcast.sql.impl.expression.Expression;
 import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
+import com.hazelcast.sql.impl.row.BooleanColumn;
+import com.hazelcast.sql.impl.row.Column;
+import com.hazelcast.sql.impl.row.DoubleColumn;
+import com.hazelcast.sql.impl.row.LongColumn;
 import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.row.RowBatch;
 import com.hazelcast.sql.impl.type.QueryDataType;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
@@ -82,6 +88,73 @@ public final class ComparisonPredicate extends BiExpression<Boolean> implements
 
         int order = leftComparable.compareTo(rightComparable);
 
+        return matches(order);
+    }
+
+    @Override
+    public Column evalBatch(RowBatch batch, ExpressionEvalContext context) {
+        Column left = operand1.evalBatch(batch, context);
+        Column right = operand2.evalBatch(batch, context);
+
+        int size = batch.getRowCount();
+        boolean[] nulls = BatchEvalUtils.mergeNulls(left, right);
+        int[] orders = compareBatch(left, right, nulls, size);
+
+        // Results for the orders -1, 0 and 1.
+        boolean[] results = new boolean[] { matches(-1), matches(0), matches(1) };
+        boolean[] res = new boolean[size];
+
+        for (int i = 0; i < size; i++) {
+            res[i] = results[orders[i] + 1];
+        }
+
+        return new BooleanColumn(QueryDataType.BOOLEAN, res, nulls, size);
+    }
+
+    /**
+     * @return Signs of the comparison results, undefined at null positions.
+     */
+    private static int[] compareBatch(Column left, Column right, boolean[] nulls, int size) {
+        int[] orders = new int[size];
+
+        if (left instanceof LongColumn && right instanceof LongColumn) {
+            long[] leftValues = ((LongColumn) left).getValues();
+            long[] rightValues = ((LongColumn) right).getValues();
+
+            for (int i = 0; i < size; i++) {
+                orders[i] = Long.compare(leftValues[i], rightValues[i]);
+            }
+        } else if (left instanceof DoubleColumn && right instanceof DoubleColumn) {
+            double[] leftValues = ((DoubleColumn) left).getValues();
+            double[] rightValues = ((DoubleColumn) right).getValues();
+
+            for (int i = 0; i < size; i++) {
+                orders[i] = Double.compare(leftValues[i], rightValues[i]);
+            }
+        } else if (left instanceof BooleanColumn && right instanceof BooleanColumn) {
+            boolean[] leftValues = ((BooleanColumn) left).getValues();
+            boolean[] rightValues = ((BooleanColumn) right).getValues();
+
+            for (int i = 0; i < size; i++) {
+                orders[i] = Boolean.compare(leftValues[i], rightValues[i]);
+            }
+        } else {
+            compareObjects(left, right, nulls, orders);
+        }
+
+        return orders;
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static void compareObjects(Column left, Column right, boolean[] nulls, int[] orders) {
+        for (int i = 0; i < orders.length; i++) {
+            if (nulls == null || !nulls[i]) {
+                orders[i] = Integer.signum(((Comparable) left.get(i)).compareTo(right.get(i)));
+            }
+        }
+    }
+
+    private boolean matches(int order) {
         switch (mode) {
             case EQUALS:
                 return order == 0;
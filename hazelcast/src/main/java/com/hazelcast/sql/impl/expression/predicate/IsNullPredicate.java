@@ -21,7 +21,10 @@ import com.hazelcast.sql.impl.SqlDataSerializerHook;
 import com.hazelcast.sql.impl.expression.Expression;
 import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
 import com.hazelcast.sql.impl.expression.UniExpression;
+import com.hazelcast.sql.impl.row.BooleanColumn;
+import com.hazelcast.sql.impl.row.Column;
 import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.row.RowBatch;
 import com.hazelcast.sql.impl.type.QueryDataType;
 
 /**
@@ -46,6 +49,20 @@ public final class IsNullPredicate extends UniExpression<Boolean> implements Ide
         return TernaryLogic.isNull(operand.eval(row, context));
     }
 
+    @Override
+    public Column evalBatch(RowBatch batch, ExpressionEvalContext context) {
+        Column column = operand.evalBatch(batch, context);
+
+        int size = column.size();
+        boolean[] res = new boolean[size];
+
+        for (int i = 0; i < size; i++) {
+            res[i] = column.isNull(i);
+        }
+
+        return new BooleanColumn(QueryDataType.BOOLEAN, res, null, size);
+    }
+
     @Override
     public QueryDataType getType() {
         return QueryDataType.BOOLEAN;
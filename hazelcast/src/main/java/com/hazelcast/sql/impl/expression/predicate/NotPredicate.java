@@ -18,10 +18,14 @@ package com.hazelcast.sql.impl.expression.predicate;
 
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.sql.impl.SqlDataSerializerHook;
+import com.hazelcast.sql.impl.expression.BatchEvalUtils;
 import com.hazelcast.sql.impl.expression.Expression;
 import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
 import com.hazelcast.sql.impl.expression.UniExpression;
+import com.hazelcast.sql.impl.row.BooleanColumn;
+import com.hazelcast.sql.impl.row.Column;
 import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.row.RowBatch;
 import com.hazelcast.sql.impl.type.QueryDataType;
 
 /**
@@ -56,6 +60,24 @@ public final class NotPredicate extends UniExpression<Boolean> implements Identi
         return TernaryLogic.not((Boolean) operand.eval(row, context));
     }
 
+    @Override
+    public Column evalBatch(RowBatch batch, ExpressionEvalContext context) {
+        Column column = operand.evalBatch(batch, context);
+
+        if (!(column instanceof BooleanColumn)) {
+            return BatchEvalUtils.evalRowByRow(this, batch, context);
+        }
+
+        boolean[] values = ((BooleanColumn) column).getValues();
+        boolean[] res = new boolean[values.length];
+
+        for (int i = 0; i < res.length; i++) {
+            res[i] = !values[i];
+        }
+
+        return new BooleanColumn(QueryDataType.BOOLEAN, res, column.getNulls(), column.size());
+    }
+
     @Override
     public QueryDataType getType() {
         return QueryDataType.BOOLEAN;
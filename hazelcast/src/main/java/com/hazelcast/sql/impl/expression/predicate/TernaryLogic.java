@@ -18,7 +18,11 @@ package com.hazelcast.sql.impl.expression.predicate;
 
 import com.hazelcast.sql.impl.expression.Expression;
 import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
+import com.hazelcast.sql.impl.row.BooleanColumn;
+import com.hazelcast.sql.impl.row.Column;
 import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.row.RowBatch;
+import com.hazelcast.sql.impl.type.QueryDataType;
 
 /**
  * Implements ternary boolean logic according to SQL standard.
@@ -98,6 +102,90 @@ public final class TernaryLogic {
         return seenUnknown ? null : Boolean.FALSE;
     }
 
+    /**
+     * Performs AND for the given operands acting on all rows of the given batch.
+     * <p>
+     * Unlike {@link #and(Row, ExpressionEvalContext, Expression[])}, all of the
+     * operands are evaluated on all of the rows.
+     *
+     * @param batch    the batch to evaluate the operands on.
+     * @param context  the context to evaluate the operands in.
+     * @param operands the boolean operands to evaluate.
+     * @return the column with the results of AND for every row.
+     */
+    public static Column andBatch(RowBatch batch, ExpressionEvalContext context, Expression<?>... operands) {
+        return combineBatch(batch, context, false, operands);
+    }
+
+    /**
+     * Performs OR for the given operands acting on all rows of the given batch.
+     * <p>
+     * Unlike {@link #or(Row, ExpressionEvalContext, Expression[])}, all of the
+     * operands are evaluated on all of the rows.
+     *
+     * @param batch    the batch to evaluate the operands on.
+     * @param context  the context to evaluate the operands in.
+     * @param operands the boolean operands to evaluate.
+     * @return the column with the results of OR for every row.
+     */
+    public static Column orBatch(RowBatch batch, ExpressionEvalContext context, Expression<?>... operands) {
+        return combineBatch(batch, context, true, operands);
+    }
+
+    /**
+     * Combines the operands: the result is {@code decisive} if any of the
+     * operands is {@code decisive}, otherwise it is {@code null} if any of
+     * the operands is {@code null}, otherwise it is {@code !decisive}.
+     */
+    private static Column combineBatch(RowBatch batch, ExpressionEvalContext context, boolean decisive,
+                                       Expression<?>... operands) {
+        int size = batch.getRowCount();
+        boolean[] decided = new boolean[size];
+        boolean[] unknown = new boolean[size];
+
+        for (Expression<?> operand : operands) {
+            Column column = operand.evalBatch(batch, context);
+
+            if (column instanceof BooleanColumn) {
+                boolean[] values = ((BooleanColumn) column).getValues();
+                boolean[] nulls = column.getNulls();
+
+                for (int i = 0; i < size; i++) {
+                    boolean isNull = nulls != null && nulls[i];
+
+                    decided[i] |= !isNull && values[i] == decisive;
+                    unknown[i] |= isNull;
+                }
+            } else {
+                for (int i = 0; i < size; i++) {
+                    Boolean value = (Boolean) column.get(i);
+
+                    decided[i] |= value != null && value == decisive;
+                    unknown[i] |= value == null;
+                }
+            }
+        }
+
+        boolean[] values = new boolean[size];
+        boolean[] nulls = null;
+
+        for (int i = 0; i < size; i++) {
+            if (decided[i]) {
+                values[i] = decisive;
+            } else if (unknown[i]) {
+                if (nulls == null) {
+                    nulls = new boolean[size];
+                }
+
+                nulls[i] = true;
+            } else {
+                values[i] = !decisive;
+            }
+        }
+
+        return new BooleanColumn(QueryDataType.BOOLEAN, values, nulls, size);
+    }
+
     /**
      * Negates the given boolean value.
      *
@@ -26,8 +26,8 @@ import com.hazelcast.sql.impl.type.QueryDataTypeMismatchException;
  */
 public class GenericFieldExtractor extends AbstractGenericExtractor {
 
+    protected final String path;
     private final Extractors extractors;
-    private final String path;
 
     public GenericFieldExtractor(
         boolean key,
@@ -45,9 +45,7 @@ public class GenericFieldExtractor extends AbstractGenericExtractor {
     @Override
     public Object get() {
         try {
-            Object target = targetAccessor.getTargetForFieldAccess();
-            Object value = extractors.extract(target, path, null, false);
-            return type.normalize(value);
+            return type.normalize(extract());
         } catch (QueryDataTypeMismatchException e) {
             throw QueryException.dataException("Failed to extract map entry " + (key ? "key" : "value") + " field \""
                 + path + "\" because of type mismatch [expectedClass=" + e.getExpectedClass().getName()
@@ -57,4 +55,13 @@ public class GenericFieldExtractor extends AbstractGenericExtractor {
                 + path + "\": " + e.getMessage(), e);
         }
     }
+
+    /**
+     * Extracts the raw value of the field.
+     */
+    protected Object extract() {
+        Object target = targetAccessor.getTargetForFieldAccess();
+
+        return extractors.extract(target, path, null, false);
+    }
 }
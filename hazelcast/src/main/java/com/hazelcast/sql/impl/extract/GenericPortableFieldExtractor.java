@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.extract;
+
+import com.hazelcast.internal.serialization.impl.portable.PortableInternalGenericRecord;
+import com.hazelcast.nio.serialization.ClassDefinition;
+import com.hazelcast.nio.serialization.FieldDefinition;
+import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.sql.impl.type.QueryDataType;
+
+/**
+ * An extractor of a top-level field that reads Portable targets directly from their serialized form.
+ * <p>
+ * The field definition is resolved once per class definition, so that consecutive rows of the same class read the
+ * field by its index without lookups by name. Non-Portable targets are handled by the {@link Extractors}.
+ */
+public class GenericPortableFieldExtractor extends GenericFieldExtractor {
+
+    /** The class definition the field was last resolved for. */
+    private ClassDefinition classDefinition;
+
+    /** The resolved field, or {@code null} if the class doesn't have it. */
+    private FieldDefinition fieldDefinition;
+
+    public GenericPortableFieldExtractor(
+        boolean key,
+        GenericTargetAccessor targetAccessor,
+        QueryDataType type,
+        Extractors extractors,
+        String path
+    ) {
+        super(key, targetAccessor, type, extractors, path);
+    }
+
+    /**
+     * @return {@code true} if the path refers to a top-level field that is not served by a custom value extractor
+     */
+    public static boolean isSupported(Extractors extractors, String path) {
+        if (path.indexOf('.') >= 0 || path.indexOf('[') >= 0) {
+            return false;
+        }
+
+        return extractors == null || !extractors.hasValueExtractor(path);
+    }
+
+    @Override
+    protected Object extract() {
+        PortableInternalGenericRecord record = targetAccessor.getTargetPortableRecord();
+
+        if (record == null) {
+            return super.extract();
+        }
+
+        ClassDefinition classDefinition0 = record.getClassDefinition();
+
+        if (classDefinition0 != classDefinition) {
+            fieldDefinition = classDefinition0.getField(path);
+            classDefinition = classDefinition0;
+        }
+
+        return fieldDefinition != null ? record.readField(fieldDefinition) : null;
+    }
+}
@@ -18,10 +18,14 @@ package com.hazelcast.sql.impl.extract;
 
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.portable.PortableInternalGenericRecord;
+import com.hazelcast.nio.serialization.HazelcastSerializationException;
 import com.hazelcast.nio.serialization.Portable;
 import com.hazelcast.query.impl.getters.Extractors;
 import com.hazelcast.sql.impl.type.QueryDataType;
 
+import java.io.IOException;
+
 public class GenericQueryTarget implements QueryTarget, GenericTargetAccessor {
 
     private final InternalSerializationService serializationService;
@@ -30,6 +34,7 @@ public class GenericQueryTarget implements QueryTarget, GenericTargetAccessor {
 
     private Object rawTarget;
     private Object target;
+    private PortableInternalGenericRecord portableRecord;
 
     public GenericQueryTarget(InternalSerializationService serializationService, Extractors extractors, boolean key) {
         this.serializationService = serializationService;
@@ -41,12 +46,15 @@ public class GenericQueryTarget implements QueryTarget, GenericTargetAccessor {
     public void setTarget(Object target) {
         this.rawTarget = target;
         this.target = null;
+        this.portableRecord = null;
     }
 
     @Override
     public QueryExtractor createExtractor(String path, QueryDataType type) {
         if (path == null) {
             return new GenericTargetExtractor(key, this, type);
+        } else if (GenericPortableFieldExtractor.isSupported(extractors, path)) {
+            return new GenericPortableFieldExtractor(key, this, type, extractors, path);
         } else {
             return new GenericFieldExtractor(key, this, type, extractors, path);
         }
@@ -55,11 +63,11 @@ public class GenericQueryTarget implements QueryTarget, GenericTargetAccessor {
     @Override
     public Object getTargetForFieldAccess() {
         if (target == null) {
-            // General rule: Portable must be Data, other objects must be deserialized.
+            // General rule: Portable and JSON must be Data, other objects must be deserialized.
             if (rawTarget instanceof Data) {
                 Data rawTarget0 = (Data) rawTarget;
 
-                if (rawTarget0.isPortable()) {
+                if (rawTarget0.isPortable() || rawTarget0.isJson()) {
                     target = rawTarget;
                 } else {
                     // Deserialize non-Portable.
@@ -106,6 +114,25 @@ public class GenericQueryTarget implements QueryTarget, GenericTargetAccessor {
         return result;
     }
 
+    @Override
+    public PortableInternalGenericRecord getTargetPortableRecord() {
+        if (portableRecord == null) {
+            Object target = getTargetForFieldAccess();
+
+            if (!(target instanceof Data) || !((Data) target).isPortable()) {
+                return null;
+            }
+
+            try {
+                portableRecord = (PortableInternalGenericRecord) serializationService.readAsInternalGenericRecord((Data) target);
+            } catch (IOException e) {
+                throw new HazelcastSerializationException(e);
+            }
+        }
+
+        return portableRecord;
+    }
+
     public boolean isKey() {
         return key;
     }
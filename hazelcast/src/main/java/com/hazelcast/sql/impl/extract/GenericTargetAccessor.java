@@ -16,6 +16,8 @@
 
 package com.hazelcast.sql.impl.extract;
 
+import com.hazelcast.internal.serialization.impl.portable.PortableInternalGenericRecord;
+
 /**
  * An interface that provides an indirection between {@link AbstractGenericExtractor} implementations and the parent
  * {@link QueryTarget}. It allows us to have different target implementations that produce same generic extractors.
@@ -36,4 +38,12 @@ public interface GenericTargetAccessor {
      * @return target in the deserialized form
      */
     Object getTargetDeserialized();
+
+    /**
+     * Gets the reader of the serialized Portable target. The reader is shared between all extractors of the target, so
+     * that fields are read directly from the serialized form without materialization of the object.
+     *
+     * @return the reader or {@code null} if the target is not a Portable
+     */
+    PortableInternalGenericRecord getTargetPortableRecord();
 }
@@ -55,8 +55,10 @@ public class QueryOperationHandlerImpl implements QueryOperationHandler, QuerySt
     private final QueryOperationWorkerPool operationPool;
     private final int outboxBatchSize;
     private final FlowControlFactory flowControlFactory;
+    private final int scanParallelism;
     private volatile CreateExecPlanNodeVisitorHook execHook;
 
+    @SuppressWarnings("checkstyle:ParameterNumber")
     public QueryOperationHandlerImpl(
         String instanceName,
         NodeServiceProvider nodeServiceProvider,
@@ -65,13 +67,15 @@ public class QueryOperationHandlerImpl implements QueryOperationHandler, QuerySt
         int outboxBatchSize,
         FlowControlFactory flowControlFactory,
         int threadCount,
-        int operationThreadCount
+        int operationThreadCount,
+        int scanParallelism
     ) {
         this.nodeServiceProvider = nodeServiceProvider;
         this.serializationService = serializationService;
         this.stateRegistry = stateRegistry;
         this.outboxBatchSize = outboxBatchSize;
         this.flowControlFactory = flowControlFactory;
+        this.scanParallelism = scanParallelism;
 
         fragmentPool = new QueryFragmentWorkerPool(
             instanceName,
@@ -198,6 +202,8 @@ public class QueryOperationHandlerImpl implements QueryOperationHandler, QuerySt
                 flowControlFactory,
                 operation.getPartitionMap().get(localMemberId),
                 outboxBatchSize,
+                fragmentPool,
+                scanParallelism,
                 execHook
             );
 
@@ -332,6 +338,7 @@ public class QueryOperationHandlerImpl implements QueryOperationHandler, QuerySt
     @Override
     public void onCompleted(QueryId queryId) {
         stateRegistry.onQueryCompleted(queryId);
+        flowControlFactory.onQueryCompleted(queryId);
     }
 
     @Override
@@ -348,6 +355,7 @@ public class QueryOperationHandlerImpl implements QueryOperationHandler, QuerySt
             }
         } finally {
             stateRegistry.onQueryCompleted(queryId);
+            flowControlFactory.onQueryCompleted(queryId);
         }
     }
 
@@ -33,10 +33,14 @@ public final class OptimizationTask {
     /** The resolved schema. */
     private final SqlCatalog schema;
 
-    public OptimizationTask(String sql, List<List<String>> searchPaths, SqlCatalog schema) {
+    /** The version of the schema the query is optimized against. */
+    private final long schemaVersion;
+
+    public OptimizationTask(String sql, List<List<String>> searchPaths, SqlCatalog schema, long schemaVersion) {
         this.sql = sql;
         this.searchPaths = searchPaths;
         this.schema = schema;
+        this.schemaVersion = schemaVersion;
     }
 
     public String getSql() {
@@ -50,4 +54,8 @@ public final class OptimizationTask {
     public SqlCatalog getSchema() {
         return schema;
     }
+
+    public long getSchemaVersion() {
+        return schemaVersion;
+    }
 }
@@ -0,0 +1,442 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.plan.cache;
+
+import com.hazelcast.sql.impl.QueryParameterMetadata;
+import com.hazelcast.sql.impl.type.QueryDataTypeFamily;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import static java.util.Arrays.asList;
+
+/**
+ * A query with literals replaced by dynamic parameters, so that statements which differ only in literal
+ * values share the same cached plan.
+ * <p>
+ * Only integer and string literals that are the right operand of a comparison and are not a part of a
+ * bigger expression are replaced, e.g. {@code WHERE __key = 1 AND name = 'John'}. Literals in other
+ * positions (projections, {@code LIMIT}, {@code CAST}, {@code IN} lists, typed literals like
+ * {@code DATE '2020-01-01'}) may affect the plan shape or the result type and are left intact.
+ * <p>
+ * Literal values are bound to the parameters only if they could be represented in the inferred
+ * parameter type exactly. Otherwise the semantics of the parameterized query may differ from the original
+ * one, and {@link #bind(List, QueryParameterMetadata)} returns {@code null} to signal that the original
+ * query should be planned instead.
+ */
+public final class ParameterizedQuery {
+
+    /** Marker of a dynamic parameter that is supplied by the user. */
+    private static final Object USER_PARAMETER = new Object();
+
+    /** Maximum number of digits in a literal that could always be parsed to {@code long}. */
+    private static final int MAX_LONG_DIGITS = 18;
+
+    /** Maximum integer that could be represented by {@code float} exactly. */
+    private static final long MAX_EXACT_FLOAT = 16_777_216L;
+
+    /** Maximum integer that could be represented by {@code double} exactly. */
+    private static final long MAX_EXACT_DOUBLE = 9_007_199_254_740_992L;
+
+    private static final Set<String> COMPARISON_OPERATORS = new HashSet<>(asList("=", "<>", "!=", "<", ">", "<=", ">="));
+
+    private static final Set<String> TERMINATING_KEYWORDS = new HashSet<>(asList(
+        "AND", "OR", "THEN", "WHEN", "ELSE", "END", "GROUP", "HAVING", "ORDER", "LIMIT", "OFFSET", "FETCH",
+        "UNION", "EXCEPT", "INTERSECT", "MINUS"
+    ));
+
+    private final String sql;
+    private final List<Object> slots;
+    private final int userParameterCount;
+
+    private ParameterizedQuery(String sql, List<Object> slots, int userParameterCount) {
+        this.sql = sql;
+        this.slots = slots;
+        this.userParameterCount = userParameterCount;
+    }
+
+    /**
+     * Replaces literals in the given query with dynamic parameters.
+     *
+     * @param sql The original query.
+     * @return The parameterized query or {@code null} if the query is not a {@code SELECT} or does not have
+     *     literals that could be replaced.
+     */
+    public static ParameterizedQuery parameterize(String sql) {
+        return new Parser(sql).parse();
+    }
+
+    /**
+     * @return The text of the parameterized query.
+     */
+    public String getSql() {
+        return sql;
+    }
+
+    /**
+     * @return The number of parameters in the parameterized query, both extracted and user-supplied.
+     */
+    public int getParameterCount() {
+        return slots.size();
+    }
+
+    /**
+     * Merges the extracted literals with the user-supplied parameters.
+     *
+     * @param userParameters The parameters supplied for the original query.
+     * @param parameterMetadata The metadata of the parameters of the parameterized query's plan.
+     * @return The parameters for the parameterized query or {@code null} if some literal could not be bound
+     *     without the change of the query semantics.
+     */
+    public List<Object> bind(List<Object> userParameters, QueryParameterMetadata parameterMetadata) {
+        if (userParameters.size() != userParameterCount || parameterMetadata.getParameterCount() != slots.size()) {
+            return null;
+        }
+
+        List<Object> res = new ArrayList<>(slots.size());
+
+        int userParameterIndex = 0;
+
+        for (int i = 0; i < slots.size(); i++) {
+            Object slot = slots.get(i);
+
+            if (slot == USER_PARAMETER) {
+                res.add(userParameters.get(userParameterIndex++));
+
+                continue;
+            }
+
+            Object value = convert(slot, parameterMetadata.getParameterType(i).getTypeFamily());
+
+            if (value == null) {
+                return null;
+            }
+
+            res.add(value);
+        }
+
+        return res;
+    }
+
+    @SuppressWarnings({"checkstyle:ReturnCount", "checkstyle:CyclomaticComplexity"})
+    private static Object convert(Object literal, QueryDataTypeFamily family) {
+        if (literal instanceof String) {
+            return family == QueryDataTypeFamily.VARCHAR ? literal : null;
+        }
+
+        long value = (Long) literal;
+
+        switch (family) {
+            case TINYINT:
+                return value == (byte) value ? (byte) value : null;
+
+            case SMALLINT:
+                return value == (short) value ? (short) value : null;
+
+            case INTEGER:
+                return value == (int) value ? (int) value : null;
+
+            case BIGINT:
+                return value;
+
+            case DECIMAL:
+                return BigDecimal.valueOf(value);
+
+            case REAL:
+                return Math.abs(value) <= MAX_EXACT_FLOAT ? (float) value : null;
+
+            case DOUBLE:
+                return Math.abs(value) <= MAX_EXACT_DOUBLE ? (double) value : null;
+
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * A minimal lexer that is only able to tell literals, identifiers, operators and parameters apart.
+     */
+    private static final class Parser {
+
+        private final String sql;
+        private final StringBuilder builder;
+        private final List<Object> slots = new ArrayList<>();
+
+        private int pos;
+        private int copiedPos;
+        private int userParameterCount;
+        private boolean hasLiterals;
+
+        /** The last significant token if it was an operator, {@code null} otherwise. */
+        private String lastOperator;
+
+        /**
+         * Whether the current token is in the {@code HAVING} clause. Parameters there change the inferred types of
+         * aggregate calls, so literals are left intact.
+         */
+        private boolean having;
+
+        private Parser(String sql) {
+            this.sql = sql;
+            this.builder = new StringBuilder(sql.length());
+        }
+
+        @SuppressWarnings("checkstyle:CyclomaticComplexity")
+        private ParameterizedQuery parse() {
+            if (!isSelect()) {
+                return null;
+            }
+
+            while (skipInsignificant()) {
+                char c = sql.charAt(pos);
+                int start = pos;
+
+                if (c == '\'') {
+                    String literal = readString();
+
+                    if (literal == null) {
+                        return null;
+                    }
+
+                    onLiteral(start, literal);
+                } else if (isDigit(c) || (c == '-' && lastOperator != null && pos + 1 < sql.length()
+                    && isDigit(sql.charAt(pos + 1)))) {
+                    onLiteral(start, readNumber());
+                } else if (c == '"') {
+                    if (!skipQuoted('"')) {
+                        return null;
+                    }
+
+                    lastOperator = null;
+                } else if (Character.isJavaIdentifierStart(c)) {
+                    onWord(readWord());
+
+                    lastOperator = null;
+                } else if (isOperator(c)) {
+                    while (pos < sql.length() && isOperator(sql.charAt(pos))) {
+                        pos++;
+                    }
+
+                    lastOperator = sql.substring(start, pos);
+                } else {
+                    if (c == '?') {
+                        slots.add(USER_PARAMETER);
+                        userParameterCount++;
+                    }
+
+                    pos++;
+                    lastOperator = null;
+                }
+            }
+
+            if (!hasLiterals) {
+                return null;
+            }
+
+            builder.append(sql, copiedPos, sql.length());
+
+            return new ParameterizedQuery(builder.toString(), Collections.unmodifiableList(slots), userParameterCount);
+        }
+
+        private void onWord(String word) {
+            if ("HAVING".equalsIgnoreCase(word)) {
+                having = true;
+            } else if ("SELECT".equalsIgnoreCase(word) || "WHERE".equalsIgnoreCase(word)) {
+                having = false;
+            }
+        }
+
+        private void onLiteral(int start, Object literal) {
+            boolean replace = literal != null && !having && COMPARISON_OPERATORS.contains(lastOperator) && isTerminated();
+
+            lastOperator = null;
+
+            if (!replace) {
+                return;
+            }
+
+            builder.append(sql, copiedPos, start).append('?');
+            copiedPos = pos;
+
+            slots.add(literal);
+            hasLiterals = true;
+        }
+
+        /**
+         * @return {@code true} if the next significant token ends the current operand.
+         */
+        private boolean isTerminated() {
+            int savedPos = pos;
+
+            try {
+                if (!skipInsignificant()) {
+                    return true;
+                }
+
+                char c = sql.charAt(pos);
+
+                if (c == ')' || c == ';') {
+                    return true;
+                }
+
+                return Character.isJavaIdentifierStart(c) && TERMINATING_KEYWORDS.contains(readWord().toUpperCase(Locale.ROOT));
+            } finally {
+                pos = savedPos;
+            }
+        }
+
+        private boolean isSelect() {
+            while (skipInsignificant() && sql.charAt(pos) == '(') {
+                pos++;
+            }
+
+            boolean res = pos < sql.length() && Character.isJavaIdentifierStart(sql.charAt(pos))
+                && "SELECT".equalsIgnoreCase(readWord());
+
+            pos = 0;
+
+            return res;
+        }
+
+        /**
+         * Skips whitespaces and comments.
+         *
+         * @return {@code true} if there are more tokens.
+         */
+        private boolean skipInsignificant() {
+            while (pos < sql.length()) {
+                char c = sql.charAt(pos);
+
+                if (Character.isWhitespace(c)) {
+                    pos++;
+                } else if (sql.startsWith("--", pos)) {
+                    int end = sql.indexOf('\n', pos);
+
+                    pos = end < 0 ? sql.length() : end + 1;
+                } else if (sql.startsWith("/*", pos)) {
+                    int end = sql.indexOf("*/", pos + 2);
+
+                    pos = end < 0 ? sql.length() : end + 2;
+                } else {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        /**
+         * @return The unescaped value of the string literal, or {@code null} if the literal is not closed.
+         */
+        private String readString() {
+            StringBuilder res = new StringBuilder();
+
+            pos++;
+
+            while (pos < sql.length()) {
+                char c = sql.charAt(pos++);
+
+                if (c == '\'') {
+                    if (pos < sql.length() && sql.charAt(pos) == '\'') {
+                        pos++;
+                    } else {
+                        return res.toString();
+                    }
+                }
+
+                res.append(c);
+            }
+
+            return null;
+        }
+
+        private boolean skipQuoted(char quote) {
+            int end = pos;
+
+            do {
+                end = sql.indexOf(quote, end + 1);
+
+                if (end < 0) {
+                    return false;
+                }
+
+                end++;
+            } while (end < sql.length() && sql.charAt(end) == quote);
+
+            pos = end;
+
+            return true;
+        }
+
+        /**
+         * @return The value of an integer literal, or {@code null} if the literal is not an integer that fits
+         *     into {@code long}, e.g. it has a fractional part or an exponent.
+         */
+        @SuppressWarnings("checkstyle:CyclomaticComplexity")
+        private Long readNumber() {
+            int start = pos;
+
+            if (sql.charAt(pos) == '-') {
+                pos++;
+            }
+
+            int digitsStart = pos;
+
+            while (pos < sql.length() && isDigit(sql.charAt(pos))) {
+                pos++;
+            }
+
+            boolean integer = pos - digitsStart <= MAX_LONG_DIGITS;
+
+            // Consume the rest of the numeric literal, if any, so that it is not treated as a separate token.
+            while (pos < sql.length() && (Character.isJavaIdentifierPart(sql.charAt(pos)) || sql.charAt(pos) == '.')) {
+                char c = sql.charAt(pos++);
+
+                integer = false;
+
+                if ((c == 'e' || c == 'E') && pos < sql.length() && (sql.charAt(pos) == '+' || sql.charAt(pos) == '-')) {
+                    pos++;
+                }
+            }
+
+            return integer ? Long.parseLong(sql.substring(start, pos)) : null;
+        }
+
+        private String readWord() {
+            int start = pos;
+
+            while (pos < sql.length() && Character.isJavaIdentifierPart(sql.charAt(pos))) {
+                pos++;
+            }
+
+            return sql.substring(start, pos);
+        }
+
+        private static boolean isDigit(char c) {
+            return c >= '0' && c <= '9';
+        }
+
+        private static boolean isOperator(char c) {
+            return c == '=' || c == '<' || c == '>' || c == '!';
+        }
+    }
+}
@@ -16,9 +16,20 @@
 
 package com.hazelcast.sql.impl.plan.cache;
 
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.util.counters.MwCounter;
+
 import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.SQL_METRIC_PLAN_CACHE_EVICTIONS;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.SQL_METRIC_PLAN_CACHE_HITS;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.SQL_METRIC_PLAN_CACHE_INVALIDATIONS;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.SQL_METRIC_PLAN_CACHE_MISSES;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.SQL_METRIC_PLAN_CACHE_PARAMETERIZATION_FALLBACKS;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.SQL_METRIC_PLAN_CACHE_SIZE;
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+
 /**
  * Cache for plans.
  */
@@ -27,6 +38,22 @@ public class PlanCache implements CachedPlanInvalidationCallback {
     private final int maxSize;
     private final ConcurrentHashMap<PlanCacheKey, CacheablePlan> plans = new ConcurrentHashMap<>();
 
+    @Probe(name = SQL_METRIC_PLAN_CACHE_HITS)
+    private final MwCounter hits = newMwCounter();
+
+    @Probe(name = SQL_METRIC_PLAN_CACHE_MISSES)
+    private final MwCounter misses = newMwCounter();
+
+    @Probe(name = SQL_METRIC_PLAN_CACHE_EVICTIONS)
+    private final MwCounter evictions = newMwCounter();
+
+    @Probe(name = SQL_METRIC_PLAN_CACHE_INVALIDATIONS)
+    private final MwCounter invalidations = newMwCounter();
+
+    /** The number of parameterized queries that had to be planned with the original literals. */
+    @Probe(name = SQL_METRIC_PLAN_CACHE_PARAMETERIZATION_FALLBACKS)
+    private final MwCounter parameterizationFallbacks = newMwCounter();
+
     public PlanCache(int maxSize) {
         assert maxSize > 0;
 
@@ -37,10 +64,14 @@ public class PlanCache implements CachedPlanInvalidationCallback {
         CacheablePlan plan = plans.get(key);
 
         if (plan != null) {
+            hits.inc();
+
             plan.onPlanUsed();
 
             return plan;
         } else {
+            misses.inc();
+
             return null;
         }
     }
@@ -54,19 +85,38 @@ public class PlanCache implements CachedPlanInvalidationCallback {
     }
 
     public void invalidate(CacheablePlan plan) {
-        remove(plan);
+        if (remove(plan)) {
+            invalidations.inc();
+        }
+    }
+
+    /**
+     * Records that the plan of a parameterized query could not be used for the given literal values, so
+     * that the query was planned with the literals in place.
+     */
+    public void onParameterizationFallback() {
+        parameterizationFallbacks.inc();
     }
 
     public void clear() {
         plans.clear();
     }
 
+    @Probe(name = SQL_METRIC_PLAN_CACHE_SIZE)
     public int size() {
         return plans.size();
     }
 
+    public long parameterizationFallbackCount() {
+        return parameterizationFallbacks.get();
+    }
+
     public void check(PlanCheckContext context) {
-        plans.values().removeIf(plan -> !plan.isPlanValid(context));
+        for (CacheablePlan plan : plans.values()) {
+            if (!context.isCurrentSchemaVersion(plan.getPlanKey()) || !plan.isPlanValid(context)) {
+                invalidate(plan);
+            }
+        }
     }
 
     private void shrinkIfNeeded() {
@@ -88,6 +138,8 @@ public class PlanCache implements CachedPlanInvalidationCallback {
             boolean removed = remove(plan);
 
             if (removed) {
+                evictions.inc();
+
                 if (--oversize == 0) {
                     break;
                 }
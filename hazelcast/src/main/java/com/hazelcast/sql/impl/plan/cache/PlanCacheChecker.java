@@ -28,6 +28,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.LongSupplier;
 
 /**
  * Periodically checks plans for validity.
@@ -37,11 +38,18 @@ public class PlanCacheChecker {
     private final NodeEngine nodeEngine;
     private final PlanCache planCache;
     private final List<TableResolver> tableResolvers;
+    private final LongSupplier schemaVersionSupplier;
 
-    public PlanCacheChecker(NodeEngine nodeEngine, PlanCache planCache, List<TableResolver> tableResolvers) {
+    public PlanCacheChecker(
+        NodeEngine nodeEngine,
+        PlanCache planCache,
+        List<TableResolver> tableResolvers,
+        LongSupplier schemaVersionSupplier
+    ) {
         this.nodeEngine = nodeEngine;
         this.planCache = planCache;
         this.tableResolvers = tableResolvers;
+        this.schemaVersionSupplier = schemaVersionSupplier;
     }
 
     public void check() {
@@ -68,6 +76,6 @@ public class PlanCacheChecker {
         Map<UUID, PartitionIdSet> partitions = QueryUtils.createPartitionMap(nodeEngine, null, false);
 
         // Do check
-        planCache.check(new PlanCheckContext(objectIds, partitions));
+        planCache.check(new PlanCheckContext(objectIds, partitions, schemaVersionSupplier.getAsLong()));
     }
 }
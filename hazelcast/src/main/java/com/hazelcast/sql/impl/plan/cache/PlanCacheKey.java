@@ -22,10 +22,16 @@ public class PlanCacheKey {
 
     private final List<List<String>> searchPaths;
     private final String sql;
+    private final long schemaVersion;
 
-    public PlanCacheKey(List<List<String>> searchPaths, String sql) {
+    public PlanCacheKey(List<List<String>> searchPaths, String sql, long schemaVersion) {
         this.searchPaths = searchPaths;
         this.sql = sql;
+        this.schemaVersion = schemaVersion;
+    }
+
+    public long getSchemaVersion() {
+        return schemaVersion;
     }
 
     @Override
@@ -40,13 +46,14 @@ public class PlanCacheKey {
 
         PlanCacheKey that = (PlanCacheKey) o;
 
-        return sql.equals(that.sql) && searchPaths.equals(that.searchPaths);
+        return schemaVersion == that.schemaVersion && sql.equals(that.sql) && searchPaths.equals(that.searchPaths);
     }
 
     @Override
     public int hashCode() {
         int result = searchPaths.hashCode();
         result = 31 * result + sql.hashCode();
+        result = 31 * result + Long.hashCode(schemaVersion);
         return result;
     }
 }
@@ -32,9 +32,23 @@ public class PlanCheckContext {
     /** Current distribution of partitions. */
     private final Map<UUID, PartitionIdSet> partitions;
 
-    public PlanCheckContext(Set<PlanObjectKey> objectIds, Map<UUID, PartitionIdSet> partitions) {
+    /** Current schema version. */
+    private final long schemaVersion;
+
+    public PlanCheckContext(Set<PlanObjectKey> objectIds, Map<UUID, PartitionIdSet> partitions, long schemaVersion) {
         this.objectIds = objectIds;
         this.partitions = partitions;
+        this.schemaVersion = schemaVersion;
+    }
+
+    /**
+     * Plans cached under other schema versions are never hit, because the version is a part of the cache key.
+     *
+     * @param key key of the cached plan
+     * @return {@code true} if the plan was cached under the current schema version
+     */
+    public boolean isCurrentSchemaVersion(PlanCacheKey key) {
+        return key.getSchemaVersion() == schemaVersion;
     }
 
     public boolean isValid(Set<PlanObjectKey> expectedObjectVersions, Map<UUID, PartitionIdSet> expectedPartitions) {
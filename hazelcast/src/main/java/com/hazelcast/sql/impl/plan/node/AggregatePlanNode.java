@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.sql.impl.plan.node;
+
+import com.hazelcast.internal.serialization.impl.SerializationUtil;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.sql.impl.SqlDataSerializerHook;
+import com.hazelcast.sql.impl.expression.aggregate.AggregateExpression;
+import com.hazelcast.sql.impl.type.QueryDataType;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Hash aggregation.
+ * <p>
+ * The local node aggregates the rows of the upstream by the group key and produces the partial state of every
+ * aggregate. The final node accepts rows produced by local nodes, where the group key occupies the leading columns,
+ * and merges them into the final results.
+ */
+public class AggregatePlanNode extends UniInputPlanNode implements IdentifiedDataSerializable {
+
+    /** Indexes of the group key columns in the upstream row. */
+    private List<Integer> groupKey;
+
+    /** Aggregates. */
+    private List<AggregateExpression> expressions;
+
+    /** Whether this is a local (partial) aggregation. */
+    private boolean local;
+
+    public AggregatePlanNode() {
+        // No-op.
+    }
+
+    public AggregatePlanNode(
+        int id,
+        PlanNode upstream,
+        List<Integer> groupKey,
+        List<AggregateExpression> expressions,
+        boolean local
+    ) {
+        super(id, upstream);
+
+        this.groupKey = groupKey;
+        this.expressions = expressions;
+        this.local = local;
+    }
+
+    public List<Integer> getGroupKey() {
+        return groupKey;
+    }
+
+    public List<AggregateExpression> getExpressions() {
+        return expressions;
+    }
+
+    public boolean isLocal() {
+        return local;
+    }
+
+    @Override
+    public void visit0(PlanNodeVisitor visitor) {
+        visitor.onAggregateNode(this);
+    }
+
+    @Override
+    public PlanNodeSchema getSchema0() {
+        PlanNodeSchema upstreamSchema = upstream.getSchema();
+
+        List<QueryDataType> types = new ArrayList<>(groupKey.size() + expressions.size());
+
+        for (Integer index : groupKey) {
+            types.add(upstreamSchema.getType(index));
+        }
+
+        for (AggregateExpression expression : expressions) {
+            if (local) {
+                types.addAll(expression.getPartialTypes());
+            } else {
+                types.add(expression.getType());
+            }
+        }
+
+        return new PlanNodeSchema(types);
+    }
+
+    @Override
+    public int getFactoryId() {
+        return SqlDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return SqlDataSerializerHook.NODE_AGGREGATE;
+    }
+
+    @Override
+    public void writeData1(ObjectDataOutput out) throws IOException {
+        SerializationUtil.writeList(groupKey, out);
+        SerializationUtil.writeList(expressions, out);
+        out.writeBoolean(local);
+    }
+
+    @Override
+    public void readData1(ObjectDataInput in) throws IOException {
+        groupKey = SerializationUtil.readList(in);
+        expressions = SerializationUtil.readList(in);
+        local = in.readBoolean();
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, groupKey, expressions, local, upstream);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        AggregatePlanNode that = (AggregatePlanNode) o;
+
+        return id == that.id && groupKey.equals(that.groupKey) && expressions.equals(that.expressions)
+            && local == that.local && upstream.equals(that.upstream);
+    }
+}
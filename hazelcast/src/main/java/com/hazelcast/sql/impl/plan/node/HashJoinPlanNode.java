@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.sql.impl.plan.node;
+
+import com.hazelcast.internal.serialization.impl.SerializationUtil;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.sql.impl.SqlDataSerializerHook;
+import com.hazelcast.sql.impl.expression.Expression;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Hash join node. The hash table is built from the right input, and then probed with the rows of the left input.
+ * <p>
+ * Both broadcast and partitioned hash joins are represented by this node, the distribution of the inputs is defined by
+ * the senders of the upstream fragments.
+ */
+public class HashJoinPlanNode extends BiInputPlanNode implements IdentifiedDataSerializable {
+
+    /** Indexes of the key columns of the left input. */
+    private List<Integer> leftKeys;
+
+    /** Indexes of the key columns of the right input. */
+    private List<Integer> rightKeys;
+
+    /** Non-equi part of the join condition, might be {@code null}. */
+    private Expression<Boolean> condition;
+
+    /** Whether this is a left outer join. */
+    private boolean outer;
+
+    public HashJoinPlanNode() {
+        // No-op.
+    }
+
+    public HashJoinPlanNode(
+        int id,
+        PlanNode left,
+        PlanNode right,
+        List<Integer> leftKeys,
+        List<Integer> rightKeys,
+        Expression<Boolean> condition,
+        boolean outer
+    ) {
+        super(id, left, right);
+
+        this.leftKeys = leftKeys;
+        this.rightKeys = rightKeys;
+        this.condition = condition;
+        this.outer = outer;
+    }
+
+    public List<Integer> getLeftKeys() {
+        return leftKeys;
+    }
+
+    public List<Integer> getRightKeys() {
+        return rightKeys;
+    }
+
+    public Expression<Boolean> getCondition() {
+        return condition;
+    }
+
+    public boolean isOuter() {
+        return outer;
+    }
+
+    @Override
+    protected void visit0(PlanNodeVisitor visitor) {
+        visitor.onHashJoinNode(this);
+    }
+
+    @Override
+    public int getFactoryId() {
+        return SqlDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return SqlDataSerializerHook.NODE_HASH_JOIN;
+    }
+
+    @Override
+    protected void writeData1(ObjectDataOutput out) throws IOException {
+        SerializationUtil.writeList(leftKeys, out);
+        SerializationUtil.writeList(rightKeys, out);
+        out.writeObject(condition);
+        out.writeBoolean(outer);
+    }
+
+    @Override
+    protected void readData1(ObjectDataInput in) throws IOException {
+        leftKeys = SerializationUtil.readList(in);
+        rightKeys = SerializationUtil.readList(in);
+        condition = in.readObject();
+        outer = in.readBoolean();
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, left, right, leftKeys, rightKeys, condition, outer);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        HashJoinPlanNode that = (HashJoinPlanNode) o;
+
+        return id == that.id
+            && left.equals(that.left)
+            && right.equals(that.right)
+            && leftKeys.equals(that.leftKeys)
+            && rightKeys.equals(that.rightKeys)
+            && Objects.equals(condition, that.condition)
+            && outer == that.outer;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{id=" + id + ", leftKeys=" + leftKeys + ", rightKeys=" + rightKeys
+            + ", condition=" + condition + ", outer=" + outer + ", left=" + left + ", right=" + right + '}';
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.sql.impl.plan.node;
+
+import com.hazelcast.internal.serialization.impl.SerializationUtil;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.sql.impl.SqlDataSerializerHook;
+import com.hazelcast.sql.impl.expression.Expression;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Index nested loop join node. Every row of the upstream is joined with the entries of the right map found by the
+ * lookup in the index of that map.
+ * <p>
+ * The scan of the right map is not a separate input: it doesn't have an index filter of its own, because the filter is
+ * created for every upstream row from the values of the left key columns.
+ */
+public class IndexNestedLoopJoinPlanNode extends UniInputPlanNode implements IdentifiedDataSerializable {
+
+    /** Scan of the right map. */
+    private MapIndexScanPlanNode right;
+
+    /** Indexes of the left columns, in the order of the index components. */
+    private List<Integer> leftKeys;
+
+    /** Non-equi part of the join condition, might be {@code null}. */
+    private Expression<Boolean> condition;
+
+    public IndexNestedLoopJoinPlanNode() {
+        // No-op.
+    }
+
+    public IndexNestedLoopJoinPlanNode(
+        int id,
+        PlanNode upstream,
+        MapIndexScanPlanNode right,
+        List<Integer> leftKeys,
+        Expression<Boolean> condition
+    ) {
+        super(id, upstream);
+
+        this.right = right;
+        this.leftKeys = leftKeys;
+        this.condition = condition;
+    }
+
+    public MapIndexScanPlanNode getRight() {
+        return right;
+    }
+
+    public List<Integer> getLeftKeys() {
+        return leftKeys;
+    }
+
+    public Expression<Boolean> getCondition() {
+        return condition;
+    }
+
+    @Override
+    protected PlanNodeSchema getSchema0() {
+        return PlanNodeSchema.combine(upstream.getSchema(), right.getSchema());
+    }
+
+    @Override
+    protected void visit0(PlanNodeVisitor visitor) {
+        visitor.onIndexNestedLoopJoinNode(this);
+    }
+
+    @Override
+    public int getFactoryId() {
+        return SqlDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return SqlDataSerializerHook.NODE_INDEX_NESTED_LOOP_JOIN;
+    }
+
+    @Override
+    protected void writeData1(ObjectDataOutput out) throws IOException {
+        out.writeObject(right);
+        SerializationUtil.writeList(leftKeys, out);
+        out.writeObject(condition);
+    }
+
+    @Override
+    protected void readData1(ObjectDataInput in) throws IOException {
+        right = in.readObject();
+        leftKeys = SerializationUtil.readList(in);
+        condition = in.readObject();
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, upstream, right, leftKeys, condition);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        IndexNestedLoopJoinPlanNode that = (IndexNestedLoopJoinPlanNode) o;
+
+        return id == that.id
+            && upstream.equals(that.upstream)
+            && right.equals(that.right)
+            && leftKeys.equals(that.leftKeys)
+            && Objects.equals(condition, that.condition);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{id=" + id + ", leftKeys=" + leftKeys + ", condition=" + condition
+            + ", right=" + right + ", upstream=" + upstream + '}';
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.sql.impl.plan.node;
+
+import com.hazelcast.internal.serialization.impl.SerializationUtil;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.sql.impl.SqlDataSerializerHook;
+import com.hazelcast.sql.impl.expression.Expression;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Sort node. Retains only the top rows when the number of rows to fetch is known.
+ * <p>
+ * The local node sorts the rows of a single member, and doesn't apply the offset. The sorted streams of local nodes are
+ * then merged by a receiver which applies both offset and fetch.
+ */
+public class SortPlanNode extends UniInputPlanNode implements IdentifiedDataSerializable {
+
+    /** Indexes of the sort key columns. */
+    private List<Integer> columnIndexes;
+
+    /** Sort directions. */
+    private List<Boolean> ascs;
+
+    /** Number of rows to fetch, might be {@code null}. */
+    private Expression<?> fetch;
+
+    /** Number of rows to skip, might be {@code null}. */
+    private Expression<?> offset;
+
+    /** Whether this is a local sort. */
+    private boolean local;
+
+    public SortPlanNode() {
+        // No-op.
+    }
+
+    public SortPlanNode(
+        int id,
+        PlanNode upstream,
+        List<Integer> columnIndexes,
+        List<Boolean> ascs,
+        Expression<?> fetch,
+        Expression<?> offset,
+        boolean local
+    ) {
+        super(id, upstream);
+
+        this.columnIndexes = columnIndexes;
+        this.ascs = ascs;
+        this.fetch = fetch;
+        this.offset = offset;
+        this.local = local;
+    }
+
+    public List<Integer> getColumnIndexes() {
+        return columnIndexes;
+    }
+
+    public List<Boolean> getAscs() {
+        return ascs;
+    }
+
+    public Expression<?> getFetch() {
+        return fetch;
+    }
+
+    public Expression<?> getOffset() {
+        return offset;
+    }
+
+    public boolean isLocal() {
+        return local;
+    }
+
+    @Override
+    public void visit0(PlanNodeVisitor visitor) {
+        visitor.onSortNode(this);
+    }
+
+    @Override
+    public int getFactoryId() {
+        return SqlDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return SqlDataSerializerHook.NODE_SORT;
+    }
+
+    @Override
+    public void writeData1(ObjectDataOutput out) throws IOException {
+        SerializationUtil.writeList(columnIndexes, out);
+        SerializationUtil.writeList(ascs, out);
+        out.writeObject(fetch);
+        out.writeObject(offset);
+        out.writeBoolean(local);
+    }
+
+    @Override
+    public void readData1(ObjectDataInput in) throws IOException {
+        columnIndexes = SerializationUtil.readList(in);
+        ascs = SerializationUtil.readList(in);
+        fetch = in.readObject();
+        offset = in.readObject();
+        local = in.readBoolean();
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, columnIndexes, ascs, fetch, offset, local, upstream);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        SortPlanNode that = (SortPlanNode) o;
+
+        return id == that.id
+            && columnIndexes.equals(that.columnIndexes)
+            && ascs.equals(that.ascs)
+            && Objects.equals(fetch, that.fetch)
+            && Objects.equals(offset, that.offset)
+            && local == that.local
+            && upstream.equals(that.upstream);
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.sql.impl.row;
+
+import com.hazelcast.sql.impl.type.QueryDataType;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+/**
+ * Column of {@code BOOLEAN} values.
+ */
+public final class BooleanColumn extends Column {
+    /** Values, undefined at null positions. */
+    private final boolean[] values;
+
+    @SuppressFBWarnings("EI_EXPOSE_REP2")
+    public BooleanColumn(QueryDataType type, boolean[] values, boolean[] nulls, int size) {
+        super(type, size, nulls);
+
+        this.values = values;
+    }
+
+    static Column from(QueryDataType type, Object[] values, int size) {
+        boolean[] res = new boolean[size];
+        boolean[] nulls = null;
+
+        for (int i = 0; i < size; i++) {
+            Object value = values[i];
+
+            if (value == null) {
+                if (nulls == null) {
+                    nulls = new boolean[size];
+                }
+
+                nulls[i] = true;
+            } else if (value instanceof Boolean) {
+                res[i] = (Boolean) value;
+            } else {
+                // Not normalized, keep the values as is.
+                return ObjectColumn.from(type, values, size);
+            }
+        }
+
+        return new BooleanColumn(type, res, nulls, size);
+    }
+
+    /**
+     * @return Values, undefined at null positions. Must not be modified.
+     */
+    @SuppressFBWarnings("EI_EXPOSE_REP")
+    public boolean[] getValues() {
+        return values;
+    }
+
+    /**
+     * @return {@code true} if the value at the given position is {@code TRUE}, {@code false} if it is either
+     * {@code FALSE} or {@code NULL}.
+     */
+    public boolean isTrue(int index) {
+        return values[index] && !isNull(index);
+    }
+
+    @Override
+    public Object get(int index) {
+        if (isNull(index)) {
+            return null;
+        }
+
+        return values[index];
+    }
+
+    @Override
+    public Column select(int[] positions, int count) {
+        boolean[] res = new boolean[count];
+
+        for (int i = 0; i < count; i++) {
+            res[i] = values[positions[i]];
+        }
+
+        return new BooleanColumn(type, res, selectNulls(positions, count), count);
+    }
+}
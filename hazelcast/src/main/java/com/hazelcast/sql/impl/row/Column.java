@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.sql.impl.row;
+
+import com.hazelcast.sql.impl.type.QueryDataType;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+/**
+ * A single column of a {@link ColumnarRowBatch}.
+ * <p>
+ * Numeric and boolean values are kept in primitive arrays so that expressions may evaluate them in tight loops,
+ * see {@link LongColumn}, {@link DoubleColumn} and {@link BooleanColumn}. Values of other types are kept in
+ * an {@link ObjectColumn}. Columns are immutable once created.
+ */
+public abstract class Column {
+    /** Type of the values. */
+    protected final QueryDataType type;
+
+    /** Number of values. */
+    protected final int size;
+
+    /** Null flags, or {@code null} if the column has no nulls. */
+    protected final boolean[] nulls;
+
+    protected Column(QueryDataType type, int size, boolean[] nulls) {
+        this.type = type;
+        this.size = size;
+        this.nulls = nulls;
+    }
+
+    /**
+     * Creates a column from the given values, choosing a primitive representation when the type allows for it.
+     *
+     * @param type Type of the values.
+     * @param values Values, normalized to the type.
+     * @param size Number of values to take.
+     * @return Column.
+     */
+    public static Column of(QueryDataType type, Object[] values, int size) {
+        switch (type.getTypeFamily()) {
+            case TINYINT:
+            case SMALLINT:
+            case INTEGER:
+            case BIGINT:
+                return LongColumn.from(type, values, size);
+
+            case REAL:
+            case DOUBLE:
+                return DoubleColumn.from(type, values, size);
+
+            case BOOLEAN:
+                return BooleanColumn.from(type, values, size);
+
+            default:
+                return ObjectColumn.from(type, values, size);
+        }
+    }
+
+    /**
+     * Creates a column where every position holds the same value.
+     *
+     * @param type Type of the value.
+     * @param value Value.
+     * @param size Number of positions.
+     * @return Column.
+     */
+    public static Column constant(QueryDataType type, Object value, int size) {
+        Object[] values = new Object[size];
+
+        if (value != null) {
+            for (int i = 0; i < size; i++) {
+                values[i] = value;
+            }
+        }
+
+        return of(type, values, size);
+    }
+
+    public QueryDataType getType() {
+        return type;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isNull(int index) {
+        assert index >= 0 && index < size;
+
+        return nulls != null && nulls[index];
+    }
+
+    /**
+     * @return {@code true} if at least one value in the column might be {@code null}.
+     */
+    public boolean hasNulls() {
+        return nulls != null;
+    }
+
+    /**
+     * @return Null flags, or {@code null} if the column has no nulls. Must not be modified.
+     */
+    @SuppressFBWarnings("EI_EXPOSE_REP")
+    public boolean[] getNulls() {
+        return nulls;
+    }
+
+    /**
+     * Gets the value at the given position, boxing it according to the column type.
+     *
+     * @param index Position.
+     * @return Value or {@code null}.
+     */
+    public abstract Object get(int index);
+
+    /**
+     * Creates a new column with the values at the given positions.
+     *
+     * @param positions Positions.
+     * @param count Number of positions to take.
+     * @return Column.
+     */
+    public abstract Column select(int[] positions, int count);
+
+    protected boolean[] selectNulls(int[] positions, int count) {
+        if (nulls == null) {
+            return null;
+        }
+
+        boolean[] res = new boolean[count];
+
+        for (int i = 0; i < count; i++) {
+            res[i] = nulls[positions[i]];
+        }
+
+        return res;
+    }
+}
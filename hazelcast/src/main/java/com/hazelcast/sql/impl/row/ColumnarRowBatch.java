@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.sql.impl.row;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+/**
+ * Batch where values are organized in columns.
+ * <p>
+ * Rows returned from {@link #getRow(int)} are lightweight views over the columns. They are not serializable,
+ * use {@link #toHeapRow(Row)} to detach them from the batch when necessary.
+ */
+public class ColumnarRowBatch implements RowBatch {
+    /** Columns. */
+    private final Column[] columns;
+
+    /** Number of rows. */
+    private final int rowCount;
+
+    @SuppressFBWarnings("EI_EXPOSE_REP2")
+    public ColumnarRowBatch(Column[] columns, int rowCount) {
+        assert columns != null;
+
+        for (Column column : columns) {
+            assert column.size() == rowCount;
+        }
+
+        this.columns = columns;
+        this.rowCount = rowCount;
+    }
+
+    /**
+     * Copies values of the given row into a standalone {@link HeapRow}.
+     *
+     * @param row Row.
+     * @return Heap row.
+     */
+    public static HeapRow toHeapRow(Row row) {
+        if (row instanceof HeapRow) {
+            return (HeapRow) row;
+        }
+
+        Object[] values = new Object[row.getColumnCount()];
+
+        for (int i = 0; i < values.length; i++) {
+            values[i] = row.get(i);
+        }
+
+        return new HeapRow(values);
+    }
+
+    @Override
+    public Row getRow(int index) {
+        assert index >= 0 && index < rowCount;
+
+        return new ColumnarRow(this, index);
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    public Column getColumn(int index) {
+        return columns[index];
+    }
+
+    /**
+     * Creates a new batch with the rows at the given positions.
+     *
+     * @param positions Positions in ascending order.
+     * @param count Number of positions to take.
+     * @return Batch.
+     */
+    public ColumnarRowBatch select(int[] positions, int count) {
+        if (count == rowCount) {
+            return this;
+        }
+
+        Column[] res = new Column[columns.length];
+
+        for (int i = 0; i < columns.length; i++) {
+            res[i] = columns[i].select(positions, count);
+        }
+
+        return new ColumnarRowBatch(res, count);
+    }
+
+    /**
+     * Row view over a columnar batch.
+     */
+    private static final class ColumnarRow implements Row {
+
+        private final ColumnarRowBatch batch;
+        private final int index;
+
+        private ColumnarRow(ColumnarRowBatch batch, int index) {
+            this.batch = batch;
+            this.index = index;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <T> T get(int columnIndex) {
+            return (T) batch.columns[columnIndex].get(index);
+        }
+
+        @Override
+        public int getColumnCount() {
+            return batch.columns.length;
+        }
+    }
+}
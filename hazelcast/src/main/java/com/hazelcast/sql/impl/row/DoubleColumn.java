@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.sql.impl.row;
+
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.sql.impl.type.QueryDataTypeFamily;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+/**
+ * Column of {@code REAL} or {@code DOUBLE} values stored as {@code double}s.
+ */
+public final class DoubleColumn extends Column {
+    /** Values, undefined at null positions. */
+    private final double[] values;
+
+    @SuppressFBWarnings("EI_EXPOSE_REP2")
+    public DoubleColumn(QueryDataType type, double[] values, boolean[] nulls, int size) {
+        super(type, size, nulls);
+
+        assert isDoubleFamily(type);
+
+        this.values = values;
+    }
+
+    static Column from(QueryDataType type, Object[] values, int size) {
+        Class<?> valueClass = type.getTypeFamily() == QueryDataTypeFamily.REAL ? Float.class : Double.class;
+
+        double[] res = new double[size];
+        boolean[] nulls = null;
+
+        for (int i = 0; i < size; i++) {
+            Object value = values[i];
+
+            if (value == null) {
+                if (nulls == null) {
+                    nulls = new boolean[size];
+                }
+
+                nulls[i] = true;
+            } else if (value.getClass() == valueClass) {
+                res[i] = ((Number) value).doubleValue();
+            } else {
+                // Not normalized, keep the values as is.
+                return ObjectColumn.from(type, values, size);
+            }
+        }
+
+        return new DoubleColumn(type, res, nulls, size);
+    }
+
+    /**
+     * @return Values, undefined at null positions. Must not be modified.
+     */
+    @SuppressFBWarnings("EI_EXPOSE_REP")
+    public double[] getValues() {
+        return values;
+    }
+
+    public double getDouble(int index) {
+        assert index >= 0 && index < size;
+
+        return values[index];
+    }
+
+    @Override
+    public Object get(int index) {
+        if (isNull(index)) {
+            return null;
+        }
+
+        double value = values[index];
+
+        return type.getTypeFamily() == QueryDataTypeFamily.REAL ? (Object) (float) value : (Object) value;
+    }
+
+    @Override
+    public Column select(int[] positions, int count) {
+        double[] res = new double[count];
+
+        for (int i = 0; i < count; i++) {
+            res[i] = values[positions[i]];
+        }
+
+        return new DoubleColumn(type, res, selectNulls(positions, count), count);
+    }
+
+    public static boolean isDoubleFamily(QueryDataType type) {
+        QueryDataTypeFamily family = type.getTypeFamily();
+
+        return family == QueryDataTypeFamily.REAL || family == QueryDataTypeFamily.DOUBLE;
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.sql.impl.row;
+
+import com.hazelcast.sql.impl.type.QueryDataType;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+/**
+ * Column of {@code TINYINT}, {@code SMALLINT}, {@code INTEGER} or {@code BIGINT} values stored as {@code long}s.
+ */
+public final class LongColumn extends Column {
+    /** Values, undefined at null positions. */
+    private final long[] values;
+
+    @SuppressFBWarnings("EI_EXPOSE_REP2")
+    public LongColumn(QueryDataType type, long[] values, boolean[] nulls, int size) {
+        super(type, size, nulls);
+
+        assert isLongFamily(type);
+
+        this.values = values;
+    }
+
+    static Column from(QueryDataType type, Object[] values, int size) {
+        Class<?> valueClass = valueClass(type);
+
+        long[] res = new long[size];
+        boolean[] nulls = null;
+
+        for (int i = 0; i < size; i++) {
+            Object value = values[i];
+
+            if (value == null) {
+                if (nulls == null) {
+                    nulls = new boolean[size];
+                }
+
+                nulls[i] = true;
+            } else if (value.getClass() == valueClass) {
+                res[i] = ((Number) value).longValue();
+            } else {
+                // Not normalized, keep the values as is.
+                return ObjectColumn.from(type, values, size);
+            }
+        }
+
+        return new LongColumn(type, res, nulls, size);
+    }
+
+    /**
+     * @return Values, undefined at null positions. Must not be modified.
+     */
+    @SuppressFBWarnings("EI_EXPOSE_REP")
+    public long[] getValues() {
+        return values;
+    }
+
+    public long getLong(int index) {
+        assert index >= 0 && index < size;
+
+        return values[index];
+    }
+
+    @Override
+    public Object get(int index) {
+        if (isNull(index)) {
+            return null;
+        }
+
+        long value = values[index];
+
+        switch (type.getTypeFamily()) {
+            case TINYINT:
+                return (byte) value;
+
+            case SMALLINT:
+                return (short) value;
+
+            case INTEGER:
+                return (int) value;
+
+            default:
+                return value;
+        }
+    }
+
+    @Override
+    public Column select(int[] positions, int count) {
+        long[] res = new long[count];
+
+        for (int i = 0; i < count; i++) {
+            res[i] = values[positions[i]];
+        }
+
+        return new LongColumn(type, res, selectNulls(positions, count), count);
+    }
+
+    public static boolean isLongFamily(QueryDataType type) {
+        switch (type.getTypeFamily()) {
+            case TINYINT:
+            case SMALLINT:
+            case INTEGER:
+            case BIGINT:
+                return true;
+
+            default:
+                return false;
+        }
+    }
+
+    private static Class<?> valueClass(QueryDataType type) {
+        switch (type.getTypeFamily()) {
+            case TINYINT:
+                return Byte.class;
+
+            case SMALLINT:
+                return Short.class;
+
+            case INTEGER:
+                return Integer.class;
+
+            default:
+                return Long.class;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.sql.impl.row;
+
+import com.hazelcast.sql.impl.type.QueryDataType;
+
+/**
+ * Column of values which have no primitive representation.
+ */
+public final class ObjectColumn extends Column {
+    /** Values. */
+    private final Object[] values;
+
+    public ObjectColumn(QueryDataType type, Object[] values) {
+        this(type, values, values.length);
+    }
+
+    private ObjectColumn(QueryDataType type, Object[] values, int size) {
+        super(type, size, nullsOf(values, size));
+
+        this.values = values;
+    }
+
+    static ObjectColumn from(QueryDataType type, Object[] values, int size) {
+        Object[] res = new Object[size];
+        System.arraycopy(values, 0, res, 0, size);
+
+        return new ObjectColumn(type, res, size);
+    }
+
+    @Override
+    public Object get(int index) {
+        assert index >= 0 && index < size;
+
+        return values[index];
+    }
+
+    @Override
+    public Column select(int[] positions, int count) {
+        Object[] res = new Object[count];
+
+        for (int i = 0; i < count; i++) {
+            res[i] = values[positions[i]];
+        }
+
+        return new ObjectColumn(type, res, count);
+    }
+
+    private static boolean[] nullsOf(Object[] values, int size) {
+        boolean[] res = null;
+
+        for (int i = 0; i < size; i++) {
+            if (values[i] == null) {
+                if (res == null) {
+                    res = new boolean[size];
+                }
+
+                res[i] = true;
+            }
+        }
+
+        return res;
+    }
+}
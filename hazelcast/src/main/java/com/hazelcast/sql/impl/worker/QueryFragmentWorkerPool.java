@@ -56,6 +56,15 @@ public class QueryFragmentWorkerPool {
         pool.execute(task::run);
     }
 
+    /**
+     * Schedule an auxiliary task of a query fragment in the pool, e.g. a slice of a parallel scan.
+     *
+     * @param task Task.
+     */
+    public void submit(Runnable task) {
+        pool.execute(task);
+    }
+
     private static final class WorkerThread extends ForkJoinWorkerThread {
         private WorkerThread(ForkJoinPool pool) {
             super(pool);
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.aggregation;
+
+import com.hazelcast.aggregation.impl.ApproximateCountDistinctAggregator;
+import com.hazelcast.config.Config;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.map.IMap;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.aggregation.TestSamples.createEntryWithValue;
+import static com.hazelcast.aggregation.TestSamples.createExtractableEntryWithValue;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ApproximateAggregationTest extends HazelcastTestSupport {
+
+    private static final int COUNT = 50000;
+    private static final double ERROR = 0.03;
+
+    private final InternalSerializationService ss = new DefaultSerializationServiceBuilder().build();
+
+    @Test(timeout = TimeoutInMillis.MINUTE)
+    public void testCountDistinct() {
+        Aggregator<Map.Entry<Object, Object>, Long> first = Aggregators.approximateCountDistinct();
+        Aggregator<Map.Entry<Object, Object>, Long> second = Aggregators.approximateCountDistinct();
+        for (int i = 0; i < COUNT; ++i) {
+            // the numbers equal according to the query engine are counted once
+            first.accumulate(createEntryWithValue(i));
+            second.accumulate(createEntryWithValue((long) i));
+            second.accumulate(createEntryWithValue((double) i));
+            first.accumulate(createEntryWithValue("value-" + (i % 100)));
+            first.accumulate(createEntryWithValue(null));
+        }
+
+        Aggregator<Map.Entry<Object, Object>, Long> result = ss.toObject(ss.toData(first));
+        result.combine(ss.toObject(ss.toData(second)));
+        assertEquals(COUNT + 100, result.aggregate(), (COUNT + 100) * ERROR);
+    }
+
+    @Test(timeout = TimeoutInMillis.MINUTE)
+    public void testCountDistinct_withPrimitiveAttributes() {
+        Aggregator<Map.Entry<ValueContainer, ValueContainer>, Long> aggregation
+                = Aggregators.approximateCountDistinct("longValue");
+        Aggregator<Map.Entry<ValueContainer, ValueContainer>, Long> boxedAggregation
+                = Aggregators.approximateCountDistinct("numberValue");
+        for (int i = 0; i < COUNT; ++i) {
+            aggregation.accumulate(createExtractableEntryWithValue(new ValueContainer((long) (i % 1000)), ss));
+            ValueContainer container = new ValueContainer();
+            container.numberValue = i % 1000;
+            boxedAggregation.accumulate(createExtractableEntryWithValue(container, ss));
+        }
+
+        // both paths produce the same hashes
+        assertEquals(boxedAggregation.aggregate(), aggregation.aggregate());
+        assertEquals(1000, aggregation.aggregate(), 1000 * ERROR);
+    }
+
+    @Test
+    public void testCountDistinct_hashesOtherValuesInSerializedForm() {
+        // the enums are hashed by their names, not by their identity hash codes
+        assertEquals(ss.toData(TimeUnit.SECONDS).hash64(), ApproximateCountDistinctAggregator.hash(TimeUnit.SECONDS, ss));
+        assertEquals(ApproximateCountDistinctAggregator.hash("java.util.concurrent.TimeUnit.SECONDS"),
+                ApproximateCountDistinctAggregator.hash(TimeUnit.SECONDS));
+
+        Aggregator<Map.Entry<TimeUnit, TimeUnit>, Long> aggregation = Aggregators.approximateCountDistinct();
+        for (int i = 0; i < COUNT; ++i) {
+            aggregation.accumulate(createExtractableEntryWithValue(TimeUnit.values()[i % TimeUnit.values().length], ss));
+        }
+        assertEquals(TimeUnit.values().length, (long) aggregation.aggregate());
+    }
+
+    @Test
+    public void testCountDistinct_equalsComparesSketches() {
+        Aggregator<Map.Entry<Object, Object>, Long> aggregation = Aggregators.approximateCountDistinct();
+        Aggregator<Map.Entry<Object, Object>, Long> sameValues = Aggregators.approximateCountDistinct();
+        Aggregator<Map.Entry<Object, Object>, Long> otherValue = Aggregators.approximateCountDistinct();
+        aggregation.accumulate(createEntryWithValue(1));
+        sameValues.accumulate(createEntryWithValue(1L));
+        otherValue.accumulate(createEntryWithValue(2));
+
+        assertEquals(aggregation, sameValues);
+        assertEquals(aggregation.hashCode(), sameValues.hashCode());
+        assertEquals(aggregation, ss.toObject(ss.toData(aggregation)));
+        // the same estimates of different values
+        assertEquals(aggregation.aggregate(), otherValue.aggregate());
+        assertNotEquals(aggregation, otherValue);
+    }
+
+    @Test
+    public void testQuantile_equalsComparesSketches() {
+        Aggregator<Map.Entry<Object, Object>, Double> aggregation = Aggregators.approximateQuantile(0.5);
+        Aggregator<Map.Entry<Object, Object>, Double> otherValues = Aggregators.approximateQuantile(0.5);
+        for (int i = 0; i < COUNT; ++i) {
+            aggregation.accumulate(createEntryWithValue((double) i));
+            otherValues.accumulate(createEntryWithValue((double) -i));
+        }
+
+        assertEquals(aggregation, ss.toObject(ss.toData(aggregation)));
+        assertEquals(ss.toObject(ss.toData(aggregation)).hashCode(), aggregation.hashCode());
+        // the same number of values
+        assertNotEquals(aggregation, otherValues);
+    }
+
+    @Test(timeout = TimeoutInMillis.MINUTE)
+    public void testQuantile() {
+        Aggregator<Map.Entry<ValueContainer, ValueContainer>, Double> aggregation
+                = Aggregators.approximateQuantile("doubleValue", 0.5);
+        assertNull(aggregation.aggregate());
+
+        for (int i = 0; i < COUNT; ++i) {
+            aggregation.accumulate(createExtractableEntryWithValue(new ValueContainer((double) i), ss));
+        }
+        assertEquals(COUNT / 2, aggregation.aggregate(), COUNT * ERROR);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testQuantile_outOfRange() {
+        Aggregators.approximateQuantile(1.5);
+    }
+
+    @Test
+    public void testMapAggregations() {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        Config config = smallInstanceConfig();
+        IMap<Integer, Integer> map = factory.newHazelcastInstance(config).getMap("map");
+        factory.newHazelcastInstance(config);
+        for (int i = 0; i < COUNT / 10; ++i) {
+            map.put(i, i % 1000);
+        }
+
+        assertEquals(1000, map.aggregate(Aggregators.approximateCountDistinct()), 1000 * ERROR);
+        assertEquals(500, map.aggregate(Aggregators.approximateQuantile(0.5)), 1000 * ERROR);
+        assertEquals(999, map.aggregate(Aggregators.approximateQuantile(1.0)), 0.0);
+        assertEquals(100, map.aggregate(Aggregators.approximateCountDistinct(),
+                Predicates.lessThan("this", 100)), 100 * ERROR);
+    }
+
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.aggregation;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static com.hazelcast.aggregation.TestSamples.createEntryWithValue;
+import static com.hazelcast.aggregation.TestSamples.createExtractableEntryWithValue;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class PrimitiveAggregationTest {
+
+    private static final int COUNT = 100;
+
+    private final InternalSerializationService ss = new DefaultSerializationServiceBuilder().build();
+
+    @Test(timeout = TimeoutInMillis.MINUTE)
+    public void testIntegralAttributes() {
+        assertEquals(5050L, (long) aggregate(Aggregators.longSum("longValue"), i -> new ValueContainer((long) i)));
+        assertEquals(50.5, aggregate(Aggregators.longAvg("longValue"), i -> new ValueContainer((long) i)), 0.0);
+        assertEquals(5050L, (long) aggregate(Aggregators.fixedPointSum("intValue"), ValueContainer::new));
+        assertEquals(5050.0, aggregate(Aggregators.floatingPointSum("longValue"), i -> new ValueContainer((long) i)), 0.0);
+        assertEquals(50.5, aggregate(Aggregators.numberAvg("intValue"), ValueContainer::new), 0.0);
+        assertEquals(5050, (int) aggregate(Aggregators.integerSum("intValue"), ValueContainer::new));
+    }
+
+    @Test(timeout = TimeoutInMillis.MINUTE)
+    public void testFloatingPointAttributes() {
+        assertEquals(5100.0, aggregate(Aggregators.doubleSum("doubleValue"), i -> new ValueContainer(i + 0.5)), 0.0);
+        assertEquals(51.0, aggregate(Aggregators.doubleAvg("floatValue"), i -> new ValueContainer(i + 0.5f)), 0.0);
+        assertEquals(5100.0, aggregate(Aggregators.floatingPointSum("floatValue"), i -> new ValueContainer(i + 0.5f)), 0.0);
+        assertEquals(51.0, aggregate(Aggregators.numberAvg("doubleValue"), i -> new ValueContainer(i + 0.5)), 0.0);
+        // the fixed point sum truncates the floating point values as before
+        assertEquals(5050L, (long) aggregate(Aggregators.fixedPointSum("doubleValue"), i -> new ValueContainer(i + 0.5)));
+    }
+
+    @Test(timeout = TimeoutInMillis.MINUTE)
+    public void testNonPrimitiveAttributes() {
+        assertEquals(5050.0, aggregate(Aggregators.doubleSum("numberValue"), i -> numberContainer((double) i)), 0.0);
+        assertEquals(new BigDecimal(5050), aggregate(Aggregators.bigDecimalSum("bigDecimal"), i -> new ValueContainer(
+                BigDecimal.valueOf(i))));
+    }
+
+    @Test(timeout = TimeoutInMillis.MINUTE, expected = IllegalArgumentException.class)
+    public void testExactnessIsPreserved() {
+        aggregate(Aggregators.longSum("doubleValue"), i -> new ValueContainer(i + 0.5));
+    }
+
+    @Test(timeout = TimeoutInMillis.MINUTE)
+    public void testMixedTypeDistinctValues() {
+        Aggregator<Map.Entry<Object, Object>, Set<Object>> aggregation = Aggregators.distinct();
+        for (Object value : asList(1, 1L, 1.0, (short) 1, 2.5, 2.5f, "a", null, -0.0, 0L)) {
+            aggregation.accumulate(createEntryWithValue(value));
+        }
+        Aggregator<Map.Entry<Object, Object>, Set<Object>> resultAggregation = Aggregators.distinct();
+        resultAggregation.combine(aggregation);
+        Set<Object> result = resultAggregation.aggregate();
+
+        assertEquals(6, result.size());
+        assertTrue(result.contains(1.0f));
+        assertTrue(result.contains((byte) 1));
+        assertTrue(result.contains(2.5));
+        assertTrue(result.contains(-0.0));
+        assertTrue(result.contains(0));
+        assertTrue(result.contains(null));
+        assertFalse(result.contains(2L));
+        assertFalse(result.contains(-0.5));
+        assertEquals(new HashSet<>(asList(1L, 2.5, "a", null, -0.0, 0L)).hashCode(), result.hashCode());
+
+        Set<Object> deserialized = ss.toObject(ss.toData(result));
+        assertEquals(result.size(), deserialized.size());
+        assertEquals(result, deserialized);
+        assertEquals(result.hashCode(), deserialized.hashCode());
+    }
+
+    private <R> R aggregate(Aggregator<Map.Entry<ValueContainer, ValueContainer>, R> aggregation,
+                            ContainerFactory factory) {
+        Aggregator<Map.Entry<ValueContainer, ValueContainer>, R> other = ss.toObject(ss.toData(aggregation));
+        for (int i = 1; i <= COUNT; ++i) {
+            Aggregator<Map.Entry<ValueContainer, ValueContainer>, R> target = i % 2 == 0 ? aggregation : other;
+            target.accumulate(createExtractableEntryWithValue(factory.create(i), ss));
+        }
+        aggregation.combine(other);
+        return aggregation.aggregate();
+    }
+
+    private static ValueContainer numberContainer(Number value) {
+        ValueContainer container = new ValueContainer();
+        container.numberValue = value;
+        return container;
+    }
+
+    private interface ContainerFactory {
+        ValueContainer create(int i);
+    }
+
+}
@@ -199,6 +199,7 @@ final class TestSamples {
         private V value;
 
         ExtractableEntry(K key, V value, InternalSerializationService ss) {
+            this.serializationService = ss;
             this.extractors = Extractors.newBuilder(ss).build();
             this.key = key;
             this.value = value;
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.aggregation.impl;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class QuantileSketchTest {
+
+    private static final int COUNT = 100000;
+    // the rank error of the default sketch is about 1%, allow some slack
+    private static final double RANK_ERROR = 0.02;
+
+    @Test
+    public void testEmpty() {
+        QuantileSketch sketch = new QuantileSketch();
+        assertEquals(0, sketch.count());
+        assertTrue(Double.isNaN(sketch.quantile(0.5)));
+    }
+
+    @Test
+    public void testSmallInputIsExact() {
+        QuantileSketch sketch = new QuantileSketch();
+        for (int i = 1; i <= 100; ++i) {
+            sketch.update(i);
+        }
+        sketch.update(Double.NaN);
+
+        assertEquals(100, sketch.count());
+        assertEquals(1.0, sketch.quantile(0.0), 0.0);
+        assertEquals(50.0, sketch.quantile(0.5), 0.0);
+        assertEquals(99.0, sketch.quantile(0.99), 0.0);
+        assertEquals(100.0, sketch.quantile(1.0), 0.0);
+    }
+
+    @Test
+    public void testQuantiles() {
+        QuantileSketch sketch = new QuantileSketch();
+        for (double value : shuffledValues()) {
+            sketch.update(value);
+        }
+
+        assertEquals(COUNT, sketch.count());
+        assertQuantiles(sketch);
+    }
+
+    @Test
+    public void testMerge() {
+        List<Double> values = shuffledValues();
+
+        QuantileSketch merged = new QuantileSketch();
+        int parts = 10;
+        for (int part = 0; part < parts; ++part) {
+            QuantileSketch sketch = new QuantileSketch();
+            for (int i = part; i < COUNT; i += parts) {
+                sketch.update(values.get(i));
+            }
+            merged.merge(sketch);
+        }
+
+        assertEquals(COUNT, merged.count());
+        assertQuantiles(merged);
+    }
+
+    @Test
+    public void testSerialization() {
+        InternalSerializationService ss = new DefaultSerializationServiceBuilder().build();
+        ApproximateQuantileAggregator<Map.Entry<Integer, Double>> aggregator = new ApproximateQuantileAggregator<>(0.9);
+        for (double value : shuffledValues()) {
+            aggregator.accumulate(new SimpleEntry<>(0, value));
+        }
+
+        ApproximateQuantileAggregator<Map.Entry<Integer, Double>> copy = ss.toObject(ss.toData(aggregator));
+        assertEquals(aggregator.aggregate(), copy.aggregate());
+        assertEquals(0.9 * COUNT, copy.aggregate(), RANK_ERROR * COUNT);
+    }
+
+    private static void assertQuantiles(QuantileSketch sketch) {
+        assertEquals(0.0, sketch.quantile(0.0), 0.0);
+        assertEquals(COUNT - 1, sketch.quantile(1.0), 0.0);
+        for (double quantile : new double[]{0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.99}) {
+            assertEquals(quantile * COUNT, sketch.quantile(quantile), RANK_ERROR * COUNT);
+        }
+    }
+
+    private static List<Double> shuffledValues() {
+        List<Double> values = new ArrayList<>(COUNT);
+        for (int i = 0; i < COUNT; ++i) {
+            values.add((double) i);
+        }
+        Collections.shuffle(values, new Random(42));
+        return values;
+    }
+
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.map;
+
+import com.hazelcast.client.impl.proxy.ClientMapProxy;
+import com.hazelcast.client.test.TestHazelcastFactory;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.impl.iterator.AbstractMapQueryResultStream;
+import com.hazelcast.projection.Projections;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ClientMapQueryResultStreamTest extends HazelcastTestSupport {
+
+    private static final int ENTRIES = 2000;
+
+    private TestHazelcastFactory factory;
+    private ClientMapProxy<Integer, Integer> proxy;
+
+    @Before
+    public void setup() {
+        factory = new TestHazelcastFactory();
+        factory.newHazelcastInstance(smallInstanceConfig());
+        factory.newHazelcastInstance(smallInstanceConfig());
+        HazelcastInstance client = factory.newHazelcastClient();
+        proxy = (ClientMapProxy<Integer, Integer>) client.<Integer, Integer>getMap(randomMapName());
+        for (int i = 0; i < ENTRIES; ++i) {
+            proxy.put(i, i);
+        }
+    }
+
+    @After
+    public void teardown() {
+        factory.terminateAll();
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void test_null_projection_throws_exception() {
+        proxy.queryStream(10, 4, null, Predicates.alwaysTrue());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_paging_predicate_throws_exception() {
+        proxy.queryStream(10, 4, Projections.identity(), Predicates.pagingPredicate(10));
+    }
+
+    @Test
+    public void test_streams_all_matching_results() {
+        AbstractMapQueryResultStream<Integer, Integer, Integer> stream = proxy.queryStream(7, 3,
+                Projections.singleAttribute("this"), Predicates.greaterEqual("this", 1000));
+        Set<Integer> results = new HashSet<>();
+        while (stream.hasNext()) {
+            assertTrue(results.add(stream.next()));
+        }
+
+        Set<Integer> expected = new HashSet<>();
+        for (int i = 1000; i < ENTRIES; ++i) {
+            expected.add(i);
+        }
+        assertEquals(expected, results);
+    }
+
+    @Test
+    public void test_streams_chunks_asynchronously() throws Exception {
+        AbstractMapQueryResultStream<Integer, Integer, Integer> stream = proxy.queryStream(50, 4,
+                Projections.singleAttribute("this"), Predicates.alwaysTrue());
+        Set<Integer> results = new HashSet<>();
+        List<Integer> chunk;
+        do {
+            chunk = stream.nextChunkAsync().toCompletableFuture().get();
+            results.addAll(chunk);
+        } while (!chunk.isEmpty());
+
+        assertEquals(ENTRIES, results.size());
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.executor;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.ExecutorConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IExecutorService;
+import com.hazelcast.internal.util.executor.VirtualThreads;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.hazelcast.spi.properties.ClusterProperty.EXECUTOR_VIRTUAL_THREADS_ENABLED;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ExecutorServiceVirtualThreadsTest extends ExecutorServiceTestSupport {
+
+    private static final int POOL_SIZE = 4;
+
+    private HazelcastInstance instance;
+
+    @Before
+    public void setup() {
+        Config config = smallInstanceConfig()
+                .setProperty(EXECUTOR_VIRTUAL_THREADS_ENABLED.getName(), "true")
+                .addExecutorConfig(new ExecutorConfig("limited", POOL_SIZE));
+        instance = createHazelcastInstance(config);
+    }
+
+    @Test
+    public void testTasksRunOnVirtualThreads_whenSupported() throws Exception {
+        IExecutorService executor = instance.getExecutorService("executor");
+
+        boolean virtual = executor.submit(new IsVirtualThreadCallable()).get();
+
+        assertEquals(VirtualThreads.isSupported(), virtual);
+    }
+
+    @Test
+    public void testPoolSizeLimitsConcurrency() throws Exception {
+        IExecutorService executor = instance.getExecutorService("limited");
+
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < POOL_SIZE * 4; i++) {
+            futures.add(executor.submit(new ConcurrencyRecordingCallable()));
+        }
+        for (Future<Integer> future : futures) {
+            int concurrency = future.get();
+            assertTrue("concurrency: " + concurrency, concurrency <= POOL_SIZE);
+        }
+    }
+
+    @Test
+    public void testDurableExecutor() throws Exception {
+        boolean virtual = instance.getDurableExecutorService("durable").submit(new IsVirtualThreadCallable()).get();
+
+        assertEquals(VirtualThreads.isSupported(), virtual);
+    }
+
+    static class IsVirtualThreadCallable implements Callable<Boolean>, Serializable {
+
+        @Override
+        public Boolean call() throws Exception {
+            try {
+                return (Boolean) Thread.class.getMethod("isVirtual").invoke(Thread.currentThread());
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        }
+    }
+
+    static class ConcurrencyRecordingCallable implements Callable<Integer>, Serializable {
+
+        private static final AtomicInteger RUNNING = new AtomicInteger();
+
+        @Override
+        public Integer call() throws Exception {
+            int concurrency = RUNNING.incrementAndGet();
+            try {
+                Thread.sleep(50);
+                return concurrency;
+            } finally {
+                RUNNING.decrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.networking;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class DirectBufferPoolTest {
+
+    private final DirectBufferPool pool = new DirectBufferPool(1024);
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstruction_whenMaxPooledBytesNotPositive() {
+        new DirectBufferPool(0);
+    }
+
+    @Test
+    public void take_whenEmpty() {
+        ByteBuffer buffer = pool.take(128);
+
+        assertTrue(buffer.isDirect());
+        assertEquals(128, buffer.capacity());
+        assertEquals(0, buffer.position());
+        assertEquals(128, buffer.limit());
+    }
+
+    @Test
+    public void take_whenReleased() {
+        ByteBuffer buffer = pool.take(128);
+        buffer.put((byte) 1).flip();
+        pool.release(buffer);
+
+        assertEquals(128, pool.pooledBytes());
+
+        ByteBuffer taken = pool.take(128);
+        assertSame(buffer, taken);
+        assertEquals(0, taken.position());
+        assertEquals(128, taken.limit());
+        assertEquals(0, pool.pooledBytes());
+    }
+
+    @Test
+    public void take_whenReleasedWithOtherCapacity() {
+        ByteBuffer buffer = pool.take(128);
+        pool.release(buffer);
+
+        assertNotSame(buffer, pool.take(256));
+        assertEquals(128, pool.pooledBytes());
+    }
+
+    @Test
+    public void release_whenPoolFull() {
+        pool.release(pool.take(1000));
+        ByteBuffer buffer = pool.take(100);
+
+        pool.release(buffer);
+
+        assertEquals(1000, pool.pooledBytes());
+        assertNotSame(buffer, pool.take(100));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void release_whenHeapBuffer() {
+        pool.release(ByteBuffer.allocate(128));
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.networking.nio;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.JoinConfig;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.networking.DirectBufferPool;
+import com.hazelcast.map.IMap;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Random;
+
+import static com.hazelcast.core.Hazelcast.newHazelcastInstance;
+import static com.hazelcast.spi.properties.ClusterProperty.SOCKET_BUFFER_DIRECT_POOL_SIZE_MB;
+import static com.hazelcast.test.Accessors.getNode;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertNotNull;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class NioChannelDirectBufferPoolTest extends HazelcastTestSupport {
+
+    private static final int VALUE_SIZE = 4 * 1024 * 1024;
+
+    @After
+    public void cleanUp() {
+        Hazelcast.shutdownAll();
+    }
+
+    @Test
+    public void testLargeValues() {
+        HazelcastInstance instance1 = newHazelcastInstance(getConfig());
+        HazelcastInstance instance2 = newHazelcastInstance(getConfig());
+        assertClusterSizeEventually(2, instance1, instance2);
+        assertNotNull(getDirectBufferPool(instance1));
+
+        byte[] value = randomValue();
+        String key = generateKeyOwnedBy(instance2);
+        instance1.getMap("map").put(key, value);
+
+        assertArrayEquals(value, (byte[]) instance2.getMap("map").get(key));
+        assertArrayEquals(value, (byte[]) instance1.getMap("map").get(key));
+    }
+
+    @Test
+    public void testLargeValues_afterConnectionClosed() {
+        HazelcastInstance instance1 = newHazelcastInstance(getConfig());
+        HazelcastInstance instance2 = newHazelcastInstance(getConfig());
+        assertClusterSizeEventually(2, instance1, instance2);
+
+        byte[] value = randomValue();
+        String key = generateKeyOwnedBy(instance2);
+        IMap<String, byte[]> map = instance1.getMap("map");
+        map.put(key, value);
+
+        // the buffers of the closed connections are taken by the new ones
+        for (int i = 0; i < 3; i++) {
+            closeConnectionBetween(instance1, instance2);
+            assertTrueEventually(() -> assertArrayEquals(value, map.get(key)));
+        }
+        assertClusterSize(2, instance1, instance2);
+    }
+
+    private static DirectBufferPool getDirectBufferPool(HazelcastInstance instance) {
+        return getNode(instance).getServer().getContext().getDirectBufferPool();
+    }
+
+    private static byte[] randomValue() {
+        byte[] value = new byte[VALUE_SIZE];
+        new Random().nextBytes(value);
+        return value;
+    }
+
+    @Override
+    protected Config getConfig() {
+        Config config = new Config();
+        config.setProperty(SOCKET_BUFFER_DIRECT_POOL_SIZE_MB.getName(), "16");
+        JoinConfig join = config.getNetworkConfig().getJoin();
+        join.getTcpIpConfig().addMember("127.0.0.1").setEnabled(true);
+        join.getMulticastConfig().setEnabled(false);
+        return config;
+    }
+}
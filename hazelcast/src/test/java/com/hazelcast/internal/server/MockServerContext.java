@@ -26,6 +26,7 @@ import com.hazelcast.config.SymmetricEncryptionConfig;
 import com.hazelcast.instance.BuildInfoProvider;
 import com.hazelcast.instance.EndpointQualifier;
 import com.hazelcast.internal.ascii.TextCommandService;
+import com.hazelcast.internal.networking.DirectBufferPool;
 import com.hazelcast.internal.networking.InboundHandler;
 import com.hazelcast.internal.networking.OutboundHandler;
 import com.hazelcast.internal.nio.Packet;
@@ -392,6 +393,11 @@ public class MockServerContext implements ServerContext {
         return NoOpAuditlogService.INSTANCE;
     }
 
+    @Override
+    public DirectBufferPool getDirectBufferPool() {
+        return null;
+    }
+
     @Override
     public UUID getUuid() {
         return null;
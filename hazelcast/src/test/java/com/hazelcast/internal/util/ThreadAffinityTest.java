@@ -160,6 +160,23 @@ public class ThreadAffinityTest {
         assertEquals(threadAffinity.allowedCpusList.get(7), newBitset(20, 21, 32));
     }
 
+    @Test
+    public void whenPerCore() {
+        ThreadAffinity threadAffinity = ThreadAffinity.newPerCoreThreadAffinity(newBitset(1, 3, 4));
+
+        assertEquals(3, threadAffinity.getThreadCount());
+        assertEquals(newBitset(1), threadAffinity.nextAllowedCpus());
+        assertEquals(newBitset(3), threadAffinity.nextAllowedCpus());
+        assertEquals(newBitset(4), threadAffinity.nextAllowedCpus());
+    }
+
+    @Test
+    public void whenPerCoreAndNoAllowedCpus() {
+        ThreadAffinity threadAffinity = ThreadAffinity.newPerCoreThreadAffinity(new BitSet());
+
+        assertFalse(threadAffinity.isEnabled());
+    }
+
     @Nonnull
     public BitSet newBitset(int... cpus) {
         BitSet bitSet = new BitSet();
@@ -39,6 +39,7 @@ import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.MINUTES;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 @RunWith(HazelcastParallelClassRunner.class)
@@ -448,6 +449,29 @@ public class ExpirationTimeTest extends HazelcastTestSupport {
         assertTrue(msg, lastAccessTimeAfter > lastAccessTimeBefore);
     }
 
+    @Test
+    public void put_with_ttl_when_statistics_disabled_keeps_existing_entries() {
+        String mapName = randomMapName();
+        Config config = getConfig();
+        config.getMapConfig(mapName)
+                .setStatisticsEnabled(false)
+                .setInMemoryFormat(inMemoryFormat());
+        IMap<Integer, Integer> map = createHazelcastInstance(config).getMap(mapName);
+
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+        map.put(100, 100, 1, SECONDS);
+        map.setTtl(0, ONE_MINUTE_IN_MILLIS, MILLISECONDS);
+
+        assertEquals(ONE_MINUTE_IN_MILLIS, map.getEntryView(0).getTtl());
+        assertEquals(Long.MAX_VALUE, map.getEntryView(1).getTtl());
+        assertTrueEventually(() -> assertFalse(map.containsKey(100)));
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, (int) map.get(i));
+        }
+    }
+
     protected InMemoryFormat inMemoryFormat() {
         return BINARY;
     }
@@ -216,6 +216,30 @@ public class InMemoryFormatTest extends HazelcastTestSupport {
         member.getMap("default");
     }
 
+    @Test
+    public void testNativeIMap_whenNativeMemoryEnabled() {
+        Config config = getConfig();
+        config.getNativeMemoryConfig().setEnabled(true);
+        config.getMapConfig("default").setInMemoryFormat(InMemoryFormat.NATIVE);
+
+        HazelcastInstance member = createHazelcastInstance(config);
+        IMap<Integer, String> map = member.getMap("default");
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, "value" + i);
+        }
+        map.put(0, "updated");
+        map.remove(1);
+
+        assertEquals(999, map.size());
+        assertEquals("updated", map.get(0));
+        assertEquals("value2", map.get(2));
+        assertFalse(map.containsKey(1));
+        assertEquals(999, map.values().size());
+
+        map.clear();
+        assertEquals(0, map.size());
+    }
+
     @Test(expected = InvalidConfigurationException.class)
     public void testNativeNearCache_throwsException() throws Exception {
         NearCacheConfig nearCacheConfig = new NearCacheConfig();
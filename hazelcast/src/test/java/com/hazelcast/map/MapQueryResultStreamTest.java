@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.impl.iterator.AbstractMapQueryResultStream;
+import com.hazelcast.map.impl.proxy.MapProxyImpl;
+import com.hazelcast.projection.Projections;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class MapQueryResultStreamTest extends HazelcastTestSupport {
+
+    private static final int ENTRIES = 5000;
+
+    private MapProxyImpl<Integer, Integer> proxy;
+
+    @Before
+    public void init() {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        HazelcastInstance instance = factory.newHazelcastInstance(smallInstanceConfig());
+        factory.newHazelcastInstance(smallInstanceConfig());
+        proxy = (MapProxyImpl<Integer, Integer>) instance.<Integer, Integer>getMap(randomMapName());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void test_null_projection_throws_exception() {
+        proxy.queryStream(10, 4, null, Predicates.alwaysTrue());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void test_null_predicate_throws_exception() {
+        proxy.queryStream(10, 4, Projections.identity(), null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_paging_predicate_throws_exception() {
+        proxy.queryStream(10, 4, Projections.identity(), Predicates.pagingPredicate(10));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_non_positive_buffer_throws_exception() {
+        proxy.queryStream(10, 0, Projections.identity(), Predicates.alwaysTrue());
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void test_next_throws_exception_on_empty_map() {
+        proxy.queryStream(10, 4, Projections.identity(), Predicates.alwaysTrue()).next();
+    }
+
+    @Test
+    public void test_streams_all_matching_results() {
+        populate();
+
+        AbstractMapQueryResultStream<Integer, Integer, Integer> stream = proxy.queryStream(7, 3,
+                Projections.singleAttribute("this"), Predicates.lessThan("this", 3000));
+        Set<Integer> results = new HashSet<>();
+        while (stream.hasNext()) {
+            assertTrue(results.add(stream.next()));
+        }
+
+        assertEquals(expected(3000), results);
+        assertFalse(stream.hasNext());
+    }
+
+    @Test
+    public void test_streams_chunks_asynchronously() throws Exception {
+        populate();
+
+        AbstractMapQueryResultStream<Integer, Integer, Integer> stream = proxy.queryStream(100, 8,
+                Projections.singleAttribute("this"), Predicates.alwaysTrue());
+        Set<Integer> results = new HashSet<>();
+        List<Integer> chunk;
+        do {
+            chunk = stream.nextChunkAsync().toCompletableFuture().get();
+            assertTrue(chunk.size() <= 100);
+            results.addAll(chunk);
+        } while (!chunk.isEmpty());
+
+        assertEquals(expected(ENTRIES), results);
+    }
+
+    @Test
+    public void test_close_stops_streaming() throws Exception {
+        populate();
+
+        AbstractMapQueryResultStream<Integer, Integer, Integer> stream = proxy.queryStream(10, 2,
+                Projections.singleAttribute("this"), Predicates.alwaysTrue());
+        assertTrue(stream.hasNext());
+        stream.next();
+        stream.close();
+
+        assertTrue(stream.nextChunkAsync().toCompletableFuture().get().isEmpty());
+    }
+
+    private void populate() {
+        for (int i = 0; i < ENTRIES; ++i) {
+            proxy.put(i, i);
+        }
+    }
+
+    private static Set<Integer> expected(int count) {
+        Set<Integer> expected = new HashSet<>();
+        for (int i = 0; i < count; ++i) {
+            expected.add(i);
+        }
+        return expected;
+    }
+
+}
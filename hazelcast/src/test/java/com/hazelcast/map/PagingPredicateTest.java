@@ -432,6 +432,59 @@ public class PagingPredicateTest extends HazelcastTestSupport {
         assertEquals(0, values.size());
     }
 
+    @Test
+    public void testAttributeComparatorWithSortedIndex() {
+        IMap<Integer, Employee> map = makeEmployeeMap(500);
+        List<Employee> expected = pageThroughActiveEmployeesByAge(map);
+
+        map.addIndex(IndexType.SORTED, "age");
+        List<Employee> actual = pageThroughActiveEmployeesByAge(map);
+
+        assertEquals(expected, actual);
+        int activeCount = 0;
+        for (Employee employee : map.values()) {
+            if (employee.isActive()) {
+                activeCount++;
+            }
+        }
+        Set<Integer> ids = new HashSet<>();
+        for (Employee employee : actual) {
+            ids.add(employee.getId());
+        }
+        assertEquals(activeCount, actual.size());
+        assertEquals(activeCount, ids.size());
+        for (int i = 1; i < actual.size(); i++) {
+            assertTrue(actual.get(i - 1).getAge() <= actual.get(i).getAge());
+        }
+    }
+
+    @Test
+    public void testAttributeComparatorWithSortedIndex_jumpToPage() {
+        IMap<Integer, Employee> map = makeEmployeeMap(500);
+        map.addIndex(IndexType.SORTED, "age");
+        List<Employee> all = pageThroughActiveEmployeesByAge(map);
+
+        PagingPredicate<Integer, Employee> predicate = Predicates.pagingPredicate(Predicates.equal("active", true),
+                Predicates.<Integer, Employee>attributeComparator("age"), pageSize);
+        predicate.setPage(3);
+
+        List<Employee> page = new ArrayList<>(map.values(predicate));
+        assertEquals(all.subList(3 * pageSize, 4 * pageSize), page);
+    }
+
+    private static List<Employee> pageThroughActiveEmployeesByAge(IMap<Integer, Employee> map) {
+        PagingPredicate<Integer, Employee> predicate = Predicates.pagingPredicate(Predicates.equal("active", true),
+                Predicates.<Integer, Employee>attributeComparator("age"), pageSize);
+
+        List<Employee> result = new ArrayList<>();
+        for (Collection<Employee> values = map.values(predicate); !values.isEmpty(); values = map.values(predicate)) {
+            assertTrue(values.size() <= pageSize);
+            result.addAll(values);
+            predicate.nextPage();
+        }
+        return result;
+    }
+
     // https://github.com/hazelcast/hazelcast/issues/3047
     @Test
     public void lessThanPredicateWithEmployeeTest() {
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.IndexConfig;
+import com.hazelcast.config.IndexType;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.query.impl.Indexes;
+import com.hazelcast.query.impl.InternalIndex;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static com.hazelcast.test.Accessors.getAllIndexes;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class PartitionIndexBuilderTest extends HazelcastTestSupport {
+
+    private static final int PARTITIONS = 11;
+    private static final int ENTRIES = 2000;
+
+    @Override
+    protected Config getConfig() {
+        Config config = smallInstanceConfig();
+        config.setProperty(ClusterProperty.PARTITION_COUNT.getName(), Integer.toString(PARTITIONS));
+        config.setProperty(ClusterProperty.QUERY_INDEX_BUILD_CHUNK_SIZE.getName(), "10");
+        return config;
+    }
+
+    @Test
+    public void testIndexIsBuiltInBackground() {
+        Config config = getConfig();
+        config.setProperty(ClusterProperty.QUERY_INDEX_BUILD_CHUNK_PAUSE_MILLIS.getName(), "100");
+        IMap<Integer, Integer> map = createHazelcastInstance(config).getMap("map");
+        populate(map);
+
+        map.addIndex(IndexType.SORTED, "this");
+
+        // the partitions are not indexed yet, but the queries still see all the entries
+        assertFalse(allPartitionsIndexed(map));
+        assertQueriesCorrect(map);
+
+        // the mutations during the index build are not lost
+        for (int i = 0; i < ENTRIES; i += 2) {
+            map.put(i, -i);
+        }
+        map.remove(1);
+
+        assertTrueEventually(() -> assertTrue(allPartitionsIndexed(map)));
+        assertQueriesCorrect(map);
+        assertEquals(0, map.values(Predicates.equal("this", 1)).size());
+        assertEquals(1, map.values(Predicates.equal("this", -2)).size());
+    }
+
+    @Test
+    public void testIndexesAddedDuringBuild() {
+        Config config = getConfig();
+        config.setProperty(ClusterProperty.QUERY_INDEX_BUILD_CHUNK_PAUSE_MILLIS.getName(), "50");
+        IMap<Integer, Integer> map = createHazelcastInstance(config).getMap("map");
+        populate(map);
+
+        map.addIndex(IndexType.HASH, "this");
+        map.addIndex(IndexType.SORTED, "__key");
+        assertQueriesCorrect(map);
+
+        assertTrueEventually(() -> assertTrue(allPartitionsIndexed(map)));
+        assertQueriesCorrect(map);
+        assertEquals(ENTRIES / 2, map.keySet(Predicates.lessThan("__key", ENTRIES / 2)).size());
+    }
+
+    @Test
+    public void testIndexIsBuiltOnMigration() {
+        Config config = getConfig();
+        config.getMapConfig("map").addIndexConfig(new IndexConfig(IndexType.SORTED, "this"));
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        HazelcastInstance instance1 = factory.newHazelcastInstance(config);
+        IMap<Integer, Integer> map1 = instance1.getMap("map");
+        populate(map1);
+
+        HazelcastInstance instance2 = factory.newHazelcastInstance(config);
+        IMap<Integer, Integer> map2 = instance2.getMap("map");
+        assertQueriesCorrect(map1);
+
+        waitAllForSafeState(instance1, instance2);
+        assertTrueEventually(() -> assertEquals(PARTITIONS, indexedPartitions(map1) + indexedPartitions(map2)));
+        assertQueriesCorrect(map2);
+    }
+
+    private static void populate(IMap<Integer, Integer> map) {
+        for (int i = 0; i < ENTRIES; ++i) {
+            map.put(i, i);
+        }
+    }
+
+    private static void assertQueriesCorrect(IMap<Integer, Integer> map) {
+        Set<Integer> expected = new HashSet<>();
+        Predicate<Integer, Integer> predicate = Predicates.between("this", 100, 199);
+        for (Integer key : map.keySet()) {
+            int value = map.get(key);
+            if (value >= 100 && value <= 199) {
+                expected.add(key);
+            }
+        }
+        assertEquals(expected, map.keySet(predicate));
+    }
+
+    private static boolean allPartitionsIndexed(IMap<Integer, Integer> map) {
+        return indexedPartitions(map) == PARTITIONS;
+    }
+
+    private static int indexedPartitions(IMap<Integer, Integer> map) {
+        int indexedPartitions = 0;
+        for (Indexes indexes : getAllIndexes(map)) {
+            for (int partition = 0; partition < PARTITIONS; ++partition) {
+                boolean indexed = true;
+                for (InternalIndex index : indexes.getIndexes()) {
+                    indexed &= index.hasPartitionIndexed(partition);
+                }
+                if (indexed) {
+                    ++indexedPartitions;
+                }
+            }
+        }
+        return indexedPartitions;
+    }
+
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.eviction;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.MaxSizePolicy;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.memory.MemorySize;
+import com.hazelcast.memory.MemoryUnit;
+import com.hazelcast.test.HazelcastParallelParametersRunnerFactory;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+import org.junit.runners.Parameterized.UseParametersRunnerFactory;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import static com.hazelcast.config.MaxSizePolicy.FREE_NATIVE_MEMORY_PERCENTAGE;
+import static com.hazelcast.config.MaxSizePolicy.FREE_NATIVE_MEMORY_SIZE;
+import static com.hazelcast.config.MaxSizePolicy.USED_NATIVE_MEMORY_PERCENTAGE;
+import static com.hazelcast.config.MaxSizePolicy.USED_NATIVE_MEMORY_SIZE;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(Parameterized.class)
+@UseParametersRunnerFactory(HazelcastParallelParametersRunnerFactory.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class NativeMaxSizePolicyTest extends HazelcastTestSupport {
+
+    private static final int NATIVE_MEMORY_SIZE_MB = 16;
+    private static final int VALUE_SIZE = 10 * 1024;
+    // twice the native memory, so the puts fail unless the entries are evicted
+    private static final int ENTRY_COUNT = 2 * NATIVE_MEMORY_SIZE_MB * 1024 * 1024 / VALUE_SIZE;
+
+    @Parameter(0)
+    public MaxSizePolicy maxSizePolicy;
+
+    @Parameter(1)
+    public int maxSize;
+
+    @Parameters(name = "maxSizePolicy:{0}, maxSize:{1}")
+    public static Collection<Object[]> parameters() {
+        return Arrays.asList(new Object[][]{
+                {USED_NATIVE_MEMORY_SIZE, 4},
+                {FREE_NATIVE_MEMORY_SIZE, 8},
+                {USED_NATIVE_MEMORY_PERCENTAGE, 25},
+                {FREE_NATIVE_MEMORY_PERCENTAGE, 50},
+        });
+    }
+
+    @Test
+    public void testEvictsWhenPutPastLimit() {
+        Config config = smallInstanceConfig();
+        config.getNativeMemoryConfig()
+              .setEnabled(true)
+              .setSize(new MemorySize(NATIVE_MEMORY_SIZE_MB, MemoryUnit.MEGABYTES));
+        config.getMapConfig("default")
+              .setInMemoryFormat(InMemoryFormat.NATIVE)
+              .getEvictionConfig()
+              .setEvictionPolicy(EvictionPolicy.LRU)
+              .setMaxSizePolicy(maxSizePolicy)
+              .setSize(maxSize);
+
+        HazelcastInstance instance = createHazelcastInstance(config);
+        IMap<Integer, byte[]> map = instance.getMap("default");
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, new byte[VALUE_SIZE]);
+        }
+
+        int size = map.size();
+        assertTrue("size: " + size, size > 0);
+        assertTrue("size: " + size, size < ENTRY_COUNT / 2);
+    }
+}
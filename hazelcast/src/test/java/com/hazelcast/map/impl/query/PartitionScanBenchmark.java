@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.aggregation.Aggregators;
+import com.hazelcast.config.Config;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.projection.Projections;
+import com.hazelcast.query.Predicates;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the full partition scans of the aggregations and the projections
+ * over a whole map. Run it with the GC profiler to see the allocations per
+ * scanned entry.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class PartitionScanBenchmark {
+
+    private static final int SIZE = 100000;
+
+    @Param({"BINARY", "OBJECT"})
+    public InMemoryFormat inMemoryFormat;
+
+    private HazelcastInstance instance;
+    private IMap<Integer, Person> persons;
+
+    @Setup
+    public void setup() {
+        Config config = new Config();
+        config.getMapConfig("persons").setInMemoryFormat(inMemoryFormat);
+
+        instance = Hazelcast.newHazelcastInstance(config);
+        persons = instance.getMap("persons");
+        for (int i = 0; i < SIZE; ++i) {
+            persons.put(i, new Person(i % 100, i));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        instance.shutdown();
+    }
+
+    @Benchmark
+    public long count() {
+        return persons.aggregate(Aggregators.count());
+    }
+
+    @Benchmark
+    public long sum() {
+        return persons.aggregate(Aggregators.longSum("salary"));
+    }
+
+    @Benchmark
+    public long filteredSum() {
+        return persons.aggregate(Aggregators.longSum("salary"), Predicates.lessThan("age", 50));
+    }
+
+    @Benchmark
+    public Collection<Integer> project() {
+        return persons.project(Projections.singleAttribute("age"));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        // @formatter:off
+        Options opt = new OptionsBuilder()
+                .include(PartitionScanBenchmark.class.getSimpleName())
+                .warmupIterations(5)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(10)
+                .measurementTime(TimeValue.seconds(1))
+                .forks(1)
+                .threads(1)
+                .addProfiler(GCProfiler.class)
+                .build();
+        // @formatter:on
+
+        new Runner(opt).run();
+    }
+
+    public static class Person implements Serializable {
+
+        private final int age;
+        private final long salary;
+
+        public Person(int age, long salary) {
+            this.age = age;
+            this.salary = salary;
+        }
+
+        @SuppressWarnings("unused")
+        public int getAge() {
+            return age;
+        }
+
+        @SuppressWarnings("unused")
+        public long getSalary() {
+            return salary;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.aggregation.Aggregators;
+import com.hazelcast.aggregation.impl.CountAggregator;
+import com.hazelcast.aggregation.impl.MaxByAggregator;
+import com.hazelcast.config.Config;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.internal.util.IterationType;
+import com.hazelcast.map.IMap;
+import com.hazelcast.projection.Projections;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.test.HazelcastParallelParametersRunnerFactory;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+import org.junit.runners.Parameterized.UseParametersRunnerFactory;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(Parameterized.class)
+@UseParametersRunnerFactory(HazelcastParallelParametersRunnerFactory.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class PartitionScanEntryReuseTest extends HazelcastTestSupport {
+
+    private static final int ENTRIES = 1000;
+
+    @Parameter
+    public InMemoryFormat inMemoryFormat;
+
+    private IMap<Integer, Integer> map;
+
+    @Parameters(name = "format:{0}")
+    public static Collection<Object[]> parameters() {
+        return asList(new Object[][]{{InMemoryFormat.OBJECT}, {InMemoryFormat.BINARY}});
+    }
+
+    @Before
+    public void before() {
+        Config config = smallInstanceConfig();
+        config.getMapConfig("map").setInMemoryFormat(inMemoryFormat);
+        map = createHazelcastInstance(config).getMap("map");
+        for (int i = 0; i < ENTRIES; ++i) {
+            map.put(i, i);
+        }
+    }
+
+    @Test
+    public void testRetainsEntries() {
+        assertFalse(new QueryResult(IterationType.KEY, null, null, Long.MAX_VALUE, false).retainsEntries());
+        assertTrue(new QueryResult(IterationType.KEY, null, null, Long.MAX_VALUE, true).retainsEntries());
+        assertFalse(new AggregationResult(new CountAggregator<>(), null).retainsEntries());
+        assertTrue(new AggregationResult(new MaxByAggregator<>("this"), null).retainsEntries());
+    }
+
+    @Test
+    public void testAggregations() {
+        assertEquals(ENTRIES, (long) map.aggregate(Aggregators.count()));
+        assertEquals(ENTRIES * (ENTRIES - 1L) / 2, (long) map.aggregate(Aggregators.integerSum()));
+        assertEquals(100, (long) map.aggregate(Aggregators.count(), Predicates.lessThan("this", 100)));
+        assertEquals(ENTRIES, map.aggregate(Aggregators.distinct()).size());
+
+        // the *By aggregators keep the matched entries
+        Map.Entry<Integer, Integer> maxEntry = map.aggregate(Aggregators.<Map.Entry<Integer, Integer>>maxBy("this"),
+                Predicates.lessThan("this", 100));
+        assertEquals(99, (int) maxEntry.getKey());
+        assertEquals(99, (int) maxEntry.getValue());
+    }
+
+    @Test
+    public void testProjections() {
+        Collection<Integer> values = map.project(Projections.singleAttribute("this"), Predicates.greaterEqual("this", 900));
+        Set<Integer> expected = new HashSet<>();
+        for (int i = 900; i < ENTRIES; ++i) {
+            expected.add(i);
+        }
+        assertEquals(expected, new HashSet<>(values));
+    }
+
+    @Test
+    public void testQueries() {
+        Set<Integer> expected = new HashSet<>();
+        for (int i = 0; i < 10; ++i) {
+            expected.add(i);
+        }
+        assertEquals(expected, map.keySet(Predicates.lessThan("this", 10)));
+        assertEquals(expected, new HashSet<>(map.values(Predicates.lessThan("this", 10))));
+        assertEquals(10, map.entrySet(Predicates.lessThan("this", 10)).size());
+    }
+
+}
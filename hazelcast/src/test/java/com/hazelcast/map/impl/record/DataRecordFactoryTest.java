@@ -17,14 +17,22 @@
 package com.hazelcast.map.impl.record;
 
 import com.hazelcast.config.CacheDeserializedValues;
+import com.hazelcast.config.EvictionPolicy;
 import com.hazelcast.config.MapConfig;
 import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.spi.merge.LatestUpdateMergePolicy;
+import com.hazelcast.spi.merge.PassThroughMergePolicy;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.annotation.ParallelJVMTest;
 import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
 @RunWith(HazelcastParallelClassRunner.class)
 @Category({QuickTest.class, ParallelJVMTest.class})
 public class DataRecordFactoryTest extends AbstractRecordFactoryTest<Data> {
@@ -40,7 +48,7 @@ public class DataRecordFactoryTest extends AbstractRecordFactoryTest<Data> {
 
     @Override
     Class<?> getRecordClass() {
-        return DataRecord.class;
+        return SimpleDataRecord.class;
     }
 
     @Override
@@ -50,11 +58,94 @@ public class DataRecordFactoryTest extends AbstractRecordFactoryTest<Data> {
 
     @Override
     Class<?> getCachedRecordClass() {
-        return CachedDataRecord.class;
+        return CachedSimpleDataRecord.class;
     }
 
     @Override
     Class<?> getCachedRecordWithStatsClass() {
         return CachedDataRecordWithStats.class;
     }
+
+    @Test
+    public void testNewRecord_withEvictionPolicyLRU() {
+        MapConfig mapConfig = newMapConfigWithoutStats();
+        mapConfig.getEvictionConfig().setEvictionPolicy(EvictionPolicy.LRU);
+        factory = new DataRecordFactory(mapConfig, serializationService);
+
+        assertInstanceOf(SimpleDataRecordWithEviction.class, newRecord(factory, object1));
+    }
+
+    @Test
+    public void testNewRecord_withEvictionPolicyLFUAndCacheDeserializedValuesIsALWAYS() {
+        MapConfig mapConfig = newMapConfigWithoutStats()
+                .setCacheDeserializedValues(CacheDeserializedValues.ALWAYS);
+        mapConfig.getEvictionConfig().setEvictionPolicy(EvictionPolicy.LFU);
+        factory = new DataRecordFactory(mapConfig, serializationService);
+
+        assertInstanceOf(CachedSimpleDataRecordWithEviction.class, newRecord(factory, object1));
+    }
+
+    @Test
+    public void testNewRecord_withTimeToLive() {
+        MapConfig mapConfig = newMapConfigWithoutStats().setTimeToLiveSeconds(10);
+        factory = new DataRecordFactory(mapConfig, serializationService);
+
+        assertInstanceOf(DataRecord.class, newRecord(factory, object1));
+        assertFalse(factory.ensureExpirySupported());
+    }
+
+    @Test
+    public void testNewRecord_withMaxIdle() {
+        MapConfig mapConfig = newMapConfigWithoutStats().setMaxIdleSeconds(10);
+        factory = new DataRecordFactory(mapConfig, serializationService);
+
+        assertInstanceOf(DataRecord.class, newRecord(factory, object1));
+    }
+
+    @Test
+    public void testNewRecord_withMergePolicyUsingStats() {
+        MapConfig mapConfig = newMapConfigWithoutStats();
+        mapConfig.getMergePolicyConfig().setPolicy(LatestUpdateMergePolicy.class.getSimpleName());
+        factory = new DataRecordFactory(mapConfig, serializationService);
+
+        assertInstanceOf(DataRecord.class, newRecord(factory, object1));
+    }
+
+    @Test
+    public void testNewRecord_withMergePolicyNotUsingStats() {
+        MapConfig mapConfig = newMapConfigWithoutStats();
+        mapConfig.getMergePolicyConfig().setPolicy(PassThroughMergePolicy.class.getName());
+        factory = new DataRecordFactory(mapConfig, serializationService);
+
+        assertInstanceOf(SimpleDataRecord.class, newRecord(factory, object1));
+    }
+
+    @Test
+    public void testNewRecord_afterExpiryIsRequired() {
+        factory = new DataRecordFactory(newMapConfigWithoutStats(), serializationService);
+        assertInstanceOf(SimpleDataRecord.class, newRecord(factory, object1));
+
+        assertTrue(factory.ensureExpirySupported());
+        assertFalse(factory.ensureExpirySupported());
+        assertInstanceOf(DataRecord.class, newRecord(factory, object1));
+    }
+
+    @Test
+    public void testCompactRecord_ignoresExpirySettings() {
+        factory = new DataRecordFactory(newMapConfigWithoutStats(), serializationService);
+        record = newRecord(factory, object1);
+        record.setVersion(3);
+        record.setTtl(1000);
+
+        assertEquals(3, record.getVersion());
+        assertEquals(Long.MAX_VALUE, record.getTtl());
+        assertEquals(Long.MAX_VALUE, record.getMaxIdle());
+        assertEquals(0, record.getCreationTime());
+    }
+
+    private static MapConfig newMapConfigWithoutStats() {
+        return new MapConfig()
+                .setStatisticsEnabled(false)
+                .setCacheDeserializedValues(CacheDeserializedValues.NEVER);
+    }
 }
@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.core.EntryView;
+import com.hazelcast.internal.iteration.IterationPointer;
+import com.hazelcast.internal.memory.impl.MemoryManagerBean;
+import com.hazelcast.internal.memory.impl.UnsafeMemoryAllocator;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.map.impl.iterator.MapKeysWithCursor;
+import com.hazelcast.map.impl.record.NativeRecordFactory;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.memory.NativeOutOfMemoryError;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class NativeStorageTest {
+
+    private static final int ENTRY_COUNT = 1000;
+
+    private UnsafeMemoryAllocator allocator;
+    private SerializationService ss;
+    private NativeRecordFactory recordFactory;
+    private NativeStorage storage;
+
+    @Before
+    public void setUp() {
+        allocator = new UnsafeMemoryAllocator(16 << 20);
+        MemoryManagerBean memoryManager = new MemoryManagerBean(allocator, MEM);
+        ss = new DefaultSerializationServiceBuilder().build();
+        recordFactory = new NativeRecordFactory(memoryManager, ss);
+        storage = new NativeStorage(memoryManager, ss);
+    }
+
+    @After
+    public void tearDown() {
+        storage.destroy(false);
+    }
+
+    @Test
+    public void testPutAndGet() {
+        Data key = ss.toData("key");
+        storage.put(key, newRecord("value"));
+
+        Record record = storage.get(key);
+        assertEquals("value", ss.toObject(record.getValue()));
+        assertTrue(storage.containsKey(key));
+        assertEquals(1, storage.size());
+    }
+
+    @Test
+    public void testGet_whenAbsent() {
+        assertNull(storage.get(ss.toData("key")));
+        assertFalse(storage.containsKey(ss.toData("key")));
+        assertTrue(storage.isEmpty());
+    }
+
+    @Test
+    public void testPut_replacesExistingRecord() {
+        Data key = ss.toData("key");
+        storage.put(key, newRecord("value1"));
+        storage.put(key, newRecord("value2"));
+        storage.disposeDeferredBlocks();
+
+        assertEquals("value2", ss.toObject(storage.get(key).getValue()));
+        assertEquals(1, storage.size());
+    }
+
+    @Test
+    public void testRecordMetadata_isKeptOffHeap() {
+        Data key = ss.toData("key");
+        Record record = newRecord("value");
+        record.setVersion(5);
+        record.setHits(3);
+        record.setTtl(10000);
+        storage.put(key, record);
+
+        Record stored = storage.get(key);
+        assertEquals(5, stored.getVersion());
+        assertEquals(3, stored.getHits());
+        assertEquals(10000, stored.getTtl());
+    }
+
+    @Test
+    public void testUpdateRecordValue() {
+        Data key = ss.toData("key");
+        storage.put(key, newRecord("value1"));
+        storage.updateRecordValue(key, storage.get(key), "value2");
+
+        assertEquals("value2", ss.toObject(storage.get(key).getValue()));
+    }
+
+    @Test
+    public void testRemoveRecord() {
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            storage.put(ss.toData(i), newRecord(i));
+        }
+        for (int i = 0; i < ENTRY_COUNT; i += 2) {
+            Data key = ss.toData(i);
+            storage.removeRecord(key, storage.get(key));
+        }
+        storage.disposeDeferredBlocks();
+
+        assertEquals(ENTRY_COUNT / 2, storage.size());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            Record record = storage.get(ss.toData(i));
+            if (i % 2 == 0) {
+                assertNull(record);
+            } else {
+                assertEquals(i, (int) ss.toObject(record.getValue()));
+            }
+        }
+    }
+
+    @Test
+    public void testMutationTolerantIterator() {
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            storage.put(ss.toData(i), newRecord(i));
+        }
+
+        Set<Integer> seen = new HashSet<>();
+        Iterator<Map.Entry<Data, Record>> iterator = storage.mutationTolerantIterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Data, Record> entry = iterator.next();
+            int key = ss.toObject(entry.getKey());
+            assertEquals(key, (int) ss.toObject(entry.getValue().getValue()));
+            seen.add(key);
+            // removing the entries while iterating must not fail
+            storage.removeRecord(entry.getKey(), entry.getValue());
+        }
+        storage.disposeDeferredBlocks();
+
+        assertEquals(ENTRY_COUNT, seen.size());
+        assertTrue(storage.isEmpty());
+    }
+
+    @Test
+    public void testFetchKeys() {
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            storage.put(ss.toData(i), newRecord(i));
+        }
+
+        Set<Integer> fetched = new HashSet<>();
+        IterationPointer[] pointers = {new IterationPointer(Integer.MAX_VALUE, -1)};
+        do {
+            MapKeysWithCursor cursor = storage.fetchKeys(pointers, 100);
+            for (Data key : cursor.getBatch()) {
+                fetched.add(ss.toObject(key));
+            }
+            pointers = cursor.getIterationPointers();
+        } while (pointers[pointers.length - 1].getIndex() >= 0);
+
+        assertEquals(ENTRY_COUNT, fetched.size());
+    }
+
+    @Test
+    public void testGetRandomSamples() {
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            storage.put(ss.toData(i), newRecord(i));
+        }
+
+        int count = 0;
+        for (EntryView view : storage.getRandomSamples(15)) {
+            assertEquals(view.getKey(), view.getValue());
+            count++;
+        }
+        assertEquals(15, count);
+    }
+
+    @Test
+    public void testClear_releasesNativeMemory() {
+        storage.clear(false);
+        long baseline = allocator.getUsedMemory();
+
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            storage.put(ss.toData(i), newRecord(i));
+        }
+        assertTrue(allocator.getUsedMemory() > baseline);
+        assertTrue(storage.getEntryCostEstimator().getEstimate() > 0);
+
+        storage.clear(false);
+
+        assertEquals(baseline, allocator.getUsedMemory());
+        assertEquals(0, storage.getEntryCostEstimator().getEstimate());
+        assertTrue(storage.isEmpty());
+    }
+
+    @Test(expected = NativeOutOfMemoryError.class)
+    public void testPut_whenNativeMemoryExhausted() {
+        for (int i = 0; ; i++) {
+            storage.put(ss.toData(i), newRecord(new byte[1 << 16]));
+        }
+    }
+
+    private Record newRecord(Object value) {
+        return recordFactory.newRecord(value);
+    }
+}
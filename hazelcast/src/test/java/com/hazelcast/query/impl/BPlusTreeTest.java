@@ -0,0 +1,291 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static com.hazelcast.test.HazelcastTestSupport.spawn;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+@SuppressWarnings("rawtypes")
+public class BPlusTreeTest {
+
+    private static final int KEY_RANGE = 10_000;
+
+    private final Random random = new Random(42);
+
+    private final BPlusTree<Integer> tree = new BPlusTree<>();
+    private final NavigableMap<Comparable, Integer> reference = new TreeMap<>(Comparables.COMPARATOR);
+
+    @Test
+    public void testLongKeys() {
+        checkRandomOperations(i -> (long) i);
+    }
+
+    @Test
+    public void testIntegerKeys() {
+        checkRandomOperations(i -> i);
+    }
+
+    @Test
+    public void testDoubleKeys() {
+        checkRandomOperations(i -> i / 3.0);
+    }
+
+    @Test
+    public void testGenericKeys() {
+        checkRandomOperations(i -> "key-" + i);
+    }
+
+    @Test
+    public void testSwitchToGenericKeys() {
+        for (int i = 0; i < KEY_RANGE; i++) {
+            put((long) i, i);
+        }
+
+        // Doubles are compared with longs numerically, so the tree has to switch to generic leaves.
+        for (int i = 0; i < KEY_RANGE; i++) {
+            put(i + 0.5, -i);
+        }
+
+        assertEquals(Integer.valueOf(-10), tree.get(10.5));
+        assertEquals(Integer.valueOf(10), tree.get(10L));
+        assertEquals(Integer.valueOf(10), tree.get(10));
+        checkRanges(i -> i / 2.0);
+
+        checkRandomOperations(i -> i % 2 == 0 ? (Comparable) (long) i : (Comparable) (i + 0.25));
+    }
+
+    @Test
+    public void testKeyKindResetWhenEmpty() {
+        put(1L, 1);
+        remove(1L);
+        assertTrue(tree.isEmpty());
+
+        checkRandomOperations(i -> "key-" + i);
+
+        tree.clear();
+        reference.clear();
+        assertTrue(tree.isEmpty());
+
+        checkRandomOperations(i -> (long) i);
+    }
+
+    @Test
+    public void testRemoveAll() {
+        for (int i = 0; i < KEY_RANGE; i++) {
+            put((long) i, i);
+        }
+
+        for (int i = 0; i < KEY_RANGE; i++) {
+            int key = (i * 7919) % KEY_RANGE;
+
+            assertEquals(Integer.valueOf(key), tree.remove((long) key));
+            assertNull(tree.remove((long) key));
+            reference.remove((long) key);
+
+            if (i % 1000 == 0) {
+                checkContents();
+            }
+        }
+
+        assertTrue(tree.isEmpty());
+        assertFalse(tree.iterator(null, false, null, false).hasNext());
+    }
+
+    @Test
+    public void testIteratorSurvivesUpdates() {
+        for (int i = 0; i < KEY_RANGE; i++) {
+            put((long) i, i);
+        }
+
+        Iterator<Integer> iterator = tree.iterator(null, false, null, false);
+
+        // Remove every other key and add new keys after the iterator has been created.
+        for (int i = 0; i < KEY_RANGE; i += 2) {
+            tree.remove((long) i);
+        }
+
+        for (int i = KEY_RANGE; i < 2 * KEY_RANGE; i++) {
+            tree.put((long) i, i);
+        }
+
+        int previous = -1;
+        List<Integer> seen = new ArrayList<>();
+
+        while (iterator.hasNext()) {
+            int value = iterator.next();
+
+            assertTrue(value > previous);
+            previous = value;
+            seen.add(value);
+        }
+
+        // Keys that have not been modified must be observed.
+        for (int i = 1; i < KEY_RANGE; i += 2) {
+            assertTrue(seen.contains(i));
+        }
+    }
+
+    @Test
+    public void testConcurrentLookupsDuringSplits() throws Exception {
+        List<Integer> keys = new ArrayList<>();
+
+        for (int i = 0; i < 10 * KEY_RANGE; i++) {
+            keys.add(i);
+        }
+
+        // Random order splits leaves and internal nodes all over the tree.
+        Collections.shuffle(keys, random);
+
+        AtomicInteger published = new AtomicInteger();
+        AtomicBoolean done = new AtomicBoolean();
+        List<Future> readers = new ArrayList<>();
+
+        for (int i = 0; i < 4; i++) {
+            int seed = i;
+
+            readers.add(spawn(() -> {
+                Random readerRandom = new Random(seed);
+
+                while (!done.get()) {
+                    int count = published.get();
+
+                    if (count == 0) {
+                        continue;
+                    }
+
+                    int key = keys.get(readerRandom.nextInt(count));
+
+                    assertEquals(Integer.valueOf(key), tree.get((long) key));
+
+                    Iterator<Integer> iterator = tree.iterator((long) key, true, (long) key, true);
+
+                    assertTrue(iterator.hasNext());
+                    assertEquals(Integer.valueOf(key), iterator.next());
+                }
+            }));
+        }
+
+        try {
+            for (int key : keys) {
+                tree.put((long) key, key);
+                published.incrementAndGet();
+            }
+        } finally {
+            done.set(true);
+        }
+
+        for (Future reader : readers) {
+            reader.get();
+        }
+    }
+
+    private void checkRandomOperations(IntFunction<Comparable> keyFactory) {
+        for (int i = 0; i < 5 * KEY_RANGE; i++) {
+            Comparable key = keyFactory.apply(random.nextInt(KEY_RANGE));
+
+            if (random.nextInt(3) == 0) {
+                remove(key);
+            } else {
+                put(key, i);
+            }
+
+            if (i % KEY_RANGE == 0) {
+                checkContents();
+            }
+        }
+
+        checkContents();
+        checkRanges(keyFactory);
+    }
+
+    private void put(Comparable key, int value) {
+        assertEquals(reference.put(key, value), tree.put(key, value));
+    }
+
+    private void remove(Comparable key) {
+        assertEquals(reference.remove(key), tree.remove(key));
+    }
+
+    private void checkContents() {
+        assertEquals(new ArrayList<>(reference.values()), toList(tree.iterator(null, false, null, false)));
+
+        for (Comparable key : reference.keySet()) {
+            assertEquals(reference.get(key), tree.get(key));
+        }
+    }
+
+    private void checkRanges(IntFunction<Comparable> keyFactory) {
+        for (int i = 0; i < 100; i++) {
+            Comparable from = keyFactory.apply(random.nextInt(KEY_RANGE));
+            Comparable to = keyFactory.apply(random.nextInt(KEY_RANGE));
+
+            if (Comparables.compare(from, to) > 0) {
+                Comparable tmp = from;
+                from = to;
+                to = tmp;
+            }
+
+            boolean fromInclusive = random.nextBoolean();
+            boolean toInclusive = random.nextBoolean();
+
+            if (Comparables.compare(from, to) < 0 || fromInclusive && toInclusive) {
+                assertEquals(new ArrayList<>(reference.subMap(from, fromInclusive, to, toInclusive).values()),
+                        toList(tree.iterator(from, fromInclusive, to, toInclusive)));
+            }
+
+            assertEquals(new ArrayList<>(reference.headMap(to, toInclusive).values()),
+                    toList(tree.iterator(null, false, to, toInclusive)));
+            assertEquals(new ArrayList<>(reference.tailMap(from, fromInclusive).values()),
+                    toList(tree.iterator(from, fromInclusive, null, false)));
+        }
+    }
+
+    private static List<Integer> toList(Iterator<Integer> iterator) {
+        List<Integer> res = new ArrayList<>();
+
+        while (iterator.hasNext()) {
+            res.add(iterator.next());
+        }
+
+        return res;
+    }
+}
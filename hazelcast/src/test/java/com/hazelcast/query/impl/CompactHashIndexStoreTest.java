@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.test.HazelcastParallelParametersRunnerFactory;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+import org.junit.runners.Parameterized.UseParametersRunnerFactory;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+import static com.hazelcast.internal.monitor.impl.IndexOperationStats.EMPTY;
+import static com.hazelcast.query.impl.AbstractIndex.NULL;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singleton;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(Parameterized.class)
+@UseParametersRunnerFactory(HazelcastParallelParametersRunnerFactory.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class CompactHashIndexStoreTest {
+
+    @Parameter(0)
+    public IndexCopyBehavior copyBehavior;
+
+    private CompactHashIndexStore store;
+
+    @Parameters(name = "copyBehavior: {0}")
+    public static Collection<Object[]> parameters() {
+        return asList(new Object[][]{
+                {IndexCopyBehavior.COPY_ON_READ},
+                {IndexCopyBehavior.COPY_ON_WRITE},
+                {IndexCopyBehavior.NEVER},
+        });
+    }
+
+    @Before
+    public void before() {
+        store = new CompactHashIndexStore(copyBehavior);
+    }
+
+    @Test
+    public void testUniqueValues() {
+        QueryableEntry first = entry();
+        QueryableEntry second = entry();
+        store.insert(1L, first, EMPTY);
+        store.insert("b", second, EMPTY);
+
+        assertEquals(singleton(first), records(1));
+        assertEquals(singleton(first), records(1.0));
+        assertEquals(singleton(second), records("b"));
+        assertTrue(store.getRecords(2).isEmpty());
+        assertEquals(singleton(first), toSet(store.getSqlRecordIterator(1)));
+    }
+
+    @Test
+    public void testCollisionsInflateAndDeflate() {
+        QueryableEntry first = entry();
+        QueryableEntry second = entry();
+        QueryableEntry third = entry();
+        store.insert(1, first, EMPTY);
+        store.insert(1, second, EMPTY);
+        store.insert(1, third, EMPTY);
+        assertEquals(new HashSet<>(asList(first, second, third)), records(1));
+
+        store.remove(1, second.getKeyData(), null, EMPTY);
+        assertEquals(new HashSet<>(asList(first, third)), records(1));
+
+        store.remove(1, first.getKeyData(), null, EMPTY);
+        assertEquals(singleton(third), records(1));
+
+        store.remove(1, third.getKeyData(), null, EMPTY);
+        assertTrue(store.getRecords(1).isEmpty());
+    }
+
+    @Test
+    public void testUpdate() {
+        QueryableEntry entry = entry();
+        store.insert(1, entry, EMPTY);
+        store.update(1, 2, entry, EMPTY);
+
+        assertTrue(store.getRecords(1).isEmpty());
+        assertEquals(singleton(entry), records(2));
+
+        // reinserting the same record replaces it
+        QueryableEntry sameKey = entry(entry.getKeyData());
+        store.insert(2, sameKey, EMPTY);
+        assertEquals(singleton(sameKey), records(2));
+    }
+
+    @Test
+    public void testRemoveOfAbsentRecord() {
+        QueryableEntry entry = entry();
+        store.insert(1, entry, EMPTY);
+        store.remove(1, entry().getKeyData(), null, EMPTY);
+        store.remove(2, entry.getKeyData(), null, EMPTY);
+
+        assertEquals(singleton(entry), records(1));
+    }
+
+    @Test
+    public void testNullValues() {
+        QueryableEntry entry = entry();
+        store.insert(null, entry, EMPTY);
+
+        assertEquals(singleton(entry), new HashSet<>(store.getRecords(NULL)));
+        assertEquals(singleton(entry), toSet(store.getSqlRecordIterator()));
+    }
+
+    @Test
+    public void testRangeQueries() {
+        QueryableEntry[] entries = new QueryableEntry[10];
+        for (int i = 0; i < entries.length; ++i) {
+            entries[i] = entry();
+            store.insert(i % 2 == 0 ? (Comparable) i : (Comparable) (i + 0.5), entries[i], EMPTY);
+        }
+        QueryableEntry collision = entry();
+        store.insert(4, collision, EMPTY);
+
+        assertEquals(new HashSet<>(asList(entries[0], entries[1], entries[2], entries[3])),
+                new HashSet<>(store.getRecords(Comparison.LESS, 4)));
+        assertEquals(new HashSet<>(asList(entries[3], entries[4], collision)),
+                new HashSet<>(store.getRecords(3, true, 5, false)));
+        assertEquals(new HashSet<>(asList(entries[4], collision)), new HashSet<>(store.getRecords(4, true, 4, true)));
+        assertEquals(11, toSet(store.getSqlRecordIterator()).size());
+    }
+
+    @Test
+    public void testClear() {
+        store.insert(1, entry(), EMPTY);
+        store.insert("a", entry(), EMPTY);
+        store.insert(null, entry(), EMPTY);
+        store.clear();
+
+        assertFalse(store.getSqlRecordIterator().hasNext());
+    }
+
+    @Test
+    public void testStatisticsRecordOnlyActualChanges() {
+        IndexStatistics statistics = new IndexStatistics();
+        store = new CompactHashIndexStore(copyBehavior, statistics);
+
+        QueryableEntry entry = entry();
+        store.insert(1, entry, EMPTY);
+        // reinserting the same record, as an index build racing with updates does
+        store.insert(1, entry, EMPTY);
+        assertEquals(1, statistics.getEntryCount());
+        assertEquals(1, statistics.estimateEqual(1));
+
+        store.remove(1, entry().getKeyData(), null, EMPTY);
+        assertEquals(1, statistics.getEntryCount());
+
+        store.update(1, 2, entry, EMPTY);
+        assertEquals(1, statistics.getEntryCount());
+        assertEquals(0, statistics.estimateEqual(1));
+        assertEquals(1, statistics.estimateEqual(2));
+
+        store.remove(2, entry.getKeyData(), null, EMPTY);
+        assertEquals(0, statistics.getEntryCount());
+    }
+
+    private Set<QueryableEntry> records(Comparable value) {
+        return new HashSet<>(store.getRecords(store.canonicalizeQueryArgumentScalar(value)));
+    }
+
+    private static Set<QueryableEntry> toSet(Iterator<QueryableEntry> iterator) {
+        Set<QueryableEntry> set = new HashSet<>();
+        iterator.forEachRemaining(set::add);
+        return set;
+    }
+
+    private static QueryableEntry entry() {
+        return entry(mock(Data.class));
+    }
+
+    private static QueryableEntry entry(Data key) {
+        QueryableEntry entry = mock(QueryableEntry.class);
+        when(entry.getKeyData()).thenReturn(key);
+        return entry;
+    }
+
+}
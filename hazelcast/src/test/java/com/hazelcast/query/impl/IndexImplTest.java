@@ -31,6 +31,7 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
+import static org.junit.Assert.assertNull;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -68,6 +69,11 @@ public class IndexImplTest {
         verify(entry, never()).getKey();
     }
 
+    @Test
+    public void statisticsNotMaintainedByDefault() {
+        assertNull(index.getStatistics());
+    }
+
     private QueryableEntry createMockQueryableEntry() {
         QueryableEntry entry = mock(QueryableEntry.class);
         Data keyData = mock(Data.class);
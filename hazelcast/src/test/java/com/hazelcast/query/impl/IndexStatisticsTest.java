@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class IndexStatisticsTest {
+
+    private final IndexStatistics statistics = new IndexStatistics();
+
+    @Test
+    public void testEqualEstimateOfSkewedValues() {
+        for (int i = 0; i < 10000; ++i) {
+            statistics.onInsert(i % 10 == 0 ? i : 1);
+        }
+
+        assertEquals(10000, statistics.getEntryCount());
+        assertTrue(statistics.estimateEqual(1) >= 9000);
+        assertTrue(statistics.estimateEqual(1L) >= 9000);
+        assertTrue(statistics.estimateEqual(20) >= 1);
+        assertTrue(statistics.estimateEqual(20) < 100);
+    }
+
+    @Test
+    public void testEqualEstimateOfNull() {
+        statistics.onInsert(null);
+        statistics.onInsert(AbstractIndex.NULL);
+
+        assertEquals(2, statistics.estimateEqual(AbstractIndex.NULL));
+    }
+
+    @Test
+    public void testRemove() {
+        for (int i = 0; i < 100; ++i) {
+            statistics.onInsert(5);
+        }
+        for (int i = 0; i < 60; ++i) {
+            statistics.onRemove(5);
+        }
+
+        assertEquals(40, statistics.getEntryCount());
+        assertEquals(40, statistics.estimateEqual(5));
+        assertEquals(40, statistics.estimateRange(0, 10));
+    }
+
+    @Test
+    public void testRangeEstimate() {
+        for (int i = 0; i < 1000; ++i) {
+            statistics.onInsert(i);
+        }
+        statistics.onInsert(1_000_000);
+
+        assertEquals(0, statistics.estimateRange(-10, -1));
+        assertTrue(statistics.estimateRange(500_000, null) <= 1);
+        assertTrue(statistics.estimateRange(null, 10) < 20);
+        assertTrue(statistics.estimateRange(100, null) > 500);
+        assertEquals(0, statistics.estimateRange(10, 5));
+    }
+
+    @Test
+    public void testRangeEstimateOfNonNumericValues() {
+        for (int i = 0; i < 300; ++i) {
+            statistics.onInsert("value" + i);
+        }
+
+        assertEquals(100, statistics.estimateRange("value1", "value2"));
+    }
+
+    @Test
+    public void testClear() {
+        for (int i = 0; i < 100; ++i) {
+            statistics.onInsert(i);
+        }
+        statistics.clear();
+
+        assertEquals(0, statistics.getEntryCount());
+        assertEquals(0, statistics.estimateEqual(1));
+        assertEquals(0, statistics.estimateRange(0, 100));
+    }
+
+}
@@ -0,0 +1,278 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.bitmap;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Iterator;
+import java.util.NavigableSet;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static com.hazelcast.query.impl.bitmap.ContainerBitSet.ARRAY_CONTAINER_MAX_SIZE;
+import static com.hazelcast.query.impl.bitmap.ContainerBitSet.RUN_CONTAINER_MAX_RUNS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ContainerBitSetTest {
+
+    private static final int CONTAINER_CAPACITY = 1 << 16;
+
+    private final NavigableSet<Long> expected = new TreeSet<>();
+    private final ContainerBitSet actual = new ContainerBitSet();
+
+    @Test
+    public void testAddRemove() {
+        // try empty set
+        verify(expected, actual);
+
+        // runs
+        for (long i = 0; i < 3 * CONTAINER_CAPACITY / 2; ++i) {
+            add(i);
+        }
+        verify(expected, actual);
+
+        // array containers
+        for (long i = 0; i < ARRAY_CONTAINER_MAX_SIZE; ++i) {
+            add(10 * CONTAINER_CAPACITY + i * 3);
+        }
+        verify(expected, actual);
+
+        // bitmap containers
+        for (long i = 0; i < 2 * ARRAY_CONTAINER_MAX_SIZE; ++i) {
+            add(20 * CONTAINER_CAPACITY + i * 5);
+        }
+        verify(expected, actual);
+
+        // back to array containers
+        for (long i = 0; i < 2 * ARRAY_CONTAINER_MAX_SIZE; i += 2) {
+            remove(20 * CONTAINER_CAPACITY + i * 5);
+        }
+        verify(expected, actual);
+
+        // split runs
+        for (long i = 0; i < 3 * CONTAINER_CAPACITY / 2; i += 7) {
+            remove(i);
+        }
+        verify(expected, actual);
+
+        // clear everything we have added
+        for (Long member : expected.toArray(new Long[0])) {
+            remove(member);
+        }
+        verify(expected, actual);
+        assertTrue(actual.isEmpty());
+    }
+
+    @Test
+    public void testFullContainer() {
+        for (long i = CONTAINER_CAPACITY - 1; i >= 0; --i) {
+            add(i * 7 % CONTAINER_CAPACITY);
+        }
+        verify(expected, actual);
+
+        remove(CONTAINER_CAPACITY / 2);
+        verify(expected, actual);
+    }
+
+    @Test
+    public void testRemoveReportsEmptiness() {
+        actual.add(1);
+        actual.add(CONTAINER_CAPACITY + 1);
+
+        assertFalse(actual.remove(2));
+        assertFalse(actual.remove(1));
+        assertFalse(actual.remove(1));
+        assertTrue(actual.remove(CONTAINER_CAPACITY + 1));
+    }
+
+    @Test
+    public void testRandomAddRemove() {
+        Random random = new Random(404);
+        for (int i = 0; i < 100000; ++i) {
+            long member = random.nextInt(4 * CONTAINER_CAPACITY);
+            if (random.nextInt(3) == 0) {
+                remove(member);
+            } else {
+                add(member);
+            }
+        }
+        verify(expected, actual);
+    }
+
+    @Test
+    public void testAdvanceAtLeastTo() {
+        Random random = new Random(404);
+        for (int i = 0; i < 20000; ++i) {
+            add(random.nextInt(8 * CONTAINER_CAPACITY));
+        }
+        for (long i = 100 * CONTAINER_CAPACITY; i < 101 * CONTAINER_CAPACITY; ++i) {
+            add(i);
+        }
+
+        for (long step = 1; step < 10 * CONTAINER_CAPACITY; step = step * 3 + 1) {
+            AscendingLongIterator iterator = actual.iterator();
+            for (long member = 0; member < 102 * CONTAINER_CAPACITY; member += step) {
+                Long expectedMember = expected.ceiling(member);
+                long expectedIndex = expectedMember == null ? AscendingLongIterator.END : expectedMember;
+                assertEquals(expectedIndex, iterator.advanceAtLeastTo(member));
+                assertEquals(expectedIndex, iterator.getIndex());
+            }
+        }
+    }
+
+    @Test
+    public void testSetOperations() {
+        Random random = new Random(404);
+        long[] bounds = {100, 10 * CONTAINER_CAPACITY, 3 * CONTAINER_CAPACITY};
+        int[] sizes = {50, 5000, 50000};
+
+        for (long leftBound : bounds) {
+            for (int leftSize : sizes) {
+                for (long rightBound : bounds) {
+                    for (int rightSize : sizes) {
+                        NavigableSet<Long> leftExpected = new TreeSet<>();
+                        ContainerBitSet left = new ContainerBitSet();
+                        fill(leftExpected, left, random, leftBound, leftSize);
+
+                        NavigableSet<Long> rightExpected = new TreeSet<>();
+                        ContainerBitSet right = new ContainerBitSet();
+                        fill(rightExpected, right, random, rightBound, rightSize);
+
+                        verifySetOperations(leftExpected, left, rightExpected, right);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSetOperationsOnRuns() {
+        NavigableSet<Long> leftExpected = new TreeSet<>();
+        ContainerBitSet left = new ContainerBitSet();
+        NavigableSet<Long> rightExpected = new TreeSet<>();
+        ContainerBitSet right = new ContainerBitSet();
+
+        for (long i = 0; i < 5 * CONTAINER_CAPACITY; ++i) {
+            if (i % 1000 < 600) {
+                leftExpected.add(i);
+                left.add(i);
+            }
+            if (i % 100000 > 300) {
+                rightExpected.add(i);
+                right.add(i);
+            }
+        }
+        verifySetOperations(leftExpected, left, rightExpected, right);
+
+        // too many runs for a run container
+        for (long i = 0; i < CONTAINER_CAPACITY; i += 2 * CONTAINER_CAPACITY / RUN_CONTAINER_MAX_RUNS) {
+            leftExpected.add(i);
+            left.add(i);
+        }
+        verifySetOperations(leftExpected, left, rightExpected, right);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testMultiwayOperations() {
+        Random random = new Random(404);
+        NavigableSet<Long>[] expectedSets = new NavigableSet[5];
+        ContainerBitSet[] actualSets = new ContainerBitSet[expectedSets.length];
+        for (int i = 0; i < expectedSets.length; ++i) {
+            expectedSets[i] = new TreeSet<>();
+            actualSets[i] = new ContainerBitSet();
+            fill(expectedSets[i], actualSets[i], random, 2 * CONTAINER_CAPACITY, 100000 / (i + 1));
+        }
+
+        NavigableSet<Long> expectedAnd = new TreeSet<>(expectedSets[0]);
+        NavigableSet<Long> expectedOr = new TreeSet<>();
+        for (NavigableSet<Long> set : expectedSets) {
+            expectedAnd.retainAll(set);
+            expectedOr.addAll(set);
+        }
+        verify(expectedAnd, ContainerBitSet.and(actualSets));
+        verify(expectedOr, ContainerBitSet.or(actualSets));
+
+        // the operands are untouched
+        for (int i = 0; i < expectedSets.length; ++i) {
+            verify(expectedSets[i], actualSets[i]);
+        }
+    }
+
+    private void add(long member) {
+        expected.add(member);
+        actual.add(member);
+    }
+
+    private void remove(long member) {
+        expected.remove(member);
+        actual.remove(member);
+    }
+
+    private static void fill(NavigableSet<Long> expected, ContainerBitSet actual, Random random, long bound, int size) {
+        for (int i = 0; i < size; ++i) {
+            long member = (long) (random.nextDouble() * bound);
+            expected.add(member);
+            actual.add(member);
+        }
+    }
+
+    private static void verifySetOperations(NavigableSet<Long> leftExpected, ContainerBitSet left,
+                                            NavigableSet<Long> rightExpected, ContainerBitSet right) {
+        NavigableSet<Long> and = new TreeSet<>(leftExpected);
+        and.retainAll(rightExpected);
+        verify(and, ContainerBitSet.and(left, right));
+
+        NavigableSet<Long> or = new TreeSet<>(leftExpected);
+        or.addAll(rightExpected);
+        verify(or, ContainerBitSet.or(left, right));
+
+        NavigableSet<Long> andNot = new TreeSet<>(leftExpected);
+        andNot.removeAll(rightExpected);
+        verify(andNot, ContainerBitSet.andNot(left, right));
+
+        // the operands are untouched
+        verify(leftExpected, left);
+        verify(rightExpected, right);
+    }
+
+    private static void verify(NavigableSet<Long> expected, ContainerBitSet actual) {
+        assertEquals(expected.size(), actual.cardinality());
+        assertEquals(expected.isEmpty(), actual.isEmpty());
+
+        AscendingLongIterator actualIterator = actual.iterator();
+        Iterator<Long> expectedIterator = expected.iterator();
+        while (expectedIterator.hasNext()) {
+            long expectedMember = expectedIterator.next();
+            assertEquals(expectedMember, actualIterator.getIndex());
+            assertEquals(expectedMember, actualIterator.advance());
+            assertTrue(actual.contains(expectedMember));
+        }
+        assertEquals(AscendingLongIterator.END, actualIterator.getIndex());
+        assertEquals(AscendingLongIterator.END, actualIterator.advance());
+    }
+
+}
@@ -38,9 +38,11 @@ public class SparseBitSetIterateBenchmark {
     private static final long MEMBER_MASK = 0x00000000000FFFFFL;
 
     private final SparseBitSet bitSet = new SparseBitSet();
+    private final ContainerBitSet containerBitSet = new ContainerBitSet();
     private final Roaring64NavigableMap roaringBitmap = new Roaring64NavigableMap();
 
     private AscendingLongIterator iterator;
+    private AscendingLongIterator containerIterator;
     private LongIterator iteratorRoaring;
 
     @Setup
@@ -52,6 +54,13 @@ public class SparseBitSetIterateBenchmark {
         }
         iterator = bitSet.iterator();
 
+        random = new Random(404);
+        for (int i = 0; i < SIZE; ++i) {
+            long v = random.nextLong() & MEMBER_MASK;
+            containerBitSet.add(v);
+        }
+        containerIterator = containerBitSet.iterator();
+
         random = new Random(404);
         for (int i = 0; i < SIZE; ++i) {
             long v = random.nextLong() & MEMBER_MASK;
@@ -73,6 +82,16 @@ public class SparseBitSetIterateBenchmark {
         return member;
     }
 
+    @Benchmark
+    public long iterateContainer() {
+        long member = containerIterator.advance();
+        if (member == AscendingLongIterator.END) {
+            containerIterator = containerBitSet.iterator();
+            member = containerIterator.advance();
+        }
+        return member;
+    }
+
     @Benchmark
     public long iterateRoaring() {
         if (!iteratorRoaring.hasNext()) {
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.predicates;
+
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.IndexStatistics;
+import com.hazelcast.query.impl.Indexes;
+import com.hazelcast.query.impl.InternalIndex;
+import com.hazelcast.query.impl.QueryContext.IndexMatchHint;
+import com.hazelcast.query.impl.TypeConverters;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.query.Predicates.and;
+import static com.hazelcast.query.Predicates.equal;
+import static com.hazelcast.query.Predicates.greaterThan;
+import static com.hazelcast.query.Predicates.in;
+import static com.hazelcast.query.Predicates.like;
+import static com.hazelcast.query.impl.Indexes.SKIP_PARTITIONS_COUNT_CHECK;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class IndexSelectionVisitorTest {
+
+    private final IndexSelectionVisitor visitor = new IndexSelectionVisitor();
+    private Indexes indexes;
+
+    @Before
+    public void before() {
+        indexes = mock(Indexes.class);
+
+        // "skewed" has 10000 entries with value 0 and 10 entries with values 1..10
+        IndexStatistics skewed = new IndexStatistics();
+        for (int i = 0; i < 10000; ++i) {
+            skewed.onInsert(0);
+        }
+        for (int i = 1; i <= 10; ++i) {
+            skewed.onInsert(i);
+        }
+
+        // "uniform" has 10010 entries with values 0..10009
+        IndexStatistics uniform = new IndexStatistics();
+        for (int i = 0; i < 10010; ++i) {
+            uniform.onInsert(i);
+        }
+
+        InternalIndex skewedIndex = mockIndex(skewed);
+        InternalIndex uniformIndex = mockIndex(uniform);
+        when(indexes.matchIndex(eq("skewed"), any(IndexMatchHint.class), eq(SKIP_PARTITIONS_COUNT_CHECK)))
+                .thenReturn(skewedIndex);
+        when(indexes.matchIndex(eq("uniform"), any(IndexMatchHint.class), eq(SKIP_PARTITIONS_COUNT_CHECK)))
+                .thenReturn(uniformIndex);
+    }
+
+    @Test
+    public void whenSelectiveEqual_thenOtherIndexedPredicatesAreResidual() {
+        Predicate selective = equal("skewed", 5);
+        Predicate range = greaterThan("uniform", 100);
+        AndPredicate result = (AndPredicate) visitor.visit((AndPredicate) and(selective, range), indexes);
+
+        assertSame(selective, result.predicates[0]);
+        assertTrue(result.predicates[1] instanceof SkipIndexPredicate);
+        assertSame(range, ((SkipIndexPredicate) result.predicates[1]).getTarget());
+    }
+
+    @Test
+    public void whenSkewedValueIsNotSelective_thenItBecomesResidual() {
+        Predicate popular = equal("skewed", 0);
+        Predicate selective = equal("uniform", 42);
+        AndPredicate result = (AndPredicate) visitor.visit((AndPredicate) and(popular, selective), indexes);
+
+        assertTrue(result.predicates[0] instanceof SkipIndexPredicate);
+        assertSame(selective, result.predicates[1]);
+    }
+
+    @Test
+    public void whenEstimatesAreClose_thenPredicateIsUnchanged() {
+        AndPredicate and = (AndPredicate) and(in("skewed", 1, 2, 3), equal("uniform", 42));
+        assertSame(and, visitor.visit(and, indexes));
+    }
+
+    @Test
+    public void whenNotEnoughEstimates_thenPredicateIsUnchanged() {
+        AndPredicate and = (AndPredicate) and(equal("skewed", 0), like("uniform", "4%"), equal("unindexed", 1));
+        assertSame(and, visitor.visit(and, indexes));
+    }
+
+    @Test
+    public void whenUnestimatedPredicates_thenTheyAreUnchanged() {
+        Predicate popular = equal("skewed", 0);
+        Predicate selective = equal("uniform", 42);
+        Predicate unindexed = equal("unindexed", 1);
+        AndPredicate result = (AndPredicate) visitor.visit((AndPredicate) and(popular, selective, unindexed), indexes);
+
+        assertEquals(3, result.predicates.length);
+        assertTrue(result.predicates[0] instanceof SkipIndexPredicate);
+        assertSame(selective, result.predicates[1]);
+        assertSame(unindexed, result.predicates[2]);
+    }
+
+    private static InternalIndex mockIndex(IndexStatistics statistics) {
+        InternalIndex index = mock(InternalIndex.class);
+        when(index.isOrdered()).thenReturn(true);
+        when(index.getConverter()).thenReturn(TypeConverters.INTEGER_CONVERTER);
+        when(index.getStatistics()).thenReturn(statistics);
+        return index;
+    }
+
+}
@@ -27,7 +27,9 @@ import org.junit.runner.RunWith;
 
 import static com.hazelcast.spi.properties.ClusterProperty.QUERY_OPTIMIZER_TYPE;
 import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -47,6 +49,16 @@ public class QueryOptimizerFactoryTest {
         QueryOptimizer queryOptimizer = QueryOptimizerFactory.newOptimizer(hazelcastProperties);
 
         assertThat(queryOptimizer, instanceOf(RuleBasedQueryOptimizer.class));
+        assertFalse(queryOptimizer.usesIndexStatistics());
+    }
+
+    @Test
+    public void newOptimizer_whenPropertyContainsCost_thenCreateCostBasedOptimizer() {
+        HazelcastProperties hazelcastProperties = createMockHazelcastProperties(QUERY_OPTIMIZER_TYPE, "COST");
+        QueryOptimizer queryOptimizer = QueryOptimizerFactory.newOptimizer(hazelcastProperties);
+
+        assertThat(queryOptimizer, instanceOf(CostBasedQueryOptimizer.class));
+        assertTrue(queryOptimizer.usesIndexStatistics());
     }
 
     @Test
@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.spi.impl.operationexecutor.impl;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class MPSCArrayOperationQueueTest extends HazelcastTestSupport {
+
+    private MPSCArrayOperationQueue operationQueue = newQueue(4, 2);
+
+    @Test(expected = NullPointerException.class)
+    public void add_whenNull() {
+        operationQueue.add(null, false);
+    }
+
+    @Test
+    public void add_updatesSizes() {
+        operationQueue.add("normal", false);
+        operationQueue.add("priority", true);
+
+        assertEquals(1, operationQueue.normalSize());
+        assertEquals(1, operationQueue.prioritySize());
+        assertEquals(2, operationQueue.size());
+    }
+
+    @Test
+    public void take_whenRegularItemsAvailable_thenFifo() throws InterruptedException {
+        for (int i = 0; i < 3; ++i) {
+            operationQueue.add("task" + i, false);
+        }
+
+        for (int i = 0; i < 3; ++i) {
+            assertEquals("task" + i, operationQueue.take(false));
+        }
+        assertEquals(0, operationQueue.size());
+    }
+
+    @Test
+    public void take_whenArrayOverflows_thenFifo() throws InterruptedException {
+        // the capacity of the array is 4, the rest overflows
+        for (int i = 0; i < 20; ++i) {
+            operationQueue.add(i, false);
+        }
+        assertEquals(20, operationQueue.normalSize());
+
+        for (int i = 0; i < 10; ++i) {
+            assertEquals(i, operationQueue.take(false));
+        }
+        for (int i = 20; i < 30; ++i) {
+            operationQueue.add(i, false);
+        }
+        for (int i = 10; i < 30; ++i) {
+            assertEquals(i, operationQueue.take(false));
+        }
+        assertEquals(0, operationQueue.size());
+    }
+
+    @Test
+    public void take_priorityIsRetrievedFirst() throws InterruptedException {
+        operationQueue.add("normal1", false);
+        operationQueue.add("normal2", false);
+        operationQueue.add("normal3", false);
+
+        // the first normal task drains a batch of two tasks into the buffer
+        assertSame("normal1", operationQueue.take(false));
+        operationQueue.add("priority1", true);
+        operationQueue.add("priority2", true);
+
+        assertSame("priority1", operationQueue.take(false));
+        assertSame("priority2", operationQueue.take(false));
+        assertSame("normal2", operationQueue.take(false));
+        assertSame("normal3", operationQueue.take(false));
+        assertEquals(0, operationQueue.size());
+    }
+
+    @Test
+    public void take_whenPriorityOnly_thenNormalItemsAreSkipped() throws InterruptedException {
+        operationQueue.add("normal", false);
+        operationQueue.add("priority", true);
+
+        assertSame("priority", operationQueue.take(true));
+        assertEquals(1, operationQueue.normalSize());
+        assertEquals(0, operationQueue.prioritySize());
+    }
+
+    @Test
+    public void take_whenNoItemAvailable_thenBlockTillItemAvailable() throws Exception {
+        Future<Object> future = startConsumer(() -> operationQueue.take(false));
+
+        sleepMillis(500);
+        operationQueue.add("task", false);
+
+        assertSame("task", future.get());
+    }
+
+    @Test
+    public void take_whenManyProducers_thenAllItemsTaken() throws Exception {
+        int producerCount = 4;
+        int itemsPerProducer = 10000;
+        Future<long[]> consumer = startConsumer(() -> {
+            long[] lastSeen = new long[producerCount];
+            for (int i = 0; i < producerCount * itemsPerProducer; ++i) {
+                long item = (Long) operationQueue.take(false);
+                int producer = (int) (item / itemsPerProducer);
+                // the items of every producer are taken in order
+                assertEquals(lastSeen[producer], item % itemsPerProducer);
+                lastSeen[producer]++;
+            }
+            return lastSeen;
+        });
+
+        sleepMillis(100);
+        for (int producer = 0; producer < producerCount; ++producer) {
+            long base = (long) producer * itemsPerProducer;
+            spawn(() -> {
+                for (int i = 0; i < itemsPerProducer; ++i) {
+                    operationQueue.add(base + i, false);
+                }
+            });
+        }
+
+        for (long taken : consumer.get()) {
+            assertEquals(itemsPerProducer, taken);
+        }
+    }
+
+    @Test
+    public void take_whenConsumerParksBetweenTasks_thenEveryTaskIsExecuted() throws Exception {
+        int taskCount = 100000;
+        AtomicInteger executed = new AtomicInteger();
+        Future<Object> consumer = startConsumer(() -> {
+            for (int i = 0; i < taskCount; ++i) {
+                operationQueue.take(false);
+                executed.incrementAndGet();
+            }
+            return null;
+        });
+
+        Random random = new Random();
+        for (int i = 0; i < taskCount; ++i) {
+            // the pauses let the consumer spin, yield or park before the add
+            int pause = random.nextInt(400);
+            if (pause % 4 == 0) {
+                LockSupport.parkNanos(pause * 50L);
+            }
+            operationQueue.add(i, false);
+
+            // the next task isn't added before this one is executed, so a lost
+            // wakeup can't be hidden by a later add unparking the consumer
+            long deadline = System.nanoTime() + SECONDS.toNanos(ASSERT_TRUE_EVENTUALLY_TIMEOUT);
+            while (executed.get() <= i) {
+                assertTrue("the consumer missed the wakeup for task " + i, System.nanoTime() < deadline);
+                Thread.yield();
+            }
+        }
+
+        consumer.get();
+        assertEquals(0, operationQueue.size());
+    }
+
+    private <E> Future<E> startConsumer(Callable<E> callable) {
+        FutureTask<E> task = new FutureTask<>(callable);
+        Thread consumer = new Thread(task);
+        operationQueue.setConsumerThread(consumer);
+        consumer.start();
+        return task;
+    }
+
+    private static MPSCArrayOperationQueue newQueue(int capacity, int batchSize) {
+        MPSCArrayOperationQueue queue = new MPSCArrayOperationQueue(capacity, batchSize);
+        queue.setConsumerThread(Thread.currentThread());
+        return queue;
+    }
+}
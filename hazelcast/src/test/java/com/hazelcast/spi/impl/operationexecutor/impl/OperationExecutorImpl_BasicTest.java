@@ -16,6 +16,7 @@
 
 package com.hazelcast.spi.impl.operationexecutor.impl;
 
+import com.hazelcast.internal.util.ThreadAffinityHelper;
 import com.hazelcast.spi.impl.operationservice.Operation;
 import com.hazelcast.test.AssertTask;
 import com.hazelcast.test.HazelcastSerialClassRunner;
@@ -24,6 +25,7 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
+import java.util.BitSet;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.CyclicBarrier;
 import java.util.concurrent.TimeUnit;
@@ -31,9 +33,11 @@ import java.util.concurrent.TimeUnit;
 import static com.hazelcast.spi.impl.operationservice.Operation.GENERIC_PARTITION_ID;
 import static com.hazelcast.spi.properties.ClusterProperty.GENERIC_OPERATION_THREAD_COUNT;
 import static com.hazelcast.spi.properties.ClusterProperty.PARTITION_COUNT;
+import static com.hazelcast.spi.properties.ClusterProperty.PARTITION_OPERATION_THREAD_CORE_AFFINITY_ENABLED;
 import static com.hazelcast.spi.properties.ClusterProperty.PARTITION_OPERATION_THREAD_COUNT;
 import static com.hazelcast.spi.properties.ClusterProperty.PRIORITY_GENERIC_OPERATION_THREAD_COUNT;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 @RunWith(HazelcastSerialClassRunner.class)
 @Category(QuickTest.class)
@@ -53,6 +57,38 @@ public class OperationExecutorImpl_BasicTest extends OperationExecutorImpl_Abstr
                 executor.getGenericThreadCount());
     }
 
+    @Test
+    public void testConstruction_whenCoreAffinityEnabled() {
+        config.setProperty(PARTITION_OPERATION_THREAD_CORE_AFFINITY_ENABLED.getName(), "true");
+        initExecutor();
+
+        BitSet allowedCpus = ThreadAffinityHelper.getAffinity();
+        assertEquals(allowedCpus.cardinality(), executor.getPartitionThreadCount());
+
+        // the N-th partition is owned by the N-th partition thread, which is pinned to the N-th allowed CPU
+        int cpu = allowedCpus.nextSetBit(0);
+        for (int partitionId = 0; partitionId < executor.getPartitionThreadCount(); partitionId++) {
+            PartitionOperationThread owner = (PartitionOperationThread) executor.getPartitionOperationRunners()[partitionId]
+                    .currentThread();
+            // the queue type isn't changed by the affinity
+            assertInstanceOf(OperationQueueImpl.class, owner.queue);
+
+            PartitionSpecificCallable<BitSet> task = new PartitionSpecificCallable<BitSet>(partitionId) {
+                @Override
+                public BitSet call() {
+                    assertSame(owner, Thread.currentThread());
+                    return ThreadAffinityHelper.getAffinity();
+                }
+            };
+            executor.execute(task);
+
+            BitSet expectedCpus = new BitSet();
+            expectedCpus.set(cpu);
+            assertTrueEventually(() -> assertEquals(expectedCpus, task.getResult()));
+            cpu = allowedCpus.nextSetBit(cpu + 1);
+        }
+    }
+
     @Test
     public void test_getRunningOperationCount() {
         initExecutor();
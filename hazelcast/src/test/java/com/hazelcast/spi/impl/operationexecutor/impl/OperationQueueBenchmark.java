@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.spi.impl.operationexecutor.impl;
+
+import com.hazelcast.internal.util.concurrent.MPSCQueue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the partition thread queues under the fan-in pattern produced by
+ * the {@link OperationExecutorImpl}: many IO and user threads add tasks to
+ * the queue of a single partition thread.
+ * <p>
+ * Every producer thread has at most {@link #WINDOW} tasks in the queue, like
+ * a caller with a bounded number of pending invocations. The number of
+ * producers is controlled with the {@code -t} option of JMH.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class OperationQueueBenchmark {
+
+    private static final int WINDOW = 1024;
+    private static final Object SHUTDOWN = new Object();
+
+    @Param({"linked", "array"})
+    public String queueType;
+
+    private OperationQueue queue;
+    private Thread consumer;
+
+    @Setup
+    public void setup() {
+        consumer = new Thread(this::consume, "partition-operation");
+        if ("array".equals(queueType)) {
+            MPSCArrayOperationQueue arrayQueue = new MPSCArrayOperationQueue();
+            arrayQueue.setConsumerThread(consumer);
+            queue = arrayQueue;
+        } else {
+            // the same setup as the partition threads use by default
+            queue = new OperationQueueImpl(new MPSCQueue<>(consumer, null), new ConcurrentLinkedQueue<>());
+        }
+        consumer.start();
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        queue.add(SHUTDOWN, false);
+        consumer.join();
+    }
+
+    @Benchmark
+    public void add(Producer producer) {
+        while (producer.produced - producer.consumed >= WINDOW) {
+            Thread.yield();
+        }
+        producer.produced++;
+        queue.add(producer, false);
+    }
+
+    private void consume() {
+        try {
+            for (; ; ) {
+                Object task = queue.take(false);
+                if (task == SHUTDOWN) {
+                    return;
+                }
+                Producer producer = (Producer) task;
+                // the consumer is the only writer
+                producer.consumed = producer.consumed + 1;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Producer {
+        long produced;
+        volatile long consumed;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(OperationQueueBenchmark.class.getSimpleName())
+                .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.spi.impl.operationservice.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class OperationBatchingTest extends HazelcastTestSupport {
+
+    private static final int THREADS = 8;
+    private static final int KEYS_PER_THREAD = 500;
+
+    private HazelcastInstance local;
+    private HazelcastInstance remote;
+
+    @Before
+    public void setup() {
+        Config config = smallInstanceConfig();
+        // few partitions, so the concurrent operations often target the same one
+        config.setProperty(ClusterProperty.PARTITION_COUNT.getName(), "3");
+        config.setProperty(ClusterProperty.OPERATION_BATCHING_ENABLED.getName(), "true");
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        local = factory.newHazelcastInstance(config);
+        remote = factory.newHazelcastInstance(config);
+        warmUpPartitions(local, remote);
+    }
+
+    @Test
+    public void testConcurrentOperations() throws Exception {
+        IMap<Integer, Integer> map = local.getMap("map");
+        List<Future> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; ++t) {
+            int base = t * KEYS_PER_THREAD;
+            futures.add(spawn(() -> {
+                for (int i = base; i < base + KEYS_PER_THREAD; ++i) {
+                    map.put(i, i);
+                    assertEquals(i, (int) map.get(i));
+                }
+            }));
+        }
+        for (Future future : futures) {
+            future.get();
+        }
+
+        IMap<Integer, Integer> remoteMap = remote.getMap("map");
+        assertEquals(THREADS * KEYS_PER_THREAD, remoteMap.size());
+        for (int i = 0; i < THREADS * KEYS_PER_THREAD; ++i) {
+            assertEquals(i, (int) remoteMap.get(i));
+        }
+    }
+
+    @Test
+    public void testAsyncOperations() {
+        IMap<Integer, Integer> map = local.getMap("map");
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS * KEYS_PER_THREAD; ++i) {
+            futures.add(map.putAsync(i, i).toCompletableFuture());
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+        for (int i = 0; i < THREADS * KEYS_PER_THREAD; ++i) {
+            assertEquals(i, (int) map.getAsync(i).toCompletableFuture().join());
+        }
+    }
+}
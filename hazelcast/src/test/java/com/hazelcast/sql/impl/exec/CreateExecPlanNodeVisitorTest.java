@@ -406,6 +406,8 @@ public class CreateExecPlanNodeVisitorTest extends SqlTestSupport {
             SimpleFlowControlFactory.INSTANCE,
             operation.getPartitionMap().get(memberId1),
             OUTBOX_BATCH_SIZE,
+            null,
+            1,
             null
         );
 
@@ -0,0 +1,280 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.sql.impl.exec.agg;
+
+import com.hazelcast.sql.impl.QueryException;
+import com.hazelcast.sql.impl.SqlTestSupport;
+import com.hazelcast.sql.impl.UpstreamExec;
+import com.hazelcast.sql.impl.exec.IterationResult;
+import com.hazelcast.sql.impl.expression.ColumnExpression;
+import com.hazelcast.sql.impl.expression.aggregate.AggregateExpression;
+import com.hazelcast.sql.impl.expression.aggregate.AvgAggregateExpression;
+import com.hazelcast.sql.impl.expression.aggregate.CountAggregateExpression;
+import com.hazelcast.sql.impl.expression.aggregate.MinMaxAggregateExpression;
+import com.hazelcast.sql.impl.expression.aggregate.SumAggregateExpression;
+import com.hazelcast.sql.impl.row.EmptyRowBatch;
+import com.hazelcast.sql.impl.row.ListRowBatch;
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.row.RowBatch;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class AggregateExecTest extends SqlTestSupport {
+
+    private static final int GROUP_COUNT = 3;
+
+    @Test
+    public void testLocalAndFinal() {
+        // Two independent local phases, as if they were executed on different members.
+        List<Row> partialRows = new ArrayList<>();
+
+        partialRows.addAll(runLocal(0, 100, Long.MAX_VALUE));
+        partialRows.addAll(runLocal(100, 50, Long.MAX_VALUE));
+
+        assertEquals(GROUP_COUNT * 2, partialRows.size());
+
+        checkFinal(partialRows, 150);
+    }
+
+    @Test
+    public void testLocalFlushOnMemoryLimit() {
+        UpstreamExec upstream = new UpstreamExec(1);
+        AggregateExec exec = createExec(upstream, Collections.singletonList(0), localExpressions(), true, 2);
+
+        upstream.addResult(IterationResult.FETCHED, batch(0, 10));
+        assertEquals(IterationResult.FETCHED, exec.advance());
+
+        List<Row> partialRows = new ArrayList<>(rows(exec.currentBatch()));
+        assertEquals(GROUP_COUNT, partialRows.size());
+
+        assertEquals(IterationResult.WAIT, exec.advance());
+
+        upstream.addResult(IterationResult.FETCHED_DONE, batch(10, 10));
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+
+        partialRows.addAll(rows(exec.currentBatch()));
+        assertEquals(GROUP_COUNT * 2, partialRows.size());
+
+        // The same group emitted twice is merged by the final phase.
+        checkFinal(partialRows, 20);
+    }
+
+    @Test
+    public void testFinalMemoryLimit() {
+        List<Row> partialRows = runLocal(0, 10, Long.MAX_VALUE);
+
+        UpstreamExec upstream = new UpstreamExec(1);
+        AggregateExec exec = createExec(upstream, Collections.singletonList(0), finalExpressions(), false, 2);
+
+        upstream.addResult(IterationResult.FETCHED, new ListRowBatch(partialRows));
+
+        try {
+            exec.advance();
+
+            fail("Must fail");
+        } catch (QueryException e) {
+            assertEquals(true, e.getMessage().contains("memory limit"));
+        }
+    }
+
+    @Test
+    public void testGlobalAggregateOnEmptyInput() {
+        UpstreamExec localUpstream = new UpstreamExec(1);
+        AggregateExec localExec = createExec(localUpstream, Collections.emptyList(), localExpressions(), true, Long.MAX_VALUE);
+
+        localUpstream.addResult(IterationResult.FETCHED_DONE, EmptyRowBatch.INSTANCE);
+        assertEquals(IterationResult.FETCHED_DONE, localExec.advance());
+        assertEquals(0, localExec.currentBatch().getRowCount());
+
+        UpstreamExec finalUpstream = new UpstreamExec(1);
+        AggregateExec finalExec = createExec(finalUpstream, Collections.emptyList(), finalExpressions(0), false, Long.MAX_VALUE);
+
+        finalUpstream.addResult(IterationResult.FETCHED_DONE, EmptyRowBatch.INSTANCE);
+        assertEquals(IterationResult.FETCHED_DONE, finalExec.advance());
+
+        RowBatch batch = finalExec.currentBatch();
+        assertEquals(1, batch.getRowCount());
+
+        Row row = batch.getRow(0);
+        assertEquals(0L, (long) row.<Long>get(0));
+        assertNull(row.get(1));
+        assertNull(row.get(2));
+        assertNull(row.get(3));
+    }
+
+    @Test
+    public void testOutputBatching() {
+        int size = AggregateExec.BATCH_SIZE + 10;
+
+        List<Row> rows = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            rows.add(row(i, i));
+        }
+
+        UpstreamExec upstream = new UpstreamExec(1);
+        AggregateExec exec = createExec(upstream, Collections.singletonList(0), localExpressions(), true, Long.MAX_VALUE);
+
+        upstream.addResult(IterationResult.FETCHED_DONE, new ListRowBatch(rows));
+
+        assertEquals(IterationResult.FETCHED, exec.advance());
+        assertEquals(AggregateExec.BATCH_SIZE, exec.currentBatch().getRowCount());
+
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+        assertEquals(10, exec.currentBatch().getRowCount());
+    }
+
+    private static List<Row> runLocal(int start, int size, long maxGroups) {
+        UpstreamExec upstream = new UpstreamExec(1);
+        AggregateExec exec = createExec(upstream, Collections.singletonList(0), localExpressions(), true, maxGroups);
+
+        assertEquals(IterationResult.WAIT, exec.advance());
+
+        int half = size / 2;
+
+        upstream.addResult(IterationResult.FETCHED, batch(start, half));
+        assertEquals(IterationResult.WAIT, exec.advance());
+
+        upstream.addResult(IterationResult.FETCHED_DONE, batch(start + half, size - half));
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+
+        return rows(exec.currentBatch());
+    }
+
+    private static void checkFinal(List<Row> partialRows, int size) {
+        UpstreamExec upstream = new UpstreamExec(1);
+        AggregateExec exec = createExec(upstream, Collections.singletonList(0), finalExpressions(), false, Long.MAX_VALUE);
+
+        upstream.addResult(IterationResult.FETCHED_DONE, new ListRowBatch(partialRows));
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+
+        RowBatch batch = exec.currentBatch();
+        assertEquals(GROUP_COUNT, batch.getRowCount());
+
+        Map<Integer, Row> rowsByKey = new HashMap<>();
+
+        for (Row row : rows(batch)) {
+            rowsByKey.put(row.get(0), row);
+        }
+
+        for (int key = 0; key < GROUP_COUNT; key++) {
+            long count = 0;
+            long sum = 0;
+            int min = Integer.MAX_VALUE;
+            int max = Integer.MIN_VALUE;
+
+            for (int value = key; value < size; value += GROUP_COUNT) {
+                count++;
+                sum += value;
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+            }
+
+            Row row = rowsByKey.get(key);
+
+            assertEquals(count, (long) row.<Long>get(1));
+            assertEquals(sum, (long) row.<Long>get(2));
+            assertEquals((double) sum / count, row.<Double>get(3), 0.0d);
+            assertEquals(min, (int) row.<Integer>get(4));
+            assertEquals(max, (int) row.<Integer>get(5));
+        }
+    }
+
+    private static AggregateExec createExec(
+        UpstreamExec upstream,
+        List<Integer> groupKey,
+        List<AggregateExpression> expressions,
+        boolean local,
+        long maxGroups
+    ) {
+        AggregateExec exec = new AggregateExec(2, upstream, groupKey, expressions, local, maxGroups);
+        exec.setup(emptyFragmentContext());
+
+        return exec;
+    }
+
+    /**
+     * Expressions over (key, value) rows.
+     */
+    private static List<AggregateExpression> localExpressions() {
+        ColumnExpression<?> operand = ColumnExpression.create(1, QueryDataType.INT);
+
+        return Arrays.asList(
+            CountAggregateExpression.create(null),
+            SumAggregateExpression.create(operand, QueryDataType.BIGINT),
+            AvgAggregateExpression.create(operand, QueryDataType.DOUBLE),
+            MinMaxAggregateExpression.createMin(operand),
+            MinMaxAggregateExpression.createMax(operand)
+        );
+    }
+
+    /**
+     * Expressions over (key, count, sum, avg sum, avg count, min, max) partial rows.
+     */
+    private static List<AggregateExpression> finalExpressions() {
+        return finalExpressions(1);
+    }
+
+    private static List<AggregateExpression> finalExpressions(int offset) {
+        return Arrays.asList(
+            CountAggregateExpression.create(null),
+            SumAggregateExpression.create(ColumnExpression.create(offset + 1, QueryDataType.BIGINT), QueryDataType.BIGINT),
+            AvgAggregateExpression.create(ColumnExpression.create(offset + 2, QueryDataType.DOUBLE), QueryDataType.DOUBLE),
+            MinMaxAggregateExpression.createMin(ColumnExpression.create(offset + 4, QueryDataType.INT)),
+            MinMaxAggregateExpression.createMax(ColumnExpression.create(offset + 5, QueryDataType.INT))
+        );
+    }
+
+    private static RowBatch batch(int start, int size) {
+        List<Row> rows = new ArrayList<>(size);
+
+        for (int i = start; i < start + size; i++) {
+            rows.add(row(i % GROUP_COUNT, i));
+        }
+
+        return new ListRowBatch(rows);
+    }
+
+    private static List<Row> rows(RowBatch batch) {
+        List<Row> res = new ArrayList<>(batch.getRowCount());
+
+        for (int i = 0; i < batch.getRowCount(); i++) {
+            res.add(batch.getRow(i));
+        }
+
+        return res;
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.sql.impl.exec.io;
+
+import com.hazelcast.sql.impl.LoggingFlowControl;
+import com.hazelcast.sql.impl.LoggingQueryOperationHandler;
+import com.hazelcast.sql.impl.QueryId;
+import com.hazelcast.sql.impl.SqlTestSupport;
+import com.hazelcast.sql.impl.exec.IterationResult;
+import com.hazelcast.sql.impl.expression.ConstantExpression;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.row.ListRowBatch;
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.row.RowBatch;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ReceiveSortMergeExecTest extends SqlTestSupport {
+
+    private final UUID member1 = UUID.randomUUID();
+    private final UUID member2 = UUID.randomUUID();
+
+    @Test
+    public void testMerge() {
+        StripedInbox inbox = createInbox();
+        ReceiveSortMergeExec exec = createExec(inbox, null, null);
+
+        assertTrue(((LoggingFlowControl) inbox.getFlowControl()).isSetupInvoked());
+
+        // Nothing is emitted until every stream has a row.
+        assertEquals(IterationResult.WAIT, exec.advance());
+
+        inbox.onBatch(new InboundBatch(batch(1, 4), false, member1), 100L);
+        assertEquals(IterationResult.WAIT, exec.advance());
+
+        inbox.onBatch(new InboundBatch(batch(2, 3), false, member2), 100L);
+        assertEquals(IterationResult.FETCHED, exec.advance());
+        checkBatch(exec.currentBatch(), 1, 2, 3);
+
+        // The first stream is exhausted, and the second one is awaited.
+        inbox.onBatch(new InboundBatch(batch(5), true, member1), 100L);
+        assertEquals(IterationResult.WAIT, exec.advance());
+
+        inbox.onBatch(new InboundBatch(batch(6), true, member2), 100L);
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+        checkBatch(exec.currentBatch(), 4, 5, 6);
+    }
+
+    @Test
+    public void testEmptyLastBatch() {
+        StripedInbox inbox = createInbox();
+        ReceiveSortMergeExec exec = createExec(inbox, null, null);
+
+        inbox.onBatch(new InboundBatch(batch(), true, member1), 100L);
+        inbox.onBatch(new InboundBatch(batch(1, 2), true, member2), 100L);
+
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+        checkBatch(exec.currentBatch(), 1, 2);
+    }
+
+    @Test
+    public void testOffsetFetch() {
+        StripedInbox inbox = createInbox();
+        ReceiveSortMergeExec exec = createExec(inbox, constant(2), constant(1));
+
+        inbox.onBatch(new InboundBatch(batch(1, 3, 5), false, member1), 100L);
+        inbox.onBatch(new InboundBatch(batch(2, 4, 6), false, member2), 100L);
+
+        // Completes without waiting for the rest of the streams.
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+        checkBatch(exec.currentBatch(), 2, 3);
+    }
+
+    private StripedInbox createInbox() {
+        UUID localMemberId = UUID.randomUUID();
+        QueryId queryId = QueryId.create(UUID.randomUUID());
+        int edgeId = 1;
+        LoggingQueryOperationHandler operationHandler = new LoggingQueryOperationHandler();
+        LoggingFlowControl flowControl = new LoggingFlowControl(queryId, edgeId, localMemberId, operationHandler);
+
+        return new StripedInbox(
+            operationHandler,
+            queryId,
+            edgeId,
+            100,
+            localMemberId,
+            Arrays.asList(member1, member2),
+            flowControl
+        );
+    }
+
+    private static ReceiveSortMergeExec createExec(StripedInbox inbox, Expression<?> fetch, Expression<?> offset) {
+        ReceiveSortMergeExec exec = new ReceiveSortMergeExec(
+            1,
+            inbox,
+            Collections.singletonList(0),
+            Collections.singletonList(true),
+            fetch,
+            offset
+        );
+
+        exec.setup(emptyFragmentContext());
+
+        return exec;
+    }
+
+    private static Expression<?> constant(int value) {
+        return ConstantExpression.create(value, QueryDataType.INT);
+    }
+
+    private static RowBatch batch(int... values) {
+        List<Row> rows = new ArrayList<>(values.length);
+
+        for (int value : values) {
+            rows.add(row(value));
+        }
+
+        return new ListRowBatch(rows);
+    }
+
+    private static void checkBatch(RowBatch batch, Integer... expectedValues) {
+        List<Integer> values = new ArrayList<>(batch.getRowCount());
+
+        for (int i = 0; i < batch.getRowCount(); i++) {
+            values.add(batch.getRow(i).get(0));
+        }
+
+        assertEquals(Arrays.asList(expectedValues), values);
+    }
+}
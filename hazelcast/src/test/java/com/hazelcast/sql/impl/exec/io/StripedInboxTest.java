@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.sql.impl.exec.io;
+
+import com.hazelcast.sql.impl.LoggingFlowControl;
+import com.hazelcast.sql.impl.LoggingQueryOperationHandler;
+import com.hazelcast.sql.impl.QueryId;
+import com.hazelcast.sql.impl.row.HeapRow;
+import com.hazelcast.sql.impl.row.ListRowBatch;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class StripedInboxTest {
+    @Test
+    public void testStripedInbox() {
+        UUID localMemberId = UUID.randomUUID();
+        QueryId queryId = QueryId.create(UUID.randomUUID());
+        int edgeId = 1;
+        int rowWidth = 100;
+        LoggingQueryOperationHandler operationHandler = new LoggingQueryOperationHandler();
+        LoggingFlowControl flowControl = new LoggingFlowControl(queryId, edgeId, localMemberId, operationHandler);
+
+        UUID member1 = UUID.randomUUID();
+        UUID member2 = UUID.randomUUID();
+
+        StripedInbox inbox = new StripedInbox(
+            operationHandler,
+            queryId,
+            edgeId,
+            rowWidth,
+            localMemberId,
+            Arrays.asList(member1, member2),
+            flowControl
+        );
+
+        assertEquals(2, inbox.getStripeCount());
+        assertEquals(2, inbox.getRemainingStreams());
+
+        inbox.setup();
+        assertTrue(flowControl.isSetupInvoked());
+
+        // Batches are routed to the stripe of the sender.
+        InboundBatch batch1 = createBatch(member1, true);
+        InboundBatch batch2 = createBatch(member2, false);
+
+        inbox.onBatch(batch2, 100L);
+        inbox.onBatch(batch1, 100L);
+
+        assertSame(batch1, inbox.poll(0));
+        assertNull(inbox.poll(0));
+
+        assertEquals(member1, flowControl.getRemoveDescriptor().getMemberId());
+        assertEquals(rowWidth, flowControl.getRemoveDescriptor().getSize());
+
+        assertSame(batch2, inbox.poll(1));
+        assertNull(inbox.poll(1));
+        assertFalse(inbox.closed());
+
+        inbox.onBatch(createBatch(member2, true), 100L);
+        inbox.poll(1);
+        assertTrue(inbox.closed());
+    }
+
+    private static InboundBatch createBatch(UUID senderId, boolean last) {
+        return new InboundBatch(new ListRowBatch(Collections.singletonList(HeapRow.of(1))), last, senderId);
+    }
+}
@@ -0,0 +1,298 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.sql.impl.exec.io.flowcontrol.adaptive;
+
+import com.hazelcast.sql.impl.FaultyQueryOperationHandler;
+import com.hazelcast.sql.impl.LoggingQueryOperationHandler;
+import com.hazelcast.sql.impl.QueryException;
+import com.hazelcast.sql.impl.QueryId;
+import com.hazelcast.sql.impl.SqlErrorCode;
+import com.hazelcast.sql.impl.operation.QueryFlowControlExchangeOperation;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class AdaptiveFlowControlTest {
+
+    private static final long INITIAL_MEMORY = 1_000L;
+    private static final long MIN_WINDOW = 100L;
+    private static final long MAX_WINDOW = 5_000L;
+
+    private final QueryId queryId = QueryId.create(UUID.randomUUID());
+    private final int edgeId = 1;
+    private final UUID memberId1 = UUID.randomUUID();
+    private final UUID memberId2 = UUID.randomUUID();
+    private final AtomicLong clock = new AtomicLong();
+    private final LoggingQueryOperationHandler operationHandler = new LoggingQueryOperationHandler();
+
+    @Test
+    public void testFactory() {
+        AdaptiveFlowControlFactory factory = new AdaptiveFlowControlFactory(10_000L, queryId -> true);
+
+        AdaptiveFlowControl flowControl = (AdaptiveFlowControl) factory.create(INITIAL_MEMORY);
+
+        assertEquals(INITIAL_MEMORY, flowControl.getInitialMemory());
+        assertEquals(10_000L, factory.getMemoryBudget());
+        assertEquals(AdaptiveFlowControlFactory.DEFAULT_MIN_WINDOW, factory.getMinWindow());
+        assertEquals(AdaptiveFlowControlFactory.DEFAULT_MAX_WINDOW, factory.getMaxWindow());
+    }
+
+    @Test
+    public void testCredit() {
+        AdaptiveFlowControlFactory factory = factory(10_000L);
+        AdaptiveFlowControl flowControl = flowControl(factory);
+
+        // Remote end has enough credit.
+        flowControl.onBatchAdded(memberId1, 100L, false, INITIAL_MEMORY - 100L);
+        flowControl.onBatchRemoved(memberId1, 100L, false);
+        flowControl.onFragmentExecutionCompleted();
+        assertNull(operationHandler.tryPollSubmitInfo());
+
+        // Remote end is low on credit, but the memory is not freed yet.
+        flowControl.onBatchAdded(memberId1, 800L, false, 100L);
+        flowControl.onFragmentExecutionCompleted();
+        assertNull(operationHandler.tryPollSubmitInfo());
+
+        // Part of the memory is freed. Throughput is known, but RTT is not, so the window is not changed.
+        clock.set(100L);
+        flowControl.onBatchRemoved(memberId1, 300L, false);
+        flowControl.onFragmentExecutionCompleted();
+        checkOperation(memberId1, INITIAL_MEMORY - 500L);
+
+        // The remaining memory is freed, the remote end is still at the watermark.
+        flowControl.onBatchRemoved(memberId1, 500L, false);
+        flowControl.onFragmentExecutionCompleted();
+        checkOperation(memberId1, INITIAL_MEMORY);
+
+        // The remote end is not low on credit anymore.
+        flowControl.onBatchAdded(memberId1, 100L, false, INITIAL_MEMORY - 100L);
+        flowControl.onBatchRemoved(memberId1, 100L, false);
+        flowControl.onFragmentExecutionCompleted();
+        assertNull(operationHandler.tryPollSubmitInfo());
+
+        assertEquals(INITIAL_MEMORY, factory.getReservedMemory());
+        assertEquals(1, factory.getActiveStreams());
+        assertEquals(1, factory.getActiveQueries());
+        assertEquals(2L, factory.getGrantCount());
+    }
+
+    @Test
+    public void testWindowGrowsForFastConsumer() {
+        AdaptiveFlowControlFactory factory = factory(10_000L);
+        AdaptiveFlowControl flowControl = flowControl(factory);
+
+        // Throughput: 600 bytes in 100ns.
+        round(flowControl, memberId1, 0L, 100L, 600L, 400L);
+        checkOperation(memberId1, INITIAL_MEMORY);
+
+        // RTT: 1000ns, throughput: 0.8 B/ns -> average 4.7 B/ns, twice BDP is above the maximum window.
+        round(flowControl, memberId1, 1_100L, 1_100L, 800L, 200L);
+        checkOperation(memberId1, MAX_WINDOW);
+
+        assertEquals(MAX_WINDOW, factory.getReservedMemory());
+        assertEquals(0L, factory.getLimitedGrantCount());
+    }
+
+    @Test
+    public void testWindowShrinksForSlowConsumer() {
+        AdaptiveFlowControlFactory factory = factory(10_000L);
+        AdaptiveFlowControl flowControl = flowControl(factory);
+
+        round(flowControl, memberId1, 0L, 100L, 600L, 400L);
+        checkOperation(memberId1, INITIAL_MEMORY);
+
+        // RTT: 50ns, throughput: 800 bytes in 150ns -> average 5.83 B/ns, twice BDP is 583 bytes.
+        round(flowControl, memberId1, 150L, 250L, 800L, 200L);
+        checkOperation(memberId1, 583L);
+
+        assertEquals(583L, factory.getReservedMemory());
+    }
+
+    @Test
+    public void testWindowLimitedByBudget() {
+        AdaptiveFlowControlFactory factory = factory(6_000L);
+        AdaptiveFlowControl flowControl = flowControl(factory);
+
+        // Another query occupies most of the budget.
+        AdaptiveFlowControl otherFlowControl = new AdaptiveFlowControl(factory, 4_000L, clock::get);
+        otherFlowControl.setup(QueryId.create(UUID.randomUUID()), edgeId, UUID.randomUUID(), operationHandler);
+        otherFlowControl.onBatchAdded(memberId2, 100L, false, 3_900L);
+
+        round(flowControl, memberId1, 0L, 100L, 600L, 400L);
+        checkOperation(memberId1, INITIAL_MEMORY);
+
+        // The fair share is 3000 bytes, but only 1000 bytes are left in the budget.
+        round(flowControl, memberId1, 1_100L, 1_100L, 800L, 200L);
+        checkOperation(memberId1, 2_000L);
+
+        assertEquals(6_000L, factory.getReservedMemory());
+        assertEquals(2, factory.getActiveQueries());
+        assertEquals(1L, factory.getLimitedGrantCount());
+    }
+
+    @Test
+    public void testWindowLimitedByFairShare() {
+        AdaptiveFlowControlFactory factory = factory(8_000L);
+        AdaptiveFlowControl flowControl = flowControl(factory);
+
+        flowControl.onBatchAdded(memberId2, 100L, false, INITIAL_MEMORY - 100L);
+        assertEquals(MAX_WINDOW, factory.getFairShare());
+
+        round(flowControl, memberId1, 0L, 100L, 600L, 400L);
+        checkOperation(memberId1, INITIAL_MEMORY);
+
+        // The second stream halves the fair share.
+        assertEquals(4_000L, factory.getFairShare());
+
+        round(flowControl, memberId1, 1_100L, 1_100L, 800L, 200L);
+        checkOperation(memberId1, 4_000L);
+
+        assertEquals(5_000L, factory.getReservedMemory());
+        assertEquals(0L, factory.getLimitedGrantCount());
+
+        // Once the second stream is finished, the first one may grow further.
+        flowControl.onBatchAdded(memberId2, 0L, true, 0L);
+        assertEquals(MAX_WINDOW, factory.getFairShare());
+        assertEquals(4_000L, factory.getReservedMemory());
+        assertEquals(1, factory.getActiveStreams());
+    }
+
+    @Test
+    public void testLastBatchReleasesWindow() {
+        AdaptiveFlowControlFactory factory = factory(10_000L);
+        AdaptiveFlowControl flowControl = flowControl(factory);
+
+        flowControl.onBatchAdded(memberId1, 800L, false, 200L);
+        flowControl.onBatchAdded(memberId1, 100L, true, 100L);
+        assertEquals(0L, factory.getReservedMemory());
+        assertEquals(0, factory.getActiveStreams());
+
+        // Batches of the finished stream do not trigger flow control.
+        flowControl.onBatchRemoved(memberId1, 800L, false);
+        flowControl.onBatchRemoved(memberId1, 100L, true);
+        flowControl.onFragmentExecutionCompleted();
+        assertNull(operationHandler.tryPollSubmitInfo());
+    }
+
+    @Test
+    public void testQueryCompletedReleasesReservation() {
+        AdaptiveFlowControlFactory factory = factory(10_000L);
+        AdaptiveFlowControl flowControl = flowControl(factory);
+
+        flowControl.onBatchAdded(memberId1, 100L, false, INITIAL_MEMORY - 100L);
+        flowControl.onBatchAdded(memberId2, 100L, false, INITIAL_MEMORY - 100L);
+        assertEquals(2 * INITIAL_MEMORY, factory.getReservedMemory());
+
+        factory.onQueryCompleted(queryId);
+        assertEquals(0L, factory.getReservedMemory());
+        assertEquals(0, factory.getActiveStreams());
+        assertEquals(0, factory.getActiveQueries());
+
+        // Late events of the completed query are ignored.
+        flowControl.onBatchAdded(memberId1, 100L, true, 0L);
+        flowControl.onBatchAdded(UUID.randomUUID(), 100L, false, INITIAL_MEMORY - 100L);
+        assertEquals(0L, factory.getReservedMemory());
+        assertEquals(0, factory.getActiveStreams());
+    }
+
+    @Test
+    public void testInactiveQuery() {
+        AdaptiveFlowControlFactory factory = new AdaptiveFlowControlFactory(10_000L, MIN_WINDOW, MAX_WINDOW, queryId -> false);
+        AdaptiveFlowControl flowControl = flowControl(factory);
+
+        flowControl.onBatchAdded(memberId1, 100L, false, INITIAL_MEMORY - 100L);
+
+        assertEquals(0L, factory.getReservedMemory());
+        assertEquals(0, factory.getActiveStreams());
+        assertEquals(0, factory.getActiveQueries());
+    }
+
+    @Test
+    public void testCannotSend() {
+        AdaptiveFlowControl flowControl = new AdaptiveFlowControl(factory(10_000L), INITIAL_MEMORY, clock::get);
+        flowControl.setup(queryId, edgeId, UUID.randomUUID(), FaultyQueryOperationHandler.INSTANCE);
+
+        flowControl.onBatchAdded(memberId1, 800L, false, 200L);
+        flowControl.onBatchRemoved(memberId1, 800L, false);
+
+        try {
+            flowControl.onFragmentExecutionCompleted();
+
+            fail("Must fail");
+        } catch (QueryException e) {
+            assertEquals(SqlErrorCode.CONNECTION_PROBLEM, e.getCode());
+        }
+    }
+
+    private AdaptiveFlowControlFactory factory(long memoryBudget) {
+        return new AdaptiveFlowControlFactory(memoryBudget, MIN_WINDOW, MAX_WINDOW, queryId -> true);
+    }
+
+    private AdaptiveFlowControl flowControl(AdaptiveFlowControlFactory factory) {
+        AdaptiveFlowControl flowControl = new AdaptiveFlowControl(factory, INITIAL_MEMORY, clock::get);
+
+        flowControl.setup(queryId, edgeId, UUID.randomUUID(), operationHandler);
+
+        return flowControl;
+    }
+
+    /**
+     * Receive a batch that leaves the sender low on credit, consume it, and complete the fragment execution.
+     */
+    private void round(
+        AdaptiveFlowControl flowControl,
+        UUID memberId,
+        long arrivalTime,
+        long consumeTime,
+        long size,
+        long remoteMemory
+    ) {
+        clock.set(arrivalTime);
+        flowControl.onBatchAdded(memberId, size, false, remoteMemory);
+
+        clock.set(consumeTime);
+        flowControl.onBatchRemoved(memberId, size, false);
+        flowControl.onFragmentExecutionCompleted();
+    }
+
+    private void checkOperation(UUID memberId, long memory) {
+        LoggingQueryOperationHandler.SubmitInfo submit = operationHandler.tryPollSubmitInfo();
+        assertNotNull(submit);
+        assertEquals(memberId, submit.getMemberId());
+
+        QueryFlowControlExchangeOperation operation = submit.getOperation();
+        assertEquals(queryId, operation.getQueryId());
+        assertEquals(edgeId, operation.getEdgeId());
+        assertEquals(memory, operation.getRemainingMemory());
+
+        assertNull(operationHandler.tryPollSubmitInfo());
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.sql.impl.exec.join;
+
+import com.hazelcast.sql.impl.QueryException;
+import com.hazelcast.sql.impl.SqlTestSupport;
+import com.hazelcast.sql.impl.UpstreamExec;
+import com.hazelcast.sql.impl.exec.IterationResult;
+import com.hazelcast.sql.impl.expression.ColumnExpression;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonMode;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonPredicate;
+import com.hazelcast.sql.impl.row.ListRowBatch;
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.row.RowBatch;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class HashJoinExecTest extends SqlTestSupport {
+    @Test
+    public void testInnerJoin() {
+        UpstreamExec left = new UpstreamExec(1);
+        UpstreamExec right = new UpstreamExec(2);
+        HashJoinExec exec = createExec(left, right, null, false, Long.MAX_VALUE);
+
+        // The right input is consumed first.
+        left.addResult(IterationResult.FETCHED_DONE, batch(row(1, "a"), row(2, "b"), row(3, "c"), row(null, "d")));
+        assertEquals(IterationResult.WAIT, exec.advance());
+
+        right.addResult(IterationResult.FETCHED, batch(row(1, "x"), row(3, "y")));
+        assertEquals(IterationResult.WAIT, exec.advance());
+
+        right.addResult(IterationResult.FETCHED_DONE, batch(row(3, "z"), row(null, "w")));
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+
+        checkBatch(exec.currentBatch(), "a:x", "c:y", "c:z");
+    }
+
+    @Test
+    public void testOuterJoin() {
+        UpstreamExec left = new UpstreamExec(1);
+        UpstreamExec right = new UpstreamExec(2);
+        HashJoinExec exec = createExec(left, right, null, true, Long.MAX_VALUE);
+
+        right.addResult(IterationResult.FETCHED_DONE, batch(row(1, "x")));
+        left.addResult(IterationResult.FETCHED, batch(row(1, "a"), row(2, "b")));
+        assertEquals(IterationResult.FETCHED, exec.advance());
+        checkBatch(exec.currentBatch(), "a:x", "b:null");
+
+        left.addResult(IterationResult.FETCHED_DONE, batch(row(null, "c")));
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+        checkBatch(exec.currentBatch(), "c:null");
+
+        assertEquals(4, exec.currentBatch().getRow(0).getColumnCount());
+    }
+
+    @Test
+    public void testCondition() {
+        UpstreamExec left = new UpstreamExec(1);
+        UpstreamExec right = new UpstreamExec(2);
+
+        // left.f1 < right.f1
+        Expression<Boolean> condition = ComparisonPredicate.create(
+            ColumnExpression.create(1, QueryDataType.VARCHAR),
+            ColumnExpression.create(3, QueryDataType.VARCHAR),
+            ComparisonMode.LESS_THAN
+        );
+
+        HashJoinExec exec = createExec(left, right, condition, true, Long.MAX_VALUE);
+
+        right.addResult(IterationResult.FETCHED_DONE, batch(row(1, "b"), row(1, "d")));
+        left.addResult(IterationResult.FETCHED_DONE, batch(row(1, "a"), row(1, "c"), row(1, "e")));
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+
+        checkBatch(exec.currentBatch(), "a:b", "a:d", "c:d", "e:null");
+    }
+
+    @Test
+    public void testNoKeys() {
+        UpstreamExec left = new UpstreamExec(1);
+        UpstreamExec right = new UpstreamExec(2);
+
+        HashJoinExec exec = new HashJoinExec(
+            3,
+            left,
+            right,
+            Collections.emptyList(),
+            Collections.emptyList(),
+            null,
+            false,
+            2,
+            Long.MAX_VALUE
+        );
+
+        exec.setup(emptyFragmentContext());
+
+        right.addResult(IterationResult.FETCHED_DONE, batch(row(1, "x"), row(2, "y")));
+        left.addResult(IterationResult.FETCHED_DONE, batch(row(3, "a"), row(4, "b")));
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+
+        checkBatch(exec.currentBatch(), "a:x", "a:y", "b:x", "b:y");
+    }
+
+    @Test
+    public void testKeyNormalization() {
+        UpstreamExec left = new UpstreamExec(1);
+        UpstreamExec right = new UpstreamExec(2);
+        HashJoinExec exec = createExec(left, right, null, false, Long.MAX_VALUE);
+
+        right.addResult(IterationResult.FETCHED_DONE, batch(row(new BigDecimal("1.0"), "x"), row(0.0d, "y")));
+        left.addResult(IterationResult.FETCHED_DONE, batch(row(new BigDecimal("1.00"), "a"), row(-0.0d, "b")));
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+
+        checkBatch(exec.currentBatch(), "a:x", "b:y");
+    }
+
+    @Test
+    public void testMemoryLimit() {
+        UpstreamExec left = new UpstreamExec(1);
+        UpstreamExec right = new UpstreamExec(2);
+        HashJoinExec exec = createExec(left, right, null, false, 2);
+
+        right.addResult(IterationResult.FETCHED, batch(row(1, "x"), row(2, "y"), row(3, "z")));
+
+        try {
+            exec.advance();
+
+            fail("Must fail");
+        } catch (QueryException e) {
+            assertTrue(e.getMessage().contains("memory limit"));
+        }
+    }
+
+    @Test
+    public void testOutputBatching() {
+        int size = HashJoinExec.BATCH_SIZE + 10;
+
+        List<Row> leftRows = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            leftRows.add(row(1, "a"));
+        }
+
+        UpstreamExec left = new UpstreamExec(1);
+        UpstreamExec right = new UpstreamExec(2);
+        HashJoinExec exec = createExec(left, right, null, false, Long.MAX_VALUE);
+
+        right.addResult(IterationResult.FETCHED_DONE, batch(row(1, "x")));
+        left.addResult(IterationResult.FETCHED_DONE, new ListRowBatch(leftRows));
+
+        assertEquals(IterationResult.FETCHED, exec.advance());
+        assertEquals(HashJoinExec.BATCH_SIZE, exec.currentBatch().getRowCount());
+
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+        assertEquals(10, exec.currentBatch().getRowCount());
+    }
+
+    private static HashJoinExec createExec(
+        UpstreamExec left,
+        UpstreamExec right,
+        Expression<Boolean> condition,
+        boolean outer,
+        long maxRows
+    ) {
+        HashJoinExec exec = new HashJoinExec(
+            3,
+            left,
+            right,
+            Collections.singletonList(0),
+            Collections.singletonList(0),
+            condition,
+            outer,
+            2,
+            maxRows
+        );
+
+        exec.setup(emptyFragmentContext());
+
+        return exec;
+    }
+
+    private static RowBatch batch(Row... rows) {
+        return new ListRowBatch(Arrays.asList(rows));
+    }
+
+    /**
+     * Check the batch as an unordered set of "leftValue:rightValue" pairs of the second columns.
+     */
+    private static void checkBatch(RowBatch batch, String... expectedPairs) {
+        Set<String> pairs = new HashSet<>();
+
+        for (int i = 0; i < batch.getRowCount(); i++) {
+            Row row = batch.getRow(i);
+
+            pairs.add(row.get(1) + ":" + row.get(3));
+        }
+
+        assertEquals(expectedPairs.length, batch.getRowCount());
+        assertEquals(new HashSet<>(Arrays.asList(expectedPairs)), pairs);
+    }
+}
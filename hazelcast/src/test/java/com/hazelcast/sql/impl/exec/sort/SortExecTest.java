@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.sql.impl.exec.sort;
+
+import com.hazelcast.sql.impl.QueryException;
+import com.hazelcast.sql.impl.SqlTestSupport;
+import com.hazelcast.sql.impl.UpstreamExec;
+import com.hazelcast.sql.impl.exec.IterationResult;
+import com.hazelcast.sql.impl.expression.ConstantExpression;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.ParameterExpression;
+import com.hazelcast.sql.impl.row.ListRowBatch;
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.row.RowBatch;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class SortExecTest extends SqlTestSupport {
+    @Test
+    public void testFullSort() {
+        UpstreamExec upstream = new UpstreamExec(1);
+        SortExec exec = createExec(upstream, Collections.singletonList(false), null, null, false, Long.MAX_VALUE);
+
+        assertEquals(IterationResult.WAIT, exec.advance());
+
+        upstream.addResult(IterationResult.FETCHED, batch(3, null, 1));
+        assertEquals(IterationResult.WAIT, exec.advance());
+
+        upstream.addResult(IterationResult.FETCHED_DONE, batch(4, 2));
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+
+        // Descending order, NULL goes first.
+        checkBatch(exec.currentBatch(), null, 4, 3, 2, 1);
+    }
+
+    @Test
+    public void testTopN() {
+        UpstreamExec upstream = new UpstreamExec(1);
+        SortExec exec = createExec(upstream, Collections.singletonList(true), constant(2), constant(1), false, 3);
+
+        upstream.addResult(IterationResult.FETCHED, batch(5, 3, null, 7));
+        assertEquals(IterationResult.WAIT, exec.advance());
+
+        upstream.addResult(IterationResult.FETCHED_DONE, batch(1, 4));
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+
+        // Ascending order, NULL goes last. The first row is skipped.
+        checkBatch(exec.currentBatch(), 3, 4);
+    }
+
+    @Test
+    public void testTopNLocal() {
+        UpstreamExec upstream = new UpstreamExec(1);
+        SortExec exec = createExec(upstream, Collections.singletonList(true), constant(2), constant(1), true, 3);
+
+        upstream.addResult(IterationResult.FETCHED_DONE, batch(5, 3, null, 7, 1, 4));
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+
+        // Offset is not applied locally, but offset + fetch rows are retained.
+        checkBatch(exec.currentBatch(), 1, 3, 4);
+    }
+
+    @Test
+    public void testLimitWithoutKeys() {
+        UpstreamExec upstream = new UpstreamExec(1);
+
+        SortExec exec = new SortExec(2, upstream, Collections.emptyList(), Collections.emptyList(), constant(2), null, true,
+            Long.MAX_VALUE);
+        exec.setup(emptyFragmentContext());
+
+        // The upstream is not drained once enough rows are retained.
+        upstream.addResult(IterationResult.FETCHED, batch(1, 2, 3));
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+        assertEquals(2, exec.currentBatch().getRowCount());
+    }
+
+    @Test
+    public void testParameters() {
+        UpstreamExec upstream = new UpstreamExec(1);
+
+        SortExec exec = new SortExec(
+            2,
+            upstream,
+            Collections.singletonList(0),
+            Collections.singletonList(true),
+            ParameterExpression.create(0, QueryDataType.INT),
+            null,
+            false,
+            Long.MAX_VALUE
+        );
+
+        exec.setup(emptyFragmentContext(Collections.singletonList(1)));
+
+        upstream.addResult(IterationResult.FETCHED_DONE, batch(2, 1));
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+        checkBatch(exec.currentBatch(), 1);
+
+        try {
+            createExec(new UpstreamExec(1), Collections.singletonList(true), constant(-1), null, false, Long.MAX_VALUE);
+
+            fail("Must fail");
+        } catch (QueryException e) {
+            assertTrue(e.getMessage().contains("cannot be negative"));
+        }
+    }
+
+    @Test
+    public void testMemoryLimit() {
+        UpstreamExec upstream = new UpstreamExec(1);
+        SortExec exec = createExec(upstream, Collections.singletonList(true), null, null, false, 2);
+
+        upstream.addResult(IterationResult.FETCHED, batch(1, 2, 3));
+
+        try {
+            exec.advance();
+
+            fail("Must fail");
+        } catch (QueryException e) {
+            assertTrue(e.getMessage().contains("memory limit"));
+        }
+    }
+
+    @Test
+    public void testOutputBatching() {
+        int size = SortExec.BATCH_SIZE + 10;
+
+        Integer[] values = new Integer[size];
+
+        for (int i = 0; i < size; i++) {
+            values[i] = size - i;
+        }
+
+        UpstreamExec upstream = new UpstreamExec(1);
+        SortExec exec = createExec(upstream, Collections.singletonList(true), null, null, false, Long.MAX_VALUE);
+
+        upstream.addResult(IterationResult.FETCHED_DONE, batch(values));
+
+        assertEquals(IterationResult.FETCHED, exec.advance());
+        assertEquals(SortExec.BATCH_SIZE, exec.currentBatch().getRowCount());
+        assertEquals(1, (int) exec.currentBatch().getRow(0).<Integer>get(0));
+
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+        assertEquals(10, exec.currentBatch().getRowCount());
+    }
+
+    private static SortExec createExec(
+        UpstreamExec upstream,
+        List<Boolean> ascs,
+        Expression<?> fetch,
+        Expression<?> offset,
+        boolean local,
+        long maxRows
+    ) {
+        SortExec exec = new SortExec(2, upstream, Collections.singletonList(0), ascs, fetch, offset, local, maxRows);
+        exec.setup(emptyFragmentContext());
+
+        return exec;
+    }
+
+    private static Expression<?> constant(int value) {
+        return ConstantExpression.create(value, QueryDataType.INT);
+    }
+
+    private static RowBatch batch(Integer... values) {
+        List<Row> rows = new ArrayList<>(values.length);
+
+        for (Integer value : values) {
+            rows.add(row(value));
+        }
+
+        return new ListRowBatch(rows);
+    }
+
+    private static void checkBatch(RowBatch batch, Integer... expectedValues) {
+        List<Integer> values = new ArrayList<>(batch.getRowCount());
+
+        for (int i = 0; i < batch.getRowCount(); i++) {
+            values.add(batch.getRow(i).get(0));
+        }
+
+        assertEquals(Arrays.asList(expectedValues), values);
+    }
+}
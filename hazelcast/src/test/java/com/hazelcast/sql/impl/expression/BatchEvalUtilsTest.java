@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.sql.impl.expression;
+
+import com.hazelcast.sql.impl.QueryException;
+import com.hazelcast.sql.impl.SqlTestSupport;
+import com.hazelcast.sql.impl.expression.math.DivideFunction;
+import com.hazelcast.sql.impl.expression.math.MinusFunction;
+import com.hazelcast.sql.impl.expression.math.MultiplyFunction;
+import com.hazelcast.sql.impl.expression.math.PlusFunction;
+import com.hazelcast.sql.impl.expression.predicate.AndPredicate;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonMode;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonPredicate;
+import com.hazelcast.sql.impl.expression.predicate.IsNullPredicate;
+import com.hazelcast.sql.impl.expression.predicate.NotPredicate;
+import com.hazelcast.sql.impl.expression.predicate.OrPredicate;
+import com.hazelcast.sql.impl.row.BooleanColumn;
+import com.hazelcast.sql.impl.row.Column;
+import com.hazelcast.sql.impl.row.ColumnarRowBatch;
+import com.hazelcast.sql.impl.row.DoubleColumn;
+import com.hazelcast.sql.impl.row.LongColumn;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class BatchEvalUtilsTest extends SqlTestSupport {
+
+    private static final int INT_1 = 0;
+    private static final int INT_2 = 1;
+    private static final int BIGINT_1 = 2;
+    private static final int BIGINT_2 = 3;
+    private static final int DOUBLE_1 = 4;
+    private static final int REAL_1 = 5;
+    private static final int BOOLEAN_1 = 6;
+    private static final int BOOLEAN_2 = 7;
+    private static final int VARCHAR_1 = 8;
+    private static final int TINYINT_1 = 9;
+
+    private static final QueryDataType[] TYPES = new QueryDataType[] {
+        QueryDataType.INT, QueryDataType.INT, QueryDataType.BIGINT, QueryDataType.BIGINT, QueryDataType.DOUBLE,
+        QueryDataType.REAL, QueryDataType.BOOLEAN, QueryDataType.BOOLEAN, QueryDataType.VARCHAR, QueryDataType.TINYINT
+    };
+
+    private static final ExpressionEvalContext CONTEXT = SimpleExpressionEvalContext.create(3);
+
+    @Test
+    public void testComparison() {
+        for (ComparisonMode mode : ComparisonMode.values()) {
+            checkBatch(ComparisonPredicate.create(column(INT_1), column(INT_2), mode), BooleanColumn.class);
+            checkBatch(ComparisonPredicate.create(column(BIGINT_1), column(BIGINT_2), mode), BooleanColumn.class);
+            checkBatch(ComparisonPredicate.create(column(DOUBLE_1), column(DOUBLE_1), mode), BooleanColumn.class);
+            checkBatch(ComparisonPredicate.create(column(BOOLEAN_1), column(BOOLEAN_2), mode), BooleanColumn.class);
+            checkBatch(ComparisonPredicate.create(column(VARCHAR_1), constant("b", QueryDataType.VARCHAR), mode),
+                BooleanColumn.class);
+        }
+    }
+
+    @Test
+    public void testArithmetic() {
+        for (QueryDataType type : new QueryDataType[] { QueryDataType.TINYINT, QueryDataType.SMALLINT, QueryDataType.INT }) {
+            checkBatch(PlusFunction.create(column(INT_1), column(INT_2), type), LongColumn.class);
+            checkBatch(MinusFunction.create(column(INT_1), column(INT_2), type), LongColumn.class);
+            checkBatch(MultiplyFunction.create(column(INT_1), column(INT_2), type), LongColumn.class);
+            checkBatch(DivideFunction.create(column(INT_1), parameter(), type), LongColumn.class);
+            checkBatch(DivideFunction.create(column(TINYINT_1), parameter(), type), LongColumn.class);
+        }
+
+        checkBatch(PlusFunction.create(column(INT_1), column(INT_2), QueryDataType.BIGINT), LongColumn.class);
+        checkBatch(MinusFunction.create(column(BIGINT_2), column(INT_1), QueryDataType.BIGINT), LongColumn.class);
+        checkBatch(DivideFunction.create(column(BIGINT_1), parameter(), QueryDataType.BIGINT), LongColumn.class);
+
+        checkBatch(PlusFunction.create(column(DOUBLE_1), column(REAL_1), QueryDataType.DOUBLE), DoubleColumn.class);
+        checkBatch(MultiplyFunction.create(column(DOUBLE_1), column(REAL_1), QueryDataType.REAL), DoubleColumn.class);
+        checkBatch(DivideFunction.create(column(DOUBLE_1), column(REAL_1), QueryDataType.REAL), DoubleColumn.class);
+    }
+
+    @Test
+    public void testArithmeticErrors() {
+        checkError(PlusFunction.create(column(BIGINT_1), column(BIGINT_2), QueryDataType.BIGINT));
+        checkError(DivideFunction.create(column(INT_1), column(INT_2), QueryDataType.INT));
+        checkError(DivideFunction.create(column(DOUBLE_1), constant(0d, QueryDataType.DOUBLE), QueryDataType.DOUBLE));
+    }
+
+    @Test
+    public void testCast() {
+        checkBatch(CastExpression.create(column(INT_1), QueryDataType.BIGINT), LongColumn.class);
+        checkBatch(CastExpression.create(column(INT_1), QueryDataType.REAL), DoubleColumn.class);
+        checkBatch(CastExpression.create(column(BIGINT_1), QueryDataType.DOUBLE), DoubleColumn.class);
+        checkBatch(CastExpression.create(column(REAL_1), QueryDataType.DOUBLE), DoubleColumn.class);
+        checkBatch(CastExpression.create(column(TINYINT_1), QueryDataType.SMALLINT), LongColumn.class);
+        checkBatch(CastExpression.create(column(INT_1), QueryDataType.VARCHAR), Column.class);
+        checkBatch(CastExpression.create(column(BOOLEAN_1), QueryDataType.BOOLEAN), BooleanColumn.class);
+    }
+
+    @Test
+    public void testLogic() {
+        checkBatch(AndPredicate.create(column(BOOLEAN_1), column(BOOLEAN_2)), BooleanColumn.class);
+        checkBatch(OrPredicate.create(column(BOOLEAN_1), column(BOOLEAN_2)), BooleanColumn.class);
+        checkBatch(NotPredicate.create(column(BOOLEAN_1)), BooleanColumn.class);
+        checkBatch(IsNullPredicate.create(column(VARCHAR_1)), BooleanColumn.class);
+    }
+
+    @Test
+    public void testFilterFallsBackToRowByRowOnError() {
+        // The batch evaluation of the division fails on the row where the first operand is FALSE.
+        Expression<Boolean> filter = AndPredicate.create(
+            column(BOOLEAN_1),
+            ComparisonPredicate.create(
+                DivideFunction.create(column(INT_1), column(INT_2), QueryDataType.INT),
+                constant(0, QueryDataType.INT),
+                ComparisonMode.NOT_EQUALS
+            )
+        );
+
+        ColumnarRowBatch batch = batch();
+
+        try {
+            filter.evalBatch(batch, CONTEXT);
+
+            fail("Exception is not thrown");
+        } catch (QueryException e) {
+            // No-op.
+        }
+
+        boolean[] matches = BatchEvalUtils.evalFilter(filter, batch, CONTEXT);
+
+        for (int i = 0; i < batch.getRowCount(); i++) {
+            assertEquals(Boolean.TRUE.equals(filter.eval(batch.getRow(i), CONTEXT)), matches[i]);
+        }
+    }
+
+    @Test
+    public void testRowByRow() {
+        ColumnarRowBatch batch = batch();
+
+        Column column = BatchEvalUtils.evalRowByRow(column(INT_1), batch, CONTEXT);
+
+        assertTrue(column instanceof LongColumn);
+        assertArrayEquals(((LongColumn) batch.getColumn(INT_1)).getValues(), ((LongColumn) column).getValues());
+    }
+
+    private static void checkBatch(Expression<?> expression, Class<? extends Column> expectedColumnClass) {
+        ColumnarRowBatch batch = batch();
+
+        Column column = expression.evalBatch(batch, CONTEXT);
+
+        assertTrue(column.getClass().getName(), expectedColumnClass.isInstance(column));
+        assertEquals(batch.getRowCount(), column.size());
+
+        for (int i = 0; i < batch.getRowCount(); i++) {
+            assertEquals(expression + ", row " + i, expression.eval(batch.getRow(i), CONTEXT), column.get(i));
+        }
+    }
+
+    private static void checkError(Expression<?> expression) {
+        ColumnarRowBatch batch = batch();
+
+        QueryException expected = null;
+
+        for (int i = 0; i < batch.getRowCount() && expected == null; i++) {
+            try {
+                expression.eval(batch.getRow(i), CONTEXT);
+            } catch (QueryException e) {
+                expected = e;
+            }
+        }
+
+        assertTrue(expected != null);
+
+        try {
+            expression.evalBatch(batch, CONTEXT);
+
+            fail("Exception is not thrown");
+        } catch (QueryException e) {
+            assertEquals(expected.getCode(), e.getCode());
+            assertEquals(expected.getMessage(), e.getMessage());
+        }
+    }
+
+    private static ColumnarRowBatch batch() {
+        Object[][] rows = new Object[][] {
+            { 1, 2, 1L, Long.MAX_VALUE, 1.5d, 0.5f, true, true, "a", (byte) 1 },
+            { null, 3, null, 2L, null, 1.5f, true, null, null, null },
+            { Integer.MAX_VALUE, 1, 10L, -5L, -0.0d, 2.5f, false, true, "b", Byte.MAX_VALUE },
+            { 200, 100, -7L, 7L, Double.NaN, -1.0f, null, false, "c", (byte) -100 },
+            { Integer.MIN_VALUE, -1, Long.MIN_VALUE, -1L, 0.0d, 3.0f, false, null, "b", Byte.MIN_VALUE },
+            { -300, 0, 0L, 0L, 1e300, Float.MAX_VALUE, false, null, "", (byte) 0 }
+        };
+
+        Column[] columns = new Column[TYPES.length];
+
+        for (int i = 0; i < TYPES.length; i++) {
+            Object[] values = new Object[rows.length];
+
+            for (int j = 0; j < rows.length; j++) {
+                values[j] = rows[j][i];
+            }
+
+            columns[i] = Column.of(TYPES[i], values, rows.length);
+        }
+
+        return new ColumnarRowBatch(columns, rows.length);
+    }
+
+    private static Expression<?> column(int index) {
+        return ColumnExpression.create(index, TYPES[index]);
+    }
+
+    private static Expression<?> constant(Object value, QueryDataType type) {
+        return ConstantExpression.create(value, type);
+    }
+
+    private static Expression<?> parameter() {
+        return ParameterExpression.create(0, QueryDataType.INT);
+    }
+}
@@ -16,12 +16,19 @@
 
 package com.hazelcast.sql.impl.extract;
 
+import com.hazelcast.config.AttributeConfig;
+import com.hazelcast.core.HazelcastJsonValue;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.DataSerializable;
+import com.hazelcast.nio.serialization.Portable;
+import com.hazelcast.nio.serialization.PortableReader;
+import com.hazelcast.nio.serialization.PortableWriter;
+import com.hazelcast.query.extractor.ValueCollector;
+import com.hazelcast.query.extractor.ValueExtractor;
 import com.hazelcast.query.impl.getters.Extractors;
 import com.hazelcast.sql.impl.SqlErrorCode;
 import com.hazelcast.sql.impl.QueryException;
@@ -36,9 +43,11 @@ import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
 import java.io.IOException;
+import java.util.Collections;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 @RunWith(HazelcastParallelClassRunner.class)
@@ -55,6 +64,78 @@ public class GenericQueryTargetTest extends SqlTestSupport {
         checkTarget(createTarget(false));
     }
 
+    @Test
+    public void testPortableTarget() {
+        InternalSerializationService ss = new DefaultSerializationServiceBuilder()
+            .addPortableFactory(TestPortable.FACTORY_ID, classId -> new TestPortable())
+            .build();
+        GenericQueryTarget target = new GenericQueryTarget(ss, Extractors.newBuilder(ss).build(), false);
+
+        QueryExtractor intExtractor = target.createExtractor("intField", QueryDataType.INT);
+        QueryExtractor stringExtractor = target.createExtractor("stringField", QueryDataType.VARCHAR);
+        QueryExtractor missingExtractor = target.createExtractor("missingField", QueryDataType.INT);
+        QueryExtractor badTypeExtractor = target.createExtractor("stringField", QueryDataType.INT);
+
+        assertEquals(GenericPortableFieldExtractor.class, intExtractor.getClass());
+
+        for (int i = 0; i < 3; i++) {
+            // Both serialized and deserialized Portable objects are read from the serialized form.
+            Object object = i % 2 == 0 ? ss.toData(new TestPortable(i, "value-" + i)) : new TestPortable(i, null);
+
+            target.setTarget(object);
+
+            assertEquals(i, intExtractor.get());
+            assertEquals(i % 2 == 0 ? "value-" + i : null, stringExtractor.get());
+            assertNull(missingExtractor.get());
+
+            if (i % 2 == 0) {
+                QueryException error = assertThrows(QueryException.class, badTypeExtractor::get);
+                assertEquals(SqlErrorCode.DATA_EXCEPTION, error.getCode());
+            }
+
+            assertSame(target.getTargetPortableRecord(), target.getTargetPortableRecord());
+        }
+
+        // Non-Portable targets are served by the generic extraction.
+        target.setTarget(new TestObject(1, 2));
+        assertNull(target.getTargetPortableRecord());
+        assertNull(intExtractor.get());
+    }
+
+    @Test
+    public void testJsonTarget() {
+        InternalSerializationService ss = new DefaultSerializationServiceBuilder().build();
+        GenericQueryTarget target = new GenericQueryTarget(ss, Extractors.newBuilder(ss).build(), false);
+
+        Data data = ss.toData(new HazelcastJsonValue("{\"intField\":1,\"nested\":{\"stringField\":\"value\"}}"));
+        assertTrue(data.isJson());
+
+        target.setTarget(data);
+
+        // JSON is navigated in the serialized form.
+        assertSame(data, target.getTargetForFieldAccess());
+        assertEquals(1L, target.createExtractor("intField", QueryDataType.BIGINT).get());
+        assertEquals("value", target.createExtractor("nested.stringField", QueryDataType.VARCHAR).get());
+        assertNull(target.createExtractor("missingField", QueryDataType.INT).get());
+    }
+
+    @Test
+    public void testCustomValueExtractor() {
+        InternalSerializationService ss = new DefaultSerializationServiceBuilder()
+            .addPortableFactory(TestPortable.FACTORY_ID, classId -> new TestPortable())
+            .build();
+        Extractors extractors = Extractors.newBuilder(ss)
+            .setAttributeConfigs(Collections.singletonList(new AttributeConfig("intField", TestValueExtractor.class.getName())))
+            .build();
+        GenericQueryTarget target = new GenericQueryTarget(ss, extractors, false);
+
+        QueryExtractor extractor = target.createExtractor("intField", QueryDataType.INT);
+        assertEquals(GenericFieldExtractor.class, extractor.getClass());
+
+        target.setTarget(ss.toData(new TestPortable(1, "value")));
+        assertEquals(42, extractor.get());
+    }
+
     private void checkTarget(GenericQueryTarget target) {
         TestObject object = new TestObject(1, 2);
 
@@ -146,4 +227,52 @@ public class GenericQueryTargetTest extends SqlTestSupport {
             field2 = in.readInt();
         }
     }
+
+    private static class TestPortable implements Portable {
+
+        private static final int FACTORY_ID = 1;
+        private static final int CLASS_ID = 1;
+
+        private int intField;
+        private String stringField;
+
+        private TestPortable() {
+            // No-op.
+        }
+
+        private TestPortable(int intField, String stringField) {
+            this.intField = intField;
+            this.stringField = stringField;
+        }
+
+        @Override
+        public int getFactoryId() {
+            return FACTORY_ID;
+        }
+
+        @Override
+        public int getClassId() {
+            return CLASS_ID;
+        }
+
+        @Override
+        public void writePortable(PortableWriter writer) throws IOException {
+            writer.writeInt("intField", intField);
+            writer.writeUTF("stringField", stringField);
+        }
+
+        @Override
+        public void readPortable(PortableReader reader) throws IOException {
+            intField = reader.readInt("intField");
+            stringField = reader.readUTF("stringField");
+        }
+    }
+
+    public static class TestValueExtractor implements ValueExtractor<Object, Object> {
+
+        @Override
+        public void extract(Object target, Object argument, ValueCollector collector) {
+            collector.addObject(42);
+        }
+    }
 }
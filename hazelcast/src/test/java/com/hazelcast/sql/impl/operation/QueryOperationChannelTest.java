@@ -71,6 +71,7 @@ public class QueryOperationChannelTest extends SqlTestSupport {
             1000,
             SimpleFlowControlFactory.INSTANCE,
             1,
+            1,
             1
         );
 
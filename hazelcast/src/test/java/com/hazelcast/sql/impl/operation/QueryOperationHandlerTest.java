@@ -20,6 +20,7 @@ import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.instance.impl.HazelcastInstanceProxy;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.util.collection.PartitionIdSet;
+import com.hazelcast.memory.MemoryUnit;
 import com.hazelcast.spi.impl.NodeEngineImpl;
 import com.hazelcast.sql.impl.SqlErrorCode;
 import com.hazelcast.sql.impl.NodeServiceProviderImpl;
@@ -33,6 +34,7 @@ import com.hazelcast.sql.impl.exec.CreateExecPlanNodeVisitor;
 import com.hazelcast.sql.impl.exec.CreateExecPlanNodeVisitorCallback;
 import com.hazelcast.sql.impl.exec.Exec;
 import com.hazelcast.sql.impl.exec.IterationResult;
+import com.hazelcast.sql.impl.exec.io.flowcontrol.FlowControlType;
 import com.hazelcast.sql.impl.exec.root.BlockingRootResultConsumer;
 import com.hazelcast.sql.impl.plan.Plan;
 import com.hazelcast.sql.impl.plan.node.PlanNode;
@@ -599,8 +601,11 @@ public class QueryOperationHandlerTest extends SqlTestSupport {
             serializationService,
             Runtime.getRuntime().availableProcessors(),
             Runtime.getRuntime().availableProcessors(),
+            1,
             1000,
             stateCheckFrequency,
+            FlowControlType.ADAPTIVE,
+            MemoryUnit.MEGABYTES.toBytes(128),
             null
         );
 
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.sql.impl.plan.node;
+
+import com.hazelcast.sql.impl.SqlDataSerializerHook;
+import com.hazelcast.sql.impl.SqlTestSupport;
+import com.hazelcast.sql.impl.expression.ColumnExpression;
+import com.hazelcast.sql.impl.expression.aggregate.AggregateExpression;
+import com.hazelcast.sql.impl.expression.aggregate.AvgAggregateExpression;
+import com.hazelcast.sql.impl.expression.aggregate.CountAggregateExpression;
+import com.hazelcast.sql.impl.expression.aggregate.MinMaxAggregateExpression;
+import com.hazelcast.sql.impl.expression.aggregate.SumAggregateExpression;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class AggregatePlanNodeTest extends SqlTestSupport {
+    @Test
+    public void testState() {
+        MockPlanNode upstream = MockPlanNode.create(1, QueryDataType.VARCHAR, QueryDataType.INT);
+        List<Integer> groupKey = Collections.singletonList(0);
+        List<AggregateExpression> expressions = expressions();
+
+        AggregatePlanNode localNode = new AggregatePlanNode(2, upstream, groupKey, expressions, true);
+
+        assertEquals(2, localNode.getId());
+        assertEquals(upstream, localNode.getUpstream());
+        assertEquals(groupKey, localNode.getGroupKey());
+        assertEquals(expressions, localNode.getExpressions());
+        assertTrue(localNode.isLocal());
+
+        PlanNodeSchema expectedLocalSchema = new PlanNodeSchema(Arrays.asList(
+            QueryDataType.VARCHAR,
+            QueryDataType.BIGINT,
+            QueryDataType.BIGINT,
+            QueryDataType.DECIMAL,
+            QueryDataType.BIGINT,
+            QueryDataType.INT
+        ));
+
+        assertEquals(expectedLocalSchema, localNode.getSchema());
+
+        AggregatePlanNode finalNode = new AggregatePlanNode(3, localNode, groupKey, expressions, false);
+
+        PlanNodeSchema expectedFinalSchema = new PlanNodeSchema(Arrays.asList(
+            QueryDataType.VARCHAR,
+            QueryDataType.BIGINT,
+            QueryDataType.BIGINT,
+            QueryDataType.DECIMAL,
+            QueryDataType.INT
+        ));
+
+        assertEquals(expectedFinalSchema, finalNode.getSchema());
+    }
+
+    @Test
+    public void testEquality() {
+        int id1 = 1;
+        int id2 = 2;
+
+        MockPlanNode upstream1 = MockPlanNode.create(3, QueryDataType.VARCHAR, QueryDataType.INT);
+        MockPlanNode upstream2 = MockPlanNode.create(3, QueryDataType.VARCHAR, QueryDataType.BIGINT);
+
+        List<Integer> groupKey1 = Collections.singletonList(0);
+        List<Integer> groupKey2 = Collections.emptyList();
+
+        List<AggregateExpression> expressions1 = expressions();
+        List<AggregateExpression> expressions2 = Collections.singletonList(CountAggregateExpression.create(null));
+
+        checkEquals(
+            new AggregatePlanNode(id1, upstream1, groupKey1, expressions1, true),
+            new AggregatePlanNode(id1, upstream1, groupKey1, expressions1, true),
+            true
+        );
+
+        checkEquals(
+            new AggregatePlanNode(id1, upstream1, groupKey1, expressions1, true),
+            new AggregatePlanNode(id2, upstream1, groupKey1, expressions1, true),
+            false
+        );
+
+        checkEquals(
+            new AggregatePlanNode(id1, upstream1, groupKey1, expressions1, true),
+            new AggregatePlanNode(id1, upstream2, groupKey1, expressions1, true),
+            false
+        );
+
+        checkEquals(
+            new AggregatePlanNode(id1, upstream1, groupKey1, expressions1, true),
+            new AggregatePlanNode(id1, upstream1, groupKey2, expressions1, true),
+            false
+        );
+
+        checkEquals(
+            new AggregatePlanNode(id1, upstream1, groupKey1, expressions1, true),
+            new AggregatePlanNode(id1, upstream1, groupKey1, expressions2, true),
+            false
+        );
+
+        checkEquals(
+            new AggregatePlanNode(id1, upstream1, groupKey1, expressions1, true),
+            new AggregatePlanNode(id1, upstream1, groupKey1, expressions1, false),
+            false
+        );
+    }
+
+    @Test
+    public void testSerialization() {
+        MockPlanNode upstream = MockPlanNode.create(1, QueryDataType.VARCHAR, QueryDataType.INT);
+
+        AggregatePlanNode original = new AggregatePlanNode(2, upstream, Collections.singletonList(0), expressions(), true);
+        AggregatePlanNode restored = serializeAndCheck(original, SqlDataSerializerHook.NODE_AGGREGATE);
+
+        checkEquals(original, restored, true);
+    }
+
+    private static List<AggregateExpression> expressions() {
+        ColumnExpression<?> operand = ColumnExpression.create(1, QueryDataType.INT);
+
+        return Arrays.asList(
+            CountAggregateExpression.create(null),
+            SumAggregateExpression.create(operand, QueryDataType.BIGINT),
+            AvgAggregateExpression.create(operand, QueryDataType.DECIMAL),
+            MinMaxAggregateExpression.createMax(operand)
+        );
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.sql.impl.plan.node;
+
+import com.hazelcast.sql.impl.SqlDataSerializerHook;
+import com.hazelcast.sql.impl.SqlTestSupport;
+import com.hazelcast.sql.impl.expression.ConstantExpression;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class SortPlanNodeTest extends SqlTestSupport {
+    @Test
+    public void testState() {
+        MockPlanNode upstream = MockPlanNode.create(1, QueryDataType.VARCHAR, QueryDataType.INT);
+        List<Integer> columnIndexes = Arrays.asList(1, 0);
+        List<Boolean> ascs = Arrays.asList(false, true);
+        Expression<?> fetch = constant(10);
+        Expression<?> offset = constant(5);
+
+        SortPlanNode node = new SortPlanNode(2, upstream, columnIndexes, ascs, fetch, offset, true);
+
+        assertEquals(2, node.getId());
+        assertEquals(upstream, node.getUpstream());
+        assertEquals(columnIndexes, node.getColumnIndexes());
+        assertEquals(ascs, node.getAscs());
+        assertEquals(fetch, node.getFetch());
+        assertEquals(offset, node.getOffset());
+        assertTrue(node.isLocal());
+        assertEquals(upstream.getSchema(), node.getSchema());
+    }
+
+    @Test
+    public void testEquality() {
+        int id1 = 1;
+        int id2 = 2;
+
+        MockPlanNode upstream1 = MockPlanNode.create(3, QueryDataType.VARCHAR, QueryDataType.INT);
+        MockPlanNode upstream2 = MockPlanNode.create(3, QueryDataType.VARCHAR, QueryDataType.BIGINT);
+
+        List<Integer> columnIndexes1 = Collections.singletonList(0);
+        List<Integer> columnIndexes2 = Collections.singletonList(1);
+
+        List<Boolean> ascs1 = Collections.singletonList(true);
+        List<Boolean> ascs2 = Collections.singletonList(false);
+
+        Expression<?> fetch1 = constant(10);
+        Expression<?> fetch2 = constant(20);
+
+        Expression<?> offset1 = constant(1);
+        Expression<?> offset2 = null;
+
+        checkEquals(
+            new SortPlanNode(id1, upstream1, columnIndexes1, ascs1, fetch1, offset1, true),
+            new SortPlanNode(id1, upstream1, columnIndexes1, ascs1, fetch1, offset1, true),
+            true
+        );
+
+        checkEquals(
+            new SortPlanNode(id1, upstream1, columnIndexes1, ascs1, fetch1, offset1, true),
+            new SortPlanNode(id2, upstream1, columnIndexes1, ascs1, fetch1, offset1, true),
+            false
+        );
+
+        checkEquals(
+            new SortPlanNode(id1, upstream1, columnIndexes1, ascs1, fetch1, offset1, true),
+            new SortPlanNode(id1, upstream2, columnIndexes1, ascs1, fetch1, offset1, true),
+            false
+        );
+
+        checkEquals(
+            new SortPlanNode(id1, upstream1, columnIndexes1, ascs1, fetch1, offset1, true),
+            new SortPlanNode(id1, upstream1, columnIndexes2, ascs1, fetch1, offset1, true),
+            false
+        );
+
+        checkEquals(
+            new SortPlanNode(id1, upstream1, columnIndexes1, ascs1, fetch1, offset1, true),
+            new SortPlanNode(id1, upstream1, columnIndexes1, ascs2, fetch1, offset1, true),
+            false
+        );
+
+        checkEquals(
+            new SortPlanNode(id1, upstream1, columnIndexes1, ascs1, fetch1, offset1, true),
+            new SortPlanNode(id1, upstream1, columnIndexes1, ascs1, fetch2, offset1, true),
+            false
+        );
+
+        checkEquals(
+            new SortPlanNode(id1, upstream1, columnIndexes1, ascs1, fetch1, offset1, true),
+            new SortPlanNode(id1, upstream1, columnIndexes1, ascs1, fetch1, offset2, true),
+            false
+        );
+
+        checkEquals(
+            new SortPlanNode(id1, upstream1, columnIndexes1, ascs1, fetch1, offset1, true),
+            new SortPlanNode(id1, upstream1, columnIndexes1, ascs1, fetch1, offset1, false),
+            false
+        );
+    }
+
+    @Test
+    public void testSerialization() {
+        MockPlanNode upstream = MockPlanNode.create(1, QueryDataType.VARCHAR, QueryDataType.INT);
+
+        SortPlanNode original = new SortPlanNode(
+            2,
+            upstream,
+            Arrays.asList(1, 0),
+            Arrays.asList(false, true),
+            constant(10),
+            null,
+            true
+        );
+
+        SortPlanNode restored = serializeAndCheck(original, SqlDataSerializerHook.NODE_SORT);
+
+        checkEquals(original, restored, true);
+    }
+
+    private static Expression<?> constant(int value) {
+        return ConstantExpression.create(value, QueryDataType.INT);
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.sql.impl.plan.node.io;
+
+import com.hazelcast.sql.impl.SqlDataSerializerHook;
+import com.hazelcast.sql.impl.SqlTestSupport;
+import com.hazelcast.sql.impl.expression.ConstantExpression;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.plan.node.PlanNodeSchema;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ReceiveSortMergePlanNodeTest extends SqlTestSupport {
+    @Test
+    public void testState() {
+        int id = 1;
+        int edgeId = 2;
+        List<QueryDataType> types = Arrays.asList(QueryDataType.INT, QueryDataType.VARCHAR);
+        List<Integer> columnIndexes = Collections.singletonList(1);
+        List<Boolean> ascs = Collections.singletonList(false);
+        Expression<?> fetch = constant(10);
+        Expression<?> offset = constant(5);
+
+        ReceiveSortMergePlanNode node = new ReceiveSortMergePlanNode(id, edgeId, types, columnIndexes, ascs, fetch, offset);
+
+        assertEquals(id, node.getId());
+        assertEquals(edgeId, node.getEdgeId());
+        assertFalse(node.isSender());
+        assertEquals(columnIndexes, node.getColumnIndexes());
+        assertEquals(ascs, node.getAscs());
+        assertEquals(fetch, node.getFetch());
+        assertEquals(offset, node.getOffset());
+        assertEquals(new PlanNodeSchema(types), node.getSchema());
+    }
+
+    @Test
+    public void testEquality() {
+        int id1 = 1;
+        int id2 = 2;
+
+        int edgeId1 = 3;
+        int edgeId2 = 4;
+
+        List<QueryDataType> types1 = Arrays.asList(QueryDataType.INT, QueryDataType.VARCHAR);
+        List<QueryDataType> types2 = Arrays.asList(QueryDataType.DECIMAL, QueryDataType.VARCHAR);
+
+        List<Integer> columnIndexes1 = Collections.singletonList(0);
+        List<Integer> columnIndexes2 = Collections.singletonList(1);
+
+        List<Boolean> ascs1 = Collections.singletonList(true);
+        List<Boolean> ascs2 = Collections.singletonList(false);
+
+        Expression<?> fetch1 = constant(10);
+        Expression<?> fetch2 = null;
+
+        Expression<?> offset1 = constant(1);
+        Expression<?> offset2 = constant(2);
+
+        checkEquals(
+            new ReceiveSortMergePlanNode(id1, edgeId1, types1, columnIndexes1, ascs1, fetch1, offset1),
+            new ReceiveSortMergePlanNode(id1, edgeId1, types1, columnIndexes1, ascs1, fetch1, offset1),
+            true
+        );
+
+        checkEquals(
+            new ReceiveSortMergePlanNode(id1, edgeId1, types1, columnIndexes1, ascs1, fetch1, offset1),
+            new ReceiveSortMergePlanNode(id2, edgeId1, types1, columnIndexes1, ascs1, fetch1, offset1),
+            false
+        );
+
+        checkEquals(
+            new ReceiveSortMergePlanNode(id1, edgeId1, types1, columnIndexes1, ascs1, fetch1, offset1),
+            new ReceiveSortMergePlanNode(id1, edgeId2, types1, columnIndexes1, ascs1, fetch1, offset1),
+            false
+        );
+
+        checkEquals(
+            new ReceiveSortMergePlanNode(id1, edgeId1, types1, columnIndexes1, ascs1, fetch1, offset1),
+            new ReceiveSortMergePlanNode(id1, edgeId1, types2, columnIndexes1, ascs1, fetch1, offset1),
+            false
+        );
+
+        checkEquals(
+            new ReceiveSortMergePlanNode(id1, edgeId1, types1, columnIndexes1, ascs1, fetch1, offset1),
+            new ReceiveSortMergePlanNode(id1, edgeId1, types1, columnIndexes2, ascs1, fetch1, offset1),
+            false
+        );
+
+        checkEquals(
+            new ReceiveSortMergePlanNode(id1, edgeId1, types1, columnIndexes1, ascs1, fetch1, offset1),
+            new ReceiveSortMergePlanNode(id1, edgeId1, types1, columnIndexes1, ascs2, fetch1, offset1),
+            false
+        );
+
+        checkEquals(
+            new ReceiveSortMergePlanNode(id1, edgeId1, types1, columnIndexes1, ascs1, fetch1, offset1),
+            new ReceiveSortMergePlanNode(id1, edgeId1, types1, columnIndexes1, ascs1, fetch2, offset1),
+            false
+        );
+
+        checkEquals(
+            new ReceiveSortMergePlanNode(id1, edgeId1, types1, columnIndexes1, ascs1, fetch1, offset1),
+            new ReceiveSortMergePlanNode(id1, edgeId1, types1, columnIndexes1, ascs1, fetch1, offset2),
+            false
+        );
+    }
+
+    @Test
+    public void testSerialization() {
+        ReceiveSortMergePlanNode original = new ReceiveSortMergePlanNode(
+            1,
+            2,
+            Arrays.asList(QueryDataType.INT, QueryDataType.VARCHAR),
+            Collections.singletonList(0),
+            Collections.singletonList(false),
+            constant(10),
+            constant(5)
+        );
+
+        ReceiveSortMergePlanNode restored = serializeAndCheck(original, SqlDataSerializerHook.NODE_RECEIVE_SORT_MERGE);
+
+        checkEquals(original, restored, true);
+    }
+
+    private static Expression<?> constant(int value) {
+        return ConstantExpression.create(value, QueryDataType.INT);
+    }
+}
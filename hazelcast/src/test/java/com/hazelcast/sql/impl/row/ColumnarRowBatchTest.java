@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.sql.impl.row;
+
+import com.hazelcast.sql.impl.SqlTestSupport;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ColumnarRowBatchTest extends SqlTestSupport {
+    @Test
+    public void testPrimitiveColumns() {
+        Column ints = Column.of(QueryDataType.INT, new Object[] { 1, null, 3 }, 3);
+        Column reals = Column.of(QueryDataType.REAL, new Object[] { 1.5f, 2.5f, null }, 3);
+        Column booleans = Column.of(QueryDataType.BOOLEAN, new Object[] { true, false, true }, 3);
+        Column strings = Column.of(QueryDataType.VARCHAR, new Object[] { "a", null, "c" }, 3);
+
+        assertTrue(ints instanceof LongColumn);
+        assertTrue(reals instanceof DoubleColumn);
+        assertTrue(booleans instanceof BooleanColumn);
+        assertTrue(strings instanceof ObjectColumn);
+
+        assertArrayEquals(new long[] { 1L, 0L, 3L }, ((LongColumn) ints).getValues());
+        assertEquals(1, ints.get(0));
+        assertNull(ints.get(1));
+        assertTrue(ints.isNull(1));
+        assertEquals(2.5f, reals.get(1));
+        assertTrue(reals.isNull(2));
+        assertFalse(booleans.hasNulls());
+        assertEquals(false, booleans.get(1));
+        assertTrue(strings.isNull(1));
+        assertEquals("c", strings.get(2));
+    }
+
+    @Test
+    public void testNotNormalizedValues() {
+        Column column = Column.of(QueryDataType.BIGINT, new Object[] { 1L, 2 }, 2);
+
+        assertTrue(column instanceof ObjectColumn);
+        assertEquals(1L, column.get(0));
+        assertEquals(2, column.get(1));
+    }
+
+    @Test
+    public void testConstant() {
+        Column column = Column.constant(QueryDataType.SMALLINT, (short) 5, 3);
+
+        assertTrue(column instanceof LongColumn);
+        assertEquals((short) 5, column.get(2));
+
+        Column nulls = Column.constant(QueryDataType.SMALLINT, null, 2);
+
+        assertTrue(nulls.isNull(0));
+        assertTrue(nulls.isNull(1));
+    }
+
+    @Test
+    public void testBatch() {
+        ColumnarRowBatch batch = new ColumnarRowBatch(new Column[] {
+            Column.of(QueryDataType.BIGINT, new Object[] { 1L, 2L, null, 4L }, 4),
+            Column.of(QueryDataType.VARCHAR, new Object[] { "a", "b", "c", "d" }, 4)
+        }, 4);
+
+        assertEquals(4, batch.getRowCount());
+        assertEquals(2, batch.getColumnCount());
+
+        Row row = batch.getRow(1);
+        assertEquals(2, row.getColumnCount());
+        assertEquals(2L, (long) row.get(0));
+        assertEquals("b", row.get(1));
+
+        assertEquals(HeapRow.of(null, "c"), ColumnarRowBatch.toHeapRow(batch.getRow(2)));
+
+        HeapRow heapRow = HeapRow.of(1);
+        assertSame(heapRow, ColumnarRowBatch.toHeapRow(heapRow));
+    }
+
+    @Test
+    public void testSelect() {
+        ColumnarRowBatch batch = new ColumnarRowBatch(new Column[] {
+            Column.of(QueryDataType.INT, new Object[] { 1, 2, null, 4 }, 4),
+            Column.of(QueryDataType.DOUBLE, new Object[] { 1d, 2d, 3d, 4d }, 4)
+        }, 4);
+
+        ColumnarRowBatch selected = batch.select(new int[] { 1, 2 }, 2);
+
+        assertEquals(2, selected.getRowCount());
+        assertEquals(HeapRow.of(2, 2d), ColumnarRowBatch.toHeapRow(selected.getRow(0)));
+        assertEquals(HeapRow.of(null, 3d), ColumnarRowBatch.toHeapRow(selected.getRow(1)));
+
+        assertSame(batch, batch.select(new int[] { 0, 1, 2, 3 }, 4));
+    }
+}